@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -288,6 +288,12 @@ public interface ConnectorConstants extends ResourceConstants {
 
     String NON_TX_JNDI_SUFFIX = "__nontx" ;
 
+    /**
+     * Suffix of the JDBC resources giving read-only connections, routed to the read replicas
+     * of the pool if it has any.
+     */
+    String READ_ONLY_JNDI_SUFFIX = "__readonly";
+
     /**
      * Name of the JNDI environment property that can be provided so that the
      * <code>ObjectFactory</code> can decide which type of datasource create.
@@ -300,7 +306,8 @@ public interface ConnectorConstants extends ResourceConstants {
     List<String> JNDI_SUFFIX_VALUES = Collections.unmodifiableList(
             Arrays.asList(
                     PM_JNDI_SUFFIX,
-                    NON_TX_JNDI_SUFFIX
+                    NON_TX_JNDI_SUFFIX,
+                    READ_ONLY_JNDI_SUFFIX
             ));
 
     String CCP = "ConnectorConnectionPool";
@@ -349,6 +356,15 @@ public interface ConnectorConstants extends ResourceConstants {
     //flag to enable dynamic-reconfiguration feature for connection pool
     String DYNAMIC_RECONFIGURATION_FLAG = "dynamic-reconfiguration-wait-timeout-in-seconds";
 
+    //connection pool property: free connections idle longer than the value are validated in the background
+    String BACKGROUND_VALIDATION_IDLE_TIME = "background-validation-idle-time-in-millis";
+
+    //connection pool property: only one of every N leak traced connections and statements captures the caller stack
+    String LEAK_STACK_SAMPLING_INTERVAL = "leak-stack-sampling-interval";
+
+    //connection pool property: number of connections opened in parallel when the pool is filled to its steady size
+    String POOL_PREFILL_PARALLELISM = "pool-prefill-parallelism";
+
     /**
      * Admin object type.
      */
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.connectors.internal.spi;
+
+
+/**
+ * Interface for the managed connections of RARs which prepare a connection before its
+ * first use, for example by filling its statement cache.
+ * <i>Custom api</i>
+ */
+public interface WarmableManagedConnection {
+    /**
+     * Called by the pool for the connections it creates ahead of demand, when it fills the
+     * steady pool or resizes. Connections created for a waiting request are not warmed up.
+     */
+    void warmUp();
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -73,6 +73,7 @@ public class ConnectorConnectionPool implements Serializable {
     private boolean pingDuringPoolCreation;
     private String poolDataStructureType;
     private String poolWaitQueue;
+    private String poolResizer;
     private String dataStructureParameters;
     private String resourceGatewayClass;
     private boolean nonTransactional_;
@@ -80,6 +81,18 @@ public class ConnectorConnectionPool implements Serializable {
 
     private long dynamicReconfigWaitTimeout;
 
+    // Free connections idle longer than this are validated in the background,
+    // 0 disables the background validation.
+    private long backgroundValidationIdleTime;
+
+    // Only one of every leakStackSamplingInterval leak traced connections and statements
+    // captures the stack of the caller.
+    private int leakStackSamplingInterval = 1;
+
+    // Number of connections opened in parallel when the pool is initialized,
+    // 1 opens them one by one before the first connection is given out.
+    private int prefillParallelism = 1;
+
     private ConnectorSecurityMap[] securityMaps;
     private boolean isAuthCredentialsDefinedInPool_;
 
@@ -661,6 +674,14 @@ public class ConnectorConnectionPool implements Serializable {
             sb.append(isConnectionValidationRequired_);
             sb.append("\npreferValidateOverRecreate_ ");
             sb.append(preferValidateOverRecreate_);
+            sb.append("\nbackgroundValidationIdleTime ");
+            sb.append(backgroundValidationIdleTime);
+            sb.append("\nleakStackSamplingInterval ");
+            sb.append(leakStackSamplingInterval);
+            sb.append("\nprefillParallelism ");
+            sb.append(prefillParallelism);
+            sb.append("\npoolResizer ");
+            sb.append(poolResizer);
 
             sb.append("\nmatchConnections_ ");
             sb.append(matchConnections_);
@@ -757,6 +778,17 @@ public class ConnectorConnectionPool implements Serializable {
         this.poolWaitQueue = poolWaitQueue;
     }
 
+    /**
+     * @return type of the pool resizer, {@code ADAPTIVE} or null for the default resizer
+     */
+    public String getPoolResizer() {
+        return poolResizer;
+    }
+
+    public void setPoolResizer(String poolResizer) {
+        this.poolResizer = poolResizer;
+    }
+
     public String getDataStructureParameters() {
         return dataStructureParameters;
     }
@@ -789,6 +821,42 @@ public class ConnectorConnectionPool implements Serializable {
         this.dynamicReconfigWaitTimeout = dynamicReconfigWaitTimeout;
     }
 
+    /**
+     * @return minimal idle time in milliseconds after which a free connection is validated in
+     *         the background. 0 means that the background validation is disabled.
+     */
+    public long getBackgroundValidationIdleTime() {
+        return backgroundValidationIdleTime;
+    }
+
+    public void setBackgroundValidationIdleTime(long backgroundValidationIdleTime) {
+        this.backgroundValidationIdleTime = backgroundValidationIdleTime;
+    }
+
+    /**
+     * @return one of this many leak traced connections captures the stack of the caller,
+     *         1 captures it for every connection.
+     */
+    public int getLeakStackSamplingInterval() {
+        return leakStackSamplingInterval;
+    }
+
+    public void setLeakStackSamplingInterval(int leakStackSamplingInterval) {
+        this.leakStackSamplingInterval = leakStackSamplingInterval;
+    }
+
+    /**
+     * @return number of connections opened in parallel when the pool is initialized,
+     *         1 fills the pool before the first connection is given out.
+     */
+    public int getPrefillParallelism() {
+        return prefillParallelism;
+    }
+
+    public void setPrefillParallelism(int prefillParallelism) {
+        this.prefillParallelism = prefillParallelism;
+    }
+
 
     public PoolInfo getPoolInfo() {
         return new PoolInfo(name, applicationName, moduleName);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to Eclipse Foundation. All rights reserved.
+ * Copyright (c) 2022, 2026 Contributors to Eclipse Foundation. All rights reserved.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -90,6 +90,7 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.Timer;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -102,6 +103,7 @@ import org.glassfish.api.admin.ServerEnvironment;
 import org.glassfish.api.invocation.InvocationManager;
 import org.glassfish.api.naming.GlassfishNamingManager;
 import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.common.util.timer.HashedTimingWheel;
 import org.glassfish.connectors.config.ResourceAdapterConfig;
 import org.glassfish.connectors.config.SecurityMap;
 import org.glassfish.connectors.config.WorkSecurityMap;
@@ -153,6 +155,7 @@ public class ConnectorRuntime implements com.sun.appserv.connectors.internal.api
     private ConnectorSecurityAdminServiceImpl connectorSecurityAdmService;
     private ConnectorAdminObjectAdminServiceImpl adminObjectAdminService;
     private final ConnectorRegistry connectorRegistry = ConnectorRegistry.getInstance();
+    private volatile HashedTimingWheel leakTimingWheel;
     private PoolMonitoringLevelListener poolMonitoringLevelListener;
 
     @Inject
@@ -899,6 +902,23 @@ public class ConnectorRuntime implements com.sun.appserv.connectors.internal.api
         return ConnectorTimerProxy.getProxy();
     }
 
+    /**
+     * @return timing wheel shared by the connection leak detectors of all pools, ticking once a
+     *         second on the connector timer.
+     */
+    public HashedTimingWheel getLeakTimingWheel() {
+        if (leakTimingWheel == null) {
+            synchronized (this) {
+                if (leakTimingWheel == null) {
+                    HashedTimingWheel wheel = new HashedTimingWheel(1, TimeUnit.SECONDS, 512);
+                    wheel.start(getTimer());
+                    leakTimingWheel = wheel;
+                }
+            }
+        }
+        return leakTimingWheel;
+    }
+
     /**
      * get resource reference descriptors from current component's jndi environment
      *
@@ -915,6 +935,9 @@ public class ConnectorRuntime implements com.sun.appserv.connectors.internal.api
      */
     @Override
     public void preDestroy() {
+        if (leakTimingWheel != null) {
+            leakTimingWheel.stop();
+        }
     }
 
     /**
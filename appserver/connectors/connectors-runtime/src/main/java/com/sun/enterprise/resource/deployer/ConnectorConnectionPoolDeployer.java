@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -433,6 +433,12 @@ public class ConnectorConnectionPoolDeployer
                         LOG.fine("POOLWAITQUEUE");
                     }
 
+                } else if ("POOLRESIZER".equals(ep.getName().toUpperCase(locale))) {
+                    ccp.setPoolResizer(ep.getValue());
+                    if(LOG.isLoggable(Level.FINE)) {
+                        LOG.fine("POOLRESIZER");
+                    }
+
                 } else if ("DATASTRUCTUREPARAMETERS".equals(ep.getName().toUpperCase(locale))) {
                     ccp.setDataStructureParameters(ep.getValue());
                     if(LOG.isLoggable(Level.FINE)) {
@@ -446,6 +452,39 @@ public class ConnectorConnectionPoolDeployer
                                 value);
                     }
                     ccp.setPreferValidateOverRecreate(toBoolean(value, false));
+                } else if (ConnectorConstants.BACKGROUND_VALIDATION_IDLE_TIME.equals(ep.getName().toLowerCase(locale))) {
+                    String value = ep.getValue();
+                    try {
+                        ccp.setBackgroundValidationIdleTime(Long.parseLong(value));
+                        if (LOG.isLoggable(Level.FINE)) {
+                            LOG.fine(ConnectorConstants.BACKGROUND_VALIDATION_IDLE_TIME);
+                        }
+                    } catch (NumberFormatException nfe) {
+                        LOG.log(Level.WARNING,
+                            "Invalid value for '" + ConnectorConstants.BACKGROUND_VALIDATION_IDLE_TIME + "' : " + value);
+                    }
+                } else if (ConnectorConstants.LEAK_STACK_SAMPLING_INTERVAL.equals(ep.getName().toLowerCase(locale))) {
+                    String value = ep.getValue();
+                    try {
+                        ccp.setLeakStackSamplingInterval(Integer.parseInt(value));
+                        if (LOG.isLoggable(Level.FINE)) {
+                            LOG.fine(ConnectorConstants.LEAK_STACK_SAMPLING_INTERVAL);
+                        }
+                    } catch (NumberFormatException nfe) {
+                        LOG.log(Level.WARNING,
+                            "Invalid value for '" + ConnectorConstants.LEAK_STACK_SAMPLING_INTERVAL + "' : " + value);
+                    }
+                } else if (ConnectorConstants.POOL_PREFILL_PARALLELISM.equals(ep.getName().toLowerCase(locale))) {
+                    String value = ep.getValue();
+                    try {
+                        ccp.setPrefillParallelism(Integer.parseInt(value));
+                        if (LOG.isLoggable(Level.FINE)) {
+                            LOG.fine(ConnectorConstants.POOL_PREFILL_PARALLELISM);
+                        }
+                    } catch (NumberFormatException nfe) {
+                        LOG.log(Level.WARNING,
+                            "Invalid value for '" + ConnectorConstants.POOL_PREFILL_PARALLELISM + "' : " + value);
+                    }
                 }
             }
         }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -125,4 +125,20 @@ public interface PoolLifeCycleListener {
      */
     void connectionRequestDequeued();
 
+    /**
+     * indicates that a connection request left the wait queue after waiting for the given time.
+     *
+     * @param waitTimeInMillis time spent in the wait queue
+     */
+    void connectionRequestWaited(long waitTimeInMillis);
+
+    /**
+     * indicates that the pool resizer changed the size of the pool.
+     *
+     * @param oldSize number of connections before the change
+     * @param newSize number of connections after the change
+     * @param reason description of the resizer decision
+     */
+    void poolResized(int oldSize, int newSize, String reason);
+
 }
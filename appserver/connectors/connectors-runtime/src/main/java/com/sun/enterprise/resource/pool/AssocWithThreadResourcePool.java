@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -25,13 +25,17 @@ import com.sun.enterprise.resource.allocator.ResourceAllocator;
 import com.sun.enterprise.resource.pool.datastructure.DataStructureFactory;
 import com.sun.enterprise.resource.pool.resizer.AssocWithThreadPoolResizer;
 import com.sun.enterprise.resource.pool.resizer.Resizer;
+import com.sun.logging.LogDomains;
 
 import jakarta.transaction.Transaction;
 
 import java.util.Hashtable;
+import java.util.logging.Logger;
 
 import org.glassfish.resourcebase.resources.api.PoolInfo;
 
+import static java.util.logging.Level.FINE;
+
 /**
  * Associates a resource with the thread. When the same thread is used again, it checks whether the resource associated
  * with the thread can serve the request.
@@ -40,6 +44,8 @@ import org.glassfish.resourcebase.resources.api.PoolInfo;
  */
 public class AssocWithThreadResourcePool extends ConnectionPool {
 
+    private static final Logger LOG = LogDomains.getLogger(AssocWithThreadResourcePool.class, LogDomains.RSR_LOGGER);
+
     private ThreadLocal<AssocWithThreadResourceHandle> localResource = new ThreadLocal<>();
 
     public AssocWithThreadResourcePool(PoolInfo poolInfo, Hashtable env) throws PoolingException {
@@ -133,6 +139,17 @@ public class AssocWithThreadResourcePool extends ConnectionPool {
         return new AssocWithThreadPoolResizer(poolInfo, dataStructure, this, this, preferValidateOverRecreate);
     }
 
+    /**
+     * Resources associated with threads are handed out without taking them from the datastructure, so the background
+     * validation could validate a resource being used. Resources are validated on use instead.
+     */
+    @Override
+    protected void scheduleBackgroundValidatorTask() {
+        if (backgroundValidationIdleTime > 0) {
+            LOG.log(FINE, "Background validation is not supported by pools associating resources with threads: {0}", poolInfo);
+        }
+    }
+
     /**
      * to associate a resource with the thread
      *
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -21,63 +21,61 @@ import com.sun.enterprise.connectors.ConnectorRuntime;
 import com.sun.enterprise.resource.ResourceHandle;
 import com.sun.logging.LogDomains;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.lang.StackWalker.StackFrame;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.glassfish.common.util.timer.HashedTimingWheel;
+import org.glassfish.common.util.timer.HashedTimingWheel.Timeout;
 import org.glassfish.resourcebase.resources.api.PoolInfo;
 
 /**
  * Connection leak detector, book keeps the caller stack-trace during getConnection()<br>
  * Once the leak-timeout expires, assumes a connection leak and prints the caller stack-trace<br>
  * Also, reclaims the connection if connection-leak-reclaim in ON<br>
+ * <p>
+ * The caller stack is captured by a {@link StackWalker} limited to {@value #MAX_STACK_DEPTH} frames,
+ * and only for one of every leak-stack-sampling-interval connections. The leak timeouts of all pools
+ * share one {@link HashedTimingWheel}, so tracing and returning a connection takes no lock.
  *
  * @author Kshitiz Saxena, Jagadish Ramu
  */
 public class ConnectionLeakDetector {
-    private final HashMap<ResourceHandle, StackTraceElement[]> connectionLeakThreadStackHashMap;
-    private final HashMap<ResourceHandle, ConnectionLeakTask> connectionLeakTimerTaskHashMap;
-    private boolean connectionLeakTracing;
-    private long connectionLeakTimeoutInMillis;
-    private boolean connectionLeakReclaim;
-    private final PoolInfo connectionPoolInfo;
-    private final Map<ResourceHandle, ConnectionLeakListener> listeners;
 
-    // Lock on HashMap to trace connection leaks
-    private final Object connectionLeakLock;
+    static final int MAX_STACK_DEPTH = 64;
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final ConcurrentHashMap<ResourceHandle, LeakTrace> connectionLeakTraces;
+    private volatile boolean connectionLeakTracing;
+    private volatile long connectionLeakTimeoutInMillis;
+    private volatile boolean connectionLeakReclaim;
+    private volatile int leakStackSamplingInterval;
+    private final PoolInfo connectionPoolInfo;
 
     private final static Logger _logger = LogDomains.getLogger(ConnectionLeakDetector.class, LogDomains.RSR_LOGGER);
 
-    public ConnectionLeakDetector(PoolInfo poolInfo, boolean leakTracing, long leakTimeoutInMillis, boolean leakReclaim) {
+    public ConnectionLeakDetector(PoolInfo poolInfo, boolean leakTracing, long leakTimeoutInMillis, boolean leakReclaim,
+        int leakStackSamplingInterval) {
         connectionPoolInfo = poolInfo;
-        connectionLeakThreadStackHashMap = new HashMap<>();
-        connectionLeakTimerTaskHashMap = new HashMap<>();
-        listeners = new HashMap<>();
-        connectionLeakLock = new Object();
+        connectionLeakTraces = new ConcurrentHashMap<>();
         connectionLeakTracing = leakTracing;
         connectionLeakTimeoutInMillis = leakTimeoutInMillis;
         connectionLeakReclaim = leakReclaim;
+        this.leakStackSamplingInterval = Math.max(1, leakStackSamplingInterval);
     }
 
-    public void reset(boolean leakTracing, long leakTimeoutInMillis, boolean leakReclaim) {
+    public void reset(boolean leakTracing, long leakTimeoutInMillis, boolean leakReclaim, int leakStackSamplingInterval) {
         if (!connectionLeakTracing && leakTracing) {
             clearAllConnectionLeakTasks();
         }
         connectionLeakTracing = leakTracing;
         connectionLeakTimeoutInMillis = leakTimeoutInMillis;
         connectionLeakReclaim = leakReclaim;
-    }
-
-    private void registerListener(ResourceHandle handle, ConnectionLeakListener listener) {
-        listeners.put(handle, listener);
-    }
-
-    private void unRegisterListener(ResourceHandle handle) {
-        listeners.remove(handle);
+        this.leakStackSamplingInterval = Math.max(1, leakStackSamplingInterval);
     }
 
     /**
@@ -87,17 +85,16 @@ public class ConnectionLeakDetector {
      * @param listener Leak Listener
      */
     public void startConnectionLeakTracing(ResourceHandle resourceHandle, ConnectionLeakListener listener) {
-        if (connectionLeakTracing) {
-            synchronized (connectionLeakLock) {
-                if (!connectionLeakThreadStackHashMap.containsKey(resourceHandle)) {
-                    connectionLeakThreadStackHashMap.put(resourceHandle, Thread.currentThread().getStackTrace());
-                    ConnectionLeakTask connectionLeakTask = new ConnectionLeakTask(resourceHandle);
-                    connectionLeakTimerTaskHashMap.put(resourceHandle, connectionLeakTask);
-                    registerListener(resourceHandle, listener);
-                    if (getTimer() != null) {
-                        getTimer().schedule(connectionLeakTask, connectionLeakTimeoutInMillis);
-                    }
-                }
+        if (connectionLeakTracing && !connectionLeakTraces.containsKey(resourceHandle)) {
+            LeakTrace leakTrace = new LeakTrace(captureStack(), listener);
+            if (connectionLeakTraces.putIfAbsent(resourceHandle, leakTrace) != null) {
+                return;
+            }
+            leakTrace.timeout = getTimingWheel().schedule(() -> potentialConnectionLeakFound(resourceHandle, leakTrace),
+                connectionLeakTimeoutInMillis, TimeUnit.MILLISECONDS);
+            // The tracing may have been stopped before the timeout was set
+            if (connectionLeakTraces.get(resourceHandle) != leakTrace) {
+                leakTrace.timeout.cancel();
             }
         }
     }
@@ -110,14 +107,9 @@ public class ConnectionLeakDetector {
      */
     public void stopConnectionLeakTracing(ResourceHandle resourceHandle, ConnectionLeakListener listener) {
         if (connectionLeakTracing) {
-            synchronized (connectionLeakLock) {
-                if (connectionLeakThreadStackHashMap.containsKey(resourceHandle)) {
-                    connectionLeakThreadStackHashMap.remove(resourceHandle);
-                    ConnectionLeakTask connectionLeakTask = connectionLeakTimerTaskHashMap.remove(resourceHandle);
-                    connectionLeakTask.cancel();
-                    getTimer().purge();
-                    unRegisterListener(resourceHandle);
-                }
+            LeakTrace leakTrace = connectionLeakTraces.remove(resourceHandle);
+            if (leakTrace != null) {
+                leakTrace.cancel();
             }
         }
     }
@@ -126,37 +118,40 @@ public class ConnectionLeakDetector {
      * Logs the potential connection leaks
      *
      * @param resourceHandle Resource that is not returned by application
+     * @param leakTrace trace registered when the resource was handed out
      */
-    private void potentialConnectionLeakFound(ResourceHandle resourceHandle) {
-        synchronized (connectionLeakLock) {
-            if (connectionLeakThreadStackHashMap.containsKey(resourceHandle)) {
-                StackTraceElement[] threadStack = connectionLeakThreadStackHashMap.remove(resourceHandle);
-                ConnectionLeakListener connLeakListener = listeners.get(resourceHandle);
-                connLeakListener.potentialConnectionLeakFound();
-                printConnectionLeakTrace(threadStack, connLeakListener);
-                connectionLeakTimerTaskHashMap.remove(resourceHandle);
-                if (connectionLeakReclaim) {
-                    resourceHandle.markForReclaim(true);
-                    connLeakListener.reclaimConnection(resourceHandle);
-                }
-                // Unregister here as the listeners would still be present in the map.
-                unRegisterListener(resourceHandle);
-            }
+    private void potentialConnectionLeakFound(ResourceHandle resourceHandle, LeakTrace leakTrace) {
+        // The handle may have been returned, and even handed out again, meanwhile.
+        if (!connectionLeakTraces.remove(resourceHandle, leakTrace)) {
+            return;
+        }
+        ConnectionLeakListener connLeakListener = leakTrace.listener;
+        connLeakListener.potentialConnectionLeakFound();
+        printConnectionLeakTrace(leakTrace.stack, connLeakListener);
+        if (connectionLeakReclaim) {
+            resourceHandle.markForReclaim(true);
+            connLeakListener.reclaimConnection(resourceHandle);
         }
     }
 
     /**
      * Prints the stack trace of thread leaking connection to server logs
      *
-     * @param threadStackTrace Application(caller) thread stack trace
+     * @param threadStack Application(caller) thread stack, null if it was not sampled
      */
-    private void printConnectionLeakTrace(StackTraceElement[] threadStackTrace, ConnectionLeakListener connLeakListener) {
+    private void printConnectionLeakTrace(StackFrame[] threadStack, ConnectionLeakListener connLeakListener) {
         StringBuffer stackTrace = new StringBuffer(1024);
         stackTrace.append("A potential connection leak detected for connection pool ").append(connectionPoolInfo);
-        stackTrace.append(". The stack trace of the thread is provided below:\n");
-        for (int i = 2; i < threadStackTrace.length; i++) {
-            stackTrace.append(threadStackTrace[i]);
-            stackTrace.append('\n');
+        if (threadStack == null) {
+            stackTrace.append(". The stack trace of the thread was not captured, only one of every ")
+                .append(leakStackSamplingInterval)
+                .append(" connections is sampled, see the leak-stack-sampling-interval pool property.\n");
+        } else {
+            stackTrace.append(". The stack trace of the thread is provided below:\n");
+            for (StackFrame frame : threadStack) {
+                stackTrace.append(frame);
+                stackTrace.append('\n');
+            }
         }
         connLeakListener.printConnectionLeakTrace(stackTrace);
         _logger.log(Level.WARNING, stackTrace.toString());
@@ -166,33 +161,44 @@ public class ConnectionLeakDetector {
      * Clear all connection leak tracing tasks in case of connection leak tracing being turned off
      */
     private void clearAllConnectionLeakTasks() {
-        synchronized (connectionLeakLock) {
-            for (Entry<ResourceHandle, ConnectionLeakTask> connectionLeakTaskEntry : connectionLeakTimerTaskHashMap.entrySet()) {
-                connectionLeakTaskEntry.getValue().cancel();
-            }
-            if (getTimer() != null) {
-                getTimer().purge();
-            }
-            connectionLeakThreadStackHashMap.clear();
-            connectionLeakTimerTaskHashMap.clear();
+        for (LeakTrace leakTrace : connectionLeakTraces.values()) {
+            leakTrace.cancel();
+        }
+        connectionLeakTraces.clear();
+    }
+
+    /**
+     * @return caller stack without the frames of the pool, or null if this call is not sampled
+     */
+    private StackFrame[] captureStack() {
+        int samplingInterval = leakStackSamplingInterval;
+        if (samplingInterval > 1 && ThreadLocalRandom.current().nextInt(samplingInterval) != 0) {
+            return null;
         }
+        return STACK_WALKER.walk(frames -> frames.skip(2).limit(MAX_STACK_DEPTH).toArray(StackFrame[]::new));
     }
 
-    private Timer getTimer() {
-        return ConnectorRuntime.getRuntime().getTimer();
+    private HashedTimingWheel getTimingWheel() {
+        return ConnectorRuntime.getRuntime().getLeakTimingWheel();
     }
 
-    private class ConnectionLeakTask extends TimerTask {
+    private static final class LeakTrace {
 
-        private final ResourceHandle resourceHandle;
+        private final StackFrame[] stack;
+        private final ConnectionLeakListener listener;
+        // Set once the trace is registered, null until then
+        private volatile Timeout timeout;
 
-        ConnectionLeakTask(ResourceHandle resourceHandle) {
-            this.resourceHandle = resourceHandle;
+        LeakTrace(StackFrame[] stack, ConnectionLeakListener listener) {
+            this.stack = stack;
+            this.listener = listener;
         }
 
-        @Override
-        public void run() {
-            potentialConnectionLeakFound(resourceHandle);
+        void cancel() {
+            Timeout scheduled = timeout;
+            if (scheduled != null) {
+                scheduled.cancel();
+            }
         }
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -18,6 +18,7 @@
 package com.sun.enterprise.resource.pool;
 
 import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.appserv.connectors.internal.spi.WarmableManagedConnection;
 import com.sun.enterprise.connectors.ConnectorConnectionPool;
 import com.sun.enterprise.connectors.ConnectorRuntime;
 import com.sun.enterprise.resource.ResourceHandle;
@@ -27,6 +28,9 @@ import com.sun.enterprise.resource.allocator.ResourceAllocator;
 import com.sun.enterprise.resource.listener.PoolLifeCycleListener;
 import com.sun.enterprise.resource.pool.datastructure.DataStructure;
 import com.sun.enterprise.resource.pool.datastructure.DataStructureFactory;
+import com.sun.enterprise.resource.pool.resizer.BackgroundValidator;
+import com.sun.enterprise.resource.pool.resizer.AdaptiveResizer;
+import com.sun.enterprise.resource.pool.resizer.PoolPrefiller;
 import com.sun.enterprise.resource.pool.resizer.Resizer;
 import com.sun.enterprise.resource.pool.waitqueue.PoolWaitQueue;
 import com.sun.enterprise.resource.pool.waitqueue.PoolWaitQueueFactory;
@@ -42,8 +46,16 @@ import java.util.ArrayList;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.Timer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Logger;
 
@@ -141,6 +153,16 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
      */
     protected boolean preferValidateOverRecreate;
 
+    /**
+     * Represents the "background-validation-idle-time-in-millis" property value.<br>
+     * Free connections which were neither used nor validated for this time are validated in the background by
+     * the {@link BackgroundValidator}. Connections validated by it and not used since are given to the application
+     * without another validation during this time, otherwise the validation stays as configured by
+     * {@link #connectionValidationRequired}.<br>
+     * Default: 0, the background validation is disabled.
+     */
+    protected long backgroundValidationIdleTime;
+
     /**
      * True if the pool is initialized
      */
@@ -152,10 +174,55 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
     protected Resizer resizerTask;
 
     /**
-     * Timer for the resizerTask. Runs every {@link #idletime} milliseconds.
+     * Represents the "PoolResizer" property value.<br>
+     * Selects the resizer of the pool, {@code ADAPTIVE} for the {@link AdaptiveResizer}.<br>
+     * Default: null, the default {@link Resizer}
+     */
+    protected String poolResizerType;
+
+    /**
+     * Timer for the resizerTask. Runs every {@link #idletime} milliseconds, or more often if the resizer
+     * requires it.
      */
     protected Timer resizerTaskTimer;
 
+    /**
+     * Reference to the background validation task to be able to cancel/reschedule it. Runs every
+     * {@link #backgroundValidationIdleTime} milliseconds.
+     */
+    protected BackgroundValidator backgroundValidatorTask;
+
+    /**
+     * Executor of the {@link #backgroundValidatorTask}. It is owned by the pool, because a validation blocked by an
+     * unreachable backend must not hold up the resizers of all pools sharing the {@link #resizerTaskTimer}.
+     */
+    protected ScheduledExecutorService backgroundValidatorExecutor;
+
+    /**
+     * Executor validating the connections of a batch taken by the {@link #backgroundValidatorTask} concurrently.
+     */
+    protected ExecutorService backgroundValidationExecutor;
+
+    /**
+     * Represents the "pool-prefill-parallelism" property value.<br>
+     * Number of resources created in parallel when the pool is initialized. If greater than 1, the pool is filled
+     * up to {@link #steadyPoolSize} in the background by the {@link PoolPrefiller}, and resources are given out as
+     * soon as they are ready.<br>
+     * Default: 1, the pool is filled before the first resource is given out.
+     */
+    protected int prefillParallelism;
+
+    /**
+     * Reference to the running pre-fill to be able to cancel it.
+     */
+    protected PoolPrefiller prefiller;
+
+    /**
+     * Set while the current thread creates resources ahead of demand, to fill the steady pool or to resize it. These
+     * resources are warmed up, the ones created for a waiting request are not.
+     */
+    private final ThreadLocal<Boolean> creatingAheadOfDemand = new ThreadLocal<>();
+
     // advanced pool config properties
     /**
      * Represents the "connection-creation-retry-attempts" configuration value.<br>
@@ -307,6 +374,9 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         poolWaitQueueClass = poolResource.getPoolWaitQueue();
         resourceGatewayClass = poolResource.getResourceGatewayClass();
         reconfigWaitTime = poolResource.getDynamicReconfigWaitTimeout();
+        backgroundValidationIdleTime = poolResource.getBackgroundValidationIdleTime();
+        poolResizerType = poolResource.getPoolResizer();
+        prefillParallelism = poolResource.getPrefillParallelism();
 
         setAdvancedPoolConfiguration(poolResource);
     }
@@ -334,11 +404,17 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
 
         this.allocator = allocator;
 
-        createResources(this.allocator, steadyPoolSize - dataStructure.getResourcesSize());
+        if (prefillParallelism > 1) {
+            prefillPool();
+        } else {
+            createResourcesAheadOfDemand(this.allocator, steadyPoolSize - dataStructure.getResourcesSize());
+        }
 
         // if the idle time out is 0, then don't schedule the resizer task
         if (idletime > 0) {
             scheduleResizerTask();
+        } else {
+            scheduleBackgroundValidatorTask();
         }
 
         // Need to set the numConnFree of monitoring statistics to the steadyPoolSize
@@ -352,6 +428,23 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         poolInitialized = true;
     }
 
+    /**
+     * Starts filling the pool up to the steady pool size in the background. A running pre-fill is cancelled first.
+     */
+    protected void prefillPool() {
+        cancelPrefill();
+        prefiller = new PoolPrefiller(poolInfo, dataStructure, this, this, prefillParallelism);
+        prefiller.start();
+    }
+
+    private void cancelPrefill() {
+        PoolPrefiller currentPrefiller = prefiller;
+        if (currentPrefiller != null) {
+            currentPrefiller.cancel();
+            prefiller = null;
+        }
+    }
+
     /**
      * Schedules the resizer timer task. If a task is currently scheduled, it would be cancelled and a new one is scheduled.
      * <p>
@@ -365,16 +458,70 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         }
 
         resizerTask = initializeResizer();
+        resizerTask.setBackgroundValidationIdleTime(backgroundValidationIdleTime);
 
         if (resizerTaskTimer == null) {
             resizerTaskTimer = ConnectorRuntime.getRuntime().getTimer();
         }
 
-        resizerTaskTimer.scheduleAtFixedRate(resizerTask, idletime, idletime);
-        LOG.log(FINE, "Scheduled resizer task with the idle time {0} ms", idletime);
+        long period = resizerTask.getPeriod(idletime);
+        resizerTaskTimer.scheduleAtFixedRate(resizerTask, period, period);
+        LOG.log(FINE, "Scheduled resizer task with the idle time {0} ms and period {1} ms", new Object[] {idletime, period});
+
+        scheduleBackgroundValidatorTask();
+    }
+
+    /**
+     * Schedules the background validation task if enabled. If a task is currently scheduled, it is cancelled and a new
+     * one is scheduled.
+     */
+    protected void scheduleBackgroundValidatorTask() {
+        cancelBackgroundValidatorTask();
+        if (backgroundValidationIdleTime <= 0 || allocator == null || !allocator.hasValidatingMCF()) {
+            return;
+        }
+
+        AtomicInteger validationThreadCount = new AtomicInteger();
+        ThreadPoolExecutor validationExecutor = new ThreadPoolExecutor(BackgroundValidator.BATCH_SIZE,
+            BackgroundValidator.BATCH_SIZE, backgroundValidationIdleTime, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable,
+                    "validator-" + poolInfo.getName() + "-" + validationThreadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        // The threads are needed only while a batch is being validated.
+        validationExecutor.allowCoreThreadTimeOut(true);
+        backgroundValidationExecutor = validationExecutor;
+        backgroundValidatorTask = new BackgroundValidator(poolInfo, dataStructure, this, this, backgroundValidationIdleTime,
+            backgroundValidationExecutor);
+        backgroundValidatorExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "validator-" + poolInfo.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        backgroundValidatorExecutor.scheduleWithFixedDelay(backgroundValidatorTask, backgroundValidationIdleTime,
+            backgroundValidationIdleTime, TimeUnit.MILLISECONDS);
+        LOG.log(FINE, "Scheduled background validation task with the idle time {0} ms", backgroundValidationIdleTime);
+    }
+
+    private void cancelBackgroundValidatorTask() {
+        if (backgroundValidatorExecutor != null) {
+            backgroundValidatorExecutor.shutdownNow();
+        }
+        if (backgroundValidationExecutor != null) {
+            backgroundValidationExecutor.shutdownNow();
+        }
+        backgroundValidatorExecutor = null;
+        backgroundValidationExecutor = null;
+        backgroundValidatorTask = null;
     }
 
     protected Resizer initializeResizer() {
+        if (AdaptiveResizer.ADAPTIVE_RESIZER.equalsIgnoreCase(poolResizerType)
+            || AdaptiveResizer.class.getName().equals(poolResizerType)) {
+            return new AdaptiveResizer(poolInfo, dataStructure, this, this, preferValidateOverRecreate);
+        }
         return new Resizer(poolInfo, dataStructure, this, this, preferValidateOverRecreate);
     }
 
@@ -471,9 +618,13 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
 
             if (result != null) {
                 // got one, return it
+                elapsedWaitTime = System.currentTimeMillis() - startTime;
+                Resizer resizer = resizerTask;
+                if (resizer != null) {
+                    resizer.resourceRequested(elapsedWaitTime);
+                }
                 if (poolLifeCycleListener != null) {
                     poolLifeCycleListener.connectionAcquired(result.getId());
-                    elapsedWaitTime = System.currentTimeMillis() - startTime;
                     poolLifeCycleListener.connectionRequestServed(elapsedWaitTime);
                     if (LOG.isLoggable(FINE)) {
                         LOG.log(FINE,
@@ -493,6 +644,10 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
                     remainingWaitTime = maxWaitTime - elapsedWaitTime;
                 } else if (!blocked) {
                     // wait time has expired
+                    Resizer resizer = resizerTask;
+                    if (resizer != null) {
+                        resizer.resourceRequested(elapsedWaitTime);
+                    }
                     if (poolLifeCycleListener != null) {
                         poolLifeCycleListener.connectionTimedOut();
                     }
@@ -502,61 +657,40 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
 
             if (!blocked) {
                 // add to wait-queue
-                Object waitMonitor = new Object();
                 if (poolLifeCycleListener != null) {
                     poolLifeCycleListener.connectionRequestQueued();
                 }
-                synchronized (waitMonitor) {
-                    waitQueue.addToQueue(waitMonitor);
-
-                    try {
-                        LOG.log(FINE, "Resource Pool: getting on wait queue");
-                        waitMonitor.wait(remainingWaitTime);
-
-                    } catch (InterruptedException ex) {
-                        // Could be system shutdown.
-                        break;
-                    }
-
-                    // Try to remove in case that the monitor has timed out. We don't expect the queue to grow to great numbers
-                    // so the overhead for removing inexistant objects is low.
-                    LOG.log(FINE, "removing wait monitor from queue: {0}", waitMonitor);
-
-                    if (waitQueue.removeFromQueue(waitMonitor)) {
-                        if (poolLifeCycleListener != null) {
-                            poolLifeCycleListener.connectionRequestDequeued();
-                        }
+                long waitStartTime = System.currentTimeMillis();
+                try {
+                    LOG.log(FINE, "Resource Pool: getting on wait queue");
+                    waitQueue.awaitNotification(remainingWaitTime);
+                } catch (InterruptedException ex) {
+                    // Could be system shutdown.
+                    break;
+                } finally {
+                    if (poolLifeCycleListener != null) {
+                        poolLifeCycleListener.connectionRequestDequeued();
+                        poolLifeCycleListener.connectionRequestWaited(System.currentTimeMillis() - waitStartTime);
                     }
                 }
             } else {
                 // Add to reconfig-wait-queue
-                Object reconfigWaitMonitor = new Object();
-                synchronized (reconfigWaitMonitor) {
-                    reconfigWaitQueue.addToQueue(reconfigWaitMonitor);
+                if (reconfigWaitTime > 0) {
+                    LOG.log(FINEST, "[DRC] getting into reconfig wait queue for time [{0}]", reconfigWaitTime);
                     try {
-                        if (reconfigWaitTime > 0) {
-                            LOG.log(FINEST, "[DRC] getting into reconfig wait queue for time [{0}]", reconfigWaitTime);
-                            reconfigWaitMonitor.wait(reconfigWaitTime);
-                        }
+                        reconfigWaitQueue.awaitNotification(reconfigWaitTime);
                     } catch (InterruptedException ex) {
                         // Could be system shutdown.
                         break;
                     }
+                }
 
-                    // Try to remove in case that the monitor has timed
-                    // out. We don't expect the queue to grow to great numbers
-                    // so the overhead for removing inexistent objects is low.
-                    LOG.log(FINEST, "[DRC] removing wait monitor from reconfig-wait-queue: {0}", reconfigWaitMonitor);
-
-                    reconfigWaitQueue.removeFromQueue(reconfigWaitMonitor);
-
-                    LOG.log(FINEST, "[DRC] throwing Retryable-Unavailable-Exception");
-                    RetryableUnavailableException rue = new RetryableUnavailableException(
-                        "Pool Reconfigured, Connection Factory can retry the lookup");
-                    rue.setErrorCode(POOL_RECONFIGURED_ERROR_CODE);
+                LOG.log(FINEST, "[DRC] throwing Retryable-Unavailable-Exception");
+                RetryableUnavailableException rue = new RetryableUnavailableException(
+                    "Pool Reconfigured, Connection Factory can retry the lookup");
+                rue.setErrorCode(POOL_RECONFIGURED_ERROR_CODE);
 
-                    throw rue;
-                }
+                throw rue;
             }
         }
 
@@ -724,6 +858,9 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
      * @return boolean representing validation result
      */
     protected boolean isConnectionValid(ResourceHandle resourceHandle, ResourceAllocator resourceAllocator) {
+        if (isValidatedInBackground(resourceHandle)) {
+            return true;
+        }
         boolean connectionValid = true;
 
         if (connectionValidationRequired || validateAtmostEveryIdleSecs) {
@@ -759,6 +896,21 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         return connectionValid;
     }
 
+    /**
+     * @param resourceHandle free resource
+     * @return true if the resource was validated by the {@link #backgroundValidatorTask} less than
+     *         {@link #backgroundValidationIdleTime} ago and was not used since
+     */
+    private boolean isValidatedInBackground(ResourceHandle resourceHandle) {
+        if (backgroundValidatorTask == null) {
+            return false;
+        }
+        // The timestamp is touched when the resource is given back, borrow validations are older.
+        long lastValidated = resourceHandle.getLastValidated();
+        return lastValidated > resourceHandle.getResourceState().getTimestamp()
+            && System.currentTimeMillis() - lastValidated < backgroundValidationIdleTime;
+    }
+
     /**
      * check whether the connection retrieved from the pool matches with the request.
      *
@@ -1009,6 +1161,10 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
                 if (connectionValidationRequired || validateAtmostEveryIdleSecs) {
                     resourceHandle.setLastValidated(now);
                 }
+                Resizer resizer = resizerTask;
+                if (resizer != null) {
+                    resizer.resourceCreated(now - startTime);
+                }
                 return resourceHandle;
             } catch (Exception ex) {
                 if (!connectionCreationRetry_ || count > connectionCreationRetryAttempts_) {
@@ -1247,7 +1403,7 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         // should call leakDetector.reset
 
         try {
-            createResources(allocator, steadyPoolSize);
+            createResourcesAheadOfDemand(allocator, steadyPoolSize);
             LOG.log(FINE, "Successfully created new resources.");
         } catch (PoolingException pe) {
             // Ignore and hope the resizer does its stuff
@@ -1297,6 +1453,9 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         // NOTE : Pool should not call this method directly, it should be called only by pool-datastructure
         ResourceHandle result = createSingleResource(alloc);
         result.getResourceState().reset();
+        if (Boolean.TRUE.equals(creatingAheadOfDemand.get())) {
+            warmUp(result);
+        }
 
         if (poolLifeCycleListener != null) {
             poolLifeCycleListener.connectionCreated();
@@ -1306,7 +1465,35 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
 
     @Override
     public void createResourceAndAddToPool() throws PoolingException {
-        createResourceAndAddToPool(allocator);
+        // Called by the pre-fill and the resizers
+        createResourcesAheadOfDemand(allocator, 1);
+    }
+
+    /**
+     * Create the specified number of resources to fill or resize the pool, warming them up.
+     *
+     * @param alloc the resource allocator to be used to create the new resources
+     * @param size number of resources to create
+     * @throws PoolingException When unable to create a resource
+     */
+    private void createResourcesAheadOfDemand(ResourceAllocator alloc, int size) throws PoolingException {
+        creatingAheadOfDemand.set(Boolean.TRUE);
+        try {
+            createResources(alloc, size);
+        } finally {
+            creatingAheadOfDemand.remove();
+        }
+    }
+
+    private void warmUp(ResourceHandle resource) {
+        ManagedConnection managedConnection = resource.getResource();
+        if (managedConnection instanceof WarmableManagedConnection) {
+            try {
+                ((WarmableManagedConnection) managedConnection).warmUp();
+            } catch (RuntimeException e) {
+                LOG.log(FINE, "Could not warm up the resource " + resource, e);
+            }
+        }
     }
 
     @Override
@@ -1319,6 +1506,22 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         incrementNumConnFailedValidation();
     }
 
+    @Override
+    public void poolResized(int oldSize, int newSize, String reason) {
+        // Threads waiting for a resource can take the new ones.
+        for (int i = oldSize; i < newSize; i++) {
+            notifyWaitingThreads();
+        }
+        if (poolLifeCycleListener != null) {
+            poolLifeCycleListener.poolResized(oldSize, newSize, reason);
+        }
+    }
+
+    @Override
+    public void resourceAdded() {
+        notifyWaitingThreads();
+    }
+
     @Override
     public void resizePool(boolean forced) {
         resizerTask.resizePool(forced);
@@ -1326,22 +1529,8 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
 
     protected void notifyWaitingThreads() {
         // notify the first thread in the waitqueue
-        Object waitMonitor = null;
-        synchronized (waitQueue) {
-            if (waitQueue.getQueueLength() > 0) {
-                waitMonitor = waitQueue.remove();
-                if (poolLifeCycleListener != null) {
-                    poolLifeCycleListener.connectionRequestDequeued();
-                }
-            }
-        }
-        if (waitMonitor == null) {
-            LOG.log(FINE, "Wait monitor is null");
-        } else {
-            synchronized (waitMonitor) {
-                LOG.log(FINE, "Notifying wait monitor: {0}", waitMonitor);
-                waitMonitor.notifyAll();
-            }
+        if (!waitQueue.notifyWaiter()) {
+            LOG.log(FINE, "No thread is waiting for a resource");
         }
     }
 
@@ -1364,6 +1553,7 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
     @Override
     public void emptyPool() {
         LOG.log(FINE, "Emptying pool {0}", poolInfo.getName());
+        cancelPrefill();
         dataStructure.removeAll();
     }
 
@@ -1437,14 +1627,22 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
     @Override
     public synchronized void reconfigurePool(ConnectorConnectionPool poolResource) throws PoolingException {
         int _idleTime = Integer.parseInt(poolResource.getIdleTimeoutInSeconds()) * 1000;
+        long oldBackgroundValidationIdleTime = backgroundValidationIdleTime;
+        backgroundValidationIdleTime = poolResource.getBackgroundValidationIdleTime();
+        String oldPoolResizerType = poolResizerType;
+        poolResizerType = poolResource.getPoolResizer();
+        prefillParallelism = poolResource.getPrefillParallelism();
         if (poolInitialized) {
-            if (_idleTime != idletime && _idleTime != 0) {
+            if ((_idleTime != idletime || !Objects.equals(oldPoolResizerType, poolResizerType)) && _idleTime != 0) {
                 idletime = _idleTime;
                 scheduleResizerTask();
+            } else if (backgroundValidationIdleTime != oldBackgroundValidationIdleTime) {
+                scheduleBackgroundValidatorTask();
             }
             if (_idleTime == 0) {
                 // resizerTask.cancel();
                 cancelResizerTask();
+                scheduleBackgroundValidatorTask();
             }
         }
         idletime = _idleTime;
@@ -1539,11 +1737,13 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
         long connectionLeakTimeoutInMilliSeconds_ = Integer.parseInt(poolResource.getConnectionLeakTracingTimeout()) * 1000L;
 
         boolean connectionLeakTracing_ = connectionLeakTimeoutInMilliSeconds_ > 0;
+        int leakStackSamplingInterval = poolResource.getLeakStackSamplingInterval();
         if (leakDetector == null) {
             leakDetector = new ConnectionLeakDetector(poolInfo, connectionLeakTracing_, connectionLeakTimeoutInMilliSeconds_,
-                    connectionLeakReclaim_);
+                    connectionLeakReclaim_, leakStackSamplingInterval);
         } else {
-            leakDetector.reset(connectionLeakTracing_, connectionLeakTimeoutInMilliSeconds_, connectionLeakReclaim_);
+            leakDetector.reset(connectionLeakTracing_, connectionLeakTimeoutInMilliSeconds_, connectionLeakReclaim_,
+                    leakStackSamplingInterval);
         }
     }
 
@@ -1571,9 +1771,7 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
      */
     private void increaseSteadyPoolSize(int newSteadyPoolSize) throws PoolingException {
         cancelResizerTask();
-        for (int i = dataStructure.getResourcesSize(); i < newSteadyPoolSize; i++) {
-            createResourceAndAddToPool(allocator);
-        }
+        createResourcesAheadOfDemand(allocator, newSteadyPoolSize - dataStructure.getResourcesSize());
         scheduleResizerTask();
     }
 
@@ -1599,6 +1797,7 @@ public class ConnectionPool implements ResourcePool, ConnectionLeakListener, Res
             resizerTask.cancel();
         }
         resizerTask = null;
+        cancelBackgroundValidatorTask();
         if (resizerTaskTimer != null) {
             resizerTaskTimer.purge();
         }
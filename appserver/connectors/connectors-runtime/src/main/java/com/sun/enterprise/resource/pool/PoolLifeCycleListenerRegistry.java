@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -206,4 +206,18 @@ public class PoolLifeCycleListenerRegistry implements PoolLifeCycleListener {
             listener.connectionRequestDequeued();
         }
     }
+
+    @Override
+    public void connectionRequestWaited(long waitTimeInMillis) {
+        for (PoolLifeCycleListener listener : poolListenersList) {
+            listener.connectionRequestWaited(waitTimeInMillis);
+        }
+    }
+
+    @Override
+    public void poolResized(int oldSize, int newSize, String reason) {
+        for (PoolLifeCycleListener listener : poolListenersList) {
+            listener.poolResized(oldSize, newSize, reason);
+        }
+    }
 }
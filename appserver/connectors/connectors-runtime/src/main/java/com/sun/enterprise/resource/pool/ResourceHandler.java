@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -50,7 +50,8 @@ public interface ResourceHandler {
     ResourceHandle createResource(ResourceAllocator allocator) throws PoolingException;
 
     /**
-     * create a new resource and add it to pool (using default resource-allocator)
+     * create a new resource and add it to pool (using default resource-allocator). Called to fill or resize the pool
+     * ahead of demand, so the resource is warmed up if it supports it.
      *
      * @throws PoolingException when unable to create a resource
      */
@@ -71,4 +72,21 @@ public interface ResourceHandler {
      * @param h connection that is invalid
      */
     void invalidConnectionDetected(ResourceHandle h);
+
+    /**
+     * callback method to report that the pool resizer changed the size of the pool
+     *
+     * @param oldSize number of resources before the change
+     * @param newSize number of resources after the change
+     * @param reason description of the resizer decision
+     */
+    default void poolResized(int oldSize, int newSize, String reason) {
+    }
+
+    /**
+     * callback method to report that a resource was added to the pool in the background,
+     * so a thread waiting for a resource can take it
+     */
+    default void resourceAdded() {
+    }
 }
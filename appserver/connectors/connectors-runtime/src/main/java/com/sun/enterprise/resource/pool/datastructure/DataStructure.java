@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -59,6 +59,20 @@ public interface DataStructure {
      */
     ResourceHandle getResource();
 
+    /**
+     * Takes the specified resource from the datastructure if it is free. The resource is given back by
+     * {@link #returnResource(ResourceHandle)}, like the ones got by {@link #getResource()}.
+     *
+     * The default implementation takes nothing, so the resources of such datastructures are not
+     * validated in the background.
+     *
+     * @param resource ResourceHandle
+     * @return true if the resource was free and was taken
+     */
+    default boolean takeResource(ResourceHandle resource) {
+        return false;
+    }
+
     /**
      * remove the specified resource from the datastructure
      *
@@ -47,6 +47,9 @@ public class DataStructureFactory {
                 dataStructure = new ListDataStructure(parameters, maxPoolSize, handler);
             } else if (className.equals(RWLockDataStructure.class.getName())) {
                 dataStructure = new RWLockDataStructure(parameters, maxPoolSize, handler);
+            } else if (className.equals(PartitionedDataStructure.class.getName())
+                    || className.equals(DataStructure.DS_TYPE_PARTITIONED)) {
+                dataStructure = new PartitionedDataStructure(parameters, maxPoolSize, handler);
             } else {
                 dataStructure = initializeCustomDataStructureInPrivilegedMode(className, parameters, maxPoolSize, handler);
             }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -137,6 +137,13 @@ public class ListDataStructure implements DataStructure {
         return resource;
     }
 
+    @Override
+    public boolean takeResource(ResourceHandle resource) {
+        synchronized (free) {
+            return free.remove(resource);
+        }
+    }
+
     /**
      * remove the specified resource from the datastructure
      *
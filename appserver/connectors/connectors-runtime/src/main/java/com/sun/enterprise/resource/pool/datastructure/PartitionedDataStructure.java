@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.logging.LogDomains;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lock-free datastructure for pool which splits the resources into partitions (stripes).
+ * <p>
+ * Every thread has an affinity to one partition, computed from its thread id, and looks for a free
+ * resource there first. Only when its own partition is exhausted it steals from the other partitions.
+ * Resources are claimed and released by a CAS on the state of their slot, so neither
+ * {@link #getResource()} nor {@link #returnResource(ResourceHandle)} takes a lock.
+ * <p>
+ * The number of partitions defaults to the number of available processors rounded up to the power
+ * of two. It can be overridden by the {@code DataStructureParameters} pool property, e.g. {@code 8}.
+ */
+public class PartitionedDataStructure implements DataStructure {
+
+    private static final Logger LOG = LogDomains.getLogger(PartitionedDataStructure.class, LogDomains.RSR_LOGGER);
+
+    private static final int MAX_PARTITIONS = 256;
+
+    private final DataStructureSemaphore availableResources;
+    private final ResourceHandler handler;
+    private final Partition[] partitions;
+    private final int partitionMask;
+    private final ConcurrentHashMap<ResourceHandle, Slot> slots;
+    private final AtomicInteger addCounter = new AtomicInteger();
+
+    private volatile int maxSize;
+
+    public PartitionedDataStructure(String parameters, int maxSize, ResourceHandler handler) {
+        this.availableResources = new DataStructureSemaphore(maxSize);
+        this.handler = handler;
+        this.maxSize = maxSize;
+        this.slots = new ConcurrentHashMap<>(Math.max(16, maxSize));
+
+        int partitionCount = toPowerOfTwo(parsePartitionCount(parameters));
+        this.partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition();
+        }
+        this.partitionMask = partitionCount - 1;
+
+        LOG.log(Level.FINEST, "Initialized partitioned datastructure with {0} partitions", partitionCount);
+    }
+
+    @Override
+    public int addResource(ResourceAllocator allocator, int count) throws PoolingException {
+        int numResAdded = 0;
+        for (int i = 0; i < count; i++) {
+            if (!availableResources.tryAcquire()) {
+                break;
+            }
+
+            ResourceHandle resource;
+            try {
+                resource = handler.createResource(allocator);
+            } catch (Exception e) {
+                availableResources.release();
+                throw new PoolingException(e.getMessage(), e);
+            }
+
+            // Spread new resources evenly, so that every partition gets its share.
+            Partition partition = partitions[addCounter.getAndIncrement() & partitionMask];
+            Slot slot = new Slot(resource, partition);
+            slots.put(resource, slot);
+            partition.add(slot);
+            numResAdded++;
+        }
+        return numResAdded;
+    }
+
+    @Override
+    public ResourceHandle getResource() {
+        int home = homePartition();
+        for (int i = 0; i < partitions.length; i++) {
+            ResourceHandle resource = partitions[(home + i) & partitionMask].claim();
+            if (resource != null) {
+                return resource;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean takeResource(ResourceHandle resource) {
+        Slot slot = slots.get(resource);
+        return slot != null && slot.partition.take(slot);
+    }
+
+    @Override
+    public void removeResource(ResourceHandle resource) {
+        Slot slot = slots.remove(resource);
+        if (slot == null) {
+            return;
+        }
+
+        slot.partition.remove(slot);
+        availableResources.release();
+        handler.deleteResource(resource);
+    }
+
+    @Override
+    public void returnResource(ResourceHandle resource) {
+        Slot slot = slots.get(resource);
+        if (slot == null) {
+            return;
+        }
+
+        slot.partition.release(slot);
+    }
+
+    @Override
+    public int getFreeListSize() {
+        int freeListSize = 0;
+        for (Partition partition : partitions) {
+            freeListSize += partition.free.get();
+        }
+        return freeListSize;
+    }
+
+    @Override
+    public void removeAll() {
+        for (ResourceHandle resource : new ArrayList<>(slots.keySet())) {
+            removeResource(resource);
+        }
+    }
+
+    @Override
+    public int getResourcesSize() {
+        return slots.size();
+    }
+
+    @Override
+    public synchronized void setMaxSize(int newMaxSize) {
+        int permits = newMaxSize - maxSize;
+
+        switch (Integer.signum(permits)) {
+            case 1:
+                availableResources.release(permits);
+                break;
+            case -1:
+                availableResources.reducePermits(Math.abs(permits));
+                break;
+            default:
+                return;
+        }
+
+        this.maxSize = newMaxSize;
+    }
+
+    @Override
+    public List<ResourceHandle> getAllResources() {
+        return new ArrayList<>(slots.keySet());
+    }
+
+    int getPartitionCount() {
+        return partitions.length;
+    }
+
+    private int homePartition() {
+        // Fibonacci hashing spreads sequential thread ids over the partitions.
+        long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return (int) (id >>> 32) & partitionMask;
+    }
+
+    private static int parsePartitionCount(String parameters) {
+        if (parameters != null && !parameters.isBlank()) {
+            try {
+                return Math.min(Math.max(1, Integer.parseInt(parameters.trim())), MAX_PARTITIONS);
+            } catch (NumberFormatException e) {
+                LOG.log(Level.WARNING, "Invalid partition count {0}, using the number of processors.", parameters);
+            }
+        }
+        return Math.min(Runtime.getRuntime().availableProcessors(), MAX_PARTITIONS);
+    }
+
+    private static int toPowerOfTwo(int value) {
+        int highestOneBit = Integer.highestOneBit(value);
+        return highestOneBit == value ? value : highestOneBit << 1;
+    }
+
+
+    /**
+     * One stripe of the pool. The slot array is copied only when resources are added or removed,
+     * which is rare compared to claiming and releasing, so that claims iterate it without
+     * allocating.
+     */
+    private static final class Partition {
+
+        private static final Slot[] EMPTY = new Slot[0];
+
+        private volatile Slot[] slots = EMPTY;
+        private final AtomicInteger free = new AtomicInteger();
+
+        /** Rotating start index, so that claims do not always fight over the first slot. */
+        private final AtomicInteger hint = new AtomicInteger();
+
+        synchronized void add(Slot slot) {
+            Slot[] current = slots;
+            Slot[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = slot;
+            slots = updated;
+            free.incrementAndGet();
+        }
+
+        ResourceHandle claim() {
+            if (free.get() <= 0) {
+                return null;
+            }
+
+            Slot[] snapshot = slots;
+            int length = snapshot.length;
+            if (length == 0) {
+                return null;
+            }
+
+            int start = (hint.getAndIncrement() & Integer.MAX_VALUE) % length;
+            for (int i = 0; i < length; i++) {
+                Slot slot = snapshot[(start + i) % length];
+                if (slot.tryClaim()) {
+                    free.decrementAndGet();
+                    return slot.resource;
+                }
+            }
+            return null;
+        }
+
+        boolean take(Slot slot) {
+            if (slot.tryClaim()) {
+                free.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        void release(Slot slot) {
+            if (slot.tryRelease()) {
+                free.incrementAndGet();
+            }
+        }
+
+        synchronized void remove(Slot slot) {
+            if (slot.markRemoved() == Slot.FREE) {
+                free.decrementAndGet();
+            }
+            Slot[] current = slots;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == slot) {
+                    Slot[] updated = new Slot[current.length - 1];
+                    System.arraycopy(current, 0, updated, 0, i);
+                    System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                    slots = updated;
+                    return;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Holder of the resource and of its state in the pool.
+     */
+    private static final class Slot {
+
+        static final int FREE = 0;
+        static final int IN_USE = 1;
+        static final int REMOVED = 2;
+
+        final ResourceHandle resource;
+        final Partition partition;
+        private final AtomicInteger state = new AtomicInteger(FREE);
+
+        Slot(ResourceHandle resource, Partition partition) {
+            this.resource = resource;
+            this.partition = partition;
+        }
+
+        boolean tryClaim() {
+            return state.get() == FREE && state.compareAndSet(FREE, IN_USE);
+        }
+
+        boolean tryRelease() {
+            return state.compareAndSet(IN_USE, FREE);
+        }
+
+        int markRemoved() {
+            return state.getAndSet(REMOVED);
+        }
+    }
+
+
+    /**
+     * Semaphore whose available permits change according to the
+     * changes in max-pool-size via a reconfiguration.
+     */
+    private static final class DataStructureSemaphore extends Semaphore {
+
+        DataStructureSemaphore(int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
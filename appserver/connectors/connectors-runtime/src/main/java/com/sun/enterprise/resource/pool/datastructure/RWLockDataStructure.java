@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -154,6 +154,21 @@ public class RWLockDataStructure implements DataStructure {
         }
     }
 
+    @Override
+    public boolean takeResource(ResourceHandle resource) {
+        long stamp = lock.writeLock();
+        try {
+            int index = resource.getRwLockDataStructureResourceIndex();
+            if (index < 0 || index >= size || resources[index] != resource || useMask.get(index)) {
+                return false;
+            }
+            useMask.set(index);
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
     @Override
     public void removeResource(ResourceHandle resource) {
         boolean removed = false;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -296,6 +296,30 @@ public class ConnectionPoolEmitterImpl implements PoolLifeCycleListener {
         poolProbeProvider.connectionRequestDequeuedEvent(poolInfo.getName().toString(), poolInfo.getApplicationName(), poolInfo.getModuleName());
     }
 
+    /**
+     * Fires probe event related to the fact that a connection request left
+     * the wait queue of the given connection pool after the given time.
+     *
+     * @param waitTimeInMillis time spent in the wait queue
+     */
+    @Override
+    public void connectionRequestWaited(long waitTimeInMillis) {
+        poolProbeProvider.connectionRequestWaitedEvent(poolInfo.getName().toString(), poolInfo.getApplicationName(), poolInfo.getModuleName(), waitTimeInMillis);
+    }
+
+    /**
+     * Fires probe event related to the fact that the pool resizer changed
+     * the size of the given connection pool.
+     *
+     * @param oldSize number of connections before the change
+     * @param newSize number of connections after the change
+     * @param reason description of the resizer decision
+     */
+    @Override
+    public void poolResized(int oldSize, int newSize, String reason) {
+        poolProbeProvider.connectionPoolResizedEvent(poolInfo.getName().toString(), poolInfo.getApplicationName(), poolInfo.getModuleName(), oldSize, newSize, reason);
+    }
+
     private String getAppName(long resourceHandleId) {
 
         // if monitoring is disabled, avoid sending events
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -221,4 +222,32 @@ public abstract class ConnectionPoolProbeProvider {
      */
     public void connectionRequestDequeuedEvent(String poolName, String appName, String moduleName) {
     }
+
+    /**
+     * Emits probe event/notification that a connection request left the wait
+     * queue of the given  connection pool <code>poolName</code> after waiting
+     * for <code>waitTimeInMillis</code>
+     *
+     * @param poolName
+     * @param appName application-name in which the pool is defined
+     * @param moduleName module-name in which the pool is defined
+     * @param waitTimeInMillis time spent in the wait queue
+     */
+    public void connectionRequestWaitedEvent(String poolName, String appName, String moduleName, long waitTimeInMillis) {
+    }
+
+    /**
+     * Emits probe event/notification that the pool resizer changed the size
+     * of the given connection pool <code>poolName</code>
+     *
+     * @param poolName
+     * @param appName application-name in which the pool is defined
+     * @param moduleName module-name in which the pool is defined
+     * @param oldSize number of connections before the change
+     * @param newSize number of connections after the change
+     * @param reason description of the resizer decision
+     */
+    public void connectionPoolResizedEvent(String poolName, String appName, String moduleName, int oldSize, int newSize,
+            String reason) {
+    }
 }
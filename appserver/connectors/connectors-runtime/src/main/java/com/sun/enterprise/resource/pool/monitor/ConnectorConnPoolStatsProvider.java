@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -29,10 +29,12 @@ import org.glassfish.external.probe.provider.annotations.ProbeListener;
 import org.glassfish.external.probe.provider.annotations.ProbeParam;
 import org.glassfish.external.statistics.CountStatistic;
 import org.glassfish.external.statistics.RangeStatistic;
+import org.glassfish.external.statistics.StringStatistic;
 import org.glassfish.external.statistics.annotations.Reset;
 import org.glassfish.external.statistics.impl.CountStatisticImpl;
 import org.glassfish.external.statistics.impl.RangeStatisticImpl;
 import org.glassfish.external.statistics.impl.StatisticImpl;
+import org.glassfish.external.statistics.impl.StringStatisticImpl;
 import org.glassfish.gmbal.AMXMetadata;
 import org.glassfish.gmbal.Description;
 import org.glassfish.gmbal.ManagedAttribute;
@@ -119,6 +121,19 @@ public class ConnectorConnPoolStatsProvider {
     private final CountStatisticImpl waitQueueLength = new CountStatisticImpl(
             "WaitQueueLength", StatisticImpl.UNIT_COUNT,
             "Number of connection requests in the queue waiting to be serviced.");
+    private final WaitTimeHistogram waitQueueWaitTimes = new WaitTimeHistogram();
+    private final StringStatisticImpl waitQueueWaitTimeHistogram = new StringStatisticImpl(
+            "WaitQueueWaitTimeHistogram", "List",
+            "Histogram of times the connection requests spent in the wait queue");
+    private final CountStatisticImpl numConnAddedByResizer = new CountStatisticImpl(
+            "NumConnAddedByResizer", StatisticImpl.UNIT_COUNT,
+            "Number of connections added to the pool by the pool resizer");
+    private final CountStatisticImpl numConnRemovedByResizer = new CountStatisticImpl(
+            "NumConnRemovedByResizer", StatisticImpl.UNIT_COUNT,
+            "Number of connections removed from the pool by the pool resizer");
+    private final StringStatisticImpl lastPoolResizeDecision = new StringStatisticImpl(
+            "LastPoolResizeDecision", "String",
+            "The last decision of the pool resizer changing the size of the pool");
     private static final String JCA_PROBE_LISTENER = "glassfish:jca:connection-pool:";
 
     public ConnectorConnPoolStatsProvider(PoolInfo poolInfo, Logger logger) {
@@ -460,6 +475,11 @@ public class ConnectorConnPoolStatsProvider {
         averageConnWaitTime.reset();
         totalConnRequestWaitTime.reset();
         waitQueueLength.reset();
+        waitQueueWaitTimes.reset();
+        waitQueueWaitTimeHistogram.reset();
+        numConnAddedByResizer.reset();
+        numConnRemovedByResizer.reset();
+        lastPoolResizeDecision.reset();
     }
 
     /**
@@ -541,6 +561,53 @@ public class ConnectorConnPoolStatsProvider {
         }
     }
 
+    /**
+     * When a connection request leaves the wait queue, record the time it spent there.
+     */
+    @ProbeListener(JCA_PROBE_LISTENER + "connectionRequestWaitedEvent")
+    public void connectionRequestWaitedEvent(
+            @ProbeParam("poolName") String poolName,
+            @ProbeParam("appName") String appName,
+            @ProbeParam("moduleName") String moduleName,
+            @ProbeParam("waitTimeInMillis") long waitTimeInMillis
+            ) {
+
+        PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
+        if (this.poolInfo.equals(poolInfo)) {
+            if (logger.isLoggable(Level.FINEST)) {
+                logger.finest("Wait Queue wait time event received - poolName = " + poolName);
+            }
+            waitQueueWaitTimes.record(waitTimeInMillis);
+        }
+    }
+
+    /**
+     * When the pool resizer changes the size of the pool, record its decision.
+     */
+    @ProbeListener(JCA_PROBE_LISTENER + "connectionPoolResizedEvent")
+    public void connectionPoolResizedEvent(
+            @ProbeParam("poolName") String poolName,
+            @ProbeParam("appName") String appName,
+            @ProbeParam("moduleName") String moduleName,
+            @ProbeParam("oldSize") int oldSize,
+            @ProbeParam("newSize") int newSize,
+            @ProbeParam("reason") String reason
+            ) {
+
+        PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
+        if (this.poolInfo.equals(poolInfo)) {
+            if (logger.isLoggable(Level.FINEST)) {
+                logger.finest("Pool resized event received - poolName = " + poolName);
+            }
+            if (newSize > oldSize) {
+                numConnAddedByResizer.increment(newSize - oldSize);
+            } else {
+                numConnRemovedByResizer.increment(oldSize - newSize);
+            }
+            lastPoolResizeDecision.setCurrent(oldSize + " -> " + newSize + " (" + reason + ")");
+        }
+    }
+
     protected PoolInfo getPoolInfo() {
         return poolInfo;
     }
@@ -626,4 +693,25 @@ public class ConnectorConnPoolStatsProvider {
     public CountStatistic getWaitQueueLength() {
         return waitQueueLength;
     }
+
+    @ManagedAttribute(id="waitqueuewaittimehistogram")
+    public StringStatistic getWaitQueueWaitTimeHistogram() {
+        waitQueueWaitTimeHistogram.setCurrent(waitQueueWaitTimes.toString());
+        return waitQueueWaitTimeHistogram;
+    }
+
+    @ManagedAttribute(id="numconnaddedbyresizer")
+    public CountStatistic getNumConnAddedByResizer() {
+        return numConnAddedByResizer;
+    }
+
+    @ManagedAttribute(id="numconnremovedbyresizer")
+    public CountStatistic getNumConnRemovedByResizer() {
+        return numConnRemovedByResizer;
+    }
+
+    @ManagedAttribute(id="lastpoolresizedecision")
+    public StringStatistic getLastPoolResizeDecision() {
+        return lastPoolResizeDecision;
+    }
 }
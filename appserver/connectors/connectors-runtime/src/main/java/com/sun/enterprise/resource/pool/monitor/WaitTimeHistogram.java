@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.monitor;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of times the connection requests spent in the wait queue of the pool.
+ * Buckets have fixed upper bounds in milliseconds, the last bucket collects everything else.
+ * Recording is lock-free, so it can be called from many threads leaving the wait queue.
+ */
+public class WaitTimeHistogram {
+
+    private static final long[] BOUNDS_IN_MILLIS = {1, 5, 10, 50, 100, 500, 1_000, 5_000, 10_000, 60_000};
+
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDS_IN_MILLIS.length + 1);
+
+    /**
+     * @param waitTimeInMillis time spent in the wait queue
+     */
+    public void record(long waitTimeInMillis) {
+        int bucket = 0;
+        while (bucket < BOUNDS_IN_MILLIS.length && waitTimeInMillis > BOUNDS_IN_MILLIS[bucket]) {
+            bucket++;
+        }
+        counts.incrementAndGet(bucket);
+    }
+
+    /**
+     * @param bucket index of the bucket, the last one has no upper bound
+     * @return number of recorded times in the bucket
+     */
+    public long getCount(int bucket) {
+        return counts.get(bucket);
+    }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0L);
+        }
+    }
+
+    /**
+     * @return the histogram in form <code>&lt;=1ms:10, &lt;=5ms:2, ..., &gt;60000ms:0</code>
+     */
+    @Override
+    public String toString() {
+        StringBuilder histogram = new StringBuilder();
+        for (int i = 0; i < BOUNDS_IN_MILLIS.length; i++) {
+            histogram.append("<=").append(BOUNDS_IN_MILLIS[i]).append("ms:").append(counts.get(i)).append(", ");
+        }
+        histogram.append('>').append(BOUNDS_IN_MILLIS[BOUNDS_IN_MILLIS.length - 1]).append("ms:")
+            .append(counts.get(BOUNDS_IN_MILLIS.length));
+        return histogram.toString();
+    }
+}
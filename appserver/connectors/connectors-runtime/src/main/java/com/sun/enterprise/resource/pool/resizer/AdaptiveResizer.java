@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.resizer;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.pool.PoolProperties;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.enterprise.resource.pool.datastructure.DataStructure;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+
+/**
+ * Resizer growing and shrinking the pool between the steady pool size and the max pool size
+ * based on the recent demand.
+ * <p>
+ * Every {@link #CONTROL_INTERVAL_IN_MILLIS} the resizer evaluates the requests served since the
+ * last run: their wait time, the borrow rate, the time needed to create a connection and the
+ * utilization of the pool.
+ * <ul>
+ * <li>The pool grows immediately when requests wait for connections or when the free connections
+ * would not last for the time needed to create a new one at the current borrow rate.</li>
+ * <li>The pool shrinks only after the utilization stayed under {@link #LOW_UTILIZATION} for
+ * {@link #SHRINK_DELAY_INTERVALS} consecutive runs, and at most by the pool resize quantity per run.</li>
+ * </ul>
+ * Between the two thresholds nothing changes, so bursty traffic does not make the pool oscillate.
+ * <p>
+ * Idle and invalid connections are still removed every idle timeout like by the default resizer,
+ * but the fixed scale down by the pool resize quantity is replaced by the controller.
+ */
+public class AdaptiveResizer extends Resizer {
+
+    /**
+     * Value of the PoolResizer pool property selecting this resizer.
+     */
+    public static final String ADAPTIVE_RESIZER = "ADAPTIVE";
+
+    static final long CONTROL_INTERVAL_IN_MILLIS = 5_000L;
+    static final double HIGH_UTILIZATION = 0.85;
+    static final double LOW_UTILIZATION = 0.5;
+    static final double TARGET_UTILIZATION = 0.7;
+    static final int SHRINK_DELAY_INTERVALS = 6;
+    static final long WAIT_TIME_THRESHOLD_IN_MILLIS = 10L;
+    private static final double CREATION_TIME_SMOOTHING = 0.3;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder waitingRequests = new LongAdder();
+    private final LongAdder totalWaitTime = new LongAdder();
+    private final LongAdder creations = new LongAdder();
+    private final LongAdder totalCreationTime = new LongAdder();
+
+    // accessed only by the timer thread
+    private double creationTime;
+    private int lowUtilizationIntervals;
+    private long lastControlTime;
+    private long lastIdleResizeTime;
+
+    public AdaptiveResizer(PoolInfo poolInfo, DataStructure ds, PoolProperties pp, ResourceHandler handler,
+        boolean preferValidateOverRecreate) {
+        super(poolInfo, ds, pp, handler, preferValidateOverRecreate);
+        this.lastControlTime = System.currentTimeMillis();
+        this.lastIdleResizeTime = lastControlTime;
+    }
+
+    @Override
+    public long getPeriod(long idleTime) {
+        return Math.min(idleTime, CONTROL_INTERVAL_IN_MILLIS);
+    }
+
+    @Override
+    public void resourceRequested(long waitTimeInMillis) {
+        requests.increment();
+        if (waitTimeInMillis > 0) {
+            waitingRequests.increment();
+            totalWaitTime.add(waitTimeInMillis);
+        }
+    }
+
+    @Override
+    public void resourceCreated(long creationTimeInMillis) {
+        creations.increment();
+        totalCreationTime.add(creationTimeInMillis);
+    }
+
+    @Override
+    public void run() {
+        debug("Adaptive resizer for pool " + poolInfo);
+        try {
+            long now = System.currentTimeMillis();
+            controlPoolSize(Math.max(1L, now - lastControlTime));
+            lastControlTime = now;
+
+            if (now - lastIdleResizeTime >= pool.getIdleTimeout()) {
+                lastIdleResizeTime = now;
+                resizePool(false);
+            }
+        } catch (Exception ex) {
+            Object[] params = new Object[] { poolInfo, ex.getMessage() };
+            _logger.log(Level.WARNING, "resource_pool.resize_pool_error", params);
+        }
+    }
+
+    /**
+     * Evaluates the requests since the last run and grows or shrinks the pool.
+     *
+     * @param intervalInMillis time since the last run
+     * @return number of resources added, negative if resources were removed
+     */
+    public int controlPoolSize(long intervalInMillis) {
+        long requestCount = requests.sumThenReset();
+        long waitingRequestCount = waitingRequests.sumThenReset();
+        long waitTime = totalWaitTime.sumThenReset();
+        long creationCount = creations.sumThenReset();
+        long creationTimeSum = totalCreationTime.sumThenReset();
+        if (creationCount > 0) {
+            double lastCreationTime = (double) creationTimeSum / creationCount;
+            creationTime = creationTime == 0 ? lastCreationTime
+                : CREATION_TIME_SMOOTHING * lastCreationTime + (1 - CREATION_TIME_SMOOTHING) * creationTime;
+        }
+
+        int size = dataStructure.getResourcesSize();
+        int free = dataStructure.getFreeListSize();
+        int busy = size - free;
+        int waiting = pool.getWaitQueueLength();
+        double utilization = size == 0 ? (waiting > 0 ? 1 : 0) : (double) busy / size;
+        long averageWaitTime = waitingRequestCount == 0 ? 0 : waitTime / waitingRequestCount;
+        // Connections borrowed while a new one is being created.
+        double borrowRate = (double) requestCount / intervalInMillis;
+        int headroom = (int) Math.ceil(borrowRate * creationTime);
+
+        if (_logger.isLoggable(Level.FINE)) {
+            debug("Adaptive resizer for pool " + poolInfo + ": size=" + size + ", busy=" + busy + ", waiting=" + waiting
+                + ", requests=" + requestCount + ", averageWaitTime=" + averageWaitTime + ", creationTime="
+                + (long) creationTime + ", headroom=" + headroom);
+        }
+
+        if (waiting > 0 || averageWaitTime >= WAIT_TIME_THRESHOLD_IN_MILLIS
+            || (utilization >= HIGH_UTILIZATION && free < headroom)) {
+            lowUtilizationIntervals = 0;
+            int quantity = Math.max(1, waiting + Math.max(0, headroom - free));
+            if (averageWaitTime >= WAIT_TIME_THRESHOLD_IN_MILLIS) {
+                quantity = Math.max(quantity, pool.getResizeQuantity());
+            }
+            String reason = "waiting=" + waiting + ", averageWaitTime=" + averageWaitTime + "ms, headroom=" + headroom;
+            return growPool(size, quantity, reason);
+        }
+
+        if (utilization > LOW_UTILIZATION || ++lowUtilizationIntervals < SHRINK_DELAY_INTERVALS) {
+            return 0;
+        }
+        lowUtilizationIntervals = 0;
+        int targetSize = Math.max(pool.getSteadyPoolSize(), (int) Math.ceil(busy / TARGET_UTILIZATION) + headroom);
+        int quantity = Math.min(Math.max(1, pool.getResizeQuantity()), size - targetSize);
+        if (quantity <= 0) {
+            return 0;
+        }
+        return -shrinkPool(size, quantity, "utilization=" + Math.round(utilization * 100) + "%");
+    }
+
+    private int growPool(int size, int quantity, String reason) {
+        int added = 0;
+        try {
+            for (int i = 0; i < quantity && dataStructure.getResourcesSize() < pool.getMaxPoolSize(); i++) {
+                handler.createResourceAndAddToPool();
+                added++;
+            }
+        } catch (PoolingException ex) {
+            Object[] params = new Object[] { poolInfo, ex.getMessage() };
+            _logger.log(Level.WARNING, "resource_pool.resize_pool_error", params);
+        }
+        if (added > 0) {
+            debug("Adaptive resizer grew the pool " + poolInfo + " by " + added + ": " + reason);
+            handler.poolResized(size, size + added, "grow: " + reason);
+        }
+        return added;
+    }
+
+    private int shrinkPool(int size, int quantity, String reason) {
+        int removed = 0;
+        ResourceHandle handle;
+        while (removed < quantity && dataStructure.getResourcesSize() > pool.getSteadyPoolSize()
+            && (handle = dataStructure.getResource()) != null) {
+            dataStructure.removeResource(handle);
+            removed++;
+        }
+        if (removed > 0) {
+            debug("Adaptive resizer shrank the pool " + poolInfo + " by " + removed + ": " + reason);
+            handler.poolResized(size, size - removed, "shrink: " + reason);
+        }
+        return removed;
+    }
+}
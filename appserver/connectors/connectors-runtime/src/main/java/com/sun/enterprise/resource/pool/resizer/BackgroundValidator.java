@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.resizer;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.pool.PoolProperties;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.enterprise.resource.pool.datastructure.DataStructure;
+import com.sun.logging.LogDomains;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Logger;
+
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+/**
+ * Validates free connections of the pool in the background, so the validation does not have to
+ * be done on the thread borrowing the connection.
+ * <p>
+ * Every run looks for free connections which were neither used nor validated for at least
+ * the configured idle time. They are taken out of the pool in small batches, so that the pool
+ * keeps its other free connections available while a batch is being validated. Connections of
+ * a batch are validated concurrently by the given executor and only the valid ones are returned. Invalid connections are destroyed before they can be handed out, and
+ * the pool is refilled up to the steady pool size.
+ * <p>
+ * The task is run by an executor owned by the pool, because the validation may block on
+ * unreachable backends. The validation itself is done by the resource adapter, see
+ * {@link com.sun.enterprise.resource.allocator.ResourceAllocator#isConnectionValid(ResourceHandle)}.
+ */
+public class BackgroundValidator implements Runnable {
+
+    private static final Logger LOG = LogDomains.getLogger(BackgroundValidator.class, LogDomains.RSR_LOGGER);
+
+    /**
+     * Maximal number of free connections taken out of the pool at the same time.
+     */
+    static final int BATCH_SIZE = 4;
+
+    /**
+     * Maximal time to wait for the validation of a batch, connections not validated until then
+     * are considered invalid.
+     */
+    static final long VALIDATION_TIMEOUT_IN_MILLIS = 30_000L;
+
+    private final PoolInfo poolInfo;
+    private final DataStructure dataStructure;
+    private final PoolProperties pool;
+    private final ResourceHandler handler;
+    private final long idleTimeInMillis;
+    private final ExecutorService validationExecutor;
+
+    /**
+     * @param poolInfo the validated pool
+     * @param dataStructure datastructure of the pool
+     * @param pool pool properties
+     * @param handler handler of the pool, notified about invalid connections
+     * @param idleTimeInMillis free connections idle longer than this are validated
+     * @param validationExecutor executor validating connections of a batch, should have
+     *            {@link #BATCH_SIZE} threads
+     */
+    public BackgroundValidator(PoolInfo poolInfo, DataStructure dataStructure, PoolProperties pool, ResourceHandler handler,
+        long idleTimeInMillis, ExecutorService validationExecutor) {
+        this.poolInfo = poolInfo;
+        this.dataStructure = dataStructure;
+        this.pool = pool;
+        this.handler = handler;
+        this.idleTimeInMillis = idleTimeInMillis;
+        this.validationExecutor = validationExecutor;
+    }
+
+    @Override
+    public void run() {
+        LOG.log(FINE, "Background validation of the pool {0}", poolInfo);
+        try {
+            validateIdleResources();
+        } catch (Exception ex) {
+            Object[] params = new Object[] { poolInfo, ex.getMessage() };
+            LOG.log(WARNING, "resource_pool.resize_pool_error", params);
+        }
+    }
+
+    /**
+     * Validates free resources idle longer than the configured time.
+     *
+     * @return number of invalid resources removed from the pool
+     */
+    public int validateIdleResources() {
+        final long now = System.currentTimeMillis();
+        List<ResourceHandle> batch = new ArrayList<>(BATCH_SIZE);
+        int validatedResources = 0;
+        int invalidResources = 0;
+        for (ResourceHandle resource : dataStructure.getAllResources()) {
+            // Threads are waiting for free resources, don't take them from the pool now.
+            if (pool.getWaitQueueLength() > 0) {
+                break;
+            }
+            if (!isIdle(resource, now) || !dataStructure.takeResource(resource)) {
+                continue;
+            }
+            // The timestamp is stable only once the resource is taken.
+            if (!isIdle(resource, now)) {
+                dataStructure.returnResource(resource);
+                continue;
+            }
+            batch.add(resource);
+            if (batch.size() == BATCH_SIZE) {
+                validatedResources += batch.size();
+                invalidResources += validate(batch, now);
+            }
+        }
+        validatedResources += batch.size();
+        invalidResources += validate(batch, now);
+
+        if (invalidResources > 0) {
+            ensureSteadyPool();
+        }
+        LOG.log(FINE, "Background validation of {0} idle resources of the pool {1} removed {2} invalid resources",
+            new Object[] {validatedResources, poolInfo, invalidResources});
+        return invalidResources;
+    }
+
+    private boolean isIdle(ResourceHandle resource, long now) {
+        long lastActivity = Math.max(resource.getResourceState().getTimestamp(), resource.getLastValidated());
+        return now - lastActivity >= idleTimeInMillis;
+    }
+
+    /**
+     * Validates the taken resources, returns the valid ones to the pool and clears the batch.
+     *
+     * @return number of invalid resources removed from the pool
+     */
+    private int validate(List<ResourceHandle> batch, long now) {
+        int invalidResources = 0;
+        List<Future<Boolean>> results = new ArrayList<>(batch.size());
+        try {
+            for (ResourceHandle resource : batch) {
+                results.add(validationExecutor.submit(() -> isValid(resource)));
+            }
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(VALIDATION_TIMEOUT_IN_MILLIS);
+            for (int i = 0; i < batch.size(); i++) {
+                ResourceHandle resource = batch.get(i);
+                if (getValidationResult(resource, results.get(i), deadline)) {
+                    resource.setLastValidated(now);
+                    dataStructure.returnResource(resource);
+                } else {
+                    LOG.log(FINE, "Removing invalid idle resource {0} from the pool {1}", new Object[] {resource, poolInfo});
+                    dataStructure.removeResource(resource);
+                    handler.invalidConnectionDetected(resource);
+                    invalidResources++;
+                }
+                batch.set(i, null);
+            }
+        } catch (InterruptedException e) {
+            // The pool is being destroyed, the remaining resources are returned unvalidated.
+            Thread.currentThread().interrupt();
+        } catch (RejectedExecutionException e) {
+            LOG.log(FINE, "Background validation of the pool {0} was stopped", poolInfo);
+        } finally {
+            // Resources not processed due to an unexpected error are returned unvalidated.
+            for (int i = 0; i < batch.size(); i++) {
+                ResourceHandle resource = batch.get(i);
+                if (resource != null) {
+                    if (i < results.size()) {
+                        results.get(i).cancel(true);
+                    }
+                    dataStructure.returnResource(resource);
+                }
+            }
+            batch.clear();
+        }
+        return invalidResources;
+    }
+
+    private boolean getValidationResult(ResourceHandle resource, Future<Boolean> result, long deadline)
+        throws InterruptedException {
+        try {
+            return result.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            LOG.log(WARNING, "Validation of the resource {0} of the pool {1} did not finish in {2} ms",
+                new Object[] {resource, poolInfo, VALIDATION_TIMEOUT_IN_MILLIS});
+            result.cancel(true);
+            return false;
+        } catch (ExecutionException e) {
+            LOG.log(FINE, "Validation of the resource " + resource + " failed", e.getCause());
+            return false;
+        }
+    }
+
+    private boolean isValid(ResourceHandle resource) {
+        try {
+            return resource.getResourceAllocator().isConnectionValid(resource);
+        } catch (Exception e) {
+            LOG.log(FINE, "Validation of the resource " + resource + " failed", e);
+            return false;
+        }
+    }
+
+    private void ensureSteadyPool() {
+        for (int i = dataStructure.getResourcesSize(); i < pool.getSteadyPoolSize(); i++) {
+            try {
+                handler.createResourceAndAddToPool();
+            } catch (PoolingException ex) {
+                Object[] params = new Object[] { poolInfo, ex.getMessage() };
+                LOG.log(WARNING, "resource_pool.resize_pool_error", params);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.resizer;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.pool.PoolProperties;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.enterprise.resource.pool.datastructure.DataStructure;
+import com.sun.logging.LogDomains;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+/**
+ * Fills the pool up to the steady pool size in the background, opening several connections
+ * in parallel.
+ * <p>
+ * The pool does not wait for the pre-fill. Every created resource is added to the pool as soon
+ * as it is ready, and a thread waiting for a resource is notified, so the first requests do not
+ * have to wait until all connections are opened. When a connection cannot be created, the worker
+ * stops and the pool is filled later by the resizer or on demand.
+ */
+public class PoolPrefiller {
+
+    private static final Logger LOG = LogDomains.getLogger(PoolPrefiller.class, LogDomains.RSR_LOGGER);
+
+    private final PoolInfo poolInfo;
+    private final DataStructure dataStructure;
+    private final PoolProperties pool;
+    private final ResourceHandler handler;
+    private final int parallelism;
+    private final ExecutorService executor;
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile boolean cancelled;
+
+    /**
+     * @param poolInfo the filled pool
+     * @param dataStructure datastructure of the pool
+     * @param pool pool properties
+     * @param handler handler of the pool, creates the resources
+     * @param parallelism maximal number of resources created at the same time
+     */
+    public PoolPrefiller(PoolInfo poolInfo, DataStructure dataStructure, PoolProperties pool, ResourceHandler handler,
+        int parallelism) {
+        this.poolInfo = poolInfo;
+        this.dataStructure = dataStructure;
+        this.pool = pool;
+        this.handler = handler;
+        this.parallelism = Math.max(1, parallelism);
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "prefill-" + poolInfo.getName() + "-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts the workers and returns immediately.
+     */
+    public void start() {
+        final int missing = pool.getSteadyPoolSize() - dataStructure.getResourcesSize();
+        if (missing <= 0) {
+            executor.shutdown();
+            return;
+        }
+        LOG.log(FINE, "Pre-filling {0} resources of the pool {1} with {2} threads",
+            new Object[] {missing, poolInfo, parallelism});
+        // Every worker claims one resource at a time, so no more than the missing ones are created
+        // even when requests add resources to the pool at the same time.
+        AtomicInteger remaining = new AtomicInteger(missing);
+        final long start = System.nanoTime();
+        AtomicInteger runningWorkers = new AtomicInteger(Math.min(parallelism, missing));
+        for (int i = runningWorkers.get(); i > 0; i--) {
+            executor.execute(() -> {
+                try {
+                    fill(remaining);
+                } finally {
+                    if (runningWorkers.decrementAndGet() == 0) {
+                        LOG.log(FINE, "Pre-fill of the pool {0} created {1} resources in {2} ms, {3} failed",
+                            new Object[] {poolInfo, created.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                                failed.get()});
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+    }
+
+    private void fill(AtomicInteger remaining) {
+        while (!cancelled && remaining.getAndDecrement() > 0 && dataStructure.getResourcesSize() < pool.getSteadyPoolSize()) {
+            try {
+                handler.createResourceAndAddToPool();
+                created.incrementAndGet();
+                handler.resourceAdded();
+            } catch (PoolingException | RuntimeException ex) {
+                failed.incrementAndGet();
+                // The resource probably is not available, don't let other workers hammer it.
+                remaining.set(0);
+                Object[] params = new Object[] { poolInfo, ex.getMessage() };
+                LOG.log(WARNING, "resource_pool.resize_pool_error", params);
+                LOG.log(FINE, "Pre-fill of the pool " + poolInfo + " failed", ex);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Waits until all workers finish.
+     *
+     * @param timeout maximal time to wait
+     * @param unit unit of the timeout
+     * @return true if the pre-fill finished, false if the timeout expired
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Stops creating new resources. Resources being created are still added to the pool.
+     */
+    public void cancel() {
+        cancelled = true;
+        executor.shutdown();
+    }
+
+    /**
+     * @return number of resources created by this pre-fill
+     */
+    public int getCreatedResources() {
+        return created.get();
+    }
+
+    /**
+     * @return number of resources which failed to be created
+     */
+    public int getFailedResources() {
+        return failed.get();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -63,6 +63,11 @@ public class Resizer extends TimerTask {
     protected ResourceHandler handler;
     protected boolean preferValidateOverRecreate;
 
+    /**
+     * Resources validated by the {@link BackgroundValidator} within this time are not validated again.
+     */
+    protected long backgroundValidationIdleTime;
+
     public Resizer(PoolInfo poolInfo, DataStructure ds, PoolProperties pp, ResourceHandler handler, boolean preferValidateOverRecreate) {
         this.poolInfo = poolInfo;
         this.dataStructure = ds;
@@ -71,6 +76,39 @@ public class Resizer extends TimerTask {
         this.preferValidateOverRecreate = preferValidateOverRecreate;
     }
 
+    /**
+     * @param backgroundValidationIdleTime period of the background validation, 0 if disabled
+     */
+    public void setBackgroundValidationIdleTime(long backgroundValidationIdleTime) {
+        this.backgroundValidationIdleTime = backgroundValidationIdleTime;
+    }
+
+    /**
+     * @param idleTime idle timeout of the pool in milliseconds
+     * @return period of this task in milliseconds
+     */
+    public long getPeriod(long idleTime) {
+        return idleTime;
+    }
+
+    /**
+     * Called by the pool when a resource request was served or timed out.
+     * The default resizer does not use it.
+     *
+     * @param waitTimeInMillis time the request waited for the resource
+     */
+    public void resourceRequested(long waitTimeInMillis) {
+    }
+
+    /**
+     * Called by the pool when a new resource was created.
+     * The default resizer does not use it.
+     *
+     * @param creationTimeInMillis time spent creating the resource
+     */
+    public void resourceCreated(long creationTimeInMillis) {
+    }
+
     @Override
     public void run() {
         debug("Resizer for pool " + poolInfo);
@@ -171,9 +209,11 @@ public class Resizer extends TimerTask {
             while ((h = dataStructure.getResource()) != null) {
                 state = h.getResourceState();
                 if (currentTime - state.getTimestamp() < pool.getIdleTimeout()) {
-                    // Should be added for validation.
                     validConnectionsCounter++;
-                    resourcesToValidate.add(h.toString());
+                    if (!isValidatedInBackground(h, currentTime)) {
+                        // Should be added for validation.
+                        resourcesToValidate.add(h.toString());
+                    }
                     activeResources.add(h);
                 } else {
                     boolean isResourceEligibleForRemoval = isResourceEligibleForRemoval(h, validConnectionsCounter);
@@ -261,6 +301,15 @@ public class Resizer extends TimerTask {
         }
     }
 
+    /**
+     * @param h resource handle
+     * @param currentTime current time in milliseconds
+     * @return true if the resource was recently validated by the {@link BackgroundValidator}
+     */
+    protected boolean isValidatedInBackground(ResourceHandle h, long currentTime) {
+        return backgroundValidationIdleTime > 0 && currentTime - h.getLastValidated() < backgroundValidationIdleTime;
+    }
+
     protected static void debug(String debugStatement) {
         _logger.log(FINE, debugStatement);
     }
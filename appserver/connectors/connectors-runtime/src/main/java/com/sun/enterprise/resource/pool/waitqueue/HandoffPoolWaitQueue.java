@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.waitqueue;
+
+import com.sun.logging.LogDomains;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fair wait queue which parks the waiting threads instead of using monitors, so it does not pin
+ * carrier threads of virtual threads.
+ * <p>
+ * The notification is handed off directly to the longest waiting thread: the notifier changes
+ * the state of the waiter and unparks just that single thread. If the waiter timed out in
+ * the meantime, the notification passes to the next waiter, so it is never lost.
+ * Waiters which time out unlink themselves from the queue in constant time.
+ * <p>
+ * The objects kept in the queue are {@link Waiter} instances, other objects are rejected.
+ */
+public class HandoffPoolWaitQueue implements PoolWaitQueue {
+
+    private static final Logger LOG = LogDomains.getLogger(HandoffPoolWaitQueue.class, LogDomains.RSR_LOGGER);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private Waiter head;
+    private Waiter tail;
+    private volatile int size;
+
+    public HandoffPoolWaitQueue() {
+        LOG.log(Level.FINE, "Initializing handoff Pool Wait Queue");
+    }
+
+    @Override
+    public int getQueueLength() {
+        return size;
+    }
+
+    @Override
+    public void addToQueue(Object waiter) {
+        lock.lock();
+        try {
+            link(toWaiter(waiter));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeFromQueue(Object waiter) {
+        if (!(waiter instanceof Waiter)) {
+            return false;
+        }
+        lock.lock();
+        try {
+            return unlink((Waiter) waiter);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Object remove() {
+        lock.lock();
+        try {
+            Waiter first = head;
+            if (first == null) {
+                throw new NoSuchElementException();
+            }
+            unlink(first);
+            return first;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Object peek() {
+        return head;
+    }
+
+    @Override
+    public Collection getQueueContents() {
+        lock.lock();
+        try {
+            List<Waiter> waiters = new ArrayList<>(size);
+            for (Waiter waiter = head; waiter != null; waiter = waiter.next) {
+                waiters.add(waiter);
+            }
+            return waiters;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean awaitNotification(long timeoutInMillis) throws InterruptedException {
+        Waiter waiter = new Waiter(Thread.currentThread());
+        addToQueue(waiter);
+
+        final long deadline = timeoutInMillis > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutInMillis) : 0L;
+        boolean interrupted = false;
+        while (waiter.isWaiting()) {
+            if (Thread.interrupted()) {
+                interrupted = true;
+                break;
+            }
+            if (timeoutInMillis > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0L) {
+                    break;
+                }
+                LockSupport.parkNanos(this, remaining);
+            } else {
+                LockSupport.park(this);
+            }
+        }
+
+        if (waiter.cancel()) {
+            removeFromQueue(waiter);
+            if (interrupted) {
+                throw new InterruptedException();
+            }
+            return false;
+        }
+
+        // The waiter got the notification.
+        if (interrupted) {
+            // Pass the notification to somebody who can still use it.
+            notifyWaiter();
+            throw new InterruptedException();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean notifyWaiter() {
+        Waiter notified = null;
+        lock.lock();
+        try {
+            for (Waiter waiter = head; waiter != null; waiter = head) {
+                unlink(waiter);
+                if (waiter.signal()) {
+                    notified = waiter;
+                    break;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (notified == null) {
+            return false;
+        }
+        LockSupport.unpark(notified.thread);
+        return true;
+    }
+
+    @Override
+    public void notifyAllWaiters() {
+        List<Waiter> notified = new ArrayList<>();
+        lock.lock();
+        try {
+            for (Waiter waiter = head; waiter != null; waiter = head) {
+                unlink(waiter);
+                if (waiter.signal()) {
+                    notified.add(waiter);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (Waiter waiter : notified) {
+            LockSupport.unpark(waiter.thread);
+        }
+    }
+
+    private static Waiter toWaiter(Object waiter) {
+        if (waiter instanceof Waiter) {
+            return (Waiter) waiter;
+        }
+        throw new IllegalArgumentException("Only waiters created by the queue are accepted, but got " + waiter);
+    }
+
+    /**
+     * Must be called under the lock.
+     */
+    private void link(Waiter waiter) {
+        if (waiter.linked) {
+            return;
+        }
+        waiter.prev = tail;
+        waiter.next = null;
+        if (tail == null) {
+            head = waiter;
+        } else {
+            tail.next = waiter;
+        }
+        tail = waiter;
+        waiter.linked = true;
+        size++;
+    }
+
+    /**
+     * Must be called under the lock.
+     */
+    private boolean unlink(Waiter waiter) {
+        if (!waiter.linked) {
+            return false;
+        }
+        if (waiter.prev == null) {
+            head = waiter.next;
+        } else {
+            waiter.prev.next = waiter.next;
+        }
+        if (waiter.next == null) {
+            tail = waiter.prev;
+        } else {
+            waiter.next.prev = waiter.prev;
+        }
+        waiter.prev = null;
+        waiter.next = null;
+        waiter.linked = false;
+        size--;
+        return true;
+    }
+
+
+    /**
+     * Node of the queue representing one waiting thread.
+     */
+    public static final class Waiter {
+
+        private static final int WAITING = 0;
+        private static final int NOTIFIED = 1;
+        private static final int CANCELLED = 2;
+
+        private final Thread thread;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        // guarded by the queue lock
+        private Waiter prev;
+        private Waiter next;
+        private boolean linked;
+
+        Waiter(Thread thread) {
+            this.thread = thread;
+        }
+
+        boolean isWaiting() {
+            return state.get() == WAITING;
+        }
+
+        boolean signal() {
+            return state.compareAndSet(WAITING, NOTIFIED);
+        }
+
+        boolean cancel() {
+            return state.compareAndSet(WAITING, CANCELLED);
+        }
+
+        @Override
+        public String toString() {
+            return "Waiter[thread=" + thread.getName() + ", state=" + state.get() + "]";
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -28,6 +28,7 @@ import java.util.Collection;
 public interface PoolWaitQueue {
     String DEFAULT_WAIT_QUEUE = "DEFAULT_WAIT_QUEUE";
     String THREAD_PRIORITY_BASED_WAIT_QUEUE = "THREAD_PRIORITY_BASED_WAIT_QUEUE";
+    String HANDOFF_WAIT_QUEUE = "HANDOFF_WAIT_QUEUE";
 
     /**
      * returns the length of wait queue
@@ -80,4 +81,56 @@ public interface PoolWaitQueue {
      * @return Collection
      */
     Collection getQueueContents();
+
+    /**
+     * Adds the calling thread to the queue and blocks it until it is notified by {@link #notifyWaiter()}
+     * or {@link #notifyAllWaiters()}, or until the timeout expires.<br>
+     * The default implementation waits on a monitor object which is added to the queue.
+     *
+     * @param timeoutInMillis maximal time to wait, 0 means no timeout.
+     * @return true if the thread was notified, false if the timeout expired.
+     * @throws InterruptedException if the thread was interrupted while waiting.
+     */
+    default boolean awaitNotification(long timeoutInMillis) throws InterruptedException {
+        Object waitMonitor = new Object();
+        synchronized (waitMonitor) {
+            addToQueue(waitMonitor);
+            try {
+                waitMonitor.wait(timeoutInMillis);
+            } catch (InterruptedException e) {
+                removeFromQueue(waitMonitor);
+                throw e;
+            }
+            // The monitor is still in the queue if it was not notified.
+            return !removeFromQueue(waitMonitor);
+        }
+    }
+
+    /**
+     * Notifies the longest waiting thread, if there is any.
+     *
+     * @return true if some thread was notified.
+     */
+    default boolean notifyWaiter() {
+        Object waitMonitor;
+        synchronized (this) {
+            if (getQueueLength() == 0) {
+                return false;
+            }
+            waitMonitor = remove();
+        }
+        synchronized (waitMonitor) {
+            waitMonitor.notifyAll();
+        }
+        return true;
+    }
+
+    /**
+     * Notifies all waiting threads.
+     */
+    default void notifyAllWaiters() {
+        while (notifyWaiter()) {
+            // wake up the next one
+        }
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -41,7 +41,11 @@ public class PoolWaitQueueFactory {
         PoolWaitQueue waitQueue;
 
         if (className != null) {
-            waitQueue = initializeCustomWaitQueueInPrivilegedMode(className);
+            if (className.equals(HandoffPoolWaitQueue.class.getName()) || className.equals(PoolWaitQueue.HANDOFF_WAIT_QUEUE)) {
+                waitQueue = new HandoffPoolWaitQueue();
+            } else {
+                waitQueue = initializeCustomWaitQueueInPrivilegedMode(className);
+            }
         } else {
             waitQueue = new DefaultPoolWaitQueue();
             debug("Initializing Default Pool Wait Queue");
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2024 Eclipse Foundation and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -18,6 +19,7 @@ package com.sun.enterprise.resource.pool;
 
 import com.sun.appserv.connectors.internal.api.ConnectorRuntimeException;
 import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.appserv.connectors.internal.spi.WarmableManagedConnection;
 import com.sun.enterprise.connectors.ConnectorConnectionPool;
 import com.sun.enterprise.connectors.ConnectorRuntime;
 import com.sun.enterprise.connectors.util.ConnectionPoolObjectsUtils;
@@ -28,6 +30,7 @@ import com.sun.enterprise.resource.ResourceState;
 import com.sun.enterprise.resource.allocator.LocalTxConnectorAllocator;
 import com.sun.enterprise.resource.allocator.ResourceAllocator;
 import com.sun.enterprise.resource.pool.datastructure.DataStructure;
+import com.sun.enterprise.resource.pool.resizer.BackgroundValidator;
 import com.sun.enterprise.transaction.api.JavaEETransaction;
 import com.sun.logging.LogDomains;
 
@@ -63,9 +66,11 @@ import org.junit.jupiter.api.Timeout;
 import static org.easymock.EasyMock.createMock;
 import static org.easymock.EasyMock.createNiceMock;
 import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
 import static org.easymock.EasyMock.isNull;
 import static org.easymock.EasyMock.notNull;
 import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -404,6 +409,66 @@ public class ConnectionPoolTest {
         assertEquals(taskCount, usedResouceHandles.size());
     }
 
+    /**
+     * Connections validated in the background and not used since are not validated again when borrowed.
+     */
+    @Test
+    void backgroundValidatedConnectionIsNotValidatedWhenBorrowed() throws Exception {
+        createConnectionPool(2, 1, 1);
+        connectionPool.connectionValidationRequired = true;
+        connectionPool.backgroundValidationIdleTime = 60_000L;
+
+        ResourceAllocator alloc = createNiceMock(ResourceAllocator.class);
+        expect(alloc.isConnectionValid(notNull())).andReturn(false).anyTimes();
+        replay(alloc);
+        ResourceHandle validatedInBackground = new ResourceHandle(null, null, alloc);
+        validatedInBackground.setLastValidated(validatedInBackground.getResourceState().getTimestamp() + 1);
+        ResourceHandle usedSinceValidation = new ResourceHandle(null, null, alloc);
+        usedSinceValidation.setLastValidated(usedSinceValidation.getResourceState().getTimestamp() - 1);
+
+        assertFalse(connectionPool.isConnectionValid(validatedInBackground, alloc),
+            "Without the background validation every borrowed connection is validated");
+
+        connectionPool.backgroundValidatorTask = new BackgroundValidator(connectionPool.poolInfo,
+            connectionPool.dataStructure, connectionPool, connectionPool, connectionPool.backgroundValidationIdleTime, null);
+        assertAll(
+            () -> assertTrue(connectionPool.isConnectionValid(validatedInBackground, alloc)),
+            () -> assertFalse(connectionPool.isConnectionValid(usedSinceValidation, alloc))
+        );
+        connectionPool.backgroundValidatorTask = null;
+    }
+
+    /**
+     * Only the connections created ahead of demand, to fill or to resize the pool, are warmed up.
+     */
+    @Test
+    void connectionsCreatedAheadOfDemandAreWarmedUp() throws Exception {
+        createConnectionPool(3, 1, 1);
+
+        WarmableConnection warmableConnection = createNiceMock(WarmableConnection.class);
+        warmableConnection.warmUp();
+        expectLastCall().once();
+        ManagedConnectionFactory factory = createNiceMock(ManagedConnectionFactory.class);
+        expect(factory.createManagedConnection(isNull(), isNull())).andReturn(warmableConnection).anyTimes();
+        expect(factory.matchManagedConnections(notNull(), isNull(), isNull())).andReturn(warmableConnection).anyTimes();
+        replay(warmableConnection, factory);
+
+        ResourceAllocator alloc = new LocalTxConnectorAllocator(null, factory, resourceSpec, null,
+                null, null, null, false);
+
+        // Created for the waiting request
+        ResourceHandle resource = connectionPool.getResource(resourceSpec, alloc, javaEETransaction);
+        assertResourcesSize(1);
+
+        // Created as the resizer does
+        connectionPool.createResourceAndAddToPool();
+        assertResourcesSize(2);
+
+        verify(warmableConnection);
+        connectionPool.resourceClosed(resource);
+        cleanupConnectionPool();
+    }
+
     private void runTheTasks(List<Callable<Void>> tasks) throws Exception {
         ExecutorService threadPool = Executors.newFixedThreadPool(1000);
         List<Future<Void>> futures = threadPool.invokeAll(tasks, 30, TimeUnit.SECONDS);
@@ -448,6 +513,9 @@ public class ConnectionPoolTest {
         assertEquals(0, poolStatus.getNumConnFree());
     }
 
+    interface WarmableConnection extends ManagedConnection, WarmableManagedConnection {
+    }
+
     public static class MyConnectionPool extends ConnectionPool {
 
         public MyConnectionPool(PoolInfo poolInfo, Hashtable env) throws PoolingException {
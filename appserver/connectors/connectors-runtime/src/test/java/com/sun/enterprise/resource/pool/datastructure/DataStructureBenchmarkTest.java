@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+
+import jakarta.resource.spi.ManagedConnection;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares throughput of the pool datastructures when many threads borrow and return resources.
+ * The pool is sized like a typical production pool, so the threads compete for the same resources.
+ */
+public class DataStructureBenchmarkTest {
+
+    private static final int POOL_SIZE = 400;
+
+    private static final int[] THREAD_COUNTS = {1, 8, 32, 128};
+
+    @Test
+    public void borrowAndReturn() throws Exception {
+        for (int threads : THREAD_COUNTS) {
+            Options options = new OptionsBuilder()
+                .include(getClass().getName() + ".*")
+                .warmupIterations(1).warmupTime(TimeValue.milliseconds(100L))
+                .measurementIterations(1).measurementTime(TimeValue.milliseconds(300L))
+                .forks(1).threads(threads).timeout(TimeValue.seconds(10L))
+                .timeUnit(TimeUnit.MICROSECONDS)
+                .mode(Mode.Throughput).shouldFailOnError(true)
+                .build();
+
+            Collection<RunResult> results = new Runner(options).run();
+            assertThat(results, hasSize(3));
+        }
+    }
+
+
+    @Benchmark
+    public void getAndReturnResource(PoolState pool, Blackhole blackhole) {
+        ResourceHandle resource = pool.dataStructure.getResource();
+        if (resource != null) {
+            blackhole.consume(resource.getId());
+            pool.dataStructure.returnResource(resource);
+        }
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class PoolState {
+
+        @Param({"com.sun.enterprise.resource.pool.datastructure.ListDataStructure",
+            "com.sun.enterprise.resource.pool.datastructure.RWLockDataStructure",
+            "com.sun.enterprise.resource.pool.datastructure.PartitionedDataStructure"})
+        public String className;
+
+        DataStructure dataStructure;
+
+        @Setup(Level.Trial)
+        public void createPool() throws PoolingException {
+            dataStructure = DataStructureFactory.getDataStructure(className, null, POOL_SIZE, new SimpleResourceHandler());
+            dataStructure.addResource(null, POOL_SIZE);
+        }
+    }
+
+
+    private static class SimpleResourceHandler implements ResourceHandler {
+
+        @Override
+        public void deleteResource(ResourceHandle resourceHandle) {
+        }
+
+        @Override
+        public ResourceHandle createResource(ResourceAllocator allocator) {
+            return new ResourceHandle(null, null, allocator);
+        }
+
+        @Override
+        public void createResourceAndAddToPool() {
+        }
+
+        @Override
+        public Set<ManagedConnection> getInvalidConnections(Set<ManagedConnection> connections) {
+            return Set.of();
+        }
+
+        @Override
+        public void invalidConnectionDetected(ResourceHandle handle) {
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.ResourceSpec;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+
+import jakarta.resource.spi.ManagedConnection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.easymock.IExpectationSetters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.Timeout.ThreadMode;
+import org.junit.jupiter.api.function.Executable;
+
+import static org.easymock.EasyMock.createMockBuilder;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PartitionedDataStructureTest {
+
+    private static final int TASK_COUNT = 1000;
+
+    private static final int THREAD_COUNT = 200;
+
+    private static final int RESOURCE_COUNT = TASK_COUNT;
+
+    private volatile ResourceHandler handler;
+    private volatile ResourceAllocator allocator;
+
+    @BeforeEach
+    public void createAndPopulateMocks() throws PoolingException {
+        ResourceHandler localHandler = createNiceMock(ResourceHandler.class);
+        ResourceAllocator localAllocator = createNiceMock(ResourceAllocator.class);
+
+        List<Object> mocks = new ArrayList<>(RESOURCE_COUNT);
+        for (int i = 0; i < RESOURCE_COUNT; i++) {
+            mocks.add(createMockBuilder(ResourceHandle.class)
+                .withConstructor(ManagedConnection.class, ResourceSpec.class, ResourceAllocator.class)
+                .withArgs(null, null, null)
+                .createNiceMock());
+        }
+
+        IExpectationSetters<ResourceHandle> handlerExpectation = expect(localHandler.createResource(localAllocator));
+        for (Object resource : mocks) {
+            handlerExpectation.andReturn((ResourceHandle) resource);
+        }
+        mocks.add(localHandler);
+        mocks.add(localAllocator);
+
+        replay(mocks.toArray());
+
+        handler = localHandler;
+        allocator = localAllocator;
+    }
+
+    @Test
+    public void testFactory() throws Exception {
+        assertAll(
+            () -> assertThat(DataStructureFactory.getDataStructure(PartitionedDataStructure.class.getName(), null, 1, handler),
+                instanceOf(PartitionedDataStructure.class)),
+            () -> assertThat(DataStructureFactory.getDataStructure(DataStructure.DS_TYPE_PARTITIONED, null, 1, handler),
+                instanceOf(PartitionedDataStructure.class))
+        );
+    }
+
+    @Test
+    public void testPartitionCount() {
+        assertAll(
+            () -> assertThat(new PartitionedDataStructure("1", 10, handler).getPartitionCount(), equalTo(1)),
+            () -> assertThat(new PartitionedDataStructure("5", 10, handler).getPartitionCount(), equalTo(8)),
+            () -> assertThat(new PartitionedDataStructure("1000", 10, handler).getPartitionCount(), equalTo(256)),
+            () -> assertTrue(new PartitionedDataStructure("x", 10, handler).getPartitionCount() >= 1)
+        );
+    }
+
+    @Test
+    public void testMaxSize() throws Exception {
+        DataStructure dataStructure = new PartitionedDataStructure("4", 10, handler);
+        assertThat("Add Resources", dataStructure.addResource(allocator, 20), equalTo(10));
+
+        dataStructure.setMaxSize(15);
+        assertThat("Add Resources", dataStructure.addResource(allocator, 20), equalTo(5));
+
+        dataStructure.setMaxSize(10);
+        assertAll(
+            () -> assertThat("Add Resource", dataStructure.addResource(allocator, 1), equalTo(0)),
+            () -> assertThat("Resources Size", dataStructure.getResourcesSize(), equalTo(15)),
+            () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(15))
+        );
+    }
+
+    @Test
+    public void testStealFromOtherPartitions() throws Exception {
+        DataStructure dataStructure = new PartitionedDataStructure("8", RESOURCE_COUNT, handler);
+        dataStructure.addResource(allocator, 16);
+
+        // a single thread must be able to drain all partitions
+        List<ResourceHandle> resources = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            resources.add(dataStructure.getResource());
+        }
+        assertAll(
+            () -> assertThat(new HashSet<>(resources), hasSize(16)),
+            () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(0)),
+            () -> assertThat("Get Resource", dataStructure.getResource(), nullValue())
+        );
+
+        dataStructure.returnResource(resources.get(3));
+        assertThat("Get Resource", dataStructure.getResource(), equalTo(resources.get(3)));
+    }
+
+    @RepeatedTest(20)
+    @Timeout(value = 10, threadMode = ThreadMode.SEPARATE_THREAD)
+    public void testGetAndReturnResource() throws Exception {
+        DataStructure dataStructure = new PartitionedDataStructure(null, RESOURCE_COUNT, handler);
+        assertThat("Add Resources", dataStructure.addResource(allocator, RESOURCE_COUNT), equalTo(RESOURCE_COUNT));
+
+        List<Callable<ResourceHandle>> tasks = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            tasks.add(dataStructure::getResource);
+        }
+
+        ExecutorService threadPool = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        List<Future<ResourceHandle>> futures = threadPool.invokeAll(tasks);
+        List<ResourceHandle> resources = futures.stream().map(this::getResult).collect(Collectors.toList());
+        assertAll(
+            () -> assertTrue(resources.stream().allMatch(r -> r != null)),
+            () -> assertThat(new HashSet<>(resources), hasSize(RESOURCE_COUNT)),
+            () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(0)),
+            () -> assertThat("Get Resource", dataStructure.getResource(), nullValue())
+        );
+
+        List<Callable<Void>> returnTasks = new ArrayList<>(TASK_COUNT);
+        for (ResourceHandle resource : resources) {
+            returnTasks.add(() -> {
+                dataStructure.returnResource(resource);
+                // second return must not corrupt the free count
+                dataStructure.returnResource(resource);
+                return null;
+            });
+        }
+
+        List<Future<Void>> returnFutures = threadPool.invokeAll(returnTasks);
+        assertAll(
+            () -> assertAll(returnFutures.stream().map(f -> (Executable) f::get).collect(Collectors.toList())),
+            () -> assertThat("Resources Size", dataStructure.getResourcesSize(), equalTo(RESOURCE_COUNT)),
+            () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(RESOURCE_COUNT))
+        );
+
+        List<ResourceHandle> allResources = dataStructure.getAllResources();
+        for (ResourceHandle resource : allResources) {
+            assertThat(Collections.frequency(allResources, resource), equalTo(1));
+        }
+
+        threadPool.shutdownNow();
+    }
+
+    @RepeatedTest(20)
+    @Timeout(value = 10, threadMode = ThreadMode.SEPARATE_THREAD)
+    public void testRaceConditions() throws Exception {
+        DataStructure dataStructure = new PartitionedDataStructure(null, RESOURCE_COUNT, handler);
+        dataStructure.addResource(allocator, RESOURCE_COUNT);
+
+        List<Callable<ResourceHandle>> tasks = new ArrayList<>(TASK_COUNT);
+        for (int i = 0; i < TASK_COUNT; i++) {
+            tasks.add(() -> {
+                ResourceHandle resource = dataStructure.getResource();
+                dataStructure.removeResource(resource);
+                return resource;
+            });
+        }
+
+        ExecutorService threadPool = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        List<Future<ResourceHandle>> futures = threadPool.invokeAll(tasks);
+        assertAll(
+            () -> assertAll(futures.stream().map(f -> (Executable) f::get).collect(Collectors.toList())),
+            () -> assertTrue(futures.stream().allMatch(f -> getResult(f) != null)),
+            () -> assertThat("Resources Size", dataStructure.getResourcesSize(), equalTo(0)),
+            () -> assertThat("Free list size", dataStructure.getFreeListSize(), equalTo(0))
+        );
+
+        threadPool.shutdownNow();
+    }
+
+    @Test
+    public void testTakeResource() throws Exception {
+        DataStructure dataStructure = new PartitionedDataStructure(null, RESOURCE_COUNT, handler);
+        dataStructure.addResource(allocator, 2);
+        ResourceHandle inUse = dataStructure.getResource();
+        ResourceHandle free = dataStructure.getAllResources().stream().filter(r -> r != inUse).findFirst().get();
+
+        assertAll(
+            () -> assertThat("Take Used Resource", dataStructure.takeResource(inUse), equalTo(false)),
+            () -> assertThat("Take Free Resource", dataStructure.takeResource(free), equalTo(true)),
+            () -> assertThat("Take Taken Resource", dataStructure.takeResource(free), equalTo(false)),
+            () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(0))
+        );
+
+        dataStructure.returnResource(free);
+        assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(1));
+    }
+
+    @Test
+    public void testRemoveAll() throws Exception {
+        DataStructure dataStructure = new PartitionedDataStructure(null, RESOURCE_COUNT, handler);
+        dataStructure.addResource(allocator, RESOURCE_COUNT);
+        dataStructure.getResource();
+
+        dataStructure.removeAll();
+
+        assertAll(
+            () -> assertThat("Resources Size", dataStructure.getResourcesSize(), equalTo(0)),
+            () -> assertThat("Free List Size", dataStructure.getFreeListSize(), equalTo(0)),
+            () -> assertThat("Get Resource", dataStructure.getResource(), nullValue())
+        );
+    }
+
+    private <T> T getResult(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.resizer;
+
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.PoolProperties;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.enterprise.resource.pool.datastructure.DataStructure;
+import com.sun.enterprise.resource.pool.datastructure.RWLockDataStructure;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.easymock.EasyMock.anyInt;
+import static org.easymock.EasyMock.anyString;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.getCurrentArgument;
+import static org.easymock.EasyMock.replay;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+public class AdaptiveResizerTest {
+
+    private static final PoolInfo POOL_INFO = new PoolInfo(SimpleJndiName.of("adaptive-resizer-test-pool"));
+    private static final int STEADY_POOL_SIZE = 2;
+    private static final int MAX_POOL_SIZE = 10;
+    private static final int RESIZE_QUANTITY = 2;
+
+    private final List<String> decisions = new ArrayList<>();
+    private ResourceAllocator allocator;
+    private DataStructure dataStructure;
+    private AdaptiveResizer resizer;
+
+    @BeforeEach
+    public void createResizer() throws Exception {
+        ResourceHandler handler = createNiceMock(ResourceHandler.class);
+        allocator = createNiceMock(ResourceAllocator.class);
+        PoolProperties poolProperties = createNiceMock(PoolProperties.class);
+        expect(handler.createResource(allocator)).andAnswer(() -> new ResourceHandle(null, null, allocator)).anyTimes();
+        handler.createResourceAndAddToPool();
+        expectLastCall().andAnswer(() -> {
+            dataStructure.addResource(allocator, 1);
+            return null;
+        }).anyTimes();
+        handler.poolResized(anyInt(), anyInt(), anyString());
+        expectLastCall().andAnswer(() -> {
+            decisions.add(getCurrentArgument(0) + " -> " + getCurrentArgument(1));
+            return null;
+        }).anyTimes();
+        expect(poolProperties.getSteadyPoolSize()).andReturn(STEADY_POOL_SIZE).anyTimes();
+        expect(poolProperties.getMaxPoolSize()).andReturn(MAX_POOL_SIZE).anyTimes();
+        expect(poolProperties.getResizeQuantity()).andReturn(RESIZE_QUANTITY).anyTimes();
+        expect(poolProperties.getIdleTimeout()).andReturn(300_000L).anyTimes();
+        replay(handler, allocator, poolProperties);
+
+        dataStructure = new RWLockDataStructure(null, MAX_POOL_SIZE, handler);
+        dataStructure.addResource(allocator, STEADY_POOL_SIZE);
+        resizer = new AdaptiveResizer(POOL_INFO, dataStructure, poolProperties, handler, false);
+    }
+
+    @Test
+    public void period() {
+        assertAll(
+            () -> assertThat(resizer.getPeriod(300_000L), equalTo(AdaptiveResizer.CONTROL_INTERVAL_IN_MILLIS)),
+            () -> assertThat(resizer.getPeriod(1_000L), equalTo(1_000L))
+        );
+    }
+
+    @Test
+    public void noChangeWithoutDemand() {
+        assertAll(
+            () -> assertThat(resizer.controlPoolSize(5_000L), equalTo(0)),
+            () -> assertThat(dataStructure.getResourcesSize(), equalTo(STEADY_POOL_SIZE)),
+            () -> assertThat(decisions.size(), equalTo(0))
+        );
+    }
+
+    @Test
+    public void growsWhenRequestsWait() {
+        for (int i = 0; i < 10; i++) {
+            resizer.resourceRequested(50L);
+        }
+        assertAll(
+            () -> assertThat(resizer.controlPoolSize(5_000L), equalTo(RESIZE_QUANTITY)),
+            () -> assertThat(dataStructure.getResourcesSize(), equalTo(STEADY_POOL_SIZE + RESIZE_QUANTITY)),
+            () -> assertThat(decisions, equalTo(List.of("2 -> 4")))
+        );
+    }
+
+    @Test
+    public void growsByHeadroomWhenBusy() {
+        // All connections are in use.
+        dataStructure.getResource();
+        dataStructure.getResource();
+        // 100 requests per second, 30 ms to create a connection: 3 connections are borrowed meanwhile.
+        resizer.resourceCreated(30L);
+        for (int i = 0; i < 100; i++) {
+            resizer.resourceRequested(0L);
+        }
+        assertAll(
+            () -> assertThat(resizer.controlPoolSize(1_000L), equalTo(3)),
+            () -> assertThat(dataStructure.getFreeListSize(), equalTo(3))
+        );
+    }
+
+    @Test
+    public void growthIsLimitedByMaxPoolSize() {
+        for (int i = 0; i < 10; i++) {
+            resizer.resourceRequested(50L);
+        }
+        for (int i = 0; i < 10; i++) {
+            resizer.controlPoolSize(5_000L);
+            resizer.resourceRequested(50L);
+        }
+        assertThat(dataStructure.getResourcesSize(), equalTo(MAX_POOL_SIZE));
+    }
+
+    @Test
+    public void shrinksOnlyAfterLowUtilizationPersists() throws Exception {
+        dataStructure.addResource(allocator, 6);
+        for (int i = 1; i < AdaptiveResizer.SHRINK_DELAY_INTERVALS; i++) {
+            assertThat(resizer.controlPoolSize(5_000L), equalTo(0));
+        }
+        assertAll(
+            () -> assertThat(resizer.controlPoolSize(5_000L), equalTo(-RESIZE_QUANTITY)),
+            () -> assertThat(dataStructure.getResourcesSize(), equalTo(8 - RESIZE_QUANTITY)),
+            () -> assertThat(decisions, equalTo(List.of("8 -> 6")))
+        );
+    }
+
+    @Test
+    public void demandResetsShrinkDelay() throws Exception {
+        dataStructure.addResource(allocator, 6);
+        for (int i = 1; i < AdaptiveResizer.SHRINK_DELAY_INTERVALS; i++) {
+            resizer.controlPoolSize(5_000L);
+        }
+        // Most of the connections are used now.
+        for (int i = 0; i < 7; i++) {
+            dataStructure.getResource();
+        }
+        assertThat(resizer.controlPoolSize(5_000L), equalTo(0));
+        assertThat(dataStructure.getResourcesSize(), equalTo(8));
+    }
+}
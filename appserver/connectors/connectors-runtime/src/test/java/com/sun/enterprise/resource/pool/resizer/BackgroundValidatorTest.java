@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.resizer;
+
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.PoolProperties;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.enterprise.resource.pool.datastructure.DataStructure;
+import com.sun.enterprise.resource.pool.datastructure.RWLockDataStructure;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.getCurrentArgument;
+import static org.easymock.EasyMock.replay;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+@Timeout(10)
+public class BackgroundValidatorTest {
+
+    private static final PoolInfo POOL_INFO = new PoolInfo(SimpleJndiName.of("background-validator-test-pool"));
+
+    private final Set<ResourceHandle> invalidResources = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    private final List<Integer> freeListSizesDuringValidation = new CopyOnWriteArrayList<>();
+    private volatile CyclicBarrier validationBarrier;
+    private ExecutorService validationExecutor;
+    private ResourceHandler handler;
+    private ResourceAllocator allocator;
+    private PoolProperties poolProperties;
+    private DataStructure dataStructure;
+    private BackgroundValidator validator;
+
+    @BeforeEach
+    public void createMocks() throws Exception {
+        handler = createNiceMock(ResourceHandler.class);
+        allocator = createNiceMock(ResourceAllocator.class);
+        poolProperties = createNiceMock(PoolProperties.class);
+        expect(handler.createResource(allocator)).andAnswer(() -> new ResourceHandle(null, null, allocator)).anyTimes();
+        expect(allocator.isConnectionValid(anyObject(ResourceHandle.class))).andAnswer(() -> {
+            freeListSizesDuringValidation.add(dataStructure.getFreeListSize());
+            if (validationBarrier != null) {
+                // Passes only if the whole batch is validated at the same time.
+                validationBarrier.await(5, TimeUnit.SECONDS);
+            }
+            return !invalidResources.contains(getCurrentArgument(0));
+        }).anyTimes();
+        replay(handler, allocator, poolProperties);
+        dataStructure = new RWLockDataStructure(null, 10, handler);
+        validationExecutor = Executors.newFixedThreadPool(BackgroundValidator.BATCH_SIZE);
+    }
+
+    @AfterEach
+    public void shutdownExecutor() {
+        validationExecutor.shutdownNow();
+    }
+
+    @Test
+    public void removesOnlyInvalidIdleResources() throws Exception {
+        dataStructure.addResource(allocator, 2);
+        ResourceHandle valid = dataStructure.getAllResources().get(0);
+        invalidResources.add(dataStructure.getAllResources().get(1));
+
+        validator = new BackgroundValidator(POOL_INFO, dataStructure, poolProperties, handler, 0L, validationExecutor);
+        assertAll(
+            () -> assertThat(validator.validateIdleResources(), equalTo(1)),
+            () -> assertThat(dataStructure.getResourcesSize(), equalTo(1)),
+            () -> assertThat(dataStructure.getFreeListSize(), equalTo(1)),
+            () -> assertThat(dataStructure.getAllResources().get(0), equalTo(valid))
+        );
+    }
+
+    @Test
+    public void skipsRecentlyUsedResources() throws Exception {
+        dataStructure.addResource(allocator, 1);
+        invalidResources.add(dataStructure.getAllResources().get(0));
+
+        validator = new BackgroundValidator(POOL_INFO, dataStructure, poolProperties, handler, 60_000L, validationExecutor);
+        assertAll(
+            () -> assertThat(validator.validateIdleResources(), equalTo(0)),
+            () -> assertThat(dataStructure.getFreeListSize(), equalTo(1))
+        );
+    }
+
+    @Test
+    public void keepsOtherFreeResourcesAvailableDuringValidation() throws Exception {
+        dataStructure.addResource(allocator, 10);
+
+        validator = new BackgroundValidator(POOL_INFO, dataStructure, poolProperties, handler, 0L, validationExecutor);
+        assertAll(
+            () -> assertThat(validator.validateIdleResources(), equalTo(0)),
+            () -> assertThat(freeListSizesDuringValidation.size(), equalTo(10)),
+            () -> assertThat(freeListSizesDuringValidation.stream().allMatch(size -> size >= 10 - BackgroundValidator.BATCH_SIZE),
+                equalTo(true)),
+            () -> assertThat(dataStructure.getFreeListSize(), equalTo(10))
+        );
+    }
+
+    @Test
+    public void skipsResourcesInUse() throws Exception {
+        dataStructure.addResource(allocator, 2);
+        ResourceHandle inUse = dataStructure.getResource();
+        invalidResources.add(inUse);
+
+        validator = new BackgroundValidator(POOL_INFO, dataStructure, poolProperties, handler, 0L, validationExecutor);
+        assertAll(
+            () -> assertThat(validator.validateIdleResources(), equalTo(0)),
+            () -> assertThat(freeListSizesDuringValidation.size(), equalTo(1)),
+            () -> assertThat(dataStructure.getResourcesSize(), equalTo(2)),
+            () -> assertThat(dataStructure.getFreeListSize(), equalTo(1))
+        );
+    }
+
+    @Test
+    public void validatesBatchConcurrently() throws Exception {
+        dataStructure.addResource(allocator, BackgroundValidator.BATCH_SIZE);
+        validationBarrier = new CyclicBarrier(BackgroundValidator.BATCH_SIZE);
+
+        validator = new BackgroundValidator(POOL_INFO, dataStructure, poolProperties, handler, 0L, validationExecutor);
+        assertAll(
+            () -> assertThat(validator.validateIdleResources(), equalTo(0)),
+            () -> assertThat(validationBarrier.isBroken(), equalTo(false)),
+            () -> assertThat(dataStructure.getFreeListSize(), equalTo(BackgroundValidator.BATCH_SIZE))
+        );
+    }
+
+    @Test
+    public void returnsResourcesWhenValidationIsStopped() throws Exception {
+        dataStructure.addResource(allocator, 2);
+        validationExecutor.shutdown();
+
+        validator = new BackgroundValidator(POOL_INFO, dataStructure, poolProperties, handler, 0L, validationExecutor);
+        assertAll(
+            () -> assertThat(validator.validateIdleResources(), equalTo(0)),
+            () -> assertThat(dataStructure.getResourcesSize(), equalTo(2)),
+            () -> assertThat(dataStructure.getFreeListSize(), equalTo(2))
+        );
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.resizer;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.PoolProperties;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.enterprise.resource.pool.datastructure.DataStructure;
+import com.sun.enterprise.resource.pool.datastructure.RWLockDataStructure;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.replay;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Timeout(10)
+public class PoolPrefillerTest {
+
+    private static final PoolInfo POOL_INFO = new PoolInfo(SimpleJndiName.of("pool-prefiller-test-pool"));
+
+    private final AtomicInteger creating = new AtomicInteger();
+    private final AtomicInteger maxCreating = new AtomicInteger();
+    private final AtomicInteger added = new AtomicInteger();
+    private volatile int failAfter = Integer.MAX_VALUE;
+    private ResourceHandler handler;
+    private ResourceAllocator allocator;
+    private PoolProperties poolProperties;
+    private DataStructure dataStructure;
+    private PoolPrefiller prefiller;
+
+    @BeforeEach
+    public void createMocks() throws Exception {
+        handler = createNiceMock(ResourceHandler.class);
+        allocator = createNiceMock(ResourceAllocator.class);
+        poolProperties = createNiceMock(PoolProperties.class);
+        expect(handler.createResource(allocator)).andAnswer(() -> new ResourceHandle(null, null, allocator)).anyTimes();
+        handler.createResourceAndAddToPool();
+        expectLastCall().andAnswer(() -> {
+            maxCreating.accumulateAndGet(creating.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20L);
+                if (dataStructure.getResourcesSize() >= failAfter) {
+                    throw new PoolingException("Database is down");
+                }
+                dataStructure.addResource(allocator, 1);
+                return null;
+            } finally {
+                creating.decrementAndGet();
+            }
+        }).anyTimes();
+        handler.resourceAdded();
+        expectLastCall().andAnswer(() -> {
+            added.incrementAndGet();
+            return null;
+        }).anyTimes();
+        expect(poolProperties.getSteadyPoolSize()).andReturn(8).anyTimes();
+        replay(handler, allocator, poolProperties);
+        dataStructure = new RWLockDataStructure(null, 10, handler);
+    }
+
+    @AfterEach
+    public void cancel() {
+        if (prefiller != null) {
+            prefiller.cancel();
+        }
+    }
+
+    @Test
+    public void fillsPoolToSteadySizeInParallel() throws Exception {
+        dataStructure.addResource(allocator, 2);
+        prefiller = new PoolPrefiller(POOL_INFO, dataStructure, poolProperties, handler, 3);
+        prefiller.start();
+        assertTrue(prefiller.awaitCompletion(5, TimeUnit.SECONDS));
+        assertAll(
+            () -> assertThat(dataStructure.getResourcesSize(), equalTo(8)),
+            () -> assertThat(prefiller.getCreatedResources(), equalTo(6)),
+            () -> assertThat(added.get(), equalTo(6)),
+            () -> assertThat(maxCreating.get(), lessThanOrEqualTo(3)),
+            () -> assertTrue(maxCreating.get() > 1, "resources were not created in parallel")
+        );
+    }
+
+    @Test
+    public void stopsAfterFailure() throws Exception {
+        failAfter = 3;
+        prefiller = new PoolPrefiller(POOL_INFO, dataStructure, poolProperties, handler, 1);
+        prefiller.start();
+        assertTrue(prefiller.awaitCompletion(5, TimeUnit.SECONDS));
+        assertAll(
+            () -> assertThat(dataStructure.getResourcesSize(), equalTo(3)),
+            () -> assertThat(prefiller.getCreatedResources(), equalTo(3)),
+            () -> assertThat(prefiller.getFailedResources(), equalTo(1))
+        );
+    }
+
+    @Test
+    public void doesNothingWhenPoolIsFull() throws Exception {
+        dataStructure.addResource(allocator, 8);
+        prefiller = new PoolPrefiller(POOL_INFO, dataStructure, poolProperties, handler, 4);
+        prefiller.start();
+        assertTrue(prefiller.awaitCompletion(5, TimeUnit.SECONDS));
+        assertThat(prefiller.getCreatedResources(), equalTo(0));
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.waitqueue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Timeout(10)
+public class HandoffPoolWaitQueueTest {
+
+    private HandoffPoolWaitQueue queue;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void init() {
+        queue = new HandoffPoolWaitQueue();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void factory() throws Exception {
+        assertAll(
+            () -> assertThat(PoolWaitQueueFactory.createPoolWaitQueue(PoolWaitQueue.HANDOFF_WAIT_QUEUE),
+                instanceOf(HandoffPoolWaitQueue.class)),
+            () -> assertThat(PoolWaitQueueFactory.createPoolWaitQueue(HandoffPoolWaitQueue.class.getName()),
+                instanceOf(HandoffPoolWaitQueue.class)),
+            () -> assertThat(PoolWaitQueueFactory.createPoolWaitQueue(null), instanceOf(DefaultPoolWaitQueue.class))
+        );
+    }
+
+    @Test
+    public void timeoutRemovesWaiter() throws Exception {
+        assertFalse(queue.awaitNotification(10L));
+        assertAll(
+            () -> assertThat(queue.getQueueLength(), equalTo(0)),
+            () -> assertFalse(queue.notifyWaiter())
+        );
+    }
+
+    @Test
+    public void notificationIsFifo() throws Exception {
+        List<Integer> order = new ArrayList<>();
+        List<Future<Boolean>> waiters = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final int index = i;
+            waiters.add(executor.submit(() -> {
+                boolean notified = queue.awaitNotification(0L);
+                synchronized (order) {
+                    order.add(index);
+                }
+                return notified;
+            }));
+            waitForQueueLength(i + 1);
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(queue.notifyWaiter());
+            assertTrue(waiters.get(i).get(5, TimeUnit.SECONDS));
+        }
+        assertAll(
+            () -> assertThat(order, equalTo(List.of(0, 1, 2))),
+            () -> assertThat(queue.getQueueLength(), equalTo(0))
+        );
+    }
+
+    @Test
+    public void notifyAllWaiters() throws Exception {
+        List<Future<Boolean>> waiters = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            waiters.add(executor.submit(() -> queue.awaitNotification(0L)));
+        }
+        waitForQueueLength(10);
+
+        queue.notifyAllWaiters();
+
+        for (Future<Boolean> waiter : waiters) {
+            assertTrue(waiter.get(5, TimeUnit.SECONDS));
+        }
+        assertThat(queue.getQueueLength(), equalTo(0));
+    }
+
+    @Test
+    public void interruptedWaiterLeavesQueue() throws Exception {
+        CompletableFuture<Thread> waitingThread = new CompletableFuture<>();
+        Future<Boolean> waiter = executor.submit(() -> {
+            waitingThread.complete(Thread.currentThread());
+            return queue.awaitNotification(0L);
+        });
+        waitForQueueLength(1);
+
+        waitingThread.get().interrupt();
+
+        Exception e = assertThrows(Exception.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertAll(
+            () -> assertThat(e.getCause(), instanceOf(InterruptedException.class)),
+            () -> assertThat(queue.getQueueLength(), equalTo(0))
+        );
+    }
+
+    @Test
+    public void rejectsForeignObjects() {
+        assertAll(
+            () -> assertThrows(IllegalArgumentException.class, () -> queue.addToQueue(new Object())),
+            () -> assertFalse(queue.removeFromQueue(new Object()))
+        );
+    }
+
+    private void waitForQueueLength(int length) throws InterruptedException {
+        while (queue.getQueueLength() < length) {
+            Thread.sleep(1L);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2023, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -208,6 +208,7 @@ public interface RuntimeTagNames extends TagNames {
     String THREAD_QUEUE_CAPACITY = "thread-queue-capacity";
     String ALLOW_CORE_THREAD_TIMEOUT = "allow-core-thread-timeout";
     String PRESTART_ALL_CORE_THREADS = "prestart-all-core-threads";
+    String THREAD_TYPE = "thread-type";
 
     // flush-at-end-of-method
     String FLUSH_AT_END_OF_METHOD =
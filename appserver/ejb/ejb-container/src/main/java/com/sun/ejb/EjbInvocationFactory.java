@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2008, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,6 +17,8 @@
 
 package com.sun.ejb;
 
+import com.sun.ejb.containers.util.ObjectRecycler;
+
 /**
  * @author Mahesh Kannan
  *         Date: Jan 30, 2008
@@ -26,6 +29,9 @@ public class EjbInvocationFactory {
 
     private Container container;
 
+    // Invocations of finished calls, reused by the calls on the local fast path
+    private final ObjectRecycler<EjbInvocation> recycledInvocations = new ObjectRecycler<>();
+
     public EjbInvocationFactory(String compEnvId, Container container) {
         this.compEnvId = compEnvId;
         this.container = container;
@@ -35,6 +41,26 @@ public class EjbInvocationFactory {
         return new EjbInvocation(compEnvId, container);
     }
 
+    /**
+     * Same as {@link #create()}, but reuses the invocation of a finished call if there is one.
+     * The caller returns the invocation with {@link #recycle(EjbInvocation)} when the call
+     * is finished.
+     */
+    public EjbInvocation createRecyclable() {
+        EjbInvocation ejbInv = recycledInvocations.take();
+        return ejbInv == null ? create() : ejbInv;
+    }
+
+    /**
+     * Clears the invocation and keeps it for the next call.  Only for the invocations nobody
+     * refers to after the call: local synchronous calls of stateless session beans, see
+     * {@link InvocationInfo#recycleInvocation}.
+     */
+    public void recycle(EjbInvocation ejbInv) {
+        ejbInv.reset();
+        recycledInvocations.put(ejbInv);
+    }
+
     public <C extends ComponentContext> EjbInvocation create(Object ejb, C ctx) {
         EjbInvocation ejbInv = new EjbInvocation(compEnvId, container);
         ejbInv.ejb = ejb;
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -78,6 +79,9 @@ public class InvocationInfo {
 
     private boolean asyncMethodFlag;
 
+    // The EjbInvocation of a call of this method can be reused by the next call
+    public boolean recycleInvocation;
+
     // Stringified method signature to be used for monitoring
     public String str_method_sig;
 
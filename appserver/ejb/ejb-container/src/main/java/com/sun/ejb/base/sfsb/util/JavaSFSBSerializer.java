@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.base.sfsb.util;
+
+import com.sun.ejb.spi.container.SFSBSerializer;
+import com.sun.enterprise.container.common.spi.util.JavaEEIOUtils;
+
+import jakarta.inject.Inject;
+
+import java.io.IOException;
+
+import org.jvnet.hk2.annotations.Service;
+
+/**
+ * The default {@link SFSBSerializer}, using the Java serialization streams of
+ * {@link JavaEEIOUtils}.
+ */
+@Service(name = JavaSFSBSerializer.NAME)
+public class JavaSFSBSerializer implements SFSBSerializer {
+
+    public static final String NAME = "java";
+
+    @Inject
+    private JavaEEIOUtils javaEEIOUtils;
+
+    @Override
+    public byte[] serialize(Object obj) throws IOException {
+        return javaEEIOUtils.serializeObject(obj, true);
+    }
+
+    @Override
+    public Object deserialize(byte[] data, ClassLoader loader) throws Exception {
+        return javaEEIOUtils.deserializeObject(data, true, loader);
+    }
+}
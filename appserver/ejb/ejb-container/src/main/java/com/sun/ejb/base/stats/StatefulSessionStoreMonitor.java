@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,6 +17,8 @@
 
 package com.sun.ejb.base.stats;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * An instance of this class is used by the StatefulContainer to update monitoring
  *  data. There is once instance of this class per StatefulEJBContainer
@@ -26,6 +29,13 @@ public class StatefulSessionStoreMonitor {
 
     private StatefulSessionStoreStatsImpl statsImpl;
 
+    //The passivation backpressure is counted even if the monitoring is off
+    private volatile int passivationQueueSize;
+    private final AtomicLong passivationBatchCount = new AtomicLong();
+    private final AtomicLong passivationBatchSizeTotal = new AtomicLong();
+    private final AtomicLong rejectedPassivationBatchCount = new AtomicLong();
+    private final AtomicLong throttledPassivationBatchCount = new AtomicLong();
+
     void setDelegate(StatefulSessionStoreStatsImpl delegate) {
         this.statsImpl = delegate;
     }
@@ -34,6 +44,16 @@ public class StatefulSessionStoreMonitor {
         if (statsImpl != null) {
             statsImpl.appendStats(sbuf);
         }
+        sbuf.append("PassivationQueueSize=").append(passivationQueueSize)
+        .append("; ")
+        .append("PassivationBatchCount=").append(passivationBatchCount.get())
+        .append("; ")
+        .append("AveragePassivationBatchSize=").append(getAveragePassivationBatchSize())
+        .append("; ")
+        .append("RejectedPassivationBatchCount=").append(rejectedPassivationBatchCount.get())
+        .append("; ")
+        .append("ThrottledPassivationBatchCount=").append(throttledPassivationBatchCount.get())
+        .append("; ");
     }
 
     //The following methods are called from StatefulSessionContainer
@@ -91,6 +111,37 @@ public class StatefulSessionStoreMonitor {
         }
     }
 
+    /**
+     * Sets the number of beans selected for passivation and not yet
+     * handed over to a passivation thread
+     */
+    public final void setPassivationQueueSize(int size) {
+        passivationQueueSize = size;
+    }
+
+    /**
+     * Counts a batch of beans passivated in one store transaction
+     */
+    public final void incrementPassivationBatchCount(int batchSize) {
+        passivationBatchCount.incrementAndGet();
+        passivationBatchSizeTotal.addAndGet(batchSize);
+    }
+
+    /**
+     * Counts a batch the passivation thread pool could not accept
+     */
+    public final void incrementRejectedPassivationBatchCount() {
+        rejectedPassivationBatchCount.incrementAndGet();
+    }
+
+    /**
+     * Counts a batch passivated by a request thread, because the
+     * passivation threads did not keep up
+     */
+    public final void incrementThrottledPassivationBatchCount() {
+        throttledPassivationBatchCount.incrementAndGet();
+    }
+
     public void incrementCheckpointCount(boolean success) {
         throw new RuntimeException("Checkpoint operation not allowed on non-HA store");
     }
@@ -133,4 +184,25 @@ public class StatefulSessionStoreMonitor {
                 : 0;
     }
 
+    //Passivation backpressure
+    public final int getPassivationQueueSize() {
+        return passivationQueueSize;
+    }
+
+    public final long getPassivationBatchCount() {
+        return passivationBatchCount.get();
+    }
+
+    public final long getAveragePassivationBatchSize() {
+        long batches = passivationBatchCount.get();
+        return batches == 0 ? 0 : passivationBatchSizeTotal.get() / batches;
+    }
+
+    public final long getRejectedPassivationBatchCount() {
+        return rejectedPassivationBatchCount.get();
+    }
+
+    public final long getThrottledPassivationBatchCount() {
+        return throttledPassivationBatchCount.get();
+    }
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.codegen;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import static com.sun.ejb.codegen.ClassGenerator.defineClass;
+import static com.sun.ejb.codegen.Generator.getBaseName;
+import static com.sun.ejb.codegen.Generator.getFullClassName;
+import static com.sun.ejb.codegen.Generator.getPackageName;
+import static java.util.logging.Level.FINE;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_STATIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ACC_SYNTHETIC;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ARETURN;
+import static org.objectweb.asm.Opcodes.GETSTATIC;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.PUTSTATIC;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.V11;
+
+/**
+ * Generates a {@link MethodInvoker} class calling a method handle held in a static final field.
+ * <p>
+ * The JIT compiler treats the handle as a constant, so the invoked method can be inlined into the
+ * caller, which does not happen with {@link Method#invoke(Object, Object...)} or with a handle
+ * held in an instance field. The class is defined by the class loader of the invoked method, so
+ * it is discarded with the application.
+ */
+public final class AsmMethodInvokerGenerator {
+
+    private static final Logger LOG = Logger.getLogger(AsmMethodInvokerGenerator.class.getName());
+
+    /** Type of the method handles invoked by the generated classes. */
+    public static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object.class);
+
+    private static final String HANDLE_FIELD = "HANDLE";
+    private static final String HANDLE_DESCRIPTOR = Type.getDescriptor(MethodHandle.class);
+    private static final String INVOKE_DESCRIPTOR = INVOKER_TYPE.toMethodDescriptorString();
+
+    // Handles waiting for the static initializer of their generated class
+    private static final Map<String, MethodHandle> HANDLES = new ConcurrentHashMap<>();
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private AsmMethodInvokerGenerator() {
+        // hidden
+    }
+
+    /**
+     * Generates an invoker of the method. If the class cannot be defined by the class loader of the
+     * method, the returned invoker calls the handle without the generated class.
+     *
+     * @param method invoked method
+     * @param handle handle invoking the method, of the {@link #INVOKER_TYPE}
+     * @return the invoker
+     */
+    public static MethodInvoker generateMethodInvoker(Method method, MethodHandle handle) {
+        if (!INVOKER_TYPE.equals(handle.type())) {
+            throw new IllegalArgumentException("Expected handle of type " + INVOKER_TYPE + ", but was " + handle.type());
+        }
+        Class<?> declaringClass = method.getDeclaringClass();
+        ClassLoader loader = declaringClass.getClassLoader();
+        if (loader == null) {
+            return new HandleInvoker(handle);
+        }
+        String className = getGeneratedInvokerClassName(method);
+        byte[] classData = generateInvokerClass(className);
+        HANDLES.put(className, handle);
+        try {
+            PrivilegedAction<Class<?>> action =
+                () -> defineClass(loader, className, classData, declaringClass.getProtectionDomain());
+            Class<?> invokerClass = AccessController.doPrivileged(action);
+            return (MethodInvoker) invokerClass.getConstructor().newInstance();
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            // The application class loader cannot see the MethodInvoker, or refuses the package.
+            LOG.log(FINE, "Could not generate the invoker of " + method + ", the method handle is used directly.", e);
+            return new HandleInvoker(handle);
+        } finally {
+            HANDLES.remove(className);
+        }
+    }
+
+    /**
+     * Called from the static initializer of the generated class.
+     *
+     * @param className name of the generated class
+     * @return the handle the class was generated for
+     */
+    public static MethodHandle getHandle(String className) {
+        return HANDLES.remove(className);
+    }
+
+    private static String getGeneratedInvokerClassName(Method method) {
+        String declaringClassName = method.getDeclaringClass().getName();
+        String generatedSimpleName = "_" + getBaseName(declaringClassName) + "_" + method.getName() + "_Invoker"
+            + COUNTER.incrementAndGet();
+        return getFullClassName(getPackageName(declaringClassName), generatedSimpleName);
+    }
+
+    private static byte[] generateInvokerClass(String className) {
+        String internalName = className.replace('.', '/');
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V11, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, internalName, null, "java/lang/Object",
+            new String[] {Type.getInternalName(MethodInvoker.class)});
+        cw.visitField(ACC_PRIVATE | ACC_STATIC | ACC_FINAL, HANDLE_FIELD, HANDLE_DESCRIPTOR, null, null).visitEnd();
+
+        MethodVisitor clinit = cw.visitMethod(ACC_STATIC, "<clinit>", "()V", null, null);
+        clinit.visitCode();
+        clinit.visitLdcInsn(className);
+        clinit.visitMethodInsn(INVOKESTATIC, Type.getInternalName(AsmMethodInvokerGenerator.class), "getHandle",
+            "(Ljava/lang/String;)" + HANDLE_DESCRIPTOR, false);
+        clinit.visitFieldInsn(PUTSTATIC, internalName, HANDLE_FIELD, HANDLE_DESCRIPTOR);
+        clinit.visitInsn(RETURN);
+        clinit.visitMaxs(0, 0);
+        clinit.visitEnd();
+
+        MethodVisitor ctor = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        ctor.visitCode();
+        ctor.visitVarInsn(ALOAD, 0);
+        ctor.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        ctor.visitInsn(RETURN);
+        ctor.visitMaxs(0, 0);
+        ctor.visitEnd();
+
+        MethodVisitor invoke = cw.visitMethod(ACC_PUBLIC, "invoke", INVOKE_DESCRIPTOR, null,
+            new String[] {"java/lang/Throwable"});
+        invoke.visitCode();
+        invoke.visitFieldInsn(GETSTATIC, internalName, HANDLE_FIELD, HANDLE_DESCRIPTOR);
+        invoke.visitVarInsn(ALOAD, 1);
+        invoke.visitVarInsn(ALOAD, 2);
+        invoke.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(MethodHandle.class), "invokeExact", INVOKE_DESCRIPTOR,
+            false);
+        invoke.visitInsn(ARETURN);
+        invoke.visitMaxs(0, 0);
+        invoke.visitEnd();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static final class HandleInvoker implements MethodInvoker {
+
+        private final MethodHandle handle;
+
+        HandleInvoker(MethodHandle handle) {
+            this.handle = handle;
+        }
+
+        @Override
+        public Object invoke(Object instance, Object argument) throws Throwable {
+            return (Object) handle.invokeExact(instance, argument);
+        }
+    }
+}
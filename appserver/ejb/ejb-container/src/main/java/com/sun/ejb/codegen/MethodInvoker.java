@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.codegen;
+
+/**
+ * Invokes one method resolved at deployment time.
+ * Implementations are generated by the {@link AsmMethodInvokerGenerator}.
+ */
+public interface MethodInvoker {
+
+    /**
+     * @param instance instance the method is invoked on
+     * @param argument argument passed to the method handle of the invoker
+     * @return value returned by the method, null for void methods
+     * @throws Throwable any exception thrown by the method, as is
+     */
+    Object invoke(Object instance, Object argument) throws Throwable;
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -815,8 +815,12 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
 
         try {
             initializeInterceptorManager();
+            // An around-invoke interceptor may keep the InvocationContext after the call,
+            // so invocations are recycled only if there is none.
+            boolean recyclable = !interceptorManager.hasInterceptors();
             for (InvocationInfo invocationInfo : invocationInfoMap.values()) {
                 setInterceptorChain(invocationInfo);
+                invocationInfo.recycleInvocation = recyclable && isInvocationRecyclable(invocationInfo);
             }
             for (InvocationInfo invocationInfo : this.webServiceInvocationInfoMap.values()) {
                 setInterceptorChain(invocationInfo);
@@ -3120,6 +3124,16 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
         }
     }
 
+    /**
+     * Whether the EjbInvocation of a local call of the method can be reused
+     * for the next call once the call is finished. Only safe if nothing keeps
+     * the invocation after postInvoke, so none by default. Not asked at all
+     * when the bean has interceptors.
+     */
+    protected boolean isInvocationRecyclable(InvocationInfo info) {
+        return false;
+    }
+
     /**
      * Validate transaction attribute value. Allow subclasses to add their own validation.
      */
@@ -3207,6 +3221,18 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
         return invFactory.create();
     }
 
+    /**
+     * Returns an EjbInvocation for the method of {@link InvocationInfo#recycleInvocation},
+     * to be given back with {@link #recycleEjbInvocation(EjbInvocation)}.
+     */
+    protected EjbInvocation createRecyclableEjbInvocation() {
+        return invFactory.createRecyclable();
+    }
+
+    protected void recycleEjbInvocation(EjbInvocation inv) {
+        invFactory.recycle(inv);
+    }
+
     protected EjbInvocation createEjbInvocation(Object ejb, ComponentContext context) {
         return invFactory.create(ejb, context);
     }
@@ -4310,6 +4336,10 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
         timerProbeNotifier.ejbTimerDeliveredEvent();
     }
 
+    protected void recordTimerDeliveryLateness(long latenessMillis) {
+        timerProbeNotifier.ejbTimerDeliveryLatenessEvent(latenessMillis);
+    }
+
     private static class JndiInfo {
         SimpleJndiName name;
         Object object;
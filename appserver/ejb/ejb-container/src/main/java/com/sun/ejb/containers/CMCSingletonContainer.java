@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -20,6 +21,7 @@ import com.sun.ejb.ComponentContext;
 import com.sun.ejb.EjbInvocation;
 import com.sun.ejb.InvocationInfo;
 import com.sun.ejb.MethodLockInfo;
+import com.sun.ejb.containers.util.ReaderBiasedReadWriteLock;
 import com.sun.enterprise.security.SecurityManager;
 
 import jakarta.ejb.ConcurrentAccessException;
@@ -28,7 +30,9 @@ import jakarta.ejb.IllegalLoopbackException;
 import jakarta.ejb.LockType;
 
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
 
 import org.glassfish.ejb.deployment.descriptor.EjbDescriptor;
 
@@ -38,11 +42,21 @@ import org.glassfish.ejb.deployment.descriptor.EjbDescriptor;
 public class CMCSingletonContainer
         extends AbstractSingletonContainer {
 
-    private final ReentrantReadWriteLock rwLock = new ReentrantReadWriteLock(true);
+    /**
+     * Enterprise beans property selecting the lock of the singletons of the module, the property
+     * suffixed by "." and the ejb-name selects it for one bean.
+     */
+    static final String SINGLETON_LOCK_STRATEGY_PROP = "singleton-lock-strategy";
+    /** Fair {@link ReentrantReadWriteLock}, the default. */
+    static final String FAIR_LOCK_STRATEGY = "fair";
+    /** {@link ReaderBiasedReadWriteLock}, for beans whose read methods are called much more often. */
+    static final String READER_BIASED_LOCK_STRATEGY = "reader-biased";
+
+    private final ReadWriteLock rwLock;
 
-    private final ReentrantReadWriteLock.ReadLock readLock = rwLock.readLock();
+    private final Lock readLock;
 
-    private final ReentrantReadWriteLock.WriteLock writeLock = rwLock.writeLock();
+    private final Lock writeLock;
 
     private final static long NO_BLOCKING = 0;
     private final static long BLOCK_INDEFINITELY = -1;
@@ -53,12 +67,41 @@ public class CMCSingletonContainer
             throws Exception {
         super(desc, cl, sm);
 
+        rwLock = createLock(desc);
+        readLock = rwLock.readLock();
+        writeLock = rwLock.writeLock();
+
         // In absence of any method lock info default is WRITE lock with no timeout.
         defaultMethodLockInfo = new MethodLockInfo();
         defaultMethodLockInfo.setLockType(LockType.WRITE);
 
     }
 
+    private static ReadWriteLock createLock(EjbDescriptor desc) {
+        String strategy = desc.getEjbBundleDescriptor().getEnterpriseBeansProperty(
+                SINGLETON_LOCK_STRATEGY_PROP + "." + desc.getName());
+        if (strategy == null) {
+            strategy = desc.getEjbBundleDescriptor().getEnterpriseBeansProperty(SINGLETON_LOCK_STRATEGY_PROP);
+        }
+        if (READER_BIASED_LOCK_STRATEGY.equals(strategy)) {
+            return new ReaderBiasedReadWriteLock();
+        }
+        if (strategy != null && !FAIR_LOCK_STRATEGY.equals(strategy)) {
+            _logger.log(Level.WARNING, "Unknown value {0} of the property {1} of the singleton {2}, using {3}",
+                    new Object[] {strategy, SINGLETON_LOCK_STRATEGY_PROP, desc.getName(), FAIR_LOCK_STRATEGY});
+        }
+        return new ReentrantReadWriteLock(true);
+    }
+
+    private boolean isOnlyReadLockHeld() {
+        if (rwLock instanceof ReaderBiasedReadWriteLock) {
+            ReaderBiasedReadWriteLock lock = (ReaderBiasedReadWriteLock) rwLock;
+            return lock.getReadHoldCount() > 0 && !lock.isWriteLockedByCurrentThread();
+        }
+        ReentrantReadWriteLock lock = (ReentrantReadWriteLock) rwLock;
+        return lock.getReadHoldCount() > 0 && !lock.isWriteLockedByCurrentThread();
+    }
+
     /*
      * Findbugs complains that the lock acquired in this method is not
      *  unlocked on all paths in this method.
@@ -98,8 +141,7 @@ public class CMCSingletonContainer
                 ? defaultMethodLockInfo : invInfo.methodLockInfo;
         Lock theLock = lockInfo.isReadLockedMethod() ? readLock : writeLock;
 
-        if ( (rwLock.getReadHoldCount() > 0) &&
-             (!rwLock.isWriteLockedByCurrentThread()) ) {
+        if (isOnlyReadLockHeld()) {
             if( lockInfo.isWriteLockedMethod() ) {
                 throw new IllegalLoopbackException("Illegal Reentrant Access : Attempt to make " +
                         "a loopback call on a Write Lock method '" + invInfo.targetMethod1 +
@@ -114,6 +156,7 @@ public class CMCSingletonContainer
          * lock, the lock is guaranteed to be unlocked in releaseContext()
          * even if exceptions were thrown in _getContext()
          */
+        final long waitStart = System.nanoTime();
         if (!lockInfo.hasTimeout() ||
             ( (lockInfo.hasTimeout() && (lockInfo.getTimeout() == BLOCK_INDEFINITELY) )) ) {
             theLock.lock();
@@ -142,6 +185,8 @@ public class CMCSingletonContainer
 
         //Now that we have acquired the lock, remember it
         inv.setCMCLock(theLock);
+        ejbProbeNotifier.singletonLockWaitEvent(getContainerId(), containerInfo.appName, containerInfo.modName,
+                containerInfo.ejbName, invInfo.str_method_sig, System.nanoTime() - waitStart);
 
         //Now that we have the lock return the singletonCtx
         return singletonCtx;
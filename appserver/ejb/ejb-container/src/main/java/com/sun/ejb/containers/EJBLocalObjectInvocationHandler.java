@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -148,7 +148,9 @@ public final class EJBLocalObjectInvocationHandler extends EJBLocalObjectImpl im
             }
 
             // Process application-specific method.
-            EjbInvocation inv = container.createEjbInvocation();
+            EjbInvocation inv = invInfo.recycleInvocation
+                ? container.createRecyclableEjbInvocation()
+                : container.createEjbInvocation();
             inv.isLocal = true;
             inv.isBusinessInterface = !isLocalHomeView();
             inv.isHome = false;
@@ -176,8 +178,12 @@ public final class EJBLocalObjectInvocationHandler extends EJBLocalObjectImpl im
                 container.postInvoke(inv);
             }
 
-            if (inv.exception != null) {
-                InvocationHandlerUtil.throwLocalException(inv.exception, method.getExceptionTypes());
+            Throwable exception = inv.exception;
+            if (invInfo.recycleInvocation) {
+                container.recycleEjbInvocation(inv);
+            }
+            if (exception != null) {
+                InvocationHandlerUtil.throwLocalException(exception, method.getExceptionTypes());
             }
             return returnValue;
         } finally {
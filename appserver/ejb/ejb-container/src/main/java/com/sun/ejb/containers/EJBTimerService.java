@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -37,7 +37,6 @@ import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Date;
@@ -46,10 +45,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.glassfish.api.invocation.ComponentInvocation;
+import org.glassfish.common.util.timer.HierarchicalTimingWheel;
 import org.glassfish.ejb.config.EjbContainer;
 import org.glassfish.ejb.config.EjbTimerService;
 import org.glassfish.ejb.deployment.descriptor.EjbDescriptor;
@@ -88,6 +91,18 @@ public class EJBTimerService {
     // A cache of timer info for all timers *owned* by this server instance.
     protected TimerCache timerCache_;
 
+    // Precision of the timer expirations and number of buckets of every
+    // level of the timing wheel.
+    private static final long TIMING_WHEEL_TICK_MILLIS = 10;
+    private static final int TIMING_WHEEL_SIZE = 512;
+
+    // Schedules the expirations of all timers owned by this server instance.
+    // Expired timers are handed over to the ejb thread pool in shards.
+    // Its thread is started by the first scheduled timer, so an instance which
+    // never becomes the timer service does not leave a thread behind.
+    private final HierarchicalTimingWheel timingWheel_;
+    private volatile boolean timingWheelStarted_;
+
     private boolean shutdown_;
 
     // Total number of ejb components initialized as timed objects between the
@@ -141,6 +156,9 @@ public class EJBTimerService {
     protected EJBTimerService() throws Exception {
         timerCache_     = new TimerCache();
         shutdown_       = false;
+        timingWheel_    = new HierarchicalTimingWheel("ejb-timer-wheel",
+            TIMING_WHEEL_TICK_MILLIS, TIMING_WHEEL_SIZE, this::dispatchExpiredTimers,
+            Runtime.getRuntime().availableProcessors());
 
         ServerEnvironmentImpl env = ejbContainerUtil.getServerEnvironment();
 
@@ -154,10 +172,17 @@ public class EJBTimerService {
     }
 
     protected static void setEJBTimerService(EJBTimerService es) {
+        EJBTimerService previous = _timerService;
         _timerService = es;
+        if (previous != null && previous != es) {
+            previous.timingWheel_.stop();
+        }
     }
 
     static void unsetEJBTimerService() {
+        if (_timerService != null) {
+            _timerService.timingWheel_.stop();
+        }
         _timerServiceVerified = false;
         _timerService = null;
     }
@@ -332,7 +357,7 @@ public class EJBTimerService {
         }
     }
 
-    private void shutdown() {
+    protected void shutdown() {
         // Set flag to prevent any new timer expirations.
         shutdown_ = true;
     }
@@ -446,8 +471,11 @@ public class EJBTimerService {
                     timerState.scheduled(timerTask);
                 }
 
-                java.util.Timer jdkTimer = ejbContainerUtil.getTimer();
-                jdkTimer.schedule(timerTask, timerExpiration);
+                if (!timingWheelStarted_) {
+                    timingWheelStarted_ = true;
+                    timingWheel_.start();
+                }
+                timerTask.schedule(timingWheel_);
             }
         } else {
 
@@ -1080,8 +1108,10 @@ public class EJBTimerService {
 
     /**
      * Called from timer thread.  Used to deliver ejb timeout.
+     *
+     * @param timeout scheduled time of this expiration
      */
-    private void deliverTimeout(TimerPrimaryKey timerId) {
+    private void deliverTimeout(TimerPrimaryKey timerId, Date timeout) {
 
         if( logger.isLoggable(Level.FINE) ) {
             logger.log(Level.FINE, "EJBTimerService.deliverTimeout(): work "
@@ -1131,6 +1161,8 @@ public class EJBTimerService {
             }
         }
 
+        container.recordTimerDeliveryLateness(System.currentTimeMillis() - timeout.getTime());
+
         try {
             agent.requestStart(RequestType.TIMER_EJB);
             container.onEnteringContainer();
@@ -1365,14 +1397,27 @@ public class EJBTimerService {
         // Do nothing
     }
 
+    /**
+     * Hands over a shard of expired timers of the timing wheel to the ejb
+     * thread pool.
+     */
+    private void dispatchExpiredTimers(Runnable expiredTimers) {
+        ThreadPoolExecutor executor = ejbContainerUtil.getThreadPoolExecutor(null);
+        if (executor == null) {
+            throw new RejectedExecutionException("The ejb thread pool is not available");
+        }
+        executor.execute(expiredTimers);
+    }
+
     /**
      * This method is called back from the EJBTimerTask object
-     * on the JDK Timer Thread.  Work performed in this callback
+     * on a thread of the ejb thread pool dispatching the expired timers
+     * of the timing wheel.  Work performed in this callback
      * should be short-lived, so do a little bookkeeping and then
      * launch a separate thread to invoke ejbTimeout, etc.
      */
 
-    void taskExpired(TimerPrimaryKey timerId) {
+    void taskExpired(TimerPrimaryKey timerId, Date timeout) {
         RuntimeTimerState timerState = getTimerState(timerId);
 
         if( timerState != null ) {
@@ -1385,7 +1430,7 @@ public class EJBTimerService {
                            "Adding work pool task for timer " + timerId);
                     }
 
-                    TaskExpiredWork work = new TaskExpiredWork(this, timerId);
+                    TaskExpiredWork work = new TaskExpiredWork(this, timerId, timeout);
                     ejbContainerUtil.addWork(work);
                 } else {
                     logger.log(Level.FINE, "Timer " + timerId +
@@ -1604,6 +1649,7 @@ public class EJBTimerService {
         }
 
         _timerService.shutdown();
+        _timerService.timingWheel_.stop();
         DateFormat dateFormat =
             new SimpleDateFormat(TIMER_SERVICE_DOWNTIME_FORMAT);
         String downTimeStr = dateFormat.format(new Date());
@@ -1677,42 +1723,33 @@ public class EJBTimerService {
     // this server instance*.  It is not transactionally
     // consistent.  Operations requiring those semantics should query
     // the database for TimerBean info.  Any timer for which there is an
-    // active JDK timer task must be contained within this cache.
+    // active timing wheel task must be contained within this cache.
     //
-    // Note : this class supports concurrent access.
+    // Note : this class supports concurrent access.  Every map is a
+    // concurrent map, the per container information is updated atomically
+    // per container id, so timers of different containers never contend.
     //
     public static class TimerCache {
 
         // Maps timer id to timer state.
-        private final Map timers_;
+        private final Map<TimerPrimaryKey, RuntimeTimerState> timers_ = new ConcurrentHashMap<>();
 
-        // Map of timer information per container.
-        //
-        // For stateless session beans and message-driven beans,
-        // container id is mapped to a Long value representing the
-        // number of timers.
-        //
-        //
-        // For entity beans, container id is mapped to a list of
-        // primary keys.  NOTE : This list can contain duplicate primary keys
-        // in the case where the same entity bean identity has more
-        // than one associated timer.
+        // Maps container id to the number of timers of the container.
+        private final Map<Long, Long> containerTimers_ = new ConcurrentHashMap<>();
 
-        private final Map containerTimers_;
+        // For entity beans, maps container id to the primary keys of the
+        // timed objects and the number of timers of each of them, since
+        // the same entity bean identity can have more than one timer.
+        private final Map<Long, Map<Object, Integer>> entityBeanTimers_ = new ConcurrentHashMap<>();
 
         // Map of non-persistent timer id to timer state.
-        private final Map<TimerPrimaryKey, RuntimeTimerState> nonpersistentTimers_;
+        private final Map<TimerPrimaryKey, RuntimeTimerState> nonpersistentTimers_ = new ConcurrentHashMap<>();
 
         public TimerCache() {
-            // Create unsynchronized collections.  TimerCache will
-            // provide concurrency control.
-            timers_ = new HashMap();
-            containerTimers_ = new HashMap();
-            nonpersistentTimers_ = new HashMap<>();
         }
 
-        public synchronized void addTimer(TimerPrimaryKey timerId,
-                                          RuntimeTimerState timerState) {
+        public void addTimer(TimerPrimaryKey timerId,
+                             RuntimeTimerState timerState) {
             if( logger.isLoggable(Level.FINE) ) {
                 logger.log(Level.FINE, "Adding timer " + timerState);
             }
@@ -1723,27 +1760,14 @@ public class EJBTimerService {
             }
 
             Long containerId = timerState.getContainerId();
-
-            Object containerInfo = containerTimers_.get(containerId);
-
             if( timerState.timedObjectIsEntity() ) {
-                Collection entityBeans;
-                if( containerInfo == null ) {
-                    // NOTE : This list *can* contain duplicates, since
-                    // the same entity bean can be the timed object for
-                    // multiple timers.
-                    entityBeans = new ArrayList();
-                    containerTimers_.put(containerId, entityBeans);
-                } else {
-                    entityBeans = (Collection) containerInfo;
-                }
-                entityBeans.add(timerState.getTimedObjectPrimaryKey());
-            } else {
-                Long timerCount = (containerInfo == null) ? 1 :
-                    ((Long) containerInfo).longValue() + 1;
-                containerTimers_.put(containerId, timerCount);
+                entityBeanTimers_.compute(containerId, (id, entityBeans) -> {
+                    Map<Object, Integer> result = (entityBeans == null) ? new ConcurrentHashMap<>() : entityBeans;
+                    result.merge(timerState.getTimedObjectPrimaryKey(), 1, Integer::sum);
+                    return result;
+                });
             }
-
+            containerTimers_.merge(containerId, 1L, Long::sum);
         }
 
         /**
@@ -1751,13 +1775,12 @@ public class EJBTimerService {
          * defensively since it's possible it will be called multiple
          * times for the same timer.
          */
-        public synchronized void removeTimer(TimerPrimaryKey timerId) {
+        public void removeTimer(TimerPrimaryKey timerId) {
             if( logger.isLoggable(Level.FINE) ) {
                 logger.log(Level.FINE, "Removing timer " + timerId);
             }
 
-            RuntimeTimerState timerState = (RuntimeTimerState)
-                timers_.remove(timerId);
+            RuntimeTimerState timerState = timers_.remove(timerId);
 
             if( timerState == null) {
                 return;
@@ -1767,64 +1790,47 @@ public class EJBTimerService {
                 nonpersistentTimers_.remove(timerId);
             }
             Long containerId = timerState.getContainerId();
-            Object containerInfo = containerTimers_.get(containerId);
-
-            if( containerInfo != null ) {
-                if( timerState.timedObjectIsEntity() ) {
-                    Collection entityBeans = (Collection) containerInfo;
-                    if( entityBeans.size() == 1 ) {
-                        // Only one left -- blow away the container.
-                        containerTimers_.remove(containerId);
-                    } else {
-                        // Remove a single instance of this primary key
-                        // from the list.  There could still be other
-                        // instances of the same primary key.
-                        entityBeans.remove
-                            (timerState.getTimedObjectPrimaryKey());
-                    }
-                } else {
-                    long timerCount = ((Long) containerInfo).longValue();
-                    if( timerCount == 1 ) {
-                        // Only one left -- blow away the container
-                        containerTimers_.remove(containerId);
-                    } else {
-                        Long newCount = timerCount - 1;
-                        containerTimers_.put(containerId, newCount);
-                    }
-                }
+            if( timerState.timedObjectIsEntity() ) {
+                // Remove a single instance of this primary key.  There
+                // could still be other timers of the same primary key.
+                entityBeanTimers_.computeIfPresent(containerId, (id, entityBeans) -> {
+                    entityBeans.computeIfPresent(timerState.getTimedObjectPrimaryKey(),
+                        (pkey, timerCount) -> (timerCount == 1) ? null : timerCount - 1);
+                    return entityBeans.isEmpty() ? null : entityBeans;
+                });
             }
+            // Only one left -- blow away the container
+            containerTimers_.computeIfPresent(containerId,
+                (id, timerCount) -> (timerCount == 1) ? null : timerCount - 1);
         }
 
-        public synchronized RuntimeTimerState getTimerState(TimerPrimaryKey
-                                                            timerId) {
-            return (RuntimeTimerState) timers_.get(timerId);
+        public RuntimeTimerState getTimerState(TimerPrimaryKey timerId) {
+            return timers_.get(timerId);
         }
 
-        public synchronized RuntimeTimerState getNonPersistentTimerState(
+        public RuntimeTimerState getNonPersistentTimerState(
                               TimerPrimaryKey timerId) {
             return nonpersistentTimers_.get(timerId);
         }
 
         // True if the given entity bean has any timers and false otherwise.
-        public synchronized boolean entityBeanHasTimers(long containerId,
-                                                        Object pkey) {
-            Object containerInfo = containerTimers_.get(containerId);
-            return (containerInfo != null) ?
-                ((Collection) containerInfo).contains(pkey) : false;
+        public boolean entityBeanHasTimers(long containerId, Object pkey) {
+            Map<Object, Integer> entityBeans = entityBeanTimers_.get(containerId);
+            return (entityBeans != null) ? entityBeans.containsKey(pkey) : false;
         }
 
         // True if the ejb represented by this container id has any timers
         // and false otherwise.
-        public synchronized boolean containerHasTimers(long containerId) {
+        public boolean containerHasTimers(long containerId) {
             return containerTimers_.containsKey(containerId);
         }
 
         // Placeholder for logic to ensure timer cache consistency.
-        public synchronized void validate() {
+        public void validate() {
         }
 
         // Returns a Set of non-persistent timer ids for this container
-        public synchronized Set<TimerPrimaryKey> getNonPersistentTimerIdsForContainer(
+        public Set<TimerPrimaryKey> getNonPersistentTimerIdsForContainer(
                                         long containerId_) {
             Set<TimerPrimaryKey> result = new HashSet<>();
             for (Map.Entry<TimerPrimaryKey, RuntimeTimerState> entry : nonpersistentTimers_.entrySet()) {
@@ -1839,7 +1845,7 @@ public class EJBTimerService {
         }
 
         // Returns a Set of active non-persistent timer ids for this container
-        public synchronized Set<TimerPrimaryKey> getNonPersistentActiveTimerIdsForContainer(
+        public Set<TimerPrimaryKey> getNonPersistentActiveTimerIdsForContainer(
                                         long containerId_) {
             Set<TimerPrimaryKey> result = new HashSet<>();
             for (Map.Entry<TimerPrimaryKey, RuntimeTimerState> entry : nonpersistentTimers_.entrySet()) {
@@ -1853,7 +1859,7 @@ public class EJBTimerService {
         }
 
         // Returns a Set of active non-persistent timer ids for this server
-        public synchronized Set<TimerPrimaryKey> getNonPersistentActiveTimerIdsByThisServer() {
+        public Set<TimerPrimaryKey> getNonPersistentActiveTimerIdsByThisServer() {
             Set<TimerPrimaryKey> result = new HashSet<>();
             for (Map.Entry<TimerPrimaryKey, RuntimeTimerState> entry : nonpersistentTimers_.entrySet()) {
                 TimerPrimaryKey key = entry.getKey();
@@ -1875,17 +1881,19 @@ public class EJBTimerService {
     private static class TaskExpiredWork implements Runnable {
         private final EJBTimerService timerService_;
         private final TimerPrimaryKey timerId_;
+        private final Date timeout_;
 
         public TaskExpiredWork(EJBTimerService timerService,
-                               TimerPrimaryKey timerId) {
+                               TimerPrimaryKey timerId, Date timeout) {
             timerService_ = timerService;
             timerId_ = timerId;
+            timeout_ = timeout;
         }
 
         @Override
         public void run() {
             // Delegate to Timer Service.
-            timerService_.deliverTimeout(timerId_);
+            timerService_.deliverTimeout(timerId_, timeout_);
         }
 
     } // TaskExpiredWork
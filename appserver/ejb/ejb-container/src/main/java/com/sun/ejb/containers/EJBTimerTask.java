@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -18,19 +19,22 @@ package com.sun.ejb.containers;
 
 
 import java.util.Date;
-import java.util.TimerTask;
+
+import org.glassfish.common.util.timer.HierarchicalTimingWheel;
+import org.glassfish.common.util.timer.HierarchicalTimingWheel.Timeout;
 
 
 /*
- * JDK timer task for timer expirations.
+ * Timing wheel task for timer expirations.
  *
  * @author Kenneth Saks
  */
-public class EJBTimerTask extends TimerTask {
+public class EJBTimerTask implements Runnable {
 
     private Date timeout_;
     private TimerPrimaryKey timerId_;
     private EJBTimerService timerService_;
+    private Timeout wheelTimeout_;
 
     EJBTimerTask(Date timeout, TimerPrimaryKey timerId,
                  EJBTimerService timerService)
@@ -40,9 +44,17 @@ public class EJBTimerTask extends TimerTask {
         timerService_ = timerService;
     }
 
+    void schedule(HierarchicalTimingWheel timingWheel) {
+        wheelTimeout_ = timingWheel.schedule(this, timeout_.getTime());
+    }
+
     public void run() {
         // Delegate to Timer Service.
-        timerService_.taskExpired(timerId_);
+        timerService_.taskExpired(timerId_, timeout_);
+    }
+
+    public boolean cancel() {
+        return wheelTimeout_ != null && wheelTimeout_.cancel();
     }
 
     public Date getTimeout() {
@@ -50,4 +62,3 @@ public class EJBTimerTask extends TimerTask {
     }
 
 }
-
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -18,39 +19,75 @@ package com.sun.ejb.containers;
 
 import com.sun.ejb.Container;
 import com.sun.ejb.EjbInvocation;
+import com.sun.ejb.monitoring.stats.EjbThreadPoolStatsProvider;
+import com.sun.enterprise.deployment.EjbBundleDescriptor;
 import com.sun.logging.LogDomains;
 
 import jakarta.ejb.EJBException;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.glassfish.ejb.config.EjbContainer;
+import org.glassfish.ejb.deployment.descriptor.EjbDescriptor;
 import org.jvnet.hk2.annotations.Service;
 
 /**
+ * Dispatches the asynchronous invocations.  By default they all run on the shared ejb
+ * thread pool.  A bean assigned to a bulkhead with the enterprise-beans property
+ * async-bulkhead (or async-bulkhead.&lt;ejb-name&gt; for a single bean) in glassfish-ejb-jar.xml
+ * runs them on a bounded executor of its own, shared with the beans of the same
+ * application assigned to the same bulkhead, so that a slow bean cannot starve the others.
+ * The statistics of a bulkhead executor are published in the ejb-container monitoring
+ * tree under &lt;application&gt;/async-bulkheads/&lt;bulkhead&gt;.
+ *
  * @author Mahesh Kannan
  */
 @Service
 public class EjbAsyncInvocationManager {
     private static final Logger _logger = LogDomains.getLogger(EjbAsyncInvocationManager.class, LogDomains.EJB_LOGGER);
 
+    // Name of the bulkhead of the beans, or of one bean with the ".<ejb-name>" suffix
+    static final String ASYNC_BULKHEAD_PROP = "async-bulkhead";
+
+    // Settings of all bulkheads, or of one bulkhead with the ".<bulkhead>" suffix
+    static final String ASYNC_BULKHEAD_MAX_THREADS_PROP = "async-bulkhead-max-threads";
+    static final String ASYNC_BULKHEAD_QUEUE_CAPACITY_PROP = "async-bulkhead-queue-capacity";
+    static final String ASYNC_BULKHEAD_THREAD_TYPE_PROP = "async-bulkhead-thread-type";
+
+    private static final int DEFAULT_ASYNC_BULKHEAD_MAX_THREADS = 8;
+    private static final int DEFAULT_ASYNC_BULKHEAD_QUEUE_CAPACITY = 128;
+
+    // Marks the containers using the shared ejb thread pool
+    private static final Bulkhead SHARED_THREAD_POOL = new Bulkhead(null, null, null);
+
     private AtomicLong invCounter = new AtomicLong();
 
     // Map of Remote Future<> tasks.
     private ConcurrentHashMap<Long, EjbFutureTask> remoteTaskMap =
             new ConcurrentHashMap<Long, EjbFutureTask>();
 
+    private final ConcurrentHashMap<Container, Bulkhead> containerBulkheads = new ConcurrentHashMap<>();
+
+    // Bulkheads by thread pool name, guarded by itself
+    private final Map<String, Bulkhead> bulkheads = new HashMap<>();
+
     public Future createLocalFuture(EjbInvocation inv) {
         return createFuture(inv);
     }
@@ -128,12 +165,149 @@ public class EjbAsyncInvocationManager {
         // before authorization.
         futureTask.getEjbAsyncTask().initialize(asyncInv);
 
-        EjbContainerUtil ejbContainerUtil = EjbContainerUtilImpl.getInstance();
-        return ejbContainerUtil.getThreadPoolExecutor(null).submit(futureTask.getEjbAsyncTask());
+        ThreadPoolExecutor executor = getExecutor((Container) asyncInv.container);
+        futureTask.setExecutor(executor);
+        try {
+            return executor.submit(futureTask.getEjbAsyncTask());
+        } catch (RejectedExecutionException e) {
+            // The caller gets the exception instead of the Future
+            remoteTaskMap.remove(asyncInv.getInvId());
+            if( _logger.isLoggable(Level.FINE) ) {
+                _logger.log(Level.FINE, "Rejected async task " + asyncInv, e);
+            }
+            throw new EJBException("Cannot dispatch the asynchronous invocation, " + executor, e);
+        }
+    }
+
+    /**
+     * @param poolName thread pool name of a bulkhead
+     * @return the executor of the bulkhead or null if no bean uses it
+     */
+    ThreadPoolExecutor getBulkheadExecutor(String poolName) {
+        synchronized (bulkheads) {
+            Bulkhead bulkhead = bulkheads.get(poolName);
+            return bulkhead == null ? null : bulkhead.executor;
+        }
+    }
+
+    void shutdownBulkheads() {
+        synchronized (bulkheads) {
+            for (Bulkhead bulkhead : bulkheads.values()) {
+                bulkhead.shutdown();
+            }
+            bulkheads.clear();
+            containerBulkheads.clear();
+        }
+    }
+
+    private ThreadPoolExecutor getExecutor(Container container) {
+        Bulkhead bulkhead = containerBulkheads.get(container);
+        if (bulkhead == null) {
+            bulkhead = addContainer(container);
+        }
+        if (bulkhead == SHARED_THREAD_POOL) {
+            return EjbContainerUtilImpl.getInstance().getThreadPoolExecutor(null);
+        }
+        return bulkhead.executor;
+    }
+
+    private Bulkhead addContainer(Container container) {
+        EjbDescriptor ejbDescriptor = container.getEjbDescriptor();
+        EjbBundleDescriptor bundle = ejbDescriptor.getEjbBundleDescriptor();
+        String bulkheadName = bundle.getEnterpriseBeansProperty(ASYNC_BULKHEAD_PROP + "." + ejbDescriptor.getName());
+        if (bulkheadName == null) {
+            bulkheadName = bundle.getEnterpriseBeansProperty(ASYNC_BULKHEAD_PROP);
+        }
+
+        synchronized (bulkheads) {
+            Bulkhead bulkhead = containerBulkheads.get(container);
+            if (bulkhead != null) {
+                return bulkhead;
+            }
+            if (bulkheadName == null || bulkheadName.isBlank()) {
+                bulkhead = SHARED_THREAD_POOL;
+            } else {
+                bulkheadName = bulkheadName.trim();
+                String appName = ejbDescriptor.getApplication().getAppName();
+                String poolName = EjbContainerUtil.ASYNC_BULKHEAD_THREAD_POOL_NAME_PREFIX + appName + "/" + bulkheadName;
+                bulkhead = bulkheads.get(poolName);
+                if (bulkhead == null) {
+                    EjbThreadPoolExecutor executor = createBulkheadExecutor(bundle, bulkheadName, poolName);
+                    EjbThreadPoolStatsProvider statsProvider = new EjbThreadPoolStatsProvider(executor, appName,
+                            bulkheadName);
+                    statsProvider.register();
+                    bulkhead = new Bulkhead(poolName, executor, statsProvider);
+                    bulkheads.put(poolName, bulkhead);
+                }
+                bulkhead.containers.add(container);
+            }
+            containerBulkheads.put(container, bulkhead);
+            return bulkhead;
+        }
+    }
+
+    private void removeContainer(Container container) {
+        synchronized (bulkheads) {
+            Bulkhead bulkhead = containerBulkheads.remove(container);
+            if (bulkhead == null || bulkhead == SHARED_THREAD_POOL) {
+                return;
+            }
+            bulkhead.containers.remove(container);
+            if (bulkhead.containers.isEmpty()) {
+                bulkheads.remove(bulkhead.poolName);
+                bulkhead.shutdown();
+                if( _logger.isLoggable(Level.FINE) ) {
+                    _logger.log(Level.FINE, "Shut down " + bulkhead.poolName + " " + bulkhead.executor
+                            + " completed-task-count " + bulkhead.executor.getCompletedTaskCount());
+                }
+            }
+        }
+    }
+
+    private static EjbThreadPoolExecutor createBulkheadExecutor(EjbBundleDescriptor bundle, String bulkheadName,
+            String poolName) {
+        int maxThreads = getIntProperty(bundle, ASYNC_BULKHEAD_MAX_THREADS_PROP, bulkheadName,
+                DEFAULT_ASYNC_BULKHEAD_MAX_THREADS);
+        int queueCapacity = getIntProperty(bundle, ASYNC_BULKHEAD_QUEUE_CAPACITY_PROP, bulkheadName,
+                DEFAULT_ASYNC_BULKHEAD_QUEUE_CAPACITY);
+        String threadType = getProperty(bundle, ASYNC_BULKHEAD_THREAD_TYPE_PROP, bulkheadName);
+        boolean virtualThreads = EjbContainerUtilImpl.isVirtualThreadType(threadType);
+
+        EjbThreadPoolExecutor executor = new EjbThreadPoolExecutor(maxThreads, maxThreads,
+                EjbContainer.DEFAULT_THREAD_KEEP_ALIVE_SECONDS, new LinkedBlockingQueue<Runnable>(queueCapacity),
+                poolName, virtualThreads);
+        executor.allowCoreThreadTimeOut(true);
+
+        if( _logger.isLoggable(Level.FINE) ) {
+            _logger.log(Level.FINE, "Created " + poolName + " " + executor);
+        }
+        return executor;
+    }
+
+    private static String getProperty(EjbBundleDescriptor bundle, String name, String bulkheadName) {
+        String value = bundle.getEnterpriseBeansProperty(name + "." + bulkheadName);
+        return value == null ? bundle.getEnterpriseBeansProperty(name) : value;
+    }
+
+    private static int getIntProperty(EjbBundleDescriptor bundle, String name, String bulkheadName,
+            int defaultValue) {
+        String value = getProperty(bundle, name, bulkheadName);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            _logger.warning(name + " of the bulkhead " + bulkheadName
+                    + " is not a number, using default value " + defaultValue);
+            return defaultValue;
+        }
     }
 
     public void cleanupContainerTasks(Container container) {
 
+        removeContainer(container);
+
         Set<Map.Entry<Long, EjbFutureTask>> entrySet = remoteTaskMap.entrySet();
         Iterator<Map.Entry<Long, EjbFutureTask>> iterator = entrySet.iterator();
 
@@ -190,6 +364,17 @@ public class EjbAsyncInvocationManager {
             // has the result so we can remove it from the container map.
             remoteTaskMap.remove(asyncTaskID);
 
+        } else if( task.cancelBeforeStart() ) {
+
+            // The task never runs, so the client gets the cancellation
+            // as the result.
+            result = new RemoteAsyncResult();
+
+            result.resultException = task.getResultException();
+            result.asyncID = asyncTaskID;
+
+            remoteTaskMap.remove(asyncTaskID);
+
         } else {
 
             // Set flag on invocation so bean method has visibility to
@@ -320,6 +505,29 @@ public class EjbAsyncInvocationManager {
     }
 
 
+    private static final class Bulkhead {
+
+        private final String poolName;
+        private final EjbThreadPoolExecutor executor;
+
+        // Statistics of the executor in the ejb-container monitoring tree
+        private final EjbThreadPoolStatsProvider statsProvider;
+
+        // Containers running their asynchronous methods on the executor
+        private final Set<Container> containers = new HashSet<>();
+
+        Bulkhead(String poolName, EjbThreadPoolExecutor executor, EjbThreadPoolStatsProvider statsProvider) {
+            this.poolName = poolName;
+            this.executor = executor;
+            this.statsProvider = statsProvider;
+        }
+
+        void shutdown() {
+            statsProvider.unregister();
+            executor.shutdown();
+        }
+    }
+
     private EjbFutureTask getLocalTaskForID(Long asyncTaskID) {
         EjbFutureTask task = remoteTaskMap.get(asyncTaskID);
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2008, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -58,6 +58,12 @@ public interface EjbContainerUtil {
 
     String DEFAULT_THREAD_POOL_NAME = "__ejb-thread-pool";
 
+    // Serializes and stores the passivated stateful session beans
+    String SFSB_PASSIVATION_THREAD_POOL_NAME = "__ejb-sfsb-passivation-pool";
+
+    // Runs the asynchronous methods of the beans assigned to a bulkhead of an application
+    String ASYNC_BULKHEAD_THREAD_POOL_NAME_PREFIX = "__ejb-async-bulkhead-";
+
     // Used by the TimerService upgrade
     long MINIMUM_TIMER_DELIVERY_INTERVAL = 1000;
 
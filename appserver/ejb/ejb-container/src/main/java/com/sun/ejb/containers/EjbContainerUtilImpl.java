@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2008, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -84,8 +84,18 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
 
     private static Logger _logger = LogDomains.getLogger(EjbContainerUtilImpl.class, LogDomains.EJB_LOGGER);
 
+    // Number of threads serializing and storing the passivated stateful session beans
+    private static final String SFSB_PASSIVATION_THREAD_POOL_SIZE = "sfsb-passivation-thread-pool-size";
+
+    // Number of passivation batches waiting for a thread before the request threads are pushed back
+    private static final String SFSB_PASSIVATION_QUEUE_CAPACITY = "sfsb-passivation-queue-capacity";
+
+    private static final int DEFAULT_SFSB_PASSIVATION_QUEUE_CAPACITY = 256;
+
     private ThreadPoolExecutor defaultThreadPoolExecutor;
 
+    private ThreadPoolExecutor sfsbPassivationThreadPoolExecutor;
+
     @Inject
     private ServiceLocator services;
 
@@ -168,6 +178,7 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
         }
 
         defaultThreadPoolExecutor = createThreadPoolExecutor(DEFAULT_THREAD_POOL_NAME);
+        sfsbPassivationThreadPoolExecutor = createSFSBPassivationThreadPoolExecutor();
 
         //avoid starting JDK timer in application class loader.  The life of _timer
         //field is longer than deployed apps, and any reference to app class loader
@@ -194,6 +205,11 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
             defaultThreadPoolExecutor.shutdown();
             defaultThreadPoolExecutor = null;
         }
+        if (sfsbPassivationThreadPoolExecutor != null) {
+            sfsbPassivationThreadPoolExecutor.shutdown();
+            sfsbPassivationThreadPoolExecutor = null;
+        }
+        ejbAsyncInvocationManager.shutdownBulkheads();
         EJBTimerService.onShutdown();
         EJBTimerService.unsetEJBTimerService();
     }
@@ -493,11 +509,15 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
         boolean preStartAllCoreThreads = val != null ? Boolean.parseBoolean(val.trim())
                 : EjbContainer.DEFAULT_PRESTART_ALL_CORE_THREADS;
 
+        val = ejbContainer.getPropertyValue(RuntimeTagNames.THREAD_TYPE);
+        boolean virtualThreads = isVirtualThreadType(val);
+
         BlockingQueue workQueue = queueCapacity > 0
                 ? new LinkedBlockingQueue<Runnable>(queueCapacity)
                 : new SynchronousQueue(true);
 
-        result = new EjbThreadPoolExecutor(corePoolSize, maxPoolSize, keepAliveSeconds, workQueue, poolName);
+        result = new EjbThreadPoolExecutor(corePoolSize, maxPoolSize, keepAliveSeconds, workQueue, poolName,
+                virtualThreads);
 
         if(allowCoreThreadTimeout) {
             result.allowCoreThreadTimeOut(true);
@@ -513,6 +533,45 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
         return result;
     }
 
+    /**
+     * The passivation pool is small and bounded: when the store cannot keep up,
+     * new batches are rejected and the candidates wait in the containers
+     * instead of piling up as tasks.
+     */
+    private ThreadPoolExecutor createSFSBPassivationThreadPoolExecutor() {
+        int poolSize = Math.min(4, Runtime.getRuntime().availableProcessors());
+        String val = ejbContainer.getPropertyValue(SFSB_PASSIVATION_THREAD_POOL_SIZE);
+        if (val != null) {
+            try {
+                poolSize = Math.max(1, Integer.parseInt(val.trim()));
+            } catch (NumberFormatException e) {
+                _logger.warning(SFSB_PASSIVATION_THREAD_POOL_SIZE
+                        + " is not a number, using default value " + poolSize);
+            }
+        }
+
+        int queueCapacity = DEFAULT_SFSB_PASSIVATION_QUEUE_CAPACITY;
+        val = ejbContainer.getPropertyValue(SFSB_PASSIVATION_QUEUE_CAPACITY);
+        if (val != null) {
+            try {
+                queueCapacity = Math.max(1, Integer.parseInt(val.trim()));
+            } catch (NumberFormatException e) {
+                _logger.warning(SFSB_PASSIVATION_QUEUE_CAPACITY
+                        + " is not a number, using default value " + queueCapacity);
+            }
+        }
+
+        ThreadPoolExecutor result = new EjbThreadPoolExecutor(poolSize, poolSize,
+                EjbContainer.DEFAULT_THREAD_KEEP_ALIVE_SECONDS, new LinkedBlockingQueue<Runnable>(queueCapacity),
+                SFSB_PASSIVATION_THREAD_POOL_NAME);
+        result.allowCoreThreadTimeOut(true);
+
+        if (_logger.isLoggable(Level.FINE)) {
+            _logger.fine("Created " + result.toString());
+        }
+        return result;
+    }
+
     static int initCorePoolSize(String propertyValue) {
         int corePoolSize = EjbContainer.DEFAULT_THREAD_CORE_POOL_SIZE;
         if (propertyValue == null) {
@@ -564,6 +623,23 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
         return maxPoolSize;
     }
 
+    static boolean isVirtualThreadType(String propertyValue) {
+        if (propertyValue == null) {
+            return false;
+        }
+        String threadType = propertyValue.trim();
+        if (EjbThreadPoolExecutor.VIRTUAL_THREADS.equalsIgnoreCase(threadType)) {
+            return true;
+        }
+        if (!EjbThreadPoolExecutor.PLATFORM_THREADS.equalsIgnoreCase(threadType)) {
+            _logger.warning(RuntimeTagNames.THREAD_TYPE
+                    + " is neither " + EjbThreadPoolExecutor.PLATFORM_THREADS
+                    + " nor " + EjbThreadPoolExecutor.VIRTUAL_THREADS
+                    + ", using " + EjbThreadPoolExecutor.PLATFORM_THREADS);
+        }
+        return false;
+    }
+
     static long initKeepAliveSeconds(String propertyValue) {
         long keepAliveSeconds = EjbContainer.DEFAULT_THREAD_KEEP_ALIVE_SECONDS;
         if (propertyValue == null) {
@@ -591,8 +667,14 @@ public class EjbContainerUtilImpl implements PostConstruct, PreDestroy, EjbConta
         if(poolName == null) {
             return defaultThreadPoolExecutor;
         }
+        if (SFSB_PASSIVATION_THREAD_POOL_NAME.equals(poolName)) {
+            return sfsbPassivationThreadPoolExecutor;
+        }
+        if (poolName.startsWith(ASYNC_BULKHEAD_THREAD_POOL_NAME_PREFIX)) {
+            return ejbAsyncInvocationManager.getBulkheadExecutor(poolName);
+        }
         return null;
-//        TODO retrieve the named ThreadPoolExecutor
+//        TODO retrieve the other named ThreadPoolExecutors
     }
 
     @Override
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -18,10 +19,13 @@ package com.sun.ejb.containers;
 
 import com.sun.ejb.EjbInvocation;
 
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 /**
@@ -35,6 +39,13 @@ public class EjbFutureTask<V>
     // Used to remember if cancel() was called already
     private boolean cancelCalled = false;
 
+    // Set by the first of run() and cancel(), a task that started cannot be cancelled
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean cancelled;
+
+    // Executor the task was submitted to, the cancelled task is removed from its queue
+    private volatile ThreadPoolExecutor executor;
+
     // State which could be set from both the caller's thread and
     // the thread on which the task is executing.
     private volatile boolean complete = false;
@@ -47,9 +58,20 @@ public class EjbFutureTask<V>
         this.ejbAsyncTask = callable;
     }
 
+    @Override
+    public void run() {
+        if (started.compareAndSet(false, true)) {
+            super.run();
+        }
+    }
+
     @Override
     public boolean cancel(boolean mayInterruptIfRunning) {
 
+        if( cancelBeforeStart() ) {
+            return true;
+        }
+
         if( !cancelCalled ) {
 
             cancelCalled = true;
@@ -62,11 +84,32 @@ public class EjbFutureTask<V>
             }
         }
 
-        // For now we don't even try checking to see if the task has started running.
-        // Just return false so the caller knows the task could not be cancelled.
+        // The task has already started.  Just return false so the caller knows
+        // the task could not be cancelled.
         return false;
     }
 
+    /**
+     * Cancels the task if it did not start yet, it then never runs and frees its place
+     * in the queue of the executor.
+     *
+     * @return true if the task was cancelled
+     */
+    boolean cancelBeforeStart() {
+        if( !started.compareAndSet(false, true) ) {
+            return false;
+        }
+        cancelled = true;
+        cancelCalled = true;
+        super.cancel(false);
+        ThreadPoolExecutor taskExecutor = executor;
+        if( taskExecutor != null ) {
+            taskExecutor.remove(this);
+        }
+        setResultException(new CancellationException("Asynchronous invocation was cancelled before it started"));
+        return true;
+    }
+
     @Override
     public V get() throws InterruptedException, ExecutionException {
 
@@ -146,9 +189,8 @@ public class EjbFutureTask<V>
 
     @Override
     public boolean isCancelled() {
-        // For now, we don't ever actually forcibly cancel a task
-        // that hasn't executed.
-        return false;
+        // Only a task that hasn't executed is ever cancelled.
+        return cancelled;
     }
 
     @Override
@@ -164,6 +206,10 @@ public class EjbFutureTask<V>
         return ejbAsyncTask;
     }
 
+    void setExecutor(ThreadPoolExecutor executor) {
+        this.executor = executor;
+    }
+
     long getInvId() {
         return ejbAsyncTask.getInvId();
     }
@@ -201,6 +247,7 @@ public class EjbFutureTask<V>
         sbuf.append("EjbFutureTask  ");
         sbuf.append("taskId="+ejbAsyncTask.getInvId());
         sbuf.append(",cancelCalled="+cancelCalled);
+        sbuf.append(",cancelled="+cancelled);
         sbuf.append(",complete="+complete);
         if( complete ) {
             if( resultException == null ) {
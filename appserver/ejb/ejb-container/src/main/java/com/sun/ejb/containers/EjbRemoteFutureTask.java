@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -20,6 +21,7 @@ import jakarta.ejb.EJBException;
 
 import java.io.Serializable;
 import java.rmi.RemoteException;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -83,9 +85,9 @@ public class EjbRemoteFutureTask<V>
             }
         }
 
-        // For now we don't even try checking to see if the task has started running.
-        // Just return false so the caller knows the task could not be cancelled.
-        return false;
+        // The server cancels a task that has not started and returns
+        // the CancellationException as its result.
+        return isCancelled();
     }
 
 
@@ -117,6 +119,8 @@ public class EjbRemoteFutureTask<V>
         if( resultException != null ) {
             if( resultException instanceof ExecutionException ) {
                 throw (ExecutionException) resultException;
+            } else if( resultException instanceof CancellationException ) {
+                throw (CancellationException) resultException;
             } else {
                 throw new ExecutionException(resultException);
             }
@@ -155,6 +159,8 @@ public class EjbRemoteFutureTask<V>
         if( resultException != null ) {
             if( resultException instanceof ExecutionException ) {
                 throw (ExecutionException) resultException;
+            } else if( resultException instanceof CancellationException ) {
+                throw (CancellationException) resultException;
             } else {
                 throw new ExecutionException(resultException);
             }
@@ -165,9 +171,8 @@ public class EjbRemoteFutureTask<V>
 
 
     public boolean isCancelled() {
-        // For now, we don't ever actually forcibly cancel a task
-        // that hasn't executed.
-        return false;
+        // Only a task that hasn't executed is ever cancelled.
+        return resultException instanceof CancellationException;
     }
 
 
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2011, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -23,18 +24,46 @@ import jakarta.transaction.Status;
 
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.RunnableFuture;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 
 public class EjbThreadPoolExecutor extends ThreadPoolExecutor {
+
+    /**
+     * Values of the thread-type property.
+     */
+    public static final String PLATFORM_THREADS = "platform";
+    public static final String VIRTUAL_THREADS = "virtual";
+
+    private final AtomicLong rejectedTaskCount = new AtomicLong();
+
     public EjbThreadPoolExecutor(int corePoolSize, int maximumPoolSize,
             long keepAliveTime, BlockingQueue<Runnable> workQueue, String threadPoolName) {
+        this(corePoolSize, maximumPoolSize, keepAliveTime, workQueue, threadPoolName, false);
+    }
+
+    /**
+     * With virtualThreads the tasks run on virtual threads when the JDK supports them,
+     * the pool sizes still bound the number of tasks running at the same time.
+     */
+    public EjbThreadPoolExecutor(int corePoolSize, int maximumPoolSize,
+            long keepAliveTime, BlockingQueue<Runnable> workQueue, String threadPoolName, boolean virtualThreads) {
         super(corePoolSize, maximumPoolSize, keepAliveTime, TimeUnit.SECONDS, workQueue,
-                new ThreadFactoryImpl(threadPoolName));
+                createThreadFactory(threadPoolName, virtualThreads), new CountingAbortPolicy());
+    }
+
+    /**
+     * @return number of tasks rejected because the pool and its queue were full
+     */
+    public long getRejectedTaskCount() {
+        return rejectedTaskCount.get();
     }
 
     /**
@@ -58,6 +87,8 @@ public class EjbThreadPoolExecutor extends ThreadPoolExecutor {
         sb.append(RuntimeTagNames.THREAD_KEEP_ALIVE_SECONDS).append(" ").append(getKeepAliveTime(TimeUnit.SECONDS)).append(" ");
         sb.append(RuntimeTagNames.THREAD_QUEUE_CAPACITY).append(" ").append(getQueue().remainingCapacity()).append(" ");
         sb.append(RuntimeTagNames.ALLOW_CORE_THREAD_TIMEOUT).append(" ").append(allowsCoreThreadTimeOut()).append(" ");
+        sb.append("queue-size ").append(getQueue().size()).append(" ");
+        sb.append("rejected-task-count ").append(getRejectedTaskCount()).append(" ");
         return sb.toString();
     }
 
@@ -82,6 +113,47 @@ public class EjbThreadPoolExecutor extends ThreadPoolExecutor {
         }
     }
 
+    private static ThreadFactory createThreadFactory(String threadPoolName, boolean virtualThreads) {
+        if (virtualThreads) {
+            ThreadFactory factory = createVirtualThreadFactory(threadPoolName);
+            if (factory != null) {
+                return factory;
+            }
+        }
+        return new ThreadFactoryImpl(threadPoolName);
+    }
+
+    /**
+     * Virtual threads need Java 21, the builder is looked up reflectively so that
+     * the container still runs on the older JDKs.
+     */
+    private static ThreadFactory createVirtualThreadFactory(String threadPoolName) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadPoolName, 1L);
+            ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            return r -> {
+                Thread th = factory.newThread(r);
+                th.setContextClassLoader(null); //Prevent any app classloader being set as CCL
+                return th;
+            };
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            EjbContainerUtilImpl.getLogger().warning("Virtual threads are not available on Java "
+                    + Runtime.version().feature() + ", " + threadPoolName + " uses platform threads");
+            return null;
+        }
+    }
+
+    private static class CountingAbortPolicy implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
+            ((EjbThreadPoolExecutor) executor).rejectedTaskCount.incrementAndGet();
+            throw new RejectedExecutionException("Task " + r + " rejected from " + executor);
+        }
+    }
+
     private static class ThreadFactoryImpl implements ThreadFactory {
         private AtomicInteger threadId = new AtomicInteger(0);
         private String threadPoolName;
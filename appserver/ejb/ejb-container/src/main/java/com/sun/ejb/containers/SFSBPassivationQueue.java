@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers;
+
+import com.sun.ejb.ComponentContext;
+import com.sun.ejb.base.stats.StatefulSessionStoreMonitor;
+import com.sun.enterprise.util.Utility;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.ejb.LogFacade;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.glassfish.ha.store.api.BackingStoreTransaction;
+import org.glassfish.logging.annotation.LogMessageInfo;
+
+/**
+ * The beans trimmed from the cache of a {@link StatefulSessionContainer},
+ * waiting to be passivated.
+ * <p>
+ * A passivation task is handed to the executor for every passivationBatchCount
+ * queued beans. The tasks passivate the queue in batches, and the beans of a
+ * batch are written to the backing store in one store transaction. If the
+ * executor rejects a task, the beans stay queued; once the queue falls
+ * {@value #MAX_QUEUED_PASSIVATION_BATCHES} batches behind, the trimming thread
+ * passivates a batch itself.
+ */
+final class SFSBPassivationQueue {
+
+    private static final Logger _logger = LogFacade.getLogger();
+
+    @LogMessageInfo(
+        message = "Cannot add idle bean cleanup task",
+        level = "WARNING")
+    private static final String ADD_CLEANUP_TASK_ERROR = "AS-EJB-00032";
+
+    @LogMessageInfo(
+        message = "Error while storing a batch of {0} passivated beans of {1}: {2}",
+        level   = "WARNING")
+    private static final String ERROR_DURING_PASSIVATION_BATCH_COMMIT = "AS-EJB-00065";
+
+    // Once the passivation threads fall this many batches behind,
+    // the request threads passivate a batch themselves
+    static final int MAX_QUEUED_PASSIVATION_BATCHES = 16;
+
+    private final String ejbName;
+    private final ClassLoader loader;
+    private final Executor executor;
+    private final Predicate<ComponentContext> passivator;
+    private final Supplier<BackingStoreTransaction> transactionFactory;
+
+    private final List<ComponentContext> candidates = new ArrayList<>();
+    private final Object asyncTaskSemaphore = new Object();
+
+    private int asyncTaskCount;
+    private int asyncCummTaskCount;
+    private int trimCount;
+    private int batchCount = StatefulSessionContainer.MIN_PASSIVATION_BATCH_COUNT;
+
+    private volatile StatefulSessionStoreMonitor storeMonitor;
+
+    /**
+     * @param ejbName name of the bean, for the log messages
+     * @param loader context class loader of the passivating threads
+     * @param executor runs the passivation tasks
+     * @param passivator passivates one bean
+     * @param transactionFactory creates the store transaction of a batch,
+     *            may return null to store the beans one by one
+     */
+    SFSBPassivationQueue(String ejbName, ClassLoader loader, Executor executor,
+        Predicate<ComponentContext> passivator, Supplier<BackingStoreTransaction> transactionFactory) {
+        this.ejbName = ejbName;
+        this.loader = loader;
+        this.executor = executor;
+        this.passivator = passivator;
+        this.transactionFactory = transactionFactory;
+    }
+
+    void setStoreMonitor(StatefulSessionStoreMonitor storeMonitor) {
+        this.storeMonitor = storeMonitor;
+    }
+
+    int getBatchCount() {
+        synchronized (asyncTaskSemaphore) {
+            return batchCount;
+        }
+    }
+
+    void setBatchCount(int batchCount) {
+        synchronized (asyncTaskSemaphore) {
+            this.batchCount = batchCount;
+        }
+    }
+
+    int size() {
+        synchronized (asyncTaskSemaphore) {
+            return candidates.size();
+        }
+    }
+
+    /**
+     * Queues a bean trimmed from the cache and hands a passivation task to
+     * the executor if the queue has outgrown the running tasks.
+     */
+    void add(ComponentContext context) {
+        StatefulSessionStoreMonitor monitor = storeMonitor;
+        boolean addTask = false;
+        synchronized (asyncTaskSemaphore) {
+            trimCount++;
+            candidates.add(context);
+            int requiredTaskCount = (candidates.size() / batchCount);
+            addTask = (asyncTaskCount < requiredTaskCount);
+
+            if (_logger.isLoggable(Level.FINE)) {
+                _logger.log(Level.FINE,
+                    "qSize: " + candidates.size() + "; batchCount: " + batchCount
+                        + "; asyncTaskCount: " + asyncTaskCount + "; requiredTaskCount: " + requiredTaskCount
+                        + "; ADDED TASK ==> " + addTask);
+            }
+
+            if (monitor != null) {
+                monitor.setPassivationQueueSize(candidates.size());
+            }
+            if (addTask == false) {
+                return;
+            }
+            asyncTaskCount++;
+            asyncCummTaskCount++;
+        }
+
+        try {
+            executor.execute(new ASyncPassivator());
+        } catch (RejectedExecutionException ex) {
+            // The candidates stay queued for the running passivators
+            // and the next trim event
+            boolean throttle;
+            synchronized (asyncTaskSemaphore) {
+                asyncTaskCount--;
+                throttle = candidates.size() > batchCount * MAX_QUEUED_PASSIVATION_BATCHES;
+            }
+            if (monitor != null) {
+                monitor.incrementRejectedPassivationBatchCount();
+            }
+            if (throttle) {
+                ClassLoader origLoader = Utility.setContextClassLoader(loader);
+                try {
+                    passivate(1);
+                } finally {
+                    Utility.setContextClassLoader(origLoader);
+                }
+                if (monitor != null) {
+                    monitor.incrementThrottledPassivationBatchCount();
+                }
+            }
+        } catch (Exception ex) {
+            synchronized (asyncTaskSemaphore) {
+                asyncTaskCount--;
+            }
+            _logger.log(Level.WARNING, ADD_CLEANUP_TASK_ERROR, ex);
+        }
+    }
+
+    /**
+     * Removes the most recently queued bean.
+     *
+     * @return the bean, or null if the queue is empty
+     */
+    ComponentContext poll() {
+        synchronized (asyncTaskSemaphore) {
+            int sz = candidates.size();
+            ComponentContext context = sz == 0 ? null : candidates.remove(sz - 1);
+            StatefulSessionStoreMonitor monitor = storeMonitor;
+            if (monitor != null) {
+                monitor.setPassivationQueueSize(candidates.size());
+            }
+            return context;
+        }
+    }
+
+    /**
+     * Passivates the queued beans in batches of passivationBatchCount.
+     * The beans of a batch are written to the backing store in one store
+     * transaction.
+     *
+     * @param maxBatches number of batches to passivate, unless the queue
+     *            becomes empty first
+     */
+    void passivate(int maxBatches) {
+        List<ComponentContext> batch = new ArrayList<>();
+        for (int i = 0; i < maxBatches; i++) {
+            StatefulSessionStoreMonitor monitor = storeMonitor;
+            synchronized (asyncTaskSemaphore) {
+                int sz = candidates.size();
+                int end = Math.max(0, sz - batchCount);
+                for (int j = sz - 1; j >= end; j--) {
+                    batch.add(candidates.remove(j));
+                }
+                if (monitor != null) {
+                    monitor.setPassivationQueueSize(end);
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            BackingStoreTransaction tx = transactionFactory.get();
+            try {
+                for (ComponentContext ctx : batch) {
+                    passivator.test(ctx);
+                }
+            } finally {
+                if (tx != null) {
+                    try {
+                        tx.commit();
+                    } catch (BackingStoreException sfsbEx) {
+                        _logger.log(Level.WARNING, ERROR_DURING_PASSIVATION_BATCH_COMMIT,
+                            new Object[] {batch.size(), ejbName, sfsbEx});
+                    }
+                }
+            }
+            if (monitor != null) {
+                monitor.incrementPassivationBatchCount(batch.size());
+            }
+            batch.clear();
+        }
+    }
+
+    void appendStats(StringBuilder sbuf) {
+        synchronized (asyncTaskSemaphore) {
+            sbuf.append(" { asyncTaskCount=").append(asyncTaskCount)
+                .append("; asyncCummTaskCount=").append(asyncCummTaskCount)
+                .append("; passivationBatchCount=").append(batchCount)
+                .append("; passivationQSz=").append(candidates.size())
+                .append("; trimEventCount=").append(trimCount)
+                .append(" }");
+        }
+    }
+
+    private class ASyncPassivator implements Runnable {
+
+        @Override
+        public void run() {
+            final Thread currentThread = Thread.currentThread();
+            final ClassLoader previousClassLoader = currentThread.getContextClassLoader();
+            final ClassLoader myClassLoader = loader;
+
+            try {
+                // We need to set the context class loader for
+                // this (deamon) thread!!
+                if (System.getSecurityManager() == null) {
+                    currentThread.setContextClassLoader(myClassLoader);
+                } else {
+                    PrivilegedAction<Void> action = () -> {
+                        currentThread.setContextClassLoader(myClassLoader);
+                        return null;
+                    };
+                    AccessController.doPrivileged(action);
+                }
+                passivate(Integer.MAX_VALUE);
+
+            } catch (Throwable th) {
+                th.printStackTrace();
+            } finally {
+                synchronized (asyncTaskSemaphore) {
+                    asyncTaskCount--;
+                }
+
+                if (System.getSecurityManager() == null) {
+                    currentThread.setContextClassLoader(previousClassLoader);
+                } else {
+                    PrivilegedAction<Void> action = () -> {
+                        currentThread.setContextClassLoader(previousClassLoader);
+                        return null;
+                    };
+                    AccessController.doPrivileged(action);
+                }
+            }
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -20,12 +21,14 @@ import com.sun.appserv.util.cache.CacheListener;
 import com.sun.ejb.Container;
 import com.sun.ejb.ContainerFactory;
 import com.sun.ejb.base.container.util.CacheProperties;
+import com.sun.ejb.base.sfsb.util.JavaSFSBSerializer;
 import com.sun.ejb.base.sfsb.util.ScrambledKeyGenerator;
 import com.sun.ejb.base.sfsb.util.SimpleKeyGenerator;
 import com.sun.ejb.containers.util.cache.FIFOSessionCache;
 import com.sun.ejb.containers.util.cache.LruSessionCache;
 import com.sun.ejb.containers.util.cache.NRUSessionCache;
 import com.sun.ejb.containers.util.cache.UnBoundedSessionCache;
+import com.sun.ejb.spi.container.SFSBSerializer;
 import com.sun.enterprise.config.serverbeans.AvailabilityService;
 import com.sun.enterprise.config.serverbeans.Config;
 import com.sun.enterprise.security.SecurityManager;
@@ -149,6 +152,14 @@ public class StatefulContainerFactory extends BaseContainerFactory
         level = "WARNING")
     private static final String SFSB_HA_DISABLED_BY_PASSIVATION_SETTING = "AS-EJB-00051";
 
+    @LogMessageInfo(
+        message = "Could not find the stateful session bean serializer [{0}], using the default serializer",
+        level = "WARNING")
+    private static final String SFSB_BUILDER_SERIALIZER_NOT_FOUND = "AS-EJB-00064";
+
+    // Name of the SFSBSerializer service used to passivate the stateful session beans
+    private static final String SFSB_SERIALIZER = "sfsb-serializer";
+
     private static final Level TRACE_LEVEL = Level.FINE;
 
     private EjbDescriptor            ejbDescriptor;
@@ -238,6 +249,7 @@ public class StatefulContainerFactory extends BaseContainerFactory
         //First build BackingStore before Cache is built
         if (sessionDescriptor.isPassivationCapable()){
             buildStoreManager();
+            buildSerializer();
         } else{
             if (_logger.isLoggable(TRACE_LEVEL)) {
                 _logger.log(TRACE_LEVEL, "Stateful session bean passivation is disabled, so do not create store manger");
@@ -349,6 +361,25 @@ public class StatefulContainerFactory extends BaseContainerFactory
         _logger.log(Level.INFO, SFSB_BUILDER_INSTANTIATED_BACKING_STORE, new Object[]{backingStore, HAEnabled, conf});
     }
 
+    private void buildSerializer() {
+        String serializerName = ejbContainerConfig.getPropertyValue(SFSB_SERIALIZER);
+        SFSBSerializer serializer = null;
+        if (serializerName != null) {
+            try {
+                serializer = services.getService(SFSBSerializer.class, serializerName.trim());
+            } catch (Exception ex) {
+                _logger.log(Level.FINE, "Error while looking up the serializer " + serializerName, ex);
+            }
+            if (serializer == null) {
+                _logger.log(Level.WARNING, SFSB_BUILDER_SERIALIZER_NOT_FOUND, serializerName);
+            }
+        }
+        if (serializer == null) {
+            serializer = services.getService(SFSBSerializer.class, JavaSFSBSerializer.NAME);
+        }
+        sfsbContainer.setSerializer(serializer);
+    }
+
     private void buildCache() {
         String cacheName = ejbDescriptor.getEjbClassName();
         String victimPolicy = cacheProps.getVictimSelectionPolicy();
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -30,10 +30,12 @@ import com.sun.ejb.containers.EJBContextImpl.BeanState;
 import com.sun.ejb.containers.util.cache.LruSessionCache;
 import com.sun.ejb.monitoring.probes.EjbCacheProbeProvider;
 import com.sun.ejb.monitoring.stats.EjbCacheStatsProvider;
+import com.sun.ejb.monitoring.stats.StatefulSessionPassivationStatsProvider;
 import com.sun.ejb.monitoring.stats.EjbMonitoringStatsProvider;
 import com.sun.ejb.monitoring.stats.EjbMonitoringUtils;
 import com.sun.ejb.monitoring.stats.StatefulSessionBeanStatsProvider;
 import com.sun.ejb.spi.container.SFSBContainerCallback;
+import com.sun.ejb.spi.container.SFSBSerializer;
 import com.sun.ejb.spi.container.StatefulEJBContext;
 import com.sun.ejb.spi.sfsb.util.SFSBUUIDUtil;
 import com.sun.ejb.spi.sfsb.util.SFSBVersionManager;
@@ -85,7 +87,6 @@ import java.lang.reflect.Method;
 import java.rmi.Remote;
 import java.rmi.RemoteException;
 import java.security.AccessController;
-import java.security.PrivilegedAction;
 import java.security.PrivilegedExceptionAction;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -96,6 +97,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -110,6 +112,8 @@ import org.glassfish.ejb.deployment.descriptor.runtime.IASEjbExtraDescriptors;
 import org.glassfish.flashlight.provider.ProbeProviderFactory;
 import org.glassfish.ha.store.api.BackingStore;
 import org.glassfish.ha.store.api.BackingStoreException;
+import org.glassfish.ha.store.api.BackingStoreFactory;
+import org.glassfish.ha.store.api.BackingStoreTransaction;
 import org.glassfish.ha.store.util.SimpleMetadata;
 import org.glassfish.logging.annotation.LogMessageInfo;
 
@@ -236,11 +240,6 @@ public final class StatefulSessionContainer
         level = "WARNING")
     private static final String ERROR_WHILE_UNDEPLOYING_CTX_KEY = "AS-EJB-00031";
 
-    @LogMessageInfo(
-        message = "Cannot add idle bean cleanup task",
-        level = "WARNING")
-    private static final String ADD_CLEANUP_TASK_ERROR = "AS-EJB-00032";
-
     @LogMessageInfo(
         message = "Got exception during removeExpiredSessions (but the reaper thread is still alive)",
         level = "WARNING")
@@ -273,20 +272,11 @@ public final class StatefulSessionContainer
     private final static long CONCURRENCY_NOT_ALLOWED = 0;
     private final static long BLOCK_INDEFINITELY = -1;
 
-    private final ArrayList passivationCandidates = new ArrayList();
-    private final Object asyncTaskSemaphore = new Object();
-
-
-    private int asyncTaskCount = 0;
-    private int asyncCummTaskCount = 0;
-
-    private int passivationBatchCount
-            = MIN_PASSIVATION_BATCH_COUNT;
-
-    private int containerTrimCount = 0;
+    private final SFSBPassivationQueue passivationQueue;
 
     private LruSessionCache sessionBeanCache;
     private BackingStore<Serializable, SimpleMetadata> backingStore;
+    private SFSBSerializer serializer;
     private SFSBUUIDUtil<Object> uuidGenerator;
     private final ArrayList scheduledTimerTasks = new ArrayList();
 
@@ -303,6 +293,7 @@ public final class StatefulSessionContainer
     private final InvocationInfo prePassivateInvInfo;
 
     private StatefulSessionStoreMonitor sfsbStoreMonitor;
+    private StatefulSessionPassivationStatsProvider passivationProbeListener;
 
     private final String traceInfoPrefix;
 
@@ -347,6 +338,9 @@ public final class StatefulSessionContainer
         prePassivateInvInfo = getLifecycleCallbackInvInfo(sfulDesc.getPrePassivateDescriptors());
 
         isPassivationCapable = sfulDesc.isPassivationCapable();
+
+        passivationQueue = new SFSBPassivationQueue(ejbName, loader, this::executePassivationTask,
+            this::passivateEJB, this::createBackingStoreTransaction);
     }
 
 
@@ -486,6 +480,10 @@ public final class StatefulSessionContainer
             sfsbStoreMonitor = new StatefulSessionStoreMonitor();
         }
         sessionBeanCache.setStatefulSessionStoreMonitor(sfsbStoreMonitor);
+        passivationQueue.setStoreMonitor(sfsbStoreMonitor);
+        passivationProbeListener = new StatefulSessionPassivationStatsProvider(sfsbStoreMonitor,
+            containerInfo.appName, containerInfo.modName, containerInfo.ejbName);
+        passivationProbeListener.register();
         _logger.log(Level.FINE, "[SFSBContainer] registered monitorable");
     }
 
@@ -515,12 +513,7 @@ public final class StatefulSessionContainer
 
     public String getMonitorAttributeValues() {
         StringBuilder sbuf = new StringBuilder();
-        sbuf.append(" { asyncTaskCount=").append(asyncTaskCount)
-            .append("; asyncCummTaskCount=").append(asyncCummTaskCount)
-            .append("; passivationBatchCount=").append(passivationBatchCount)
-            .append("; passivationQSz=").append(passivationCandidates.size())
-            .append("; trimEventCount=").append(containerTrimCount)
-            .append(" }");
+        passivationQueue.appendStats(sbuf);
         return sbuf.toString();
     }
 
@@ -2194,12 +2187,12 @@ public final class StatefulSessionContainer
 
     @Override
     public int getPassivationBatchCount() {
-        return this.passivationBatchCount;
+        return passivationQueue.getBatchCount();
     }
 
 
     public void setPassivationBatchCount(int count) {
-        this.passivationBatchCount = count;
+        passivationQueue.setBatchCount(count);
     }
 
 
@@ -2383,7 +2376,9 @@ public final class StatefulSessionContainer
 
     @Override
     public Object deserializeData(byte[] data) throws Exception {
-        Object object = ejbContainerUtilImpl.getJavaEEIOUtils().deserializeObject(data, true, getClassLoader());
+        Object object = serializer == null
+            ? ejbContainerUtilImpl.getJavaEEIOUtils().deserializeObject(data, true, getClassLoader())
+            : serializer.deserialize(data, getClassLoader());
         if (object instanceof SessionContextImpl) {
             SessionContextImpl ctx = (SessionContextImpl) object;
             Object ejb = ctx.getEJB();
@@ -2416,7 +2411,9 @@ public final class StatefulSessionContainer
             ctx.setEJB(null);
             ctx.setEJB(new SerializableEJB(ejb));
         }
-        return ejbContainerUtilImpl.getJavaEEIOUtils().serializeObject(ctx, true);
+        return serializer == null
+            ? ejbContainerUtilImpl.getJavaEEIOUtils().serializeObject(ctx, true)
+            : serializer.serialize(ctx);
     }
 
 
@@ -2601,6 +2598,9 @@ public final class StatefulSessionContainer
             }
             passivateBeansOnShutdown();
         }
+        if (passivationProbeListener != null) {
+            passivationProbeListener.unregister();
+        }
     }
 
 
@@ -2612,18 +2612,7 @@ public final class StatefulSessionContainer
                 _logger.log(Level.INFO, SFSB_NOT_RESTORED_AFTER_RESTART);
             }
             sessionBeanCache.shutdown();
-            while (true) {
-                ComponentContext ctx = null;
-                synchronized (asyncTaskSemaphore) {
-                    int sz = passivationCandidates.size();
-                    if (sz > 0) {
-                        ctx = (ComponentContext) passivationCandidates.remove(sz - 1);
-                    } else {
-                        break;
-                    }
-                }
-                passivateEJB(ctx);
-            }
+            passivationQueue.passivate(Integer.MAX_VALUE);
 
             sessionBeanCache.destroy();
             cacheProbeListener.unregister();
@@ -2657,17 +2646,9 @@ public final class StatefulSessionContainer
                 invokePreDestroyAndUndeploy(ctx);
             }
 
-            while (true) {
-                SessionContextImpl ctx = null;
-                synchronized (asyncTaskSemaphore) {
-                    int sz = passivationCandidates.size();
-                    if (sz > 0) {
-                        ctx = (SessionContextImpl) passivationCandidates.remove(sz - 1);
-                        invokePreDestroyAndUndeploy(ctx);
-                    } else {
-                        break;
-                    }
-                }
+            SessionContextImpl ctx;
+            while ((ctx = (SessionContextImpl) passivationQueue.poll()) != null) {
+                invokePreDestroyAndUndeploy(ctx);
             }
 
             sessionBeanCache.destroy();
@@ -2809,37 +2790,30 @@ public final class StatefulSessionContainer
     // CacheListener interface
     @Override
     public void trimEvent(Object primaryKey, Object context) {
-        boolean addTask = false;
-        synchronized (asyncTaskSemaphore) {
-            containerTrimCount++;
-            passivationCandidates.add(context);
-            int requiredTaskCount = (passivationCandidates.size() / passivationBatchCount);
-            addTask = (asyncTaskCount < requiredTaskCount);
-
-            if (_logger.isLoggable(Level.FINE)) {
-                _logger.log(Level.FINE,
-                    "qSize: " + passivationCandidates.size() + "; batchCount: " + passivationBatchCount
-                        + "; asyncTaskCount: " + asyncTaskCount + "; requiredTaskCount: " + requiredTaskCount
-                        + "; ADDED TASK ==> " + addTask);
-            }
+        passivationQueue.add((ComponentContext) context);
+    }
 
-            if (addTask == false) {
-                return;
-            }
-            asyncTaskCount++;
-            asyncCummTaskCount++;
+    private void executePassivationTask(Runnable work) {
+        ThreadPoolExecutor executor = ejbContainerUtilImpl.getThreadPoolExecutor(
+            EjbContainerUtil.SFSB_PASSIVATION_THREAD_POOL_NAME);
+        if (executor == null) {
+            ejbContainerUtilImpl.addWork(work);
+        } else {
+            executor.execute(work);
         }
+    }
 
+    private BackingStoreTransaction createBackingStoreTransaction() {
+        if (backingStore == null) {
+            return null;
+        }
         try {
-            ASyncPassivator work = new ASyncPassivator();
-            ejbContainerUtilImpl.addWork(work);
+            BackingStoreFactory factory = backingStore.getBackingStoreFactory();
+            return factory == null ? null : factory.createBackingStoreTransaction();
         } catch (Exception ex) {
-            synchronized (asyncTaskSemaphore) {
-                asyncTaskCount--;
-            }
-            _logger.log(Level.WARNING, ADD_CLEANUP_TASK_ERROR, ex);
+            _logger.log(Level.FINE, "Cannot create a backing store transaction, saving the beans one by one", ex);
+            return null;
         }
-
     }
 
     public void setSFSBUUIDUtil(SFSBUUIDUtil util) {
@@ -2955,6 +2929,10 @@ public final class StatefulSessionContainer
         this.backingStore = store;
     }
 
+    public void setSerializer(SFSBSerializer serializer) {
+        this.serializer = serializer;
+    }
+
 
     private boolean checkpointEJB(SessionContextImpl sc) {
         boolean checkpointed = false;
@@ -3192,63 +3170,6 @@ public final class StatefulSessionContainer
 
     }
 
-    private class ASyncPassivator implements Runnable {
-
-        @Override
-        public void run() {
-            final Thread currentThread = Thread.currentThread();
-            final ClassLoader previousClassLoader = currentThread.getContextClassLoader();
-            final ClassLoader myClassLoader = loader;
-
-            boolean decrementedTaskCount = false;
-            try {
-                // We need to set the context class loader for
-                // this (deamon) thread!!
-                if (System.getSecurityManager() == null) {
-                    currentThread.setContextClassLoader(myClassLoader);
-                } else {
-                    PrivilegedAction<Void> action = () -> {
-                        currentThread.setContextClassLoader(myClassLoader);
-                        return null;
-                    };
-                    AccessController.doPrivileged(action);
-                }
-                ComponentContext ctx = null;
-
-                do {
-                    synchronized (asyncTaskSemaphore) {
-                        int sz = passivationCandidates.size();
-                        if (sz > 0) {
-                            ctx = (ComponentContext) passivationCandidates.remove(sz - 1);
-                        } else {
-                            return;
-                        }
-                    }
-                    passivateEJB(ctx);
-                } while (true);
-
-            } catch (Throwable th) {
-                th.printStackTrace();
-            } finally {
-                if (!decrementedTaskCount) {
-                    synchronized (asyncTaskSemaphore) {
-                        asyncTaskCount--;
-                    }
-                }
-
-                if (System.getSecurityManager() == null) {
-                    currentThread.setContextClassLoader(previousClassLoader);
-                } else {
-                    PrivilegedAction<Void> action = () -> {
-                        currentThread.setContextClassLoader(previousClassLoader);
-                        return null;
-                    };
-                    AccessController.doPrivileged(action);
-                }
-            }
-        }
-    }
-
     static class EMNotSerializableException extends NotSerializableException {
 
         private static final long serialVersionUID = 1L;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2021, 2022 Contributors to the Eclipse Foundation
+ * Copyright 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -19,7 +19,9 @@ package com.sun.ejb.containers;
 
 import com.sun.ejb.ComponentContext;
 import com.sun.ejb.EjbInvocation;
+import com.sun.ejb.InvocationInfo;
 import com.sun.ejb.containers.util.pool.AbstractPool;
+import com.sun.ejb.containers.util.pool.LockFreePool;
 import com.sun.ejb.containers.util.pool.NonBlockingPool;
 import com.sun.ejb.containers.util.pool.ObjectFactory;
 import com.sun.ejb.monitoring.stats.EjbMonitoringStatsProvider;
@@ -27,6 +29,7 @@ import com.sun.ejb.monitoring.stats.EjbPoolStatsProvider;
 import com.sun.ejb.monitoring.stats.StatelessSessionBeanStatsProvider;
 import com.sun.enterprise.admin.monitor.callflow.ComponentType;
 import com.sun.enterprise.deployment.LifecycleCallbackDescriptor.CallbackType;
+import com.sun.enterprise.deployment.MethodDescriptor;
 import com.sun.enterprise.deployment.runtime.BeanPoolDescriptor;
 import com.sun.enterprise.security.SecurityManager;
 
@@ -142,6 +145,21 @@ public class StatelessSessionContainer extends BaseContainer {
     }
 
 
+    /**
+     * Synchronous local business methods that never run in a container started transaction
+     * don't leave the invocation behind: there is no transaction to complete after the call
+     * and no future to complete later.
+     */
+    @Override
+    protected boolean isInvocationRecyclable(InvocationInfo info) {
+        if (!info.isBusinessMethod || info.isAsynchronous() || info.ejbIntfOverride
+                || !MethodDescriptor.EJB_LOCAL.equals(info.methodIntf)) {
+            return false;
+        }
+        return info.txAttr == TX_NOT_SUPPORTED || info.txAttr == TX_SUPPORTS || info.txAttr == TX_NEVER;
+    }
+
+
     @Override
     public boolean scanForEjbCreateMethod() {
         return true;
@@ -207,9 +225,16 @@ public class StatelessSessionContainer extends BaseContainer {
 
         poolProp = new PoolProperties(ejbContainer, beanPoolDes);
         String val = ejbDescriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(SINGLETON_BEAN_POOL_PROP);
-        pool = new NonBlockingPool(getContainerId(), ejbDescriptor.getName(), sessionCtxFactory,
-            poolProp.steadyPoolSize, poolProp.poolResizeQuantity, poolProp.maxPoolSize,
-            poolProp.poolIdleTimeoutInSeconds, loader, Boolean.parseBoolean(val));
+        if (Boolean.parseBoolean(val)) {
+            // Callers wait for the single instance, that needs the monitor of the NonBlockingPool
+            pool = new NonBlockingPool(getContainerId(), ejbDescriptor.getName(), sessionCtxFactory,
+                poolProp.steadyPoolSize, poolProp.poolResizeQuantity, poolProp.maxPoolSize,
+                poolProp.poolIdleTimeoutInSeconds, loader, true);
+        } else {
+            pool = new LockFreePool(getContainerId(), ejbDescriptor.getName(), sessionCtxFactory,
+                poolProp.steadyPoolSize, poolProp.poolResizeQuantity, poolProp.maxPoolSize,
+                poolProp.poolIdleTimeoutInSeconds, loader);
+        }
     }
 
 
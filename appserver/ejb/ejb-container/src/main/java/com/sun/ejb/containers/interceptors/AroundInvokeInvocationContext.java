@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2022 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -82,6 +82,9 @@ public class AroundInvokeInvocationContext extends CallbackInvocationContext imp
      */
     @Override
     public Object invokeBeanMethod() throws Throwable {
+        if (chain instanceof AroundInvokeChainImpl) {
+            return ((AroundInvokeChainImpl) chain).invokeBeanMethod(method, getTarget(), parameters);
+        }
         try {
             return method.invoke(getTarget(), parameters);
         } catch (InvocationTargetException ite) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2022 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -110,7 +110,7 @@ public final class InterceptorInvocationHandler implements InvocationHandler, In
         try {
             Method beanClassMethod = targetInstance.getClass().getMethod(method.getName(), method.getParameterTypes());
 
-            InterceptorManager.InterceptorChain chain = interceptorManager.getAroundInvokeChain(null, beanClassMethod);
+            InterceptorManager.InterceptorChain chain = interceptorManager.getAroundInvokeChain(beanClassMethod);
 
             Object[] theArgs = (args == null) ? emptyArray : args;
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,6 +17,7 @@
 
 package com.sun.ejb.containers.interceptors;
 
+import com.sun.ejb.codegen.MethodInvoker;
 import com.sun.ejb.containers.BaseContainer;
 import com.sun.ejb.containers.EJBContextImpl;
 import com.sun.enterprise.container.common.spi.util.InterceptorInfo;
@@ -40,6 +41,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -88,6 +90,9 @@ public class InterceptorManager {
 
     private CallbackChainImpl[] callbackChain;
 
+    // Around invoke chains of a non-ejb, built once per bean method
+    private final Map<Method, InterceptorChain> aroundInvokeChains = new ConcurrentHashMap<>();
+
     // Optionally specified delegate to be set on SystemInterceptorProxy
     private Object runtimeInterceptor;
 
@@ -173,6 +178,17 @@ public class InterceptorManager {
         runtimeInterceptor = interceptor;
     }
 
+    /**
+     * Returns the around invoke chain of the bean method of a non-ejb. The chain is built on the first call and reused
+     * by the following invocations of the method.
+     *
+     * @param beanMethod method of the bean class
+     * @return around invoke chain of the method
+     */
+    public InterceptorManager.InterceptorChain getAroundInvokeChain(Method beanMethod) {
+        return aroundInvokeChains.computeIfAbsent(beanMethod, method -> getAroundInvokeChain(null, method));
+    }
+
     public InterceptorManager.InterceptorChain getAroundInvokeChain(MethodDescriptor mDesc, Method beanMethod) {
         List<AroundInvokeInterceptor> interceptors = new ArrayList<>();
 
@@ -220,7 +236,7 @@ public class InterceptorManager {
                 interceptorDescriptor.getInterceptorClass() != null ? interceptorDescriptor.getInterceptorClass().getClassLoader() : loader);
         }
 
-        return new AroundInvokeChainImpl(interceptors.toArray(new AroundInvokeInterceptor[interceptors.size()]));
+        return new AroundInvokeChainImpl(interceptors.toArray(new AroundInvokeInterceptor[interceptors.size()]), beanMethod);
     }
 
     public InterceptorManager.InterceptorChain getAroundTimeoutChain(MethodDescriptor methodDescriptor, Method beanMethod) {
@@ -269,7 +285,7 @@ public class InterceptorManager {
             addAroundInvokeInterceptors(interceptors, aroundTimeoutInterceptor, orderedATInterceptors, className, loader);
         }
 
-        return new AroundInvokeChainImpl(interceptors.toArray(new AroundInvokeInterceptor[interceptors.size()]));
+        return new AroundInvokeChainImpl(interceptors.toArray(new AroundInvokeInterceptor[interceptors.size()]), beanMethod);
     }
 
     private void addAroundInvokeInterceptors(List<AroundInvokeInterceptor> interceptors, InterceptorDescriptor interceptor,
@@ -695,10 +711,17 @@ class AroundInvokeChainImpl implements InterceptorManager.InterceptorChain {
     protected AroundInvokeInterceptor[] interceptors;
     protected int size;
 
-    protected AroundInvokeChainImpl(AroundInvokeInterceptor[] interceptors) {
+    private final Method beanMethod;
+
+    // Generated on the first invocation of the bean method through the chain
+    private volatile MethodInvoker beanMethodInvoker;
+    private volatile boolean reflectiveBeanMethod;
+
+    protected AroundInvokeChainImpl(AroundInvokeInterceptor[] interceptors, Method beanMethod) {
 
         this.interceptors = interceptors;
         this.size = (interceptors == null) ? 0 : interceptors.length;
+        this.beanMethod = beanMethod;
     }
 
     @Override
@@ -706,6 +729,37 @@ class AroundInvokeChainImpl implements InterceptorManager.InterceptorChain {
         return (index < size) ? interceptors[index].intercept(inv) : inv.invokeBeanMethod();
     }
 
+    /**
+     * Invokes the bean method the chain was built for. Any exception thrown by the bean method is thrown as is.
+     *
+     * @param method method to invoke, used if it is not the bean method of the chain
+     * @param target bean instance
+     * @param params parameters of the invocation
+     * @return value returned by the bean method
+     * @throws Throwable exception thrown by the bean method
+     */
+    Object invokeBeanMethod(Method method, Object target, Object[] params) throws Throwable {
+        if (method != beanMethod || reflectiveBeanMethod || System.getSecurityManager() != null) {
+            try {
+                return method.invoke(target, params);
+            } catch (java.lang.reflect.InvocationTargetException ite) {
+                throw ite.getCause();
+            }
+        }
+
+        MethodInvoker invoker = beanMethodInvoker;
+        if (invoker == null) {
+            try {
+                invoker = InterceptorUtil.getBeanMethodInvoker(beanMethod);
+            } catch (IllegalAccessException | RuntimeException e) {
+                reflectiveBeanMethod = true;
+                return invokeBeanMethod(method, target, params);
+            }
+            beanMethodInvoker = invoker;
+        }
+        return invoker.invoke(target, params);
+    }
+
     @Override
     public String toString() {
         StringBuilder bldr = new StringBuilder();
@@ -721,6 +775,9 @@ class AroundInvokeInterceptor {
     protected int index;
     protected Method method;
 
+    // Generated once, so the JIT can inline the interceptor method into the chain
+    protected MethodInvoker invoker;
+
     AroundInvokeInterceptor(int index, Method method) {
         this.index = index;
         this.method = method;
@@ -742,6 +799,7 @@ class AroundInvokeInterceptor {
                     }
                 });
             }
+            invoker = InterceptorUtil.getInterceptorInvoker(method);
         } catch (Exception e) {
             throw new EJBException(e);
         }
@@ -763,7 +821,7 @@ class AroundInvokeInterceptor {
                 });
             } else {
 
-                return method.invoke(interceptors[index], invCtx);
+                return invoker.invoke(interceptors[index], invCtx);
 
             }
         } catch (java.lang.reflect.InvocationTargetException invEx) {
@@ -804,7 +862,7 @@ class BeanAroundInvokeInterceptor extends AroundInvokeInterceptor {
                     }
                 });
             } else {
-                return method.invoke(invCtx.getTarget(), invCtx);
+                return invoker.invoke(invCtx.getTarget(), invCtx);
             }
         } catch (java.lang.reflect.InvocationTargetException invEx) {
             throw invEx.getCause();
@@ -822,6 +880,9 @@ class CallbackInterceptor {
     protected int index;
     protected Method method;
 
+    // Generated once, so the JIT can inline the callback method into the chain
+    protected MethodInvoker invoker;
+
     CallbackInterceptor(int index, Method method) {
         this.index = index;
         this.method = method;
@@ -843,6 +904,9 @@ class CallbackInterceptor {
                     }
                 });
             }
+            invoker = isBeanCallback()
+                ? InterceptorUtil.getBeanCallbackInvoker(method)
+                : InterceptorUtil.getInterceptorInvoker(method);
         } catch (Exception e) {
             throw new EJBException(e);
         }
@@ -864,7 +928,7 @@ class CallbackInterceptor {
                     }
                 });
             } else {
-                return method.invoke(interceptors[index], invContext);
+                return invoker.invoke(interceptors[index], invContext);
 
             }
         } catch (java.lang.reflect.InvocationTargetException invEx) {
@@ -912,7 +976,7 @@ class BeanCallbackInterceptor extends CallbackInterceptor {
                     }
                 });
             } else {
-                method.invoke(invContext.getTarget(), NULL_ARGS);
+                invoker.invoke(invContext.getTarget(), null);
             }
 
             return invContext.proceed();
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2022 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -19,11 +19,19 @@
  */
 package com.sun.ejb.containers.interceptors;
 
+import com.sun.ejb.codegen.MethodInvoker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.sun.ejb.codegen.AsmMethodInvokerGenerator.INVOKER_TYPE;
+import static com.sun.ejb.codegen.AsmMethodInvokerGenerator.generateMethodInvoker;
 
 /**
  */
@@ -31,6 +39,10 @@ public class InterceptorUtil {
 
     private static Map<Class, Set<Class>> compatiblePrimitiveWrapper = new HashMap<Class, Set<Class>>();
 
+    private static final ClassValue<Map<Method, MethodInvoker>> INTERCEPTOR_INVOKERS = new InvokerCache();
+    private static final ClassValue<Map<Method, MethodInvoker>> BEAN_CALLBACK_INVOKERS = new InvokerCache();
+    private static final ClassValue<Map<Method, MethodInvoker>> BEAN_METHOD_INVOKERS = new InvokerCache();
+
     static {
 
         Set<Class> smallerPrimitiveWrappers = null;
@@ -122,4 +134,56 @@ public class InterceptorUtil {
 
     }
 
+    /**
+     * Returns the invoker of an interceptor method taking the {@link jakarta.interceptor.InvocationContext}.
+     *
+     * @param method interceptor method made accessible by the caller
+     * @return invoker taking the interceptor instance and the invocation context
+     * @throws IllegalAccessException if the method is not accessible
+     */
+    static MethodInvoker getInterceptorInvoker(Method method) throws IllegalAccessException {
+        return getInvoker(INTERCEPTOR_INVOKERS, method, MethodHandles.lookup().unreflect(method));
+    }
+
+    /**
+     * Returns the invoker of a lifecycle callback method of the bean class, which takes no parameter.
+     *
+     * @param method callback method made accessible by the caller
+     * @return invoker taking the bean instance, the second argument is ignored
+     * @throws IllegalAccessException if the method is not accessible
+     */
+    static MethodInvoker getBeanCallbackInvoker(Method method) throws IllegalAccessException {
+        return getInvoker(BEAN_CALLBACK_INVOKERS, method,
+            MethodHandles.dropArguments(MethodHandles.lookup().unreflect(method), 1, Object.class));
+    }
+
+    /**
+     * Returns the invoker of a bean method. Parameters are converted as {@link Method#invoke(Object, Object...)} does.
+     *
+     * @param method bean method
+     * @return invoker taking the bean instance and the array of parameters
+     * @throws IllegalAccessException if the method is not accessible
+     */
+    static MethodInvoker getBeanMethodInvoker(Method method) throws IllegalAccessException {
+        method.trySetAccessible();
+        return getInvoker(BEAN_METHOD_INVOKERS, method,
+            MethodHandles.lookup().unreflect(method).asSpreader(Object[].class, method.getParameterCount()));
+    }
+
+    private static MethodInvoker getInvoker(ClassValue<Map<Method, MethodInvoker>> cache, Method method,
+        MethodHandle handle) {
+        return cache.get(method.getDeclaringClass()).computeIfAbsent(method,
+            m -> generateMethodInvoker(m, handle.asType(INVOKER_TYPE)));
+    }
+
+    /**
+     * Invokers are generated once per method. The cache is discarded with the class declaring the method.
+     */
+    private static final class InvokerCache extends ClassValue<Map<Method, MethodInvoker>> {
+
+        @Override
+        protected Map<Method, MethodInvoker> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    }
 }
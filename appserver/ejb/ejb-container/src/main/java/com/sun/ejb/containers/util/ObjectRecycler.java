@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps a few free objects, so that a frequent short-lived object can be reused instead of
+ * allocated every time.
+ * <p>
+ * The free objects are kept in slots, a couple of slots per stripe. A thread uses the slots
+ * of the stripe chosen by its id, so threads running on different cores rarely touch the same
+ * slot, and a call nested in another call on the same thread still finds a free object. Taking
+ * and returning an object neither locks nor allocates: when the slots of the stripe are empty,
+ * {@link #take()} returns null and the caller creates a new object; when they are full,
+ * {@link #put(Object)} drops the object for the garbage collector.
+ * <p>
+ * The caller resets the state of an object before returning it.
+ *
+ * @param <T> type of the recycled objects
+ */
+public class ObjectRecycler<T> {
+
+    private static final int MAX_STRIPES = 64;
+    private static final int SLOTS_PER_STRIPE = 2;
+
+    private final AtomicReferenceArray<T> slots;
+    private final int stripeMask;
+
+    public ObjectRecycler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism expected number of concurrent threads, rounded up to a power of two
+     *            stripes and limited to {@value #MAX_STRIPES}
+     */
+    public ObjectRecycler(int parallelism) {
+        int stripeCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_STRIPES, parallelism)) * 2 - 1);
+        this.slots = new AtomicReferenceArray<>(stripeCount * SLOTS_PER_STRIPE);
+        this.stripeMask = stripeCount - 1;
+    }
+
+    /**
+     * @return a free object owned by the caller from now on, or null if there is none
+     */
+    public T take() {
+        int first = stripeIndex();
+        for (int i = first; i < first + SLOTS_PER_STRIPE; i++) {
+            if (slots.get(i) != null) {
+                T object = slots.getAndSet(i, null);
+                if (object != null) {
+                    return object;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param object object no longer used by the caller
+     * @return false if there was no free slot and the object was dropped
+     */
+    public boolean put(T object) {
+        int first = stripeIndex();
+        for (int i = first; i < first + SLOTS_PER_STRIPE; i++) {
+            if (slots.get(i) == null && slots.compareAndSet(i, null, object)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drops all free objects.
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+
+    private int stripeIndex() {
+        long threadId = Thread.currentThread().getId();
+        return ((int) (threadId ^ (threadId >>> 32)) & stripeMask) * SLOTS_PER_STRIPE;
+    }
+}
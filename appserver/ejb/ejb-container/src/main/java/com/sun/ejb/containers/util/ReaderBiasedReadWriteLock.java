@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Read-write lock biased towards readers, for data which is read much more often than written.
+ * <p>
+ * While the lock is biased, a reader only increments the counter of its stripe, chosen by its
+ * thread id, so readers running on different cores do not write the same cache line. A writer
+ * takes the write lock of a fair {@link ReentrantReadWriteLock}, revokes the bias and waits until
+ * the readers counted in the stripes leave. Until the bias is restored, readers take the read lock
+ * of the fair lock, so readers and writers alternate as they do with the fair lock alone. The bias
+ * is restored by the next reader after a delay proportional to the time the last revocation took,
+ * so frequent writers do not pay for a revocation every time.
+ * <p>
+ * Both locks are reentrant and the owner of the write lock can acquire the read lock. The owner
+ * of a read lock cannot acquire the write lock, an {@link IllegalMonitorStateException} is thrown.
+ * Conditions are not supported.
+ */
+public class ReaderBiasedReadWriteLock implements ReadWriteLock {
+
+    private static final int MAX_STRIPES = 64;
+    /** Longs between two stripe counters, so every counter has its own cache line. */
+    private static final int PADDING = 16;
+    /** The bias is restored after this multiple of the time the last revocation took. */
+    private static final int INHIBIT_FACTOR = 9;
+    private static final int SPINS = 100;
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1L);
+
+    private final ReentrantReadWriteLock fairLock = new ReentrantReadWriteLock(true);
+    private final AtomicLongArray readers;
+    private final int stripeMask;
+    private final ThreadLocal<ReadHold> readHolds = ThreadLocal.withInitial(ReadHold::new);
+    private final Lock readLock = new ReadLock();
+    private final Lock writeLock = new WriteLock();
+
+    private volatile boolean readBias = true;
+    /** {@link System#nanoTime()} before which the bias is not restored. */
+    private volatile long inhibitUntil;
+
+    public ReaderBiasedReadWriteLock() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parallelism expected number of concurrent readers, rounded up to a power of two
+     *            stripes and limited to {@value #MAX_STRIPES}
+     */
+    public ReaderBiasedReadWriteLock(int parallelism) {
+        int stripeCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_STRIPES, parallelism)) * 2 - 1);
+        this.readers = new AtomicLongArray(stripeCount * PADDING);
+        this.stripeMask = stripeCount - 1;
+    }
+
+    @Override
+    public Lock readLock() {
+        return readLock;
+    }
+
+    @Override
+    public Lock writeLock() {
+        return writeLock;
+    }
+
+    /**
+     * @return number of holds of the read lock by the current thread
+     */
+    public int getReadHoldCount() {
+        return readHolds.get().count;
+    }
+
+    /**
+     * @return true if the current thread holds the write lock
+     */
+    public boolean isWriteLockedByCurrentThread() {
+        return fairLock.isWriteLockedByCurrentThread();
+    }
+
+    /**
+     * @return true if readers acquire the lock without the fair lock now
+     */
+    public boolean isReadBiased() {
+        return readBias;
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "[readBias=" + readBias + ", " + fairLock + "]";
+    }
+
+    /**
+     * @param timeoutNanos negative to wait until the lock is acquired
+     */
+    private boolean acquireRead(long timeoutNanos, boolean interruptible) throws InterruptedException {
+        ReadHold hold = readHolds.get();
+        if (hold.count > 0) {
+            hold.count++;
+            return true;
+        }
+        if (readBias) {
+            int stripe = stripeIndex();
+            readers.incrementAndGet(stripe);
+            // A writer revoking the bias now either sees this reader or is seen by it.
+            if (readBias) {
+                hold.stripe = stripe;
+                hold.count = 1;
+                return true;
+            }
+            readers.decrementAndGet(stripe);
+        }
+        if (!acquire(fairLock.readLock(), timeoutNanos, interruptible)) {
+            return false;
+        }
+        hold.stripe = -1;
+        hold.count = 1;
+        if (!readBias && System.nanoTime() - inhibitUntil >= 0 && !fairLock.isWriteLocked()) {
+            // No writer can take the write lock while this thread holds the read lock.
+            readBias = true;
+        }
+        return true;
+    }
+
+    private void releaseRead() {
+        ReadHold hold = readHolds.get();
+        if (hold.count == 0) {
+            throw new IllegalMonitorStateException("The read lock is not held by the current thread");
+        }
+        if (--hold.count == 0) {
+            if (hold.stripe >= 0) {
+                readers.decrementAndGet(hold.stripe);
+            } else {
+                fairLock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * @param timeoutNanos negative to wait until the lock is acquired
+     */
+    private boolean acquireWrite(long timeoutNanos, boolean interruptible) throws InterruptedException {
+        if (fairLock.isWriteLockedByCurrentThread()) {
+            fairLock.writeLock().lock();
+            return true;
+        }
+        if (readHolds.get().count > 0) {
+            throw new IllegalMonitorStateException("The read lock cannot be upgraded to the write lock");
+        }
+        final long deadline = System.nanoTime() + timeoutNanos;
+        if (!acquire(fairLock.writeLock(), timeoutNanos, interruptible)) {
+            return false;
+        }
+        boolean revoked = false;
+        try {
+            revoked = revokeBias(timeoutNanos >= 0, deadline, interruptible);
+        } finally {
+            if (!revoked) {
+                fairLock.writeLock().unlock();
+            }
+        }
+        return revoked;
+    }
+
+    /**
+     * Called with the write lock of the fair lock held. The stripes are drained even if the bias
+     * is revoked already, a writer which timed out may have left readers in them.
+     *
+     * @return false if the readers did not leave before the deadline
+     */
+    private boolean revokeBias(boolean timed, long deadline, boolean interruptible) throws InterruptedException {
+        final long start = System.nanoTime();
+        final boolean biased = readBias;
+        readBias = false;
+        for (int stripe = 0; stripe <= stripeMask; stripe++) {
+            int spins = 0;
+            long parkNanos = 1_000L;
+            while (readers.get(stripe * PADDING) != 0) {
+                if (timed && System.nanoTime() - deadline >= 0) {
+                    // The bias stays revoked, so the readers do not starve the next attempt.
+                    inhibitUntil = System.nanoTime() + (System.nanoTime() - start) * INHIBIT_FACTOR;
+                    return false;
+                }
+                if (spins < SPINS) {
+                    spins++;
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(this, parkNanos);
+                    parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+                    if (interruptible && Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+            }
+        }
+        if (biased) {
+            final long now = System.nanoTime();
+            inhibitUntil = now + (now - start) * INHIBIT_FACTOR;
+        }
+        return true;
+    }
+
+    private static boolean acquire(Lock lock, long timeoutNanos, boolean interruptible) throws InterruptedException {
+        if (timeoutNanos >= 0) {
+            return lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS);
+        }
+        if (interruptible) {
+            lock.lockInterruptibly();
+        } else {
+            lock.lock();
+        }
+        return true;
+    }
+
+    /**
+     * @return index of the counter of the stripe of the current thread in {@link #readers}
+     */
+    private int stripeIndex() {
+        long threadId = Thread.currentThread().getId();
+        return ((int) (threadId ^ (threadId >>> 32)) & stripeMask) * PADDING;
+    }
+
+    private static final class ReadHold {
+
+        int count;
+        /** Index of the stripe counter holding the lock, or -1 if the fair lock holds it. */
+        int stripe = -1;
+    }
+
+    private abstract class BiasedLock implements Lock {
+
+        abstract boolean acquire(long timeoutNanos, boolean interruptible) throws InterruptedException;
+
+        @Override
+        public void lock() {
+            try {
+                acquire(-1L, false);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException("Uninterruptible acquisition was interrupted", e);
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            acquire(-1L, true);
+        }
+
+        @Override
+        public boolean tryLock() {
+            try {
+                return acquire(0L, false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            return acquire(Math.max(0L, unit.toNanos(time)), true);
+        }
+
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private final class ReadLock extends BiasedLock {
+
+        @Override
+        boolean acquire(long timeoutNanos, boolean interruptible) throws InterruptedException {
+            return acquireRead(timeoutNanos, interruptible);
+        }
+
+        @Override
+        public void unlock() {
+            releaseRead();
+        }
+    }
+
+    private final class WriteLock extends BiasedLock {
+
+        @Override
+        boolean acquire(long timeoutNanos, boolean interruptible) throws InterruptedException {
+            return acquireWrite(timeoutNanos, interruptible);
+        }
+
+        @Override
+        public void unlock() {
+            fairLock.writeLock().unlock();
+        }
+    }
+}
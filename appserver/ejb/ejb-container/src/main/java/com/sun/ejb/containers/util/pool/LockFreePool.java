@@ -0,0 +1,484 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.containers.EJBContextImpl;
+import com.sun.ejb.containers.EjbContainerUtilImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.sun.enterprise.util.Utility.setContextClassLoader;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+/**
+ * Pool of stateless session bean and message driven bean instances which takes no lock.
+ * <p>
+ * Free instances are kept in lock-free stacks, one stripe per processor. A thread takes and
+ * returns instances on the stripe chosen by its id, so threads running on different cores
+ * rarely touch the same stack head; when its stripe is empty, a thread takes an instance from
+ * the other stripes before creating a new one. Every stripe is a {@link ConcurrentLinkedDeque}
+ * used as a stack: the most recently returned instance is reused first, and the instances idle
+ * for the longest time are at the bottom, where the idle reclamation takes them from.
+ * <p>
+ * The sizes follow {@link NonBlockingPool}:
+ * <ul>
+ * <li>a new instance is created whenever the pool is empty,
+ * <li>at most max-pool-size free instances are kept, instances returned to a full pool are destroyed,
+ * <li>the pool is refilled up to steady-pool-size and shrunk by pool-resize-quantity instances idle
+ * longer than pool-idle-timeout-in-seconds.
+ * </ul>
+ * Refilling and shrinking run on the EJB container thread pool, never on the thread getting or
+ * returning an instance.
+ */
+public class LockFreePool extends AbstractPool {
+
+    private static final int MAX_STRIPES = 64;
+
+    private final ConcurrentLinkedDeque<Object>[] stripes;
+    private final int stripeMask;
+
+    /** Number of free instances, an upper bound of the instances in the stripes. */
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean resizeRequested = new AtomicBoolean();
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder destroyed = new LongAdder();
+    private final LongAdder taken = new LongAdder();
+    private final LongAdder returned = new LongAdder();
+
+    private boolean maintainSteadySize;
+    private TimerTask poolTimerTask;
+
+    // Set to true after close(). Prevents the resize work from refilling a closed pool.
+    private volatile boolean poolClosed;
+
+    public LockFreePool(long beanId, String poolName, ObjectFactory factory, int steadyPoolSize, int resizeQuantity,
+            int maxPoolSize, int idleTimeoutInSeconds, ClassLoader loader) {
+        this(beanId, poolName, factory, steadyPoolSize, resizeQuantity, maxPoolSize, idleTimeoutInSeconds, loader,
+            Runtime.getRuntime().availableProcessors());
+    }
+
+    @SuppressWarnings("unchecked")
+    LockFreePool(long beanId, String poolName, ObjectFactory factory, int steadyPoolSize, int resizeQuantity,
+            int maxPoolSize, int idleTimeoutInSeconds, ClassLoader loader, int parallelism) {
+        this.beanId = beanId;
+        this.poolName = poolName;
+
+        int stripeCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_STRIPES, parallelism)) * 2 - 1);
+        this.stripes = new ConcurrentLinkedDeque[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ConcurrentLinkedDeque<>();
+        }
+        this.stripeMask = stripeCount - 1;
+
+        initializePool(factory, steadyPoolSize, resizeQuantity, maxPoolSize, idleTimeoutInSeconds, loader);
+    }
+
+    private void initializePool(ObjectFactory factory, int steadyPoolSize, int resizeQuantity, int maxPoolSize,
+            int idleTimeoutInSeconds, ClassLoader loader) {
+        this.pooledObjectFactory = factory;
+        this.maxPoolSize = maxPoolSize <= 0 ? Integer.MAX_VALUE : maxPoolSize;
+        this.steadyPoolSize = Math.min(Math.max(0, steadyPoolSize), this.maxPoolSize);
+        this.resizeQuantity = Math.max(0, resizeQuantity);
+        this.idleTimeoutInSeconds = Math.max(0, idleTimeoutInSeconds);
+        this.containerClassLoader = loader;
+        this.maintainSteadySize = this.steadyPoolSize > 0;
+
+        if (this.idleTimeoutInSeconds > 0 && this.resizeQuantity > 0) {
+            try {
+                poolTimerTask = new PoolResizeTimerTask();
+                EjbContainerUtilImpl.getInstance()
+                                    .getTimer()
+                                    .scheduleAtFixedRate(
+                                        poolTimerTask, this.idleTimeoutInSeconds * 1000L, this.idleTimeoutInSeconds * 1000L);
+
+                _logger.log(FINE, () -> "[Pool-" + poolName + "]: Added PoolResizeTimerTask...");
+            } catch (Throwable th) {
+                _logger.log(WARNING, "[Pool-" + poolName + "]: Could not add" + " PoolTimerTask. Continuing anyway...", th);
+            }
+        }
+    }
+
+    @Override
+    public void setContainerClassLoader(ClassLoader loader) {
+        this.containerClassLoader = loader;
+    }
+
+    @Override
+    public Object getObject(Object param) {
+        Object pooledObject = poll();
+        if (pooledObject != null) {
+            taken.increment();
+            if (maintainSteadySize && size.get() < steadyPoolSize) {
+                requestResize();
+            }
+            return pooledObject;
+        }
+
+        if (maintainSteadySize) {
+            requestResize();
+        }
+        poolProbeNotifier.ejbObjectAddedEvent(beanId, appName, modName, ejbName);
+        created.increment();
+        try {
+            return pooledObjectFactory.create(param);
+        } catch (RuntimeException th) {
+            poolProbeNotifier.ejbObjectAddFailedEvent(beanId, appName, modName, ejbName);
+            created.decrement();
+            throw th;
+        }
+    }
+
+    /**
+     * Return an object back to the pool. An object that is obtained through getObject() must always be returned back to the
+     * pool using either returnObject(obj) or through destroyObject(obj).
+     */
+    @Override
+    public void returnObject(Object object) {
+        if (!poolClosed && offer(object)) {
+            returned.increment();
+            return;
+        }
+
+        poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+        destroyed.increment();
+        try {
+            pooledObjectFactory.destroy(object);
+        } catch (Exception ex) {
+            _logger.log(FINE, "exception in returnObj", ex);
+        }
+    }
+
+    /**
+     * Destroys an Object. Note that applications should not ignore the reference to the object that they got from
+     * getObject(). An object that is obtained through getObject() must always be returned back to the pool using either
+     * returnObject(obj) or through destroyObject(obj). This method tells that the object should be destroyed and cannot be
+     * reused.
+     */
+    @Override
+    public void destroyObject(Object object) {
+        poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+        destroyed.increment();
+        try {
+            pooledObjectFactory.destroy(object);
+        } catch (Exception ex) {
+            _logger.log(FINE, "exception in destroyObject", ex);
+        }
+    }
+
+    /**
+     * @return a free instance, the own stripe of the thread is tried first, or null if the pool is empty
+     */
+    private Object poll() {
+        if (size.get() <= 0) {
+            return null;
+        }
+        int start = stripeIndex();
+        for (int i = 0; i <= stripeMask; i++) {
+            Object pooledObject = stripes[(start + i) & stripeMask].pollFirst();
+            if (pooledObject != null) {
+                size.decrementAndGet();
+                return pooledObject;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return false if the pool already keeps max-pool-size instances
+     */
+    private boolean offer(Object pooledObject) {
+        if (size.incrementAndGet() > maxPoolSize) {
+            size.decrementAndGet();
+            return false;
+        }
+        stripes[stripeIndex()].offerFirst(pooledObject);
+        return true;
+    }
+
+    private int stripeIndex() {
+        long threadId = Thread.currentThread().getId();
+        return (int) (threadId ^ (threadId >>> 32)) & stripeMask;
+    }
+
+    private void requestResize() {
+        if (resizeRequested.get() || !resizeRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            EjbContainerUtilImpl.getInstance().addWork(new ReSizeWork());
+        } catch (Exception ex) {
+            resizeRequested.set(false);
+            _logger.log(WARNING, ex, () -> "[Pool-" + poolName + "]: Cannot perform " + " pool resize task");
+        }
+    }
+
+    /**
+     * Prepopulate the pool with objects.
+     *
+     * @param count the number of objects to be added.
+     */
+    public void prepopulate(int count) {
+        steadyPoolSize = Math.min(Math.max(0, count), maxPoolSize);
+        maintainSteadySize = steadyPoolSize > 0;
+        if (steadyPoolSize > 0) {
+            preload(steadyPoolSize - size.get());
+        }
+    }
+
+    /**
+     * Preload the pool with objects. Instances which do not fit in the pool are destroyed.
+     *
+     * @param count the number of objects to be added.
+     */
+    @Override
+    protected void preload(int count) {
+        for (int i = 0; i < count && !poolClosed; i++) {
+            Object pooledObject;
+            try {
+                pooledObject = pooledObjectFactory.create(null);
+            } catch (Exception ex) {
+                // Need not throw this exception up since we are pre-populating
+                _logger.log(FINE, "exception in preload", ex);
+                return;
+            }
+            created.increment();
+            if (!offer(pooledObject)) {
+                destroyObject(pooledObject);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Close the pool
+     */
+    @Override
+    public void close() {
+        poolClosed = true;
+        if (poolTimerTask != null) {
+            poolTimerTask.cancel();
+            poolTimerTask = null;
+        }
+
+        _logger.log(FINE, () -> "[Pool-" + poolName + "]: Destroying " + size.get() + " beans from the pool...");
+
+        // Since we're calling into EJB code, we need to set context class loader
+        ClassLoader origLoader = setContextClassLoader(containerClassLoader);
+        try {
+            remove(Integer.MAX_VALUE);
+        } finally {
+            setContextClassLoader(origLoader);
+        }
+        _logger.log(FINE, "[Pool-" + poolName + "]: Pool closed....");
+        unregisterProbeProvider();
+    }
+
+    /**
+     * Removes and destroys free instances, the most recently returned first.
+     */
+    @Override
+    protected void remove(int count) {
+        int removed = 0;
+        for (ConcurrentLinkedDeque<Object> stripe : stripes) {
+            Object pooledObject;
+            while (removed < count && (pooledObject = stripe.pollFirst()) != null) {
+                size.decrementAndGet();
+                removed++;
+                destroyObject(pooledObject);
+            }
+        }
+    }
+
+    /**
+     * Destroys up to pool-resize-quantity instances over the steady pool size which were idle longer than
+     * the idle timeout.
+     */
+    @Override
+    protected void removeIdleObjects() {
+        int victimCount = Math.min(resizeQuantity, size.get() - steadyPoolSize);
+        if (idleTimeoutInSeconds <= 0 || victimCount <= 0) {
+            return;
+        }
+        _logger.log(FINE, () -> "[Pool-" + poolName + "]: Resize:: reducing " + " pool size by: " + victimCount);
+        long allowedIdleTime = System.currentTimeMillis() - idleTimeoutInSeconds * 1000L;
+        List<Object> removeList = new ArrayList<>(victimCount);
+        // Take the oldest instances of every stripe in turns, so the stripes shrink evenly.
+        boolean removedAny = true;
+        while (removedAny && removeList.size() < victimCount) {
+            removedAny = false;
+            for (int i = 0; i <= stripeMask && removeList.size() < victimCount; i++) {
+                Object pooledObject = stripes[i].pollLast();
+                if (pooledObject == null) {
+                    continue;
+                }
+                if (getLastTimeUsed(pooledObject) <= allowedIdleTime) {
+                    size.decrementAndGet();
+                    removeList.add(pooledObject);
+                    removedAny = true;
+                } else {
+                    // The bottom of the stripe is its oldest instance, the rest is not idle either.
+                    stripes[i].offerLast(pooledObject);
+                }
+            }
+        }
+        for (Object pooledObject : removeList) {
+            destroyObject(pooledObject);
+        }
+    }
+
+    private static long getLastTimeUsed(Object pooledObject) {
+        return pooledObject instanceof EJBContextImpl ? ((EJBContextImpl) pooledObject).getLastTimeUsed() : 0L;
+    }
+
+    /**
+     * Refills the pool up to the steady pool size or removes idle instances over it.
+     */
+    protected void doResize() {
+        if (poolClosed) {
+            return;
+        }
+
+        // We need to set the context class loader for this (deamon) thread!!
+        ClassLoader previousClassLoader = setContextClassLoader(containerClassLoader);
+        try {
+            int curSize = size.get();
+            if (curSize > steadyPoolSize) {
+                removeIdleObjects();
+            } else if (curSize < steadyPoolSize && maintainSteadySize) {
+                int populateCount;
+                if (resizeQuantity <= 0) {
+                    populateCount = steadyPoolSize - curSize;
+                } else {
+                    // Whole multiples of the resize quantity, as NonBlockingPool does
+                    int steps = (steadyPoolSize - curSize + resizeQuantity - 1) / resizeQuantity;
+                    populateCount = (int) Math.min((long) steps * resizeQuantity, (long) maxPoolSize - curSize);
+                }
+                _logger.log(FINE, () -> "[Pool-" + poolName + "]: Attempting to preload " + populateCount
+                    + " beans. CurSize/MaxPoolSize: " + curSize + "/" + maxPoolSize);
+                preload(populateCount);
+            }
+        } catch (Throwable th) {
+            _logger.log(WARNING, "[Pool-" + poolName + "]: Exception during reSize", th);
+        } finally {
+            setContextClassLoader(previousClassLoader);
+        }
+        _logger.log(FINE, () -> "[Pool-" + poolName + "]: Resize completed; after reSize: " + getAllAttrValues());
+    }
+
+    /**************** For Monitoring ***********************/
+    /*******************************************************/
+
+    @Override
+    public int getCreatedCount() {
+        return created.intValue();
+    }
+
+    @Override
+    public int getDestroyedCount() {
+        return destroyed.intValue();
+    }
+
+    @Override
+    public int getPoolSuccess() {
+        return taken.intValue();
+    }
+
+    @Override
+    public int getSize() {
+        return Math.max(0, size.get());
+    }
+
+    @Override
+    public int getNumBeansInPool() {
+        return getSize();
+    }
+
+    @Override
+    public int getTotalBeansCreated() {
+        return created.intValue();
+    }
+
+    @Override
+    public int getTotalBeansDestroyed() {
+        return destroyed.intValue();
+    }
+
+    @Override
+    public void appendStats(StringBuffer sbuf) {
+        sbuf.append("[Pool: ")
+            .append("SZ=").append(getSize()).append("; ")
+            .append("CC=").append(getCreatedCount()).append("; ")
+            .append("DC=").append(getDestroyedCount()).append("; ")
+            .append("WC=").append(waitCount).append("; ")
+            .append("MSG=0");
+
+        if (configData != null) {
+            sbuf.append(configData);
+        }
+
+        sbuf.append("]");
+    }
+
+    @Override
+    public String getAllMonitoredAttrbuteValues() {
+        StringBuffer sbuf = new StringBuffer();
+        sbuf.append("createdCount=").append(getCreatedCount()).append(";")
+            .append("destroyedCount=").append(getDestroyedCount()).append(";")
+            .append("waitCount=").append(waitCount).append(";")
+            .append("size=").append(getSize()).append(";")
+            .append("maxPoolSize=").append(maxPoolSize).append(";");
+        return sbuf.toString();
+    }
+
+    @Override
+    public String getAllAttrValues() {
+        StringBuffer sbuf = new StringBuffer("[Pool-" + poolName + "] ");
+        sbuf.append("CC=").append(getCreatedCount()).append("; ")
+            .append("DC=").append(getDestroyedCount()).append("; ")
+            .append("PR=").append(returned.intValue()).append("; ")
+            .append("CS=").append(getSize()).append("; ")
+            .append("SS=").append(steadyPoolSize).append("; ")
+            .append("MS=").append(maxPoolSize).append(";");
+        return sbuf.toString();
+    }
+
+    private class ReSizeWork implements Runnable {
+        @Override
+        public void run() {
+            try {
+                doResize();
+            } finally {
+                resizeRequested.set(false);
+            }
+        }
+    }
+
+    private class PoolResizeTimerTask extends TimerTask {
+        @Override
+        public void run() {
+            requestResize();
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -59,6 +60,15 @@ public class EjbMonitoringProbeProvider {
             @ProbeParam("exception") Throwable exception,
             @ProbeParam("method") String method_sig) {}
 
+    @Probe(name="singletonLockWaitEvent", hidden=true)
+    public void singletonLockWaitEvent(
+            @ProbeParam("beanId") long beanId,
+            @ProbeParam("appName") String appName,
+            @ProbeParam("modName") String modName,
+            @ProbeParam("ejbName") String ejbName,
+            @ProbeParam("method") String method_sig,
+            @ProbeParam("waitNanos") long waitNanos) {}
+
     @Probe(name="beanCreatedEvent")
     public void ejbBeanCreatedEvent(
             @ProbeParam("beanId") long beanId,
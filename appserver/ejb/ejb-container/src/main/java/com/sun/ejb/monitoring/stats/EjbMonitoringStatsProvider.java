@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -76,7 +77,7 @@ public abstract class EjbMonitoringStatsProvider {
             for (String method_sig : method_sigs) {
                 EjbMethodStatsProvider monitor = methodMonitorMap.get(method_sig);
                 if (monitor == null) {
-                    monitor = new EjbMethodStatsProvider(method_sig);
+                    monitor = createMethodStatsProvider(method_sig);
                     methodMonitorMap.put(method_sig, monitor);
                 }
             }
@@ -89,6 +90,14 @@ public abstract class EjbMonitoringStatsProvider {
         }
     }
 
+    /**
+     * @param method_sig signature of the bean method
+     * @return new statistics of the bean method
+     */
+    protected EjbMethodStatsProvider createMethodStatsProvider(String method_sig) {
+        return new EjbMethodStatsProvider(method_sig);
+    }
+
     public void register() {
         String invokerId = EjbMonitoringUtils.getInvokerId(appName, moduleName, beanName);
         String beanSubTreeNode = EjbMonitoringUtils.registerComponent(
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -39,6 +40,7 @@ public class EjbMonitoringUtils {
     static final String APPLICATION_NODE = "applications" + NODE;
     static final String EJB_MONITORING_NODE = "ejb-container";
     static final String METHOD_NODE = NODE + "bean-methods" + NODE;
+    static final String ASYNC_BULKHEAD_NODE = NODE + "async-bulkheads" + NODE;
 
 
     static String registerComponent(String appName, String moduleName,
@@ -95,6 +97,23 @@ public class EjbMonitoringUtils {
 
 
 
+    static String registerAsyncBulkhead(String appName, String bulkheadName, Object listener) {
+        String subTreeNode = (appName + ASYNC_BULKHEAD_NODE + bulkheadName).replaceAll("\\.", "\\\\.");
+        if (_logger.isLoggable(Level.FINE)) {
+            _logger.fine("BULKHEAD NODE NAME: " + subTreeNode);
+        }
+        try {
+            StatsProviderManager.register(EJB_MONITORING_NODE,
+                    PluginPoint.APPLICATIONS, subTreeNode, listener);
+        } catch (Exception ex) {
+            _logger.log(Level.SEVERE, "[**EjbMonitoringUtils**] Could not register bulkhead "
+                    + "listener for " + subTreeNode, ex);
+            return null;
+        }
+
+        return subTreeNode;
+    }
+
     public static String stringify(Method m) {
         if (_logger.isLoggable(Level.FINE)) {
             _logger.fine("==> Converting method to String: " + m);
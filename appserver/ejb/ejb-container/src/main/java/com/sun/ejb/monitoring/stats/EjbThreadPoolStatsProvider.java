@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.monitoring.stats;
+
+import com.sun.ejb.containers.EjbThreadPoolExecutor;
+
+import org.glassfish.external.probe.provider.StatsProviderManager;
+import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.external.statistics.RangeStatistic;
+import org.glassfish.external.statistics.impl.BoundedRangeStatisticImpl;
+import org.glassfish.external.statistics.impl.CountStatisticImpl;
+import org.glassfish.gmbal.AMXMetadata;
+import org.glassfish.gmbal.Description;
+import org.glassfish.gmbal.ManagedAttribute;
+import org.glassfish.gmbal.ManagedObject;
+
+/**
+ * Statistics of the thread pool of an asynchronous method bulkhead of an application,
+ * read from its EjbThreadPoolExecutor.
+ */
+@AMXMetadata(type="ejb-thread-pool-mon", group="monitoring", isSingleton=false)
+@ManagedObject
+@Description("EJB Thread Pool Statistics")
+public class EjbThreadPoolStatsProvider {
+
+    private CountStatisticImpl completedTaskCountStat = new CountStatisticImpl(
+            "CompletedTaskCount", "count", "Number of asynchronous invocations completed by the thread pool");
+
+    private CountStatisticImpl rejectedTaskCountStat = new CountStatisticImpl(
+            "RejectedTaskCount", "count",
+            "Number of asynchronous invocations rejected because the thread pool and its queue were full");
+
+    private BoundedRangeStatisticImpl queueSize;
+    private BoundedRangeStatisticImpl activeThreads;
+
+    private String appName = null;
+    private String bulkheadName = null;
+    private boolean registered = false;
+    private EjbThreadPoolExecutor delegate;
+
+    public EjbThreadPoolStatsProvider(EjbThreadPoolExecutor delegate, String appName, String bulkheadName) {
+
+        this.delegate = delegate;
+        this.appName = appName;
+        this.bulkheadName = bulkheadName;
+
+        long now = System.currentTimeMillis();
+
+        queueSize = new BoundedRangeStatisticImpl(
+            0, 0, 0, delegate.getQueue().size() + delegate.getQueue().remainingCapacity(), 0,
+            "QueueSize", "count", "Number of asynchronous invocations waiting for a thread",
+            now, now);
+        activeThreads = new BoundedRangeStatisticImpl(
+            0, 0, 0, delegate.getMaximumPoolSize(), 0,
+            "ActiveThreads", "count", "Number of threads running asynchronous invocations",
+            now, now);
+    }
+
+    public void register() {
+        String node = EjbMonitoringUtils.registerAsyncBulkhead(appName, bulkheadName, this);
+        if (node != null) {
+            registered = true;
+        }
+    }
+
+    public void unregister() {
+        if (registered) {
+            registered = false;
+            StatsProviderManager.unregister(this);
+        }
+    }
+
+    @ManagedAttribute(id="queuesize")
+    @Description( "Number of asynchronous invocations waiting for a thread")
+    public RangeStatistic getQueueSize() {
+        queueSize.setCurrent(delegate.getQueue().size());
+        return queueSize;
+    }
+
+    @ManagedAttribute(id="activethreads")
+    @Description( "Number of threads running asynchronous invocations")
+    public RangeStatistic getActiveThreads() {
+        activeThreads.setCurrent(delegate.getActiveCount());
+        return activeThreads;
+    }
+
+    @ManagedAttribute(id="completedtaskcount")
+    @Description( "Number of asynchronous invocations completed by the thread pool")
+    public CountStatistic getCompletedTaskCount() {
+        completedTaskCountStat.setCount(delegate.getCompletedTaskCount());
+        return completedTaskCountStat;
+    }
+
+    @ManagedAttribute(id="rejectedtaskcount")
+    @Description( "Number of asynchronous invocations rejected because the thread pool and its queue were full")
+    public CountStatistic getRejectedTaskCount() {
+        rejectedTaskCountStat.setCount(delegate.getRejectedTaskCount());
+        return rejectedTaskCountStat;
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -22,8 +23,11 @@ import java.util.logging.Logger;
 
 import org.glassfish.external.probe.provider.StatsProviderManager;
 import org.glassfish.external.probe.provider.annotations.ProbeListener;
+import org.glassfish.external.probe.provider.annotations.ProbeParam;
 import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.external.statistics.TimeStatistic;
 import org.glassfish.external.statistics.impl.CountStatisticImpl;
+import org.glassfish.external.statistics.impl.TimeStatisticImpl;
 import org.glassfish.gmbal.AMXMetadata;
 import org.glassfish.gmbal.Description;
 import org.glassfish.gmbal.ManagedAttribute;
@@ -48,6 +52,8 @@ public class EjbTimedObjectStatsProvider {
     private CountStatisticImpl timerDeliveredStat = new CountStatisticImpl("NumTimersDelivered",
             "count", "Number of timers delivered by the system");
 
+    private TimeStatisticImpl timerLatenessStat;
+
     private static final Logger _logger = EjbContainerUtilImpl.getLogger();
 
     private String appName = null;
@@ -60,6 +66,12 @@ public class EjbTimedObjectStatsProvider {
         this.appName = appName;
         this.moduleName = moduleName;
         this.beanName = beanName;
+
+        long now = System.currentTimeMillis();
+        timerLatenessStat = new TimeStatisticImpl(0, 0, 0, 0, "TimerDeliveryLateness",
+                "Milliseconds", "Provides the number of timer deliveries and the time in milliseconds "
+                        + "they started after the scheduled expiration",
+                now, now);
     }
 
     public void register() {
@@ -96,6 +108,12 @@ public class EjbTimedObjectStatsProvider {
         timerDeliveredStat.increment();
     }
 
+    @ProbeListener("glassfish:ejb:timers:timerDeliveryLatenessEvent")
+    public void ejbTimerDeliveryLatenessEvent(
+            @ProbeParam("latenessMillis") long latenessMillis) {
+        timerLatenessStat.incrementCount(Math.max(0L, latenessMillis));
+    }
+
     @ManagedAttribute(id="numtimerscreated")
     @Description( "Number of timers created in the system")
     public CountStatistic getNumTimersCreated() {
@@ -113,4 +131,10 @@ public class EjbTimedObjectStatsProvider {
     public CountStatistic getNumTimersDelivered() {
         return timerDeliveredStat;
     }
+
+    @ManagedAttribute(id="timerdeliverylateness")
+    @Description( "Number of timer deliveries; total, minimal and maximal time (ms) they started late")
+    public TimeStatistic getTimerDeliveryLateness() {
+        return timerLatenessStat;
+    }
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,6 +17,8 @@
 
 package com.sun.ejb.monitoring.stats;
 
+import org.glassfish.external.probe.provider.annotations.ProbeListener;
+import org.glassfish.external.probe.provider.annotations.ProbeParam;
 import org.glassfish.gmbal.AMXMetadata;
 import org.glassfish.gmbal.ManagedObject;
 
@@ -32,4 +35,26 @@ public class SingletonBeanStatsProvider extends EjbMonitoringStatsProvider {
             String moduleName, String beanName) {
         super(beanId, appName, moduleName, beanName);
     }
+
+    @Override
+    protected EjbMethodStatsProvider createMethodStatsProvider(String method_sig) {
+        return new SingletonMethodStatsProvider(method_sig);
+    }
+
+    @ProbeListener("glassfish:ejb:bean:singletonLockWaitEvent")
+    public void singletonLockWaitEvent(
+            @ProbeParam("beanId") long beanId,
+            @ProbeParam("appName") String appName,
+            @ProbeParam("modName") String modName,
+            @ProbeParam("ejbName") String ejbName,
+            @ProbeParam("method") String method_sig,
+            @ProbeParam("waitNanos") long waitNanos) {
+        if (this.beanId == beanId) {
+            log("singletonLockWaitEvent", "SingletonBeanStatsProvider");
+            EjbMethodStatsProvider monitor = methodMonitorMap.get(method_sig);
+            if (monitor != null) {
+                ((SingletonMethodStatsProvider) monitor).lockAcquired(waitNanos);
+            }
+        }
+    }
 }
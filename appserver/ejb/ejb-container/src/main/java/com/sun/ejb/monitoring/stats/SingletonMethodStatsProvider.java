@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.monitoring.stats;
+
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.external.statistics.TimeStatistic;
+import org.glassfish.external.statistics.impl.TimeStatisticImpl;
+import org.glassfish.gmbal.AMXMetadata;
+import org.glassfish.gmbal.Description;
+import org.glassfish.gmbal.ManagedAttribute;
+import org.glassfish.gmbal.ManagedObject;
+
+/**
+ * Method statistics of a singleton with container managed concurrency, adds the time the
+ * invocations waited for the lock of the singleton.
+ */
+@AMXMetadata(type="bean-method-mon", group="monitoring", isSingleton=false)
+@ManagedObject
+@Description("Singleton Ejb Method Statistics")
+public class SingletonMethodStatsProvider extends EjbMethodStatsProvider {
+
+    private final TimeStatisticImpl lockWaitStat;
+
+    SingletonMethodStatsProvider(String mname) {
+        super(mname);
+
+        long now = System.currentTimeMillis();
+        lockWaitStat = new TimeStatisticImpl(
+                0, 0, 0, 0, "LockWaitTime", "MICROSECOND",
+                "Provides the number of times the lock of the singleton was acquired for the method "
+                        + "and the time in microseconds the invocations waited for it",
+                now, now);
+    }
+
+    @ManagedAttribute(id="lockwaittime")
+    @Description("Number of lock acquisitions; total, minimal and maximal time (us) waited for the lock")
+    public TimeStatistic getLockWaitTime() {
+        return lockWaitStat;
+    }
+
+    void lockAcquired(long waitNanos) {
+        lockWaitStat.incrementCount(TimeUnit.NANOSECONDS.toMicros(waitNanos));
+    }
+}
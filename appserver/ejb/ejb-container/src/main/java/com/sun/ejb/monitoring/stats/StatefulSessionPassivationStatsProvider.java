@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.ejb.monitoring.stats;
+
+import com.sun.ejb.base.stats.StatefulSessionStoreMonitor;
+
+import org.glassfish.external.probe.provider.StatsProviderManager;
+import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.external.statistics.RangeStatistic;
+import org.glassfish.external.statistics.impl.BoundedRangeStatisticImpl;
+import org.glassfish.external.statistics.impl.CountStatisticImpl;
+import org.glassfish.gmbal.AMXMetadata;
+import org.glassfish.gmbal.Description;
+import org.glassfish.gmbal.ManagedAttribute;
+import org.glassfish.gmbal.ManagedObject;
+
+/**
+ * Statistics of the batched passivation of a StatefulSessionBean, read from
+ * the StatefulSessionStoreMonitor of its container.
+ */
+@AMXMetadata(type="bean-passivation-mon", group="monitoring", isSingleton=false)
+@ManagedObject
+@Description("Bean Passivation Statistics")
+public class StatefulSessionPassivationStatsProvider {
+
+    private CountStatisticImpl batchCountStat = new CountStatisticImpl(
+            "PassivationBatchCount", "count",
+            "Number of batches of beans passivated in one store transaction");
+
+    private CountStatisticImpl rejectedBatchCountStat = new CountStatisticImpl(
+            "RejectedPassivationBatchCount", "count",
+            "Number of batches the passivation thread pool could not accept");
+
+    private CountStatisticImpl throttledBatchCountStat = new CountStatisticImpl(
+            "ThrottledPassivationBatchCount", "count",
+            "Number of batches passivated by request threads because the passivation threads did not keep up");
+
+    private BoundedRangeStatisticImpl queueSize;
+    private BoundedRangeStatisticImpl averageBatchSize;
+
+    private String appName = null;
+    private String moduleName = null;
+    private String beanName = null;
+    private boolean registered = false;
+    private StatefulSessionStoreMonitor delegate;
+
+    public StatefulSessionPassivationStatsProvider(StatefulSessionStoreMonitor delegate,
+            String appName, String moduleName, String beanName) {
+
+        this.delegate = delegate;
+        this.appName = appName;
+        this.moduleName = moduleName;
+        this.beanName = beanName;
+
+        long now = System.currentTimeMillis();
+
+        queueSize = new BoundedRangeStatisticImpl(
+            0, 0, 0, Long.MAX_VALUE, 0,
+            "PassivationQueueSize", "count", "Number of beans selected for passivation and not yet passivated",
+            now, now);
+        averageBatchSize = new BoundedRangeStatisticImpl(
+            0, 0, 0, Long.MAX_VALUE, 0,
+            "AveragePassivationBatchSize", "count", "Average number of beans passivated in one store transaction",
+            now, now);
+    }
+
+    public void register() {
+        String invokerId = EjbMonitoringUtils.getInvokerId(appName, moduleName, beanName);
+        String node = EjbMonitoringUtils.registerSubComponent(
+                appName, moduleName, beanName, "bean-passivation", this, invokerId);
+        if (node != null) {
+            registered = true;
+        }
+    }
+
+    public void unregister() {
+        if (registered) {
+            registered = false;
+            StatsProviderManager.unregister(this);
+        }
+    }
+
+    @ManagedAttribute(id="passivationqueuesize")
+    @Description( "Number of beans selected for passivation and not yet passivated")
+    public RangeStatistic getPassivationQueueSize() {
+        queueSize.setCurrent(delegate.getPassivationQueueSize());
+        return queueSize;
+    }
+
+    @ManagedAttribute(id="averagepassivationbatchsize")
+    @Description( "Average number of beans passivated in one store transaction")
+    public RangeStatistic getAveragePassivationBatchSize() {
+        averageBatchSize.setCurrent(delegate.getAveragePassivationBatchSize());
+        return averageBatchSize;
+    }
+
+    @ManagedAttribute(id="passivationbatchcount")
+    @Description( "Number of batches of beans passivated in one store transaction")
+    public CountStatistic getPassivationBatchCount() {
+        batchCountStat.setCount(delegate.getPassivationBatchCount());
+        return batchCountStat;
+    }
+
+    @ManagedAttribute(id="rejectedpassivationbatchcount")
+    @Description( "Number of batches the passivation thread pool could not accept")
+    public CountStatistic getRejectedPassivationBatchCount() {
+        rejectedBatchCountStat.setCount(delegate.getRejectedPassivationBatchCount());
+        return rejectedBatchCountStat;
+    }
+
+    @ManagedAttribute(id="throttledpassivationbatchcount")
+    @Description( "Number of batches passivated by request threads")
+    public CountStatistic getThrottledPassivationBatchCount() {
+        throttledBatchCountStat.setCount(delegate.getThrottledPassivationBatchCount());
+        return throttledBatchCountStat;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.spi.container;
+
+import java.io.IOException;
+
+import org.jvnet.hk2.annotations.Contract;
+
+/**
+ * Converts the passivated state of a stateful session bean to bytes and back.
+ * Implementations are hk2 services selected by name with the
+ * <code>sfsb-serializer</code> property of the ejb-container; the default is
+ * the <code>java</code> serializer based on Java serialization.
+ *
+ * <p>The object graph contains the session context and may contain references
+ * to EJBs, JNDI contexts and other Jakarta EE objects, that only the
+ * {@link com.sun.enterprise.container.common.spi.util.JavaEEIOUtils} streams
+ * know how to replace. A faster format should either delegate such objects to
+ * those streams or reject them.
+ */
+@Contract
+public interface SFSBSerializer {
+
+    byte[] serialize(Object obj) throws IOException;
+
+    Object deserialize(byte[] data, ClassLoader loader) throws Exception;
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers;
+
+import jakarta.ejb.ScheduleExpression;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Measures the time to compute one million consecutive next timeouts of a calendar based schedule.
+ */
+public class EJBTimerScheduleBenchmarkTest {
+
+    private static final int TIMEOUTS = 1_000_000;
+
+    @Test
+    public void nextTimeout_benchmark() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupBatchSize(1).warmupForks(0).warmupIterations(1)
+            .measurementIterations(1).forks(1).measurementBatchSize(1)
+            .timeout(TimeValue.seconds(60L))
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .mode(Mode.SingleShotTime).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(1));
+        // Loose bound, a few hundred milliseconds are expected.
+        assertThat(results.iterator().next().getPrimaryResult().getScore(), lessThan(10_000d));
+    }
+
+    @Benchmark
+    public Date nextTimeouts(ScheduleState state) {
+        Date next = state.from;
+        for (int i = 0; i < TIMEOUTS; i++) {
+            next = state.schedule.getNextTimeout(next).getTime();
+        }
+        return next;
+    }
+
+    @State(Scope.Thread)
+    public static class ScheduleState {
+
+        // Every quarter of an hour during the business hours and at eight in the evening on working days
+        final EJBTimerSchedule schedule = new EJBTimerSchedule(new ScheduleExpression()
+            .second("0").minute("*/15").hour("8-17,20").dayOfWeek("Mon-Fri").timezone("Europe/Prague"));
+        final Date from = new Date(1_700_000_000_000L);
+    }
+}
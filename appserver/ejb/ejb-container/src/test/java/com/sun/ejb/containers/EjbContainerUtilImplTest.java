@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -226,6 +226,24 @@ public class EjbContainerUtilImplTest {
         validateLogContents(expectedMessage);
     }
 
+    @Test
+    public void testIsVirtualThreadType() {
+        assertThat(EjbContainerUtilImpl.isVirtualThreadType(" Virtual "), is(true));
+        assertThat(EjbContainerUtilImpl.isVirtualThreadType(EjbThreadPoolExecutor.PLATFORM_THREADS), is(false));
+        assertThat(EjbContainerUtilImpl.isVirtualThreadType(null), is(false));
+    }
+
+    @Test
+    public void testIsVirtualThreadTypeWithUnknownType() throws IOException {
+        String[] expectedMessage = { "WARNING",
+                RuntimeTagNames.THREAD_TYPE + " is neither platform nor virtual, using platform" };
+        boolean actual = EjbContainerUtilImpl.isVirtualThreadType("green");
+
+        assertThat(actual, is(false));
+        handler.flush();
+        validateLogContents(expectedMessage);
+    }
+
     private static void validateLogContents(String[] messages) throws IOException {
         try (BufferedReader reader = new BufferedReader(new FileReader(TEST_LOG))) {
             StringBuffer buf = new StringBuffer();
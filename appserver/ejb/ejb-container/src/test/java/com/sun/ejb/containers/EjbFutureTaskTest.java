@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EjbFutureTaskTest {
+
+    @Test
+    public void cancelBeforeStart() throws Exception {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 1L, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        EjbFutureTask<Object> task = new EjbFutureTask<>(new EjbAsyncTask<>(), null);
+        task.setExecutor(executor);
+        executor.getQueue().add(task);
+
+        assertThat(task.cancel(false), is(true));
+        assertThat(task.isCancelled(), is(true));
+        assertThat(task.isDone(), is(true));
+        assertThat(executor.getQueue(), empty());
+        assertThat(task.getResultException(), instanceOf(CancellationException.class));
+        assertThrows(CancellationException.class, task::get);
+        assertThrows(CancellationException.class, () -> task.get(1L, TimeUnit.SECONDS));
+
+        // The cancelled task never calls the bean
+        task.run();
+        assertThat(task.cancel(true), is(false));
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.ejb.containers;
+
+import com.sun.ejb.ComponentContext;
+import com.sun.ejb.base.stats.StatefulSessionStoreMonitor;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+
+public class SFSBPassivationQueueTest {
+
+    private final StatefulSessionStoreMonitor monitor = new StatefulSessionStoreMonitor();
+
+    /** Tasks accepted by the executor, not run until the test runs them */
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    /** Passivated beans and store commits, in order */
+    private final List<Object> storeWrites = new ArrayList<>();
+
+    private boolean rejectTasks;
+
+    @Test
+    public void candidatesAreHandedToTheExecutor() {
+        SFSBPassivationQueue queue = createQueue(4);
+        List<ComponentContext> beans = addBeans(queue, 3);
+
+        assertThat(tasks, empty());
+        assertThat(monitor.getPassivationQueueSize(), equalTo(3));
+
+        beans.addAll(addBeans(queue, 1));
+
+        assertThat(tasks, hasSize(1));
+        assertThat(monitor.getPassivationQueueSize(), equalTo(4));
+
+        tasks.get(0).run();
+
+        assertThat(storeWrites, contains(beans.get(3), beans.get(2), beans.get(1), beans.get(0), "commit"));
+        assertThat(queue.size(), equalTo(0));
+        assertThat(monitor.getPassivationQueueSize(), equalTo(0));
+        assertThat(monitor.getPassivationBatchCount(), equalTo(1L));
+        assertThat(monitor.getAveragePassivationBatchSize(), equalTo(4L));
+        assertThat(monitor.getRejectedPassivationBatchCount(), equalTo(0L));
+        assertThat(monitor.getThrottledPassivationBatchCount(), equalTo(0L));
+    }
+
+    @Test
+    public void eachBatchIsWrittenInOneStoreTransaction() {
+        SFSBPassivationQueue queue = createQueue(4);
+        List<ComponentContext> beans = addBeans(queue, 10);
+
+        assertThat(tasks, hasSize(2));
+
+        tasks.get(0).run();
+
+        assertThat(storeWrites, contains(
+            beans.get(9), beans.get(8), beans.get(7), beans.get(6), "commit",
+            beans.get(5), beans.get(4), beans.get(3), beans.get(2), "commit",
+            beans.get(1), beans.get(0), "commit"));
+        assertThat(monitor.getPassivationBatchCount(), equalTo(3L));
+        assertThat(monitor.getAveragePassivationBatchSize(), equalTo(3L));
+        assertThat(monitor.getPassivationQueueSize(), equalTo(0));
+
+        // The second task finds the queue empty
+        tasks.get(1).run();
+
+        assertThat(storeWrites, hasSize(13));
+        assertThat(monitor.getPassivationBatchCount(), equalTo(3L));
+    }
+
+    @Test
+    public void rejectedPassivationIsThrottledWithoutLosingBeans() {
+        rejectTasks = true;
+        int batchCount = 2;
+        int throttlingQueueSize = batchCount * SFSBPassivationQueue.MAX_QUEUED_PASSIVATION_BATCHES + 1;
+        SFSBPassivationQueue queue = createQueue(batchCount);
+        List<ComponentContext> beans = addBeans(queue, throttlingQueueSize - 1);
+
+        // Every trim event from the first full batch on tried to add a task
+        assertThat(monitor.getRejectedPassivationBatchCount(), equalTo((long) throttlingQueueSize - batchCount));
+        assertThat(monitor.getThrottledPassivationBatchCount(), equalTo(0L));
+        assertThat(storeWrites, empty());
+        assertThat(queue.size(), equalTo(throttlingQueueSize - 1));
+
+        beans.addAll(addBeans(queue, 1));
+
+        // The trimming thread passivated one batch itself
+        assertThat(monitor.getRejectedPassivationBatchCount(), equalTo((long) throttlingQueueSize - 1));
+        assertThat(monitor.getThrottledPassivationBatchCount(), equalTo(1L));
+        assertThat(monitor.getPassivationBatchCount(), equalTo(1L));
+        assertThat(storeWrites, contains(beans.get(throttlingQueueSize - 1), beans.get(throttlingQueueSize - 2), "commit"));
+        assertThat(queue.size(), equalTo(throttlingQueueSize - batchCount));
+        assertThat(monitor.getPassivationQueueSize(), equalTo(throttlingQueueSize - batchCount));
+
+        queue.passivate(Integer.MAX_VALUE);
+
+        List<Object> passivated = new ArrayList<>(storeWrites);
+        passivated.removeIf("commit"::equals);
+        assertThat(new HashSet<>(passivated), equalTo(new HashSet<>(beans)));
+        assertThat(passivated, hasSize(beans.size()));
+        assertThat(queue.size(), equalTo(0));
+        assertThat(monitor.getPassivationQueueSize(), equalTo(0));
+        assertThat(monitor.getPassivationBatchCount(), equalTo((long) throttlingQueueSize / batchCount + 1));
+    }
+
+    @Test
+    public void pollRemovesTheQueuedBeans() {
+        SFSBPassivationQueue queue = createQueue(4);
+        List<ComponentContext> beans = addBeans(queue, 2);
+
+        assertThat(queue.poll(), equalTo(beans.get(1)));
+        assertThat(queue.poll(), equalTo(beans.get(0)));
+        assertThat(queue.poll(), nullValue());
+        assertThat(monitor.getPassivationQueueSize(), equalTo(0));
+        assertThat(storeWrites, empty());
+    }
+
+    private SFSBPassivationQueue createQueue(int batchCount) {
+        Executor executor = task -> {
+            if (rejectTasks) {
+                throw new RejectedExecutionException("saturated");
+            }
+            tasks.add(task);
+        };
+        SFSBPassivationQueue queue = new SFSBPassivationQueue("Bean", getClass().getClassLoader(), executor,
+            ctx -> storeWrites.add(ctx), () -> () -> storeWrites.add("commit"));
+        queue.setBatchCount(batchCount);
+        queue.setStoreMonitor(monitor);
+        return queue;
+    }
+
+    private static List<ComponentContext> addBeans(SFSBPassivationQueue queue, int count) {
+        List<ComponentContext> beans = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ComponentContext bean = (ComponentContext) Proxy.newProxyInstance(ComponentContext.class.getClassLoader(),
+                new Class<?>[] {ComponentContext.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "bean@" + System.identityHashCode(proxy);
+                        default:
+                            return null;
+                    }
+                });
+            beans.add(bean);
+            queue.add(bean);
+        }
+        return beans;
+    }
+}
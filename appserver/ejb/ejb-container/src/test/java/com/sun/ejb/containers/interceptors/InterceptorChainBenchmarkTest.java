@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.interceptors;
+
+import jakarta.interceptor.InvocationContext;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Compares an around invoke chain of four interceptors called through generated invokers with the same chain called
+ * through {@link Method#invoke(Object, Object...)}.
+ */
+public class InterceptorChainBenchmarkTest {
+
+    private static final Class<?>[] INTERCEPTORS = {
+        FirstInterceptor.class, SecondInterceptor.class, ThirdInterceptor.class, FourthInterceptor.class};
+
+    @Test
+    public void aroundInvoke_benchmark() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupBatchSize(1).warmupForks(0).warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(1).forks(1).measurementTime(TimeValue.milliseconds(500L))
+            .threads(1).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.NANOSECONDS)
+            .mode(Mode.AverageTime).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+        Map<String, Double> scores = new HashMap<>();
+        for (RunResult result : results) {
+            scores.put(result.getParams().getBenchmark(), result.getPrimaryResult().getScore());
+        }
+        double reflective = scores.get(getClass().getName() + ".reflectiveChain");
+        double generated = scores.get(getClass().getName() + ".generatedChain");
+        assertThat(generated, lessThan(reflective));
+    }
+
+    @Benchmark
+    public Object reflectiveChain(ChainState state) throws Throwable {
+        return invoke(state, state.reflectiveChain);
+    }
+
+    @Benchmark
+    public Object generatedChain(ChainState state) throws Throwable {
+        return invoke(state, state.generatedChain);
+    }
+
+    private static Object invoke(ChainState state, InterceptorManager.InterceptorChain chain) throws Throwable {
+        AroundInvokeInvocationContext ctx = new AroundInvokeInvocationContext(
+            state.bean, state.interceptors, chain, state.beanMethod, new Object[] {state.value});
+        return chain.invokeNext(0, ctx);
+    }
+
+    @State(Scope.Thread)
+    public static class ChainState {
+
+        Object bean;
+        Object[] interceptors;
+        Method beanMethod;
+        Object value;
+        InterceptorManager.InterceptorChain reflectiveChain;
+        InterceptorManager.InterceptorChain generatedChain;
+
+        @Setup
+        public void createChains() throws Exception {
+            bean = new BenchmarkBean();
+            beanMethod = BenchmarkBean.class.getDeclaredMethod("echo", String.class);
+            value = "value";
+            interceptors = new Object[INTERCEPTORS.length];
+            Method[] methods = new Method[INTERCEPTORS.length];
+            AroundInvokeInterceptor[] aroundInvokeInterceptors = new AroundInvokeInterceptor[INTERCEPTORS.length];
+            for (int i = 0; i < INTERCEPTORS.length; i++) {
+                interceptors[i] = INTERCEPTORS[i].getDeclaredConstructor().newInstance();
+                methods[i] = INTERCEPTORS[i].getDeclaredMethod("aroundInvoke", InvocationContext.class);
+                aroundInvokeInterceptors[i] = new AroundInvokeInterceptor(i, methods[i]);
+            }
+            reflectiveChain = new ReflectiveChain(methods);
+            generatedChain = new AroundInvokeChainImpl(aroundInvokeInterceptors, beanMethod);
+        }
+    }
+
+    /**
+     * The chain as it was before the interceptors were resolved to method handles.
+     */
+    private static class ReflectiveChain implements InterceptorManager.InterceptorChain {
+
+        private final Method[] methods;
+
+        ReflectiveChain(Method[] methods) {
+            this.methods = methods;
+        }
+
+        @Override
+        public Object invokeNext(int index, InterceptorManager.AroundInvokeContext invCtx) throws Throwable {
+            if (index >= methods.length) {
+                return invCtx.invokeBeanMethod();
+            }
+            try {
+                return methods[index].invoke(invCtx.getInterceptorInstances()[index], invCtx);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    public static class FirstInterceptor {
+
+        private Object aroundInvoke(InvocationContext ctx) throws Exception {
+            return ctx.proceed();
+        }
+    }
+
+    public static class SecondInterceptor {
+
+        Object aroundInvoke(InvocationContext ctx) throws Exception {
+            return ctx.proceed();
+        }
+    }
+
+    public static class ThirdInterceptor {
+
+        protected Object aroundInvoke(InvocationContext ctx) throws Exception {
+            return ctx.proceed();
+        }
+    }
+
+    public static class FourthInterceptor {
+
+        public Object aroundInvoke(InvocationContext ctx) throws Exception {
+            return ctx.proceed();
+        }
+    }
+
+    public static class BenchmarkBean {
+
+        public String echo(String value) {
+            return value;
+        }
+    }
+}
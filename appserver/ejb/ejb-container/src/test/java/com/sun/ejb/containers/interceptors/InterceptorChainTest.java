@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.interceptors;
+
+import jakarta.interceptor.InvocationContext;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class InterceptorChainTest {
+
+    private final List<String> calls = new ArrayList<>();
+    private AroundInvokeChainImpl chain;
+
+    @Test
+    public void interceptorsAreCalledInOrderBeforeBeanMethod() throws Throwable {
+        Bean bean = new Bean(calls);
+        AroundInvokeInvocationContext ctx = createContext(bean, "add", new Object[] {1L, 2L});
+
+        Object result = invoke(ctx);
+        assertAll(
+            () -> assertThat(result, equalTo(3L)),
+            () -> assertThat(calls, contains("first", "second", "bean-around", "add"))
+        );
+    }
+
+    @Test
+    public void parametersSetByInterceptorAreConverted() throws Throwable {
+        Bean bean = new Bean(calls);
+        bean.widen = true;
+        AroundInvokeInvocationContext ctx = createContext(bean, "add", new Object[] {1L, 2L});
+        // Integer parameters of a long method are widened as with reflection
+        assertThat(invoke(ctx), equalTo(20L));
+    }
+
+    @Test
+    public void exceptionOfBeanMethodIsNotWrapped() throws Throwable {
+        Bean bean = new Bean(calls);
+        AroundInvokeInvocationContext ctx = createContext(bean, "fail", new Object[0]);
+        IOException e = assertThrows(IOException.class, () -> invoke(ctx));
+        assertThat(e, sameInstance(bean.failure));
+    }
+
+    @Test
+    public void proceedCanBeCalledAgain() throws Throwable {
+        Bean bean = new Bean(calls);
+        bean.retry = true;
+        AroundInvokeInvocationContext ctx = createContext(bean, "add", new Object[] {1L, 2L});
+        invoke(ctx);
+        assertThat(calls, contains("first", "second", "bean-around", "add", "bean-around", "add"));
+    }
+
+    @Test
+    public void invokerIsGeneratedOncePerMethod() throws Exception {
+        Method method = FirstInterceptor.class.getDeclaredMethod("aroundInvoke", InvocationContext.class);
+        AroundInvokeInterceptor first = new AroundInvokeInterceptor(0, method);
+        AroundInvokeInterceptor second = new AroundInvokeInterceptor(1, method);
+        assertAll(
+            () -> assertThat(first.invoker, sameInstance(second.invoker)),
+            () -> assertThat(first.invoker.getClass().getClassLoader(), sameInstance(FirstInterceptor.class.getClassLoader())),
+            () -> assertThat(first.invoker.getClass().getPackageName(), equalTo(FirstInterceptor.class.getPackageName()))
+        );
+    }
+
+    @Test
+    public void callbacksAreCalledBeforeBeanCallback() throws Throwable {
+        Bean bean = new Bean(calls);
+        CallbackChainImpl callbackChain = new CallbackChainImpl(new CallbackInterceptor[] {
+            new CallbackInterceptor(0, FirstInterceptor.class.getDeclaredMethod("postConstruct", InvocationContext.class)),
+            new BeanCallbackInterceptor(Bean.class.getDeclaredMethod("init"))
+        });
+        Object[] interceptors = {new FirstInterceptor(calls)};
+        callbackChain.invokeNext(0, new CallbackInvocationContext(bean, interceptors, callbackChain));
+        assertThat(calls, contains("first-post-construct", "init"));
+    }
+
+    private AroundInvokeInvocationContext createContext(Bean bean, String methodName, Object[] params) throws Exception {
+        Method beanMethod = methodName.equals("add")
+            ? Bean.class.getDeclaredMethod(methodName, long.class, long.class)
+            : Bean.class.getDeclaredMethod(methodName);
+        chain = new AroundInvokeChainImpl(new AroundInvokeInterceptor[] {
+            new AroundInvokeInterceptor(0, FirstInterceptor.class.getDeclaredMethod("aroundInvoke", InvocationContext.class)),
+            new AroundInvokeInterceptor(1, SecondInterceptor.class.getDeclaredMethod("aroundInvoke", InvocationContext.class)),
+            new BeanAroundInvokeInterceptor(Bean.class.getDeclaredMethod("aroundInvoke", InvocationContext.class))
+        }, beanMethod);
+        Object[] interceptors = {new FirstInterceptor(calls), new SecondInterceptor(calls)};
+        return new AroundInvokeInvocationContext(bean, interceptors, chain, beanMethod, params);
+    }
+
+    private Object invoke(AroundInvokeInvocationContext ctx) throws Throwable {
+        return chain.invokeNext(0, ctx);
+    }
+
+    public static class FirstInterceptor {
+
+        private final List<String> calls;
+
+        FirstInterceptor(List<String> calls) {
+            this.calls = calls;
+        }
+
+        private Object aroundInvoke(InvocationContext ctx) throws Exception {
+            calls.add("first");
+            return ctx.proceed();
+        }
+
+        void postConstruct(InvocationContext ctx) throws Exception {
+            calls.add("first-post-construct");
+            ctx.proceed();
+        }
+    }
+
+    public static class SecondInterceptor {
+
+        private final List<String> calls;
+
+        SecondInterceptor(List<String> calls) {
+            this.calls = calls;
+        }
+
+        Object aroundInvoke(InvocationContext ctx) throws Exception {
+            calls.add("second");
+            Object result = ctx.proceed();
+            if (((Bean) ctx.getTarget()).retry) {
+                ((Bean) ctx.getTarget()).retry = false;
+                result = ctx.proceed();
+            }
+            return result;
+        }
+    }
+
+    public static class Bean {
+
+        private final List<String> calls;
+        final IOException failure = new IOException("Bean method failed");
+        boolean widen;
+        boolean retry;
+
+        Bean(List<String> calls) {
+            this.calls = calls;
+        }
+
+        private Object aroundInvoke(InvocationContext ctx) throws Exception {
+            calls.add("bean-around");
+            if (widen) {
+                ctx.setParameters(new Object[] {Integer.valueOf(10), Integer.valueOf(10)});
+            }
+            return ctx.proceed();
+        }
+
+        private long add(long a, long b) {
+            calls.add("add");
+            return a + b;
+        }
+
+        private void fail() throws IOException {
+            throw failure;
+        }
+
+        private void init() {
+            calls.add("init");
+        }
+    }
+}
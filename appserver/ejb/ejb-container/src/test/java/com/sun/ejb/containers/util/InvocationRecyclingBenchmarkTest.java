@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util;
+
+import com.sun.ejb.Container;
+import com.sun.ejb.EjbInvocation;
+import com.sun.ejb.EjbInvocationFactory;
+import com.sun.enterprise.deployment.Application;
+import com.sun.enterprise.deployment.EjbDescriptor;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.api.invocation.InvocationManager;
+import org.glassfish.api.invocation.InvocationManagerImpl;
+import org.glassfish.ejb.deployment.descriptor.EjbBundleDescriptorImpl;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Measures the bytes allocated by one local call, as the {@link EjbInvocation} is filled the way
+ * the local invocation handler fills it and pushed to and popped from the invocation manager
+ * around the call of the bean method, with a new invocation per call and with an invocation
+ * recycled by the {@link EjbInvocationFactory} the way the container recycles the invocations
+ * of the local calls of stateless session beans.
+ */
+public class InvocationRecyclingBenchmarkTest {
+
+    private static final String GC_ALLOC_RATE_NORM = "gc.alloc.rate.norm";
+
+    @Test
+    public void allocation_benchmark() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupBatchSize(1).warmupForks(0).warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(1).forks(1).measurementTime(TimeValue.milliseconds(500L))
+            .timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.NANOSECONDS)
+            .addProfiler(GCProfiler.class)
+            .mode(Mode.AverageTime).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+        Map<String, Double> bytesPerCall = new HashMap<>();
+        for (RunResult result : results) {
+            bytesPerCall.put(result.getParams().getBenchmark(),
+                result.getSecondaryResults().get(GC_ALLOC_RATE_NORM).getScore());
+        }
+        double allocated = bytesPerCall.get(getClass().getName() + ".newInvocation");
+        double recycled = bytesPerCall.get(getClass().getName() + ".recycledInvocation");
+        // Nothing is allocated on the recycled path, besides the noise of the profiler.
+        assertThat(recycled, lessThan(16d));
+        assertThat(recycled, lessThan(allocated));
+    }
+
+    @Benchmark
+    public int newInvocation(CallState state) {
+        return state.call(state.invFactory.create());
+    }
+
+    @Benchmark
+    public int recycledInvocation(CallState state) {
+        EjbInvocation inv = state.invFactory.createRecyclable();
+        int result = state.call(inv);
+        state.invFactory.recycle(inv);
+        return result;
+    }
+
+    @State(Scope.Thread)
+    public static class CallState {
+
+        final InvocationManager invocationManager = new InvocationManagerImpl();
+        final Bean bean = new Bean();
+        final Object[] args = new Object[0];
+        Method method;
+        EjbInvocationFactory invFactory;
+
+        @Setup
+        public void setup() throws Exception {
+            method = Bean.class.getDeclaredMethod("increment");
+            invFactory = new EjbInvocationFactory("benchmark", createContainer());
+        }
+
+        int call(EjbInvocation inv) {
+            inv.isLocal = true;
+            inv.isBusinessInterface = true;
+            inv.method = method;
+            inv.beanMethod = method;
+            inv.methodParams = args;
+            inv.ejb = bean;
+            inv.instance = bean;
+            invocationManager.preInvoke(inv);
+            try {
+                return bean.increment();
+            } finally {
+                invocationManager.postInvoke(inv);
+            }
+        }
+    }
+
+    public static class Bean {
+
+        private int count;
+
+        public int increment() {
+            return ++count;
+        }
+    }
+
+    /**
+     * @return container of an ejb module of an application, answering nothing but the
+     *         descriptor asked by the constructor of the {@link EjbInvocation}
+     */
+    private static Container createContainer() throws Exception {
+        Constructor<Application> constructor = Application.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        Application application = constructor.newInstance();
+        application.setAppName("benchmark");
+
+        EjbBundleDescriptorImpl bundle = new EjbBundleDescriptorImpl();
+        bundle.setApplication(application);
+        bundle.getModuleDescriptor().setArchiveUri("benchmark.jar");
+
+        EjbDescriptor ejbDescriptor = stub(EjbDescriptor.class, "getEjbBundleDescriptor", bundle);
+        return stub(Container.class, "getEjbDescriptor", ejbDescriptor);
+    }
+
+    private static <T> T stub(Class<T> type, String getter, Object value) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+            (proxy, method, args) -> {
+                if (method.getName().equals(getter)) {
+                    return value;
+                }
+                if (method.getDeclaringClass() == Object.class) {
+                    return method.invoke(value, args);
+                }
+                throw new UnsupportedOperationException(method.toString());
+            }));
+    }
+}
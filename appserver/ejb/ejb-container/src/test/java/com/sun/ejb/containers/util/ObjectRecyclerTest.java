@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ObjectRecyclerTest {
+
+    private final ObjectRecycler<Object> recycler = new ObjectRecycler<>(1);
+
+    @Test
+    public void emptyRecyclerHasNothingToTake() {
+        assertThat(recycler.take(), nullValue());
+    }
+
+    @Test
+    public void returnedObjectIsTakenAgain() {
+        Object object = new Object();
+        assertTrue(recycler.put(object));
+        assertThat(recycler.take(), sameInstance(object));
+        assertThat(recycler.take(), nullValue());
+    }
+
+    @Test
+    public void nestedCallsFindTheirObjects() {
+        Object outer = new Object();
+        Object inner = new Object();
+        assertTrue(recycler.put(outer));
+        assertTrue(recycler.put(inner));
+        Object first = recycler.take();
+        Object second = recycler.take();
+        assertTrue(first == outer && second == inner || first == inner && second == outer);
+    }
+
+    @Test
+    public void objectIsDroppedWhenSlotsAreFull() {
+        assertTrue(recycler.put(new Object()));
+        assertTrue(recycler.put(new Object()));
+        assertFalse(recycler.put(new Object()));
+    }
+
+    @Test
+    public void clearDropsAllObjects() {
+        recycler.put(new Object());
+        recycler.clear();
+        assertThat(recycler.take(), nullValue());
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Compares the read locks of the fair {@link ReentrantReadWriteLock} and the
+ * {@link ReaderBiasedReadWriteLock} under contention, as concurrent invocations of a read method
+ * of a singleton acquire them.
+ */
+public class ReadWriteLockBenchmarkTest {
+
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    @Test
+    public void readLock_benchmark() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupBatchSize(1).warmupForks(0).warmupIterations(1).warmupTime(TimeValue.milliseconds(200L))
+            .measurementIterations(1).forks(1).measurementTime(TimeValue.milliseconds(500L))
+            .threads(THREADS).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.NANOSECONDS)
+            .mode(Mode.AverageTime).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+        Map<String, Double> scores = new HashMap<>();
+        for (RunResult result : results) {
+            scores.put(result.getParams().getBenchmark(), result.getPrimaryResult().getScore());
+        }
+        double fair = scores.get(getClass().getName() + ".fairLock");
+        double readerBiased = scores.get(getClass().getName() + ".readerBiasedLock");
+        // Loose bound, the difference depends on the number of cores of the machine.
+        assertThat(readerBiased, lessThan(fair * 2));
+    }
+
+    @Benchmark
+    public boolean fairLock(LockState state) {
+        return readAndRelease(state.fairReadLock);
+    }
+
+    @Benchmark
+    public boolean readerBiasedLock(LockState state) {
+        return readAndRelease(state.readerBiasedReadLock);
+    }
+
+    private static boolean readAndRelease(Lock lock) {
+        lock.lock();
+        try {
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class LockState {
+
+        final Lock fairReadLock = new ReentrantReadWriteLock(true).readLock();
+        final Lock readerBiasedReadLock = new ReaderBiasedReadWriteLock().readLock();
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Timeout(10)
+public class ReaderBiasedReadWriteLockTest {
+
+    private final ReaderBiasedReadWriteLock lock = new ReaderBiasedReadWriteLock(4);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void readersShareTheBiasedLock() throws Exception {
+        lock.readLock().lock();
+        try {
+            assertTrue(executor.submit(() -> {
+                boolean locked = lock.readLock().tryLock();
+                if (locked) {
+                    lock.readLock().unlock();
+                }
+                return locked;
+            }).get());
+            assertTrue(lock.isReadBiased());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Test
+    public void writerWaitsForBiasedReaders() throws Exception {
+        lock.readLock().lock();
+        try {
+            assertFalse(executor.submit(() -> tryWriteLock(50L)).get());
+        } finally {
+            lock.readLock().unlock();
+        }
+        assertTrue(executor.submit(() -> tryWriteLock(50L)).get());
+    }
+
+    @Test
+    public void readerWaitsForWriter() throws Exception {
+        lock.writeLock().lock();
+        try {
+            assertFalse(lock.isReadBiased());
+            assertFalse(executor.submit(() -> tryReadLock(50L)).get());
+            assertFalse(executor.submit(() -> lock.readLock().tryLock()).get());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        assertTrue(executor.submit(() -> tryReadLock(50L)).get());
+    }
+
+    @Test
+    public void locksAreReentrant() {
+        lock.readLock().lock();
+        lock.readLock().lock();
+        assertThat(lock.getReadHoldCount(), equalTo(2));
+        assertThrows(IllegalMonitorStateException.class, () -> lock.writeLock().tryLock());
+        lock.readLock().unlock();
+        lock.readLock().unlock();
+        assertThat(lock.getReadHoldCount(), equalTo(0));
+        assertThrows(IllegalMonitorStateException.class, () -> lock.readLock().unlock());
+
+        lock.writeLock().lock();
+        lock.writeLock().lock();
+        lock.readLock().lock();
+        assertAll(
+            () -> assertTrue(lock.isWriteLockedByCurrentThread()),
+            () -> assertThat(lock.getReadHoldCount(), equalTo(1))
+        );
+        lock.readLock().unlock();
+        lock.writeLock().unlock();
+        assertTrue(lock.isWriteLockedByCurrentThread());
+        lock.writeLock().unlock();
+        assertFalse(lock.isWriteLockedByCurrentThread());
+    }
+
+    @Test
+    public void readersRestoreTheBias() throws Exception {
+        lock.writeLock().lock();
+        lock.writeLock().unlock();
+        assertFalse(lock.isReadBiased());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5L);
+        while (!lock.isReadBiased() && System.nanoTime() < deadline) {
+            lock.readLock().lock();
+            lock.readLock().unlock();
+            Thread.sleep(1L);
+        }
+        assertTrue(lock.isReadBiased());
+        assertTrue(executor.submit(() -> tryWriteLock(50L)).get());
+    }
+
+    @Test
+    public void writersExcludeReadersAndWriters() throws Exception {
+        int[] pair = new int[2];
+        AtomicInteger inconsistentReads = new AtomicInteger();
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final boolean writer = t % 4 == 0;
+            results.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 20_000; i++) {
+                    if (writer && i % 10 == 0) {
+                        lock.writeLock().lock();
+                        try {
+                            pair[0]++;
+                            pair[1]++;
+                        } finally {
+                            lock.writeLock().unlock();
+                        }
+                    } else {
+                        lock.readLock().lock();
+                        try {
+                            if (pair[0] != pair[1]) {
+                                inconsistentReads.incrementAndGet();
+                            }
+                        } finally {
+                            lock.readLock().unlock();
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get();
+        }
+        assertAll(
+            () -> assertThat(inconsistentReads.get(), equalTo(0)),
+            () -> assertThat(pair[0], equalTo(2 * 2_000)),
+            () -> assertThat(pair[1], equalTo(2 * 2_000))
+        );
+    }
+
+    private boolean tryWriteLock(long millis) throws InterruptedException {
+        boolean locked = lock.writeLock().tryLock(millis, TimeUnit.MILLISECONDS);
+        if (locked) {
+            lock.writeLock().unlock();
+        }
+        return locked;
+    }
+
+    private boolean tryReadLock(long millis) throws InterruptedException {
+        boolean locked = lock.readLock().tryLock(millis, TimeUnit.MILLISECONDS);
+        if (locked) {
+            lock.readLock().unlock();
+        }
+        return locked;
+    }
+}
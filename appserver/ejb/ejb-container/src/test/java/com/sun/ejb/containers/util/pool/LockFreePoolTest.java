@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.monitoring.probes.EjbPoolProbeProvider;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@Timeout(10)
+public class LockFreePoolTest {
+
+    private final CountingFactory factory = new CountingFactory();
+
+    @Test
+    public void returnedInstanceIsReused() {
+        LockFreePool pool = createPool(0, 10, 1);
+        Object first = pool.getObject(null);
+        pool.returnObject(first);
+        assertAll(
+            () -> assertSame(first, pool.getObject(null)),
+            () -> assertThat(factory.created.get(), equalTo(1)),
+            () -> assertThat(pool.getCreatedCount(), equalTo(1)),
+            () -> assertThat(pool.getPoolSuccess(), equalTo(1))
+        );
+    }
+
+    @Test
+    public void instancesOverMaxPoolSizeAreDestroyed() {
+        LockFreePool pool = createPool(0, 2, 4);
+        List<Object> instances = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            instances.add(pool.getObject(null));
+        }
+        instances.forEach(pool::returnObject);
+        assertAll(
+            () -> assertThat(pool.getSize(), equalTo(2)),
+            () -> assertThat(factory.destroyed.get(), equalTo(1)),
+            () -> assertThat(pool.getDestroyedCount(), equalTo(1))
+        );
+    }
+
+    @Test
+    public void emptyStripeTakesInstancesOfOtherStripes() throws Exception {
+        LockFreePool pool = createPool(0, 10, 4);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Object instance = executor.submit(() -> pool.getObject(null)).get();
+            executor.submit(() -> pool.returnObject(instance)).get();
+        } finally {
+            executor.shutdown();
+        }
+        pool.getObject(null);
+        assertThat(factory.created.get(), equalTo(1));
+    }
+
+    @Test
+    public void prepopulateFillsSteadyPoolSize() {
+        LockFreePool pool = createPool(0, 3, 2);
+        pool.prepopulate(5);
+        assertAll(
+            () -> assertThat(pool.getSteadyPoolSize(), equalTo(3)),
+            () -> assertThat(pool.getSize(), equalTo(3)),
+            () -> assertThat(factory.created.get(), equalTo(3))
+        );
+    }
+
+    @Test
+    public void resizeRefillsSteadyPoolSize() {
+        LockFreePool pool = createPool(4, 10, 2);
+        pool.doResize();
+        assertThat(pool.getSize(), equalTo(4));
+
+        Object instance = pool.getObject(null);
+        pool.doResize();
+        pool.returnObject(instance);
+        assertThat(pool.getSize(), equalTo(5));
+    }
+
+    @Test
+    public void idleInstancesOverSteadyPoolSizeAreRemoved() {
+        LockFreePool pool = new LockFreePool(1L, "idle-pool", factory, 1, 2, 10, 1, null, 2);
+        pool.poolProbeNotifier = new EjbPoolProbeProvider();
+        List<Object> instances = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            instances.add(pool.getObject(null));
+        }
+        instances.forEach(pool::returnObject);
+
+        pool.doResize();
+        assertThat(pool.getSize(), equalTo(3));
+        pool.doResize();
+        assertThat(pool.getSize(), equalTo(1));
+        pool.doResize();
+        assertThat(pool.getSize(), equalTo(1));
+        pool.close();
+    }
+
+    @Test
+    public void failedCreationIsNotCounted() {
+        LockFreePool pool = createPool(0, 10, 1);
+        factory.failing = true;
+        assertThrows(PoolException.class, () -> pool.getObject(null));
+        assertThat(pool.getCreatedCount(), equalTo(0));
+    }
+
+    @Test
+    public void closeDestroysFreeInstances() {
+        LockFreePool pool = createPool(0, 10, 2);
+        Object first = pool.getObject(null);
+        Object second = pool.getObject(null);
+        pool.returnObject(first);
+        pool.close();
+        pool.returnObject(second);
+        assertAll(
+            () -> assertThat(pool.getSize(), equalTo(0)),
+            () -> assertThat(factory.destroyed.get(), equalTo(2))
+        );
+    }
+
+    @Test
+    public void concurrentCallersNeverShareInstance() throws Exception {
+        LockFreePool pool = createPool(0, 8, 4);
+        Set<Object> inUse = java.util.concurrent.ConcurrentHashMap.newKeySet();
+        AtomicInteger shared = new AtomicInteger();
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 10_000; i++) {
+                    Object instance = pool.getObject(null);
+                    if (!inUse.add(instance)) {
+                        shared.incrementAndGet();
+                    }
+                    inUse.remove(instance);
+                    pool.returnObject(instance);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        Set<Object> free = new HashSet<>();
+        for (int i = pool.getSize(); i > 0; i--) {
+            free.add(pool.getObject(null));
+        }
+        assertAll(
+            () -> assertThat(shared.get(), equalTo(0)),
+            () -> assertThat(pool.getSize(), equalTo(0)),
+            () -> assertThat(free.size(), lessThanOrEqualTo(8)),
+            () -> assertThat(factory.created.get() - factory.destroyed.get(), equalTo(free.size()))
+        );
+    }
+
+    private LockFreePool createPool(int steadyPoolSize, int maxPoolSize, int parallelism) {
+        // Idle timeout 0 schedules no timer, resize is called directly by the tests.
+        LockFreePool pool = new LockFreePool(1L, "test-pool", factory, steadyPoolSize, 1, maxPoolSize, 0, null, parallelism);
+        pool.poolProbeNotifier = new EjbPoolProbeProvider();
+        return pool;
+    }
+
+    private static class CountingFactory implements ObjectFactory {
+
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger destroyed = new AtomicInteger();
+        volatile boolean failing;
+
+        @Override
+        public Object create(Object param) throws PoolException {
+            if (failing) {
+                throw new PoolException("Cannot create the instance");
+            }
+            created.incrementAndGet();
+            return new Object();
+        }
+
+        @Override
+        public void destroy(Object object) {
+            destroyed.incrementAndGet();
+        }
+    }
+}
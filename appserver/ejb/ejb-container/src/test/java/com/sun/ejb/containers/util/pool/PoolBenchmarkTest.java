@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.monitoring.probes.EjbPoolProbeProvider;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Compares the {@link NonBlockingPool} and the {@link LockFreePool} under contention, every
+ * operation takes an instance and returns it as a stateless session bean invocation does.
+ */
+public class PoolBenchmarkTest {
+
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    @Test
+    public void getAndReturn_benchmark() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupBatchSize(1).warmupForks(0).warmupIterations(1).warmupTime(TimeValue.milliseconds(200L))
+            .measurementIterations(1).forks(1).measurementTime(TimeValue.milliseconds(500L))
+            .threads(THREADS).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.NANOSECONDS)
+            .mode(Mode.AverageTime).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+        Map<String, Double> scores = new HashMap<>();
+        for (RunResult result : results) {
+            scores.put(result.getParams().getBenchmark(), result.getPrimaryResult().getScore());
+        }
+        double nonBlocking = scores.get(getClass().getName() + ".nonBlockingPool");
+        double lockFree = scores.get(getClass().getName() + ".lockFreePool");
+        // Loose bound, the difference depends on the number of cores of the machine.
+        assertThat(lockFree, lessThan(nonBlocking * 2));
+    }
+
+    @Benchmark
+    public Object nonBlockingPool(PoolState state) {
+        return getAndReturn(state.nonBlockingPool);
+    }
+
+    @Benchmark
+    public Object lockFreePool(PoolState state) {
+        return getAndReturn(state.lockFreePool);
+    }
+
+    private static Object getAndReturn(AbstractPool pool) {
+        Object instance = pool.getObject(null);
+        pool.returnObject(instance);
+        return instance;
+    }
+
+    @State(Scope.Benchmark)
+    public static class PoolState {
+
+        AbstractPool nonBlockingPool;
+        AbstractPool lockFreePool;
+
+        @Setup
+        public void createPools() {
+            // No steady size and no idle timeout, so no resize work is scheduled.
+            nonBlockingPool = new NonBlockingPool(1L, "non-blocking", new BenchmarkFactory(), 0, 1, 64, 0, null);
+            nonBlockingPool.poolProbeNotifier = new EjbPoolProbeProvider();
+            lockFreePool = new LockFreePool(2L, "lock-free", new BenchmarkFactory(), 0, 1, 64, 0, null);
+            lockFreePool.poolProbeNotifier = new EjbPoolProbeProvider();
+        }
+
+        @TearDown
+        public void closePools() {
+            nonBlockingPool.close();
+            lockFreePool.close();
+        }
+    }
+
+    private static class BenchmarkFactory implements ObjectFactory {
+
+        @Override
+        public Object create(Object param) throws PoolException {
+            return new Object();
+        }
+
+        @Override
+        public void destroy(Object object) {
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.monitoring.stats;
+
+import com.sun.ejb.containers.EjbThreadPoolExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EjbThreadPoolStatsProviderTest {
+
+    private final EjbThreadPoolExecutor executor = new EjbThreadPoolExecutor(1, 1, 60,
+        new LinkedBlockingQueue<Runnable>(2), "test-bulkhead");
+    private final EjbThreadPoolStatsProvider provider = new EjbThreadPoolStatsProvider(executor, "app", "bulkhead");
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void newProviderReportsIdlePool() {
+        assertThat(provider.getQueueSize().getCurrent(), equalTo(0L));
+        assertThat(provider.getQueueSize().getUpperBound(), equalTo(2L));
+        assertThat(provider.getActiveThreads().getCurrent(), equalTo(0L));
+        assertThat(provider.getActiveThreads().getUpperBound(), equalTo(1L));
+        assertThat(provider.getRejectedTaskCount().getCount(), equalTo(0L));
+    }
+
+    @Test
+    public void rejectedTasksAreReported() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        executor.execute(() -> { });
+        executor.execute(() -> { });
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+
+        assertThat(provider.getActiveThreads().getCurrent(), equalTo(1L));
+        assertThat(provider.getQueueSize().getCurrent(), equalTo(2L));
+        assertThat(provider.getRejectedTaskCount().getCount(), equalTo(2L));
+
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertThat(provider.getQueueSize().getCurrent(), equalTo(0L));
+        assertThat(provider.getCompletedTaskCount().getCount(), equalTo(3L));
+        assertThat(provider.getRejectedTaskCount().getCount(), equalTo(2L));
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.ejb.monitoring.stats;
+
+import com.sun.ejb.base.stats.StatefulSessionStoreMonitor;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class StatefulSessionPassivationStatsProviderTest {
+
+    private final StatefulSessionStoreMonitor monitor = new StatefulSessionStoreMonitor();
+    private final StatefulSessionPassivationStatsProvider provider =
+        new StatefulSessionPassivationStatsProvider(monitor, "app", "module.jar", "Bean");
+
+    @Test
+    public void newProviderReportsNoPassivation() {
+        assertThat(provider.getPassivationQueueSize().getCurrent(), equalTo(0L));
+        assertThat(provider.getPassivationBatchCount().getCount(), equalTo(0L));
+        assertThat(provider.getAveragePassivationBatchSize().getCurrent(), equalTo(0L));
+    }
+
+    @Test
+    public void providerReadsTheStoreMonitor() {
+        monitor.setPassivationQueueSize(7);
+        monitor.incrementPassivationBatchCount(4);
+        monitor.incrementPassivationBatchCount(8);
+        monitor.incrementRejectedPassivationBatchCount();
+        monitor.incrementThrottledPassivationBatchCount();
+        monitor.incrementThrottledPassivationBatchCount();
+
+        assertThat(provider.getPassivationQueueSize().getCurrent(), equalTo(7L));
+        assertThat(provider.getPassivationBatchCount().getCount(), equalTo(2L));
+        assertThat(provider.getAveragePassivationBatchSize().getCurrent(), equalTo(6L));
+        assertThat(provider.getRejectedPassivationBatchCount().getCount(), equalTo(1L));
+        assertThat(provider.getThrottledPassivationBatchCount().getCount(), equalTo(2L));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -32,6 +32,7 @@ import com.sun.ejb.containers.EJBTimerService;
 import com.sun.ejb.containers.EjbContainerUtilImpl;
 import com.sun.ejb.containers.RuntimeTimerState;
 import com.sun.ejb.containers.util.pool.AbstractPool;
+import com.sun.ejb.containers.util.pool.LockFreePool;
 import com.sun.ejb.containers.util.pool.NonBlockingPool;
 import com.sun.ejb.containers.util.pool.ObjectFactory;
 import com.sun.ejb.monitoring.stats.EjbMonitoringStatsProvider;
@@ -248,7 +249,9 @@ public final class MessageBeanContainer extends BaseContainer implements Message
     public void startApplication(boolean deploy) {
         super.startApplication(deploy);
 
-        if (messageBeanPool instanceof NonBlockingPool) {
+        if (messageBeanPool instanceof LockFreePool) {
+            ((LockFreePool) messageBeanPool).prepopulate(beanPoolDescriptor.getSteadyPoolSize());
+        } else if (messageBeanPool instanceof NonBlockingPool) {
             NonBlockingPool nonBlockingPool = (NonBlockingPool) messageBeanPool;
             nonBlockingPool.prepopulate(beanPoolDescriptor.getSteadyPoolSize());
         }
@@ -356,17 +359,30 @@ public final class MessageBeanContainer extends BaseContainer implements Message
         // The protocol manager implementation enforces a limit
         // on message bean resources independent of the pool.
 
-        messageBeanPool =
-            new NonBlockingPool(
-                getContainerId(),
-                appEJBName_,
-                new MessageBeanContextFactory(),
-                beanPoolDescriptor.getSteadyPoolSize(),
-                beanPoolDescriptor.getPoolResizeQuantity(),
-                beanPoolDescriptor.getMaxPoolSize(),
-                beanPoolDescriptor.getPoolIdleTimeoutInSeconds(),
-                loader,
-                Boolean.parseBoolean(descriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(SINGLETON_BEAN_POOL_PROP)));
+        if (Boolean.parseBoolean(descriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(SINGLETON_BEAN_POOL_PROP))) {
+            messageBeanPool =
+                new NonBlockingPool(
+                    getContainerId(),
+                    appEJBName_,
+                    new MessageBeanContextFactory(),
+                    beanPoolDescriptor.getSteadyPoolSize(),
+                    beanPoolDescriptor.getPoolResizeQuantity(),
+                    beanPoolDescriptor.getMaxPoolSize(),
+                    beanPoolDescriptor.getPoolIdleTimeoutInSeconds(),
+                    loader,
+                    true);
+        } else {
+            messageBeanPool =
+                new LockFreePool(
+                    getContainerId(),
+                    appEJBName_,
+                    new MessageBeanContextFactory(),
+                    beanPoolDescriptor.getSteadyPoolSize(),
+                    beanPoolDescriptor.getPoolResizeQuantity(),
+                    beanPoolDescriptor.getMaxPoolSize(),
+                    beanPoolDescriptor.getPoolIdleTimeoutInSeconds(),
+                    loader);
+        }
     }
 
     protected static int stringToInt(String val, String appName, Logger logger) {
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ejb.persistent.timer;
+
+import com.sun.ejb.containers.EjbContainerUtil;
+import com.sun.ejb.containers.TimerPrimaryKey;
+import com.sun.logging.LogDomains;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Collects the last expirations of the periodic persistent timers delivered
+ * by this server instance and writes the expirations of a time window to the
+ * database in one transaction, instead of updating the timer in the
+ * transaction of each ejbTimeout.
+ *
+ * <p>Only the most recent expiration of each timer is kept. If the server
+ * instance stops before an expiration is written, the timer is rescheduled
+ * as a missed expiration on restore.
+ */
+class LastExpirationUpdater extends TimerTask {
+
+    private static final Logger logger =
+        LogDomains.getLogger(LastExpirationUpdater.class, LogDomains.EJB_LOGGER);
+
+    // Keeps the IN list of the query within the limits of all databases
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private final TimerLocal timerLocal;
+    private final EjbContainerUtil ejbContainerUtil;
+    private final Map<String, Long> lastExpirations = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    LastExpirationUpdater(TimerLocal timerLocal, EjbContainerUtil ejbContainerUtil) {
+        this.timerLocal = timerLocal;
+        this.ejbContainerUtil = ejbContainerUtil;
+    }
+
+    void add(TimerPrimaryKey timerId, long lastExpiration) {
+        lastExpirations.merge(timerId.getTimerId(), lastExpiration, Math::max);
+    }
+
+    /**
+     * Hands over the flush to the ejb thread pool, so that the database
+     * access does not hold up the other tasks of the shared timer.
+     */
+    @Override
+    public void run() {
+        if (lastExpirations.isEmpty() || !flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        Runnable flush = () -> {
+            try {
+                flush();
+            } finally {
+                flushScheduled.set(false);
+            }
+        };
+        ThreadPoolExecutor executor = ejbContainerUtil.getThreadPoolExecutor(null);
+        try {
+            if (executor != null) {
+                executor.execute(flush);
+                return;
+            }
+        } catch (RejectedExecutionException e) {
+            logger.log(Level.FINE, "ejb thread pool rejected the flush of last expirations", e);
+        }
+        flush.run();
+    }
+
+    /**
+     * Writes all collected expirations to the database. On failure the
+     * expirations are kept for the next flush.
+     */
+    synchronized void flush() {
+        Map<String, Long> batch = new HashMap<>();
+        for (Map.Entry<String, Long> entry : lastExpirations.entrySet()) {
+            String timerId = entry.getKey();
+            Long lastExpiration = entry.getValue();
+            // Keeps an expiration added in the meantime for the next flush
+            if (lastExpirations.remove(timerId, lastExpiration)) {
+                batch.put(timerId, lastExpiration);
+            }
+            if (batch.size() == MAX_BATCH_SIZE) {
+                if (!write(batch)) {
+                    return;
+                }
+                batch = new HashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private boolean write(Map<String, Long> batch) {
+        try {
+            int updated = timerLocal.updateLastExpirations(batch);
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Updated last expiration of " + updated +
+                           " of " + batch.size() + " timers");
+            }
+            return true;
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Cannot update the last expiration of " +
+                       batch.size() + " timers, will retry", e);
+            batch.forEach((timerId, lastExpiration) ->
+                lastExpirations.merge(timerId, lastExpiration, Math::max));
+            return false;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to Eclipse Foundation. All rights reserved.
+ * Copyright (c) 2022, 2026 Contributors to Eclipse Foundation. All rights reserved.
  * Copyright (c) 2011, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -51,6 +51,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TimerTask;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -112,6 +113,27 @@ public class PersistentEJBTimerService extends EJBTimerService {
     // Possible values "redeliver" and "stop"
     private String operationOnConnectionFailure;
 
+    // Number of timers read in one transaction on restore and migration.
+    // Bounded by the size of the IN list used for migration.
+    private static final String RESTORE_PAGE_SIZE = "timer-restore-page-size";
+    private static final int MAX_RESTORE_PAGE_SIZE = 1000;
+    private int restorePageSize = 500;
+
+    // If set, the last expirations of periodic timers are collected for that
+    // many milliseconds and written in one transaction, instead of within the
+    // transaction of each ejbTimeout.
+    private static final String LAST_EXPIRATION_BATCH_WINDOW = "last-expiration-batch-window-in-millis";
+    private long lastExpirationBatchWindow;
+    private LastExpirationUpdater lastExpirationUpdater;
+
+    // Duration of the lease of the timers owned by this server instance.
+    // The lease is renewed after half of the duration.
+    private static final String LEASE_DURATION = "timer-lease-duration-in-millis";
+    private long leaseDuration = 60000L;
+    private TimerTask leaseRenewalTask;
+    private final TimerMigrationRetry migrationRetry =
+        new TimerMigrationRetry(ejbContainerUtil, owner -> migrateTimers(owner, false));
+
     private PersistentEJBTimerService(String ejbName, boolean removeOldTimers) throws Exception {
         super();
 
@@ -129,6 +151,15 @@ public class PersistentEJBTimerService extends EJBTimerService {
         // The default value for ReadDBBeforeTimeout in case of PE
         // is false.
         setPerformDBReadBeforeTimeout(!isDas);
+
+        if (lastExpirationBatchWindow > 0) {
+            lastExpirationUpdater = new LastExpirationUpdater(timerLocal_, ejbContainerUtil);
+            ejbContainerUtil.getTimer().schedule(lastExpirationUpdater,
+                    lastExpirationBatchWindow, lastExpirationBatchWindow);
+        }
+
+        leaseRenewalTask = new LeaseRenewalTask();
+        ejbContainerUtil.getTimer().schedule(leaseRenewalTask, 0L, Math.max(1L, leaseDuration / 2));
     }
 
     private void initProperties() {
@@ -148,6 +179,23 @@ public class PersistentEJBTimerService extends EJBTimerService {
                     getDBReadBeforeTimeoutProperty();
 
                 operationOnConnectionFailure = ejbt.getPropertyValue(ON_CONECTION_FAILURE);
+
+                String valString = ejbt.getPropertyValue(RESTORE_PAGE_SIZE);
+                int val = (valString != null) ? Integer.parseInt(valString) : -1;
+                if( val > 0 ) {
+                    restorePageSize = Math.min(val, MAX_RESTORE_PAGE_SIZE);
+                }
+
+                valString = ejbt.getPropertyValue(LAST_EXPIRATION_BATCH_WINDOW);
+                if( valString != null ) {
+                    lastExpirationBatchWindow = Long.parseLong(valString);
+                }
+
+                valString = ejbt.getPropertyValue(LEASE_DURATION);
+                long duration = (valString != null) ? Long.parseLong(valString) : -1;
+                if( duration > 0 ) {
+                    leaseDuration = duration;
+                }
             }
 
         } catch(Exception e) {
@@ -186,6 +234,14 @@ public class PersistentEJBTimerService extends EJBTimerService {
      */
     @Override
     public int migrateTimers(String fromOwnerId) {
+        return migrateTimers(fromOwnerId, true);
+    }
+
+    /**
+     * @param retry true to retry after the expiration of the lease of the
+     *        owner if it is still valid, as when its failure was just detected
+     */
+    private int migrateTimers(String fromOwnerId, boolean retry) {
 
         String ownerIdOfThisServer = getOwnerIdOfThisServer();
 
@@ -205,23 +261,16 @@ public class PersistentEJBTimerService extends EJBTimerService {
 
         TransactionManager tm = ejbContainerUtil.getTransactionManager();
 
-        Set toRestore = null;
-        int totalTimersMigrated = 0;
-
+        // Claim the lease of the timers first.  Of the server instances that
+        // attempt the migration at the same time only one gets to read the timers.
+        long leaseExpiration;
         try {
 
             tm.begin();
-
-            toRestore = timerLocal_.findTimersOwnedBy(fromOwnerId);
-            totalTimersMigrated = timerLocal_.migrateTimers(fromOwnerId, ownerIdOfThisServer);
-
+            leaseExpiration = timerLocal_.claimLease(fromOwnerId);
             tm.commit();
 
         } catch(Exception e) {
-            // Don't attempt to restore any timers since an error has
-            // occurred.  This could be the expected result in the case that
-            // multiple server instances attempted the migration at the same
-            // time.
             logger.log(Level.FINE, "timer migration error", e);
 
             try {
@@ -235,53 +284,132 @@ public class PersistentEJBTimerService extends EJBTimerService {
             throw ejbEx;
         }
 
-// XXX if( totalTimersMigrated  == toRestore.size() ) { XXX ???
-        if( totalTimersMigrated > 0 ) {
+        if( leaseExpiration == TimerLease.MIGRATED ) {
+            logger.log(Level.INFO, "Timers of " + fromOwnerId +
+                       " are not migrated, they are being migrated by another" +
+                       " server instance");
+            return 0;
+        }
 
-            boolean success = false;
+        if( leaseExpiration != TimerLease.CLAIMED ) {
+            // Still valid: the owner failed since its last renewal, or is running
+            if( retry ) {
+                migrationRetry.schedule(fromOwnerId, leaseExpiration);
+            } else {
+                logger.log(Level.INFO, "Timers of " + fromOwnerId +
+                           " are not migrated, the lease of their owner was renewed");
+            }
+            return 0;
+        }
+
+        try {
+            return migrateTimersOfClaimedLease(fromOwnerId, ownerIdOfThisServer);
+        } finally {
+            // Allow to migrate timers created by the owner later on, or to
+            // retry the migration of the remaining timers after an error
             try {
+                timerLocal_.renewLease(fromOwnerId, 0L);
+            } catch(Exception le) {
+                logger.log(Level.FINE, "timer lease release error", le);
+            }
+        }
+
+    } //migrateTimers()
 
-                logger.log(Level.INFO, "Timer migration phase 1 complete. " +
-                           "Changed ownership of " + toRestore.size() +
-                           " timers.  Now reactivating timers...");
+    private int migrateTimersOfClaimedLease(String fromOwnerId, String ownerIdOfThisServer) {
 
-                _notifyContainers(toRestore);
+        TransactionManager tm = ejbContainerUtil.getTransactionManager();
+
+        List<TimerState> toRestore;
+        int timersMigrated;
+        int totalTimersMigrated = 0;
+
+        do {
+            timersMigrated = 0;
+            try {
 
                 tm.begin();
-                _restoreTimers(toRestore);
-                success = true;
+
+                // Migrated timers drop out of the query, so that the next
+                // page is always the first one.
+                toRestore = timerLocal_.findTimersOwnedBy(fromOwnerId, restorePageSize);
+                if( !toRestore.isEmpty() ) {
+                    List<String> timerIds = new ArrayList<>(toRestore.size());
+                    for (TimerState timer : toRestore) {
+                        timerIds.add(timer.getTimerId());
+                    }
+                    timersMigrated = timerLocal_.migrateTimers(timerIds,
+                            fromOwnerId, ownerIdOfThisServer);
+                }
+
+                tm.commit();
 
             } catch(Exception e) {
+                // Don't attempt to restore any timers since an error has
+                // occurred.
+                logger.log(Level.FINE, "timer migration error", e);
 
-                logger.log(Level.FINE, "timer restoration error", e);
+                try {
+                    tm.rollback();
+                } catch(Exception re) {
+                    logger.log(Level.FINE, "timer migration rollback error", re);
+                }
 
-                //Propogate any exceptions caught as part of the transaction
+                //Propagate the exception caught
                 EJBException ejbEx = createEJBException( e );
                 throw ejbEx;
+            }
 
-            } finally {
-                // We're not modifying any state in this tx so no harm in
-                // always committing.
+            if( timersMigrated > 0 ) {
+
+                totalTimersMigrated += timersMigrated;
+                boolean success = false;
                 try {
-                    tm.commit();
-                } catch(Exception re) {
-                    logger.log(Level.FINE, "timer migration error", re);
 
-                    if( success ) {
-                        //Propogate any exceptions caught when trying to commit
-                        //the transaction
-                        EJBException ejbEx = createEJBException( re );
-                        throw ejbEx;
+                    logger.log(Level.INFO, "Timer migration phase 1 complete. " +
+                               "Changed ownership of " + toRestore.size() +
+                               " timers.  Now reactivating timers...");
+
+                    _notifyContainers(toRestore);
+
+                    tm.begin();
+                    _restoreTimers(toRestore);
+                    success = true;
+
+                } catch(Exception e) {
+
+                    logger.log(Level.FINE, "timer restoration error", e);
+
+                    //Propogate any exceptions caught as part of the transaction
+                    EJBException ejbEx = createEJBException( e );
+                    throw ejbEx;
+
+                } finally {
+                    // We're not modifying any state in this tx so no harm in
+                    // always committing.
+                    try {
+                        tm.commit();
+                    } catch(Exception re) {
+                        logger.log(Level.FINE, "timer migration error", re);
+
+                        if( success ) {
+                            //Propogate any exceptions caught when trying to commit
+                            //the transaction
+                            EJBException ejbEx = createEJBException( re );
+                            throw ejbEx;
+                        }
                     }
                 }
             }
-        } else {
+        } while( timersMigrated > 0 && toRestore.size() == restorePageSize );
+
+        if( totalTimersMigrated == 0 ) {
             logger.log(Level.INFO, fromOwnerId + " has 0 timers in need of migration");
         }
 
         return totalTimersMigrated;
 
-    } //migrateTimers()
+    }
 
     @Override
     public boolean isPersistent() {
@@ -351,7 +479,7 @@ public class PersistentEJBTimerService extends EJBTimerService {
                 restoreTimers();
                 rc = true;
             } else {
-                int s = timerLocal_.findActiveTimersOwnedByThisServer().size();
+                int s = timerLocal_.countActiveTimersOwnedByThisServer();
                 if (s > 0) {
                     logger.log(Level.INFO, "[" + s + "] EJB Timers owned by this server will be restored when timeout beans are loaded");
                 } else {
@@ -378,34 +506,44 @@ public class PersistentEJBTimerService extends EJBTimerService {
         }
 
         TransactionManager tm = ejbContainerUtil.getTransactionManager();
-        try {
-            // create a tx in which to do database access for all timers
-            // needing restoration.  This gives us better performance that
-            // doing individual transactions per timer.
-            tm.begin();
+        String lastTimerId = "";
+        List<TimerState> timers;
+        do {
+            try {
+                // create a tx in which to do database access for a page of
+                // timers needing restoration.  This gives us better performance
+                // than doing individual transactions per timer, without holding
+                // all timers of this server in a single persistence context.
+                tm.begin();
 
-            // This operation can take a while, since in some configurations
-            // this will be the first time the connection to the database
-            // is initialized.  In addition, there's an initialization
-            // cost to generating the SQL for the underlying
-            // jpql queries the first time any TimerBean query is called.
-            _restoreTimers(timerLocal_.findActiveTimersOwnedByThisServer());
+                // This operation can take a while, since in some configurations
+                // this will be the first time the connection to the database
+                // is initialized.  In addition, there's an initialization
+                // cost to generating the SQL for the underlying
+                // jpql queries the first time any TimerBean query is called.
+                timers = timerLocal_.findActiveTimersOwnedByThisServer(lastTimerId, restorePageSize);
+                _restoreTimers(timers);
 
-        } finally {
-            // try to commit regardless of success or failure.
-            try {
-                tm.commit();
-            } catch(Exception e) {
-                logger.log(Level.WARNING, "ejb.timer_service_init_error", e);
+            } finally {
+                // try to commit regardless of success or failure.
+                try {
+                    tm.commit();
+                } catch(Exception e) {
+                    logger.log(Level.WARNING, "ejb.timer_service_init_error", e);
+                }
             }
-        }
+
+            if( !timers.isEmpty() ) {
+                lastTimerId = timers.get(timers.size() - 1).getTimerId();
+            }
+        } while( timers.size() == restorePageSize );
     }
 
     /**
      * The portion of timer migration that notifies containers about
      * automatic timers being migrated to this instance
      */
-    private void _notifyContainers(Set<TimerState> timers) {
+    private void _notifyContainers(Collection<TimerState> timers) {
         for(TimerState timer: timers) {
             EJBTimerSchedule ts = timer.getTimerSchedule();
             if (ts != null && ts.isAutomatic()) {
@@ -419,7 +557,7 @@ public class PersistentEJBTimerService extends EJBTimerService {
      * JDK timer tasks and checking for missed expirations.
      * @return the Set of restored timers
      */
-    private Set<TimerState> _restoreTimers(Set<TimerState> timersEligibleForRestoration) {
+    private Set<TimerState> _restoreTimers(Collection<TimerState> timersEligibleForRestoration) {
 
         // Do timer restoration in two passes.  The first pass updates
         // the timer cache with each timer.  The second pass schedules
@@ -713,6 +851,11 @@ public class PersistentEJBTimerService extends EJBTimerService {
 
         Map<TimerPrimaryKey, Method> result = new HashMap<>();
 
+        // The restore needs the last expirations of periodic timers
+        if (lastExpirationUpdater != null) {
+            lastExpirationUpdater.flush();
+        }
+
         TransactionManager tm = ejbContainerUtil.getTransactionManager();
         try {
             tm.begin();
@@ -1144,6 +1287,13 @@ public class PersistentEJBTimerService extends EJBTimerService {
     protected void resetLastExpiration(TimerPrimaryKey timerId,
                                           RuntimeTimerState timerState) {
         if (timerState.isPersistent()) {
+            if (lastExpirationUpdater != null) {
+                // The timer was validated against the database right before
+                // by isValidTimerForThisServer
+                lastExpirationUpdater.add(timerId, System.currentTimeMillis());
+                return;
+            }
+
             TimerState timer = getValidTimerFromDB( timerId );
             if( null == timer ) {
                 return;
@@ -1264,6 +1414,46 @@ public class PersistentEJBTimerService extends EJBTimerService {
         return timerLocal_;
     }
 
+    @Override
+    protected void shutdown() {
+        super.shutdown();
+
+        leaseRenewalTask.cancel();
+        migrationRetry.cancel();
+        if (lastExpirationUpdater != null) {
+            lastExpirationUpdater.cancel();
+            lastExpirationUpdater.flush();
+        }
+
+        // End the lease, so that the timers can be migrated right away
+        try {
+            timerLocal_.renewLease(ownerIdOfThisServer_, System.currentTimeMillis());
+        } catch(Exception e) {
+            logger.log(Level.FINE, "Cannot end the lease of the timers owned by " +
+                       ownerIdOfThisServer_, e);
+        }
+    }
+
+    /**
+     * Renews the lease of the timers owned by this server instance on the
+     * ejb thread pool.
+     */
+    private class LeaseRenewalTask extends TimerTask {
+
+        @Override
+        public void run() {
+            ejbContainerUtil.addWork(() -> {
+                try {
+                    timerLocal_.renewLease(ownerIdOfThisServer_,
+                            System.currentTimeMillis() + leaseDuration);
+                } catch(Exception e) {
+                    logger.log(Level.WARNING, "Cannot renew the lease of the timers owned by " +
+                               ownerIdOfThisServer_, e);
+                }
+            });
+        }
+    }
+
     @Override
     protected boolean stopOnFailure() {
         return stopOnFailedConnection();
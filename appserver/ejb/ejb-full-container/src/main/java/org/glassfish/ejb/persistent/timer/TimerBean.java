@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -40,6 +41,8 @@ import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -185,6 +188,27 @@ public class TimerBean implements TimerLocal {
         return new HashSet(q.getResultList());
     }
 
+    //
+    // Query methods for pages of timer beans
+    //
+
+    public List<TimerState> findActiveTimersOwnedByThisServer
+        (String afterTimerId, int maxResults) {
+        Query q = em.createNamedQuery("findTimersByOwnerAndStateAfterTimerId");
+        q.setParameter(1, getOwnerIdOfThisServer());
+        q.setParameter(2, EJBTimerService.STATE_ACTIVE);
+        q.setParameter(3, afterTimerId);
+        q.setMaxResults(maxResults);
+        return q.getResultList();
+    }
+
+    public List<TimerState> findTimersOwnedBy(String ownerId, int maxResults) {
+        Query q = em.createNamedQuery("findTimersByOwner");
+        q.setParameter(1, ownerId);
+        q.setMaxResults(maxResults);
+        return q.getResultList();
+    }
+
 
     //
     // Query methods for timer counts
@@ -649,6 +673,69 @@ public class TimerBean implements TimerLocal {
         return q.executeUpdate();
     }
 
+    public int migrateTimers(Collection<String> timerIds, String fromOwnerId, String toOwnerId) {
+        Query q = em.createNamedQuery("updateTimersByIdFromOwnerToNewOwner");
+        q.setParameter("fromOwner", fromOwnerId);
+        q.setParameter("toOwner", toOwnerId);
+        q.setParameter("timerIds", timerIds);
+        return q.executeUpdate();
+    }
+
+    public int updateLastExpirations(Map<String, Long> lastExpirations) {
+        Query q = em.createNamedQuery("findTimersByOwnerAndTimerIds");
+        q.setParameter(1, getOwnerIdOfThisServer());
+        q.setParameter(2, lastExpirations.keySet());
+
+        // The changes are written in one JDBC batch on commit
+        int updated = 0;
+        for (Object o : q.getResultList()) {
+            TimerState timer = (TimerState) o;
+            long lastExpiration = lastExpirations.get(timer.getTimerId());
+            if (lastExpiration > timer.getLastExpirationRaw()) {
+                timer.setLastExpiration(new Date(lastExpiration));
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    public void renewLease(String ownerId, long leaseExpiration) {
+        TimerLease lease = em.find(TimerLease.class, ownerId);
+        if (lease == null) {
+            em.persist(new TimerLease(ownerId, leaseExpiration));
+        } else {
+            lease.setLeaseExpirationRaw(leaseExpiration);
+        }
+    }
+
+    public long claimLease(String ownerId) {
+        TimerLease lease = em.find(TimerLease.class, ownerId);
+        if (lease == null) {
+            // The owner never held a lease, e.g. it was running an older
+            // version, so there is nothing to claim.
+            return TimerLease.CLAIMED;
+        }
+
+        long now = System.currentTimeMillis();
+        long leaseExpiration = lease.getLeaseExpirationRaw();
+        if (leaseExpiration > now) {
+            // The owner may still be running its timers
+            logger.log(Level.INFO, "The timers owned by " + ownerId +
+                       " are not migrated yet, their lease is valid until " +
+                       new Date(leaseExpiration));
+            return leaseExpiration;
+        }
+
+        // Only one of the server instances that attempt the migration at
+        // the same time succeeds in changing the lease. The lease is checked
+        // again by the update, in case it was renewed in the meantime.
+        Query q = em.createNamedQuery("claimTimerLease");
+        q.setParameter("ownerId", ownerId);
+        q.setParameter("migrated", TimerLease.MIGRATED);
+        q.setParameter("now", now);
+        return q.executeUpdate() > 0 ? TimerLease.CLAIMED : TimerLease.MIGRATED;
+    }
+
     public int deleteTimersByContainer(long containerId) {
         Query q = em.createNamedQuery("deleteTimersByContainer");
         q.setParameter("containerId", containerId);
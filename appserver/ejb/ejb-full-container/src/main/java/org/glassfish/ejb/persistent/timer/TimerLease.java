@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ejb.persistent.timer;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.NamedQueries;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.Table;
+
+/**
+ * TimerLease represents the ownership of the persistent EJB Timers of one
+ * server instance. The owner renews its lease periodically. A server instance
+ * that takes over the timers of a failed owner first claims its expired lease,
+ * so that only one of the surviving instances touches the timer table, and
+ * releases it when the migration ends.
+ */
+@Entity(name="TimerLease")
+@NamedQueries({
+    @NamedQuery(
+        name="claimTimerLease",
+        query="UPDATE TimerLease l SET l.leaseExpirationRaw = :migrated WHERE l.ownerId = :ownerId AND l.leaseExpirationRaw <> :migrated AND l.leaseExpirationRaw <= :now"
+    )
+})
+@Table(name="EJB__TIMER__LEASE")
+public class TimerLease {
+
+    /**
+     * Expiration of a lease whose timers are being migrated to another server instance.
+     */
+    static final long MIGRATED = -1L;
+
+    /**
+     * Returned by {@link TimerLocal#claimLease(String)} when the lease was claimed, it
+     * is also the expiration of a released lease.
+     */
+    static final long CLAIMED = 0L;
+
+    @Id
+    @Column(name="OWNERID")
+    private String ownerId;
+
+    @Column(name="LEASEEXPIRATIONRAW")
+    private long leaseExpirationRaw;
+
+    TimerLease() {
+    }
+
+    TimerLease(String ownerId, long leaseExpiration) {
+        this.ownerId = ownerId;
+        this.leaseExpirationRaw = leaseExpiration;
+    }
+
+    String getOwnerId() {
+        return ownerId;
+    }
+
+    void setOwnerId(String ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    long getLeaseExpirationRaw() {
+        return leaseExpirationRaw;
+    }
+
+    void setLeaseExpirationRaw(long leaseExpiration) {
+        leaseExpirationRaw = leaseExpiration;
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -25,6 +26,8 @@ import jakarta.ejb.TimerConfig;
 
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -98,6 +101,10 @@ public interface TimerLocal {
     Set findActiveTimersOwnedBy(String owner);
     Set findCancelledTimersOwnedBy(String owner);
 
+    // Pages ordered by timer id
+    List<TimerState> findActiveTimersOwnedByThisServer(String afterTimerId, int maxResults);
+    List<TimerState> findTimersOwnedBy(String owner, int maxResults);
+
 
     //
     // Queries returning counts
@@ -129,6 +136,20 @@ public interface TimerLocal {
     // Migrate timers from one server instance to another via bulk update
     int migrateTimers(String fromOwnerId, String toOwnerId);
 
+    // Migrate the given timers from one server instance to another via bulk update
+    int migrateTimers(Collection<String> timerIds, String fromOwnerId, String toOwnerId);
+
+    // Update the last expiration of timers owned by this server instance
+    int updateLastExpirations(Map<String, Long> lastExpirations);
+
+    // Create or renew the lease of the timers owned by a server instance
+    void renewLease(String ownerId, long leaseExpiration);
+
+    // Claim the expired lease of a server instance whose timers are to be
+    // migrated. Returns TimerLease.CLAIMED if claimed, TimerLease.MIGRATED
+    // if already claimed, or else the expiration of the lease still valid
+    long claimLease(String ownerId);
+
     // Delete all timers owned by this EJB (aka containerId)
     int deleteTimersByContainer(long containerId);
 
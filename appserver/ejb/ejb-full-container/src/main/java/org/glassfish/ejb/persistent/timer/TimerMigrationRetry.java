@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.ejb.persistent.timer;
+
+import com.sun.ejb.containers.EjbContainerUtil;
+import com.sun.logging.LogDomains;
+
+import java.util.Map;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Retries the migration of the timers of a server instance once its lease
+ * has expired.
+ *
+ * <p>The migration is requested once per failure or recovery event of the
+ * cluster, which usually comes within the lease of a crashed instance, as the
+ * lease lasts until the last renewal plus the lease duration. The migration
+ * is then attempted again shortly after the lease expires. It is not retried
+ * more than once: a lease still valid at that time was renewed, so its owner
+ * is running.
+ */
+class TimerMigrationRetry {
+
+    private static final Logger logger =
+        LogDomains.getLogger(TimerMigrationRetry.class, LogDomains.EJB_LOGGER);
+
+    // Margin for the clock of the owner of the lease
+    static final long LEASE_EXPIRATION_SLACK = 1000L;
+
+    private final EjbContainerUtil ejbContainerUtil;
+    private final ToIntFunction<String> migration;
+    private final Map<String, TimerTask> retries = new ConcurrentHashMap<>();
+
+    /**
+     * @param migration migrates the timers of the given owner without retrying
+     */
+    TimerMigrationRetry(EjbContainerUtil ejbContainerUtil, ToIntFunction<String> migration) {
+        this.ejbContainerUtil = ejbContainerUtil;
+        this.migration = migration;
+    }
+
+    /**
+     * Schedules the migration of the timers of the owner after the expiration of
+     * its lease, replacing the retry already scheduled for the owner.
+     */
+    void schedule(String ownerId, long leaseExpiration) {
+        TimerTask retry = new TimerTask() {
+
+            @Override
+            public void run() {
+                ejbContainerUtil.addWork(() -> {
+                    if (!retries.remove(ownerId, this)) {
+                        return;
+                    }
+                    try {
+                        int migrated = migration.applyAsInt(ownerId);
+                        logger.log(Level.INFO, "Migrated " + migrated + " timers of " + ownerId +
+                                   " after the expiration of its lease");
+                    } catch (Exception e) {
+                        logger.log(Level.WARNING, "Cannot migrate the timers of " + ownerId, e);
+                    }
+                });
+            }
+        };
+        TimerTask previous = retries.put(ownerId, retry);
+        if (previous != null) {
+            previous.cancel();
+        }
+        long delay = Math.max(0L, leaseExpiration - System.currentTimeMillis()) + LEASE_EXPIRATION_SLACK;
+        logger.log(Level.INFO, "The migration of the timers of " + ownerId + " is retried in " + delay + " ms");
+        ejbContainerUtil.getTimer().schedule(retry, delay);
+    }
+
+    /**
+     * @return true if a retry is scheduled for the owner
+     */
+    boolean isScheduled(String ownerId) {
+        return retries.containsKey(ownerId);
+    }
+
+    /**
+     * Cancels the retries not run yet.
+     */
+    void cancel() {
+        for (TimerTask retry : retries.values()) {
+            retry.cancel();
+        }
+        retries.clear();
+    }
+}
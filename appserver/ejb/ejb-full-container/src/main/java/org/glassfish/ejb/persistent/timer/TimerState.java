@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -27,6 +28,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
 import jakarta.persistence.Lob;
 import jakarta.persistence.NamedQueries;
 import jakarta.persistence.NamedQuery;
@@ -101,6 +103,15 @@ import java.util.logging.Logger;
         name="findTimersByOwnerAndState",
         query="SELECT t FROM Timer t WHERE t.ownerId = ?1 AND t.state=?2"
     ),
+    @NamedQuery(
+        // Pages through the timers of an owner by the last timer id of the previous page
+        name="findTimersByOwnerAndStateAfterTimerId",
+        query="SELECT t FROM Timer t WHERE t.ownerId = ?1 AND t.state=?2 AND t.timerId > ?3 ORDER BY t.timerId"
+    ),
+    @NamedQuery(
+        name="findTimersByOwnerAndTimerIds",
+        query="SELECT t FROM Timer t WHERE t.ownerId = ?1 AND t.timerId IN ?2"
+    ),
     @NamedQuery(
         name="countTimersByApplication",
         query="SELECT COUNT(t) FROM Timer t WHERE t.applicationId = ?1"
@@ -135,6 +146,11 @@ import java.util.logging.Logger;
         query="UPDATE Timer t SET t.ownerId = :toOwner WHERE t.ownerId = :fromOwner"
     )
     ,
+    @NamedQuery(
+        name="updateTimersByIdFromOwnerToNewOwner",
+        query="UPDATE Timer t SET t.ownerId = :toOwner WHERE t.ownerId = :fromOwner AND t.timerId IN :timerIds"
+    )
+    ,
     @NamedQuery(
         name="deleteTimersByContainer",
         query="DELETE FROM Timer t WHERE t.containerId = :containerId"
@@ -145,7 +161,11 @@ import java.util.logging.Logger;
         query="DELETE FROM Timer t WHERE t.applicationId = :applicationId"
     )
 })
-@Table(name="EJB__TIMER__TBL")
+@Table(name="EJB__TIMER__TBL", indexes={
+    @Index(name="IX_EJB__TIMER__OWNER", columnList="OWNERID, STATE, TIMERID"),
+    @Index(name="IX_EJB__TIMER__CONTAINER", columnList="CONTAINERID, OWNERID, STATE"),
+    @Index(name="IX_EJB__TIMER__APPLICATION", columnList="APPLICATIONID")
+})
 @IdClass(com.sun.ejb.containers.TimerPrimaryKey.class)
 public class TimerState {
 
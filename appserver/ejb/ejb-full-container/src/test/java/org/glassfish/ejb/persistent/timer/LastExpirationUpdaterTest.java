@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ejb.persistent.timer;
+
+import com.sun.ejb.containers.EjbContainerUtil;
+import com.sun.ejb.containers.TimerPrimaryKey;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+public class LastExpirationUpdaterTest {
+
+    private final List<Map<String, Long>> writes = new ArrayList<>();
+    private boolean failing;
+    private ThreadPoolExecutor executor;
+    private LastExpirationUpdater updater;
+
+    @BeforeEach
+    public void createUpdater() {
+        TimerLocal timerLocal = stub(TimerLocal.class, (proxy, method, args) -> {
+            if (!method.getName().equals("updateLastExpirations")) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            if (failing) {
+                throw new IllegalStateException("Database is down");
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Long> batch = (Map<String, Long>) args[0];
+            writes.add(new HashMap<>(batch));
+            return batch.size();
+        });
+        EjbContainerUtil ejbContainerUtil = stub(EjbContainerUtil.class, (proxy, method, args) -> {
+            if (!method.getName().equals("getThreadPoolExecutor")) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            return executor;
+        });
+        updater = new LastExpirationUpdater(timerLocal, ejbContainerUtil);
+    }
+
+    @Test
+    public void latestExpirationOfEachTimerIsWritten() {
+        updater.add(new TimerPrimaryKey("timer1"), 20L);
+        updater.add(new TimerPrimaryKey("timer1"), 10L);
+        updater.add(new TimerPrimaryKey("timer2"), 30L);
+        updater.run();
+        assertThat(writes, equalTo(List.of(Map.of("timer1", 20L, "timer2", 30L))));
+
+        updater.run();
+        assertThat(writes, hasSize(1));
+    }
+
+    @Test
+    public void nothingIsWrittenWithoutExpirations() {
+        updater.run();
+        updater.flush();
+        assertThat(writes, empty());
+    }
+
+    @Test
+    public void failedWriteIsRetriedByTheNextFlush() {
+        updater.add(new TimerPrimaryKey("timer1"), 10L);
+        failing = true;
+        updater.run();
+        assertThat(writes, empty());
+
+        failing = false;
+        updater.add(new TimerPrimaryKey("timer1"), 5L);
+        updater.add(new TimerPrimaryKey("timer2"), 7L);
+        updater.flush();
+        assertThat(writes, equalTo(List.of(Map.of("timer1", 10L, "timer2", 7L))));
+    }
+
+    @Test
+    public void largeFlushIsWrittenInBatches() {
+        for (int i = 0; i < 1200; i++) {
+            updater.add(new TimerPrimaryKey("timer" + i), i);
+        }
+        updater.flush();
+        assertThat(writes, hasSize(3));
+        assertThat(writes.get(0).size() + writes.get(1).size() + writes.get(2).size(), equalTo(1200));
+    }
+
+    @Test
+    public void flushRunsOnTheEjbThreadPool() throws Exception {
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        try {
+            updater.add(new TimerPrimaryKey("timer1"), 10L);
+            updater.run();
+            executor.shutdown();
+            executor.awaitTermination(10L, TimeUnit.SECONDS);
+            assertThat(executor.getCompletedTaskCount(), equalTo(1L));
+            assertThat(writes, equalTo(List.of(Map.of("timer1", 10L))));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> T stub(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ejb.persistent.timer;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import com.sun.ejb.containers.EjbContainerUtil;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Timer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the lease of the timers of a server instance, with an entity manager
+ * keeping the leases in memory and executing the claimTimerLease update.
+ * The entity manager is only used while holding the lock of the leases.
+ */
+public class TimerLeaseTest {
+
+    private static final String OWNER = "instance1";
+
+    private final Map<String, TimerLease> leases = new HashMap<>();
+    private final Timer timer = new Timer("TimerLeaseTest", true);
+    private TimerBean timerBean;
+
+    @BeforeEach
+    public void createTimerBean() throws Exception {
+        timerBean = new TimerBean();
+        Field em = TimerBean.class.getDeclaredField("em");
+        em.setAccessible(true);
+        em.set(timerBean, stub(EntityManager.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "find":
+                    return leases.get(args[1]);
+                case "persist":
+                    TimerLease lease = (TimerLease) args[0];
+                    leases.put(lease.getOwnerId(), lease);
+                    return null;
+                case "createNamedQuery":
+                    assertThat(args[0], equalTo("claimTimerLease"));
+                    return createClaimQuery();
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        }));
+    }
+
+    @AfterEach
+    public void cancelTimer() {
+        timer.cancel();
+    }
+
+    @Test
+    public void ownerWithoutLeaseCanBeMigrated() {
+        assertThat(timerBean.claimLease(OWNER), equalTo(TimerLease.CLAIMED));
+    }
+
+    @Test
+    public void expiredLeaseIsClaimedOnce() {
+        timerBean.renewLease(OWNER, System.currentTimeMillis() - 1000L);
+        assertThat(timerBean.claimLease(OWNER), equalTo(TimerLease.CLAIMED));
+        assertThat(leases.get(OWNER).getLeaseExpirationRaw(), equalTo(TimerLease.MIGRATED));
+        assertThat(timerBean.claimLease(OWNER), equalTo(TimerLease.MIGRATED));
+    }
+
+    @Test
+    public void validLeaseIsNotClaimed() {
+        long expiration = System.currentTimeMillis() + 60_000L;
+        timerBean.renewLease(OWNER, expiration);
+        assertThat(timerBean.claimLease(OWNER), equalTo(expiration));
+        assertThat(leases.get(OWNER).getLeaseExpirationRaw(), equalTo(expiration));
+    }
+
+    @Test
+    public void releasedLeaseCanBeClaimedAgain() {
+        timerBean.renewLease(OWNER, System.currentTimeMillis() - 1000L);
+        assertThat(timerBean.claimLease(OWNER), equalTo(TimerLease.CLAIMED));
+        timerBean.renewLease(OWNER, 0L);
+        assertThat(timerBean.claimLease(OWNER), equalTo(TimerLease.CLAIMED));
+    }
+
+    @Test
+    public void renewedLeaseIsNotClaimed() {
+        timerBean.renewLease(OWNER, System.currentTimeMillis() - 1000L);
+        assertThat(timerBean.claimLease(OWNER), equalTo(TimerLease.CLAIMED));
+        timerBean.renewLease(OWNER, 0L);
+        // The owner came back before the next migration
+        long expiration = System.currentTimeMillis() + 60_000L;
+        timerBean.renewLease(OWNER, expiration);
+        assertThat(timerBean.claimLease(OWNER), equalTo(expiration));
+    }
+
+    @Test
+    public void timersOfCrashedOwnerAreMigratedAfterLeaseExpiration() throws Exception {
+        // The owner renewed its lease right before crashing, and its failure
+        // is reported within the lease
+        long expiration = System.currentTimeMillis() + 300L;
+        timerBean.renewLease(OWNER, expiration);
+        CountDownLatch migrated = new CountDownLatch(1);
+        TimerMigrationRetry retry = createRetry(migrated);
+
+        assertThat(migrate(retry, true), equalTo(0));
+        assertTrue(retry.isScheduled(OWNER));
+
+        assertTrue(migrated.await(expiration - System.currentTimeMillis()
+            + TimerMigrationRetry.LEASE_EXPIRATION_SLACK + 5000L, TimeUnit.MILLISECONDS));
+        assertFalse(retry.isScheduled(OWNER));
+        synchronized (leases) {
+            assertThat(leases.get(OWNER).getLeaseExpirationRaw(), equalTo(TimerLease.MIGRATED));
+        }
+    }
+
+    @Test
+    public void timersOfRunningOwnerAreNotMigrated() throws Exception {
+        long expiration = System.currentTimeMillis() + 300L;
+        timerBean.renewLease(OWNER, expiration);
+        CountDownLatch migrated = new CountDownLatch(1);
+        TimerMigrationRetry retry = createRetry(migrated);
+
+        assertThat(migrate(retry, true), equalTo(0));
+        // The owner is alive and renews its lease
+        synchronized (leases) {
+            timerBean.renewLease(OWNER, System.currentTimeMillis() + 60_000L);
+        }
+
+        assertFalse(migrated.await(expiration - System.currentTimeMillis()
+            + TimerMigrationRetry.LEASE_EXPIRATION_SLACK + 1000L, TimeUnit.MILLISECONDS));
+        assertFalse(retry.isScheduled(OWNER));
+    }
+
+    @Test
+    public void retriesAreCanceled() {
+        TimerMigrationRetry retry = createRetry(new CountDownLatch(1));
+        retry.schedule(OWNER, System.currentTimeMillis() + 60_000L);
+        assertTrue(retry.isScheduled(OWNER));
+        retry.cancel();
+        assertFalse(retry.isScheduled(OWNER));
+    }
+
+    /**
+     * Migrates the timers as PersistentEJBTimerService does, counting down
+     * the latch instead of updating the timers.
+     */
+    private TimerMigrationRetry createRetry(CountDownLatch migrated) {
+        EjbContainerUtil ejbContainerUtil = stub(EjbContainerUtil.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getTimer":
+                    return timer;
+                case "addWork":
+                    ((Runnable) args[0]).run();
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+        TimerMigrationRetry[] retry = new TimerMigrationRetry[1];
+        retry[0] = new TimerMigrationRetry(ejbContainerUtil, owner -> {
+            int count = migrate(retry[0], false);
+            if (count > 0) {
+                migrated.countDown();
+            }
+            return count;
+        });
+        return retry[0];
+    }
+
+    private int migrate(TimerMigrationRetry retry, boolean retryAfterExpiration) {
+        long leaseExpiration;
+        synchronized (leases) {
+            leaseExpiration = timerBean.claimLease(OWNER);
+        }
+        if (leaseExpiration == TimerLease.CLAIMED) {
+            return 1;
+        }
+        if (leaseExpiration != TimerLease.MIGRATED && retryAfterExpiration) {
+            retry.schedule(OWNER, leaseExpiration);
+        }
+        return 0;
+    }
+
+    private Query createClaimQuery() {
+        Map<String, Object> parameters = new HashMap<>();
+        return stub(Query.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "setParameter":
+                    parameters.put((String) args[0], args[1]);
+                    return proxy;
+                case "executeUpdate":
+                    TimerLease lease = leases.get(parameters.get("ownerId"));
+                    long migrated = (Long) parameters.get("migrated");
+                    long now = (Long) parameters.get("now");
+                    if (lease == null || lease.getLeaseExpirationRaw() == migrated
+                        || lease.getLeaseExpirationRaw() > now) {
+                        return 0;
+                    }
+                    lease.setLeaseExpirationRaw(migrated);
+                    return 1;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private static <T> T stub(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+}
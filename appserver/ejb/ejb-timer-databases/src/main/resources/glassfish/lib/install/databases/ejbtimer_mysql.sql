@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -29,3 +30,15 @@ CREATE TABLE EJB__TIMER__TBL (
     `APPLICATIONID`        BIGINT        NOT NULL,
     CONSTRAINT `PK_EJB__TIMER__TBL` PRIMARY KEY (`TIMERID`)
 );
+
+CREATE INDEX `IX_EJB__TIMER__OWNER` ON EJB__TIMER__TBL (`OWNERID`, `STATE`, `TIMERID`);
+
+CREATE INDEX `IX_EJB__TIMER__CONTAINER` ON EJB__TIMER__TBL (`CONTAINERID`, `OWNERID`, `STATE`);
+
+CREATE INDEX `IX_EJB__TIMER__APPLICATION` ON EJB__TIMER__TBL (`APPLICATIONID`);
+
+CREATE TABLE EJB__TIMER__LEASE (
+    `OWNERID`              VARCHAR(255)  NOT NULL,
+    `LEASEEXPIRATIONRAW`   BIGINT        NOT NULL,
+    CONSTRAINT `PK_EJB__TIMER__LEASE` PRIMARY KEY (`OWNERID`)
+);
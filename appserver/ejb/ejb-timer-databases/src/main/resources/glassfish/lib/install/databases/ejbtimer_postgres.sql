@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright:qw:wq (c) 2019 Fujitsu Limited and/or its affiliates. All rights
  * reserved.
  *
@@ -30,3 +31,15 @@ CREATE TABLE "EJB__TIMER__TBL" (
 "APPLICATIONID"        BIGINT                 NOT NULL,
 CONSTRAINT "EJB__TIMER__TBL_pkey" PRIMARY KEY ("TIMERID")
 )
+
+CREATE INDEX "IX_EJB__TIMER__OWNER" ON "EJB__TIMER__TBL" ("OWNERID", "STATE", "TIMERID")
+
+CREATE INDEX "IX_EJB__TIMER__CONTAINER" ON "EJB__TIMER__TBL" ("CONTAINERID", "OWNERID", "STATE")
+
+CREATE INDEX "IX_EJB__TIMER__APPLICATION" ON "EJB__TIMER__TBL" ("APPLICATIONID")
+
+CREATE TABLE "EJB__TIMER__LEASE" (
+"OWNERID"              CHARACTER VARYING(255) NOT NULL,
+"LEASEEXPIRATIONRAW"   BIGINT                 NOT NULL,
+CONSTRAINT "EJB__TIMER__LEASE_pkey" PRIMARY KEY ("OWNERID")
+)
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -31,3 +32,17 @@ PRIMARY KEY (TIMERID)
 );
 CREATE INDEX EJB__TIMER__TBL.IDX1 KEY(TIMERID)
 ;
+CREATE INDEX EJB__TIMER__TBL.IDX2 KEY(OWNERID, STATE, TIMERID)
+;
+CREATE INDEX EJB__TIMER__TBL.IDX3 KEY(CONTAINERID, OWNERID, STATE)
+;
+CREATE INDEX EJB__TIMER__TBL.IDX4 KEY(APPLICATIONID)
+;
+
+CREATE TABLE EJB__TIMER__LEASE (
+OWNERID              VARCHAR(255)  NOT NULL,
+LEASEEXPIRATIONRAW   DECIMAL(18,0) NOT NULL,
+PRIMARY KEY (OWNERID)
+);
+CREATE INDEX EJB__TIMER__LEASE.IDX1 KEY(OWNERID)
+;
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright:qw:wq (c) 2019 Fujitsu Limited and/or its affiliates. All rights
  * reserved.
  *
@@ -17,3 +18,7 @@
 
 ALTER TABLE "EJB__TIMER__TBL" ADD COLUMN "SCHEDULE" CHARACTER VARYING(255) NULL
 ALTER TABLE "EJB__TIMER__TBL" ADD COLUMN "APPLICATIONID" BIGINT DEFAULT 0
+CREATE INDEX "IX_EJB__TIMER__OWNER" ON "EJB__TIMER__TBL" ("OWNERID", "STATE", "TIMERID")
+CREATE INDEX "IX_EJB__TIMER__CONTAINER" ON "EJB__TIMER__TBL" ("CONTAINERID", "OWNERID", "STATE")
+CREATE INDEX "IX_EJB__TIMER__APPLICATION" ON "EJB__TIMER__TBL" ("APPLICATIONID")
+CREATE TABLE "EJB__TIMER__LEASE" ("OWNERID" CHARACTER VARYING(255) NOT NULL, "LEASEEXPIRATIONRAW" BIGINT NOT NULL, CONSTRAINT "EJB__TIMER__LEASE_pkey" PRIMARY KEY ("OWNERID"))
@@ -0,0 +1,731 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.glassfish.ha.store.api.BackingStoreFactory;
+
+/**
+ * A BackingStore that appends the data to memory mapped segment files,
+ * instead of writing one file per key like the {@link FileBackingStore}.
+ *
+ * <p>An in memory index maps each key to its latest record, and a time index
+ * orders the keys by their last save or timestamp update, so expiring the idle
+ * keys does not scan the directory. Segments whose records are mostly
+ * replaced or removed are compacted in the background: their live records are
+ * appended again and the segment file is deleted. The index is rebuilt from
+ * the segments when the store is initialized.
+ *
+ * <p>The mapped segments are forced to disk by group commit: one thread forces
+ * the active segment for all the writes waiting for it. Saves, removes and
+ * timestamp updates wait only with the <code>log.sync.writes</code> setting; otherwise the segments are forced
+ * periodically, on commit of a {@link LogStoreTransaction} and on close.
+ *
+ * <p>Vendor specific settings:
+ * <ul>
+ * <li><code>log.segment.size.in.bytes</code> - maximum size of a segment, 64 MB by
+ * default. A segment file grows to it as the records are appended
+ * <li><code>log.compaction.ratio</code> - a segment is compacted when its live
+ * records take less than this part of it, 0.5 by default
+ * <li><code>log.sync.writes</code> - whether save, remove and updateTimestamp wait
+ * until the data is on disk
+ * <li><code>log.force.interval.in.millis</code> - interval of the periodic force
+ * and compaction, 1000 by default
+ * <li><code>max.idle.timeout.in.seconds</code> - idle time of the expired keys
+ * </ul>
+ */
+public class LogBackingStore<K extends Serializable, V extends Serializable>
+        extends BackingStore<K, V> {
+
+    private static final Level TRACE_LEVEL = Level.FINE;
+
+    protected Logger logger =
+            Logger.getLogger(LogBackingStore.class.getName());
+
+    private String debugStr;
+
+    private File baseDir;
+
+    private LogBackingStoreFactory factory;
+
+    private int segmentSize = 64 * 1024 * 1024;
+
+    private double compactionRatio = 0.5;
+
+    private boolean syncWrites;
+
+    private long forceIntervalInMillis = 1000L;
+
+    private long defaultMaxIdleTimeoutInSeconds = 10L * 60L;
+
+    private final ConcurrentHashMap<K, Entry<K>> index = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListMap<Long, LogSegment> segments = new ConcurrentSkipListMap<>();
+
+    // Guards the appends, the time index and the live bytes of the segments
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final TreeSet<Entry<K>> timeIndex = new TreeSet<>(
+            Comparator.<Entry<K>>comparingLong(e -> e.timestamp).thenComparingLong(e -> e.version));
+
+    private LogSegment activeSegment;
+
+    private long nextVersion = 1;
+
+    private long nextSegmentId = 1;
+
+    private long appendCount;
+
+    private final Object forceLock = new Object();
+
+    private boolean forcing;
+
+    private long forcedCount;
+
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    private ScheduledFuture<?> maintenance;
+
+    private volatile boolean closed;
+
+    /**
+     * No arg constructor
+     */
+    public LogBackingStore() {
+    }
+
+    @Override
+    protected void initialize(BackingStoreConfiguration<K, V> conf)
+        throws BackingStoreException {
+
+        if (conf.getLogger() != null) {
+            logger = conf.getLogger();
+        }
+
+        super.initialize(conf);
+        debugStr = "[LogBackingStore - " + conf.getStoreName() + "] ";
+        baseDir = conf.getBaseDirectory();
+
+        Map<String, Object> vendorMap = conf.getVendorSpecificSettings();
+        segmentSize = (int) getSetting(vendorMap, "log.segment.size.in.bytes", segmentSize);
+        forceIntervalInMillis = getSetting(vendorMap, "log.force.interval.in.millis", forceIntervalInMillis);
+        defaultMaxIdleTimeoutInSeconds = getSetting(vendorMap, "max.idle.timeout.in.seconds",
+                defaultMaxIdleTimeoutInSeconds);
+        Object value = vendorMap.get("log.compaction.ratio");
+        if (value != null) {
+            try {
+                compactionRatio = Double.parseDouble(value.toString());
+            } catch (NumberFormatException ex) {
+                //Ignore. Use default
+            }
+        }
+        value = vendorMap.get("log.sync.writes");
+        if (value != null) {
+            syncWrites = Boolean.parseBoolean(value.toString());
+        }
+
+        if ((baseDir.mkdirs() == false) && (! baseDir.isDirectory())) {
+            throw new BackingStoreException("[LogBackingStore::initialize] Create base directory ("
+                    + baseDir.getAbsolutePath() + ") failed");
+        }
+
+        lock.lock();
+        try {
+            recover();
+            activeSegment = LogSegment.create(baseDir, nextSegmentId++, segmentSize);
+            segments.put(activeSegment.id, activeSegment);
+        } catch (IOException ex) {
+            throw new BackingStoreException(debugStr + "Cannot open the segments in " + baseDir, ex);
+        } finally {
+            lock.unlock();
+        }
+
+        logger.log(Level.INFO, "[LogBackingStore::initialize] Successfully Created and initialized store. "
+                + "Working dir: " + baseDir + "; Recovered keys: " + index.size() + "; Configuration: " + conf);
+    }
+
+    /*package*/ void setLogBackingStoreFactory(LogBackingStoreFactory factory) {
+        this.factory = factory;
+        if (forceIntervalInMillis > 0) {
+            maintenance = factory.scheduleMaintenance(this::maintain, forceIntervalInMillis);
+        }
+    }
+
+    @Override
+    public BackingStoreFactory getBackingStoreFactory() {
+        return factory;
+    }
+
+    @Override
+    public V load(K key, String version) throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered load(" + key + ", " + version + ")");
+        }
+        byte[] data = null;
+        while (data == null) {
+            Entry<K> entry = index.get(key);
+            if (entry == null) {
+                return null;
+            }
+            // Null if the segment was compacted in the meantime
+            data = entry.segment.readValue(entry.offset, entry.length);
+        }
+        try {
+            return (V) deserialize(data);
+        } catch (Exception ex) {
+            logger.log(Level.WARNING, debugStr + "Failed to load(" + key + ", " + version + ")", ex);
+            return null;
+        }
+    }
+
+    @Override
+    public String save(K key, V value, boolean isNew) throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered save(" + key + ")");
+        }
+        byte[] keyData = serialize(key);
+        byte[] valueData = serialize(value);
+        long count;
+        lock.lock();
+        try {
+            checkOpen();
+            Entry<K> entry = append(LogSegment.PUT, key, nextVersion++, System.currentTimeMillis(), keyData, valueData);
+            replace(index.put(key, entry), entry);
+            count = appendCount;
+        } finally {
+            lock.unlock();
+        }
+        forceAppended(count);
+        return getBackingStoreConfiguration().getInstanceName();
+    }
+
+    @Override
+    public void remove(K key) throws BackingStoreException {
+        if (!index.containsKey(key)) {
+            return;
+        }
+        byte[] keyData = serialize(key);
+        long count;
+        lock.lock();
+        try {
+            checkOpen();
+            Entry<K> entry = index.remove(key);
+            if (entry == null) {
+                return;
+            }
+            append(LogSegment.REMOVE, key, nextVersion++, System.currentTimeMillis(), keyData, null);
+            replace(entry, null);
+            count = appendCount;
+        } finally {
+            lock.unlock();
+        }
+        forceAppended(count);
+    }
+
+    @Override
+    public void updateTimestamp(K key, long time) throws BackingStoreException {
+        if (!index.containsKey(key)) {
+            return;
+        }
+        byte[] keyData = serialize(key);
+        long count;
+        lock.lock();
+        try {
+            checkOpen();
+            Entry<K> entry = index.get(key);
+            if (entry == null) {
+                return;
+            }
+            // A touch record lives only until the next save of the key
+            append(LogSegment.TOUCH, key, nextVersion++, time, keyData, null);
+            timeIndex.remove(entry);
+            entry.timestamp = time;
+            timeIndex.add(entry);
+            count = appendCount;
+        } finally {
+            lock.unlock();
+        }
+        forceAppended(count);
+    }
+
+    /**
+     * Hands the appended records to the transaction of the thread, or forces
+     * them with the <code>log.sync.writes</code> setting.
+     */
+    private void forceAppended(long count) throws BackingStoreException {
+        LogStoreTransaction tx = LogBackingStoreFactory.getCurrent();
+        if (tx != null) {
+            tx.add(this, count);
+        } else if (syncWrites) {
+            force(count);
+        }
+    }
+
+    @Override
+    public int removeExpired() {
+        return removeExpired(defaultMaxIdleTimeoutInSeconds * 1000L);
+    }
+
+    /**
+     * Removes the keys not saved nor touched for the idle time, taking them
+     * from the head of the time index.
+     */
+    @Override
+    public int removeExpired(long idleForMillis) {
+        long threshold = System.currentTimeMillis() - idleForMillis;
+        int expired = 0;
+        lock.lock();
+        try {
+            while (!closed && !timeIndex.isEmpty() && timeIndex.first().timestamp < threshold) {
+                Entry<K> entry = timeIndex.first();
+                append(LogSegment.REMOVE, entry.key, nextVersion++, threshold, serialize(entry.key), null);
+                index.remove(entry.key, entry);
+                replace(entry, null);
+                expired++;
+            }
+        } catch (BackingStoreException ex) {
+            logger.log(Level.WARNING, debugStr + " Exception while removing the expired keys", ex);
+        } finally {
+            lock.unlock();
+        }
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done removeExpired(); removed " + expired);
+        }
+        return expired;
+    }
+
+    @Override
+    public int size() throws BackingStoreException {
+        return index.size();
+    }
+
+    @Override
+    public void close() throws BackingStoreException {
+        if (closed) {
+            return;
+        }
+        lock.lock();
+        try {
+            closed = true;
+            if (maintenance != null) {
+                factory.cancelMaintenance(maintenance);
+                maintenance = null;
+            }
+            activeSegment.force();
+        } finally {
+            lock.unlock();
+        }
+        super.close();
+    }
+
+    @Override
+    public void destroy() throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered destroy()");
+        }
+        close();
+        List<LogSegment> deleted;
+        lock.lock();
+        try {
+            index.clear();
+            timeIndex.clear();
+            deleted = new ArrayList<>(segments.values());
+            segments.clear();
+        } finally {
+            lock.unlock();
+        }
+        // Outside of the lock, a compaction may still scan a segment
+        for (LogSegment segment : deleted) {
+            if (!segment.delete()) {
+                logger.log(Level.WARNING, debugStr + " destroy() failed to remove segment: " + segment.file);
+            }
+        }
+        if (baseDir.delete() == false && baseDir.exists()) {
+            logger.log(Level.WARNING, debugStr + " destroy() failed to remove dir: " + baseDir.getAbsolutePath());
+        }
+    }
+
+    /**
+     * Waits until the appends up to the given count are on disk. The thread
+     * that finds no force in progress forces the active segment for all the
+     * waiting threads; full segments are forced when they are sealed.
+     */
+    /*package*/ void force(long count) throws BackingStoreException {
+        while (true) {
+            synchronized (forceLock) {
+                while (forcing && forcedCount < count) {
+                    try {
+                        forceLock.wait();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new BackingStoreException(debugStr + "Interrupted while forcing the segments", ex);
+                    }
+                }
+                if (forcedCount >= count) {
+                    return;
+                }
+                forcing = true;
+            }
+
+            long target;
+            LogSegment segment;
+            lock.lock();
+            try {
+                target = appendCount;
+                segment = activeSegment;
+            } finally {
+                lock.unlock();
+            }
+            boolean forced = false;
+            try {
+                segment.force();
+                forced = true;
+            } catch (RuntimeException ex) {
+                throw new BackingStoreException(debugStr + "Cannot force " + segment, ex);
+            } finally {
+                synchronized (forceLock) {
+                    forcing = false;
+                    if (forced && target > forcedCount) {
+                        forcedCount = target;
+                    }
+                    forceLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    /*package*/ long getForcedCount() {
+        synchronized (forceLock) {
+            return forcedCount;
+        }
+    }
+
+    /**
+     * Periodic group commit and compaction, run by the maintenance thread of
+     * the factory.
+     */
+    private void maintain() {
+        if (closed) {
+            return;
+        }
+        try {
+            long count;
+            lock.lock();
+            try {
+                count = appendCount;
+            } finally {
+                lock.unlock();
+            }
+            force(count);
+            compact();
+        } catch (Exception ex) {
+            logger.log(Level.WARNING, debugStr + "Maintenance of the segments failed", ex);
+        }
+    }
+
+    /**
+     * Appends the live records of the sealed segments, whose live records take
+     * less than the compaction ratio, to the active segment and deletes them.
+     */
+    /*package*/ void compact() throws BackingStoreException {
+        if (!compacting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<LogSegment> candidates = new ArrayList<>();
+            lock.lock();
+            try {
+                for (LogSegment segment : segments.values()) {
+                    if (segment != activeSegment && segment.isSealed()
+                            && segment.getLiveBytes() < segment.getWritePosition() * compactionRatio) {
+                        candidates.add(segment);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            for (LogSegment segment : candidates) {
+                if (closed) {
+                    return;
+                }
+                compact(segment);
+            }
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private void compact(LogSegment segment) throws BackingStoreException {
+        segment.scan(record -> {
+            K key;
+            try {
+                key = (K) deserialize(record.key);
+            } catch (Exception ex) {
+                logger.log(Level.WARNING, debugStr + "Cannot read a key of " + segment, ex);
+                return;
+            }
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                Entry<K> entry = index.get(key);
+                if (record.type == LogSegment.PUT) {
+                    if (entry != null && entry.segment == segment && entry.offset == record.offset) {
+                        Entry<K> copy = append(LogSegment.PUT, key, record.version, entry.timestamp,
+                                record.key, record.value);
+                        index.put(key, copy);
+                        replace(entry, copy);
+                    }
+                } else if (record.type == LogSegment.REMOVE) {
+                    // Still hides the saves in the older segments
+                    if ((entry == null || entry.version < record.version) && segments.firstKey() < segment.id) {
+                        append(LogSegment.REMOVE, key, record.version, record.timestamp, record.key, null);
+                    }
+                } else if (record.type == LogSegment.TOUCH) {
+                    if (entry != null && entry.segment != segment && entry.version < record.version
+                            && entry.timestamp == record.timestamp) {
+                        append(LogSegment.TOUCH, key, record.version, record.timestamp, record.key, null);
+                    }
+                }
+            } catch (BackingStoreException ex) {
+                throw new IllegalStateException(ex);
+            } finally {
+                lock.unlock();
+            }
+        });
+
+        long count;
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            segments.remove(segment.id);
+            count = appendCount;
+        } finally {
+            lock.unlock();
+        }
+        // The copies must be on disk before the segment is gone
+        force(count);
+        if (!segment.delete()) {
+            logger.log(Level.WARNING, debugStr + "Cannot delete the compacted segment " + segment.file);
+            segment.file.deleteOnExit();
+        }
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Compacted " + segment);
+        }
+    }
+
+    /**
+     * Appends a record to the active segment, starting a new segment if it is
+     * full. Must be called with the lock held.
+     *
+     * @return the index entry of a PUT record
+     */
+    private Entry<K> append(byte type, K key, long version, long timestamp, byte[] keyData, byte[] valueData)
+            throws BackingStoreException {
+        int offset;
+        try {
+            offset = activeSegment.append(type, version, timestamp, keyData, valueData);
+            if (offset < 0) {
+                rollSegment(LogSegment.recordLength(keyData, valueData));
+                offset = activeSegment.append(type, version, timestamp, keyData, valueData);
+            }
+        } catch (IOException ex) {
+            throw new BackingStoreException(debugStr + "Cannot extend " + activeSegment, ex);
+        }
+        appendCount++;
+        if (type != LogSegment.PUT) {
+            return null;
+        }
+        Entry<K> entry = new Entry<>(key, activeSegment, offset,
+                LogSegment.recordLength(keyData, valueData), version, timestamp);
+        activeSegment.addLiveBytes(entry.length);
+        return entry;
+    }
+
+    private void rollSegment(int recordLength) throws BackingStoreException {
+        LogSegment full = activeSegment;
+        full.seal();
+        full.force();
+        try {
+            activeSegment = LogSegment.create(baseDir, nextSegmentId++, Math.max(segmentSize, recordLength));
+        } catch (IOException ex) {
+            throw new BackingStoreException(debugStr + "Cannot create a new segment in " + baseDir, ex);
+        }
+        segments.put(activeSegment.id, activeSegment);
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Sealed " + full + ", started " + activeSegment);
+        }
+    }
+
+    /**
+     * Replaces the old entry of a key in the time index and the live bytes.
+     * Must be called with the lock held.
+     */
+    private void replace(Entry<K> oldEntry, Entry<K> newEntry) {
+        if (oldEntry != null) {
+            timeIndex.remove(oldEntry);
+            oldEntry.segment.addLiveBytes(-oldEntry.length);
+        }
+        if (newEntry != null) {
+            timeIndex.add(newEntry);
+        }
+    }
+
+    /**
+     * Rebuilds the index from the records of the existing segments. The
+     * latest version of each key wins, compacted records keep their version.
+     */
+    private void recover() throws IOException {
+        File[] files = baseDir.listFiles((dir, name) -> LogSegment.parseId(name) >= 0);
+        if (files == null || files.length == 0) {
+            return;
+        }
+
+        Map<K, Entry<K>> saved = new HashMap<>();
+        Map<K, Long> removed = new HashMap<>();
+        Map<K, long[]> touched = new HashMap<>();
+        long maxVersion = 0;
+        for (File file : files) {
+            LogSegment segment = LogSegment.open(file);
+            segments.put(segment.id, segment);
+            long[] versions = {0};
+            segment.scan(record -> {
+                versions[0] = Math.max(versions[0], record.version);
+                K key;
+                try {
+                    key = (K) deserialize(record.key);
+                } catch (Exception ex) {
+                    logger.log(Level.WARNING, debugStr + "Cannot read a key of " + segment, ex);
+                    return;
+                }
+                if (record.type == LogSegment.PUT) {
+                    Entry<K> entry = saved.get(key);
+                    if (entry == null || entry.version < record.version) {
+                        saved.put(key, new Entry<>(key, segment, record.offset, record.length,
+                                record.version, record.timestamp));
+                    }
+                } else if (record.type == LogSegment.REMOVE) {
+                    removed.merge(key, record.version, Math::max);
+                } else if (record.type == LogSegment.TOUCH) {
+                    long[] touch = touched.get(key);
+                    if (touch == null || touch[0] < record.version) {
+                        touched.put(key, new long[] {record.version, record.timestamp});
+                    }
+                }
+            });
+            maxVersion = Math.max(maxVersion, versions[0]);
+            nextSegmentId = Math.max(nextSegmentId, segment.id + 1);
+        }
+
+        for (Entry<K> entry : saved.values()) {
+            Long removal = removed.get(entry.key);
+            if (removal != null && removal > entry.version) {
+                continue;
+            }
+            long[] touch = touched.get(entry.key);
+            if (touch != null && touch[0] > entry.version) {
+                entry.timestamp = Math.max(entry.timestamp, touch[1]);
+            }
+            index.put(entry.key, entry);
+            timeIndex.add(entry);
+            entry.segment.addLiveBytes(entry.length);
+        }
+        nextVersion = maxVersion + 1;
+    }
+
+    private void checkOpen() throws BackingStoreException {
+        if (closed) {
+            throw new BackingStoreException(debugStr + "The store is closed");
+        }
+    }
+
+    private Object deserialize(byte[] data) throws Exception {
+        try (ObjectInputStream ois = super.createObjectInputStream(new ByteArrayInputStream(data))) {
+            return ois.readObject();
+        }
+    }
+
+    private static byte[] serialize(Object obj) throws BackingStoreException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(obj);
+        } catch (IOException ioEx) {
+            throw new BackingStoreException("Error during serialization", ioEx);
+        }
+        return bos.toByteArray();
+    }
+
+    private static long getSetting(Map<String, Object> vendorMap, String name, long defaultValue) {
+        Object value = vendorMap.get(name);
+        if (value != null) {
+            try {
+                return Long.parseLong(value.toString());
+            } catch (NumberFormatException ex) {
+                //Ignore. Use default
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Location and last access of the latest PUT record of a key
+     */
+    private static final class Entry<K> {
+
+        final K key;
+        final LogSegment segment;
+        final int offset;
+        final int length;
+        final long version;
+        long timestamp;
+
+        Entry(K key, LogSegment segment, int offset, int length, long version, long timestamp) {
+            this.key = key;
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.version = version;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.Serializable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.glassfish.ha.store.api.BackingStoreFactory;
+import org.glassfish.ha.store.api.BackingStoreTransaction;
+import org.jvnet.hk2.annotations.Service;
+
+/**
+ * Creates the {@link LogBackingStore}s, for the persistence type "log".
+ * One daemon thread forces and compacts the segments of all the stores. It
+ * is stopped when the last store is closed.
+ */
+@Service(name = "log")
+public class LogBackingStoreFactory
+        implements BackingStoreFactory {
+
+    private static ThreadLocal<LogStoreTransaction> _current = new ThreadLocal<>();
+
+    private ScheduledExecutorService maintenanceExecutor;
+
+    private int maintenanceCount;
+
+    @Override
+    public <K extends Serializable, V extends Serializable> BackingStore<K, V> createBackingStore(
+            BackingStoreConfiguration<K, V> conf)
+                throws BackingStoreException {
+        LogBackingStore<K, V> store = new LogBackingStore<>();
+        store.initialize(conf);
+        store.setLogBackingStoreFactory(this);
+        return store;
+    }
+
+    @Override
+    public BackingStoreTransaction createBackingStoreTransaction() {
+        LogStoreTransaction tx = new LogStoreTransaction();
+        _current.set(tx);
+        return tx;
+    }
+
+    //package
+    synchronized ScheduledFuture<?> scheduleMaintenance(Runnable task, long intervalInMillis) {
+        if (maintenanceExecutor == null) {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread thread = new Thread(r, "log-backing-store-maintenance");
+                thread.setDaemon(true);
+                thread.setContextClassLoader(null);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            maintenanceExecutor = executor;
+        }
+        ScheduledFuture<?> future = maintenanceExecutor.scheduleWithFixedDelay(task, intervalInMillis,
+                intervalInMillis, TimeUnit.MILLISECONDS);
+        maintenanceCount++;
+        return future;
+    }
+
+    //package
+    synchronized void cancelMaintenance(ScheduledFuture<?> future) {
+        future.cancel(false);
+        if (--maintenanceCount == 0) {
+            maintenanceExecutor.shutdown();
+            maintenanceExecutor = null;
+        }
+    }
+
+    //package
+    synchronized boolean isMaintenanceRunning() {
+        return maintenanceExecutor != null;
+    }
+
+    //package
+    static final LogStoreTransaction getCurrent() {
+        return _current.get();
+    }
+
+    //package
+    static final void clearCurrent(LogStoreTransaction tx) {
+        if (_current.get() == tx) {
+            _current.remove();
+        }
+    }
+}
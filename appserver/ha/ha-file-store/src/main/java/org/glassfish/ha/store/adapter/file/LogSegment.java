@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * One memory mapped, append-only file of a {@link LogBackingStore}.
+ *
+ * <p>A record is laid out as
+ * <pre>
+ * int length | int crc | byte type | long version | long timestamp | int keyLength | key | value
+ * </pre>
+ * where the crc covers everything after itself. The unused rest of a segment
+ * is zero, so a zero length, a length past the end or a crc mismatch ends the
+ * records of a segment. Records are appended under the write lock of the
+ * store; a sealed segment is never written again.
+ *
+ * <p>A new segment maps only the first megabyte of the file and doubles the
+ * mapping, up to the segment size, when it is full. A segment references
+ * only its current mapping, so the store holds at most one mapping per
+ * segment. The replaced mappings and the mapping of a deleted segment are
+ * released by the garbage collector once no reader uses them anymore, a
+ * read never sees an unmapped buffer. Reads of a deleted segment return null.
+ */
+final class LogSegment {
+
+    static final byte PUT = 1;
+    static final byte REMOVE = 2;
+    static final byte TOUCH = 3;
+
+    static final int HEADER_SIZE = 4 + 4 + 1 + 8 + 8 + 4;
+
+    static final int INITIAL_MAPPING_SIZE = 1024 * 1024;
+
+    private static final String PREFIX = "segment-";
+    private static final String SUFFIX = ".log";
+
+    final long id;
+
+    final File file;
+
+    // Maximum size of the mapping
+    private final int capacity;
+
+    // Replaced by a larger mapping by the appending thread, null once deleted
+    private volatile MappedByteBuffer buffer;
+
+    private int writePosition;
+
+    private volatile boolean sealed;
+
+    // Bytes of the PUT records still referenced by the index
+    private long liveBytes;
+
+    private LogSegment(long id, File file, int capacity, MappedByteBuffer buffer, int writePosition, boolean sealed) {
+        this.id = id;
+        this.file = file;
+        this.capacity = capacity;
+        this.buffer = buffer;
+        this.writePosition = writePosition;
+        this.sealed = sealed;
+    }
+
+    static LogSegment create(File dir, long id, int capacity) throws IOException {
+        File file = new File(dir, PREFIX + id + SUFFIX);
+        int size = Math.min(capacity, INITIAL_MAPPING_SIZE);
+        return new LogSegment(id, file, capacity, map(file, size), 0, false);
+    }
+
+    /**
+     * Maps an existing segment read only. Its records have to be scanned to
+     * find its end.
+     */
+    static LogSegment open(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new LogSegment(parseId(file.getName()), file, buffer.capacity(), buffer, 0, true);
+        }
+    }
+
+    private static MappedByteBuffer map(File file, int size) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel()) {
+            raf.setLength(size);
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    /**
+     * @return the id of the segment with the given file name or -1 if it is
+     *         not the name of a segment
+     */
+    static long parseId(String fileName) {
+        if (!fileName.startsWith(PREFIX) || !fileName.endsWith(SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(fileName.substring(PREFIX.length(), fileName.length() - SUFFIX.length()));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    static int recordLength(byte[] key, byte[] value) {
+        return HEADER_SIZE + key.length + (value == null ? 0 : value.length);
+    }
+
+    /**
+     * @return offset of the record or -1 if the segment is full
+     */
+    int append(byte type, long version, long timestamp, byte[] key, byte[] value) throws IOException {
+        int length = recordLength(key, value);
+        if (sealed || writePosition + length > capacity) {
+            return -1;
+        }
+        MappedByteBuffer mapping = buffer;
+        if (mapping == null) {
+            return -1;
+        }
+        if (writePosition + length > mapping.capacity()) {
+            mapping = grow(mapping, writePosition + length);
+        }
+        int offset = writePosition;
+        ByteBuffer record = mapping.duplicate();
+        record.position(offset + 8);
+        record.put(type).putLong(version).putLong(timestamp).putInt(key.length).put(key);
+        if (value != null) {
+            record.put(value);
+        }
+        record.putInt(offset + 4, crc(record, offset, length));
+        // The length comes last, a torn record ends the segment
+        record.putInt(offset, length);
+        writePosition += length;
+        return offset;
+    }
+
+    /**
+     * Maps the file with at least the given size, doubling the current mapping.
+     * Must be called by the appending thread.
+     */
+    private MappedByteBuffer grow(MappedByteBuffer current, int minSize) throws IOException {
+        int size = current.capacity();
+        while (size < minSize) {
+            size = (int) Math.min((long) size * 2, capacity);
+        }
+        MappedByteBuffer larger = map(file, size);
+        current.force();
+        buffer = larger;
+        return larger;
+    }
+
+    /**
+     * @return the value of the PUT record at the offset, or null if the
+     *         segment was deleted
+     */
+    byte[] readValue(int offset, int length) {
+        MappedByteBuffer mapping = buffer;
+        if (mapping == null) {
+            return null;
+        }
+        ByteBuffer record = mapping.duplicate();
+        int keyLength = record.getInt(offset + HEADER_SIZE - 4);
+        byte[] value = new byte[length - HEADER_SIZE - keyLength];
+        record.position(offset + HEADER_SIZE + keyLength);
+        record.get(value);
+        return value;
+    }
+
+    /**
+     * Passes the valid records to the consumer and sets the end of a
+     * recovered segment after the last one.
+     */
+    void scan(Consumer<Record> consumer) {
+        MappedByteBuffer mapping = buffer;
+        if (mapping != null) {
+            scan(mapping.duplicate(), consumer);
+        }
+    }
+
+    private void scan(ByteBuffer records, Consumer<Record> consumer) {
+        int limit = sealed && writePosition > 0 ? writePosition : records.capacity();
+        int position = 0;
+        while (position + HEADER_SIZE <= limit) {
+            int length = records.getInt(position);
+            if (length < HEADER_SIZE || position + length > limit
+                || records.getInt(position + 4) != crc(records, position, length)) {
+                break;
+            }
+            records.position(position + 8);
+            Record record = new Record();
+            record.offset = position;
+            record.length = length;
+            record.type = records.get();
+            record.version = records.getLong();
+            record.timestamp = records.getLong();
+            int keyLength = records.getInt();
+            if (keyLength < 0 || keyLength > length - HEADER_SIZE) {
+                break;
+            }
+            record.key = new byte[keyLength];
+            records.get(record.key);
+            if (record.type == PUT) {
+                record.value = new byte[length - HEADER_SIZE - keyLength];
+                records.get(record.value);
+            }
+            consumer.accept(record);
+            position += length;
+        }
+        if (writePosition == 0) {
+            writePosition = position;
+        }
+    }
+
+    void seal() {
+        sealed = true;
+    }
+
+    boolean isSealed() {
+        return sealed;
+    }
+
+    void force() {
+        MappedByteBuffer mapping = buffer;
+        if (mapping != null && !mapping.isReadOnly()) {
+            mapping.force();
+        }
+    }
+
+    int getWritePosition() {
+        return writePosition;
+    }
+
+    long getLiveBytes() {
+        return liveBytes;
+    }
+
+    void addLiveBytes(long bytes) {
+        liveBytes += bytes;
+    }
+
+    /**
+     * Drops the mapping of the segment and deletes its file.
+     */
+    boolean delete() {
+        buffer = null;
+        return file.delete() || !file.exists();
+    }
+
+    /**
+     * @return the size of the current mapping, 0 once deleted
+     */
+    int getMappedSize() {
+        MappedByteBuffer mapping = buffer;
+        return mapping == null ? 0 : mapping.capacity();
+    }
+
+    private static int crc(ByteBuffer buffer, int offset, int length) {
+        ByteBuffer covered = buffer.duplicate();
+        covered.limit(offset + length).position(offset + 8);
+        CRC32 crc = new CRC32();
+        crc.update(covered);
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public String toString() {
+        return file.getName() + "[" + writePosition + "/" + capacity + ", live " + liveBytes + "]";
+    }
+
+    static final class Record {
+        int offset;
+        int length;
+        byte type;
+        long version;
+        long timestamp;
+        byte[] key;
+        byte[] value;
+    }
+}
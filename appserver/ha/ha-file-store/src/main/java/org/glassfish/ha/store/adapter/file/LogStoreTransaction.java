@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.glassfish.ha.store.api.BackingStoreTransaction;
+
+/**
+ * The saves of a LogStoreTransaction do not wait for the disk, the commit
+ * forces the segments once for all of them.
+ */
+public class LogStoreTransaction
+    implements BackingStoreTransaction {
+
+    // The append count of the last save in each store
+    private final Map<LogBackingStore<?, ?>, Long> stores = new IdentityHashMap<>();
+
+    /*package*/ void add(LogBackingStore<?, ?> store, long appendCount) {
+        stores.merge(store, appendCount, Math::max);
+    }
+
+    @Override
+    public void commit() throws BackingStoreException {
+        LogBackingStoreFactory.clearCurrent(this);
+        try {
+            for (Map.Entry<LogBackingStore<?, ?>, Long> entry : stores.entrySet()) {
+                entry.getKey().force(entry.getValue());
+            }
+        } finally {
+            stores.clear();
+        }
+    }
+
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.ha.store.adapter.file.LogSegment.Record;
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.glassfish.ha.store.api.BackingStoreTransaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogBackingStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private final LogBackingStoreFactory factory = new LogBackingStoreFactory();
+
+    private final List<LogBackingStore<String, String>> stores = new ArrayList<>();
+
+    @AfterEach
+    public void closeStores() throws Exception {
+        for (LogBackingStore<String, String> store : stores) {
+            store.close();
+        }
+    }
+
+    @Test
+    public void savedValuesAreRecoveredAfterReopen() throws Exception {
+        LogBackingStore<String, String> store = open("0", false);
+        store.save("a", "1", true);
+        store.save("b", "2", true);
+        store.save("a", "3", false);
+        store.remove("b");
+        assertThat(store.load("a", null), equalTo("3"));
+        assertThat(store.load("b", null), nullValue());
+        store.close();
+
+        store = open("0", false);
+        assertThat(store.size(), equalTo(1));
+        assertThat(store.load("a", null), equalTo("3"));
+        assertThat(store.load("b", null), nullValue());
+    }
+
+    @Test
+    public void tornTailIsDroppedOnRecovery() throws Exception {
+        LogBackingStore<String, String> store = open("0", false);
+        store.save("a", "1", true);
+        store.save("b", "2", true);
+        store.close();
+
+        // Cut the last record in the middle, as a crash during the append would
+        File file = segmentFiles()[0];
+        List<Record> records = new ArrayList<>();
+        LogSegment.open(file).scan(records::add);
+        Record last = records.get(records.size() - 1);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(last.offset + last.length / 2);
+            raf.write(new byte[last.length - last.length / 2]);
+        }
+
+        store = open("0", false);
+        assertThat(store.size(), equalTo(1));
+        assertThat(store.load("a", null), equalTo("1"));
+        assertThat(store.load("b", null), nullValue());
+
+        // The new records are appended to a new segment
+        store.save("b", "3", true);
+        store.close();
+        store = open("0", false);
+        assertThat(store.load("b", null), equalTo("3"));
+    }
+
+    @Test
+    public void compactionKeepsOnlyTheLiveRecords() throws Exception {
+        LogBackingStore<String, String> store = open("0", false, "log.segment.size.in.bytes", "1024");
+        store.save("other", "x", true);
+        for (int i = 0; i < 100; i++) {
+            store.save("key", "value-" + i, i == 0);
+        }
+        int before = segmentFiles().length;
+
+        store.compact();
+
+        assertThat(segmentFiles().length, lessThan(before));
+        assertThat(store.load("key", null), equalTo("value-99"));
+        assertThat(store.load("other", null), equalTo("x"));
+        store.close();
+
+        store = open("0", false, "log.segment.size.in.bytes", "1024");
+        assertThat(store.size(), equalTo(2));
+        assertThat(store.load("key", null), equalTo("value-99"));
+        assertThat(store.load("other", null), equalTo("x"));
+    }
+
+    @Test
+    public void removalSurvivesTheCompactionOfItsSegment() throws Exception {
+        LogBackingStore<String, String> store = open("0", false, "log.segment.size.in.bytes", "1024");
+        store.save("removed", "x", true);
+        store.remove("removed");
+        for (int i = 0; i < 100; i++) {
+            store.save("key", "value-" + i, i == 0);
+        }
+
+        store.compact();
+        store.close();
+
+        store = open("0", false, "log.segment.size.in.bytes", "1024");
+        assertThat(store.load("removed", null), nullValue());
+        assertThat(store.size(), equalTo(1));
+    }
+
+    @Test
+    public void commitForcesTheSavesOfTheTransaction() throws Exception {
+        LogBackingStore<String, String> store = open("0", false);
+        BackingStoreTransaction tx = factory.createBackingStoreTransaction();
+        store.save("a", "1", true);
+        store.save("b", "2", true);
+        store.save("c", "3", true);
+        assertThat(store.getForcedCount(), equalTo(0L));
+
+        tx.commit();
+
+        assertThat(store.getForcedCount(), equalTo(3L));
+        // The transaction is not current anymore
+        store.save("d", "4", true);
+        assertThat(store.getForcedCount(), equalTo(3L));
+    }
+
+    @Test
+    public void syncWritesForceTheRemovesAndTimestampUpdates() throws Exception {
+        LogBackingStore<String, String> store = open("0", true);
+        store.save("a", "1", true);
+        assertThat(store.getForcedCount(), equalTo(1L));
+
+        store.updateTimestamp("a", System.currentTimeMillis());
+        assertThat(store.getForcedCount(), equalTo(2L));
+
+        store.remove("a");
+        assertThat(store.getForcedCount(), equalTo(3L));
+
+        // Nothing is appended for a missing key
+        store.remove("a");
+        store.updateTimestamp("a", System.currentTimeMillis());
+        assertThat(store.getForcedCount(), equalTo(3L));
+    }
+
+    @Test
+    public void concurrentSyncWritesShareTheForces() throws Exception {
+        LogBackingStore<String, String> store = open("0", true);
+        int threads = 8;
+        int saves = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String prefix = "thread-" + t + "-";
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < saves; i++) {
+                        store.save(prefix + i, "value", true);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(store.getForcedCount(), equalTo((long) threads * saves));
+        assertThat(store.size(), equalTo(threads * saves));
+    }
+
+    @Test
+    public void idleKeysExpire() throws Exception {
+        LogBackingStore<String, String> store = open("0", false);
+        long hourAgo = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1);
+        store.save("a", "1", true);
+        store.save("b", "2", true);
+        store.save("c", "3", true);
+        store.updateTimestamp("a", hourAgo);
+        store.updateTimestamp("b", hourAgo);
+
+        assertThat(store.removeExpired(TimeUnit.MINUTES.toMillis(10)), equalTo(2));
+        assertThat(store.removeExpired(TimeUnit.MINUTES.toMillis(10)), equalTo(0));
+        assertThat(store.load("a", null), nullValue());
+        assertThat(store.load("c", null), equalTo("3"));
+        store.close();
+
+        store = open("0", false);
+        assertThat(store.size(), equalTo(1));
+        assertThat(store.load("c", null), equalTo("3"));
+    }
+
+    @Test
+    public void touchedKeyDoesNotExpire() throws Exception {
+        LogBackingStore<String, String> store = open("0", false);
+        long hourAgo = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1);
+        store.save("a", "1", true);
+        store.updateTimestamp("a", hourAgo);
+        store.updateTimestamp("a", System.currentTimeMillis());
+
+        assertThat(store.removeExpired(TimeUnit.MINUTES.toMillis(10)), equalTo(0));
+        assertThat(store.load("a", null), equalTo("1"));
+    }
+
+    @Test
+    public void maintenanceThreadStopsWithTheLastStore() throws Exception {
+        LogBackingStore<String, String> first = open("50", false);
+        LogBackingStore<String, String> second = open("50", false, "store", "second");
+        assertTrue(factory.isMaintenanceRunning());
+
+        first.close();
+        assertTrue(factory.isMaintenanceRunning());
+
+        second.destroy();
+        assertFalse(factory.isMaintenanceRunning());
+
+        // A new store starts it again
+        open("50", false);
+        assertTrue(factory.isMaintenanceRunning());
+    }
+
+    @Test
+    public void destroyDeletesTheSegments() throws Exception {
+        LogBackingStore<String, String> store = open("0", false);
+        store.save("a", "1", true);
+
+        store.destroy();
+
+        assertFalse(dir.resolve("store").toFile().exists());
+    }
+
+    private LogBackingStore<String, String> open(String forceInterval, boolean syncWrites, String... settings)
+            throws Exception {
+        String name = "store";
+        BackingStoreConfiguration<String, String> conf = new BackingStoreConfiguration<>();
+        conf.getVendorSpecificSettings().put("log.force.interval.in.millis", forceInterval);
+        conf.getVendorSpecificSettings().put("log.sync.writes", Boolean.toString(syncWrites));
+        for (int i = 0; i < settings.length; i += 2) {
+            if (settings[i].equals("store")) {
+                name = settings[i + 1];
+            } else {
+                conf.getVendorSpecificSettings().put(settings[i], settings[i + 1]);
+            }
+        }
+        conf.setStoreName(name).setInstanceName("instance")
+            .setBaseDirectory(dir.resolve(name).toFile())
+            .setKeyClazz(String.class).setValueClazz(String.class)
+            .setClassLoader(LogBackingStoreTest.class.getClassLoader());
+        LogBackingStore<String, String> store = (LogBackingStore<String, String>) factory.createBackingStore(conf);
+        stores.add(store);
+        return store;
+    }
+
+    private File[] segmentFiles() {
+        return dir.resolve("store").toFile().listFiles((d, n) -> LogSegment.parseId(n) >= 0);
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.glassfish.ha.store.adapter.file.LogSegment.Record;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogSegmentTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void recordsAreReadBackWithTheirFields() throws Exception {
+        LogSegment segment = LogSegment.create(dir.toFile(), 1, 4096);
+        int put = segment.append(LogSegment.PUT, 7, 1000, bytes("key"), bytes("value"));
+        int remove = segment.append(LogSegment.REMOVE, 8, 2000, bytes("key"), null);
+
+        assertThat(put, equalTo(0));
+        assertThat(remove, equalTo(LogSegment.recordLength(bytes("key"), bytes("value"))));
+        assertArrayEquals(bytes("value"), segment.readValue(put, remove));
+
+        List<Record> records = scan(LogSegment.open(segment.file));
+        assertThat(records, hasSize(2));
+        Record record = records.get(0);
+        assertThat(record.type, equalTo(LogSegment.PUT));
+        assertThat(record.version, equalTo(7L));
+        assertThat(record.timestamp, equalTo(1000L));
+        assertArrayEquals(bytes("key"), record.key);
+        assertArrayEquals(bytes("value"), record.value);
+        record = records.get(1);
+        assertThat(record.type, equalTo(LogSegment.REMOVE));
+        assertThat(record.offset, equalTo(remove));
+        assertThat(record.value, nullValue());
+    }
+
+    @Test
+    public void corruptedRecordEndsTheSegment() throws Exception {
+        LogSegment segment = LogSegment.create(dir.toFile(), 1, 4096);
+        segment.append(LogSegment.PUT, 1, 1000, bytes("a"), bytes("first"));
+        int second = segment.append(LogSegment.PUT, 2, 1000, bytes("b"), bytes("second"));
+        segment.append(LogSegment.PUT, 3, 1000, bytes("c"), bytes("third"));
+        segment.force();
+
+        // Flip a byte of the value of the second record
+        int length = LogSegment.recordLength(bytes("b"), bytes("second"));
+        try (RandomAccessFile raf = new RandomAccessFile(segment.file, "rw")) {
+            raf.seek(second + length - 1);
+            int b = raf.read();
+            raf.seek(second + length - 1);
+            raf.write(b ^ 0xff);
+        }
+
+        LogSegment recovered = LogSegment.open(segment.file);
+        List<Record> records = scan(recovered);
+        assertThat(records, hasSize(1));
+        assertThat(recovered.getWritePosition(), equalTo(second));
+    }
+
+    @Test
+    public void tornTailEndsTheSegment() throws Exception {
+        LogSegment segment = LogSegment.create(dir.toFile(), 1, 4096);
+        segment.append(LogSegment.PUT, 1, 1000, bytes("a"), bytes("first"));
+        int second = segment.append(LogSegment.PUT, 2, 1000, bytes("b"), bytes("second"));
+        segment.force();
+
+        // The length of the second record points past the end of the file
+        try (RandomAccessFile raf = new RandomAccessFile(segment.file, "rw")) {
+            raf.setLength(second + LogSegment.HEADER_SIZE + 2);
+        }
+
+        assertThat(scan(LogSegment.open(segment.file)), hasSize(1));
+    }
+
+    @Test
+    public void mappingGrowsUpToTheCapacity() throws Exception {
+        int capacity = 4 * LogSegment.INITIAL_MAPPING_SIZE;
+        LogSegment segment = LogSegment.create(dir.toFile(), 1, capacity);
+        assertThat(segment.getMappedSize(), equalTo(LogSegment.INITIAL_MAPPING_SIZE));
+        assertThat(segment.file.length(), equalTo((long) LogSegment.INITIAL_MAPPING_SIZE));
+
+        byte[] value = new byte[LogSegment.INITIAL_MAPPING_SIZE / 2];
+        List<Integer> offsets = new ArrayList<>();
+        int offset;
+        while ((offset = segment.append(LogSegment.PUT, offsets.size(), 1000, bytes("k"), value)) >= 0) {
+            offsets.add(offset);
+        }
+
+        assertThat(offsets, hasSize(7));
+        assertThat(segment.getMappedSize(), equalTo(capacity));
+        assertThat(segment.file.length(), equalTo((long) capacity));
+        assertThat(scan(LogSegment.open(segment.file)), hasSize(7));
+    }
+
+    @Test
+    public void deletedSegmentIsNotReadAnymore() throws Exception {
+        LogSegment segment = LogSegment.create(dir.toFile(), 1, 4096);
+        int length = LogSegment.recordLength(bytes("key"), bytes("value"));
+        int offset = segment.append(LogSegment.PUT, 1, 1000, bytes("key"), bytes("value"));
+
+        assertTrue(segment.delete());
+
+        File file = segment.file;
+        assertFalse(file.exists());
+        assertThat(segment.readValue(offset, length), nullValue());
+        assertThat(scan(segment), hasSize(0));
+    }
+
+    @Test
+    public void readsRacingTheGrowthAndTheDeletionSeeTheValueOrNull() throws Exception {
+        LogSegment segment = LogSegment.create(dir.toFile(), 1, 4 * LogSegment.INITIAL_MAPPING_SIZE);
+        byte[] first = bytes("first value");
+        int length = LogSegment.recordLength(bytes("key"), first);
+        int offset = segment.append(LogSegment.PUT, 1, 1000, bytes("key"), first);
+
+        AtomicBoolean deleted = new AtomicBoolean();
+        List<String> failures = new CopyOnWriteArrayList<>();
+        Thread reader = new Thread(() -> {
+            while (true) {
+                byte[] value = segment.readValue(offset, length);
+                if (value == null) {
+                    if (!deleted.get()) {
+                        failures.add("null before the deletion");
+                    }
+                    return;
+                }
+                if (!Arrays.equals(value, first)) {
+                    failures.add("torn value");
+                }
+            }
+        });
+        reader.start();
+
+        byte[] value = new byte[LogSegment.INITIAL_MAPPING_SIZE / 2];
+        while (segment.append(LogSegment.PUT, 2, 1000, bytes("k"), value) >= 0) {
+            // grows the mapping under the reader
+        }
+        deleted.set(true);
+        assertTrue(segment.delete());
+        reader.join(10_000L);
+
+        assertFalse(reader.isAlive());
+        assertThat(failures, hasSize(0));
+        assertThat(segment.getMappedSize(), equalTo(0));
+    }
+
+    @Test
+    public void segmentFileNamesAreParsed() {
+        assertThat(LogSegment.parseId("segment-42.log"), equalTo(42L));
+        assertThat(LogSegment.parseId("segment-x.log"), equalTo(-1L));
+        assertThat(LogSegment.parseId("other-42.log"), equalTo(-1L));
+    }
+
+    private static List<Record> scan(LogSegment segment) {
+        List<Record> records = new ArrayList<>();
+        segment.scan(records::add);
+        return records;
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
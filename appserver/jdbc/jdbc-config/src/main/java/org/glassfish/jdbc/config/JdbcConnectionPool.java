@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -72,7 +72,7 @@ import org.jvnet.hk2.config.types.PropertyBag;
 @UniqueResourceNameConstraint(message ="{resourcename.isnot.unique}", payload = JdbcConnectionPool.class)
 public interface JdbcConnectionPool extends ConfigBeanProxy, Resource, ResourcePool, PropertyBag {
 
-    String CONNECTION_VALIDATION_METHODS = "(auto-commit|meta-data|custom-validation|table)";
+    String CONNECTION_VALIDATION_METHODS = "(auto-commit|meta-data|custom-validation|table|jdbc4)";
 
     String ISOLATION_LEVELS = "(read-uncommitted|read-committed|repeatable-read|serializable)";
 
@@ -338,6 +338,7 @@ public interface JdbcConnectionPool extends ConfigBeanProxy, Resource, ResourceP
      * <li>{@code auto-commit} using connection.autoCommit()</li>
      * <li>{@code meta-data} using connection.getMetaData()</li>
      * <li>{@code table} performing a query on a user specified table(see validation-table-name)</li>
+     * <li>{@code jdbc4} using connection.isValid(timeout)</li>
      * </ul>
      *
      * @return possible object is {@link String}
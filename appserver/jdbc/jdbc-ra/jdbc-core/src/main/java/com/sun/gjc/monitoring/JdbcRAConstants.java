@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -37,11 +38,26 @@ public interface JdbcRAConstants {
      */
     public static final String STATEMENT_CACHE_MISS = "statementCacheMissEvent";
 
+    /**
+     * Represents the statement cache eviction monitoring event.
+     */
+    public static final String STATEMENT_CACHE_EVICTION = "statementCacheEvictionEvent";
+
     /**
      * Represents caching of sql query event.
      */
     public static final String TRACE_SQL = "traceSQLEvent";
 
+    /**
+     * Represents the execution of a traced sql query event.
+     */
+    public static final String SQL_EXECUTED = "sqlExecutedEvent";
+
+    /**
+     * Represents the fetch of the result set of a traced sql query event.
+     */
+    public static final String SQL_FETCHED = "sqlFetchedEvent";
+
     public static final String POTENTIAL_STATEMENT_LEAK = "potentialStatementLeakEvent";
 
     /**
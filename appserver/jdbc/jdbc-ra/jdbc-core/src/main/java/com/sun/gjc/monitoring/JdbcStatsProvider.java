@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,6 +17,7 @@
 
 package com.sun.gjc.monitoring;
 
+import com.sun.gjc.spi.ReplicaRouter;
 import com.sun.gjc.util.SQLTrace;
 import com.sun.gjc.util.SQLTraceCache;
 
@@ -48,6 +49,14 @@ public class JdbcStatsProvider {
             "FreqUsedSqlQueries", "List",
             "Most frequently used sql queries");
 
+    private final StringStatisticImpl topSqlQueriesByTotalTime = new StringStatisticImpl(
+            "TopSqlQueriesByTotalTime", "List",
+            "Sql queries with the highest total execution time, with their latency percentiles");
+
+    private final StringStatisticImpl recentSqlQueries = new StringStatisticImpl(
+            "RecentSqlQueries", "List",
+            "Most recently executed sql queries with their execution time");
+
     private final CountStatisticImpl numStatementCacheHit = new CountStatisticImpl(
             "NumStatementCacheHit", StatisticImpl.UNIT_COUNT,
             "The total number of Statement Cache hits.");
@@ -56,12 +65,21 @@ public class JdbcStatsProvider {
             "NumStatementCacheMiss", StatisticImpl.UNIT_COUNT,
             "The total number of Statement Cache misses.");
 
+    private final CountStatisticImpl numStatementCacheEviction = new CountStatisticImpl(
+            "NumStatementCacheEviction", StatisticImpl.UNIT_COUNT,
+            "The total number of statements evicted from the Statement Cache.");
+
     private final CountStatisticImpl numPotentialStatementLeak = new CountStatisticImpl(
             "NumPotentialStatementLeak", StatisticImpl.UNIT_COUNT,
             "The total number of potential Statement leaks");
 
+    private final StringStatisticImpl replicaStatistics = new StringStatisticImpl(
+            "ReplicaStatistics", "List",
+            "Health, lag and usage of the read replicas of the pool");
+
     private final PoolInfo poolInfo;
     private SQLTraceCache sqlTraceCache;
+    private volatile ReplicaRouter replicaRouter;
 
     public JdbcStatsProvider(SimpleJndiName poolName, String appName, String moduleName, int sqlTraceCacheSize,
         long timeToKeepQueries) {
@@ -103,6 +121,22 @@ public class JdbcStatsProvider {
         }
     }
 
+    /**
+     * Whenever a statement is evicted from the statement cache, increment numStatementCacheEviction count.
+     * @param poolName JdbcConnectionPool that has got a statement cache eviction event.
+     */
+    @ProbeListener(JdbcRAConstants.STATEMENT_CACHE_DOTTED_NAME + JdbcRAConstants.STATEMENT_CACHE_EVICTION)
+    public void statementCacheEvictionEvent(@ProbeParam("poolName") String poolName,
+                                            @ProbeParam("appName") String appName,
+                                            @ProbeParam("moduleName") String moduleName
+                                            ) {
+
+        PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
+        if(this.poolInfo.equals(poolInfo)){
+            numStatementCacheEviction.increment();
+        }
+    }
+
     /**
      * Whenever a sql statement that is traced is to be cache for monitoring
      * purpose, the SQLTrace object is created for the specified sql and
@@ -131,6 +165,50 @@ public class JdbcStatsProvider {
         }
     }
 
+    /**
+     * Whenever a traced sql statement is executed, its execution time is
+     * recorded in the SQLTraceCache.
+     *
+     * @param poolName
+     * @param sql
+     * @param executionTimeInNanos
+     */
+    @ProbeListener(JdbcRAConstants.SQL_TRACING_DOTTED_NAME + JdbcRAConstants.SQL_EXECUTED)
+    public void sqlExecutedEvent(
+                                   @ProbeParam("poolName") String poolName,
+                                   @ProbeParam("appName") String appName,
+                                   @ProbeParam("moduleName") String moduleName,
+                                   @ProbeParam("sql") String sql,
+                                   @ProbeParam("executionTimeInNanos") long executionTimeInNanos) {
+
+        PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
+        if (this.poolInfo.equals(poolInfo) && sqlTraceCache != null) {
+            sqlTraceCache.recordExecution(sql, executionTimeInNanos);
+        }
+    }
+
+    /**
+     * Whenever the result set of a traced sql statement is fetched, the fetch
+     * time is recorded in the SQLTraceCache.
+     *
+     * @param poolName
+     * @param sql
+     * @param fetchTimeInNanos
+     */
+    @ProbeListener(JdbcRAConstants.SQL_TRACING_DOTTED_NAME + JdbcRAConstants.SQL_FETCHED)
+    public void sqlFetchedEvent(
+                                   @ProbeParam("poolName") String poolName,
+                                   @ProbeParam("appName") String appName,
+                                   @ProbeParam("moduleName") String moduleName,
+                                   @ProbeParam("sql") String sql,
+                                   @ProbeParam("fetchTimeInNanos") long fetchTimeInNanos) {
+
+        PoolInfo poolInfo = new PoolInfo(SimpleJndiName.of(poolName), appName, moduleName);
+        if (this.poolInfo.equals(poolInfo) && sqlTraceCache != null) {
+            sqlTraceCache.recordFetch(sql, fetchTimeInNanos);
+        }
+    }
+
     /**
      * Whenever statement leak happens, increment numPotentialStatementLeak count.
      * @param poolName JdbcConnectionPool that has got a statement leak event.
@@ -158,6 +236,11 @@ public class JdbcStatsProvider {
         return numStatementCacheMiss;
     }
 
+    @ManagedAttribute(id="numstatementcacheeviction")
+    public CountStatistic getNumStatementCacheEviction() {
+        return numStatementCacheEviction;
+    }
+
     @ManagedAttribute(id="frequsedsqlqueries")
     public StringStatistic getfreqUsedSqlQueries() {
         if(sqlTraceCache != null) {
@@ -168,11 +251,44 @@ public class JdbcStatsProvider {
         return freqUsedSqlQueries;
     }
 
+    @ManagedAttribute(id="topsqlqueriesbytotaltime")
+    public StringStatistic getTopSqlQueriesByTotalTime() {
+        if (sqlTraceCache != null) {
+            topSqlQueriesByTotalTime.setCurrent(sqlTraceCache.getTopQueriesByTotalTime());
+        }
+        return topSqlQueriesByTotalTime;
+    }
+
+    @ManagedAttribute(id="recentsqlqueries")
+    public StringStatistic getRecentSqlQueries() {
+        if (sqlTraceCache != null) {
+            recentSqlQueries.setCurrent(sqlTraceCache.getRecentQueries());
+        }
+        return recentSqlQueries;
+    }
+
     @ManagedAttribute(id="numpotentialstatementleak")
     public CountStatistic getNumPotentialStatementLeak() {
         return numPotentialStatementLeak;
     }
 
+    @ManagedAttribute(id="replicastatistics")
+    public StringStatistic getReplicaStatistics() {
+        ReplicaRouter router = replicaRouter;
+        if (router != null) {
+            replicaStatistics.setCurrent(router.getStatistics());
+        }
+        return replicaStatistics;
+    }
+
+    /**
+     * @param replicaRouter router of the read replicas of the pool, reported by
+     * {@link #getReplicaStatistics()}
+     */
+    public void setReplicaRouter(ReplicaRouter replicaRouter) {
+        this.replicaRouter = replicaRouter;
+    }
+
     /**
      * Get the SQLTraceCache associated with this stats provider.
      * @return SQLTraceCache
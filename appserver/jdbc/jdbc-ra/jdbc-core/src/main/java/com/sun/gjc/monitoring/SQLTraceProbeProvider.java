@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -43,4 +44,38 @@ public class SQLTraceProbeProvider {
             @ProbeParam("sql") String sql) {
 
     }
+
+    /**
+     * Emits probe event/notification that a traced sql query was executed
+     * using the given connection pool <code>poolName</code>.
+     *
+     * @param poolName pool used to execute the sql query
+     * @param sql executed sql query
+     * @param executionTimeInNanos time spent in the execution
+     */
+    @Probe(name=JdbcRAConstants.SQL_EXECUTED)
+    public void sqlExecutedEvent(@ProbeParam("poolName") String poolName,
+                                 @ProbeParam("appName") String appName,
+                                 @ProbeParam("moduleName") String moduleName,
+                                 @ProbeParam("sql") String sql,
+                                 @ProbeParam("executionTimeInNanos") long executionTimeInNanos) {
+
+    }
+
+    /**
+     * Emits probe event/notification that the rows of the result set of a traced
+     * sql query executed using the given connection pool <code>poolName</code> were fetched.
+     *
+     * @param poolName pool used to execute the sql query
+     * @param sql executed sql query
+     * @param fetchTimeInNanos time spent in moving the cursor of the result set
+     */
+    @Probe(name=JdbcRAConstants.SQL_FETCHED)
+    public void sqlFetchedEvent(@ProbeParam("poolName") String poolName,
+                                @ProbeParam("appName") String appName,
+                                @ProbeParam("moduleName") String moduleName,
+                                @ProbeParam("sql") String sql,
+                                @ProbeParam("fetchTimeInNanos") long fetchTimeInNanos) {
+
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2024 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -18,11 +18,14 @@
 package com.sun.gjc.spi;
 
 import com.sun.appserv.connectors.internal.spi.MCFLifecycleListener;
+import com.sun.enterprise.util.SystemPropertyConstants;
 import com.sun.enterprise.util.i18n.StringManager;
 import com.sun.gjc.common.DataSourceObjectBuilder;
 import com.sun.gjc.common.DataSourceSpec;
 import com.sun.gjc.monitoring.JdbcStatsProvider;
+import com.sun.gjc.spi.base.datastructure.FrequencySketch;
 import com.sun.gjc.util.SQLTraceDelegator;
+import com.sun.gjc.util.StatementCacheWarmup;
 import com.sun.logging.LogDomains;
 
 import jakarta.inject.Inject;
@@ -46,13 +49,16 @@ import java.io.ObjectOutput;
 import java.io.PrintWriter;
 import java.io.Serializable;
 import java.lang.reflect.Constructor;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.NoSuchElementException;
 import java.util.Set;
@@ -101,6 +107,7 @@ public abstract class ManagedConnectionFactoryImpl
 
     private static Logger _logger = LogDomains.getLogger(ManagedConnectionFactoryImpl.class, LogDomains.RSR_LOGGER);
     protected static final StringManager localStrings = StringManager.getManager(DataSourceObjectBuilder.class);
+    private static final int DEFAULT_JDBC4_VALIDATION_TIMEOUT_IN_SECONDS = 5;
 
     @Inject
     protected InvocationManager invocationManager;
@@ -116,6 +123,7 @@ public abstract class ManagedConnectionFactoryImpl
 
     private final JdbcObjectsFactory jdbcObjectsFactory = JdbcObjectsFactory.getInstance();
     private int statementCacheSize;
+    private int jdbc4ValidationTimeoutInSeconds = DEFAULT_JDBC4_VALIDATION_TIMEOUT_IN_SECONDS;
     private String statementCacheType;
     private long statementLeakTimeout;
     private boolean statementLeakReclaim;
@@ -123,6 +131,15 @@ public abstract class ManagedConnectionFactoryImpl
     // Jdbc Stats provider that is created
     private JdbcStatsProvider jdbcStatsProvider;
 
+    // Router of the read replicas, null if the pool has none
+    private transient volatile ReplicaRouter replicaRouter;
+
+    // Hot statements of the statement cache, null if the warm-up is disabled
+    private transient volatile StatementCacheWarmup statementCacheWarmup;
+
+    // Request frequencies shared by the TinyLFU statement caches of the pool
+    private transient FrequencySketch statementFrequencySketch;
+
     /**
      * Creates a Connection Factory instance. The <code>ConnectionManager</code>
      * implementation of the resource adapter is used here.
@@ -344,6 +361,8 @@ public abstract class ManagedConnectionFactoryImpl
             isValidByMetaData(connection);
         } else if (validationMethod.equals("table")) {
             isValidByTableQuery(connection, spec.getDetail(DataSourceSpec.VALIDATIONTABLENAME));
+        } else if (validationMethod.equals("jdbc4")) {
+            isValidByJdbc4(connection);
         } else {
             throw new ResourceException("The validation method is not proper");
         }
@@ -441,6 +460,31 @@ public abstract class ManagedConnectionFactoryImpl
         }
     }
 
+    /**
+     * Checks if a <code>java.sql.Connection</code> is valid or not by calling
+     * <code>Connection.isValid</code>, usually a cheap ping of the database.
+     *
+     * @param connection <code>java.sql.Connection</code> to be validated
+     * @throws ResourceException if the connection is not valid
+     */
+    protected void isValidByJdbc4(Connection connection) throws ResourceException {
+        if (connection == null) {
+            throw new ResourceException("The connection is not valid as the connection is null");
+        }
+
+        boolean valid;
+        try {
+            valid = connection.isValid(jdbc4ValidationTimeoutInSeconds);
+        } catch (Exception sqle) {
+            _logger.log(INFO, "jdbc.exc_jdbc4_validation");
+            throw new ResourceException(sqle);
+        }
+        if (!valid) {
+            _logger.log(INFO, "jdbc.exc_jdbc4_validation");
+            throw new ResourceException("The connection is not valid as reported by Connection.isValid");
+        }
+    }
+
     /**
      * Checks if a <code>java.sql.Connection</code> is valid or not by querying a
      * table.
@@ -551,13 +595,107 @@ public abstract class ManagedConnectionFactoryImpl
         }
     }
 
+    private int getSqlTraceSamplingIntervalValue() {
+        String samplingInterval = getSqlTraceSamplingInterval();
+        if (samplingInterval == null || samplingInterval.equals("null") || samplingInterval.isBlank()) {
+            return 1;
+        }
+        try {
+            return Integer.parseInt(samplingInterval.trim());
+        } catch (NumberFormatException e) {
+            _logger.log(Level.WARNING, "Invalid value of the sql trace sampling interval: " + samplingInterval
+                + ", all sql statements will be traced.");
+            return 1;
+        }
+    }
+
+    private ReplicaRouter createReplicaRouter() {
+        String replicaDataSources = getReplicaDataSources();
+        if (replicaDataSources == null || replicaDataSources.equals("null") || replicaDataSources.isBlank()) {
+            return null;
+        }
+        List<String> replicaJndiNames = new ArrayList<>();
+        for (String jndiName : replicaDataSources.split(",")) {
+            if (!jndiName.isBlank()) {
+                replicaJndiNames.add(jndiName.trim());
+            }
+        }
+        if (replicaJndiNames.isEmpty()) {
+            return null;
+        }
+        String lagQuery = getReplicaLagQuery();
+        return new ReplicaRouter(getPoolInfo(), replicaJndiNames,
+            parseSeconds(getReplicaMaxLagInSeconds(), 0L, "replica max lag"),
+            lagQuery == null || lagQuery.equals("null") ? null : lagQuery,
+            parseSeconds(getReplicaHealthCheckIntervalInSeconds(), 10L, "replica health check interval"),
+            (int) Math.min(Integer.MAX_VALUE,
+                parseSeconds(getReplicaValidationTimeoutInSeconds(), 5L, "replica validation timeout")));
+    }
+
+    private StatementCacheWarmup createStatementCacheWarmup() {
+        String warmupSize = getStatementCacheWarmupSize();
+        if (statementCacheSize <= 0 || warmupSize == null || warmupSize.equals("null") || warmupSize.isBlank()) {
+            return null;
+        }
+        int size;
+        try {
+            size = Math.min(statementCacheSize, Integer.parseInt(warmupSize.trim()));
+        } catch (NumberFormatException e) {
+            _logger.log(Level.WARNING, "Invalid value of the statement cache warmup size: " + warmupSize
+                + ", the warm-up is disabled.");
+            return null;
+        }
+        String instanceRoot = System.getProperty(SystemPropertyConstants.INSTANCE_ROOT_PROPERTY);
+        if (size <= 0 || instanceRoot == null) {
+            return null;
+        }
+        PoolInfo poolInfo = getPoolInfo();
+        String fileName = (poolInfo.getApplicationName() == null ? "" : poolInfo.getApplicationName() + "-")
+            + (poolInfo.getModuleName() == null ? "" : poolInfo.getModuleName() + "-") + poolInfo.getName();
+        Path file = Path.of(instanceRoot, "generated", "jdbc", "statement-cache",
+            fileName.replaceAll("[^A-Za-z0-9._-]", "_") + ".sql");
+        StatementCacheWarmup warmup = new StatementCacheWarmup(file, size);
+        warmup.load();
+        return warmup;
+    }
+
+    private long parseSeconds(String seconds, long defaultValue, String description) {
+        if (seconds == null || seconds.equals("null") || seconds.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(0L, Long.parseLong(seconds.trim()));
+        } catch (NumberFormatException e) {
+            _logger.log(Level.WARNING, "Invalid value of the " + description + ": " + seconds
+                + ", the default " + defaultValue + " seconds is used.");
+            return defaultValue;
+        }
+    }
+
+    /**
+     * @return one of this many leak traced statements captures the stack of the caller
+     */
+    int getLeakStackSamplingIntervalValue() {
+        String samplingInterval = getLeakStackSamplingInterval();
+        if (samplingInterval == null || samplingInterval.equals("null") || samplingInterval.isBlank()) {
+            return 1;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(samplingInterval.trim()));
+        } catch (NumberFormatException e) {
+            _logger.log(Level.WARNING, "Invalid value of the leak stack sampling interval: " + samplingInterval
+                + ", stacks of all leak traced statements will be captured.");
+            return 1;
+        }
+    }
+
     private void detectSqlTraceListeners() {
         // Check for sql-trace-listeners attribute.
         String sqlTraceListeners = getSqlTraceListeners();
         String delimiter = ",";
 
         if (sqlTraceListeners != null && !sqlTraceListeners.equals("null")) {
-            sqlTraceDelegator = new SQLTraceDelegator(getPoolName(), invocationManager);
+            sqlTraceDelegator = new SQLTraceDelegator(getPoolName(), invocationManager, getSqlTraceSamplingIntervalValue());
             StringTokenizer st = new StringTokenizer(sqlTraceListeners, delimiter);
 
             while (st.hasMoreTokens()) {
@@ -1087,6 +1225,115 @@ public abstract class ManagedConnectionFactoryImpl
         spec.setDetail(DataSourceSpec.TIMETOKEEPQUERIESINMINUTES, timeToKeepQueries);
     }
 
+    public String getSqlTraceSamplingInterval() {
+        return spec.getDetail(DataSourceSpec.SQLTRACESAMPLINGINTERVAL);
+    }
+
+    public void setSqlTraceSamplingInterval(String samplingInterval) {
+        spec.setDetail(DataSourceSpec.SQLTRACESAMPLINGINTERVAL, samplingInterval);
+    }
+
+    public String getLeakStackSamplingInterval() {
+        return spec.getDetail(DataSourceSpec.LEAKSTACKSAMPLINGINTERVAL);
+    }
+
+    public void setLeakStackSamplingInterval(String samplingInterval) {
+        spec.setDetail(DataSourceSpec.LEAKSTACKSAMPLINGINTERVAL, samplingInterval);
+    }
+
+    public String getReplicaDataSources() {
+        return spec.getDetail(DataSourceSpec.REPLICADATASOURCES);
+    }
+
+    public void setReplicaDataSources(String replicaDataSources) {
+        spec.setDetail(DataSourceSpec.REPLICADATASOURCES, replicaDataSources);
+    }
+
+    public String getReplicaMaxLagInSeconds() {
+        return spec.getDetail(DataSourceSpec.REPLICAMAXLAGINSECONDS);
+    }
+
+    public void setReplicaMaxLagInSeconds(String maxLag) {
+        spec.setDetail(DataSourceSpec.REPLICAMAXLAGINSECONDS, maxLag);
+    }
+
+    public String getReplicaLagQuery() {
+        return spec.getDetail(DataSourceSpec.REPLICALAGQUERY);
+    }
+
+    public void setReplicaLagQuery(String lagQuery) {
+        spec.setDetail(DataSourceSpec.REPLICALAGQUERY, lagQuery);
+    }
+
+    public String getReplicaHealthCheckIntervalInSeconds() {
+        return spec.getDetail(DataSourceSpec.REPLICAHEALTHCHECKINTERVALINSECONDS);
+    }
+
+    public void setReplicaHealthCheckIntervalInSeconds(String interval) {
+        spec.setDetail(DataSourceSpec.REPLICAHEALTHCHECKINTERVALINSECONDS, interval);
+    }
+
+    public String getReplicaValidationTimeoutInSeconds() {
+        return spec.getDetail(DataSourceSpec.REPLICAVALIDATIONTIMEOUTINSECONDS);
+    }
+
+    public void setReplicaValidationTimeoutInSeconds(String timeout) {
+        spec.setDetail(DataSourceSpec.REPLICAVALIDATIONTIMEOUTINSECONDS, timeout);
+    }
+
+    public String getStatementCacheWarmupSize() {
+        return spec.getDetail(DataSourceSpec.STATEMENTCACHEWARMUPSIZE);
+    }
+
+    public void setStatementCacheWarmupSize(String size) {
+        spec.setDetail(DataSourceSpec.STATEMENTCACHEWARMUPSIZE, size);
+    }
+
+    public String getJdbc4ValidationTimeoutInSeconds() {
+        return spec.getDetail(DataSourceSpec.JDBC4VALIDATIONTIMEOUTINSECONDS);
+    }
+
+    /**
+     * Sets the timeout passed to <code>Connection.isValid</code> when the connections are
+     * validated by the JDBC 4 method. Zero means no timeout.
+     *
+     * @param timeout timeout in seconds
+     */
+    public void setJdbc4ValidationTimeoutInSeconds(String timeout) {
+        spec.setDetail(DataSourceSpec.JDBC4VALIDATIONTIMEOUTINSECONDS, timeout);
+        jdbc4ValidationTimeoutInSeconds = (int) Math.min(Integer.MAX_VALUE,
+            parseSeconds(timeout, DEFAULT_JDBC4_VALIDATION_TIMEOUT_IN_SECONDS, "JDBC 4 validation timeout"));
+    }
+
+    /**
+     * @return hot statements used to warm up the statement cache of new connections,
+     *         or null if the warm-up is disabled
+     */
+    public StatementCacheWarmup getStatementCacheWarmup() {
+        return statementCacheWarmup;
+    }
+
+    /**
+     * Returns the sketch shared by all statement caches of the pool. The sketch is replaced
+     * if the pool was reconfigured with a bigger statement cache.
+     *
+     * @param expectedSize expected number of distinct statements tracked at the same time
+     * @return the shared sketch
+     */
+    public synchronized FrequencySketch getStatementFrequencySketch(int expectedSize) {
+        if (statementFrequencySketch == null || !statementFrequencySketch.canTrack(expectedSize)) {
+            statementFrequencySketch = new FrequencySketch(expectedSize);
+        }
+        return statementFrequencySketch;
+    }
+
+    /**
+     * @return router of the read replicas, or null if the pool has no replica
+     */
+    public ReplicaRouter getReplicaRouter() {
+        return replicaRouter;
+    }
+
     public String getInitSql() {
         return spec.getDetail(DataSourceSpec.INITSQL);
     }
@@ -1387,8 +1634,15 @@ public abstract class ManagedConnectionFactoryImpl
 
         _logger.finest("MCF Created");
 
+        statementCacheWarmup = createStatementCacheWarmup();
+
+        replicaRouter = createReplicaRouter();
+        if (replicaRouter != null) {
+            replicaRouter.scheduleHealthChecks();
+        }
+
         if (statementCacheSize > 0 || (sqlTraceListeners != null && !sqlTraceListeners.equals("null"))
-                || statementLeakTimeout > 0) {
+                || statementLeakTimeout > 0 || replicaRouter != null) {
             jdbcStatsProvider = new JdbcStatsProvider(getPoolName(), getApplicationName(), getModuleName(),
                     sqlTraceCacheSize, timeToKeepQueries);
 
@@ -1401,6 +1655,7 @@ public abstract class ManagedConnectionFactoryImpl
                 Timer timer = ((ResourceAdapterImpl) resourceAdapter).getTimer();
                 jdbcStatsProvider.getSqlTraceCache().scheduleTimerTask(timer);
             }
+            jdbcStatsProvider.setReplicaRouter(replicaRouter);
 
             _logger.finest("Registered JDBCRA Stats Provider");
         }
@@ -1410,6 +1665,20 @@ public abstract class ManagedConnectionFactoryImpl
     public void mcfDestroyed() {
         _logger.finest("MCF Destroyed");
 
+        if (statementCacheWarmup != null) {
+            statementCacheWarmup.store();
+            statementCacheWarmup = null;
+        }
+
+        synchronized (this) {
+            statementFrequencySketch = null;
+        }
+
+        if (replicaRouter != null) {
+            replicaRouter.cancelHealthChecks();
+            replicaRouter = null;
+        }
+
         if (jdbcStatsProvider != null) {
             if (jdbcStatsProvider.getSqlTraceCache() != null) {
                 _logger.finest("Canceling timer task for sql trace caching");
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,6 +18,7 @@
 package com.sun.gjc.spi;
 
 import com.sun.appserv.connectors.internal.spi.BadConnectionEventListener;
+import com.sun.appserv.connectors.internal.spi.WarmableManagedConnection;
 import com.sun.enterprise.util.i18n.StringManager;
 import com.sun.gjc.common.DataSourceObjectBuilder;
 import com.sun.gjc.spi.base.CacheObjectKey;
@@ -26,7 +28,9 @@ import com.sun.gjc.spi.base.ConnectionWrapper;
 import com.sun.gjc.spi.base.PreparedStatementWrapper;
 import com.sun.gjc.spi.base.datastructure.Cache;
 import com.sun.gjc.spi.base.datastructure.CacheFactory;
+import com.sun.gjc.spi.base.datastructure.FrequencySketch;
 import com.sun.gjc.util.SQLTraceDelegator;
+import com.sun.gjc.util.StatementCacheWarmup;
 import com.sun.gjc.util.StatementLeakDetector;
 import com.sun.logging.LogDomains;
 
@@ -63,6 +67,8 @@ import javax.transaction.xa.XAResource;
 import org.glassfish.resourcebase.resources.api.PoolInfo;
 
 import static jakarta.resource.spi.ConnectionEvent.CONNECTION_ERROR_OCCURRED;
+import static java.sql.ResultSet.CONCUR_READ_ONLY;
+import static java.sql.ResultSet.TYPE_FORWARD_ONLY;
 import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.INFO;
 import static java.util.logging.Level.WARNING;
@@ -74,7 +80,8 @@ import static java.util.logging.Level.WARNING;
  * @version 1.0, 02/07/22
  */
 public class ManagedConnectionImpl
-        implements ManagedConnection, LazyEnlistableManagedConnection, DissociatableManagedConnection {
+        implements ManagedConnection, LazyEnlistableManagedConnection, DissociatableManagedConnection,
+        WarmableManagedConnection {
 
     protected static final Logger _logger = LogDomains.getLogger(ManagedConnectionImpl.class, LogDomains.RSR_LOGGER);
     protected static final StringManager localStrings = StringManager.getManager(DataSourceObjectBuilder.class);
@@ -117,6 +124,7 @@ public class ManagedConnectionImpl
     private int cacheSize;
     private String cacheType;
     private boolean statementCaching;
+    private StatementCacheWarmup statementCacheWarmup;
     private long stmtLeakTimeout;
     private boolean stmtLeakReclaim;
     private boolean statementLeakTracing;
@@ -150,8 +158,9 @@ public class ManagedConnectionImpl
      * Configured via create-jdbc-connection-pool --statementcachesize
      * @param statementCacheType In case statementCacheSize is not 0 this defines the statement cache type to be used. Valid
      * values are defined in com.sun.gjc.spi.base.datastructure.CacheFactory. Value null or "" uses an LRU Cache
-     * implementation. Value FIXED uses FIXED size cache implementation. Any other values are expected to be a className for
-     * a cache implementation.
+     * implementation. Value FIXED uses FIXED size cache implementation. Value TINYLFU uses a W-TinyLFU cache sharing
+     * the statement usage frequencies across the connections of the pool. Any other values are expected to be a className
+     * for a cache implementation.
      * @param delegator optional SqlTraceDelegator, value is allowed to be null.
      * @param statementLeakTimeout statement leak timeout in seconds.<br>
      * Configured via create-jdbc-connection-pool --statementleaktimeout
@@ -189,6 +198,9 @@ public class ManagedConnectionImpl
         connectionEvent = new ConnectionEvent(this, ConnectionEvent.CONNECTION_CLOSED);
         tuneStatementCaching(poolInfo, statementCacheSize, statementCacheType);
         tuneStatementLeakTracing(poolInfo, statementLeakTimeout, statementLeakReclaim);
+        if (statementCaching && mcf instanceof ManagedConnectionFactoryImpl) {
+            statementCacheWarmup = ((ManagedConnectionFactoryImpl) mcf).getStatementCacheWarmup();
+        }
     }
 
     public StatementLeakDetector getLeakDetector() {
@@ -223,12 +235,70 @@ public class ManagedConnectionImpl
         _logger.log(FINE, "jdbc.execute_init_sql_end");
     }
 
+    /**
+     * Prepares the hot statements persisted by the previous run, so they are already in the
+     * statement cache when the application first uses them. Statements which cannot be prepared
+     * are skipped.
+     * <p>
+     * Called by the pool for the connections it creates to fill the steady pool or to resize,
+     * so the warm-up is paid neither by the first request using the connection nor by a request
+     * waiting for a new connection. The statements are prepared through a connection handle used
+     * only for the warm-up.
+     */
+    @Override
+    public void warmUp() {
+        if (statementCacheWarmup == null) {
+            return;
+        }
+        ManagedConnectionFactoryImpl managedConnectionFactoryImpl = (ManagedConnectionFactoryImpl) managedConnectionFactory;
+        if (!managedConnectionFactoryImpl.isStatementWrappingEnabled()) {
+            return;
+        }
+        ConnectionHolder warmupConnection;
+        try {
+            warmupConnection = managedConnectionFactoryImpl.getJdbcObjectsFactory().getConnection(getActualConnection(),
+                this, null, true, sqlTraceDelegator);
+        } catch (ResourceException e) {
+            _logger.log(FINE, "Could not warm up the statement cache of " + this, e);
+            return;
+        }
+        if (!(warmupConnection instanceof ConnectionWrapper)) {
+            return;
+        }
+        if (!initSqlExecuted) {
+            // The hot statements may depend on the session state set by the init sql
+            executeInitSql(managedConnectionFactoryImpl.getInitSql());
+        }
+        warmupConnection.setActive();
+        int prepared = 0;
+        try {
+            for (String sql : statementCacheWarmup.getHotSql()) {
+                try {
+                    // Closing a cached statement returns it to the cache
+                    prepareCachedStatement((ConnectionWrapper) warmupConnection, sql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY,
+                        false).close();
+                    prepared++;
+                } catch (SQLException e) {
+                    _logger.log(FINE, "Could not prepare the statement " + sql + " to warm up the statement cache", e);
+                }
+            }
+        } finally {
+            // Not closed, that would give the managed connection back to the pool
+            warmupConnection.invalidate();
+        }
+        _logger.log(FINE, "Warmed up the statement cache of {0} with {1} statements", new Object[] {this, prepared});
+    }
+
     private void tuneStatementCaching(PoolInfo poolInfo, int statementCacheSize, String statementCacheType) {
         cacheSize = statementCacheSize;
         cacheType = statementCacheType;
         if (cacheSize > 0) {
             try {
-                statementCache = CacheFactory.getDataStructure(poolInfo, cacheType, cacheSize);
+                FrequencySketch sketch = null;
+                if (CacheFactory.isTinyLFU(cacheType) && managedConnectionFactory instanceof ManagedConnectionFactoryImpl) {
+                    sketch = ((ManagedConnectionFactoryImpl) managedConnectionFactory).getStatementFrequencySketch(cacheSize);
+                }
+                statementCache = CacheFactory.getDataStructure(poolInfo, cacheType, cacheSize, sketch);
                 statementCaching = true;
             } catch (ResourceException ex) {
                 _logger.severe(ex.getMessage());
@@ -247,8 +317,8 @@ public class ManagedConnectionImpl
                 leakDetector =
                     new StatementLeakDetector(
                         poolInfo, statementLeakTracing, stmtLeakTimeout,
-                        stmtLeakReclaim,
-                        ((ResourceAdapterImpl) managedConnectionFactoryImpl.getResourceAdapter()).getTimer());
+                        stmtLeakReclaim, managedConnectionFactoryImpl.getLeakStackSamplingIntervalValue(),
+                        ((ResourceAdapterImpl) managedConnectionFactoryImpl.getResourceAdapter()).getLeakTimingWheel());
             }
         }
     }
@@ -918,7 +988,17 @@ public class ManagedConnectionImpl
     }
 
     public PreparedStatement prepareCachedStatement(ConnectionWrapper connection, String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        return prepareCachedStatement(connection, sql, resultSetType, resultSetConcurrency, true);
+    }
+
+    private PreparedStatement prepareCachedStatement(ConnectionWrapper connection, String sql, int resultSetType, int resultSetConcurrency,
+            boolean record) throws SQLException {
         if (statementCaching) {
+            // Only statements with the default result set type can be warmed up
+            if (record && statementCacheWarmup != null && resultSetType == TYPE_FORWARD_ONLY
+                    && resultSetConcurrency == CONCUR_READ_ONLY) {
+                statementCacheWarmup.record(sql);
+            }
             CacheObjectKey key =
                 new CacheObjectKey(sql, CacheObjectKey.PREPARED_STATEMENT, resultSetType, resultSetConcurrency);
 
@@ -0,0 +1,367 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi;
+
+import com.sun.appserv.connectors.internal.api.ConnectorConstants;
+import com.sun.logging.LogDomains;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.sql.DataSource;
+
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+
+/**
+ * Routes the read-only connections of a pool to its read replicas.
+ * <p>
+ * The replicas are JDBC resources of other pools, configured by the replica-data-sources
+ * property of the pool of the primary database. They are looked up with the
+ * {@link ConnectorConstants#NON_TX_JNDI_SUFFIX} suffix, so a read on a replica never joins the
+ * transaction of the primary.
+ * <p>
+ * A connection is routed to the healthy replica with the least connections in use. A replica is
+ * unhealthy when it fails to give a connection, when its connection is not valid, or when the
+ * replica-lag-query reports a lag higher than replica-max-lag-in-seconds. The health is checked
+ * every replica-health-check-interval-in-seconds, waiting at most
+ * replica-validation-timeout-in-seconds for the validation of a connection; an unhealthy replica
+ * gets no connection until the next check finds it healthy. When no replica is healthy, the
+ * primary is used.
+ */
+public class ReplicaRouter {
+
+    private static final Logger LOG = LogDomains.getLogger(ReplicaRouter.class, LogDomains.RSR_LOGGER);
+
+    private final PoolInfo poolInfo;
+    private final List<Replica> replicas;
+    private final long maxLagInMillis;
+    private final String lagQuery;
+    private final long healthCheckIntervalInMillis;
+    private final int validationTimeoutInSeconds;
+    private final ReplicaLookup lookup;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private ScheduledExecutorService healthCheckExecutor;
+
+    /**
+     * @param poolInfo pool of the primary database
+     * @param replicaJndiNames JNDI names of the JDBC resources of the replicas
+     * @param maxLagInSeconds maximal lag of a healthy replica, 0 to ignore the lag
+     * @param lagQuery query returning the lag of the replica in seconds, can be null
+     * @param healthCheckIntervalInSeconds period of the health checks
+     * @param validationTimeoutInSeconds timeout of the connection validation during the health
+     *            checks, 0 for no timeout
+     */
+    public ReplicaRouter(PoolInfo poolInfo, List<String> replicaJndiNames, long maxLagInSeconds, String lagQuery,
+        long healthCheckIntervalInSeconds, int validationTimeoutInSeconds) {
+        this(poolInfo, replicaJndiNames, maxLagInSeconds, lagQuery, healthCheckIntervalInSeconds,
+            validationTimeoutInSeconds, ReplicaRouter::lookupNonTxDataSource);
+    }
+
+    ReplicaRouter(PoolInfo poolInfo, List<String> replicaJndiNames, long maxLagInSeconds, String lagQuery,
+        long healthCheckIntervalInSeconds, int validationTimeoutInSeconds, ReplicaLookup lookup) {
+        this.poolInfo = poolInfo;
+        List<Replica> replicaList = new ArrayList<>(replicaJndiNames.size());
+        for (String jndiName : replicaJndiNames) {
+            replicaList.add(new Replica(jndiName));
+        }
+        this.replicas = Collections.unmodifiableList(replicaList);
+        this.maxLagInMillis = maxLagInSeconds * 1000L;
+        this.lagQuery = lagQuery == null || lagQuery.isBlank() ? null : lagQuery;
+        this.healthCheckIntervalInMillis = Math.max(1L, healthCheckIntervalInSeconds) * 1000L;
+        this.validationTimeoutInSeconds = validationTimeoutInSeconds;
+        this.lookup = lookup;
+    }
+
+    /**
+     * @return replicas in the configured order
+     */
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Gets a connection from the least loaded healthy replica. A replica failing to give a
+     * connection is marked unhealthy and the next one is tried.
+     *
+     * @return connection of a replica, or null if no replica is available
+     */
+    public ReplicaConnection getConnection() {
+        List<Replica> tried = null;
+        Replica replica;
+        while ((replica = selectReplica(tried)) != null) {
+            try {
+                Connection connection = replica.getDataSource(lookup).getConnection();
+                replica.connectionAcquired();
+                return new ReplicaConnection(replica, connection);
+            } catch (SQLException | NamingException e) {
+                replica.markUnhealthy(e);
+                LOG.log(Level.WARNING, "Replica " + replica.getJndiName() + " of the pool " + poolInfo
+                    + " failed to give a connection and is marked unhealthy: " + e.getMessage());
+                LOG.log(Level.FINE, "Replica connection failure", e);
+                if (tried == null) {
+                    tried = new ArrayList<>(replicas.size());
+                }
+                tried.add(replica);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param excluded replicas which must not be selected, can be null
+     * @return the healthy replica with the least connections in use, or null if there is none
+     */
+    Replica selectReplica(List<Replica> excluded) {
+        int size = replicas.size();
+        // Start at a rotating position, so replicas with equal load take turns
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        Replica selected = null;
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.isHealthy() || (excluded != null && excluded.contains(replica))) {
+                continue;
+            }
+            if (selected == null || replica.getActiveConnections() < selected.getActiveConnections()) {
+                selected = replica;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Schedules the periodic health checks of the replicas. The checks open connections and run
+     * the lag query, so they run on a thread of this router instead of a shared timer.
+     */
+    public synchronized void scheduleHealthChecks() {
+        cancelHealthChecks();
+        healthCheckExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check-" + poolInfo.getName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthCheckExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                checkHealth();
+            } catch (RuntimeException e) {
+                // An exception would cancel the next checks
+                LOG.log(Level.WARNING, "Health check of the replicas of the pool " + poolInfo + " failed", e);
+            }
+        }, healthCheckIntervalInMillis, healthCheckIntervalInMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void cancelHealthChecks() {
+        if (healthCheckExecutor != null) {
+            healthCheckExecutor.shutdownNow();
+            healthCheckExecutor = null;
+        }
+    }
+
+    /**
+     * Checks the health and the lag of all replicas.
+     */
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.getDataSource(lookup).getConnection()) {
+                if (!connection.isValid(validationTimeoutInSeconds)) {
+                    replica.markUnhealthy(new SQLException("Connection is not valid"));
+                    continue;
+                }
+                long lagInMillis = lagQuery == null ? -1L : queryLag(connection);
+                replica.setLag(lagInMillis);
+                if (maxLagInMillis > 0 && lagInMillis > maxLagInMillis) {
+                    if (replica.isHealthy()) {
+                        LOG.log(Level.WARNING, "Replica {0} of the pool {1} lags {2} ms behind the primary,"
+                            + " it is not used until it catches up.", new Object[] {replica.getJndiName(), poolInfo, lagInMillis});
+                    }
+                    replica.setHealthy(false);
+                } else {
+                    replica.setHealthy(true);
+                }
+            } catch (SQLException | NamingException e) {
+                replica.markUnhealthy(e);
+                LOG.log(Level.FINE, "Health check of the replica " + replica.getJndiName() + " failed", e);
+            }
+        }
+    }
+
+    private long queryLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                return 0L;
+            }
+            double lagInSeconds = resultSet.getDouble(1);
+            // Null means the replica does not replay anything, so it does not lag
+            return resultSet.wasNull() ? 0L : Math.round(lagInSeconds * 1000d);
+        }
+    }
+
+    /**
+     * @return one line per replica with its health, lag and usage
+     */
+    public String getStatistics() {
+        StringBuilder sb = new StringBuilder();
+        for (Replica replica : replicas) {
+            sb.append(replica).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static DataSource lookupNonTxDataSource(String jndiName) throws NamingException {
+        Hashtable<Object, Object> env = new Hashtable<>();
+        env.put(ConnectorConstants.JNDI_SUFFIX_PROPERTY, ConnectorConstants.NON_TX_JNDI_SUFFIX);
+        return (DataSource) new InitialContext(env).lookup(jndiName);
+    }
+
+    @FunctionalInterface
+    interface ReplicaLookup {
+        DataSource lookup(String jndiName) throws NamingException;
+    }
+
+    /**
+     * A read replica and its statistics.
+     */
+    public static final class Replica {
+
+        private final String jndiName;
+        private volatile DataSource dataSource;
+        private volatile boolean healthy = true;
+        private volatile long lagInMillis = -1L;
+        private final AtomicInteger activeConnections = new AtomicInteger();
+        private final LongAdder routedConnections = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        Replica(String jndiName) {
+            this.jndiName = jndiName;
+        }
+
+        DataSource getDataSource(ReplicaLookup lookup) throws NamingException {
+            DataSource ds = dataSource;
+            if (ds == null) {
+                // The replica resource may be deployed after the primary, so look it up lazily
+                ds = lookup.lookup(jndiName);
+                dataSource = ds;
+            }
+            return ds;
+        }
+
+        void connectionAcquired() {
+            activeConnections.incrementAndGet();
+            routedConnections.increment();
+        }
+
+        void connectionReleased() {
+            activeConnections.decrementAndGet();
+        }
+
+        void markUnhealthy(Exception cause) {
+            failures.increment();
+            healthy = false;
+            if (cause instanceof NamingException) {
+                dataSource = null;
+            }
+        }
+
+        void setHealthy(boolean healthy) {
+            this.healthy = healthy;
+        }
+
+        void setLag(long lagInMillis) {
+            this.lagInMillis = lagInMillis;
+        }
+
+        public String getJndiName() {
+            return jndiName;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        /**
+         * @return lag measured by the last health check, -1 if it is unknown
+         */
+        public long getLagInMillis() {
+            return lagInMillis;
+        }
+
+        public int getActiveConnections() {
+            return activeConnections.get();
+        }
+
+        public long getRoutedConnections() {
+            return routedConnections.sum();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        @Override
+        public String toString() {
+            return jndiName + ": healthy=" + healthy + ", lagInMillis=" + lagInMillis + ", activeConnections="
+                + getActiveConnections() + ", routedConnections=" + getRoutedConnections() + ", failures="
+                + getFailures();
+        }
+    }
+
+    /**
+     * Connection of a replica which is released from the replica statistics exactly once.
+     */
+    public static final class ReplicaConnection {
+
+        private final Replica replica;
+        private final Connection connection;
+        private boolean released;
+
+        ReplicaConnection(Replica replica, Connection connection) {
+            this.replica = replica;
+            this.connection = connection;
+        }
+
+        public Replica getReplica() {
+            return replica;
+        }
+
+        public Connection getConnection() {
+            return connection;
+        }
+
+        public void close() throws SQLException {
+            if (released) {
+                return;
+            }
+            released = true;
+            replica.connectionReleased();
+            connection.close();
+        }
+    }
+}
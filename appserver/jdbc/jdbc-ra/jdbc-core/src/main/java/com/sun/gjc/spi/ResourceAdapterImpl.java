@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -28,10 +29,13 @@ import jakarta.resource.spi.UnavailableException;
 import jakarta.resource.spi.endpoint.MessageEndpointFactory;
 
 import java.util.Timer;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import javax.transaction.xa.XAResource;
 
+import org.glassfish.common.util.timer.HashedTimingWheel;
+
 import static jakarta.resource.spi.AuthenticationMechanism.CredentialInterface.PasswordCredential;
 import static java.util.logging.Level.SEVERE;
 
@@ -60,6 +64,7 @@ public class ResourceAdapterImpl implements ResourceAdapter {
     private static ResourceAdapterImpl resourceAdapterImpl;
     private BootstrapContext bootstrapContext;
     private Timer timer;
+    private HashedTimingWheel leakTimingWheel;
 
     public ResourceAdapterImpl() {
         if (resourceAdapterImpl == null) {
@@ -125,6 +130,12 @@ public class ResourceAdapterImpl implements ResourceAdapter {
      */
     public void stop() {
         logger.finest("Cancelling the timer");
+        synchronized (this) {
+            if (leakTimingWheel != null) {
+                leakTimingWheel.stop();
+                leakTimingWheel = null;
+            }
+        }
         if (timer != null) {
             timer.purge();
             timer.cancel();
@@ -145,4 +156,19 @@ public class ResourceAdapterImpl implements ResourceAdapter {
 
         return timer;
     }
+
+    /**
+     * @return timing wheel shared by the statement leak detectors of all connections, ticking
+     *         once a second on the timer of this resource adapter. Null if the timer is not available.
+     */
+    public synchronized HashedTimingWheel getLeakTimingWheel() {
+        if (leakTimingWheel == null) {
+            Timer leakTimer = getTimer();
+            if (leakTimer != null) {
+                leakTimingWheel = new HashedTimingWheel(1, TimeUnit.SECONDS, 512);
+                leakTimingWheel.start(leakTimer);
+            }
+        }
+        return leakTimingWheel;
+    }
 }
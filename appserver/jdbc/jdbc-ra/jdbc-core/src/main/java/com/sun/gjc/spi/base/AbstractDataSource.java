@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -19,9 +19,11 @@ package com.sun.gjc.spi.base;
 
 import com.sun.appserv.connectors.internal.api.ConnectorConstants;
 import com.sun.appserv.connectors.internal.spi.BadConnectionEventListener;
+import com.sun.enterprise.transaction.api.JavaEETransactionManager;
 import com.sun.gjc.spi.ConnectionManagerImplementation;
 import com.sun.gjc.spi.ConnectionRequestInfoImpl;
 import com.sun.gjc.spi.ManagedConnectionFactoryImpl;
+import com.sun.gjc.spi.ReplicaRouter;
 import com.sun.gjc.util.MethodExecutor;
 import com.sun.logging.LogDomains;
 
@@ -30,6 +32,9 @@ import jakarta.resource.ResourceException;
 import jakarta.resource.spi.ConnectionManager;
 import jakarta.resource.spi.LazyAssociatableConnectionManager;
 import jakarta.resource.spi.LazyEnlistableConnectionManager;
+import jakarta.transaction.Status;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.Transaction;
 
 import java.io.PrintWriter;
 import java.io.Serializable;
@@ -41,7 +46,10 @@ import javax.naming.Reference;
 import javax.sql.DataSource;
 
 import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.internal.api.Globals;
 
+import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.WARNING;
 
 /**
@@ -67,6 +75,8 @@ public abstract class AbstractDataSource implements DataSource, Serializable, co
 
     private ConnectionHolder.ConnectionType conType_;
 
+    // True if the data source was looked up with the read-only JNDI suffix
+    private boolean readOnly;
 
     /**
      * Constructs <code>DataSource</code> object. This is created by the
@@ -84,17 +94,60 @@ public abstract class AbstractDataSource implements DataSource, Serializable, co
         } else {
             this.connectionManager = connectionManager;
             conType_ = findConnectionType();
+            readOnly = isReadOnlyResource();
         }
     }
 
     /**
      * Retrieves the <code> Connection </code> object.
+     * <p>
+     * If the pool has read replicas or the data source was looked up with the read-only JNDI suffix,
+     * the connection is a {@link ReadWriteSplittingConnection} which takes its physical connection
+     * from a replica when it is read-only. If a transaction is active, the connection of the
+     * primary is acquired right away, so it is enlisted in the transaction.
      *
      * @return <code> Connection </code> object.
      * @throws SQLException In case of an error.
      */
     @Override
     public Connection getConnection() throws SQLException {
+        ReplicaRouter router = managedConnectionFactoryImpl.getReplicaRouter();
+        if (router != null || readOnly) {
+            return createReadWriteSplittingConnection(this::allocateConnection, router);
+        }
+        return allocateConnection();
+    }
+
+    private ReadWriteSplittingConnection createReadWriteSplittingConnection(
+        ReadWriteSplittingConnection.PrimaryConnectionSupplier primary, ReplicaRouter router) throws SQLException {
+        ReadWriteSplittingConnection connection = new ReadWriteSplittingConnection(primary, router, readOnly);
+        if (isTransactionActive()) {
+            connection.acquirePrimaryConnection();
+        }
+        return connection;
+    }
+
+    /**
+     * @return true if the calling thread has an active transaction
+     */
+    protected boolean isTransactionActive() {
+        ServiceLocator locator = Globals.getDefaultHabitat();
+        JavaEETransactionManager transactionManager = locator == null ? null
+            : locator.getService(JavaEETransactionManager.class);
+        if (transactionManager == null) {
+            // The resource adapter runs outside of the application server
+            return false;
+        }
+        try {
+            Transaction transaction = transactionManager.getTransaction();
+            return transaction != null && transaction.getStatus() == Status.STATUS_ACTIVE;
+        } catch (SystemException e) {
+            _logger.log(FINE, "Failed to get the status of the current transaction", e);
+            return false;
+        }
+    }
+
+    private ConnectionHolder allocateConnection() throws SQLException {
         try {
             ConnectionHolder connection = (ConnectionHolder) connectionManager.allocateConnection(managedConnectionFactoryImpl, null);
             setConnectionType(connection);
@@ -127,6 +180,15 @@ public abstract class AbstractDataSource implements DataSource, Serializable, co
      */
     @Override
     public Connection getConnection(String user, String pwd) throws SQLException {
+        ReplicaRouter router = managedConnectionFactoryImpl.getReplicaRouter();
+        if (router != null || readOnly) {
+            // Replicas are resources of their own pools, with their own credentials
+            return createReadWriteSplittingConnection(() -> allocateConnection(user, pwd), router);
+        }
+        return allocateConnection(user, pwd);
+    }
+
+    private ConnectionHolder allocateConnection(String user, String pwd) throws SQLException {
         try {
             ConnectionRequestInfoImpl info = new ConnectionRequestInfoImpl(user, pwd.toCharArray());
             ConnectionHolder con = (ConnectionHolder) connectionManager.allocateConnection(managedConnectionFactoryImpl, info);
@@ -151,8 +213,8 @@ public abstract class AbstractDataSource implements DataSource, Serializable, co
     public Connection getConnection(Connection con) throws SQLException {
 
         Connection driverCon = con;
-        if (con instanceof com.sun.gjc.spi.base.ConnectionHolder) {
-            driverCon = ((com.sun.gjc.spi.base.ConnectionHolder) con).getConnection();
+        if (driverCon instanceof com.sun.gjc.spi.base.ConnectionHolder) {
+            driverCon = ((com.sun.gjc.spi.base.ConnectionHolder) driverCon).getConnection();
         }
 
         return driverCon;
@@ -309,6 +371,15 @@ public abstract class AbstractDataSource implements DataSource, Serializable, co
         return ConnectionHolder.ConnectionType.LAZY_ENLISTABLE;
     }
 
+    private boolean isReadOnlyResource() {
+        if (connectionManager instanceof com.sun.appserv.connectors.internal.spi.ConnectionManager) {
+            SimpleJndiName jndiName = ((com.sun.appserv.connectors.internal.spi.ConnectionManager) connectionManager)
+                .getJndiName();
+            return jndiName != null && jndiName.hasSuffix(ConnectorConstants.READ_ONLY_JNDI_SUFFIX);
+        }
+        return false;
+    }
+
     private void setConnectionType(ConnectionHolder con) {
         this.setConnectionType(con, false);
     }
@@ -355,6 +426,10 @@ public abstract class AbstractDataSource implements DataSource, Serializable, co
      */
     @Override
     public void markConnectionAsBad(Connection connection) {
+        if (connection instanceof ReadWriteSplittingConnection) {
+            // The connection of a replica is removed from the pool of the replica
+            connection = ((ReadWriteSplittingConnection) connection).getTargetConnection();
+        }
         if (connection instanceof ConnectionHolder) {
             ConnectionHolder userConnection = ((ConnectionHolder) connection);
             userConnection.getManagedConnection().markForRemoval(true);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2024 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2024, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -104,6 +104,14 @@ public abstract class ConnectionHolder implements Connection {
         }
     }
 
+    /**
+     * Constructs a connection holder which delegates to the connection holders of other
+     * connections, so it has no connection and <code>ManagedConnection</code> of its own.
+     */
+    protected ConnectionHolder() {
+        executor = new MethodExecutor();
+    }
+
     /**
      * Returns the actual connection in this holder object.
      *
@@ -0,0 +1,601 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.base;
+
+import com.sun.gjc.spi.ManagedConnectionImpl;
+import com.sun.gjc.spi.ReplicaRouter;
+import com.sun.gjc.spi.ReplicaRouter.ReplicaConnection;
+import com.sun.logging.LogDomains;
+
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Connection of a pool with read replicas or of a data source looked up with the read-only JNDI
+ * suffix, returned by the data source instead of the {@link ConnectionHolder} of the pool. It is a
+ * connection holder itself, delegating to the connection holder of the primary or of a replica.
+ * <p>
+ * The physical connection is acquired by the first call which needs it. If the connection is
+ * read-only by then, either by {@link #setReadOnly(boolean)} or because the data source was looked
+ * up with the read-only JNDI suffix, it is taken from a replica chosen by the
+ * {@link ReplicaRouter}, if there is one; otherwise, or if no replica is available, it is taken
+ * from the pool of the primary database. A replica connection is given back as soon as the
+ * connection is made writable, so the next call goes to the primary. While a transaction is open on
+ * the replica, that is the replica was used since the last commit or rollback and auto-commit is
+ * off, {@link #setReadOnly(boolean)} refuses to make the connection writable. A connection of the
+ * primary is never moved to a replica, because it may see its own uncommitted writes. The read-only
+ * mode set on the pooled connection is reset when this connection is closed.
+ * <p>
+ * If a transaction is active when the connection is got, the data source acquires the primary
+ * connection by {@link #acquirePrimaryConnection()} right away, so it is enlisted in the
+ * transaction like any other connection of the pool. A primary connection acquired later is
+ * enlisted in the transaction active at that time. Replica connections never join a transaction.
+ * <p>
+ * Like other connection handles, an instance must be used by one thread at a time.
+ */
+public class ReadWriteSplittingConnection extends ConnectionHolder {
+
+    private static final Logger LOG = LogDomains.getLogger(ReadWriteSplittingConnection.class, LogDomains.RSR_LOGGER);
+
+    private final PrimaryConnectionSupplier primary;
+    private final ReplicaRouter router;
+
+    private boolean readOnly;
+    private Boolean autoCommit;
+    private Integer transactionIsolation;
+
+    private ConnectionHolder primaryConnection;
+    private ReplicaConnection replicaConnection;
+    private boolean readOnlyApplied;
+    /** True if the replica was used since the last commit or rollback. */
+    private boolean replicaUsed;
+    private boolean closed;
+
+    /**
+     * @param primary allocates the connection of the primary database
+     * @param router router choosing the replica of read-only connections, can be null
+     * @param readOnly true if the connection is read-only until told otherwise
+     */
+    public ReadWriteSplittingConnection(PrimaryConnectionSupplier primary, ReplicaRouter router, boolean readOnly) {
+        this.primary = primary;
+        this.router = router;
+        this.readOnly = readOnly;
+    }
+
+    /**
+     * Acquires the connection of the primary database, unless a connection was acquired already.
+     * The connection is never moved to a replica afterwards.
+     *
+     * @throws SQLException if the connection cannot be acquired
+     */
+    public void acquirePrimaryConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection closed");
+        }
+        if (replicaConnection == null && primaryConnection == null) {
+            primaryConnection = allocatePrimary();
+        }
+    }
+
+    /**
+     * @return the connection handle of the primary database, or null if this connection did not
+     *         use the primary
+     */
+    public ConnectionHolder getPrimaryConnection() {
+        return primaryConnection;
+    }
+
+    /**
+     * @return the connection handle of the replica or of the primary used by this connection, or
+     *         null if it was not needed yet
+     */
+    public Connection getTargetConnection() {
+        if (replicaConnection != null) {
+            return replicaConnection.getConnection();
+        }
+        return primaryConnection;
+    }
+
+    /**
+     * Returns the physical connection of the replica or of the primary. Like the one of a not yet
+     * associated connection holder, it is null until the connection is needed.
+     *
+     * @return physical connection used by this connection, or null if it was not needed yet
+     */
+    @Override
+    public Connection getConnection() {
+        Connection connection = getTargetConnection();
+        return connection instanceof ConnectionHolder ? ((ConnectionHolder) connection).getConnection() : connection;
+    }
+
+    /**
+     * @return the managed connection of the primary database, or null if this connection did not
+     *         use the primary
+     */
+    @Override
+    public ManagedConnectionImpl getManagedConnection() {
+        return primaryConnection == null ? null : primaryConnection.getManagedConnection();
+    }
+
+    /**
+     * @return true if the physical connection was taken from a replica
+     */
+    public boolean isRoutedToReplica() {
+        return replicaConnection != null;
+    }
+
+    private Connection target() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection closed");
+        }
+        if (replicaConnection != null) {
+            replicaUsed = true;
+            return replicaConnection.getConnection();
+        }
+        if (primaryConnection != null) {
+            return primaryConnection;
+        }
+        if (readOnly && router != null) {
+            ReplicaConnection replica = router.getConnection();
+            if (replica != null) {
+                try {
+                    applySettings(replica.getConnection());
+                } catch (SQLException e) {
+                    replica.close();
+                    throw e;
+                }
+                replicaConnection = replica;
+                replicaUsed = true;
+                return replica.getConnection();
+            }
+        }
+        primaryConnection = allocatePrimary();
+        return primaryConnection;
+    }
+
+    private ConnectionHolder allocatePrimary() throws SQLException {
+        ConnectionHolder connection = primary.getConnection();
+        try {
+            applySettings(connection);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    private void applySettings(Connection connection) throws SQLException {
+        if (readOnly) {
+            connection.setReadOnly(true);
+            readOnlyApplied = true;
+        }
+        if (autoCommit != null) {
+            connection.setAutoCommit(autoCommit);
+        }
+        if (transactionIsolation != null) {
+            connection.setTransactionIsolation(transactionIsolation);
+        }
+    }
+
+    @Override
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection closed");
+        }
+        if (replicaConnection != null && !readOnly) {
+            if (replicaUsed && !replicaConnection.getConnection().getAutoCommit()) {
+                // The writes of the transaction would still go to the replica
+                throw new SQLException(
+                    "The connection of a read replica cannot be made writable during a transaction, commit or roll back first");
+            }
+            // No transaction is open on the replica, the next call can go to the primary
+            this.readOnly = false;
+            releaseReplica();
+            return;
+        }
+        this.readOnly = readOnly;
+        if (replicaConnection != null || primaryConnection != null) {
+            target().setReadOnly(readOnly);
+            readOnlyApplied |= readOnly;
+        }
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        if (replicaConnection == null && primaryConnection == null) {
+            return readOnly;
+        }
+        return target().isReadOnly();
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection closed");
+        }
+        // Remembered for the primary, in case this connection leaves the replica
+        this.autoCommit = autoCommit;
+        if (replicaConnection != null || primaryConnection != null) {
+            target().setAutoCommit(autoCommit);
+            if (autoCommit) {
+                // Enabling auto-commit commits the open transaction
+                replicaUsed = false;
+            }
+        }
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        return target().getAutoCommit();
+    }
+
+    @Override
+    public void setTransactionIsolation(int level) throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection closed");
+        }
+        this.transactionIsolation = level;
+        if (replicaConnection != null || primaryConnection != null) {
+            target().setTransactionIsolation(level);
+        }
+    }
+
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        return target().getTransactionIsolation();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (replicaConnection != null) {
+            releaseReplica();
+        } else if (primaryConnection != null) {
+            resetReadOnly(primaryConnection);
+            primaryConnection.close();
+        }
+    }
+
+    private void releaseReplica() throws SQLException {
+        ReplicaConnection replica = replicaConnection;
+        replicaConnection = null;
+        replicaUsed = false;
+        resetReadOnly(replica.getConnection());
+        replica.close();
+    }
+
+    /**
+     * The pooled connection is given to other users later, so it must not stay read-only.
+     */
+    private void resetReadOnly(Connection connection) {
+        if (!readOnlyApplied) {
+            return;
+        }
+        readOnlyApplied = false;
+        try {
+            if (!connection.isClosed()) {
+                connection.setReadOnly(false);
+            }
+        } catch (SQLException e) {
+            LOG.log(Level.FINE, "Failed to reset the read-only mode of the connection", e);
+        }
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        if (closed) {
+            return true;
+        }
+        if (replicaConnection != null) {
+            return replicaConnection.getConnection().isClosed();
+        }
+        return primaryConnection != null && primaryConnection.isClosed();
+    }
+
+    @Override
+    public boolean isValid(int timeout) throws SQLException {
+        if (closed) {
+            return false;
+        }
+        return target().isValid(timeout);
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        return target().createStatement();
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return target().prepareStatement(sql);
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql) throws SQLException {
+        return target().prepareCall(sql);
+    }
+
+    @Override
+    public String nativeSQL(String sql) throws SQLException {
+        return target().nativeSQL(sql);
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        target().commit();
+        replicaUsed = false;
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        target().rollback();
+        replicaUsed = false;
+    }
+
+    @Override
+    public DatabaseMetaData getMetaData() throws SQLException {
+        return target().getMetaData();
+    }
+
+    @Override
+    public void setCatalog(String catalog) throws SQLException {
+        target().setCatalog(catalog);
+    }
+
+    @Override
+    public String getCatalog() throws SQLException {
+        return target().getCatalog();
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return target().getWarnings();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        target().clearWarnings();
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+        return target().createStatement(resultSetType, resultSetConcurrency);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency)
+        throws SQLException {
+        return target().prepareStatement(sql, resultSetType, resultSetConcurrency);
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        return target().prepareCall(sql, resultSetType, resultSetConcurrency);
+    }
+
+    @Override
+    public Map<String, Class<?>> getTypeMap() throws SQLException {
+        return target().getTypeMap();
+    }
+
+    @Override
+    public void setTypeMap(Map<String, Class<?>> map) throws SQLException {
+        target().setTypeMap(map);
+    }
+
+    @Override
+    public void setHoldability(int holdability) throws SQLException {
+        target().setHoldability(holdability);
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        return target().getHoldability();
+    }
+
+    @Override
+    public Savepoint setSavepoint() throws SQLException {
+        return target().setSavepoint();
+    }
+
+    @Override
+    public Savepoint setSavepoint(String name) throws SQLException {
+        return target().setSavepoint(name);
+    }
+
+    @Override
+    public void rollback(Savepoint savepoint) throws SQLException {
+        target().rollback(savepoint);
+    }
+
+    @Override
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        target().releaseSavepoint(savepoint);
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+        throws SQLException {
+        return target().createStatement(resultSetType, resultSetConcurrency, resultSetHoldability);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency,
+        int resultSetHoldability) throws SQLException {
+        return target().prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency,
+        int resultSetHoldability) throws SQLException {
+        return target().prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        return target().prepareStatement(sql, autoGeneratedKeys);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+        return target().prepareStatement(sql, columnIndexes);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+        return target().prepareStatement(sql, columnNames);
+    }
+
+    @Override
+    public Clob createClob() throws SQLException {
+        return target().createClob();
+    }
+
+    @Override
+    public Blob createBlob() throws SQLException {
+        return target().createBlob();
+    }
+
+    @Override
+    public NClob createNClob() throws SQLException {
+        return target().createNClob();
+    }
+
+    @Override
+    public SQLXML createSQLXML() throws SQLException {
+        return target().createSQLXML();
+    }
+
+    @Override
+    public void setClientInfo(String name, String value) throws SQLClientInfoException {
+        try {
+            target().setClientInfo(name, value);
+        } catch (SQLClientInfoException e) {
+            throw e;
+        } catch (SQLException e) {
+            throw new SQLClientInfoException(e.getMessage(), null, e);
+        }
+    }
+
+    @Override
+    public void setClientInfo(Properties properties) throws SQLClientInfoException {
+        try {
+            target().setClientInfo(properties);
+        } catch (SQLClientInfoException e) {
+            throw e;
+        } catch (SQLException e) {
+            throw new SQLClientInfoException(e.getMessage(), null, e);
+        }
+    }
+
+    @Override
+    public String getClientInfo(String name) throws SQLException {
+        return target().getClientInfo(name);
+    }
+
+    @Override
+    public Properties getClientInfo() throws SQLException {
+        return target().getClientInfo();
+    }
+
+    @Override
+    public Array createArrayOf(String typeName, Object[] elements) throws SQLException {
+        return target().createArrayOf(typeName, elements);
+    }
+
+    @Override
+    public Struct createStruct(String typeName, Object[] attributes) throws SQLException {
+        return target().createStruct(typeName, attributes);
+    }
+
+    @Override
+    public void setSchema(String schema) throws SQLException {
+        target().setSchema(schema);
+    }
+
+    @Override
+    public String getSchema() throws SQLException {
+        return target().getSchema();
+    }
+
+    @Override
+    public void abort(Executor executor) throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (replicaConnection != null) {
+            replicaConnection.getConnection().abort(executor);
+            replicaConnection.close();
+        } else if (primaryConnection != null) {
+            primaryConnection.abort(executor);
+        }
+    }
+
+    @Override
+    public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
+        target().setNetworkTimeout(executor, milliseconds);
+    }
+
+    @Override
+    public int getNetworkTimeout() throws SQLException {
+        return target().getNetworkTimeout();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return target().unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || target().isWrapperFor(iface);
+    }
+
+    /**
+     * Allocates the connection handle of the primary database.
+     */
+    @FunctionalInterface
+    public interface PrimaryConnectionSupplier {
+
+        ConnectionHolder getConnection() throws SQLException;
+    }
+}
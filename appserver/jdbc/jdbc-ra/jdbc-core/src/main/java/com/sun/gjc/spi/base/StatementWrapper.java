@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -22,8 +22,6 @@ import com.sun.gjc.util.StatementLeakDetector;
 import com.sun.gjc.util.StatementLeakListener;
 import com.sun.logging.LogDomains;
 
-import jakarta.resource.ResourceException;
-
 import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -49,7 +47,6 @@ public abstract class StatementWrapper implements Statement, StatementLeakListen
     private boolean closeOnCompletion;
     protected AtomicInteger resultSetCount = new AtomicInteger();
 
-
     /**
      * Abstract class for wrapping Statement<br>
      *
@@ -849,24 +846,12 @@ public abstract class StatementWrapper implements Statement, StatementLeakListen
     }
 
     public void actualCloseOnCompletion() throws SQLException {
-        try {
-            executor.invokeMethod(jdbcStatement, "closeOnCompletion", null);
-        } catch (ResourceException ex) {
-            _logger.log(Level.SEVERE, "jdbc.ex_stmt_wrapper", ex);
-            throw new SQLException(ex);
-        }
-
-        return;
+        jdbcStatement.closeOnCompletion();
     }
 
     @Override
     public boolean isCloseOnCompletion() throws SQLException {
-        try {
-            return (Boolean) executor.invokeMethod(jdbcStatement, "isCloseOnCompletion", null);
-        } catch (ResourceException ex) {
-            _logger.log(Level.SEVERE, "jdbc.ex_stmt_wrapper", ex);
-            throw new SQLException(ex);
-        }
+        return jdbcStatement.isCloseOnCompletion();
     }
 
     public boolean getCloseOnCompletion() {
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -43,6 +44,15 @@ public class CacheFactory {
     protected final static StringManager localStrings = StringManager.getManager(DataSourceObjectBuilder.class);
 
     public static Cache getDataStructure(PoolInfo poolInfo, String cacheType, int maxSize) throws ResourceException {
+        return getDataStructure(poolInfo, cacheType, maxSize, null);
+    }
+
+    /**
+     * @param sketch request frequencies shared by the statement caches of the pool, used by
+     *            the TinyLFU cache, if null, the cache uses a private sketch
+     */
+    public static Cache getDataStructure(PoolInfo poolInfo, String cacheType, int maxSize, FrequencySketch sketch)
+            throws ResourceException {
         Cache stmtCacheStructure;
 
         if (cacheType == null || cacheType.trim().equals("")) {
@@ -51,6 +61,9 @@ public class CacheFactory {
         } else if (cacheType.equals("FIXED")) {
             debug("Initializing FIXED Cache Implementation");
             stmtCacheStructure = new FIXEDCacheImpl(poolInfo, maxSize);
+        } else if (isTinyLFU(cacheType)) {
+            debug("Initializing TinyLFU Cache Implementation");
+            stmtCacheStructure = new TinyLFUCacheImpl(poolInfo, maxSize, sketch);
         } else { // consider the value of cacheType as a className
             stmtCacheStructure = initCustomCacheStructurePrivileged(cacheType, maxSize);
         }
@@ -62,6 +75,14 @@ public class CacheFactory {
         return stmtCacheStructure;
     }
 
+    /**
+     * @param cacheType the statement cache type of the pool
+     * @return true if the type is the TinyLFU cache, the only one using a {@link FrequencySketch}
+     */
+    public static boolean isTinyLFU(String cacheType) {
+        return "TINYLFU".equals(cacheType) || TinyLFUCacheImpl.class.getName().equals(cacheType);
+    }
+
     private static Cache initCustomCacheStructurePrivileged(final String className, final int cacheSize) throws ResourceException {
         Object result = AccessController.doPrivileged(new PrivilegedAction<>() {
             public Object run() {
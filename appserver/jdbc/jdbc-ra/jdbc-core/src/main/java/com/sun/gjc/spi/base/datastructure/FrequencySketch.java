@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.base.datastructure;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Count-min sketch estimating how often a statement was requested recently.
+ * <p>
+ * One sketch is shared by the statement caches of all connections of the same pool, so
+ * a statement which is hot on the pool is recognized even by a connection which has never
+ * seen it before. The sketch is held by the managed connection factory of the pool, so it is
+ * released together with the pool. Counters saturate at {@value #MAX_FREQUENCY} and are halved periodically,
+ * so the sketch forgets statements which are no longer used.
+ * <p>
+ * All operations are lock-free. Concurrent updates may be lost when the counters are halved,
+ * which is fine for an estimate.
+ */
+public class FrequencySketch {
+
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final int MAX_FREQUENCY = 15;
+    private static final int SAMPLE_SIZE_FACTOR = 10;
+
+    private final AtomicIntegerArray counters;
+    private final AtomicInteger additions = new AtomicInteger();
+    private final int width;
+    private final int sampleSize;
+
+    /**
+     * @param expectedSize expected number of distinct statements tracked at the same time
+     */
+    public FrequencySketch(int expectedSize) {
+        width = widthFor(expectedSize);
+        counters = new AtomicIntegerArray(width * SEEDS.length);
+        sampleSize = width * SAMPLE_SIZE_FACTOR;
+    }
+
+    /**
+     * @param expectedSize expected number of distinct statements tracked at the same time
+     * @return true if the sketch is wide enough for the given number of statements
+     */
+    public boolean canTrack(int expectedSize) {
+        return width >= widthFor(expectedSize);
+    }
+
+    /**
+     * Records the request for the statement.
+     *
+     * @param key the statement cache key
+     */
+    public void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int row = 0; row < SEEDS.length; row++) {
+            int index = indexOf(hash, row);
+            int count = counters.get(index);
+            while (count < MAX_FREQUENCY) {
+                if (counters.compareAndSet(index, count, count + 1)) {
+                    added = true;
+                    break;
+                }
+                count = counters.get(index);
+            }
+        }
+        if (added && additions.incrementAndGet() == sampleSize) {
+            halve();
+        }
+    }
+
+    /**
+     * @param key the statement cache key
+     * @return estimated number of recent requests of the statement
+     */
+    public int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_FREQUENCY;
+        for (int row = 0; row < SEEDS.length; row++) {
+            frequency = Math.min(frequency, counters.get(indexOf(hash, row)));
+        }
+        return frequency;
+    }
+
+    private void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, counters.get(i) >>> 1);
+        }
+        additions.set(0);
+    }
+
+    private static int widthFor(int expectedSize) {
+        return Integer.highestOneBit(Math.max(16, expectedSize * 4 - 1)) << 1;
+    }
+
+    private int indexOf(int hash, int row) {
+        long rowHash = (hash + SEEDS[row]) * SEEDS[row];
+        rowHash += rowHash >>> 32;
+        return row * width + ((int) rowHash & (width - 1));
+    }
+
+    private static int spread(int hash) {
+        int spread = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        spread = ((spread >>> 16) ^ spread) * 0x45d9f3b;
+        return (spread >>> 16) ^ spread;
+    }
+}
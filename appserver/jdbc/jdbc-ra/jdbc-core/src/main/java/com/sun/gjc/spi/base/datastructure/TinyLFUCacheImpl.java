@@ -0,0 +1,355 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.base.datastructure;
+
+import com.sun.gjc.monitoring.StatementCacheProbeProvider;
+import com.sun.gjc.spi.base.CacheObjectKey;
+import com.sun.gjc.spi.base.PreparedStatementWrapper;
+import com.sun.logging.LogDomains;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+
+/**
+ * Statement cache using the W-TinyLFU admission and eviction policy.
+ * <p>
+ * New statements enter a small window ordered by the CLOCK algorithm. A statement leaving
+ * the window is admitted to the main area only if it was requested more often than the victim
+ * of the main area, so one-off statements do not push out the statements used all the time.
+ * The request frequencies come from a {@link FrequencySketch} shared by all connections of
+ * the pool.
+ * <p>
+ * Lookups are lock-free: they only read the map, mark the entry as referenced and update
+ * the sketch. Adding and removing entries is guarded by a lock; it happens only on a cache miss,
+ * when the statement is being prepared by the database anyway.
+ * <p>
+ * Evicted statements are closed. If the statement is still being used, it is just marked as not
+ * cached, so it is closed by the application.
+ */
+public class TinyLFUCacheImpl implements Cache {
+
+    private static final Logger LOG = LogDomains.getLogger(TinyLFUCacheImpl.class, LogDomains.RSR_LOGGER);
+
+    /**
+     * Probe methods are empty until a listener is attached, so a shared instance is enough.
+     */
+    private static final StatementCacheProbeProvider PROBE_PROVIDER = new StatementCacheProbeProvider();
+
+    private static final int WINDOW_PERCENT = 1;
+
+    private final Map<CacheObjectKey, Node> entries;
+    private final FrequencySketch sketch;
+    private final int maxSize;
+    private final int windowMaxSize;
+
+    private final String poolName;
+    private final String appName;
+    private final String moduleName;
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    // guarded by the eviction lock
+    private final Deque<Node> window = new ArrayDeque<>();
+    private final Deque<Node> main = new ArrayDeque<>();
+    private final Map<Object, Node> nodesByEntry = new IdentityHashMap<>();
+    private int windowSize;
+    private int mainSize;
+
+    public TinyLFUCacheImpl(PoolInfo poolInfo, int maxSize) {
+        this(poolInfo, maxSize, null);
+    }
+
+    /**
+     * @param poolInfo pool of the statement cache
+     * @param maxSize maximal number of cached statements
+     * @param sketch sketch shared by the statement caches of the pool, if null, a private sketch is used
+     */
+    public TinyLFUCacheImpl(PoolInfo poolInfo, int maxSize, FrequencySketch sketch) {
+        this.maxSize = Math.max(1, maxSize);
+        this.windowMaxSize = Math.max(1, this.maxSize * WINDOW_PERCENT / 100);
+        this.entries = new ConcurrentHashMap<>(this.maxSize * 4 / 3 + 1);
+        this.sketch = sketch == null ? new FrequencySketch(this.maxSize) : sketch;
+        this.poolName = poolInfo == null ? null : poolInfo.getName().toString();
+        this.appName = poolInfo == null ? null : poolInfo.getApplicationName();
+        this.moduleName = poolInfo == null ? null : poolInfo.getModuleName();
+    }
+
+    @Override
+    public Object checkAndUpdateCache(CacheObjectKey key) {
+        sketch.increment(key);
+        Node node = entries.get(key);
+        if (node == null) {
+            PROBE_PROVIDER.statementCacheMissEvent(poolName, appName, moduleName);
+            return null;
+        }
+        node.referenced = true;
+        PROBE_PROVIDER.statementCacheHitEvent(poolName, appName, moduleName);
+        return node.entry;
+    }
+
+    @Override
+    public void addToCache(CacheObjectKey key, Object entry, boolean force) {
+        evictionLock.lock();
+        try {
+            Node existing = entries.get(key);
+            if (existing != null) {
+                if (!force) {
+                    return;
+                }
+                unlink(existing);
+                close(existing);
+            }
+            Node node = new Node(key, entry);
+            entries.put(key, node);
+            nodesByEntry.put(entry, node);
+            window.addLast(node);
+            windowSize++;
+            while (windowSize > windowMaxSize && admitFromWindow()) {
+                // continue until the window fits
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void clearCache() {
+        LOG.fine("clearing objects in cache");
+        evictionLock.lock();
+        try {
+            clear();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void flushCache() {
+        evictionLock.lock();
+        try {
+            for (Node node : entries.values()) {
+                close(node);
+            }
+            clear();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void purge() {
+        evictionLock.lock();
+        try {
+            Node victim = selectVictim(window);
+            if (victim == null) {
+                victim = selectVictim(main);
+            }
+            if (victim != null) {
+                evict(victim);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public void purge(Object entry) {
+        evictionLock.lock();
+        try {
+            Node node = nodesByEntry.get(entry);
+            if (node != null) {
+                LOG.log(Level.FINEST, "Purging an entry from cache");
+                unlink(node);
+                close(node);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return entries.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public boolean isSynchronized() {
+        return true;
+    }
+
+    /**
+     * Moves the oldest entry of the window to the main area, if it wins over the main victim.
+     * Must be called under the eviction lock.
+     *
+     * @return false if the window is empty
+     */
+    private boolean admitFromWindow() {
+        Node candidate = selectVictim(window);
+        if (candidate == null) {
+            return false;
+        }
+        windowSize--;
+        if (mainSize + windowSize < maxSize) {
+            main.addLast(candidate);
+            candidate.inMain = true;
+            mainSize++;
+            return true;
+        }
+
+        Node victim = selectVictim(main);
+        if (victim == null) {
+            // The whole cache is the window.
+            evictRemoved(candidate);
+            return true;
+        }
+        if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+            evict(victim);
+            main.addLast(candidate);
+            candidate.inMain = true;
+            mainSize++;
+            return true;
+        }
+        // The victim stays, it was requested more often than the candidate.
+        main.addFirst(victim);
+        evictRemoved(candidate);
+        return true;
+    }
+
+    /**
+     * Removes the next entry from the queue using the CLOCK algorithm: recently referenced
+     * entries get a second chance. Entries already removed from the map are dropped.
+     * Must be called under the eviction lock.
+     */
+    private Node selectVictim(Deque<Node> queue) {
+        for (int checked = 0; checked <= 2 * queue.size(); checked++) {
+            Node node = queue.pollFirst();
+            if (node == null) {
+                return null;
+            }
+            if (node.removed) {
+                continue;
+            }
+            if (node.referenced) {
+                node.referenced = false;
+                queue.addLast(node);
+                continue;
+            }
+            return node;
+        }
+        // Entries are referenced concurrently, take the oldest one anyway.
+        Node node = queue.pollFirst();
+        while (node != null && node.removed) {
+            node = queue.pollFirst();
+        }
+        return node;
+    }
+
+    /**
+     * Must be called under the eviction lock.
+     */
+    private void evict(Node victim) {
+        if (victim.inMain) {
+            mainSize--;
+        } else {
+            windowSize--;
+        }
+        evictRemoved(victim);
+    }
+
+    /**
+     * Removes the node already taken from its queue. Must be called under the eviction lock.
+     */
+    private void evictRemoved(Node victim) {
+        victim.removed = true;
+        entries.remove(victim.key, victim);
+        nodesByEntry.remove(victim.entry);
+        close(victim);
+        PROBE_PROVIDER.statementCacheEvictionEvent(poolName, appName, moduleName);
+    }
+
+    /**
+     * Removes the node from the map, its queue entry is dropped lazily.
+     * Must be called under the eviction lock.
+     */
+    private void unlink(Node node) {
+        node.removed = true;
+        entries.remove(node.key, node);
+        nodesByEntry.remove(node.entry);
+        if (node.inMain) {
+            mainSize--;
+        } else {
+            windowSize--;
+        }
+    }
+
+    /**
+     * Must be called under the eviction lock.
+     */
+    private void clear() {
+        entries.clear();
+        nodesByEntry.clear();
+        window.clear();
+        main.clear();
+        windowSize = 0;
+        mainSize = 0;
+    }
+
+    private static void close(Node node) {
+        if (!(node.entry instanceof PreparedStatementWrapper)) {
+            return;
+        }
+        PreparedStatementWrapper statement = (PreparedStatementWrapper) node.entry;
+        statement.setCached(false);
+        if (statement.isBusy()) {
+            // The application closes it.
+            return;
+        }
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            LOG.log(Level.FINEST, "Failed to close the evicted statement", e);
+        }
+    }
+
+
+    private static final class Node {
+
+        private final CacheObjectKey key;
+        private final Object entry;
+        private volatile boolean referenced;
+        // guarded by the eviction lock
+        private boolean inMain;
+        private boolean removed;
+
+        Node(CacheObjectKey key, Object entry) {
+            this.key = key;
+            this.entry = entry;
+        }
+    }
+}
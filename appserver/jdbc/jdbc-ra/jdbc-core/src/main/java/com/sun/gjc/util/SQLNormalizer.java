@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.util;
+
+/**
+ * Normalizes sql statements, so statements differing only in literal values are traced
+ * as one query.
+ * <p>
+ * String and numeric literals are replaced by {@code ?}, lists of parameters like
+ * {@code IN (?, ?, ?)} are collapsed to {@code (?)}, comments are removed and whitespace
+ * is collapsed to a single space. The statement is scanned once, without regular expressions.
+ */
+public final class SQLNormalizer {
+
+    private static final char PARAMETER = '?';
+
+    private SQLNormalizer() {
+        // utility class
+    }
+
+    /**
+     * @param sql the sql statement
+     * @return the normalized statement, null if the sql was null
+     */
+    public static String normalize(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        final int length = sql.length();
+        final StringBuilder normalized = new StringBuilder(length);
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i = skipQuoted(sql, i, '\'');
+                appendParameter(normalized);
+            } else if (c == '"' || c == '`') {
+                // Quoted identifiers are kept.
+                int end = skipQuoted(sql, i, c);
+                normalized.append(sql, i, end);
+                i = end;
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+                i = skipLineComment(sql, i);
+                appendSpace(normalized);
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                i = skipBlockComment(sql, i);
+                appendSpace(normalized);
+            } else if (Character.isWhitespace(c)) {
+                appendSpace(normalized);
+                i++;
+            } else if (isNumberStart(sql, i, normalized)) {
+                i = skipNumber(sql, i);
+                appendParameter(normalized);
+            } else if (Character.isLetter(c) || c == '_' || c == '$') {
+                int end = i + 1;
+                while (end < length && isIdentifierPart(sql.charAt(end))) {
+                    end++;
+                }
+                normalized.append(sql, i, end);
+                i = end;
+            } else if (c == ')') {
+                collapseParameterList(normalized);
+                normalized.append(c);
+                i++;
+            } else {
+                normalized.append(c);
+                i++;
+            }
+        }
+        int end = normalized.length();
+        while (end > 0 && normalized.charAt(end - 1) == ' ') {
+            end--;
+        }
+        int start = 0;
+        while (start < end && normalized.charAt(start) == ' ') {
+            start++;
+        }
+        return normalized.substring(start, end);
+    }
+
+    private static int skipQuoted(String sql, int start, char quote) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == quote) {
+                // Doubled quote is an escaped quote.
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipLineComment(String sql, int start) {
+        int i = start + 2;
+        while (i < sql.length() && sql.charAt(i) != '\n') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int skipBlockComment(String sql, int start) {
+        int end = sql.indexOf("*/", start + 2);
+        return end < 0 ? sql.length() : end + 2;
+    }
+
+    private static boolean isNumberStart(String sql, int i, StringBuilder normalized) {
+        char c = sql.charAt(i);
+        boolean digit = Character.isDigit(c)
+            || (c == '.' && i + 1 < sql.length() && Character.isDigit(sql.charAt(i + 1)));
+        if (!digit) {
+            return false;
+        }
+        // Digits in identifiers like "table1" are not literals.
+        return normalized.length() == 0 || !isIdentifierPart(normalized.charAt(normalized.length() - 1));
+    }
+
+    private static int skipNumber(String sql, int start) {
+        int i = start;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (Character.isLetterOrDigit(c) || c == '.') {
+                i++;
+            } else if ((c == '+' || c == '-') && (sql.charAt(i - 1) == 'e' || sql.charAt(i - 1) == 'E')) {
+                i++;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    private static void appendSpace(StringBuilder normalized) {
+        if (normalized.length() > 0 && normalized.charAt(normalized.length() - 1) != ' ') {
+            normalized.append(' ');
+        }
+    }
+
+    private static void appendParameter(StringBuilder normalized) {
+        // A negative number is a literal too.
+        int last = normalized.length() - 1;
+        if (last >= 0 && normalized.charAt(last) == '-') {
+            int previous = last - 1;
+            while (previous >= 0 && normalized.charAt(previous) == ' ') {
+                previous--;
+            }
+            if (previous < 0 || !isIdentifierPart(normalized.charAt(previous)) && normalized.charAt(previous) != ')'
+                && normalized.charAt(previous) != PARAMETER) {
+                normalized.setLength(last);
+            }
+        }
+        normalized.append(PARAMETER);
+    }
+
+    /**
+     * Replaces a trailing {@code (?, ?, ?} by {@code (?}.
+     */
+    private static void collapseParameterList(StringBuilder normalized) {
+        int i = normalized.length() - 1;
+        int parameters = 0;
+        while (i >= 0) {
+            char c = normalized.charAt(i);
+            if (c == PARAMETER) {
+                parameters++;
+            } else if (c == '(') {
+                break;
+            } else if (c != ',' && c != ' ') {
+                return;
+            }
+            i--;
+        }
+        if (i >= 0 && parameters > 0) {
+            normalized.setLength(i + 1);
+            normalized.append(PARAMETER);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -20,10 +20,13 @@ package com.sun.gjc.util;
 import com.sun.logging.LogDomains;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Iterator;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Timer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -33,15 +36,25 @@ import org.glassfish.api.naming.SimpleJndiName;
  * Maintains the Sql Tracing Cache used to store SQL statements used by the
  * applications. This is used by the JDBCRA monitoring to display the most
  * frequently used queries by applications.
+ * <p>
+ * Queries are kept normalized by {@link SQLNormalizer}, so executions differing only in
+ * literal values are counted together. Updates don't lock the cache: every normalized query
+ * has its own counters and {@link LatencyHistogram}, and the most recent executions are kept
+ * in a {@link SQLTraceRingBuffer}.
  *
  * @author Shalini M
  */
 public class SQLTraceCache {
 
-    // List of sql trace objects
-    private final List<SQLTrace> list;
+    private static final int RECENT_EXECUTIONS_TO_KEEP = 128;
+    private static final int MIN_TRACED_QUERIES = 1000;
+
+    private final Map<String, QueryStatistics> statistics = new ConcurrentHashMap<>();
+    private final SQLTraceRingBuffer recentExecutions = new SQLTraceRingBuffer(RECENT_EXECUTIONS_TO_KEEP);
     // Maximum size of the cache.
     private int numTopQueriesToReport = 10;
+    // Maximum number of distinct queries traced between two purges.
+    private final int maxTracedQueries;
     private long timeToKeepQueries = 60 * 1000;
     private SQLTraceTimerTask sqlTraceTimerTask;
     private final SimpleJndiName poolName;
@@ -55,18 +68,25 @@ public class SQLTraceCache {
         this.appName = appName;
         this.moduleName = moduleName;
         this.numTopQueriesToReport = maxSize;
-        list = new ArrayList<>();
+        this.maxTracedQueries = Math.max(MIN_TRACED_QUERIES, maxSize * 10);
         this.timeToKeepQueries = timeToKeepQueries * 60 * 1000;
     }
 
+    /**
+     * @return snapshot of the traced queries, most frequently used first
+     */
     public List<SQLTrace> getSqlTraceList() {
+        List<SQLTrace> list = new ArrayList<>(statistics.size());
+        for (QueryStatistics query : statistics.values()) {
+            list.add(new SQLTrace(query.sql, (int) Math.min(Integer.MAX_VALUE, query.executions.sum()), query.lastUsageTime));
+        }
+        list.sort(null);
         return list;
     }
 
     public SimpleJndiName getPoolName() {
         return poolName;
     }
-
     /**
      * Schedule timer to perform purgeEntries on the cache after the specified
      * timeToKeepQueries delay and period.
@@ -117,56 +137,86 @@ public class SQLTraceCache {
 
     /**
      * Request for adding a sql query in the form of SQLTrace to this cache. If the
-     * query is already found in the list, the number of times it is executed is
+     * normalized query is already found in the cache, the number of times it is executed is
      * incremented by one along with the timestamp. If the query is a new one, it is
-     * added to the list.
+     * added to the cache.
      *
      * @param cacheObj
-     * @return
      */
     public void checkAndUpdateCache(SQLTrace cacheObj) {
-        synchronized (list) {
-            if (cacheObj != null) {
-                int index = list.indexOf(cacheObj);
-                if (index != -1) {
-                    // If already found in the cache
-                    // equals is invoked here and hence comparison based on query name is done
-                    // Get the object at the index to update the numExecutions
-                    SQLTrace cache = list.get(index);
-                    cache.setNumExecutions(cache.getNumExecutions() + 1);
-                    cache.setLastUsageTime(System.currentTimeMillis());
-                } else {
-                    // First occurrence of the query. query to be added.
-                    cacheObj.setNumExecutions(1);
-                    cacheObj.setLastUsageTime(System.currentTimeMillis());
-                    list.add(cacheObj);
-                }
-            }
+        if (cacheObj == null) {
+            return;
+        }
+        QueryStatistics query = getQueryStatistics(cacheObj.getQueryName());
+        if (query != null) {
+            query.executions.increment();
+            query.lastUsageTime = System.currentTimeMillis();
         }
     }
 
     /**
-     * Entries are removed from the list after sorting them in the least frequently
-     * used order. Only numTopQueriesToReport number of entries are maintained in
-     * the list after the purgeEntries.
+     * Records the execution time of a sql query.
+     *
+     * @param sql executed sql query
+     * @param executionTimeInNanos time spent in the execution
+     */
+    public void recordExecution(String sql, long executionTimeInNanos) {
+        QueryStatistics query = getQueryStatistics(sql);
+        if (query == null) {
+            return;
+        }
+        query.latencies.recordValue(executionTimeInNanos);
+        query.lastUsageTime = System.currentTimeMillis();
+        recentExecutions.add(query.sql, executionTimeInNanos);
+    }
+
+    /**
+     * Records the time spent in fetching the result set of a sql query.
+     *
+     * @param sql executed sql query
+     * @param fetchTimeInNanos time spent in moving the cursor of the result set
+     */
+    public void recordFetch(String sql, long fetchTimeInNanos) {
+        QueryStatistics query = getQueryStatistics(sql);
+        if (query == null) {
+            return;
+        }
+        query.fetchTime.add(fetchTimeInNanos);
+        query.lastUsageTime = System.currentTimeMillis();
+    }
+
+    private QueryStatistics getQueryStatistics(String sql) {
+        String normalizedSql = SQLNormalizer.normalize(sql);
+        if (normalizedSql == null) {
+            return null;
+        }
+        QueryStatistics query = statistics.get(normalizedSql);
+        if (query != null) {
+            return query;
+        }
+        if (statistics.size() >= maxTracedQueries) {
+            // New queries are traced again after the next purge.
+            return null;
+        }
+        return statistics.computeIfAbsent(normalizedSql, QueryStatistics::new);
+    }
+
+    /**
+     * Queries not used for the time to keep queries are removed from the cache. If more than
+     * the maximal number of traced queries is left, the least frequently used are removed.
      */
     public void purgeEntries() {
-        synchronized (list) {
-            Collections.sort(list, Collections.reverseOrder());
-            Iterator<SQLTrace> i = list.iterator();
-            while (i.hasNext()) {
-                SQLTrace cacheObj = i.next();
-                if (list.size() > numTopQueriesToReport) {
-                    if (_logger.isLoggable(Level.FINEST)) {
-                        _logger.finest("removing sql=" + cacheObj.getQueryName());
-                    }
-                    i.remove();
-                } else {
-                    break;
+        long oldestUsageTime = System.currentTimeMillis() - timeToKeepQueries;
+        statistics.values().removeIf(query -> query.lastUsageTime < oldestUsageTime);
+        int excess = statistics.size() - maxTracedQueries;
+        if (excess > 0) {
+            List<SQLTrace> list = getSqlTraceList();
+            for (SQLTrace cacheObj : list.subList(list.size() - excess, list.size())) {
+                if (_logger.isLoggable(Level.FINEST)) {
+                    _logger.finest("removing sql=" + cacheObj.getQueryName());
                 }
+                statistics.remove(cacheObj.getQueryName());
             }
-            // sort by most frequently used queries first
-            Collections.sort(list);
         }
     }
 
@@ -179,12 +229,75 @@ public class SQLTraceCache {
      * @return string representation of the list of sql queries sorted
      */
     public String getTopQueries() {
-        purgeEntries();
-        StringBuffer sb = new StringBuffer();
-        for (SQLTrace cache : list) {
+        StringBuilder sb = new StringBuilder();
+        for (SQLTrace cache : limit(getSqlTraceList())) {
             sb.append(LINE_BREAK);
             sb.append(cache.getQueryName());
         }
         return sb.toString();
     }
+
+    /**
+     * Returns the String representation of the top 'n' sql queries ordered by the total time
+     * spent in their execution, with the number of executions, the latency percentiles and
+     * the total time spent in fetching their result sets in milliseconds.
+     *
+     * @return string representation of the list of sql queries sorted
+     */
+    public String getTopQueriesByTotalTime() {
+        List<QueryStatistics> queries = new ArrayList<>(statistics.values());
+        queries.removeIf(query -> query.latencies.getCount() == 0);
+        queries.sort(Comparator.comparingLong((QueryStatistics query) -> query.latencies.getTotal()).reversed());
+        StringBuilder sb = new StringBuilder();
+        for (QueryStatistics query : limit(queries)) {
+            LatencyHistogram latencies = query.latencies;
+            sb.append(LINE_BREAK);
+            sb.append(String.format(Locale.ROOT, "total=%s count=%d mean=%s p50=%s p99=%s max=%s fetch=%s ",
+                toMillis(latencies.getTotal()), latencies.getCount(), toMillis(latencies.getMean()),
+                toMillis(latencies.getValueAtPercentile(50)), toMillis(latencies.getValueAtPercentile(99)),
+                toMillis(latencies.getMax()), toMillis(query.fetchTime.sum())));
+            sb.append(query.sql);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the String representation of the most recent sql executions, the most recent first.
+     *
+     * @return string representation of the list of sql queries
+     */
+    public String getRecentQueries() {
+        StringBuilder sb = new StringBuilder();
+        for (SQLTraceRingBuffer.Execution execution : recentExecutions.getRecentExecutions()) {
+            sb.append(LINE_BREAK);
+            sb.append(String.format(Locale.ROOT, "%tFT%<tT.%<tL time=%s ", execution.getTimestamp(),
+                toMillis(execution.getExecutionTimeInNanos())));
+            sb.append(execution.getSql());
+        }
+        return sb.toString();
+    }
+
+    private <T> List<T> limit(List<T> list) {
+        return list.size() > numTopQueriesToReport ? list.subList(0, numTopQueriesToReport) : list;
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3fms", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Execution statistics of a normalized sql query.
+     */
+    private static final class QueryStatistics {
+
+        private final String sql;
+        private final LongAdder executions = new LongAdder();
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private final LongAdder fetchTime = new LongAdder();
+        private volatile long lastUsageTime = System.currentTimeMillis();
+
+        QueryStatistics(String sql) {
+            this.sql = sql;
+        }
+    }
 }
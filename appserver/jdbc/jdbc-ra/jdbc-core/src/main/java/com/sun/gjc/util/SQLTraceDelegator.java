@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022,2024 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -20,11 +20,13 @@ import com.sun.gjc.monitoring.JdbcRAConstants;
 import com.sun.gjc.monitoring.SQLTraceProbeProvider;
 import com.sun.logging.LogDomains;
 
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.logging.Logger;
 
 import org.glassfish.api.invocation.ComponentInvocation;
@@ -39,6 +41,12 @@ import static java.util.logging.Level.FINEST;
  * Implementation of SQLTraceListener to listen to events related to a sql
  * record tracing. The registry allows multiple listeners to listen to the sql
  * tracing events. Maintains a list of listeners.
+ * <p>
+ * The profiling JDBC wrappers call the hooks of this class directly for the methods using sql.
+ * Only one of every {@code samplingInterval} calls is traced, see {@link #isSampled()}; the other
+ * calls are delegated without creating a {@link SQLTraceRecord}. Sampled executions are timed
+ * and reported by the {@link SQLTraceProbeProvider#sqlExecutedEvent} probe, the time spent in fetching
+ * their result sets by the {@link SQLTraceProbeProvider#sqlFetchedEvent} probe.
  *
  * @author Shalini M
  */
@@ -51,17 +59,32 @@ public class SQLTraceDelegator implements SQLTraceListener {
     private final SimpleJndiName poolName;
     private InvocationManager invocationManager;
     private SQLTraceProbeProvider probeProvider = null;
+    private final int samplingInterval;
 
     public SQLTraceProbeProvider getProbeProvider() {
         return probeProvider;
     }
 
     public SQLTraceDelegator(SimpleJndiName poolName, InvocationManager invocationManager) {
+        this(poolName, invocationManager, 1);
+    }
+
+    /**
+     * @param poolName traced pool
+     * @param invocationManager used to find the application executing the sql
+     * @param samplingInterval one of this number of calls is traced, all if lower than 2
+     */
+    public SQLTraceDelegator(SimpleJndiName poolName, InvocationManager invocationManager, int samplingInterval) {
         this.poolName = poolName;
         this.invocationManager = invocationManager;
+        this.samplingInterval = samplingInterval;
         probeProvider = new SQLTraceProbeProvider();
     }
 
+    public int getSamplingInterval() {
+        return samplingInterval;
+    }
+
     /**
      * Add a listener to the list of sql trace listeners maintained by this registry.
      *
@@ -74,6 +97,71 @@ public class SQLTraceDelegator implements SQLTraceListener {
         sqlTraceListenersList.add(listener);
     }
 
+    /**
+     * @return true if the current call should be traced
+     */
+    public boolean isSampled() {
+        return samplingInterval <= 1 || ThreadLocalRandom.current().nextInt(samplingInterval) == 0;
+    }
+
+    /**
+     * Traces a call of a method of a JDBC object.
+     *
+     * @param target traced JDBC object
+     * @param methodName name of the called method
+     * @param params parameters of the call
+     * @return the trace record
+     */
+    public SQLTraceRecord sqlTrace(Object target, String methodName, Object... params) {
+        SQLTraceRecord record = new SQLTraceRecord();
+        record.setMethodName(methodName);
+        record.setParams(params);
+        record.setClassName(target.getClass().getName());
+        record.setThreadName(Thread.currentThread().getName());
+        record.setThreadID(Thread.currentThread().getId());
+        record.setTimeStamp(System.currentTimeMillis());
+        sqlTrace(record);
+        return record;
+    }
+
+    /**
+     * Traces a call of a method of a JDBC object executing sql, and reports the time
+     * spent in the execution.
+     *
+     * @param <T> type returned by the execution
+     * @param target traced JDBC object
+     * @param methodName name of the called method
+     * @param sql executed sql, the execution time is not reported if null
+     * @param execution the execution
+     * @param params parameters of the call
+     * @return value returned by the execution
+     * @throws SQLException thrown by the execution
+     */
+    public <T> T sqlExecution(Object target, String methodName, String sql, SQLExecution<T> execution, Object... params)
+        throws SQLException {
+        SQLTraceRecord record = sqlTrace(target, methodName, params);
+        if (sql == null) {
+            return execution.execute();
+        }
+        final long start = System.nanoTime();
+        try {
+            return execution.execute();
+        } finally {
+            probeProvider.sqlExecutedEvent(poolName.toString(), record.getApplicationName(), record.getModuleName(), sql,
+                System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Reports the time spent in fetching the result set of a traced sql execution.
+     *
+     * @param sql executed sql
+     * @param fetchTimeInNanos time spent in moving the cursor of the result set
+     */
+    public void sqlFetched(String sql, long fetchTimeInNanos) {
+        probeProvider.sqlFetchedEvent(poolName.toString(), getAppName(), getModuleName(), sql, fetchTimeInNanos);
+    }
+
     @Override
     public void sqlTrace(SQLTraceRecord record) {
         if (record != null) {
@@ -180,4 +268,14 @@ public class SQLTraceDelegator implements SQLTraceListener {
         return JdbcRAConstants.validSqlTracingMethodNames.contains(methodName);
     }
 
+    /**
+     * Execution of sql by a traced JDBC object.
+     *
+     * @param <T> type returned by the execution
+     */
+    @FunctionalInterface
+    public interface SQLExecution<T> {
+
+        T execute() throws SQLException;
+    }
 }
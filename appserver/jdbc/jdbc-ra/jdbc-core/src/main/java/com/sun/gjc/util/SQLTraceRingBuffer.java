@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free ring buffer keeping the most recent sql executions.
+ * <p>
+ * Writers claim a slot with a single atomic increment and overwrite the oldest entry, they never
+ * wait for readers or for each other. Every slot holds an immutable {@link Execution}, so readers
+ * always see complete entries.
+ */
+public class SQLTraceRingBuffer {
+
+    /**
+     * Traced sql execution.
+     */
+    public static final class Execution {
+
+        private final String sql;
+        private final long executionTimeInNanos;
+        private final long timestamp;
+
+        Execution(String sql, long executionTimeInNanos, long timestamp) {
+            this.sql = sql;
+            this.executionTimeInNanos = executionTimeInNanos;
+            this.timestamp = timestamp;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public long getExecutionTimeInNanos() {
+            return executionTimeInNanos;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+    }
+
+    private final AtomicReferenceArray<Execution> slots;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * @param capacity maximal number of kept executions, rounded up to a power of two
+     */
+    public SQLTraceRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    public void add(String sql, long executionTimeInNanos) {
+        Execution execution = new Execution(sql, executionTimeInNanos, System.currentTimeMillis());
+        slots.lazySet((int) (sequence.getAndIncrement() & mask), execution);
+    }
+
+    /**
+     * @return kept executions, the most recent first
+     */
+    public List<Execution> getRecentExecutions() {
+        long last = sequence.get();
+        int size = (int) Math.min(last, slots.length());
+        List<Execution> executions = new ArrayList<>(size);
+        for (long i = last - 1; i >= last - size; i--) {
+            Execution execution = slots.get((int) (i & mask));
+            if (execution != null) {
+                executions.add(execution);
+            }
+        }
+        return executions;
+    }
+
+    public int getCapacity() {
+        return slots.length();
+    }
+}
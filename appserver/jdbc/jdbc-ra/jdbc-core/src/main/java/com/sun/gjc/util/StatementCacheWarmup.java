@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.util;
+
+import com.sun.logging.LogDomains;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Records the SQL prepared through the statement cache of a pool and persists the most
+ * frequently prepared statements, so the statement caches of new connections can be warmed up
+ * with them after a restart.
+ * <p>
+ * The file holds one statement per line, the most frequent first. Line breaks inside a statement
+ * are escaped.
+ */
+public class StatementCacheWarmup {
+
+    private static final Logger LOG = LogDomains.getLogger(StatementCacheWarmup.class, LogDomains.RSR_LOGGER);
+
+    /** Distinct statements counted per statement persisted. */
+    private static final int TRACKED_STATEMENTS_FACTOR = 10;
+
+    private final Path file;
+    private final int size;
+    private final int maxTrackedStatements;
+    private final Map<String, LongAdder> prepareCounts = new ConcurrentHashMap<>();
+    private volatile List<String> hotSql = Collections.emptyList();
+
+    /**
+     * @param file file the hot statements are loaded from and stored to
+     * @param size maximal number of statements to persist and warm up
+     */
+    public StatementCacheWarmup(Path file, int size) {
+        this.file = file;
+        this.size = size;
+        this.maxTrackedStatements = size * TRACKED_STATEMENTS_FACTOR;
+    }
+
+    /**
+     * Counts one prepare of the statement. Once the limit of distinct statements is reached,
+     * new statements are not counted anymore.
+     *
+     * @param sql prepared statement
+     */
+    public void record(String sql) {
+        LongAdder count = prepareCounts.get(sql);
+        if (count == null) {
+            if (prepareCounts.size() >= maxTrackedStatements) {
+                return;
+            }
+            count = prepareCounts.computeIfAbsent(sql, k -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    /**
+     * @return statements loaded by {@link #load()}, the most frequent first
+     */
+    public List<String> getHotSql() {
+        return hotSql;
+    }
+
+    /**
+     * @return statements recorded since this instance was created, the most frequent first
+     */
+    public List<String> getRecordedSql() {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(prepareCounts.size());
+        for (Map.Entry<String, LongAdder> entry : prepareCounts.entrySet()) {
+            entries.add(Map.entry(entry.getKey(), entry.getValue().sum()));
+        }
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        List<String> sql = new ArrayList<>(Math.min(size, entries.size()));
+        for (int i = 0; i < entries.size() && i < size; i++) {
+            sql.add(entries.get(i).getKey());
+        }
+        return sql;
+    }
+
+    /**
+     * Loads the statements persisted by the previous {@link #store()}. A missing file is ignored.
+     */
+    public void load() {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        List<String> sql = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null && sql.size() < size) {
+                if (!line.isEmpty()) {
+                    sql.add(unescape(line));
+                }
+            }
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not load the statements to warm up the statement cache from " + file, e);
+            return;
+        }
+        hotSql = Collections.unmodifiableList(sql);
+        LOG.log(Level.FINE, "Loaded {0} statements to warm up the statement cache from {1}", new Object[] {sql.size(), file});
+    }
+
+    /**
+     * Persists the most frequently recorded statements. Nothing is written if no statement was
+     * recorded, so a short run does not forget the statements of the previous one.
+     */
+    public void store() {
+        List<String> sql = getRecordedSql();
+        if (sql.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8)) {
+                for (String statement : sql) {
+                    writer.write(escape(statement));
+                    writer.newLine();
+                }
+            }
+            Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING);
+            LOG.log(Level.FINE, "Stored {0} statements to warm up the statement cache to {1}", new Object[] {sql.size(), file});
+        } catch (IOException e) {
+            LOG.log(Level.WARNING, "Could not store the statements to warm up the statement cache to " + file, e);
+        }
+    }
+
+    static String escape(String sql) {
+        return sql.replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    static String unescape(String line) {
+        StringBuilder sb = new StringBuilder(line.length());
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && i + 1 < line.length()) {
+                char next = line.charAt(++i);
+                sb.append(next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
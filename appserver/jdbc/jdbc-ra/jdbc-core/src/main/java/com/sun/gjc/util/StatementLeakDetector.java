@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -21,15 +21,16 @@ import com.sun.enterprise.util.i18n.StringManager;
 import com.sun.gjc.monitoring.StatementLeakProbeProvider;
 import com.sun.logging.LogDomains;
 
+import java.lang.StackWalker.StackFrame;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
+import org.glassfish.common.util.timer.HashedTimingWheel;
+import org.glassfish.common.util.timer.HashedTimingWheel.Timeout;
 import org.glassfish.resourcebase.resources.api.PoolInfo;
 
 import static java.util.logging.Level.WARNING;
@@ -39,35 +40,48 @@ import static java.util.logging.Level.WARNING;
  * statement object is leaked. Once the leak timeout expires, a statement leak
  * is assumed and the caller stack trace is printed. When statement-leak-reclaim
  * is set to true, the statement object is reclaimed.
+ * <p>
+ * The caller stack is captured by a {@link StackWalker} limited to {@value #MAX_STACK_DEPTH}
+ * frames, and only for one of every leak-stack-sampling-interval statements. The leak timeouts
+ * are scheduled on a {@link HashedTimingWheel} shared by all connections, so tracing a statement
+ * takes no lock.
  *
  * @author Shalini M
  */
 public class StatementLeakDetector {
-    private final HashMap<Statement, StackTraceElement[]> statementLeakThreadStackHashMap;
-    private final HashMap<Statement, StatementLeakTask> statementLeakTimerTaskHashMap;
+
+    static final int MAX_STACK_DEPTH = 64;
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final ConcurrentHashMap<Statement, LeakTrace> statementLeakTraces;
     private final PoolInfo poolInfo;
-    private boolean statementLeakTracing;
-    private long statementLeakTimeoutInMillis;
-    private boolean statementLeakReclaim;
-    // Lock on HashMap to trace statement leaks
-    private final Object statementLeakLock;
-    private final Map<Statement, StatementLeakListener> listeners;
+    private volatile boolean statementLeakTracing;
+    private volatile long statementLeakTimeoutInMillis;
+    private volatile boolean statementLeakReclaim;
+    private final int leakStackSamplingInterval;
     private final static Logger _logger = LogDomains.getLogger(StatementLeakDetector.class, LogDomains.RSR_LOGGER);
     private final static StringManager localStrings = StringManager.getManager(StatementLeakDetector.class);
-    private final Timer timer;
+    private final HashedTimingWheel timingWheel;
     private StatementLeakProbeProvider stmtLeakProbeProvider = null;
 
+    /**
+     * @param poolInfo pool of the traced statements
+     * @param leakTracing true to trace statement leaks
+     * @param leakTimeoutInMillis time after which a statement that is not closed is reported
+     * @param leakReclaim true to close leaked statements
+     * @param leakStackSamplingInterval one of this many statements captures the caller stack
+     * @param timingWheel wheel the leak timeouts are scheduled on, statements are not traced if null
+     */
     public StatementLeakDetector(PoolInfo poolInfo, boolean leakTracing, long leakTimeoutInMillis, boolean leakReclaim,
-            Timer timer) {
+            int leakStackSamplingInterval, HashedTimingWheel timingWheel) {
         this.poolInfo = poolInfo;
-        statementLeakThreadStackHashMap = new HashMap<>();
-        statementLeakTimerTaskHashMap = new HashMap<>();
-        listeners = new HashMap<>();
-        statementLeakLock = new Object();
+        statementLeakTraces = new ConcurrentHashMap<>();
         statementLeakTracing = leakTracing;
         statementLeakTimeoutInMillis = leakTimeoutInMillis;
         statementLeakReclaim = leakReclaim;
-        this.timer = timer;
+        this.leakStackSamplingInterval = Math.max(1, leakStackSamplingInterval);
+        this.timingWheel = timingWheel;
         stmtLeakProbeProvider = new StatementLeakProbeProvider();
     }
 
@@ -80,14 +94,6 @@ public class StatementLeakDetector {
         statementLeakReclaim = leakReclaim;
     }
 
-    private void registerListener(Statement stmt, StatementLeakListener listener) {
-        listeners.put(stmt, listener);
-    }
-
-    private void unRegisterListener(Statement stmt) {
-        listeners.remove(stmt);
-    }
-
     /**
      * Starts statement leak tracing
      *
@@ -95,17 +101,16 @@ public class StatementLeakDetector {
      * @param listener Leak Listener
      */
     public void startStatementLeakTracing(Statement stmt, StatementLeakListener listener) {
-        synchronized (statementLeakLock) {
-            if (!statementLeakThreadStackHashMap.containsKey(stmt)) {
-                statementLeakThreadStackHashMap.put(stmt, Thread.currentThread().getStackTrace());
-                StatementLeakTask statementLeakTask = new StatementLeakTask(stmt);
-                statementLeakTimerTaskHashMap.put(stmt, statementLeakTask);
-                registerListener(stmt, listener);
-                if (timer != null) {
-                    timer.schedule(statementLeakTask, statementLeakTimeoutInMillis);
-                    _logger.finest("Scheduled Statement leak tracing timer task");
-                }
-            }
+        if (timingWheel == null || statementLeakTraces.containsKey(stmt)) {
+            return;
+        }
+        LeakTrace leakTrace = new LeakTrace(captureStack(), listener);
+        leakTrace.timeout = timingWheel.schedule(() -> potentialStatementLeakFound(stmt, leakTrace),
+            statementLeakTimeoutInMillis, TimeUnit.MILLISECONDS);
+        if (statementLeakTraces.putIfAbsent(stmt, leakTrace) == null) {
+            _logger.finest("Scheduled Statement leak tracing timeout");
+        } else {
+            leakTrace.timeout.cancel();
         }
     }
 
@@ -116,15 +121,10 @@ public class StatementLeakDetector {
      * @param listener Leak Listener
      */
     public void stopStatementLeakTracing(Statement stmt, StatementLeakListener listener) {
-        synchronized (statementLeakLock) {
-            if (statementLeakThreadStackHashMap.containsKey(stmt)) {
-                statementLeakThreadStackHashMap.remove(stmt);
-                StatementLeakTask statementLeakTask = statementLeakTimerTaskHashMap.remove(stmt);
-                statementLeakTask.cancel();
-                timer.purge();
-                _logger.finest("Stopped Statement leak tracing timer task");
-                unRegisterListener(stmt);
-            }
+        LeakTrace leakTrace = statementLeakTraces.remove(stmt);
+        if (leakTrace != null) {
+            leakTrace.timeout.cancel();
+            _logger.finest("Stopped Statement leak tracing timeout");
         }
     }
 
@@ -132,26 +132,21 @@ public class StatementLeakDetector {
      * Logs the potential statement leaks
      *
      * @param stmt Statement that is not closed by application
+     * @param leakTrace trace registered when the statement was created
      */
-    private void potentialStatementLeakFound(Statement stmt) {
-        synchronized (statementLeakLock) {
-            if (statementLeakThreadStackHashMap.containsKey(stmt)) {
-                StackTraceElement[] threadStack = statementLeakThreadStackHashMap.remove(stmt);
-                StatementLeakListener stmtLeakListener = listeners.get(stmt);
-                stmtLeakProbeProvider.potentialStatementLeakEvent(poolInfo.getName().toString(),
-                    poolInfo.getApplicationName(), poolInfo.getModuleName());
-                printStatementLeakTrace(threadStack);
-                statementLeakTimerTaskHashMap.remove(stmt);
-                if (statementLeakReclaim) {
-                    try {
-                        stmtLeakListener.reclaimStatement();
-                    } catch (SQLException ex) {
-                        Object[] params = new Object[] { poolInfo, ex };
-                        _logger.log(WARNING, "statement.leak.detector_reclaim_statement_failure", params);
-                    }
-                }
-                // Unregister here as the listeners would still be present in the map.
-                unRegisterListener(stmt);
+    private void potentialStatementLeakFound(Statement stmt, LeakTrace leakTrace) {
+        if (!statementLeakTraces.remove(stmt, leakTrace)) {
+            return;
+        }
+        stmtLeakProbeProvider.potentialStatementLeakEvent(poolInfo.getName().toString(),
+            poolInfo.getApplicationName(), poolInfo.getModuleName());
+        printStatementLeakTrace(leakTrace.stack);
+        if (statementLeakReclaim) {
+            try {
+                leakTrace.listener.reclaimStatement();
+            } catch (SQLException ex) {
+                Object[] params = new Object[] { poolInfo, ex };
+                _logger.log(WARNING, "statement.leak.detector_reclaim_statement_failure", params);
             }
         }
     }
@@ -159,10 +154,10 @@ public class StatementLeakDetector {
     /**
      * Prints the stack trace of thread leaking statement to server logs
      *
-     * @param threadStackTrace Application(caller) thread stack trace
+     * @param threadStack Application(caller) thread stack, null if it was not sampled
      */
-    private void printStatementLeakTrace(StackTraceElement[] threadStackTrace) {
-        StringBuffer stackTrace = new StringBuffer();
+    private void printStatementLeakTrace(StackFrame[] threadStack) {
+        StringBuilder stackTrace = new StringBuilder();
         String msg = localStrings
                 .getStringWithDefault(
                         "potential.statement.leak.msg", "A potential statement leak detected for connection pool "
@@ -170,9 +165,15 @@ public class StatementLeakDetector {
                         new Object[] { poolInfo });
         stackTrace.append(msg);
         stackTrace.append("\n");
-        for (int i = 2; i < threadStackTrace.length; i++) {
-            stackTrace.append(threadStackTrace[i].toString());
-            stackTrace.append("\n");
+        if (threadStack == null) {
+            stackTrace.append("The stack trace was not captured, only one of every ")
+                .append(leakStackSamplingInterval)
+                .append(" statements is sampled, see the leak-stack-sampling-interval pool property.\n");
+        } else {
+            for (StackFrame frame : threadStack) {
+                stackTrace.append(frame);
+                stackTrace.append("\n");
+            }
         }
         _logger.log(WARNING, stackTrace.toString(), "ConnectionPoolName=" + poolInfo);
     }
@@ -182,31 +183,31 @@ public class StatementLeakDetector {
      * being turned off
      */
     public void clearAllStatementLeakTasks() {
-        synchronized (statementLeakLock) {
-            for (Entry<Statement, StatementLeakTask> entry : statementLeakTimerTaskHashMap.entrySet()) {
-                StatementLeakTask statementLeakTask = entry.getValue();
-                statementLeakTask.cancel();
-            }
-            if (timer != null) {
-                timer.purge();
-            }
-            statementLeakThreadStackHashMap.clear();
-            statementLeakTimerTaskHashMap.clear();
+        for (LeakTrace leakTrace : statementLeakTraces.values()) {
+            leakTrace.timeout.cancel();
         }
+        statementLeakTraces.clear();
     }
 
-    private class StatementLeakTask extends TimerTask {
+    /**
+     * @return caller stack without the frames of the detector, or null if this call is not sampled
+     */
+    private StackFrame[] captureStack() {
+        if (leakStackSamplingInterval > 1 && ThreadLocalRandom.current().nextInt(leakStackSamplingInterval) != 0) {
+            return null;
+        }
+        return STACK_WALKER.walk(frames -> frames.skip(2).limit(MAX_STACK_DEPTH).toArray(StackFrame[]::new));
+    }
 
-        private final Statement statement;
+    private static final class LeakTrace {
 
-        StatementLeakTask(Statement stmt) {
-            this.statement = stmt;
-        }
+        private final StackFrame[] stack;
+        private final StatementLeakListener listener;
+        private Timeout timeout;
 
-        @Override
-        public void run() {
-            potentialStatementLeakFound(statement);
+        LeakTrace(StackFrame[] stack, StatementLeakListener listener) {
+            this.stack = stack;
+            this.listener = listener;
         }
     }
-
 }
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi;
+
+import com.sun.gjc.spi.base.ConnectionHolder;
+import com.sun.gjc.spi.base.ReadWriteSplittingConnection;
+import com.sun.gjc.spi.stub.MyConnection;
+import com.sun.gjc.spi.stub.MyConnectionHolder;
+import com.sun.gjc.spi.stub.MyDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.sun.gjc.spi.ManagedConnectionImplTest.createManagedConnection;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReadWriteSplittingConnectionTest {
+
+    private static final PoolInfo POOL_INFO = new PoolInfo(SimpleJndiName.of("primary-pool"));
+
+    private final List<ConnectionHolder> primaryConnections = new ArrayList<>();
+    private final ReplicaDataSource replica = new ReplicaDataSource();
+    private ReplicaRouter router;
+
+    @BeforeEach
+    public void init() {
+        router = new ReplicaRouter(POOL_INFO, List.of("jdbc/replica"), 0, null, 10, 5, jndiName -> replica);
+    }
+
+    @Test
+    public void readOnlyConnectionIsRoutedToReplica() throws Exception {
+        ReadWriteSplittingConnection connection = new ReadWriteSplittingConnection(this::allocatePrimary, router, false);
+        assertInstanceOf(ConnectionHolder.class, connection);
+        assertNull(connection.getConnection());
+
+        connection.setReadOnly(true);
+        connection.createStatement();
+        assertAll(
+            () -> assertTrue(connection.isRoutedToReplica()),
+            () -> assertTrue(connection.isReadOnly()),
+            () -> assertSame(replica.connections.get(0), connection.getConnection()),
+            () -> assertEquals(1, router.getReplicas().get(0).getActiveConnections()),
+            () -> assertTrue(primaryConnections.isEmpty())
+        );
+
+        connection.close();
+        assertAll(
+            () -> assertEquals(0, router.getReplicas().get(0).getActiveConnections()),
+            () -> assertFalse(replica.connections.get(0).readOnly, "The replica connection must not stay read-only"),
+            () -> assertTrue(replica.connections.get(0).closed)
+        );
+    }
+
+    @Test
+    public void readOnlyConnectionFallsBackToPrimaryWithoutReplica() throws Exception {
+        replica.failing = true;
+        ReadWriteSplittingConnection connection = new ReadWriteSplittingConnection(this::allocatePrimary, router, true);
+        connection.createStatement();
+        assertAll(
+            () -> assertFalse(connection.isRoutedToReplica()),
+            () -> assertEquals(1, primaryConnections.size()),
+            () -> assertSame(primaryConnections.get(0), connection.getPrimaryConnection()),
+            () -> assertSame(primaryConnections.get(0).getManagedConnection(), connection.getManagedConnection()),
+            () -> assertTrue(connection.isReadOnly()),
+            () -> assertFalse(router.getReplicas().get(0).isHealthy())
+        );
+
+        connection.close();
+        assertFalse(primaryConnections.get(0).getConnection().isReadOnly(),
+            "The primary connection must not stay read-only");
+    }
+
+    @Test
+    public void writableConnectionSwitchesBackToPrimary() throws Exception {
+        ReadWriteSplittingConnection connection = new ReadWriteSplittingConnection(this::allocatePrimary, router, true);
+        connection.createStatement();
+        assertTrue(connection.isRoutedToReplica());
+
+        connection.setReadOnly(false);
+        assertAll(
+            () -> assertFalse(connection.isRoutedToReplica()),
+            () -> assertEquals(0, router.getReplicas().get(0).getActiveConnections()),
+            () -> assertTrue(replica.connections.get(0).closed),
+            () -> assertTrue(primaryConnections.isEmpty())
+        );
+
+        connection.createStatement();
+        assertAll(
+            () -> assertFalse(connection.isRoutedToReplica()),
+            () -> assertEquals(1, primaryConnections.size()),
+            () -> assertFalse(connection.isReadOnly()),
+            () -> assertSame(primaryConnections.get(0).getConnection(), connection.getConnection())
+        );
+        connection.close();
+    }
+
+    @Test
+    public void primaryConnectionAcquiredInTransactionIsNotRouted() throws Exception {
+        ReadWriteSplittingConnection connection = new ReadWriteSplittingConnection(this::allocatePrimary, router, false);
+        connection.acquirePrimaryConnection();
+        assertEquals(1, primaryConnections.size());
+
+        connection.setReadOnly(true);
+        connection.createStatement();
+        assertAll(
+            () -> assertFalse(connection.isRoutedToReplica()),
+            () -> assertEquals(1, primaryConnections.size()),
+            () -> assertTrue(replica.connections.isEmpty())
+        );
+        connection.close();
+    }
+
+    private ConnectionHolder allocatePrimary() throws SQLException {
+        try {
+            RecordingConnection physicalConnection = new RecordingConnection();
+            ConnectionHolder connection = new MyConnectionHolder(physicalConnection,
+                createManagedConnection(null, physicalConnection), null);
+            connection.setActive();
+            primaryConnections.add(connection);
+            return connection;
+        } catch (Exception e) {
+            throw new SQLException(e);
+        }
+    }
+
+    private static class ReplicaDataSource extends MyDataSource {
+
+        final List<RecordingConnection> connections = new ArrayList<>();
+        boolean failing;
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (failing) {
+                throw new SQLException("Replica is down");
+            }
+            RecordingConnection connection = new RecordingConnection();
+            connections.add(connection);
+            return connection;
+        }
+    }
+
+    private static class RecordingConnection extends MyConnection {
+
+        boolean readOnly;
+        boolean autoCommit = true;
+        boolean closed;
+
+        @Override
+        public void setReadOnly(boolean readOnly) {
+            this.readOnly = readOnly;
+        }
+
+        @Override
+        public boolean isReadOnly() {
+            return readOnly;
+        }
+
+        @Override
+        public void setAutoCommit(boolean autoCommit) {
+            this.autoCommit = autoCommit;
+        }
+
+        @Override
+        public boolean getAutoCommit() {
+            return autoCommit;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi;
+
+import com.sun.gjc.spi.ReplicaRouter.Replica;
+import com.sun.gjc.spi.ReplicaRouter.ReplicaConnection;
+import com.sun.gjc.spi.base.ReadWriteSplittingConnection;
+import com.sun.gjc.spi.stub.MyConnection;
+import com.sun.gjc.spi.stub.MyDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.naming.NameNotFoundException;
+import javax.sql.DataSource;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReplicaRouterTest {
+
+    private static final PoolInfo POOL_INFO = new PoolInfo(SimpleJndiName.of("primary-pool"));
+
+    private Map<String, ReplicaDataSource> dataSources;
+    private ReplicaRouter router;
+
+    @BeforeEach
+    public void init() {
+        dataSources = new HashMap<>();
+        dataSources.put("jdbc/replica1", new ReplicaDataSource());
+        dataSources.put("jdbc/replica2", new ReplicaDataSource());
+        router = new ReplicaRouter(POOL_INFO, List.of("jdbc/replica1", "jdbc/replica2"), 0, null, 10, 5, this::lookup);
+    }
+
+    @Test
+    public void leastLoadedReplicaIsSelected() throws Exception {
+        ReplicaConnection first = router.getConnection();
+        ReplicaConnection second = router.getConnection();
+        assertNotSame(first.getReplica(), second.getReplica());
+
+        first.close();
+        ReplicaConnection third = router.getConnection();
+        assertAll(
+            () -> assertEquals(first.getReplica(), third.getReplica()),
+            () -> assertEquals(1, first.getReplica().getActiveConnections()),
+            () -> assertEquals(2, first.getReplica().getRoutedConnections()),
+            () -> assertEquals(1, second.getReplica().getActiveConnections())
+        );
+    }
+
+    @Test
+    public void closeReleasesTheReplicaOnce() throws Exception {
+        ReplicaConnection connection = router.getConnection();
+        connection.close();
+        connection.close();
+        assertEquals(0, connection.getReplica().getActiveConnections());
+    }
+
+    @Test
+    public void failingReplicaIsSkipped() throws Exception {
+        dataSources.get("jdbc/replica1").failing = true;
+        for (int i = 0; i < 4; i++) {
+            ReplicaConnection connection = router.getConnection();
+            assertEquals("jdbc/replica2", connection.getReplica().getJndiName());
+        }
+        Replica replica1 = router.getReplicas().get(0);
+        assertAll(
+            () -> assertFalse(replica1.isHealthy()),
+            () -> assertEquals(1, replica1.getFailures()),
+            () -> assertEquals(0, replica1.getRoutedConnections())
+        );
+    }
+
+    @Test
+    public void noConnectionWhenAllReplicasFail() {
+        dataSources.get("jdbc/replica1").failing = true;
+        dataSources.get("jdbc/replica2").failing = true;
+        assertNull(router.getConnection());
+        assertNull(router.getConnection());
+        assertEquals(1, router.getReplicas().get(1).getFailures());
+    }
+
+    @Test
+    public void missingReplicaResourceIsLookedUpAgain() {
+        ReplicaDataSource replica1 = dataSources.remove("jdbc/replica1");
+        router.checkHealth();
+        assertFalse(router.getReplicas().get(0).isHealthy());
+
+        dataSources.put("jdbc/replica1", replica1);
+        router.checkHealth();
+        assertTrue(router.getReplicas().get(0).isHealthy());
+    }
+
+    @Test
+    public void healthCheckRestoresRecoveredReplica() {
+        ReplicaDataSource replica1 = dataSources.get("jdbc/replica1");
+        replica1.failing = true;
+        assertNotNull(router.getConnection());
+        assertNotNull(router.getConnection());
+        assertFalse(router.getReplicas().get(0).isHealthy());
+
+        replica1.failing = false;
+        replica1.valid = false;
+        router.checkHealth();
+        assertFalse(router.getReplicas().get(0).isHealthy());
+
+        replica1.valid = true;
+        router.checkHealth();
+        assertAll(
+            () -> assertTrue(router.getReplicas().get(0).isHealthy()),
+            () -> assertEquals(-1L, router.getReplicas().get(0).getLagInMillis()),
+            () -> assertTrue(router.getStatistics().contains("jdbc/replica1: healthy=true"))
+        );
+    }
+
+    @Test
+    public void replicaIsNotMadeWritableDuringTransaction() throws Exception {
+        ReadWriteSplittingConnection connection = new ReadWriteSplittingConnection(() -> {
+            throw new SQLException("Primary is not expected");
+        }, router, true);
+        connection.setAutoCommit(false);
+        connection.createStatement();
+        assertTrue(connection.isRoutedToReplica());
+        assertThrows(SQLException.class, () -> connection.setReadOnly(false));
+        assertTrue(connection.isRoutedToReplica());
+
+        connection.commit();
+        connection.setReadOnly(false);
+        assertAll(
+            () -> assertFalse(connection.isRoutedToReplica()),
+            () -> assertEquals(0, router.getReplicas().get(0).getActiveConnections()),
+            () -> assertEquals(0, router.getReplicas().get(1).getActiveConnections())
+        );
+    }
+
+    private DataSource lookup(String jndiName) throws NameNotFoundException {
+        DataSource dataSource = dataSources.get(jndiName);
+        if (dataSource == null) {
+            throw new NameNotFoundException(jndiName);
+        }
+        return dataSource;
+    }
+
+    private static class ReplicaDataSource extends MyDataSource {
+
+        boolean failing;
+        boolean valid = true;
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (failing) {
+                throw new SQLException("Replica is down");
+            }
+            return new MyConnection() {
+
+                private boolean autoCommit = true;
+
+                @Override
+                public boolean isValid(int timeout) {
+                    return valid;
+                }
+
+                @Override
+                public void setAutoCommit(boolean autoCommit) {
+                    this.autoCommit = autoCommit;
+                }
+
+                @Override
+                public boolean getAutoCommit() {
+                    return autoCommit;
+                }
+            };
+        }
+    }
+}
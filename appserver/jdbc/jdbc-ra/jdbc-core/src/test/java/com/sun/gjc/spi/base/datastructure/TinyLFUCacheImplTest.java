@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.gjc.spi.base.datastructure;
+
+import com.sun.gjc.spi.base.CacheObjectKey;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TinyLFUCacheImplTest {
+
+    private static final PoolInfo POOL_INFO = new PoolInfo(SimpleJndiName.of("tinylfu-test-pool"));
+
+    @Test
+    public void testFactory() throws Exception {
+        assertTrue(CacheFactory.getDataStructure(POOL_INFO, "TINYLFU", 10) instanceof TinyLFUCacheImpl);
+        assertTrue(CacheFactory.getDataStructure(POOL_INFO, TinyLFUCacheImpl.class.getName(), 10) instanceof TinyLFUCacheImpl);
+    }
+
+    @Test
+    public void testHitAndMiss() {
+        Cache cache = new TinyLFUCacheImpl(POOL_INFO, 10);
+        Object statement = new Object();
+
+        assertNull(cache.checkAndUpdateCache(key("select 1")));
+        cache.addToCache(key("select 1"), statement, false);
+        assertSame(statement, cache.checkAndUpdateCache(key("select 1")));
+
+        // not forced, the original entry stays
+        cache.addToCache(key("select 1"), new Object(), false);
+        assertSame(statement, cache.checkAndUpdateCache(key("select 1")));
+        assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void testMaxSize() {
+        Cache cache = new TinyLFUCacheImpl(null, 50);
+        for (int i = 0; i < 1000; i++) {
+            CacheObjectKey key = key("select " + i);
+            if (cache.checkAndUpdateCache(key) == null) {
+                cache.addToCache(key, new Object(), false);
+            }
+            assertTrue(cache.getSize() <= 50, "Size " + cache.getSize());
+        }
+        assertEquals(50, cache.getSize());
+    }
+
+    @Test
+    public void testHotStatementSurvivesScan() {
+        Cache cache = new TinyLFUCacheImpl(null, 20);
+        List<CacheObjectKey> hotKeys = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            CacheObjectKey key = key("select hot " + i);
+            hotKeys.add(key);
+            for (int request = 0; request < 15; request++) {
+                if (cache.checkAndUpdateCache(key) == null) {
+                    cache.addToCache(key, new Object(), false);
+                }
+            }
+        }
+
+        // one-off statements must not push out the hot ones
+        for (int i = 0; i < 500; i++) {
+            CacheObjectKey key = key("select cold " + i);
+            if (cache.checkAndUpdateCache(key) == null) {
+                cache.addToCache(key, new Object(), false);
+            }
+        }
+
+        for (CacheObjectKey key : hotKeys) {
+            assertNotNull(cache.checkAndUpdateCache(key), key.getSql());
+        }
+    }
+
+    @Test
+    public void testSketchSharedByPool() throws Exception {
+        FrequencySketch sketch = new FrequencySketch(10);
+        assertTrue(sketch.canTrack(10));
+        assertFalse(sketch.canTrack(1000));
+
+        CacheObjectKey key = key("select shared");
+        new TinyLFUCacheImpl(POOL_INFO, 10, sketch).checkAndUpdateCache(key);
+        CacheFactory.getDataStructure(POOL_INFO, "TINYLFU", 10, sketch).checkAndUpdateCache(key);
+        assertTrue(sketch.frequency(key) >= 2);
+    }
+
+    @Test
+    public void testSketchOnlyForTinyLFU() {
+        assertTrue(CacheFactory.isTinyLFU("TINYLFU"));
+        assertTrue(CacheFactory.isTinyLFU(TinyLFUCacheImpl.class.getName()));
+        assertFalse(CacheFactory.isTinyLFU(null));
+        assertFalse(CacheFactory.isTinyLFU(""));
+        assertFalse(CacheFactory.isTinyLFU("FIXED"));
+    }
+
+    @Test
+    public void testPurge() {
+        Cache cache = new TinyLFUCacheImpl(null, 10);
+        Object statement = new Object();
+        cache.addToCache(key("select 1"), statement, false);
+        cache.addToCache(key("select 2"), new Object(), false);
+
+        cache.purge(statement);
+        assertNull(cache.checkAndUpdateCache(key("select 1")));
+        assertEquals(1, cache.getSize());
+
+        cache.purge();
+        assertEquals(0, cache.getSize());
+
+        cache.addToCache(key("select 3"), new Object(), false);
+        cache.flushCache();
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        Cache cache = new TinyLFUCacheImpl(null, 100);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 16; thread++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        CacheObjectKey key = key("select " + ThreadLocalRandom.current().nextInt(300));
+                        if (cache.checkAndUpdateCache(key) == null) {
+                            cache.addToCache(key, new Object(), false);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(cache.getSize() <= 100, "Size " + cache.getSize());
+    }
+
+    private static CacheObjectKey key(String sql) {
+        return new CacheObjectKey(sql, CacheObjectKey.PREPARED_STATEMENT, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+}
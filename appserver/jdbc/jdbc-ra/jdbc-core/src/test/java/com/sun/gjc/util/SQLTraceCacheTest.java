@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.util;
+
+import java.util.List;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SQLTraceCacheTest {
+
+    private static final String LINE_BREAK = "%%%EOL%%%";
+
+    @Test
+    public void testNormalize() {
+        assertNull(SQLNormalizer.normalize(null));
+        assertEquals("SELECT * FROM t1 WHERE id = ? AND name = ?",
+            SQLNormalizer.normalize("SELECT *  FROM t1\n WHERE id = 42 AND name = 'O''Brien'"));
+        assertEquals("SELECT a FROM t WHERE b IN (?) AND c > ?",
+            SQLNormalizer.normalize("SELECT a FROM t WHERE b IN (1, 2, -3.5e+2) AND c > -1"));
+        assertEquals("UPDATE \"T 1\" SET x = x - ? WHERE y = ?",
+            SQLNormalizer.normalize("UPDATE \"T 1\" SET x = x - 5 /* comment */ WHERE y = 'a' -- comment"));
+        assertEquals("INSERT INTO t VALUES (?)", SQLNormalizer.normalize("INSERT INTO t VALUES (?, ?, ?)"));
+    }
+
+    @Test
+    public void testHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        for (long value = 1; value <= 1000; value++) {
+            histogram.recordValue(value * 1000);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_500, histogram.getMean());
+        assertWithinResolution(500_000, histogram.getValueAtPercentile(50));
+        assertWithinResolution(990_000, histogram.getValueAtPercentile(99));
+        assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testBuckets() {
+        for (long value : new long[] {0, 1, 15, 16, 17, 31, 32, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int index = LatencyHistogram.getBucketIndex(value);
+            long upperBound = LatencyHistogram.getBucketUpperBound(index);
+            assertTrue(upperBound >= value, value + " > " + upperBound);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.getBucketUpperBound(index - 1) < value, Long.toString(value));
+            }
+        }
+    }
+
+    @Test
+    public void testTopQueries() {
+        SQLTraceCache cache = new SQLTraceCache(SimpleJndiName.of("sql-trace-test-pool"), null, null, 2, 5);
+        for (int i = 0; i < 3; i++) {
+            cache.checkAndUpdateCache(new SQLTrace("select * from a where id = " + i, 1, 0));
+        }
+        cache.checkAndUpdateCache(new SQLTrace("select * from b", 1, 0));
+        cache.checkAndUpdateCache(new SQLTrace("select * from c", 1, 0));
+        cache.checkAndUpdateCache(new SQLTrace("select * from c", 1, 0));
+
+        List<SQLTrace> traces = cache.getSqlTraceList();
+        assertEquals(3, traces.size());
+        assertEquals("select * from a where id = ?", traces.get(0).getQueryName());
+        assertEquals(3, traces.get(0).getNumExecutions());
+        assertEquals(LINE_BREAK + "select * from a where id = ?" + LINE_BREAK + "select * from c", cache.getTopQueries());
+    }
+
+    @Test
+    public void testTopQueriesByTotalTime() {
+        SQLTraceCache cache = new SQLTraceCache(SimpleJndiName.of("sql-trace-test-pool"), null, null, 1, 5);
+        cache.recordExecution("select * from a where id = 1", 2_000_000);
+        cache.recordExecution("select * from a where id = 2", 2_000_000);
+        cache.recordExecution("select * from b", 3_000_000);
+        cache.recordFetch("select * from a where id = 1", 500_000);
+        cache.recordFetch("select * from a where id = 2", 1_000_000);
+
+        String top = cache.getTopQueriesByTotalTime();
+        assertTrue(top.startsWith(LINE_BREAK + "total=4.000ms count=2 "), top);
+        assertTrue(top.endsWith(" fetch=1.500ms select * from a where id = ?"), top);
+
+        String recent = cache.getRecentQueries();
+        assertEquals(3, recent.split(LINE_BREAK).length - 1);
+        assertTrue(recent.startsWith(LINE_BREAK), recent);
+        assertTrue(recent.indexOf("select * from b") < recent.indexOf("select * from a"), recent);
+    }
+
+    @Test
+    public void testRingBuffer() {
+        SQLTraceRingBuffer buffer = new SQLTraceRingBuffer(3);
+        assertEquals(4, buffer.getCapacity());
+        for (int i = 0; i < 10; i++) {
+            buffer.add("sql" + i, i);
+        }
+        List<SQLTraceRingBuffer.Execution> executions = buffer.getRecentExecutions();
+        assertEquals(4, executions.size());
+        assertEquals("sql9", executions.get(0).getSql());
+        assertEquals("sql6", executions.get(3).getSql());
+    }
+
+    private static void assertWithinResolution(long expected, long actual) {
+        assertTrue(Math.abs(expected - actual) <= expected / LatencyHistogram.SUB_BUCKETS, expected + " ~ " + actual);
+    }
+}
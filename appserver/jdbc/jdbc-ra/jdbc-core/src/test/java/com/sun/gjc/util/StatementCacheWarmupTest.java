@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.util;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StatementCacheWarmupTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void mostFrequentStatementsSurviveRestart() {
+        Path file = tempDir.resolve("jdbc").resolve("pool.sql");
+        StatementCacheWarmup warmup = new StatementCacheWarmup(file, 2);
+        warmup.record("SELECT * FROM B");
+        for (int i = 0; i < 3; i++) {
+            warmup.record("SELECT * FROM A WHERE ID = ?");
+        }
+        warmup.record("SELECT *\nFROM C");
+        warmup.record("SELECT *\nFROM C");
+        warmup.store();
+
+        StatementCacheWarmup restarted = new StatementCacheWarmup(file, 2);
+        assertTrue(restarted.getHotSql().isEmpty());
+        restarted.load();
+        assertEquals(List.of("SELECT * FROM A WHERE ID = ?", "SELECT *\nFROM C"), restarted.getHotSql());
+    }
+
+    @Test
+    public void nothingIsStoredWithoutRecordedStatements() {
+        Path file = tempDir.resolve("pool.sql");
+        new StatementCacheWarmup(file, 10).store();
+        assertFalse(Files.exists(file));
+
+        StatementCacheWarmup warmup = new StatementCacheWarmup(file, 10);
+        warmup.load();
+        assertTrue(warmup.getHotSql().isEmpty());
+    }
+
+    @Test
+    public void escapedStatementsAreRestored() {
+        String sql = "SELECT 'a\\nb' FROM T\r\nWHERE X = ?";
+        assertEquals(sql, StatementCacheWarmup.unescape(StatementCacheWarmup.escape(sql)));
+        assertFalse(StatementCacheWarmup.escape(sql).contains("\n"));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -19,8 +19,6 @@ package com.sun.gjc.spi.jdbc40;
 
 import com.sun.gjc.spi.base.CallableStatementWrapper;
 
-import jakarta.resource.ResourceException;
-
 import java.io.InputStream;
 import java.io.Reader;
 import java.sql.Blob;
@@ -34,8 +32,6 @@ import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
 import java.sql.SQLXML;
 
-import static java.util.logging.Level.SEVERE;
-
 /**
  * Wrapper for JDBC 4.0 CallableStatement
  */
@@ -1514,26 +1510,12 @@ public class CallableStatementWrapper40 extends CallableStatementWrapper {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <T> T getObject(int parameterIndex, Class<T> type) throws SQLException {
-        Class<?>[] valueTypes = new Class<?>[] { Integer.TYPE, Class.class };
-        try {
-            return (T) executor.invokeMethod(jdbcStatement, "getObject", valueTypes, parameterIndex, type);
-        } catch (ResourceException ex) {
-            _logger.log(SEVERE, "jdbc.ex_get_object", ex);
-            throw new SQLException(ex);
-        }
+        return callableStatement.getObject(parameterIndex, type);
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <T> T getObject(String parameterName, Class<T> type) throws SQLException {
-        Class<?>[] valueTypes = new Class<?>[] { String.class, Class.class };
-        try {
-            return (T) executor.invokeMethod(jdbcStatement, "getObject", valueTypes, parameterName, type);
-        } catch (ResourceException ex) {
-            _logger.log(SEVERE, "jdbc.ex_get_object", ex);
-            throw new SQLException(ex);
-        }
+        return callableStatement.getObject(parameterName, type);
     }
 }
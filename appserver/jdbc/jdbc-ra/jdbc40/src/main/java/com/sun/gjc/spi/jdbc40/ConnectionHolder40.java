@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -44,7 +44,6 @@ import java.util.concurrent.Executor;
 
 import static java.util.logging.Level.FINE;
 import static java.util.logging.Level.FINEST;
-import static java.util.logging.Level.SEVERE;
 
 /**
  * Holds the java.sql.Connection object, which is to be passed to the
@@ -592,55 +591,25 @@ public class ConnectionHolder40 extends ConnectionHolder {
     @Override
     public void setSchema(String schema) throws SQLException {
         checkValidity();
-
-        Class<?>[] valueTypes = new Class<?>[] { String.class };
-        try {
-            getMethodExecutor().invokeMethod(connection, "setSchema", valueTypes, schema);
-        } catch (ResourceException ex) {
-            _logger.log(SEVERE, "jdbc.ex_connection_holder", ex);
-            throw new SQLException(ex);
-        }
-
-        return;
-
+        connection.setSchema(schema);
     }
 
     @Override
     public String getSchema() throws SQLException {
         checkValidity();
-
-        try {
-            return (String) getMethodExecutor().invokeMethod(connection, "getSchema", null);
-        } catch (ResourceException ex) {
-            _logger.log(SEVERE, "jdbc.ex_connection_holder", ex);
-            throw new SQLException(ex);
-        }
+        return connection.getSchema();
     }
 
     @Override
     public void setNetworkTimeout(Executor executorObj, int milliseconds) throws SQLException {
         checkValidity();
-
-        Class<?>[] valueTypes = new Class<?>[] { Executor.class, Integer.TYPE };
-        try {
-            getMethodExecutor().invokeMethod(connection, "setNetworkTimeout", valueTypes, executorObj, milliseconds);
-        } catch (ResourceException ex) {
-            _logger.log(SEVERE, "jdbc.ex_connection_holder", ex);
-            throw new SQLException(ex);
-        }
-        return;
+        connection.setNetworkTimeout(executorObj, milliseconds);
     }
 
     @Override
     public int getNetworkTimeout() throws SQLException {
         checkValidity();
-
-        try {
-            return (Integer) getMethodExecutor().invokeMethod(connection, "getNetworkTimeout", null);
-        } catch (ResourceException ex) {
-            _logger.log(SEVERE, "jdbc.ex_connection_holder", ex);
-            throw new SQLException(ex);
-        }
+        return connection.getNetworkTimeout();
     }
 
     /**
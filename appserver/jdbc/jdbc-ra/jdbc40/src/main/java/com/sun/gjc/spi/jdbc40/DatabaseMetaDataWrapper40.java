@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -19,14 +19,11 @@ package com.sun.gjc.spi.jdbc40;
 
 import com.sun.gjc.spi.base.DatabaseMetaDataWrapper;
 
-import jakarta.resource.ResourceException;
-
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.RowIdLifetime;
 import java.sql.SQLException;
-import java.util.logging.Level;
 
 /**
  * Wrapper class for DatabaseMetaData for JDBC 4.0 <br>
@@ -374,23 +371,11 @@ public class DatabaseMetaDataWrapper40 extends DatabaseMetaDataWrapper {
 
     @Override
     public ResultSet getPseudoColumns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern) throws SQLException {
-        Class<?>[] valueTypes = new Class<?>[] { String.class, String.class, String.class, String.class };
-        try {
-            return (ResultSet) getMethodExecutor().invokeMethod(databaseMetaData, "getPseudoColumns", valueTypes, catalog,
-                    schemaPattern, tableNamePattern, columnNamePattern);
-        } catch (ResourceException ex) {
-            _logger.log(Level.SEVERE, "jdbc.ex_dmd_wrapper", ex);
-            throw new SQLException(ex);
-        }
+        return databaseMetaData.getPseudoColumns(catalog, schemaPattern, tableNamePattern, columnNamePattern);
     }
 
     @Override
     public boolean generatedKeyAlwaysReturned() throws SQLException {
-        try {
-            return (Boolean) getMethodExecutor().invokeMethod(databaseMetaData, "generatedKeyAlwaysReturned", null);
-        } catch (ResourceException ex) {
-            _logger.log(Level.SEVERE, "jdbc.ex_dmd_wrapper", ex);
-            throw new SQLException(ex);
-        }
+        return databaseMetaData.generatedKeyAlwaysReturned();
     }
 }
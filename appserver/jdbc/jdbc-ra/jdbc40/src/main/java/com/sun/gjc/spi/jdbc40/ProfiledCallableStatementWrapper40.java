@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.jdbc40;
+
+import com.sun.gjc.util.SQLTraceDelegator;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Callable statement wrapper tracing the executions of the statement. Other methods are inherited
+ * and are not traced.
+ */
+public class ProfiledCallableStatementWrapper40 extends CallableStatementWrapper40 {
+
+    private final SQLTraceDelegator sqlTraceDelegator;
+    private final String sql;
+    private boolean resultSetSampled;
+
+    /**
+     * @param con ConnectionWrapper
+     * @param statement CallableStatement that is wrapped
+     * @param cachingEnabled whether the statement can be cached
+     * @param sql sql of the statement
+     * @param sqlTraceDelegator tracing the calls
+     */
+    public ProfiledCallableStatementWrapper40(Connection con, CallableStatement statement, boolean cachingEnabled, String sql,
+        SQLTraceDelegator sqlTraceDelegator) throws SQLException {
+        super(con, statement, cachingEnabled);
+        this.sql = sql;
+        this.sqlTraceDelegator = sqlTraceDelegator;
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        if (sqlTraceDelegator.isSampled()) {
+            return sqlTraceDelegator.sqlExecution(this, "executeQuery", sql,
+                () -> ProfiledResultSetWrapper40.wrap(super.executeQuery(), sql, sqlTraceDelegator));
+        }
+        return super.executeQuery();
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        if (sqlTraceDelegator.isSampled()) {
+            return sqlTraceDelegator.sqlExecution(this, "executeUpdate", sql, super::executeUpdate);
+        }
+        return super.executeUpdate();
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        resultSetSampled = sqlTraceDelegator.isSampled();
+        if (resultSetSampled) {
+            return sqlTraceDelegator.sqlExecution(this, "execute", sql, super::execute);
+        }
+        return super.execute();
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        if (resultSetSampled) {
+            resultSetSampled = false;
+            return ProfiledResultSetWrapper40.wrap(super.getResultSet(), sql, sqlTraceDelegator);
+        }
+        return super.getResultSet();
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        if (sqlTraceDelegator.isSampled()) {
+            sqlTraceDelegator.sqlTrace(this, "addBatch");
+        }
+        super.addBatch();
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        if (sqlTraceDelegator.isSampled()) {
+            return sqlTraceDelegator.sqlExecution(this, "executeBatch", sql, super::executeBatch);
+        }
+        return super.executeBatch();
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -22,9 +23,6 @@ import com.sun.gjc.util.SQLTraceDelegator;
 
 import jakarta.resource.spi.ConnectionRequestInfo;
 
-import java.lang.reflect.InvocationHandler;
-import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
@@ -32,8 +30,6 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
 
-import org.glassfish.api.jdbc.SQLTraceRecord;
-
 import static java.sql.ResultSet.CONCUR_READ_ONLY;
 import static java.sql.ResultSet.TYPE_FORWARD_ONLY;
 
@@ -41,12 +37,16 @@ import static java.sql.ResultSet.TYPE_FORWARD_ONLY;
  * Wrapper class that aids to provide wrapper for Statement, PreparedStatement,
  * CallableStatement, DatabaseMetaData. Along with providing a wrapper, this
  * aids in logging the SQL statements executed by the various applications.
+ * <p>
+ * The methods using sql are traced directly by this class and by the profiled statement
+ * wrappers, see {@link ProfiledStatementWrapper40}, {@link ProfiledPreparedStatementWrapper40}
+ * and {@link ProfiledCallableStatementWrapper40}. No dynamic proxies or reflection are involved.
  *
  * @author Shalini M
  */
 public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements ConnectionWrapper {
 
-    private SQLTraceDelegator sqlTraceDelegator;
+    private final SQLTraceDelegator sqlTraceDelegator;
 
     /**
      * Instantiates connection wrapper to wrap JDBC objects.
@@ -68,14 +68,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
      */
     @Override
     public Statement createStatement() throws SQLException {
-        Statement output = null;
-        try {
-            output = (Statement) getProxyObject(new StatementWrapper40(this, super.createStatement()), new Class<?>[] { Statement.class });
-        } catch (Exception e) {
-            // TODO SQLexception or any other type?
-            throw new SQLException(e);
-        }
-        return output;
+        return new ProfiledStatementWrapper40(this, super.createStatement(), sqlTraceDelegator);
     }
 
     /**
@@ -88,16 +81,7 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
      */
     @Override
     public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
-        Statement output = null;
-        try {
-            output = (Statement)
-                getProxyObject(
-                    new StatementWrapper40(this, super.createStatement(resultSetType, resultSetConcurrency)), new Class<?>[] { Statement.class });
-        } catch (Exception e) {
-            throw new SQLException(e);
-        }
-
-        return output;
+        return new ProfiledStatementWrapper40(this, super.createStatement(resultSetType, resultSetConcurrency), sqlTraceDelegator);
     }
 
     /**
@@ -111,16 +95,8 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
      */
     @Override
     public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
-        Statement output = null;
-        Class<?>[] intf = new Class[] { Statement.class };
-        try {
-            output = (Statement)
-                getProxyObject(
-                    new StatementWrapper40(this, super.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability)), intf);
-        } catch (Exception e) {
-            throw new SQLException(e);
-        }
-        return output;
+        return new ProfiledStatementWrapper40(this,
+            super.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability), sqlTraceDelegator);
     }
 
     /**
@@ -135,6 +111,14 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
         return new DatabaseMetaDataWrapper40(this, super.getMetaData());
     }
 
+    @Override
+    public String nativeSQL(String sql) throws SQLException {
+        if (sqlTraceDelegator.isSampled()) {
+            sqlTraceDelegator.sqlTrace(this, "nativeSQL", sql);
+        }
+        return super.nativeSQL(sql);
+    }
+
     /**
      * Creates a <code> CallableStatement </code> object for calling database stored
      * procedures.
@@ -145,16 +129,10 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
      */
     @Override
     public CallableStatement prepareCall(String sql) throws SQLException {
-        CallableStatement output = null;
-        Class<?>[] intf = new Class[] { java.sql.CallableStatement.class };
-        try {
-            output = (CallableStatement)
-                getProxyObject(
-                    managedConnectionImpl.prepareCachedCallableStatement(this, sql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY), intf);
-        } catch (Exception e) {
-            throw new SQLException(e);
+        if (sqlTraceDelegator.isSampled()) {
+            sqlTraceDelegator.sqlTrace(this, "prepareCall", sql);
         }
-        return output;
+        return managedConnectionImpl.prepareCachedCallableStatement(this, sql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY);
     }
 
     /**
@@ -169,16 +147,10 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
      */
     @Override
     public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
-        CallableStatement output = null;
-        Class<?>[] intf = new Class[] { java.sql.CallableStatement.class };
-        try {
-            output = (CallableStatement)
-                getProxyObject(
-                    managedConnectionImpl.prepareCachedCallableStatement(this, sql, resultSetType, resultSetConcurrency), intf);
-        } catch (Exception e) {
-            throw new SQLException(e);
+        if (sqlTraceDelegator.isSampled()) {
+            sqlTraceDelegator.sqlTrace(this, "prepareCall", sql, resultSetType, resultSetConcurrency);
         }
-        return output;
+        return managedConnectionImpl.prepareCachedCallableStatement(this, sql, resultSetType, resultSetConcurrency);
     }
 
     /**
@@ -194,16 +166,10 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
      */
     @Override
     public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
-        CallableStatement output = null;
-        Class<?>[] intf = new Class[] { CallableStatement.class };
-        try {
-            output = (CallableStatement)
-                getProxyObject(
-                    managedConnectionImpl.prepareCachedCallableStatement(this, sql, resultSetType, resultSetConcurrency, resultSetHoldability), intf);
-        } catch (Exception e) {
-            throw new SQLException(e);
+        if (sqlTraceDelegator.isSampled()) {
+            sqlTraceDelegator.sqlTrace(this, "prepareCall", sql, resultSetType, resultSetConcurrency, resultSetHoldability);
         }
-        return output;
+        return managedConnectionImpl.prepareCachedCallableStatement(this, sql, resultSetType, resultSetConcurrency, resultSetHoldability);
     }
 
     /**
@@ -216,17 +182,10 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
      */
     @Override
     public PreparedStatement prepareStatement(String sql) throws SQLException {
-        PreparedStatement output = null;
-        Class<?>[] intf = new Class[] { PreparedStatement.class };
-
-        try {
-            output = (PreparedStatement)
-                getProxyObject(
-                    managedConnectionImpl.prepareCachedStatement(this, sql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY), intf);
-        } catch (Exception e) {
-            throw new SQLException(e);
+        if (sqlTraceDelegator.isSampled()) {
+            sqlTraceDelegator.sqlTrace(this, "prepareStatement", sql);
         }
-        return output;
+        return managedConnectionImpl.prepareCachedStatement(this, sql, TYPE_FORWARD_ONLY, CONCUR_READ_ONLY);
     }
 
     /**
@@ -241,15 +200,10 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
      */
     @Override
     public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
-        PreparedStatement output = null;
-        Class<?>[] intf = new Class[] { PreparedStatement.class };
-        try {
-            output = (PreparedStatement)
-                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, autoGeneratedKeys), intf);
-        } catch (Exception e) {
-            throw new SQLException(e);
+        if (sqlTraceDelegator.isSampled()) {
+            sqlTraceDelegator.sqlTrace(this, "prepareStatement", sql, autoGeneratedKeys);
         }
-        return output;
+        return managedConnectionImpl.prepareCachedStatement(this, sql, autoGeneratedKeys);
     }
 
     /**
@@ -264,15 +218,10 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
      */
     @Override
     public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
-        PreparedStatement output = null;
-        Class<?>[] intf = new Class[] { PreparedStatement.class };
-        try {
-            output = (PreparedStatement)
-                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, columnIndexes), intf);
-        } catch (Exception e) {
-            throw new SQLException(e);
+        if (sqlTraceDelegator.isSampled()) {
+            sqlTraceDelegator.sqlTrace(this, "prepareStatement", sql, columnIndexes);
         }
-        return output;
+        return managedConnectionImpl.prepareCachedStatement(this, sql, columnIndexes);
     }
 
     /**
@@ -287,15 +236,10 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
      */
     @Override
     public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
-        PreparedStatement output = null;
-        Class<?>[] intf = new Class[] { PreparedStatement.class };
-        try {
-            output = (PreparedStatement)
-                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, resultSetType, resultSetConcurrency), intf);
-        } catch (Exception e) {
-            throw new SQLException(e);
+        if (sqlTraceDelegator.isSampled()) {
+            sqlTraceDelegator.sqlTrace(this, "prepareStatement", sql, resultSetType, resultSetConcurrency);
         }
-        return output;
+        return managedConnectionImpl.prepareCachedStatement(this, sql, resultSetType, resultSetConcurrency);
     }
 
     /**
@@ -312,16 +256,10 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
     @Override
     public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability)
             throws SQLException {
-        PreparedStatement output = null;
-        Class<?>[] intf = new Class[] { PreparedStatement.class };
-        try {
-            output = (PreparedStatement)
-                getProxyObject(
-                    managedConnectionImpl.prepareCachedStatement(this, sql, resultSetType, resultSetConcurrency, resultSetHoldability), intf);
-        } catch (Exception e) {
-            throw new SQLException(e);
+        if (sqlTraceDelegator.isSampled()) {
+            sqlTraceDelegator.sqlTrace(this, "prepareStatement", sql, resultSetType, resultSetConcurrency, resultSetHoldability);
         }
-        return output;
+        return managedConnectionImpl.prepareCachedStatement(this, sql, resultSetType, resultSetConcurrency, resultSetHoldability);
     }
 
     /**
@@ -337,76 +275,50 @@ public class ProfiledConnectionWrapper40 extends ConnectionHolder40 implements C
     public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
         checkValidity();
         jdbcPreInvoke();
-        PreparedStatement output = null;
-        Class<?>[] intf = new Class[] { PreparedStatement.class };
-        try {
-            output = (PreparedStatement)
-                getProxyObject(managedConnectionImpl.prepareCachedStatement(this, sql, columnNames), intf);
-        } catch (Exception e) {
-            throw new SQLException(e);
+        if (sqlTraceDelegator.isSampled()) {
+            sqlTraceDelegator.sqlTrace(this, "prepareStatement", sql, columnNames);
         }
-        return output;
-
+        return managedConnectionImpl.prepareCachedStatement(this, sql, columnNames);
     }
 
     @Override
     public PreparedStatementWrapper40 prepareCachedStatement(String sql, int resultSetType, int resultSetConcurrency, boolean enableCaching) throws SQLException {
-        return new PreparedStatementWrapper40(this, super.prepareStatement(sql, resultSetType, resultSetConcurrency), enableCaching);
+        return new ProfiledPreparedStatementWrapper40(this, super.prepareStatement(sql, resultSetType, resultSetConcurrency), enableCaching,
+                sql, sqlTraceDelegator);
     }
 
     @Override
     public PreparedStatementWrapper40 prepareCachedStatement(String sql, String[] columnNames, boolean enableCaching) throws SQLException {
-        return new PreparedStatementWrapper40(this, super.prepareStatement(sql, columnNames), enableCaching);
+        return new ProfiledPreparedStatementWrapper40(this, super.prepareStatement(sql, columnNames), enableCaching, sql, sqlTraceDelegator);
     }
 
     @Override
     public PreparedStatementWrapper40 prepareCachedStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability, boolean enableCaching) throws SQLException {
-        return new PreparedStatementWrapper40(this, super.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability),
-                enableCaching);
+        return new ProfiledPreparedStatementWrapper40(this, super.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability),
+                enableCaching, sql, sqlTraceDelegator);
     }
 
     @Override
     public PreparedStatementWrapper40 prepareCachedStatement(String sql, int[] columnIndexes, boolean enableCaching) throws SQLException {
-        return new PreparedStatementWrapper40(this, super.prepareStatement(sql, columnIndexes), enableCaching);
+        return new ProfiledPreparedStatementWrapper40(this, super.prepareStatement(sql, columnIndexes), enableCaching, sql, sqlTraceDelegator);
     }
 
     @Override
     public PreparedStatementWrapper40 prepareCachedStatement(String sql, int autoGeneratedKeys, boolean enableCaching) throws SQLException {
-        return new PreparedStatementWrapper40(this, super.prepareStatement(sql, autoGeneratedKeys), enableCaching);
+        return new ProfiledPreparedStatementWrapper40(this, super.prepareStatement(sql, autoGeneratedKeys), enableCaching, sql,
+                sqlTraceDelegator);
     }
 
     @Override
     public CallableStatementWrapper40 callableCachedStatement(String sql, int resultSetType, int resultSetConcurrency,
             boolean enableCaching) throws SQLException {
-        return new CallableStatementWrapper40(this, super.prepareCall(sql, resultSetType, resultSetConcurrency), enableCaching);
+        return new ProfiledCallableStatementWrapper40(this, super.prepareCall(sql, resultSetType, resultSetConcurrency), enableCaching,
+                sql, sqlTraceDelegator);
     }
 
     @Override
     public CallableStatementWrapper40 callableCachedStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability, boolean enableCaching) throws SQLException {
-        return new CallableStatementWrapper40(this, super.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability),
-                enableCaching);
-    }
-
-    // TODO refactor this method and move to a higher level
-    @SuppressWarnings("unchecked")
-    private <T> T getProxyObject(final Object actualObject, Class<?>[] ifaces) throws Exception {
-        InvocationHandler ih = new InvocationHandler() {
-
-            @Override
-            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-                SQLTraceRecord record = new SQLTraceRecord();
-                record.setMethodName(method.getName());
-                record.setParams(args);
-                record.setClassName(actualObject.getClass().getName());
-                record.setThreadName(Thread.currentThread().getName());
-                record.setThreadID(Thread.currentThread().getId());
-                record.setTimeStamp(System.currentTimeMillis());
-                sqlTraceDelegator.sqlTrace(record);
-                return method.invoke(actualObject, args);
-            }
-        };
-
-        return (T) Proxy.newProxyInstance(actualObject.getClass().getClassLoader(), ifaces, ih);
+        return new ProfiledCallableStatementWrapper40(this, super.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability),
+                enableCaching, sql, sqlTraceDelegator);
     }
-
 }
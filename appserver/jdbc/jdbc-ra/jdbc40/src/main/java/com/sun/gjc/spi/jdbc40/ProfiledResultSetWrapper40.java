@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.jdbc40;
+
+import com.sun.gjc.util.SQLTraceDelegator;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Result set wrapper measuring the time spent in fetching the rows of a traced sql execution.
+ * The time spent in {@link #next()} is reported once, when the last row was read or when the
+ * result set is closed. Other methods are delegated to the wrapped result set.
+ */
+public class ProfiledResultSetWrapper40 extends ResultSetWrapper40 {
+
+    private final SQLTraceDelegator sqlTraceDelegator;
+    private final String sql;
+    private long fetchTimeInNanos;
+    private boolean reported;
+
+    /**
+     * @param resultSet ResultSetWrapper40 returned by the execution of the statement
+     * @param sql executed sql
+     * @param sqlTraceDelegator reporting the fetch time
+     */
+    public ProfiledResultSetWrapper40(ResultSetWrapper40 resultSet, String sql, SQLTraceDelegator sqlTraceDelegator)
+        throws SQLException {
+        super(resultSet.getStatement(), resultSet);
+        this.sql = sql;
+        this.sqlTraceDelegator = sqlTraceDelegator;
+    }
+
+    /**
+     * Wraps the result set of a traced execution.
+     *
+     * @param resultSet result set returned by the execution, can be null
+     * @param sql executed sql, the fetch time is not reported if null
+     * @param sqlTraceDelegator reporting the fetch time
+     * @return the wrapped result set
+     */
+    static ResultSet wrap(ResultSet resultSet, String sql, SQLTraceDelegator sqlTraceDelegator) throws SQLException {
+        if (sql == null || !(resultSet instanceof ResultSetWrapper40)) {
+            return resultSet;
+        }
+        return new ProfiledResultSetWrapper40((ResultSetWrapper40) resultSet, sql, sqlTraceDelegator);
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        final long start = System.nanoTime();
+        boolean hasRow = resultSet.next();
+        fetchTimeInNanos += System.nanoTime() - start;
+        if (!hasRow) {
+            report();
+        }
+        return hasRow;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            report();
+        } finally {
+            // The wrapped result set notifies the statement.
+            resultSet.close();
+        }
+    }
+
+    private void report() {
+        if (!reported) {
+            reported = true;
+            sqlTraceDelegator.sqlFetched(sql, fetchTimeInNanos);
+        }
+    }
+}
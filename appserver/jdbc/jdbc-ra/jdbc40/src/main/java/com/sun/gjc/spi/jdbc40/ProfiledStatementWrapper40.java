@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.jdbc40;
+
+import com.sun.gjc.util.SQLTraceDelegator;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statement wrapper tracing the methods using sql. Other methods are inherited
+ * and are not traced.
+ */
+public class ProfiledStatementWrapper40 extends StatementWrapper40 {
+
+    private final SQLTraceDelegator sqlTraceDelegator;
+    private final List<String> batchSql = new ArrayList<>();
+    private String resultSetSql;
+
+    /**
+     * @param con ConnectionWrapper
+     * @param statement Statement that is wrapped
+     * @param sqlTraceDelegator tracing the calls
+     */
+    public ProfiledStatementWrapper40(Connection con, Statement statement, SQLTraceDelegator sqlTraceDelegator) {
+        super(con, statement);
+        this.sqlTraceDelegator = sqlTraceDelegator;
+    }
+
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        if (sqlTraceDelegator.isSampled()) {
+            return sqlTraceDelegator.sqlExecution(this, "executeQuery", sql,
+                () -> ProfiledResultSetWrapper40.wrap(super.executeQuery(sql), sql, sqlTraceDelegator), sql);
+        }
+        return super.executeQuery(sql);
+    }
+
+    @Override
+    public int executeUpdate(String sql) throws SQLException {
+        if (sqlTraceDelegator.isSampled()) {
+            return sqlTraceDelegator.sqlExecution(this, "executeUpdate", sql, () -> super.executeUpdate(sql), sql);
+        }
+        return super.executeUpdate(sql);
+    }
+
+    @Override
+    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        if (sqlTraceDelegator.isSampled()) {
+            return sqlTraceDelegator.sqlExecution(this, "executeUpdate", sql, () -> super.executeUpdate(sql, autoGeneratedKeys),
+                sql, autoGeneratedKeys);
+        }
+        return super.executeUpdate(sql, autoGeneratedKeys);
+    }
+
+    @Override
+    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        if (sqlTraceDelegator.isSampled()) {
+            return sqlTraceDelegator.sqlExecution(this, "executeUpdate", sql, () -> super.executeUpdate(sql, columnIndexes),
+                sql, columnIndexes);
+        }
+        return super.executeUpdate(sql, columnIndexes);
+    }
+
+    @Override
+    public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        if (sqlTraceDelegator.isSampled()) {
+            return sqlTraceDelegator.sqlExecution(this, "executeUpdate", sql, () -> super.executeUpdate(sql, columnNames),
+                sql, columnNames);
+        }
+        return super.executeUpdate(sql, columnNames);
+    }
+
+    @Override
+    public boolean execute(String sql) throws SQLException {
+        if (sqlTraceDelegator.isSampled()) {
+            resultSetSql = sql;
+            return sqlTraceDelegator.sqlExecution(this, "execute", sql, () -> super.execute(sql), sql);
+        }
+        resultSetSql = null;
+        return super.execute(sql);
+    }
+
+    @Override
+    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        if (sqlTraceDelegator.isSampled()) {
+            resultSetSql = sql;
+            return sqlTraceDelegator.sqlExecution(this, "execute", sql, () -> super.execute(sql, autoGeneratedKeys), sql,
+                autoGeneratedKeys);
+        }
+        resultSetSql = null;
+        return super.execute(sql, autoGeneratedKeys);
+    }
+
+    @Override
+    public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        if (sqlTraceDelegator.isSampled()) {
+            resultSetSql = sql;
+            return sqlTraceDelegator.sqlExecution(this, "execute", sql, () -> super.execute(sql, columnIndexes), sql,
+                columnIndexes);
+        }
+        resultSetSql = null;
+        return super.execute(sql, columnIndexes);
+    }
+
+    @Override
+    public boolean execute(String sql, String[] columnNames) throws SQLException {
+        if (sqlTraceDelegator.isSampled()) {
+            resultSetSql = sql;
+            return sqlTraceDelegator.sqlExecution(this, "execute", sql, () -> super.execute(sql, columnNames), sql,
+                columnNames);
+        }
+        resultSetSql = null;
+        return super.execute(sql, columnNames);
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        String sql = resultSetSql;
+        resultSetSql = null;
+        return ProfiledResultSetWrapper40.wrap(super.getResultSet(), sql, sqlTraceDelegator);
+    }
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        if (sqlTraceDelegator.isSampled()) {
+            sqlTraceDelegator.sqlTrace(this, "addBatch", sql);
+        }
+        super.addBatch(sql);
+        batchSql.add(sql);
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        super.clearBatch();
+        batchSql.clear();
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        try {
+            if (sqlTraceDelegator.isSampled()) {
+                // The statements of the batch are reported as one execution.
+                String sql = batchSql.isEmpty() ? null : String.join("; ", batchSql);
+                return sqlTraceDelegator.sqlExecution(this, "executeBatch", sql, super::executeBatch);
+            }
+            return super.executeBatch();
+        } finally {
+            batchSql.clear();
+        }
+    }
+}
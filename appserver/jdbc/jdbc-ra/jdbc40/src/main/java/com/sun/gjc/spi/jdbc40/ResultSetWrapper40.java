@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -21,8 +21,6 @@ import com.sun.enterprise.util.i18n.StringManager;
 import com.sun.gjc.spi.ManagedConnectionFactoryImpl;
 import com.sun.gjc.spi.base.ResultSetWrapper;
 
-import jakarta.resource.ResourceException;
-
 import java.io.InputStream;
 import java.io.Reader;
 import java.sql.NClob;
@@ -33,8 +31,6 @@ import java.sql.SQLFeatureNotSupportedException;
 import java.sql.SQLXML;
 import java.sql.Statement;
 
-import static java.util.logging.Level.SEVERE;
-
 /**
  * Wrapper for ResultSet
  */
@@ -93,28 +89,14 @@ public class ResultSetWrapper40 extends ResultSetWrapper {
         return resultSet.getRowId(columnLabel);
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
-        Class<?>[] valueTypes = new Class<?>[] { Integer.TYPE, Class.class };
-        try {
-            return (T) getMethodExecutor().invokeMethod(resultSet, "getObject", valueTypes, columnIndex, type);
-        } catch (ResourceException ex) {
-            _logger.log(SEVERE, "jdbc.ex_get_object", ex);
-            throw new SQLException(ex);
-        }
+        return resultSet.getObject(columnIndex, type);
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
-        Class<?>[] valueTypes = new Class<?>[] { String.class, Class.class };
-        try {
-            return (T) getMethodExecutor().invokeMethod(resultSet, "getObject", valueTypes, columnLabel, type);
-        } catch (ResourceException ex) {
-            _logger.log(SEVERE, "jdbc.ex_get_object", ex);
-            throw new SQLException(ex);
-        }
+        return resultSet.getObject(columnLabel, type);
     }
 
     /**
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.jdbc40;
+
+import com.sun.gjc.spi.DSManagedConnectionFactory;
+import com.sun.gjc.spi.ManagedConnectionImpl;
+import com.sun.gjc.util.SQLTraceDelegator;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.api.invocation.InvocationManager;
+import org.glassfish.api.jdbc.SQLTraceRecord;
+import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the cost of executing a query and reading its rows through the plain wrappers,
+ * the profiling wrappers and the {@link Proxy} based tracing they replaced.
+ * The driver is a stub answering from memory, so the results show the overhead of the wrappers.
+ */
+public class ProfiledStatementWrapperBenchmarkTest {
+
+    private static final String SQL = "SELECT name FROM employee WHERE department = ?";
+
+    private static final int ROWS = 10;
+
+    @Test
+    public void executeQuery() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(300L))
+            .measurementIterations(1).measurementTime(TimeValue.milliseconds(500L))
+            .forks(1).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.NANOSECONDS)
+            .mode(Mode.AverageTime).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertEquals(4, results.size());
+    }
+
+
+    @Benchmark
+    public void executeQueryAndReadRows(StatementState state, Blackhole blackhole) throws SQLException {
+        try (ResultSet resultSet = state.statement.executeQuery()) {
+            while (resultSet.next()) {
+                blackhole.consume(resultSet.getString(1));
+            }
+        }
+    }
+
+
+    @State(Scope.Thread)
+    public static class StatementState {
+
+        @Param({"plain", "proxy", "profiled", "profiled-sampled"})
+        public String wrapper;
+
+        PreparedStatement statement;
+
+        @Setup
+        public void createStatement() throws Exception {
+            Connection driverConnection = stub(Connection.class, (proxy, method, args) -> defaultValue(method.getReturnType()));
+            ManagedConnectionImpl managedConnection = new ManagedConnectionImpl(null, driverConnection, null,
+                new DSManagedConnectionFactory(), new PoolInfo(SimpleJndiName.of("benchmarkPool")), 0, null, null, 0, false);
+            ConnectionHolder40 connection = new ConnectionHolder40(driverConnection, managedConnection, null, true);
+            PreparedStatement driverStatement = createDriverStatement();
+            switch (wrapper) {
+                case "plain":
+                    statement = new PreparedStatementWrapper40(connection, driverStatement, false);
+                    break;
+                case "proxy":
+                    statement = createTracingProxy(new PreparedStatementWrapper40(connection, driverStatement, false),
+                        createDelegator(1));
+                    break;
+                case "profiled":
+                    statement = new ProfiledPreparedStatementWrapper40(connection, driverStatement, false, SQL, createDelegator(1));
+                    break;
+                case "profiled-sampled":
+                    statement = new ProfiledPreparedStatementWrapper40(connection, driverStatement, false, SQL, createDelegator(100));
+                    break;
+                default:
+                    throw new IllegalArgumentException(wrapper);
+            }
+        }
+    }
+
+
+    private static SQLTraceDelegator createDelegator(int samplingInterval) {
+        InvocationManager invocationManager = stub(InvocationManager.class, (proxy, method, args) -> defaultValue(method.getReturnType()));
+        return new SQLTraceDelegator(SimpleJndiName.of("benchmarkPool"), invocationManager, samplingInterval);
+    }
+
+    /**
+     * Tracing as it was done before the profiling wrappers: every call is traced and dispatched reflectively.
+     */
+    private static PreparedStatement createTracingProxy(PreparedStatement target, SQLTraceDelegator delegator) {
+        return stub(PreparedStatement.class, (proxy, method, args) -> {
+            SQLTraceRecord record = delegator.sqlTrace(target, method.getName(), args);
+            if (!method.getName().startsWith("execute")) {
+                return invoke(target, method, args);
+            }
+            final long start = System.nanoTime();
+            try {
+                return invoke(target, method, args);
+            } finally {
+                delegator.getProbeProvider().sqlExecutedEvent(record.getPoolName(), record.getApplicationName(),
+                    record.getModuleName(), SQL, System.nanoTime() - start);
+            }
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static PreparedStatement createDriverStatement() {
+        return stub(PreparedStatement.class, (proxy, method, args) -> {
+            if (method.getName().equals("executeQuery")) {
+                return createDriverResultSet();
+            }
+            return defaultValue(method.getReturnType());
+        });
+    }
+
+    private static ResultSet createDriverResultSet() {
+        int[] row = new int[1];
+        return stub(ResultSet.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "next":
+                    return ++row[0] <= ROWS;
+                case "getString":
+                    return "name";
+                default:
+                    return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    private static <T> T stub(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type.isPrimitive() && type != void.class) {
+            return Array.get(Array.newInstance(type, 1), 0);
+        }
+        return null;
+    }
+}
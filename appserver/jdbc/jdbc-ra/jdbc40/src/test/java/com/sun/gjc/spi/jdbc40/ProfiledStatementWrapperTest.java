@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.gjc.spi.jdbc40;
+
+import com.sun.gjc.spi.DSManagedConnectionFactory;
+import com.sun.gjc.spi.ManagedConnectionImpl;
+import com.sun.gjc.util.SQLTraceDelegator;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.glassfish.api.invocation.InvocationManager;
+import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.resourcebase.resources.api.PoolInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProfiledStatementWrapperTest {
+
+    private static final int ROWS = 3;
+
+    private final List<String> executions = new ArrayList<>();
+    private final List<String> fetches = new ArrayList<>();
+    private Statement statement;
+
+    @BeforeEach
+    public void createStatement() throws Exception {
+        Connection driverConnection = stub(Connection.class, (proxy, method, args) -> defaultValue(method.getReturnType()));
+        ManagedConnectionImpl managedConnection = new ManagedConnectionImpl(null, driverConnection, null,
+            new DSManagedConnectionFactory(), new PoolInfo(SimpleJndiName.of("testPool")), 0, null, null, 0, false);
+        ConnectionHolder40 connection = new ConnectionHolder40(driverConnection, managedConnection, null, true);
+        Statement driverStatement = stub(Statement.class, (proxy, method, args) -> {
+            if (method.getName().equals("executeQuery") || method.getName().equals("getResultSet")) {
+                return createDriverResultSet();
+            }
+            return defaultValue(method.getReturnType());
+        });
+        InvocationManager invocationManager = stub(InvocationManager.class,
+            (proxy, method, args) -> defaultValue(method.getReturnType()));
+        SQLTraceDelegator delegator = new SQLTraceDelegator(SimpleJndiName.of("testPool"), invocationManager) {
+
+            @Override
+            public <T> T sqlExecution(Object target, String methodName, String sql, SQLExecution<T> execution,
+                Object... params) throws SQLException {
+                executions.add(methodName + ": " + sql);
+                return super.sqlExecution(target, methodName, sql, execution, params);
+            }
+
+            @Override
+            public void sqlFetched(String sql, long fetchTimeInNanos) {
+                fetches.add(sql);
+            }
+        };
+        statement = new ProfiledStatementWrapper40(connection, driverStatement, delegator);
+    }
+
+    @Test
+    public void fetchTimeIsReportedOnceWhenAllRowsAreRead() throws Exception {
+        try (ResultSet resultSet = statement.executeQuery("SELECT name FROM employee")) {
+            assertInstanceOf(ProfiledResultSetWrapper40.class, resultSet);
+            while (resultSet.next()) {
+                assertTrue(fetches.isEmpty());
+            }
+            assertEquals(List.of("SELECT name FROM employee"), fetches);
+        }
+        assertEquals(List.of("SELECT name FROM employee"), fetches);
+    }
+
+    @Test
+    public void fetchTimeIsReportedWhenResultSetIsClosed() throws Exception {
+        statement.execute("SELECT name FROM employee");
+        try (ResultSet resultSet = statement.getResultSet()) {
+            resultSet.next();
+        }
+        assertEquals(List.of("SELECT name FROM employee"), fetches);
+        assertFalse(statement.getResultSet() instanceof ProfiledResultSetWrapper40);
+    }
+
+    @Test
+    public void executeBatchIsTimed() throws Exception {
+        statement.addBatch("DELETE FROM employee WHERE id = 1");
+        statement.addBatch("DELETE FROM employee WHERE id = 2");
+        statement.executeBatch();
+        statement.addBatch("DELETE FROM department");
+        statement.executeBatch();
+        assertEquals(List.of(
+            "executeBatch: DELETE FROM employee WHERE id = 1; DELETE FROM employee WHERE id = 2",
+            "executeBatch: DELETE FROM department"), executions);
+    }
+
+    private static ResultSet createDriverResultSet() {
+        int[] row = new int[1];
+        return stub(ResultSet.class, (proxy, method, args) -> {
+            if (method.getName().equals("next")) {
+                return ++row[0] <= ROWS;
+            }
+            return defaultValue(method.getReturnType());
+        });
+    }
+
+    private static <T> T stub(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type.isPrimitive() && type != void.class) {
+            return Array.get(Array.newInstance(type, 1), 0);
+        }
+        return null;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -72,10 +72,13 @@ import org.jvnet.hk2.annotations.Optional;
 import org.jvnet.hk2.annotations.Service;
 import org.jvnet.hk2.config.types.Property;
 
+import static com.sun.appserv.connectors.internal.api.ConnectorConstants.BACKGROUND_VALIDATION_IDLE_TIME;
 import static com.sun.appserv.connectors.internal.api.ConnectorConstants.DYNAMIC_RECONFIGURATION_FLAG;
 import static com.sun.appserv.connectors.internal.api.ConnectorConstants.JAVA_SQL_DRIVER;
 import static com.sun.appserv.connectors.internal.api.ConnectorConstants.JDBCXA_RA_NAME;
+import static com.sun.appserv.connectors.internal.api.ConnectorConstants.LEAK_STACK_SAMPLING_INTERVAL;
 import static com.sun.appserv.connectors.internal.api.ConnectorConstants.LOCAL_TRANSACTION_TX_SUPPORT_STRING;
+import static com.sun.appserv.connectors.internal.api.ConnectorConstants.POOL_PREFILL_PARALLELISM;
 import static com.sun.appserv.connectors.internal.api.ConnectorConstants.XA_TRANSACTION_TX_SUPPORT_STRING;
 import static com.sun.appserv.connectors.internal.api.ConnectorsUtil.getResourceInfo;
 import static com.sun.enterprise.connectors.util.ConnectionPoolObjectsUtils.setLazyEnlistAndLazyAssocProperties;
@@ -468,10 +471,41 @@ public class JdbcConnectionPoolDeployer implements ResourceDeployer<JdbcConnecti
                     } catch (NumberFormatException nfe) {
                         LOG.log(WARNING, "Invalid value for '" + DYNAMIC_RECONFIGURATION_FLAG + "' : " + value);
                     }
+                } else if (BACKGROUND_VALIDATION_IDLE_TIME.equals(name.toLowerCase(LOCALE))) {
+                    String value = adminPoolProperty.getValue();
+                    try {
+                        connectorConnectionPool.setBackgroundValidationIdleTime(Long.parseLong(value));
+                        LOG.log(Level.FINEST, BACKGROUND_VALIDATION_IDLE_TIME);
+                    } catch (NumberFormatException nfe) {
+                        LOG.log(WARNING, "Invalid value for '" + BACKGROUND_VALIDATION_IDLE_TIME + "' : " + value);
+                    }
+                } else if (LEAK_STACK_SAMPLING_INTERVAL.equals(name.toLowerCase(LOCALE))) {
+                    // Used by the connection leak detector of the pool and the statement leak detector of the RA
+                    String value = adminPoolProperty.getValue();
+                    try {
+                        connectorConnectionPool.setLeakStackSamplingInterval(Integer.parseInt(value));
+                        configProperties.add(new ConnectorConfigProperty("LeakStackSamplingInterval", value,
+                                "LeakStackSamplingInterval", String.class.getName()));
+                        LOG.log(Level.FINEST, LEAK_STACK_SAMPLING_INTERVAL);
+                    } catch (NumberFormatException nfe) {
+                        LOG.log(WARNING, "Invalid value for '" + LEAK_STACK_SAMPLING_INTERVAL + "' : " + value);
+                    }
+                } else if (POOL_PREFILL_PARALLELISM.equals(name.toLowerCase(LOCALE))) {
+                    String value = adminPoolProperty.getValue();
+                    try {
+                        connectorConnectionPool.setPrefillParallelism(Integer.parseInt(value));
+                        LOG.log(Level.FINEST, POOL_PREFILL_PARALLELISM);
+                    } catch (NumberFormatException nfe) {
+                        LOG.log(WARNING, "Invalid value for '" + POOL_PREFILL_PARALLELISM + "' : " + value);
+                    }
                 } else if ("POOLWAITQUEUE".equals(name.toUpperCase(LOCALE))) {
                     connectorConnectionPool.setPoolWaitQueue(adminPoolProperty.getValue());
                     LOG.log(Level.FINEST, "POOLWAITQUEUE");
 
+                } else if ("POOLRESIZER".equals(name.toUpperCase(LOCALE))) {
+                    connectorConnectionPool.setPoolResizer(adminPoolProperty.getValue());
+                    LOG.log(Level.FINEST, "POOLRESIZER");
+
                 } else if ("DATASTRUCTUREPARAMETERS".equals(name.toUpperCase(LOCALE))) {
                     connectorConnectionPool.setDataStructureParameters(adminPoolProperty.getValue());
                     LOG.log(Level.FINEST, "DATASTRUCTUREPARAMETERS");
@@ -504,6 +538,38 @@ public class JdbcConnectionPoolDeployer implements ResourceDeployer<JdbcConnecti
                     configProperties.add(new ConnectorConfigProperty("TimeToKeepQueriesInMinutes", adminPoolProperty.getValue(), "TimeToKeepQueriesInMinutes",
                             String.class.getName()));
 
+                } else if ("SQL-TRACE-SAMPLING-INTERVAL".equals(name.toUpperCase(Locale.getDefault()))) {
+                    configProperties.add(new ConnectorConfigProperty("SqlTraceSamplingInterval", adminPoolProperty.getValue(), "SqlTraceSamplingInterval",
+                            String.class.getName()));
+
+                } else if ("REPLICA-DATA-SOURCES".equals(name.toUpperCase(Locale.getDefault()))) {
+                    configProperties.add(new ConnectorConfigProperty("ReplicaDataSources", adminPoolProperty.getValue(), "ReplicaDataSources",
+                            String.class.getName()));
+
+                } else if ("REPLICA-MAX-LAG-IN-SECONDS".equals(name.toUpperCase(Locale.getDefault()))) {
+                    configProperties.add(new ConnectorConfigProperty("ReplicaMaxLagInSeconds", adminPoolProperty.getValue(), "ReplicaMaxLagInSeconds",
+                            String.class.getName()));
+
+                } else if ("REPLICA-LAG-QUERY".equals(name.toUpperCase(Locale.getDefault()))) {
+                    configProperties.add(new ConnectorConfigProperty("ReplicaLagQuery", adminPoolProperty.getValue(), "ReplicaLagQuery",
+                            String.class.getName()));
+
+                } else if ("REPLICA-HEALTH-CHECK-INTERVAL-IN-SECONDS".equals(name.toUpperCase(Locale.getDefault()))) {
+                    configProperties.add(new ConnectorConfigProperty("ReplicaHealthCheckIntervalInSeconds", adminPoolProperty.getValue(),
+                            "ReplicaHealthCheckIntervalInSeconds", String.class.getName()));
+
+                } else if ("REPLICA-VALIDATION-TIMEOUT-IN-SECONDS".equals(name.toUpperCase(Locale.getDefault()))) {
+                    configProperties.add(new ConnectorConfigProperty("ReplicaValidationTimeoutInSeconds", adminPoolProperty.getValue(),
+                            "ReplicaValidationTimeoutInSeconds", String.class.getName()));
+
+                } else if ("STATEMENT-CACHE-WARMUP-SIZE".equals(name.toUpperCase(Locale.getDefault()))) {
+                    configProperties.add(new ConnectorConfigProperty("StatementCacheWarmupSize", adminPoolProperty.getValue(),
+                            "StatementCacheWarmupSize", String.class.getName()));
+
+                } else if ("JDBC4-VALIDATION-TIMEOUT-IN-SECONDS".equals(name.toUpperCase(Locale.getDefault()))) {
+                    configProperties.add(new ConnectorConfigProperty("Jdbc4ValidationTimeoutInSeconds", adminPoolProperty.getValue(),
+                            "Jdbc4ValidationTimeoutInSeconds", String.class.getName()));
+
                 } else if (mcfConPropKeys.containsKey(name.toUpperCase(Locale.getDefault()))) {
                     configProperties.add(new ConnectorConfigProperty(mcfConPropKeys.get(name.toUpperCase(Locale.getDefault())),
                             adminPoolProperty.getValue() == null ? "" : adminPoolProperty.getValue(), "Some property", String.class.getName()));
@@ -711,13 +777,9 @@ public class JdbcConnectionPoolDeployer implements ResourceDeployer<JdbcConnecti
 
                     PoolWaitQueue reconfigWaitQueue = oldPool.getReconfigWaitQueue();
                     LOG.finest("checking reconfig-wait-queue for notification");
-                    if (reconfigWaitQueue.getQueueContents().size() > 0) {
-                        for (Object o : reconfigWaitQueue.getQueueContents()) {
-                            LOG.fine("notifying reconfig-wait-queue object [ " + o + " ]");
-                            synchronized (o) {
-                                o.notify();
-                            }
-                        }
+                    if (reconfigWaitQueue.getQueueLength() > 0) {
+                        LOG.fine(() -> "notifying reconfig-wait-queue objects " + reconfigWaitQueue.getQueueContents());
+                        reconfigWaitQueue.notifyAllWaiters();
                     }
 
                     LOG.finest(() ->
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,6 +17,7 @@
 
 package org.glassfish.jdbc.deployer;
 
+import com.sun.appserv.connectors.internal.api.ConnectorConstants;
 import com.sun.appserv.connectors.internal.api.ConnectorsUtil;
 import com.sun.enterprise.config.serverbeans.Application;
 import com.sun.enterprise.config.serverbeans.Resource;
@@ -41,6 +42,7 @@ import org.glassfish.resourcebase.resources.api.ResourceDeployer;
 import org.glassfish.resourcebase.resources.api.ResourceDeployerInfo;
 import org.glassfish.resourcebase.resources.api.ResourceInfo;
 import org.jvnet.hk2.annotations.Service;
+import org.jvnet.hk2.config.types.Property;
 
 import static com.sun.appserv.connectors.internal.api.ConnectorsUtil.getPMJndiName;
 import static com.sun.appserv.connectors.internal.api.ConnectorsUtil.getResourceInfo;
@@ -64,6 +66,9 @@ public class JdbcResourceDeployer implements ResourceDeployer<JdbcResource> {
 
     private static final Logger LOG = LogDomains.getLogger(JdbcResourceDeployer.class, LogDomains.RSR_LOGGER);
 
+    /** Property of the pool listing the JDBC resources of its read replicas. */
+    private static final String REPLICA_DATA_SOURCES = "replica-data-sources";
+
     @Inject
     private ConnectorRuntime runtime;
 
@@ -100,7 +105,7 @@ public class JdbcResourceDeployer implements ResourceDeployer<JdbcResource> {
 
         runtime.createConnectorResource(resourceInfo, poolInfo, null);
 
-        // In-case the resource is explicitly created with a suffix (__nontx or __PM),
+        // In-case the resource is explicitly created with a suffix (__nontx, __PM or __readonly),
         // no need to create one
         if (getValidSuffix(jndiName) == null) {
             ResourceInfo pmResourceInfo =
@@ -110,6 +115,11 @@ public class JdbcResourceDeployer implements ResourceDeployer<JdbcResource> {
                     resourceInfo.getModuleName());
 
             runtime.createConnectorResource(pmResourceInfo, poolInfo, null);
+
+            // Read-only connections, routed to the read replicas of the pool
+            if (hasReplicas(resource)) {
+                runtime.createConnectorResource(getReadOnlyResourceInfo(resourceInfo), poolInfo, null);
+            }
         }
 
         LOG.log(Level.FINEST, "Deployed resource {0}", jndiName);
@@ -143,13 +153,19 @@ public class JdbcResourceDeployer implements ResourceDeployer<JdbcResource> {
         runtime.deleteConnectorResource(resourceInfo);
         ConnectorRegistry.getInstance().removeResourceFactories(resourceInfo);
 
-        // In-case the resource is explicitly created with a suffix (__nontx or __PM),
+        // In-case the resource is explicitly created with a suffix (__nontx, __PM or __readonly),
         // no need to delete one
         if (getValidSuffix(resourceInfo.getName()) == null) {
             SimpleJndiName pmJndiName = getPMJndiName(resourceInfo.getName());
             ResourceInfo pmResourceInfo = new ResourceInfo(pmJndiName, resourceInfo.getApplicationName(), resourceInfo.getModuleName());
             runtime.deleteConnectorResource(pmResourceInfo);
             ConnectorRegistry.getInstance().removeResourceFactories(pmResourceInfo);
+
+            if (hasReplicas(jdbcResource)) {
+                ResourceInfo readOnlyResourceInfo = getReadOnlyResourceInfo(resourceInfo);
+                runtime.deleteConnectorResource(readOnlyResourceInfo);
+                ConnectorRegistry.getInstance().removeResourceFactories(readOnlyResourceInfo);
+            }
         }
 
         // Since 8.1 PE/SE/EE - if no more resource-ref to the pool
@@ -158,6 +174,35 @@ public class JdbcResourceDeployer implements ResourceDeployer<JdbcResource> {
         checkAndDeletePool(jdbcResource);
     }
 
+    /**
+     * @param jdbcResource Jdbc Resource Config bean
+     * @return true if the pool of the resource has read replicas
+     */
+    private static boolean hasReplicas(JdbcResource jdbcResource) {
+        if (!(jdbcResource.getParent() instanceof Resources)) {
+            return false;
+        }
+        Resources resources = (Resources) jdbcResource.getParent();
+        JdbcConnectionPool pool = resources.getResourceByName(JdbcConnectionPool.class,
+            new SimpleJndiName(jdbcResource.getPoolName()));
+        if (pool == null) {
+            return false;
+        }
+        for (Property property : pool.getProperty()) {
+            if (REPLICA_DATA_SOURCES.equalsIgnoreCase(property.getName()) && property.getValue() != null
+                && !property.getValue().isBlank()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ResourceInfo getReadOnlyResourceInfo(ResourceInfo resourceInfo) {
+        SimpleJndiName readOnlyJndiName = new SimpleJndiName(
+            resourceInfo.getName() + ConnectorConstants.READ_ONLY_JNDI_SUFFIX);
+        return new ResourceInfo(readOnlyJndiName, resourceInfo.getApplicationName(), resourceInfo.getModuleName());
+    }
+
     /**
      * Checks if no more resource-refs to resources exists for the JDBC connection
      * pool and then deletes the pool
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -255,4 +256,33 @@ public class JdbcConnPoolProbeProvider extends ConnectionPoolProbeProvider {
     public void connectionRequestDequeuedEvent(@ProbeParam("poolName") String poolName, @ProbeParam("appName") String appName,
             @ProbeParam("moduleName") String moduleName) {
     }
+
+    /**
+     * Emits probe event/notification that a connection request left the wait
+     * queue of the given jdbc connection pool <code>poolName</code>
+     *
+     * @param poolName
+     * @param waitTimeInMillis time spent in the wait queue
+     */
+    @Probe(name = "connectionRequestWaitedEvent")
+    @Override
+    public void connectionRequestWaitedEvent(@ProbeParam("poolName") String poolName, @ProbeParam("appName") String appName,
+            @ProbeParam("moduleName") String moduleName, @ProbeParam("waitTimeInMillis") long waitTimeInMillis) {
+    }
+
+    /**
+     * Emits probe event/notification that the pool resizer changed the size
+     * of the given jdbc connection pool <code>poolName</code>
+     *
+     * @param poolName
+     * @param oldSize number of connections before the change
+     * @param newSize number of connections after the change
+     * @param reason description of the resizer decision
+     */
+    @Probe(name = "connectionPoolResizedEvent")
+    @Override
+    public void connectionPoolResizedEvent(@ProbeParam("poolName") String poolName, @ProbeParam("appName") String appName,
+            @ProbeParam("moduleName") String moduleName, @ProbeParam("oldSize") int oldSize,
+            @ProbeParam("newSize") int newSize, @ProbeParam("reason") String reason) {
+    }
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -50,6 +51,8 @@ public class SessionStatsProvider{
         "Total number of sessions ever created";
     private static final String EXPIRED_SESSIONS_DESCRIPTION =
         "Total number of sessions ever expired";
+    private static final String EXPIRED_SESSIONS_RATE_DESCRIPTION =
+        "Number of sessions expired during the last full minute";
     private static final String REJECTED_SESSIONS_DESCRIPTION =
         "Total number of sessions ever rejected";
     private static final String PERSISTED_SESSIONS_DESCRIPTION =
@@ -65,11 +68,17 @@ public class SessionStatsProvider{
     private RangeStatisticImpl activeSessionsCount;
     private CountStatisticImpl sessionsTotal;
     private CountStatisticImpl expiredSessionsTotal;
+    private CountStatisticImpl expiredSessionsRate;
     private CountStatisticImpl rejectedSessionsTotal;
     private CountStatisticImpl persistedSessionsTotal;
     private CountStatisticImpl passivatedSessionsTotal;
     private CountStatisticImpl activatedSessionsTotal;
 
+    // Sessions expired during the current and the previous minute, guarded by expiredSessionsRate
+    private long expiredSessionsMinute;
+    private long expiredSessionsThisMinute;
+    private long expiredSessionsLastMinute;
+
     public SessionStatsProvider(String moduleName, String vsName) {
         this.moduleName = moduleName;
         this.vsName = vsName;
@@ -82,6 +91,9 @@ public class SessionStatsProvider{
         expiredSessionsTotal = new CountStatisticImpl(
             "ExpiredSessionsTotal", StatisticImpl.UNIT_COUNT,
             EXPIRED_SESSIONS_DESCRIPTION);
+        expiredSessionsRate = new CountStatisticImpl(
+            "ExpiredSessionsRate", StatisticImpl.UNIT_COUNT,
+            EXPIRED_SESSIONS_RATE_DESCRIPTION);
         rejectedSessionsTotal = new CountStatisticImpl(
             "RejectedSessionsTotal", StatisticImpl.UNIT_COUNT,
             REJECTED_SESSIONS_DESCRIPTION);
@@ -120,6 +132,16 @@ public class SessionStatsProvider{
         return expiredSessionsTotal;
     }
 
+    @ManagedAttribute(id="expiredsessionsrate")
+    @Description(EXPIRED_SESSIONS_RATE_DESCRIPTION)
+    public CountStatistic getExpiredSessionsRate() {
+        synchronized (expiredSessionsRate) {
+            expiredSessionsRate.setCount(
+                expiredSessionsLastMinute(System.currentTimeMillis()));
+        }
+        return expiredSessionsRate;
+    }
+
     @ManagedAttribute(id="persistedsessionstotal")
     @Description(PERSISTED_SESSIONS_DESCRIPTION)
     public CountStatistic getPersistedSessionsTotal() {
@@ -200,6 +222,7 @@ public class SessionStatsProvider{
         }
         if (isValidEvent(appName, hostName)) {
             expiredSessionsTotal.increment();
+            incrementExpiredSessionsRate();
         }
     }
 
@@ -314,6 +337,28 @@ public class SessionStatsProvider{
         }
     }
 
+    private void incrementExpiredSessionsRate() {
+        synchronized (expiredSessionsRate) {
+            expiredSessionsLastMinute(System.currentTimeMillis());
+            expiredSessionsThisMinute++;
+        }
+    }
+
+    /**
+     * Moves the counters on to the given time, caller must hold the lock of
+     * expiredSessionsRate.
+     */
+    private long expiredSessionsLastMinute(long timeNow) {
+        long minute = timeNow / 60000L;
+        if (minute != expiredSessionsMinute) {
+            expiredSessionsLastMinute = minute == expiredSessionsMinute + 1
+                ? expiredSessionsThisMinute : 0L;
+            expiredSessionsThisMinute = 0L;
+            expiredSessionsMinute = minute;
+        }
+        return expiredSessionsLastMinute;
+    }
+
     private boolean isValidEvent(String mName, String hostName) {
         //Temp fix, get the appname from the context root
         if ((moduleName == null) || (vsName == null)) {
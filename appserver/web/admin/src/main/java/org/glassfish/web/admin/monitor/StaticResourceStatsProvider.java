@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.web.admin.monitor;
+
+import org.glassfish.external.probe.provider.annotations.ProbeListener;
+import org.glassfish.external.probe.provider.annotations.ProbeParam;
+import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.external.statistics.impl.CountStatisticImpl;
+import org.glassfish.external.statistics.impl.StatisticImpl;
+import org.glassfish.gmbal.AMXMetadata;
+import org.glassfish.gmbal.Description;
+import org.glassfish.gmbal.ManagedAttribute;
+import org.glassfish.gmbal.ManagedObject;
+
+/**
+ * Provides the monitoring data of the memory-mapped static files served by
+ * the DefaultServlet.
+ */
+@AMXMetadata(type="static-resource-mon", group="monitoring")
+@ManagedObject
+@Description("Web Container Static Resource Statistics")
+public class StaticResourceStatsProvider {
+
+    private static final String HIT_COUNT_DESCRIPTION =
+        "Total number of static files served from their memory mapping";
+
+    private static final String MISS_COUNT_DESCRIPTION =
+        "Total number of static files that had to be mapped before being served";
+
+    private String moduleName;
+    private String vsName;
+    private CountStatisticImpl hitCount;
+    private CountStatisticImpl missCount;
+
+    public StaticResourceStatsProvider(String moduleName, String vsName) {
+        this.moduleName = moduleName;
+        this.vsName = vsName;
+        hitCount = new CountStatisticImpl(
+            "HitCount", StatisticImpl.UNIT_COUNT,
+            HIT_COUNT_DESCRIPTION);
+        missCount = new CountStatisticImpl(
+            "MissCount", StatisticImpl.UNIT_COUNT,
+            MISS_COUNT_DESCRIPTION);
+    }
+
+    @ManagedAttribute(id="hitcount")
+    @Description(HIT_COUNT_DESCRIPTION)
+    public CountStatistic getHitCount() {
+        return hitCount;
+    }
+
+    @ManagedAttribute(id="misscount")
+    @Description(MISS_COUNT_DESCRIPTION)
+    public CountStatistic getMissCount() {
+        return missCount;
+    }
+
+    @ProbeListener("glassfish:web:static-resource:staticResourceCacheHitEvent")
+    public void staticResourceCacheHitEvent(
+            @ProbeParam("path") String path,
+            @ProbeParam("appName") String appName,
+            @ProbeParam("hostName") String hostName) {
+        if (isValidEvent(appName, hostName)) {
+            hitCount.increment();
+        }
+    }
+
+    @ProbeListener("glassfish:web:static-resource:staticResourceCacheMissEvent")
+    public void staticResourceCacheMissEvent(
+            @ProbeParam("path") String path,
+            @ProbeParam("appName") String appName,
+            @ProbeParam("hostName") String hostName) {
+        if (isValidEvent(appName, hostName)) {
+            missCount.increment();
+        }
+    }
+
+    public String getModuleName() {
+        return moduleName;
+    }
+
+    public String getVSName() {
+        return vsName;
+    }
+
+    private boolean isValidEvent(String mName, String hostName) {
+        if ((moduleName == null) || (vsName == null)) {
+            return true;
+        }
+        return moduleName.equals(mName) && vsName.equals(hostName);
+    }
+}
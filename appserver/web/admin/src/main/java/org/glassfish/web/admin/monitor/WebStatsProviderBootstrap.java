@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -75,6 +76,7 @@ public class WebStatsProviderBootstrap implements PostConstruct {
         RequestStatsProvider wsp = new RequestStatsProvider(null, null);
         ServletStatsProvider svsp = new ServletStatsProvider(null, null);
         SessionStatsProvider sssp = new SessionStatsProvider(null, null);
+        StaticResourceStatsProvider srsp = new StaticResourceStatsProvider(null, null);
         StatsProviderManager.register("web-container", PluginPoint.SERVER,
             "web/jsp", jsp);
         StatsProviderManager.register("web-container", PluginPoint.SERVER,
@@ -83,10 +85,13 @@ public class WebStatsProviderBootstrap implements PostConstruct {
             "web/servlet", svsp);
         StatsProviderManager.register("web-container", PluginPoint.SERVER,
             "web/session", sssp);
+        StatsProviderManager.register("web-container", PluginPoint.SERVER,
+            "web/static-resource", srsp);
         webContainerStatsProviderQueue.add(jsp);
         webContainerStatsProviderQueue.add(wsp);
         webContainerStatsProviderQueue.add(svsp);
         webContainerStatsProviderQueue.add(sssp);
+        webContainerStatsProviderQueue.add(srsp);
 
         isWebStatsProvidersRegistered.set(true);
     }
@@ -137,6 +142,12 @@ public class WebStatsProviderBootstrap implements PostConstruct {
                 "web-container", PluginPoint.APPLICATIONS, node,
                 sessionStatsProvider);
         statspList.add(sessionStatsProvider);
+        StaticResourceStatsProvider staticResourceStatsProvider =
+                new StaticResourceStatsProvider(monitoringName, vsName);
+        StatsProviderManager.register(
+                "web-container", PluginPoint.APPLICATIONS, node,
+                staticResourceStatsProvider);
+        statspList.add(staticResourceStatsProvider);
         RequestStatsProvider websp =
                 new RequestStatsProvider(monitoringName, vsName);
         StatsProviderManager.register(
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2024 Contributors to Eclipse Foundation.
+ * Copyright (c) 2024, 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -88,6 +88,12 @@ public final class Globals {
     public static final String ALTERNATE_RESOURCES_ATTR =
         "org.apache.catalina.alternateResources";
 
+    /**
+     * The memory-mapped static files of the context, served by the DefaultServlet.
+     */
+    public static final String STATIC_RESOURCE_CACHE_ATTR =
+        "org.apache.catalina.staticResourceCache";
+
 
     /**
      * The servlet context attribute under which we store the class path
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -29,6 +30,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.security.Principal;
 import java.security.PrivilegedActionException;
+import java.util.Arrays;
 import java.util.ResourceBundle;
 import java.util.logging.Logger;
 
@@ -84,6 +86,13 @@ final class ApplicationFilterChain implements FilterChain {
         new ApplicationFilterConfig[0];
 
 
+    /**
+     * True if the filters are the array shared with the filter chain cache,
+     * which must not be modified.
+     */
+    private boolean sharedFilters = false;
+
+
     /**
      * The int which is used to maintain the current position
      * in the filter chain.
@@ -314,16 +323,38 @@ final class ApplicationFilterChain implements FilterChain {
      * @param filterConfig The FilterConfig for the servlet to be executed
      */
     void addFilter(ApplicationFilterConfig filterConfig) {
-        if (n == filters.length) {
+        if (n == filters.length || sharedFilters) {
             ApplicationFilterConfig[] newFilters =
                 new ApplicationFilterConfig[n + INCREMENT];
             System.arraycopy(filters, 0, newFilters, 0, n);
             filters = newFilters;
+            sharedFilters = false;
         }
         filters[n++] = filterConfig;
     }
 
 
+    /**
+     * Set the filters that will be executed in this chain, in the given order.
+     * The array is shared, not copied, so it is never modified by the chain.
+     *
+     * @param filterConfigs The FilterConfigs of the filters to be executed
+     */
+    void setFilters(ApplicationFilterConfig[] filterConfigs) {
+        filters = filterConfigs;
+        n = filterConfigs.length;
+        sharedFilters = true;
+    }
+
+
+    /**
+     * Return the filters that will be executed in this chain, in order.
+     */
+    ApplicationFilterConfig[] getFilters() {
+        return Arrays.copyOf(filters, n);
+    }
+
+
     /**
      * Release references to the filters and wrapper executed by this chain.
      */
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -21,7 +22,6 @@ import jakarta.servlet.DispatcherType;
 import jakarta.servlet.Servlet;
 import jakarta.servlet.ServletRequest;
 
-import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 
@@ -122,67 +122,19 @@ public final class ApplicationFilterFactory {
             requestPath = attribute.toString();
         }
 
-        // Acquire the information we will need to match filter mappings
-        String servletName = wrapper.getName();
-
-        int n = 0;
-
-        // Add the relevant path-mapped filters to this filter chain
-        Iterator<FilterMap> i = filterMaps.iterator();
-        while (i.hasNext()) {
-            FilterMap filterMap = i.next();
-            if (!filterMap.getDispatcherTypes().contains(dispatcher)) {
-                continue;
-            }
-            /* SJSWS 6324431
-            if (!matchFiltersURL(filterMaps[i], requestPath))
-                continue;
-            */
-            // START SJSWS 6324431
-            if (!matchFiltersURL(filterMap, requestPath,
-                                 context.isCaseSensitiveMapping()))
-                continue;
-            // END SJSWS 6324431
-            ApplicationFilterConfig filterConfig = (ApplicationFilterConfig)
-                context.findFilterConfig(filterMap.getFilterName());
-            if (filterConfig == null) {
-                // FIXME - log configuration problem
-                continue;
-            }
-            // START IASRI 4665318
-            // Create a filter chain only when there are filters to add
-            if (filterChain == null)
-                filterChain = internalCreateFilterChain(request, wrapper,
-                                                        servlet);
-            // END IASRI 4665318
-            filterChain.addFilter(filterConfig);
-            n++;
-        }
-
-        // Add filters that match on servlet name second
-        i = filterMaps.iterator();
-        while (i.hasNext()) {
-            FilterMap filterMap = i.next();
-            if (!filterMap.getDispatcherTypes().contains(dispatcher)) {
-                continue;
-            }
-            if (!matchFiltersServlet(filterMap, servletName))
-                continue;
-            ApplicationFilterConfig filterConfig = (ApplicationFilterConfig)
-                context.findFilterConfig(filterMap.getFilterName());
-            if (filterConfig == null) {
-                // FIXME - log configuration problem
-                continue;
-            }
-            // START IASRI 4665318
-            // Create a filter chain only when there are filters to add
-            if (filterChain == null)
-                filterChain = internalCreateFilterChain(request, wrapper,
-                                                        servlet);
-            // END IASRI 4665318
-            filterChain.addFilter(filterConfig);
-            n++;
+        // The filters matching the path first, then the filters matching
+        // the servlet name, as matched by the cache of the servlet
+        ApplicationFilterConfig[] filters =
+            getFilterChainCache((StandardWrapper) wrapper, context)
+                .getFilters(dispatcher, requestPath);
+
+        // START IASRI 4665318
+        // Create a filter chain only when there are filters to add
+        if (filters.length > 0) {
+            filterChain = internalCreateFilterChain(request, wrapper, servlet);
+            filterChain.setFilters(filters);
         }
+        // END IASRI 4665318
 
         // Return the completed filter chain
         return (filterChain);
@@ -193,6 +145,22 @@ public final class ApplicationFilterFactory {
     // -------------------------------------------------------- Private Methods
 
 
+    /**
+     * Return the filter chain cache of the given servlet, built again if
+     * the filter mappings of the context changed since it was built.
+     */
+    private FilterChainCache getFilterChainCache(StandardWrapper wrapper,
+                                                 StandardContext context) {
+        FilterChainCache cache = wrapper.getFilterChainCache();
+        if (cache == null
+                || cache.getVersion() != context.getFilterMappingsVersion()) {
+            cache = new FilterChainCache(context, wrapper.getName());
+            wrapper.setFilterChainCache(cache);
+        }
+        return cache;
+    }
+
+
     /**
      * Return <code>true</code> if the context-relative request path
      * matches the requirements of the specified filter mapping;
@@ -205,8 +173,8 @@ public final class ApplicationFilterFactory {
     private boolean matchFiltersURL(FilterMap filterMap, String requestPath) {
     */
     // START SJSWS 6324431
-    private boolean matchFiltersURL(FilterMap filterMap, String requestPath,
-                                    boolean caseSensitiveMapping) {
+    static boolean matchFiltersURL(FilterMap filterMap, String requestPath,
+                                   boolean caseSensitiveMapping) {
     // END SJSWS 6324431
 
         if (requestPath == null)
@@ -270,8 +238,8 @@ public final class ApplicationFilterFactory {
      * @param filterMap Filter mapping being checked
      * @param servletName Servlet name being checked
      */
-    private boolean matchFiltersServlet(FilterMap filterMap,
-                                        String servletName) {
+    static boolean matchFiltersServlet(FilterMap filterMap,
+                                       String servletName) {
 
         if (servletName == null) {
             return (false);
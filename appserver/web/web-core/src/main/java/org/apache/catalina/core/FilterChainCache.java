@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.core;
+
+import jakarta.servlet.DispatcherType;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.catalina.deploy.FilterMap;
+
+/**
+ * The filters of the filter chains of one servlet, matched once for each dispatcher type and
+ * request path instead of on every request.
+ * <p>
+ * The filters mapped to the servlet name don't depend on the request path and are matched when
+ * the cache is built. The filters mapped to URL patterns are matched on the first request of a
+ * path, and the result is kept for the {@value #MAX_CACHED_PATHS} most recently requested paths
+ * of each dispatcher type.
+ * <p>
+ * A cache reflects the filter mappings and filter configurations of the version of the context
+ * it was built for, see {@link StandardContext#getFilterMappingsVersion()}.
+ *
+ * @see ApplicationFilterFactory
+ */
+final class FilterChainCache {
+
+    static final ApplicationFilterConfig[] NO_FILTERS = new ApplicationFilterConfig[0];
+
+    private static final int MAX_CACHED_PATHS = 256;
+
+    private final int version;
+    private final Filters[] filtersByDispatcherType;
+
+    /**
+     * @param context context of the servlet
+     * @param servletName name of the servlet
+     */
+    FilterChainCache(StandardContext context, String servletName) {
+        // Read first, so that a change made while building the cache makes it stale
+        this.version = context.getFilterMappingsVersion();
+        DispatcherType[] dispatcherTypes = DispatcherType.values();
+        this.filtersByDispatcherType = new Filters[dispatcherTypes.length];
+        for (DispatcherType dispatcherType : dispatcherTypes) {
+            filtersByDispatcherType[dispatcherType.ordinal()] = new Filters(context, servletName, dispatcherType);
+        }
+    }
+
+    int getVersion() {
+        return version;
+    }
+
+    /**
+     * @param dispatcherType dispatcher type of the request
+     * @param requestPath context relative request path, may be null
+     * @return the filters to execute in the given order, never null
+     */
+    ApplicationFilterConfig[] getFilters(DispatcherType dispatcherType, String requestPath) {
+        return filtersByDispatcherType[dispatcherType.ordinal()].get(requestPath);
+    }
+
+    /**
+     * @param dispatcherType dispatcher type of the requests
+     * @return number of request paths whose filters are cached
+     */
+    int getCachedPathCount(DispatcherType dispatcherType) {
+        return filtersByDispatcherType[dispatcherType.ordinal()].size();
+    }
+
+
+    /**
+     * Filters of one dispatcher type.
+     */
+    private static final class Filters {
+
+        private final boolean caseSensitiveMapping;
+
+        // The filter mappings with URL patterns and their configurations, in the order of the mappings
+        private final FilterMap[] urlFilterMaps;
+        private final ApplicationFilterConfig[] urlFilterConfigs;
+
+        // The filters mapped to the servlet name, executed after the ones mapped to the URL patterns
+        private final ApplicationFilterConfig[] servletFilters;
+
+        private final Map<String, ApplicationFilterConfig[]> filtersByPath = new LruMap<>(MAX_CACHED_PATHS);
+
+        Filters(StandardContext context, String servletName, DispatcherType dispatcherType) {
+            this.caseSensitiveMapping = context.isCaseSensitiveMapping();
+            List<FilterMap> urlMaps = new ArrayList<>();
+            List<ApplicationFilterConfig> urlConfigs = new ArrayList<>();
+            List<ApplicationFilterConfig> servletConfigs = new ArrayList<>();
+            for (FilterMap filterMap : context.findFilterMaps()) {
+                if (!filterMap.getDispatcherTypes().contains(dispatcherType)) {
+                    continue;
+                }
+                ApplicationFilterConfig filterConfig = (ApplicationFilterConfig) context
+                    .findFilterConfig(filterMap.getFilterName());
+                if (filterConfig == null) {
+                    continue;
+                }
+                if (filterMap.getURLPattern() != null) {
+                    urlMaps.add(filterMap);
+                    urlConfigs.add(filterConfig);
+                }
+                if (ApplicationFilterFactory.matchFiltersServlet(filterMap, servletName)) {
+                    servletConfigs.add(filterConfig);
+                }
+            }
+            this.urlFilterMaps = urlMaps.toArray(new FilterMap[0]);
+            this.urlFilterConfigs = urlConfigs.toArray(NO_FILTERS);
+            this.servletFilters = servletConfigs.toArray(NO_FILTERS);
+        }
+
+        ApplicationFilterConfig[] get(String requestPath) {
+            if (requestPath == null || urlFilterMaps.length == 0) {
+                return servletFilters;
+            }
+            ApplicationFilterConfig[] filters;
+            synchronized (filtersByPath) {
+                filters = filtersByPath.get(requestPath);
+            }
+            if (filters == null) {
+                filters = match(requestPath);
+                synchronized (filtersByPath) {
+                    filtersByPath.put(requestPath, filters);
+                }
+            }
+            return filters;
+        }
+
+        int size() {
+            synchronized (filtersByPath) {
+                return filtersByPath.size();
+            }
+        }
+
+        private ApplicationFilterConfig[] match(String requestPath) {
+            List<ApplicationFilterConfig> filters = new ArrayList<>(urlFilterConfigs.length + servletFilters.length);
+            for (int i = 0; i < urlFilterMaps.length; i++) {
+                if (ApplicationFilterFactory.matchFiltersURL(urlFilterMaps[i], requestPath, caseSensitiveMapping)) {
+                    filters.add(urlFilterConfigs[i]);
+                }
+            }
+            if (filters.isEmpty()) {
+                return servletFilters;
+            }
+            for (ApplicationFilterConfig filterConfig : servletFilters) {
+                filters.add(filterConfig);
+            }
+            return filters.toArray(NO_FILTERS);
+        }
+    }
+
+
+    /**
+     * Map of limited size, dropping the least recently used entry.
+     */
+    private static final class LruMap<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        LruMap(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
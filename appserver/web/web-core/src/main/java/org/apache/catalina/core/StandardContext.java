@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2024 Contributors to Eclipse Foundation.
+ * Copyright (c) 2021, 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -125,6 +125,7 @@ import org.apache.catalina.deploy.SecurityCollection;
 import org.apache.catalina.deploy.SecurityConstraint;
 import org.apache.catalina.deploy.ServletMap;
 import org.apache.catalina.loader.WebappLoader;
+import org.apache.catalina.realm.SecurityConstraintIndex;
 import org.apache.catalina.servlets.DefaultServlet;
 import org.apache.catalina.session.ManagerBase;
 import org.apache.catalina.session.PersistentManagerBase;
@@ -182,6 +183,7 @@ import static org.apache.catalina.Globals.ALT_DD_ATTR;
 import static org.apache.catalina.Globals.FACES_INITIALIZER;
 import static org.apache.catalina.Globals.META_INF_RESOURCES;
 import static org.apache.catalina.Globals.RESOURCES_ATTR;
+import static org.apache.catalina.Globals.STATIC_RESOURCE_CACHE_ATTR;
 import static org.apache.catalina.Globals.WEBSOCKET_INITIALIZER;
 import static org.apache.catalina.LogFacade.BIND_THREAD_EXCEPTION;
 import static org.apache.catalina.LogFacade.CONTAINER_ALREADY_STARTED_EXCEPTION;
@@ -347,6 +349,17 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
      */
     private final List<SecurityConstraint> constraints = new ArrayList<>();
 
+    /**
+     * The version of the security constraints, incremented on every change so that the constraint
+     * index is built again.
+     */
+    private final AtomicInteger constraintsVersion = new AtomicInteger();
+
+    /**
+     * The security constraints compiled for the lookup by request path and method.
+     */
+    private volatile SecurityConstraintIndex securityConstraintIndex;
+
     /**
      * The ServletContext implementation associated with this Context.
      */
@@ -434,6 +447,12 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
      */
     private final List<FilterMap> filterMaps = new ArrayList<>();
 
+    /**
+     * The version of the filter mappings and filter configurations, incremented on every change so that
+     * the filter chain caches of the wrappers are built again.
+     */
+    private final AtomicInteger filterMappingsVersion = new AtomicInteger();
+
     /**
      * The list of classnames of InstanceListeners that will be added to each newly created Wrapper by
      * <code>createWrapper()</code>.
@@ -648,6 +667,16 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
      */
     protected int cacheTTL = 5000;
 
+    /**
+     * Memory-mapped static files max size in KB.
+     */
+    protected int staticResourceCacheMaxSize = 65_536; // 64 MB
+
+    /**
+     * The memory-mapped static files, served by the DefaultServlet.
+     */
+    private volatile StaticResourceCache staticResourceCache;
+
     /**
      * Non proxied resources.
      */
@@ -863,6 +892,8 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
      */
     public void setCaseSensitiveMapping(boolean caseSensitiveMap) {
         caseSensitiveMapping = caseSensitiveMap;
+        filterMappingsVersion.incrementAndGet();
+        constraintsVersion.incrementAndGet();
     }
 
     /**
@@ -914,6 +945,27 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         this.cacheMaxSize = cacheMaxSize;
     }
 
+    /**
+     * @return the maximum size of the memory-mapped static files in KB.
+     */
+    public int getStaticResourceCacheMaxSize() {
+        return staticResourceCacheMaxSize;
+    }
+
+    /**
+     * Set the maximum size of the memory-mapped static files in KB, 0 disables them.
+     */
+    public void setStaticResourceCacheMaxSize(int staticResourceCacheMaxSize) {
+        this.staticResourceCacheMaxSize = staticResourceCacheMaxSize;
+    }
+
+    /**
+     * @return the memory-mapped static files, or null if disabled or not started.
+     */
+    public StaticResourceCache getStaticResourceCache() {
+        return staticResourceCache;
+    }
+
     /**
      * @return the "follow standard delegation model" flag used to configure our ClassLoader.
      */
@@ -1928,6 +1980,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
 
         // Add this constraint to the set for our web application
         constraints.add(constraint);
+        constraintsVersion.incrementAndGet();
     }
 
     @Override
@@ -2118,6 +2171,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         } else {
             filterMaps.add(0, filterMap);
         }
+        filterMappingsVersion.incrementAndGet();
 
         if (notifyContainerListeners) {
             fireContainerEvent("addFilterMap", filterMap);
@@ -3190,6 +3244,20 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         return !constraints.isEmpty();
     }
 
+    /**
+     * @return the security constraints of this application compiled for the lookup by request path
+     *         and method, built again after the constraints changed
+     */
+    public SecurityConstraintIndex getSecurityConstraintIndex() {
+        SecurityConstraintIndex index = securityConstraintIndex;
+        int version = constraintsVersion.get();
+        if (index == null || index.getVersion() != version) {
+            index = new SecurityConstraintIndex(version, constraints, caseSensitiveMapping);
+            securityConstraintIndex = index;
+        }
+        return index;
+    }
+
     @Override
     public ContextEjb findEjb(String name) {
         return namingResources.findEjb(name);
@@ -3554,6 +3622,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         }
 
         constraints.clear();
+        constraintsVersion.incrementAndGet();
     }
 
     @Override
@@ -3624,6 +3693,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         }
 
         filterMaps.clear();
+        filterMappingsVersion.incrementAndGet();
     }
 
     @Override
@@ -3900,6 +3970,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
                 }
             }
         }
+        filterMappingsVersion.incrementAndGet();
 
         return ok;
     }
@@ -3922,11 +3993,21 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
             }
             filterConfigs.clear();
         }
+        filterMappingsVersion.incrementAndGet();
 
         return true;
     }
 
 
+    /**
+     * @return the version of the filter mappings and filter configurations of this context, which
+     *         changes whenever any of them changes
+     */
+    public int getFilterMappingsVersion() {
+        return filterMappingsVersion.get();
+    }
+
+
     /**
      * Find and return the initialized <code>FilterConfig</code> for the specified filter name, if
      * any; otherwise return <code>null</code>.
@@ -4186,6 +4267,12 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
 
         this.resources = null;
 
+        StaticResourceCache cache = staticResourceCache;
+        if (cache != null) {
+            cache.clear();
+            staticResourceCache = null;
+        }
+
         return ok;
 
     }
@@ -5117,6 +5204,12 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
 
         getServletContext().setAttribute(ALTERNATE_RESOURCES_ATTR, getAlternateDocBases());
         context.setAttributeReadOnly(ALTERNATE_RESOURCES_ATTR);
+
+        if (staticResourceCacheMaxSize > 0) {
+            staticResourceCache = new StaticResourceCache(this, staticResourceCacheMaxSize * 1024L);
+            getServletContext().setAttribute(STATIC_RESOURCE_CACHE_ATTR, staticResourceCache);
+            context.setAttributeReadOnly(STATIC_RESOURCE_CACHE_ATTR);
+        }
     }
 
     public String getHostname() {
@@ -6244,6 +6337,14 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         // Deliberate noop
     }
 
+    public void staticResourceCacheHitEvent(String path) {
+        // Deliberate noop
+    }
+
+    public void staticResourceCacheMissEvent(String path) {
+        // Deliberate noop
+    }
+
     public void sessionPersistedStartEvent(HttpSession session) {
         // Deliberate noop
     }
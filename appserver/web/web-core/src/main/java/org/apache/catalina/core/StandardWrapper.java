@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -182,6 +182,12 @@ public class StandardWrapper extends ContainerBase implements ServletConfig, Wra
      */
     private final HashMap<String, String> references = new HashMap<>();
 
+    /**
+     * The filters of the filter chains of this servlet, matched by the
+     * {@link ApplicationFilterFactory}.
+     */
+    private volatile FilterChainCache filterChainCache;
+
     /**
      * The run-as identity for this servlet.
      */
@@ -477,6 +483,14 @@ public class StandardWrapper extends ContainerBase implements ServletConfig, Wra
         super.setParent(container);
     }
 
+    FilterChainCache getFilterChainCache() {
+        return filterChainCache;
+    }
+
+    void setFilterChainCache(FilterChainCache filterChainCache) {
+        this.filterChainCache = filterChainCache;
+    }
+
     /**
      * Return the run-as identity for this servlet.
      */
@@ -0,0 +1,422 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.zip.CRC32;
+
+/**
+ * The memory-mapped static files of a context, so that they can be written to
+ * the response straight from the page cache of the operating system, without
+ * reading them into the heap first.
+ * <p>
+ * A file is mapped when it is served for the first time and unmapped by the
+ * garbage collector once evicted. A file is mapped only once when requested
+ * by several threads at the same time. A file is mapped again when its length
+ * or last modification time change, or those of one of its precompressed
+ * variants. The least recently served files are evicted when the mapped files
+ * exceed the maximum size.
+ * <p>
+ * The precompressed variants found beside a file, <code>file.br</code> and
+ * <code>file.gz</code>, are mapped together with it when requested.
+ */
+public final class StaticResourceCache {
+
+    /**
+     * The precompressed variants looked up beside a file, in the order of preference.
+     */
+    private static final String[][] ENCODINGS = {{"br", ".br"}, {"gzip", ".gz"}};
+
+    /**
+     * Size of the buffer the files are read through to compute their ETag.
+     */
+    private static final int ETAG_BUFFER_SIZE = 8192;
+
+    private final StandardContext context;
+    private final long maxSize;
+
+    /**
+     * The mapped files, the least recently served first. Guards {@link #size}.
+     */
+    private final LinkedHashMap<String, MappedFile> files = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    /**
+     * The files being mapped, so that concurrent misses wait for the same mapping.
+     */
+    private final ConcurrentMap<String, FutureTask<MappedFile>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * @param context the context whose files are cached, notified of hits and misses
+     * @param maxSize the maximum number of bytes mapped
+     */
+    public StaticResourceCache(StandardContext context, long maxSize) {
+        this.context = context;
+        this.maxSize = maxSize;
+    }
+
+
+    /**
+     * Return the mapped file, mapping it if it is not mapped yet or was
+     * modified since.
+     *
+     * @param path the canonical path of the file
+     * @param length the current length of the file
+     * @param lastModified the current modification time of the file
+     * @param precompressed true to map the precompressed variants too
+     * @return the mapped file, or null if it cannot be mapped
+     */
+    public MappedFile get(String path, long length, long lastModified, boolean precompressed) {
+        MappedFile file;
+        synchronized (files) {
+            file = files.get(path);
+        }
+        if (file != null && file.isCurrent(length, lastModified, precompressed)) {
+            if (context != null) {
+                context.staticResourceCacheHitEvent(path);
+            }
+            return file;
+        }
+        if (context != null) {
+            context.staticResourceCacheMissEvent(path);
+        }
+        if (length <= 0 || length > maxSize) {
+            return null;
+        }
+
+        FutureTask<MappedFile> task = new FutureTask<>(() -> load(path, length, lastModified, precompressed));
+        FutureTask<MappedFile> loader = loading.putIfAbsent(path, task);
+        if (loader == null) {
+            loader = task;
+            try {
+                task.run();
+            } finally {
+                loading.remove(path, task);
+            }
+        }
+        try {
+            file = loader.get();
+        } catch (ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        // Mapped by another thread, possibly from another version of the file
+        return file != null && file.isCurrent(length, lastModified, precompressed) ? file : null;
+    }
+
+
+    /**
+     * Unmaps the given file, if it is still the one mapped for the path.
+     *
+     * @param path the canonical path of the file
+     * @param file the mapped file, as returned by {@link #get(String, long, long, boolean)}
+     */
+    public void remove(String path, MappedFile file) {
+        synchronized (files) {
+            if (files.remove(path, file)) {
+                size -= file.size;
+            }
+        }
+    }
+
+
+    /**
+     * Unmaps all files.
+     */
+    public void clear() {
+        synchronized (files) {
+            files.clear();
+            size = 0L;
+        }
+    }
+
+
+    /**
+     * @return the number of mapped bytes
+     */
+    public long getSize() {
+        synchronized (files) {
+            return size;
+        }
+    }
+
+
+    /**
+     * @return the number of mapped files
+     */
+    public int getFileCount() {
+        synchronized (files) {
+            return files.size();
+        }
+    }
+
+
+    private MappedFile load(String path, long length, long lastModified, boolean precompressed) {
+        MappedFile file;
+        try {
+            file = new MappedFile(path, length, lastModified, precompressed);
+        } catch (IOException | InternalError e) {
+            // InternalError: truncated while computing the ETag
+            return null;
+        }
+        synchronized (files) {
+            MappedFile replaced = files.put(path, file);
+            size += file.size - (replaced == null ? 0L : replaced.size);
+            Iterator<MappedFile> eldest = files.values().iterator();
+            while (size > maxSize && eldest.hasNext()) {
+                size -= eldest.next().size;
+                eldest.remove();
+            }
+        }
+        return file;
+    }
+
+
+    private static MappedByteBuffer map(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+        }
+    }
+
+
+    /**
+     * A mapped file with its strong ETag and its precompressed variants.
+     */
+    public static final class MappedFile {
+
+        private final File file;
+        private final long length;
+        private final long lastModified;
+        private final ByteBuffer content;
+        private final String eTag;
+        private final String[] encodings;
+        private final MappedFile[] variants;
+        private final long size;
+        private final boolean precompressed;
+
+        MappedFile(String path, long length, long lastModified, boolean precompressed) throws IOException {
+            this.file = new File(path);
+            this.length = length;
+            this.lastModified = lastModified;
+            this.precompressed = precompressed;
+            this.content = map(file);
+            if (content.capacity() != length) {
+                // Modified in the meantime
+                throw new IOException("Length of " + path + " changed");
+            }
+            this.eTag = eTag(file, length, "");
+
+            String[] foundEncodings = new String[ENCODINGS.length];
+            MappedFile[] foundVariants = new MappedFile[ENCODINGS.length];
+            int count = 0;
+            long variantsSize = 0L;
+            for (String[] encoding : precompressed ? ENCODINGS : new String[0][]) {
+                File variantFile = new File(path + encoding[1]);
+                long variantLastModified = variantFile.lastModified();
+                if (variantFile.isFile() && variantFile.length() > 0L && variantFile.length() < length) {
+                    MappedByteBuffer variant = map(variantFile);
+                    foundEncodings[count] = encoding[0];
+                    foundVariants[count] = new MappedFile(variantFile, variant,
+                        eTag(variantFile, variant.capacity(), encoding[0]), variantLastModified);
+                    variantsSize += variant.capacity();
+                    count++;
+                }
+            }
+            this.encodings = count == 0 ? new String[0] : Arrays.copyOf(foundEncodings, count);
+            this.variants = count == 0 ? new MappedFile[0] : Arrays.copyOf(foundVariants, count);
+            this.size = length + variantsSize;
+        }
+
+        private MappedFile(File file, ByteBuffer content, String eTag, long lastModified) {
+            this.file = file;
+            this.length = content.capacity();
+            this.lastModified = lastModified;
+            this.content = content;
+            this.eTag = eTag;
+            this.encodings = new String[0];
+            this.variants = new MappedFile[0];
+            this.size = length;
+            this.precompressed = false;
+        }
+
+
+        /**
+         * @return the file mapped
+         */
+        public File getFile() {
+            return file;
+        }
+
+
+        /**
+         * @return the length of the file in bytes
+         */
+        public long getLength() {
+            return length;
+        }
+
+
+        /**
+         * @return the strong ETag, computed from the content of the file
+         */
+        public String getETag() {
+            return eTag;
+        }
+
+
+        /**
+         * @return the whole content, to be consumed by the caller
+         */
+        public ByteBuffer getContent() {
+            return content.duplicate();
+        }
+
+
+        /**
+         * @param start the first byte
+         * @param end the last byte, inclusive
+         * @return the given range of the content, to be consumed by the caller
+         */
+        public ByteBuffer getContent(long start, long end) {
+            ByteBuffer range = content.duplicate();
+            range.limit((int) end + 1).position((int) start);
+            return range;
+        }
+
+
+        /**
+         * @param acceptEncoding the Accept-Encoding header of the request, may be null
+         * @return the encoding of the preferred precompressed variant accepted,
+         *         or null if there is none
+         */
+        public String getEncoding(String acceptEncoding) {
+            if (acceptEncoding == null) {
+                return null;
+            }
+            for (String encoding : encodings) {
+                if (accepts(acceptEncoding, encoding)) {
+                    return encoding;
+                }
+            }
+            return null;
+        }
+
+
+        /**
+         * @param encoding an encoding returned by {@link #getEncoding(String)}
+         * @return the precompressed variant
+         */
+        public MappedFile getVariant(String encoding) {
+            for (int i = 0; i < encodings.length; i++) {
+                if (encodings[i].equals(encoding)) {
+                    return variants[i];
+                }
+            }
+            return null;
+        }
+
+
+        /**
+         * @return true if the files have a precompressed variant
+         */
+        public boolean hasVariants() {
+            return encodings.length > 0;
+        }
+
+
+        /**
+         * @return true if the file and its precompressed variants were not
+         *         modified since they were mapped
+         */
+        boolean isCurrent(long length, long lastModified, boolean precompressed) {
+            if (this.length != length || this.lastModified != lastModified || (precompressed && !this.precompressed)) {
+                return false;
+            }
+            for (MappedFile variant : variants) {
+                if (variant.file.length() != variant.length || variant.file.lastModified() != variant.lastModified) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+
+        private static boolean accepts(String acceptEncoding, String encoding) {
+            int from = 0;
+            while (from < acceptEncoding.length()) {
+                int end = acceptEncoding.indexOf(',', from);
+                if (end < 0) {
+                    end = acceptEncoding.length();
+                }
+                String coding = acceptEncoding.substring(from, end).trim();
+                int semicolon = coding.indexOf(';');
+                String name = semicolon < 0 ? coding : coding.substring(0, semicolon).trim();
+                if (name.equalsIgnoreCase(encoding)) {
+                    // An explicit q=0 rejects the coding
+                    return semicolon < 0 || !coding.substring(semicolon + 1).replace(" ", "").matches("q=0(\\.0*)?");
+                }
+                from = end + 1;
+            }
+            return false;
+        }
+
+
+        /**
+         * Computes the ETag from the file read through a heap buffer rather
+         * than from its mapping, which fails with a SIGBUS if the file is
+         * truncated in the meantime.
+         */
+        private static String eTag(File file, long length, String encoding) throws IOException {
+            CRC32 crc = new CRC32();
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(length, ETAG_BUFFER_SIZE));
+                long remaining = length;
+                while (remaining > 0L) {
+                    buffer.clear().limit((int) Math.min(remaining, buffer.capacity()));
+                    int read = channel.read(buffer);
+                    if (read < 0) {
+                        // Truncated in the meantime
+                        throw new IOException("Length of " + file + " changed");
+                    }
+                    buffer.flip();
+                    crc.update(buffer);
+                    remaining -= read;
+                }
+            }
+            StringBuilder eTag = new StringBuilder(32).append('"').append(Long.toHexString(crc.getValue()))
+                .append('-').append(length);
+            if (!encoding.isEmpty()) {
+                eTag.append('-').append(encoding);
+            }
+            return eTag.append('"').toString();
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023, 2024 Contributors to the Eclipse Foundation
+ * Copyright (c) 2023, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2021 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -36,10 +36,8 @@ import java.security.Principal;
 import java.security.cert.X509Certificate;
 import java.text.MessageFormat;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
@@ -63,7 +61,6 @@ import org.apache.catalina.authenticator.AuthenticatorBase;
 import org.apache.catalina.connector.Response;
 import org.apache.catalina.core.StandardContext;
 import org.apache.catalina.deploy.LoginConfig;
-import org.apache.catalina.deploy.SecurityCollection;
 import org.apache.catalina.deploy.SecurityConstraint;
 import org.apache.catalina.util.HexUtils;
 import org.apache.catalina.util.LifecycleSupport;
@@ -73,7 +70,6 @@ import static com.sun.enterprise.util.Utility.isEmpty;
 import static com.sun.logging.LogCleanerUtil.neutralizeForLog;
 import static jakarta.servlet.http.HttpServletResponse.SC_FORBIDDEN;
 import static java.util.logging.Level.FINE;
-import static java.util.logging.Level.FINEST;
 import static java.util.logging.Level.INFO;
 import static org.apache.catalina.LogFacade.ACCESS_RESOURCE_DENIED;
 import static org.apache.catalina.LogFacade.USERNAME_HAS_ROLE;
@@ -406,269 +402,25 @@ public abstract class RealmBase implements Lifecycle, Realm {
 
     @Override
     public SecurityConstraint[] findSecurityConstraints(String uri, String method, Context context) {
-        List<SecurityConstraint> results = null;
-
         // Are there any defined security constraints?
         if (!context.hasConstraints()) {
             log.log(FINE, "  No applicable constraints defined");
             return (null);
         }
 
-        String origUri = uri;
-        boolean caseSensitiveMapping = ((StandardContext) context).isCaseSensitiveMapping();
-        if (uri != null && !caseSensitiveMapping) {
-            uri = uri.toLowerCase(Locale.ENGLISH);
-        }
-
-        boolean found = false;
-
-        List<SecurityConstraint> constraints = context.getConstraints();
-        Iterator<SecurityConstraint> i = constraints.iterator();
-        while (i.hasNext()) {
-            SecurityConstraint constraint = i.next();
-            SecurityCollection[] collection = constraint.findCollections();
-
-            // If collection is null, continue to avoid an NPE
-            // See Bugzilla 30624
-            if (collection == null) {
-                continue;
-            }
-
-            if (log.isLoggable(FINEST)) {
-                log.log(FINEST,
-                    "Checking constraint '" + constraint + "' against " + method + " " + origUri +
-                    " --> " + constraint.included(uri, method, caseSensitiveMapping));
-            }
-
-            if (log.isLoggable(FINE) && constraint.included(uri, method, caseSensitiveMapping)) {
-                log.log(FINE, "  Matched constraint '" + constraint + "' against " + method + " " + origUri);
-            }
-
-            for (SecurityCollection element : collection) {
-                String[] patterns = element.findPatterns();
-                // If patterns is null, continue to avoid an NPE
-                // See Bugzilla 30624
-                if (patterns == null) {
-                    continue;
-                }
-
-                for (String pattern2 : patterns) {
-                    String pattern = caseSensitiveMapping ? pattern2 : pattern2.toLowerCase(Locale.ENGLISH);
-                    if (uri != null && uri.equals(pattern)) {
-                        found = true;
-                        if (element.findMethod(method)) {
-                            if (results == null) {
-                                results = new ArrayList<>();
-                            }
-                            results.add(constraint);
-                        }
-                    }
-                }
-            }
-        } // while
-
-        if (found) {
-            return resultsToArray(results);
-        }
-
-        int longest = -1;
-
-        i = constraints.iterator();
-        while (i.hasNext()) {
-            SecurityConstraint constraint = i.next();
-            SecurityCollection[] collection = constraint.findCollections();
-
-            // If collection is null, continue to avoid an NPE
-            // See Bugzilla 30624
-            if (collection == null) {
-                continue;
-            }
-
-            if (log.isLoggable(FINEST)) {
-                log.log(FINE, "  Checking constraint '" + constraint + "' against " + method + " " + origUri + " --> "
-                        + constraint.included(uri, method, caseSensitiveMapping));
-            }
-
-            if (log.isLoggable(FINE) && constraint.included(uri, method, caseSensitiveMapping)) {
-                log.log(FINE, "  Matched constraint '" + constraint + "' against " + method + " " + origUri);
-            }
-
-            for (SecurityCollection element : collection) {
-                String[] patterns = element.findPatterns();
-                // If patterns is null, continue to avoid an NPE
-                // See Bugzilla 30624
-                if (patterns == null) {
-                    continue;
-                }
-
-                boolean matched = false;
-                int length = -1;
-                for (String pattern2 : patterns) {
-                    String pattern = caseSensitiveMapping ? pattern2 : pattern2.toLowerCase(Locale.ENGLISH);
-                    if (pattern.startsWith("/") && pattern.endsWith("/*") && pattern.length() >= longest) {
-
-                        if (pattern.length() == 2) {
-                            matched = true;
-                            length = pattern.length();
-                        } else if (uri != null && (pattern.regionMatches(0, uri, 0, pattern.length() - 1) || (pattern.length() - 2 == uri.length() && pattern.regionMatches(0, uri, 0, pattern.length() - 2)))) {
-                            matched = true;
-                            length = pattern.length();
-                        }
-                    }
-                }
-
-                if (matched) {
-                    found = true;
-                    if (length > longest) {
-                        if (results != null) {
-                            results.clear();
-                        }
-                        longest = length;
-                    }
-
-                    if (element.findMethod(method)) {
-                        if (results == null) {
-                            results = new ArrayList<>();
-                        }
-                        results.add(constraint);
-                    }
-                }
-            }
-        } // while
-
-        if (found) {
-            return resultsToArray(results);
-        }
-
-        i = constraints.iterator();
-        while (i.hasNext()) {
-            SecurityConstraint constraint = i.next();
-            SecurityCollection[] collection = constraint.findCollections();
-
-            // If collection is null, continue to avoid an NPE
-            // See Bugzilla 30624
-            if (collection == null) {
-                continue;
-            }
-
-            if (log.isLoggable(FINEST)) {
-                String msg = "  Checking constraint '" + constraint + "' against " + method + " " + origUri + " --> "
-                        + constraint.included(uri, method, caseSensitiveMapping);
-                log.log(FINEST, msg);
-            }
-
-            if (log.isLoggable(FINE) && constraint.included(uri, method, caseSensitiveMapping)) {
-                log.log(FINE, "  Matched constraint '" + constraint + "' against " + method + " " + origUri);
-            }
-
-            boolean matched = false;
-            int pos = -1;
-            for (int j = 0; j < collection.length; j++) {
-                String[] patterns = collection[j].findPatterns();
-                // If patterns is null, continue to avoid an NPE
-                // See Bugzilla 30624
-                if (patterns == null) {
-                    continue;
-                }
-
-                for (int k = 0; k < patterns.length && !matched; k++) {
-                    String pattern = caseSensitiveMapping ? patterns[k] : patterns[k].toLowerCase(Locale.ENGLISH);
-                    if (uri != null && pattern.startsWith("*.")) {
-                        int slash = uri.lastIndexOf("/");
-                        int dot = uri.lastIndexOf(".");
-                        if (slash >= 0 && dot > slash && dot != uri.length() - 1 && uri.length() - dot == pattern.length() - 1) {
-                            if (pattern.regionMatches(1, uri, dot, uri.length() - dot)) {
-                                matched = true;
-                                pos = j;
-                            }
-                        }
-                    }
-                }
-            }
-
-            if (matched) {
-                found = true;
-                if (collection[pos].findMethod(method)) {
-                    if (results == null) {
-                        results = new ArrayList<>();
-                    }
-                    results.add(constraint);
-                }
-            }
-        } // while
-
-        if (found) {
-            return resultsToArray(results);
-        }
-
-        i = constraints.iterator();
-        while (i.hasNext()) {
-            SecurityConstraint constraint = i.next();
-            SecurityCollection[] collection = constraint.findCollections();
-
-            // If collection is null, continue to avoid an NPE
-            // See Bugzilla 30624
-            if (collection == null) {
-                continue;
-            }
-
-            if (log.isLoggable(FINEST)) {
-                String msg = "  Checking constraint '" + constraint + "' against " + method + " " + origUri + " --> "
-                        + constraint.included(uri, method, caseSensitiveMapping);
-                log.log(FINEST, msg);
-            }
-
-
-            if (log.isLoggable(FINE) && constraint.included(uri, method, caseSensitiveMapping)) {
-                log.log(FINE, "  Matched constraint '" + constraint + "' against " + method + " " + origUri);
-            }
-
-            for (SecurityCollection element : collection) {
-                String[] patterns = element.findPatterns();
-
-                // If patterns is null, continue to avoid an NPE
-                // See Bugzilla 30624
-                if (patterns == null) {
-                    continue;
-                }
-
-                boolean matched = false;
-                for (int k = 0; k < patterns.length && !matched; k++) {
-                    String pattern = caseSensitiveMapping ? patterns[k] : patterns[k].toLowerCase(Locale.ENGLISH);
-                    if (pattern.equals("/")) {
-                        matched = true;
-                    }
-                }
-                if (matched) {
-                    if (results == null) {
-                        results = new ArrayList<>();
-                    }
-                    results.add(constraint);
-                }
-            }
-        } // while
-
-        if (results == null) {
-            // No applicable security constraint was found
-            if (log.isLoggable(FINE)) {
+        SecurityConstraint[] results = ((StandardContext) context).getSecurityConstraintIndex().find(uri, method);
+        if (log.isLoggable(FINE)) {
+            if (results == null) {
+                // No applicable security constraint was found
                 log.log(FINE, "  No applicable constraint located");
+            } else {
+                for (SecurityConstraint constraint : results) {
+                    log.log(FINE, "  Matched constraint '" + constraint + "' against " + method + " " + uri);
+                }
             }
         }
 
-        return resultsToArray(results);
-    }
-
-    /**
-     * Convert an ArrayList to a SecurityContraint [].
-     */
-    private SecurityConstraint[] resultsToArray(List<SecurityConstraint> results) {
-        if (results == null) {
-            return null;
-        }
-
-        SecurityConstraint[] array = new SecurityConstraint[results.size()];
-        results.toArray(array);
-        return array;
+        return results;
     }
 
     @Override
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.realm;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.catalina.deploy.SecurityCollection;
+import org.apache.catalina.deploy.SecurityConstraint;
+
+/**
+ * The url patterns of the security constraints of a web application, compiled for the lookup of
+ * the constraints of a request.
+ * <p>
+ * The patterns are matched in the order of the Servlet specification: an exact match, then the
+ * longest path prefix match, found in a trie of the path prefixes, then an extension match and at
+ * last the default pattern. The constraints matched by a pattern are filtered by the HTTP method
+ * of the request once for each method, so a lookup neither iterates over all constraints nor
+ * allocates. The returned arrays are shared by all requests and must not be modified.
+ * <p>
+ * The index reflects the constraints at the time it was built; {@link
+ * org.apache.catalina.core.StandardContext#getSecurityConstraintIndex()} builds a new one when the
+ * constraints change.
+ */
+public final class SecurityConstraintIndex {
+
+    private static final SecurityConstraint[] NO_CONSTRAINTS = new SecurityConstraint[0];
+
+    // Limits the memory held for the unusual methods sent by clients
+    private static final int MAX_CACHED_METHODS = 32;
+
+    private final int version;
+    private final boolean caseSensitiveMapping;
+    private final Map<String, Match> exactMatches;
+    private final PrefixNode prefixMatches;
+    private final String[] extensions;
+    private final Match[] extensionMatches;
+    private final Match defaultMatch;
+
+    /**
+     * @param version version of the constraints
+     * @param constraints security constraints in the order of their declaration
+     * @param caseSensitiveMapping false if the url patterns are matched regardless of the case
+     */
+    public SecurityConstraintIndex(int version, List<SecurityConstraint> constraints, boolean caseSensitiveMapping) {
+        this.version = version;
+        this.caseSensitiveMapping = caseSensitiveMapping;
+
+        Map<String, MatchBuilder> exact = new HashMap<>();
+        PrefixNodeBuilder prefixes = new PrefixNodeBuilder();
+        Map<String, MatchBuilder> byExtension = new LinkedHashMap<>();
+        MatchBuilder defaults = new MatchBuilder();
+        for (SecurityConstraint constraint : constraints) {
+            SecurityCollection[] collections = constraint.findCollections();
+            // If collection is null, continue to avoid an NPE
+            // See Bugzilla 30624
+            if (collections == null) {
+                continue;
+            }
+            Map<String, SecurityCollection> firstByExtension = new LinkedHashMap<>();
+            for (SecurityCollection collection : collections) {
+                String[] patterns = collection.findPatterns();
+                if (patterns == null) {
+                    continue;
+                }
+                boolean prefixAdded = false;
+                boolean defaultAdded = false;
+                for (String pattern : patterns) {
+                    if (!caseSensitiveMapping) {
+                        pattern = pattern.toLowerCase(Locale.ENGLISH);
+                    }
+                    exact.computeIfAbsent(pattern, p -> new MatchBuilder()).add(constraint, collection);
+                    if (pattern.startsWith("/") && pattern.endsWith("/*")) {
+                        prefixes.add(pattern.substring(0, pattern.length() - 2), constraint, collection);
+                    } else if (pattern.startsWith("*.") && pattern.length() > 2) {
+                        firstByExtension.putIfAbsent(pattern.substring(1), collection);
+                    } else if (pattern.equals("/") && !defaultAdded) {
+                        defaults.add(constraint, collection);
+                        defaultAdded = true;
+                    }
+                }
+            }
+            for (Map.Entry<String, SecurityCollection> entry : firstByExtension.entrySet()) {
+                byExtension.computeIfAbsent(entry.getKey(), e -> new MatchBuilder()).add(constraint, entry.getValue());
+            }
+        }
+
+        this.exactMatches = new HashMap<>();
+        for (Map.Entry<String, MatchBuilder> entry : exact.entrySet()) {
+            exactMatches.put(entry.getKey(), entry.getValue().build(true));
+        }
+        this.prefixMatches = prefixes.build();
+        this.extensions = byExtension.keySet().toArray(new String[0]);
+        this.extensionMatches = new Match[extensions.length];
+        for (int i = 0; i < extensions.length; i++) {
+            extensionMatches[i] = byExtension.get(extensions[i]).build(true);
+        }
+        // The constraints of the default pattern apply to all methods
+        this.defaultMatch = defaults.isEmpty() ? null : defaults.build(false);
+    }
+
+    /**
+     * @return version of the constraints this index was built for
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * @param uri context relative request path
+     * @param method HTTP method of the request
+     * @return the security constraints of the request, or null if there are none
+     */
+    public SecurityConstraint[] find(String uri, String method) {
+        if (uri != null && !caseSensitiveMapping) {
+            uri = uri.toLowerCase(Locale.ENGLISH);
+        }
+        Match match = findMatch(uri);
+        return match == null ? null : match.constraints(method);
+    }
+
+    private Match findMatch(String uri) {
+        if (uri == null) {
+            return prefixMatches.match == null ? defaultMatch : prefixMatches.match;
+        }
+
+        Match match = exactMatches.get(uri);
+        if (match != null) {
+            return match;
+        }
+
+        // The longest pattern "/path/*" matching either "/path" or "/path/..."
+        PrefixNode node = prefixMatches;
+        match = node.match;
+        int length = uri.length();
+        for (int i = 0; i < length && node != null;) {
+            node = node.child(uri.charAt(i++));
+            if (node != null && node.match != null && (i == length || uri.charAt(i) == '/')) {
+                match = node.match;
+            }
+        }
+        if (match != null) {
+            return match;
+        }
+
+        int slash = uri.lastIndexOf('/');
+        int dot = uri.lastIndexOf('.');
+        if (slash >= 0 && dot > slash && dot != length - 1) {
+            for (int i = 0; i < extensions.length; i++) {
+                String extension = extensions[i];
+                if (extension.length() == length - dot && uri.regionMatches(dot, extension, 0, extension.length())) {
+                    return extensionMatches[i];
+                }
+            }
+        }
+
+        return defaultMatch;
+    }
+
+
+    /**
+     * The constraints of the collections matching a url pattern.
+     */
+    private static final class Match {
+
+        private final SecurityConstraint[] constraints;
+        private final SecurityCollection[] collections;
+
+        // Non null if the constraints don't depend on the method
+        private final SecurityConstraint[] allMethods;
+
+        private final Map<String, SecurityConstraint[]> byMethod = new ConcurrentHashMap<>();
+
+        Match(SecurityConstraint[] constraints, SecurityCollection[] collections, boolean checkMethod) {
+            this.constraints = constraints;
+            this.collections = collections;
+            boolean allMethods = true;
+            if (checkMethod) {
+                for (SecurityCollection collection : collections) {
+                    allMethods &= collection.findMethods().length == 0;
+                }
+            }
+            this.allMethods = allMethods ? constraints : null;
+        }
+
+        SecurityConstraint[] constraints(String method) {
+            if (allMethods != null) {
+                return allMethods;
+            }
+            if (method == null) {
+                return filter(null);
+            }
+            SecurityConstraint[] result = byMethod.get(method);
+            if (result == null) {
+                result = filter(method);
+                if (result == null) {
+                    result = NO_CONSTRAINTS;
+                }
+                if (byMethod.size() < MAX_CACHED_METHODS) {
+                    byMethod.putIfAbsent(method, result);
+                }
+            }
+            return result == NO_CONSTRAINTS ? null : result;
+        }
+
+        private SecurityConstraint[] filter(String method) {
+            List<SecurityConstraint> result = new ArrayList<>(constraints.length);
+            for (int i = 0; i < constraints.length; i++) {
+                if (collections[i].findMethod(method)) {
+                    result.add(constraints[i]);
+                }
+            }
+            return result.isEmpty() ? null : result.toArray(NO_CONSTRAINTS);
+        }
+    }
+
+    private static final class MatchBuilder {
+
+        private final List<SecurityConstraint> constraints = new ArrayList<>();
+        private final List<SecurityCollection> collections = new ArrayList<>();
+
+        void add(SecurityConstraint constraint, SecurityCollection collection) {
+            constraints.add(constraint);
+            collections.add(collection);
+        }
+
+        boolean isEmpty() {
+            return constraints.isEmpty();
+        }
+
+        Match build(boolean checkMethod) {
+            return new Match(constraints.toArray(NO_CONSTRAINTS), collections.toArray(new SecurityCollection[0]),
+                checkMethod);
+        }
+    }
+
+
+    /**
+     * A node of the trie of the path prefixes of the patterns "/path/*".
+     */
+    private static final class PrefixNode {
+
+        private final char[] keys;
+        private final PrefixNode[] children;
+        private final Match match;
+
+        PrefixNode(char[] keys, PrefixNode[] children, Match match) {
+            this.keys = keys;
+            this.children = children;
+            this.match = match;
+        }
+
+        PrefixNode child(char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class PrefixNodeBuilder {
+
+        private final Map<Character, PrefixNodeBuilder> children = new LinkedHashMap<>();
+        private final MatchBuilder match = new MatchBuilder();
+        private SecurityCollection lastCollection;
+
+        void add(String prefix, SecurityConstraint constraint, SecurityCollection collection) {
+            PrefixNodeBuilder node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), c -> new PrefixNodeBuilder());
+            }
+            // A collection listing the same pattern twice matches once
+            if (node.lastCollection != collection) {
+                node.match.add(constraint, collection);
+                node.lastCollection = collection;
+            }
+        }
+
+        PrefixNode build() {
+            char[] keys = new char[children.size()];
+            PrefixNode[] nodes = new PrefixNode[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, PrefixNodeBuilder> entry : children.entrySet()) {
+                keys[i] = entry.getKey();
+                nodes[i++] = entry.getValue().build();
+            }
+            return new PrefixNode(keys, nodes, match.isEmpty() ? null : match.build(true));
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -46,6 +46,7 @@ import java.io.RandomAccessFile;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.nio.ByteBuffer;
 import java.security.AccessController;
 import java.text.MessageFormat;
 import java.util.ArrayList;
@@ -74,7 +75,10 @@ import javax.xml.transform.stream.StreamSource;
 
 import org.apache.catalina.Globals;
 import org.apache.catalina.LogFacade;
+import org.apache.catalina.connector.CoyoteOutputStream;
 import org.apache.catalina.core.ContextsAdapterUtility;
+import org.apache.catalina.core.StaticResourceCache;
+import org.apache.catalina.core.StaticResourceCache.MappedFile;
 import org.apache.catalina.util.ServerInfo;
 import org.apache.catalina.util.URLEncoder;
 import org.apache.naming.resources.CacheEntry;
@@ -257,6 +261,27 @@ public class DefaultServlet
     protected int maxHeaderRangeItems = 10;
 
 
+    /**
+     * Maximum size for memory-mapped files in bytes. Disabled by default on
+     * Windows, where a mapped file cannot be deleted or replaced until it is
+     * unmapped by the garbage collector.
+     */
+    protected int mappedFileSize = File.separatorChar == '\\' ? 0 : 8192 * 1024;
+
+
+    /**
+     * Should the precompressed variants <code>file.br</code> and
+     * <code>file.gz</code> be served to the clients accepting them?
+     */
+    protected boolean precompressed = false;
+
+
+    /**
+     * The memory-mapped static files of the context.
+     */
+    protected transient StaticResourceCache staticResourceCache = null;
+
+
     // ----------------------------------------------------- Static Initializer
 
 
@@ -352,6 +377,16 @@ public class DefaultServlet
                 Integer.parseInt(sc.getInitParameter("maxHeaderRangeItems"));
         }
 
+        if (sc.getInitParameter("mappedFileSize") != null) {
+            // In KB, a mapping cannot exceed Integer.MAX_VALUE bytes
+            mappedFileSize = (int) Math.min(
+                Long.parseLong(sc.getInitParameter("mappedFileSize")) * 1024L, Integer.MAX_VALUE);
+        }
+
+        if (sc.getInitParameter("precompressed") != null) {
+            precompressed = Boolean.parseBoolean(sc.getInitParameter("precompressed"));
+        }
+
         fileEncoding = sc.getInitParameter("fileEncoding");
 
         globalXsltFile = sc.getInitParameter("globalXsltFile");
@@ -401,6 +436,13 @@ public class DefaultServlet
             // Failed : Not the right type
         }
 
+        if (mappedFileSize > 0) {
+            Object cache = getServletContext().getAttribute(Globals.STATIC_RESOURCE_CACHE_ATTR);
+            if (cache instanceof StaticResourceCache) {
+                staticResourceCache = (StaticResourceCache) cache;
+            }
+        }
+
     }
 
 
@@ -882,15 +924,42 @@ public class DefaultServlet
             }
         }
 
+        // Map the file and choose the representation served, either the file
+        // itself or the precompressed variant accepted by the client, so that
+        // the If headers are checked against the strong ETag of that
+        // representation
+        boolean included =
+            (request.getAttribute(RequestDispatcher.INCLUDE_CONTEXT_PATH) != null);
+        ResourceAttributes attributes = cacheEntry.attributes;
+        MappedFile mappedFile = null;
+        MappedFile representation = null;
+        String contentEncoding = null;
+        if (cacheEntry.context == null) {
+            mappedFile = lookupMappedFile(cacheEntry);
+        }
+        if (mappedFile != null) {
+            representation = mappedFile;
+            if (mappedFile.hasVariants()) {
+                response.addHeader("Vary", "Accept-Encoding");
+                // Not when included, as the headers could not be set, nor
+                // for ranges, which apply to the file itself
+                if (!included && (request.getHeader("Range") == null)) {
+                    contentEncoding = mappedFile.getEncoding(request.getHeader("Accept-Encoding"));
+                    if (contentEncoding != null) {
+                        representation = mappedFile.getVariant(contentEncoding);
+                    }
+                }
+            }
+            attributes = getAttributes(cacheEntry, representation);
+        }
+
         // Check if the conditions specified in the optional If headers are
         // satisfied.
         if (cacheEntry.context == null) {
 
             // Checking If headers
-            boolean included =
-                (request.getAttribute(RequestDispatcher.INCLUDE_CONTEXT_PATH) != null);
             if (!included
-                && !checkIfHeaders(request, response, cacheEntry.attributes)) {
+                && !checkIfHeaders(request, response, attributes)) {
                 return;
             }
 
@@ -929,17 +998,17 @@ public class DefaultServlet
             }
 
             // Parse range specifier
-            ranges = parseRange(request, response, cacheEntry.attributes);
+            ranges = parseRange(request, response, attributes);
 
             // ETag header
-            response.setHeader("ETag", cacheEntry.attributes.getETag());
+            response.setHeader("ETag", attributes.getETag());
 
             // Last-Modified header
             response.setHeader("Last-Modified",
-                    cacheEntry.attributes.getLastModifiedHttp());
+                    attributes.getLastModifiedHttp());
 
             // Get content length
-            contentLength = cacheEntry.attributes.getContentLength();
+            contentLength = attributes.getContentLength();
             // Special case for zero length files, which would cause a
             // (silent) ISE when setting the output buffer size
             if (contentLength == 0L) {
@@ -971,11 +1040,23 @@ public class DefaultServlet
 
         }
 
+        if ((writer != null) && (contentEncoding != null)) {
+            // The writer copies the file itself
+            representation = mappedFile;
+            contentEncoding = null;
+            response.setHeader("ETag", mappedFile.getETag());
+            contentLength = mappedFile.getLength();
+        }
+
         if ( (cacheEntry.context != null)
                 || ( ((ranges == null) || (ranges.isEmpty()))
                         && (request.getHeader("Range") == null) )
                 || (ranges == FULL) ) {
 
+            if (contentEncoding != null) {
+                response.setHeader("Content-Encoding", contentEncoding);
+            }
+
             // Set the appropriate output headers
             if (contentType != null) {
                 if (debug > 0) {
@@ -1016,7 +1097,10 @@ public class DefaultServlet
                     // Silent catch
                 }
                 if (ostream != null) {
-                    if (!checkSendfile(request, response, cacheEntry, contentLength, null)) {
+                    if (mappedFile != null) {
+                        writeMapped(request, response, cacheEntry, mappedFile,
+                                    representation, null, ostream);
+                    } else if (!checkSendfile(request, response, cacheEntry, contentLength, null)) {
                         copy(cacheEntry, renderResult, ostream);
                     }
                 } else {
@@ -1069,7 +1153,10 @@ public class DefaultServlet
                         // Silent catch
                     }
                     if (ostream != null) {
-                        if (!checkSendfile(request, response, cacheEntry, range.end - range.start + 1, range)) {
+                        if (mappedFile != null) {
+                            writeMapped(request, response, cacheEntry, mappedFile,
+                                        mappedFile, range, ostream);
+                        } else if (!checkSendfile(request, response, cacheEntry, range.end - range.start + 1, range)) {
                             copy(cacheEntry, ostream, range);
                         }
                     } else {
@@ -1927,6 +2014,105 @@ public class DefaultServlet
     // -------------------------------------------------------- protected Methods
 
 
+    /**
+     * Return the memory-mapped file of the given entry, or null if the file
+     * is not eligible. The files smaller than the cached objects are served
+     * from the resources cache, unless their precompressed variants are
+     * looked up.
+     */
+    protected MappedFile lookupMappedFile(CacheEntry cacheEntry) {
+        if ((staticResourceCache == null) || (cacheEntry.resource == null)) {
+            return null;
+        }
+        String canonicalPath = cacheEntry.attributes.getCanonicalPath();
+        long length = cacheEntry.attributes.getContentLength();
+        if ((canonicalPath == null) || (length <= 0) || (length > mappedFileSize)
+            || (!precompressed && (cacheEntry.resource.getContent() != null))) {
+            return null;
+        }
+        return staticResourceCache.get(canonicalPath, length,
+                cacheEntry.attributes.getLastModified(), precompressed);
+    }
+
+
+    /**
+     * Return the attributes of the given representation of the mapped file
+     * of the entry, with its strong ETag and its length. The attributes of
+     * the entry are shared by the requests, and left untouched.
+     */
+    protected ResourceAttributes getAttributes(CacheEntry cacheEntry,
+                                               MappedFile representation) {
+        ResourceAttributes attributes = new ResourceAttributes();
+        attributes.setContentLength(representation.getLength());
+        attributes.setLastModified(cacheEntry.attributes.getLastModified());
+        attributes.setLastModifiedHttp(cacheEntry.attributes.getLastModifiedHttp());
+        attributes.setETag(representation.getETag());
+        return attributes;
+    }
+
+
+    /**
+     * Write the given range of the mapped representation, or the whole of it
+     * if the range is null. A file truncated since it was mapped cannot be
+     * read past its new end, which the JVM reports as an InternalError. The
+     * file is then unmapped and streamed instead, unless the response is
+     * already committed.
+     */
+    protected void writeMapped(HttpServletRequest request,
+                               HttpServletResponse response,
+                               CacheEntry cacheEntry, MappedFile mappedFile,
+                               MappedFile representation, Range range,
+                               ServletOutputStream ostream)
+        throws IOException {
+        try {
+            write(range == null ? representation.getContent()
+                  : representation.getContent(range.start, range.end), ostream);
+            return;
+        } catch (InternalError e) {
+            staticResourceCache.remove(cacheEntry.attributes.getCanonicalPath(), mappedFile);
+            if (response.isCommitted()) {
+                throw new IOException("File " + representation.getFile()
+                                      + " truncated while served", e);
+            }
+            response.resetBuffer();
+        }
+        if (representation != mappedFile) {
+            try (InputStream istream = new BufferedInputStream(
+                    new FileInputStream(representation.getFile()), input)) {
+                IOException exception = copyRange(istream, ostream);
+                if (exception != null) {
+                    throw exception;
+                }
+            }
+        } else if (range == null) {
+            if (!checkSendfile(request, response, cacheEntry, mappedFile.getLength(), null)) {
+                copy(cacheEntry, null, ostream);
+            }
+        } else if (!checkSendfile(request, response, cacheEntry, range.end - range.start + 1, range)) {
+            copy(cacheEntry, ostream, range);
+        }
+    }
+
+
+    /**
+     * Write the remaining bytes of the given buffer to the output stream,
+     * without copying them when the stream is the one of the connector.
+     */
+    protected void write(ByteBuffer content, ServletOutputStream ostream)
+        throws IOException {
+        if (ostream instanceof CoyoteOutputStream) {
+            ((CoyoteOutputStream) ostream).write(content);
+            return;
+        }
+        byte[] buffer = new byte[Math.min(output, content.remaining())];
+        while (content.hasRemaining()) {
+            int len = Math.min(buffer.length, content.remaining());
+            content.get(buffer, 0, len);
+            ostream.write(buffer, 0, len);
+        }
+    }
+
+
     /**
      * Check if sendfile can be used.
      */
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -186,6 +187,12 @@ public abstract class ManagerBase implements Manager {
      */
     protected Map<String, Session> sessions = new ConcurrentHashMap<String, Session>();
 
+    /**
+     * The sessions of this Manager by the time they expire, or null if the
+     * Manager checks all sessions for expiration.
+     */
+    protected SessionExpirationIndex expirationIndex;
+
     // Number of sessions created by this manager
     protected int sessionCounter=0;
 
@@ -658,6 +665,9 @@ public abstract class ManagerBase implements Manager {
      */
     public void add(Session session) {
         sessions.put(session.getIdInternal(), session);
+        if (expirationIndex != null && session instanceof StandardSession) {
+            expirationIndex.add((StandardSession) session);
+        }
         int size = sessions.size();
         if (size > maxActive) {
             synchronized(maxActiveUpdateLock) {
@@ -838,6 +848,9 @@ public abstract class ManagerBase implements Manager {
      */
     public void clearSessions() {
         sessions.clear();
+        if (expirationIndex != null) {
+            expirationIndex.clear();
+        }
     }
 
 
@@ -863,6 +876,21 @@ public abstract class ManagerBase implements Manager {
      */
     public void remove(Session session) {
         sessions.remove(session.getIdInternal());
+        if (expirationIndex != null && session instanceof StandardSession) {
+            expirationIndex.remove((StandardSession) session);
+        }
+    }
+
+
+    /**
+     * Indexes the session again after its maximum inactive interval changed.
+     *
+     * @param session Session whose expiration time changed
+     */
+    void expirationChanged(StandardSession session) {
+        if (expirationIndex != null && sessions.get(session.getIdInternal()) == session) {
+            expirationIndex.add(session);
+        }
     }
 
     @Override
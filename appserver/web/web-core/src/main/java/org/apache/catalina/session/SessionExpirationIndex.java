@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The sessions of a manager in buckets by the time they expire, so that the
+ * background processing visits only the sessions that may have expired instead
+ * of all sessions.
+ * <p>
+ * Accessing a session does not touch the index: a session stays in the bucket
+ * it was put in until the bucket comes due. Then it is either expired or, if
+ * it was accessed meanwhile, put in the bucket of its new expiration time. So a
+ * session in use is visited once per maximum inactive interval rather than on
+ * every background run, and every access costs nothing.
+ */
+public final class SessionExpirationIndex {
+
+    static final long NOT_INDEXED = Long.MIN_VALUE;
+
+    private static final long DEFAULT_BUCKET_MILLIS = 1000L;
+
+    private final long bucketMillis;
+
+    // Bucket number -> sessions, the bucket n holds the sessions expiring in ((n - 1) * bucketMillis, n * bucketMillis]
+    private final TreeMap<Long, Set<StandardSession>> buckets = new TreeMap<>();
+
+    private int size;
+
+    public SessionExpirationIndex() {
+        this(DEFAULT_BUCKET_MILLIS);
+    }
+
+    /**
+     * @param bucketMillis time span of one bucket in milliseconds
+     */
+    public SessionExpirationIndex(long bucketMillis) {
+        if (bucketMillis <= 0) {
+            throw new IllegalArgumentException("bucketMillis must be greater than 0: " + bucketMillis);
+        }
+        this.bucketMillis = bucketMillis;
+    }
+
+    /**
+     * Puts the session in the bucket of its current expiration time, moving it
+     * out of the bucket it was in. Sessions that never expire are not indexed.
+     *
+     * @param session the session to index
+     */
+    public void add(StandardSession session) {
+        long expirationTime = session.getExpirationTime();
+        long bucket = expirationTime == Long.MAX_VALUE ? NOT_INDEXED : -Math.floorDiv(-expirationTime, bucketMillis);
+        synchronized (buckets) {
+            if (session.expirationBucket == bucket) {
+                return;
+            }
+            removeFromBucket(session);
+            if (bucket != NOT_INDEXED) {
+                session.expirationBucket = bucket;
+                buckets.computeIfAbsent(bucket, b -> new HashSet<>()).add(session);
+                size++;
+            }
+        }
+    }
+
+    /**
+     * Removes the session from the index.
+     *
+     * @param session the session to remove
+     */
+    public void remove(StandardSession session) {
+        synchronized (buckets) {
+            removeFromBucket(session);
+        }
+    }
+
+    /**
+     * Removes all sessions from the index.
+     */
+    public void clear() {
+        synchronized (buckets) {
+            for (Set<StandardSession> bucket : buckets.values()) {
+                for (StandardSession session : bucket) {
+                    session.expirationBucket = NOT_INDEXED;
+                }
+            }
+            buckets.clear();
+            size = 0;
+        }
+    }
+
+    /**
+     * Removes the sessions of all buckets that came due from the index.
+     *
+     * @param timeNow the current time in milliseconds
+     * @return the sessions that may have expired, to be checked and put back with
+     *         {@link #add(StandardSession)} if still valid
+     */
+    public List<StandardSession> pollExpired(long timeNow) {
+        long lastDueBucket = Math.floorDiv(timeNow, bucketMillis);
+        List<StandardSession> expired = new ArrayList<>();
+        synchronized (buckets) {
+            Map.Entry<Long, Set<StandardSession>> entry;
+            while ((entry = buckets.firstEntry()) != null && entry.getKey() <= lastDueBucket) {
+                buckets.pollFirstEntry();
+                for (StandardSession session : entry.getValue()) {
+                    session.expirationBucket = NOT_INDEXED;
+                    expired.add(session);
+                }
+                size -= entry.getValue().size();
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * @return number of indexed sessions
+     */
+    public int size() {
+        synchronized (buckets) {
+            return size;
+        }
+    }
+
+    private void removeFromBucket(StandardSession session) {
+        if (session.expirationBucket == NOT_INDEXED) {
+            return;
+        }
+        Set<StandardSession> bucket = buckets.get(session.expirationBucket);
+        if (bucket != null && bucket.remove(session)) {
+            size--;
+            if (bucket.isEmpty()) {
+                buckets.remove(session.expirationBucket);
+            }
+        }
+        session.expirationBucket = NOT_INDEXED;
+    }
+}
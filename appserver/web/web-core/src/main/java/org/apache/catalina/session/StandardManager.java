@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -160,6 +161,14 @@ public class StandardManager
     long processingTime=0;
 
 
+    // ----------------------------------------------------------- Constructors
+
+
+    public StandardManager() {
+        expirationIndex = new SessionExpirationIndex();
+    }
+
+
     // ------------------------------------------------------------- Properties
 
 
@@ -444,6 +453,7 @@ public class StandardManager
 
         // Initialize our internal data structures
         sessions.clear();
+        expirationIndex.clear();
 
         ObjectInputStream ois = null;
         try {
@@ -481,6 +491,7 @@ public class StandardManager
                         StandardSession.deserialize(ois, this);
                     session.setManager(this);
                     sessions.put(session.getIdInternal(), session);
+                    expirationIndex.add(session);
                     session.activate();
                 }
             } catch (ClassNotFoundException e) {
@@ -929,23 +940,28 @@ public class StandardManager
 
     /**
      * Invalidate all sessions that have expired.
+     * Only the sessions whose expiration time has passed when they were last
+     * indexed are checked, the ones accessed since then are indexed again.
      */
     public void processExpires() {
 
         long timeNow = System.currentTimeMillis();
 
-        Session[] sessions = findSessions();
-        if (sessions != null) {
-            for (Session session : sessions) {
-                StandardSession sess = (StandardSession) session;
-                if (sess.lockBackground()) {
-                    try {
-                        sess.isValid();
-                    } finally {
-                        sess.unlockBackground();
-                    }
+        for (StandardSession sess : expirationIndex.pollExpired(timeNow)) {
+            String id = sess.getIdInternal();
+            if (id == null || sessions.get(id) != sess) {
+                continue;
+            }
+            if (sess.lockBackground()) {
+                try {
+                    sess.isValid();
+                } finally {
+                    sess.unlockBackground();
                 }
             }
+            if (sess.getIsValid()) {
+                expirationIndex.add(sess);
+            }
         }
 
         long timeEnd = System.currentTimeMillis();
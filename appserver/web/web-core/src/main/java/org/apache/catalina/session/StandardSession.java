@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -299,6 +300,12 @@ public class StandardSession
      */
     protected long thisAccessedTime = creationTime;
 
+    /**
+     * The bucket of the expiration index of the Manager this session is in,
+     * guarded by the index.
+     */
+    transient long expirationBucket = SessionExpirationIndex.NOT_INDEXED;
+
     /**
      * The session version, incremented and used by in-memory-replicating
      * session managers
@@ -625,6 +632,8 @@ public class StandardSession
         this.maxInactiveInterval = interval;
         if (isValid && interval == 0) {
             expire();
+        } else if (id != null && manager instanceof ManagerBase) {
+            ((ManagerBase) manager).expirationChanged(this);
         }
 
     }
@@ -1095,6 +1104,18 @@ public class StandardSession
     }
 
 
+    /**
+     * Return the time this session expires at if not accessed again, or
+     * <code>Long.MAX_VALUE</code> if it never expires.
+     */
+    long getExpirationTime() {
+        if (maxInactiveInterval < 0) {
+            return Long.MAX_VALUE;
+        }
+        return thisAccessedTime + maxInactiveInterval * 1000L;
+    }
+
+
     // START SJSAS 6329289
     /**
      * Checks whether this Session has expired.
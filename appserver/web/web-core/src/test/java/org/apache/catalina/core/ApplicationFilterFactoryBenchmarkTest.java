@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.core;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Servlet;
+import jakarta.servlet.ServletRequest;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.catalina.core.ApplicationFilterFactoryTest.NoopFilter;
+import org.apache.catalina.core.ApplicationFilterFactoryTest.NoopServlet;
+import org.apache.catalina.deploy.FilterDef;
+import org.apache.catalina.deploy.FilterMap;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Compares the filter chain of a servlet with 20 filters, as created by the {@link StandardWrapperValve}
+ * for every request, when the filter mappings are matched on every request and when the matched filters
+ * come from the filter chain cache of the servlet.
+ */
+public class ApplicationFilterFactoryBenchmarkTest {
+
+    private static final int FILTERS = 20;
+
+    @Test
+    public void createFilterChain_benchmark() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupBatchSize(1).warmupForks(0).warmupIterations(1).warmupTime(TimeValue.milliseconds(500L))
+            .measurementIterations(1).forks(1).measurementTime(TimeValue.milliseconds(500L))
+            .timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.NANOSECONDS)
+            .mode(Mode.AverageTime).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+        Map<String, Double> scores = new HashMap<>();
+        for (RunResult result : results) {
+            scores.put(result.getParams().getBenchmark(), result.getPrimaryResult().getScore());
+        }
+        double matched = scores.get(getClass().getName() + ".matchOnEveryRequest");
+        double cached = scores.get(getClass().getName() + ".cachedFilters");
+        assertThat(cached, lessThan(matched));
+    }
+
+    /**
+     * Matches all filter mappings the way the factory did before the filter chain cache.
+     */
+    @Benchmark
+    public ApplicationFilterChain matchOnEveryRequest(FilterState state) {
+        ApplicationFilterChain chain = new ApplicationFilterChain();
+        List<FilterMap> filterMaps = state.context.findFilterMaps();
+        for (FilterMap filterMap : filterMaps) {
+            if (filterMap.getDispatcherTypes().contains(DispatcherType.REQUEST)
+                    && ApplicationFilterFactory.matchFiltersURL(filterMap, state.path, state.context.isCaseSensitiveMapping())) {
+                chain.addFilter((ApplicationFilterConfig) state.context.findFilterConfig(filterMap.getFilterName()));
+            }
+        }
+        for (FilterMap filterMap : filterMaps) {
+            if (filterMap.getDispatcherTypes().contains(DispatcherType.REQUEST)
+                    && ApplicationFilterFactory.matchFiltersServlet(filterMap, state.wrapper.getName())) {
+                chain.addFilter((ApplicationFilterConfig) state.context.findFilterConfig(filterMap.getFilterName()));
+            }
+        }
+        chain.setServlet(state.servlet);
+        chain.setWrapper(state.wrapper);
+        chain.release();
+        return chain;
+    }
+
+    @Benchmark
+    public ApplicationFilterChain cachedFilters(FilterState state) {
+        ApplicationFilterChain chain = ApplicationFilterFactory.getInstance()
+            .createFilterChain(state.request, state.wrapper, state.servlet);
+        chain.release();
+        return chain;
+    }
+
+    @State(Scope.Thread)
+    public static class FilterState {
+
+        final StandardContext context = new StandardContext();
+        final StandardWrapper wrapper = new StandardWrapper();
+        final Servlet servlet = new NoopServlet();
+        final String path = "/shop/cart/checkout.jsp";
+        final ServletRequest request = ApplicationFilterFactoryTest.request(DispatcherType.REQUEST, path);
+
+        @Setup
+        public void createFilters() {
+            context.setName("filters");
+            wrapper.setName("servlet");
+            wrapper.setParent(context);
+            String[] urlPatterns = {"/*", "/shop/*", "*.jsp", "/admin/*", "*.html", "/shop/cart/checkout.jsp"};
+            for (int i = 0; i < FILTERS; i++) {
+                FilterDef filterDef = new FilterDef();
+                filterDef.setFilterName("filter" + i);
+                filterDef.setFilterClass(NoopFilter.class);
+                context.addFilterDef(filterDef);
+
+                FilterMap filterMap = new FilterMap();
+                filterMap.setFilterName("filter" + i);
+                if (i % 4 == 3) {
+                    filterMap.setServletName(i % 8 == 3 ? "servlet" : "*");
+                } else {
+                    filterMap.setURLPattern(urlPatterns[i % urlPatterns.length]);
+                }
+                context.addFilterMap(filterMap);
+            }
+            context.filterStart();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.core;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.GenericServlet;
+import jakarta.servlet.Servlet;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.apache.catalina.Globals;
+import org.apache.catalina.deploy.FilterDef;
+import org.apache.catalina.deploy.FilterMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class ApplicationFilterFactoryTest {
+
+    private final ApplicationFilterFactory factory = ApplicationFilterFactory.getInstance();
+    private final Servlet servlet = new NoopServlet();
+    private StandardContext context;
+    private StandardWrapper wrapper;
+
+    @BeforeEach
+    public void createContext() {
+        context = new StandardContext();
+        context.setName("filters");
+        wrapper = new StandardWrapper();
+        wrapper.setName("servlet");
+        wrapper.setParent(context);
+    }
+
+    @Test
+    public void pathFiltersComeBeforeServletFilters() {
+        addFilter("byName", null, "servlet");
+        addFilter("all", "/*", null);
+        addFilter("jsp", "*.jsp", null);
+        addFilter("admin", "/admin/*", null);
+        addFilter("exact", "/admin/index.jsp", null);
+        context.filterStart();
+
+        assertThat(filterNames(DispatcherType.REQUEST, "/admin/index.jsp"), contains("all", "jsp", "admin", "exact", "byName"));
+        assertThat(filterNames(DispatcherType.REQUEST, "/admin"), contains("all", "admin", "byName"));
+        assertThat(filterNames(DispatcherType.REQUEST, "/administrator"), contains("all", "byName"));
+        // Served from the cache
+        assertThat(filterNames(DispatcherType.REQUEST, "/admin/index.jsp"), contains("all", "jsp", "admin", "exact", "byName"));
+        assertThat(filterNames(DispatcherType.REQUEST, null), contains("byName"));
+    }
+
+    @Test
+    public void filtersMatchTheDispatcherType() {
+        addFilter("request", "/*", null);
+        FilterMap forward = addFilter("forward", "/*", null);
+        forward.setDispatcherTypes(EnumSet.of(DispatcherType.FORWARD, DispatcherType.INCLUDE));
+        context.filterStart();
+
+        assertThat(filterNames(DispatcherType.REQUEST, "/index.html"), contains("request"));
+        assertThat(filterNames(DispatcherType.FORWARD, "/index.html"), contains("forward"));
+        assertThat(filterNames(DispatcherType.ERROR, "/index.html"), empty());
+    }
+
+    @Test
+    public void noChainWithoutMatchingFilters() {
+        addFilter("other", null, "otherServlet");
+        context.filterStart();
+
+        assertThat(factory.createFilterChain(request(DispatcherType.REQUEST, "/index.html"), wrapper, servlet), nullValue());
+    }
+
+    @Test
+    public void addedFilterMappingIsMatched() {
+        addFilter("first", "/*", null);
+        context.filterStart();
+        assertThat(filterNames(DispatcherType.REQUEST, "/index.html"), contains("first"));
+
+        addFilter("second", "*.html", null);
+        context.filterStart();
+        assertThat(filterNames(DispatcherType.REQUEST, "/index.html"), contains("first", "second"));
+
+        context.removeFilterMaps();
+        addFilter("third", "/index.html", null);
+        assertThat(filterNames(DispatcherType.REQUEST, "/index.html"), contains("third"));
+    }
+
+    @Test
+    public void caseInsensitiveMapping() {
+        addFilter("upper", "/Admin/*", null);
+        context.filterStart();
+        assertThat(filterNames(DispatcherType.REQUEST, "/admin/index.html"), empty());
+
+        context.setCaseSensitiveMapping(false);
+        assertThat(filterNames(DispatcherType.REQUEST, "/admin/index.html"), contains("upper"));
+    }
+
+    @Test
+    public void recycledChainDoesNotModifyCachedFilters() {
+        addFilter("first", "/*", null);
+        context.filterStart();
+        ApplicationFilterChain chain = factory.createFilterChain(request(DispatcherType.REQUEST, "/"), wrapper, servlet);
+        chain.release();
+        chain.addFilter((ApplicationFilterConfig) context.findFilterConfig("first"));
+        chain.addFilter((ApplicationFilterConfig) context.findFilterConfig("first"));
+
+        assertThat(filterNames(DispatcherType.REQUEST, "/"), contains("first"));
+    }
+
+    @Test
+    public void leastRecentlyUsedPathsAreEvicted() {
+        addFilter("all", "/*", null);
+        addFilter("jsp", "*.jsp", null);
+        context.filterStart();
+
+        assertThat(filterNames(DispatcherType.REQUEST, "/index.jsp"), contains("all", "jsp"));
+        for (int i = 0; i < 1000; i++) {
+            assertThat(filterNames(DispatcherType.REQUEST, "/page" + i + ".html"), contains("all"));
+            if (i % 100 == 0) {
+                assertThat(filterNames(DispatcherType.REQUEST, "/index.jsp"), contains("all", "jsp"));
+            }
+        }
+
+        FilterChainCache cache = wrapper.getFilterChainCache();
+        assertThat(cache.getCachedPathCount(DispatcherType.REQUEST), lessThanOrEqualTo(256));
+        assertThat(filterNames(DispatcherType.REQUEST, "/page0.html"), contains("all"));
+        assertThat(filterNames(DispatcherType.REQUEST, "/index.jsp"), contains("all", "jsp"));
+        assertThat(wrapper.getFilterChainCache(), sameInstance(cache));
+    }
+
+    private FilterMap addFilter(String name, String urlPattern, String servletName) {
+        if (context.findFilterDef(name) == null) {
+            FilterDef filterDef = new FilterDef();
+            filterDef.setFilterName(name);
+            filterDef.setFilterClass(NoopFilter.class);
+            context.addFilterDef(filterDef);
+        }
+        FilterMap filterMap = new FilterMap();
+        filterMap.setFilterName(name);
+        filterMap.setURLPattern(urlPattern);
+        filterMap.setServletName(servletName);
+        context.addFilterMap(filterMap);
+        return filterMap;
+    }
+
+    private List<String> filterNames(DispatcherType dispatcherType, String path) {
+        List<String> names = new ArrayList<>();
+        ApplicationFilterChain chain = factory.createFilterChain(request(dispatcherType, path), wrapper, servlet);
+        if (chain != null) {
+            for (ApplicationFilterConfig filterConfig : chain.getFilters()) {
+                names.add(filterConfig.getFilterName());
+            }
+        }
+        return names;
+    }
+
+    static ServletRequest request(DispatcherType dispatcherType, String path) {
+        return (ServletRequest) Proxy.newProxyInstance(ServletRequest.class.getClassLoader(),
+            new Class<?>[] {ServletRequest.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getDispatcherType":
+                        return dispatcherType;
+                    case "getAttribute":
+                        return Globals.DISPATCHER_REQUEST_PATH_ATTR.equals(args[0]) ? path : null;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+    }
+
+    public static class NoopFilter implements Filter {
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) {
+        }
+    }
+
+    static class NoopServlet extends GenericServlet {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void service(ServletRequest request, ServletResponse response) {
+        }
+    }
+}
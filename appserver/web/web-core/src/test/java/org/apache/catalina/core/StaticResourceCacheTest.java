@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+import org.apache.catalina.core.StaticResourceCache.MappedFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
+
+public class StaticResourceCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void fileIsMappedOnceAndServedWithStrongETag() throws IOException {
+        Path file = write("index.html", "<html>Hello</html>");
+        CountingContext context = new CountingContext();
+        StaticResourceCache cache = new StaticResourceCache(context, 1024);
+
+        MappedFile mapped = get(cache, file, false);
+        assertThat(mapped, notNullValue());
+        assertThat(mapped.getETag(), startsWith("\""));
+        assertThat(content(mapped.getContent()), equalTo("<html>Hello</html>"));
+        assertThat(get(cache, file, false), sameInstance(mapped));
+        assertThat(context.hits, equalTo(1));
+        assertThat(context.misses, equalTo(1));
+        assertThat(cache.getSize(), equalTo(18L));
+    }
+
+    @Test
+    public void eTagIsTheChecksumOfTheWholeFile() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; content.length() < 20_000; i++) {
+            content.append("line ").append(i).append('\n');
+        }
+        Path file = write("large.txt", content.toString());
+        StaticResourceCache cache = new StaticResourceCache(null, 1024 * 1024);
+
+        CRC32 crc = new CRC32();
+        crc.update(Files.readAllBytes(file));
+        assertThat(get(cache, file, false).getETag(),
+            equalTo("\"" + Long.toHexString(crc.getValue()) + "-" + content.length() + "\""));
+    }
+
+    @Test
+    public void modifiedFileIsMappedAgain() throws IOException {
+        Path file = write("app.js", "var a = 1;");
+        StaticResourceCache cache = new StaticResourceCache(null, 1024);
+        MappedFile mapped = get(cache, file, false);
+
+        write("app.js", "var a = 22;");
+        MappedFile remapped = get(cache, file, false);
+        assertThat(remapped, not(sameInstance(mapped)));
+        assertThat(remapped.getETag(), not(equalTo(mapped.getETag())));
+        assertThat(content(remapped.getContent()), equalTo("var a = 22;"));
+        assertThat(cache.getFileCount(), equalTo(1));
+        assertThat(cache.getSize(), equalTo(11L));
+    }
+
+    @Test
+    public void rangeIsSliceOfContent() throws IOException {
+        Path file = write("data.txt", "0123456789");
+        MappedFile mapped = get(new StaticResourceCache(null, 1024), file, false);
+
+        assertThat(content(mapped.getContent(2, 5)), equalTo("2345"));
+        assertThat(content(mapped.getContent(9, 9)), equalTo("9"));
+        // Slices do not consume the mapping
+        assertThat(content(mapped.getContent()), equalTo("0123456789"));
+    }
+
+    @Test
+    public void leastRecentlyServedFileIsEvicted() throws IOException {
+        Path first = write("first.txt", "0123456789");
+        Path second = write("second.txt", "0123456789");
+        Path third = write("third.txt", "0123456789");
+        StaticResourceCache cache = new StaticResourceCache(null, 25);
+
+        MappedFile firstMapped = get(cache, first, false);
+        get(cache, second, false);
+        assertThat(get(cache, first, false), sameInstance(firstMapped));
+        get(cache, third, false);
+
+        assertThat(cache.getFileCount(), equalTo(2));
+        assertThat(cache.getSize(), equalTo(20L));
+        assertThat(get(cache, first, false), sameInstance(firstMapped));
+    }
+
+    @Test
+    public void fileLargerThanCacheIsNotMapped() throws IOException {
+        Path file = write("large.bin", "0123456789");
+        StaticResourceCache cache = new StaticResourceCache(null, 5);
+
+        assertThat(get(cache, file, false), nullValue());
+        assertThat(cache.getFileCount(), equalTo(0));
+    }
+
+    @Test
+    public void precompressedVariantIsServedToAcceptingClients() throws IOException {
+        Path file = write("style.css", "body { color: black; } body { color: black; }");
+        write("style.css.gz", "gzipped");
+        StaticResourceCache cache = new StaticResourceCache(null, 1024);
+
+        assertThat(get(cache, file, false).hasVariants(), equalTo(false));
+
+        MappedFile mapped = get(cache, file, true);
+        assertThat(mapped.hasVariants(), equalTo(true));
+        assertThat(mapped.getEncoding(null), nullValue());
+        assertThat(mapped.getEncoding("deflate"), nullValue());
+        assertThat(mapped.getEncoding("br;q=0, gzip;q=0"), nullValue());
+        assertThat(mapped.getEncoding("br, GZIP;q=0.5"), equalTo("gzip"));
+
+        MappedFile variant = mapped.getVariant("gzip");
+        assertThat(content(variant.getContent()), equalTo("gzipped"));
+        assertThat(variant.getLength(), equalTo(7L));
+        assertThat(variant.getETag(), not(equalTo(mapped.getETag())));
+        assertThat(cache.getSize(), equalTo(52L));
+    }
+
+    @Test
+    public void modifiedVariantIsMappedAgain() throws IOException {
+        Path file = write("style.css", "body { color: black; } body { color: black; }");
+        write("style.css.gz", "gzipped");
+        StaticResourceCache cache = new StaticResourceCache(null, 1024);
+        MappedFile mapped = get(cache, file, true);
+
+        write("style.css.gz", "gzipped again");
+        MappedFile remapped = get(cache, file, true);
+        assertThat(remapped, not(sameInstance(mapped)));
+        assertThat(content(remapped.getVariant("gzip").getContent()), equalTo("gzipped again"));
+        assertThat(remapped.getVariant("gzip").getETag(), not(equalTo(mapped.getVariant("gzip").getETag())));
+        assertThat(cache.getSize(), equalTo(58L));
+
+        Files.delete(directory.resolve("style.css.gz"));
+        assertThat(get(cache, file, true).hasVariants(), equalTo(false));
+        assertThat(cache.getSize(), equalTo(45L));
+    }
+
+    @Test
+    public void concurrentMissesMapFileOnce() throws Exception {
+        Path file = directory.resolve("large.bin");
+        Files.write(file, new byte[8 * 1024 * 1024]);
+        int threads = 4;
+        CyclicBarrier allMissed = new CyclicBarrier(threads);
+        StandardContext context = new StandardContext() {
+
+            @Override
+            public void staticResourceCacheMissEvent(String path) {
+                try {
+                    allMissed.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        StaticResourceCache cache = new StaticResourceCache(context, 16 * 1024 * 1024);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<MappedFile>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> get(cache, file, false)));
+            }
+            MappedFile mapped = results.get(0).get();
+            assertThat(mapped, notNullValue());
+            for (Future<MappedFile> result : results) {
+                assertThat(result.get(), sameInstance(mapped));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(cache.getFileCount(), equalTo(1));
+        assertThat(cache.getSize(), equalTo(8L * 1024 * 1024));
+    }
+
+    private Path write(String name, String content) throws IOException {
+        Path file = directory.resolve(name);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        // Changes the modification time also on file systems with a coarse resolution
+        file.toFile().setLastModified(file.toFile().lastModified() + 1000L * content.length());
+        return file;
+    }
+
+    private static MappedFile get(StaticResourceCache cache, Path file, boolean precompressed) {
+        return cache.get(file.toString(), file.toFile().length(), file.toFile().lastModified(), precompressed);
+    }
+
+    private static String content(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static class CountingContext extends StandardContext {
+
+        int hits;
+        int misses;
+
+        @Override
+        public void staticResourceCacheHitEvent(String path) {
+            hits++;
+        }
+
+        @Override
+        public void staticResourceCacheMissEvent(String path) {
+            misses++;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.realm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.catalina.deploy.SecurityCollection;
+import org.apache.catalina.deploy.SecurityConstraint;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class SecurityConstraintIndexTest {
+
+    private final List<SecurityConstraint> constraints = new ArrayList<>();
+
+    @Test
+    public void exactMatchComesFirst() {
+        SecurityConstraint exact = constraint("/admin/index.jsp");
+        SecurityConstraint prefix = constraint("/admin/*");
+        SecurityConstraint extension = constraint("*.jsp");
+        SecurityConstraintIndex index = index(true);
+
+        assertThat(index.find("/admin/index.jsp", "GET"), arrayContaining(exact));
+        assertThat(index.find("/admin/other.jsp", "GET"), arrayContaining(prefix));
+        assertThat(index.find("/shop/cart.jsp", "GET"), arrayContaining(extension));
+        assertThat(index.find("/shop/cart.html", "GET"), nullValue());
+    }
+
+    @Test
+    public void longestPrefixMatches() {
+        SecurityConstraint all = constraint("/*");
+        SecurityConstraint admin = constraint("/admin/*");
+        SecurityConstraint users = constraint("/admin/users/*");
+        SecurityConstraint alsoUsers = constraint("/admin/users/*", "/other/*");
+        SecurityConstraintIndex index = index(true);
+
+        assertThat(index.find("/admin/users/list", "GET"), arrayContaining(users, alsoUsers));
+        assertThat(index.find("/admin/users", "GET"), arrayContaining(users, alsoUsers));
+        assertThat(index.find("/admin/usersx", "GET"), arrayContaining(admin));
+        assertThat(index.find("/admin", "GET"), arrayContaining(admin));
+        assertThat(index.find("/index.html", "GET"), arrayContaining(all));
+        assertThat(index.find(null, "GET"), arrayContaining(all));
+    }
+
+    @Test
+    public void defaultPatternAppliesToAllMethods() {
+        SecurityConstraint defaults = constraint("/");
+        defaults.findCollections()[0].addMethod("POST");
+        SecurityConstraintIndex index = index(true);
+
+        assertThat(index.find("/index.html", "GET"), arrayContaining(defaults));
+        assertThat(index.find(null, "GET"), arrayContaining(defaults));
+    }
+
+    @Test
+    public void constraintsAreFilteredByMethod() {
+        SecurityConstraint post = constraint("/orders/*");
+        post.findCollections()[0].addMethod("POST");
+        SecurityConstraint any = constraint("/orders/*");
+        SecurityConstraintIndex index = index(true);
+
+        assertThat(index.find("/orders/1", "POST"), arrayContaining(post, any));
+        assertThat(index.find("/orders/1", "GET"), arrayContaining(any));
+        // The result of a method is computed once
+        assertThat(index.find("/orders/2", "GET"), sameInstance(index.find("/orders/1", "GET")));
+    }
+
+    @Test
+    public void matchedPatternWithoutMethodHidesOtherPatterns() {
+        SecurityConstraint post = constraint("/orders/*");
+        post.findCollections()[0].addMethod("POST");
+        constraint("*.html");
+        SecurityConstraintIndex index = index(true);
+
+        assertThat(index.find("/orders/list.html", "GET"), nullValue());
+    }
+
+    @Test
+    public void caseInsensitiveMapping() {
+        SecurityConstraint admin = constraint("/Admin/*");
+        SecurityConstraint jsp = constraint("*.JSP");
+
+        assertThat(index(true).find("/admin/x", "GET"), nullValue());
+        assertThat(index(false).find("/admin/x", "GET"), arrayContaining(admin));
+        assertThat(index(false).find("/x.jsp", "GET"), arrayContaining(jsp));
+    }
+
+    private SecurityConstraint constraint(String... patterns) {
+        SecurityCollection collection = new SecurityCollection();
+        for (String pattern : patterns) {
+            collection.addPattern(pattern);
+        }
+        SecurityConstraint constraint = new SecurityConstraint();
+        constraint.addCollection(collection);
+        constraints.add(constraint);
+        return constraint;
+    }
+
+    private SecurityConstraintIndex index(boolean caseSensitiveMapping) {
+        return new SecurityConstraintIndex(0, constraints, caseSensitiveMapping);
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.apache.catalina.servlets;
+
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.catalina.Globals;
+import org.apache.catalina.core.StaticResourceCache;
+import org.apache.naming.resources.FileDirContext;
+import org.apache.naming.resources.ProxyDirContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+
+public class DefaultServletTest {
+
+    private static final String CSS = "body { color: black; } body { color: black; }";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void mappedFileIsServedWithStrongETag() throws Exception {
+        write("index.html", "<html>Hello</html>");
+        StaticResourceCache cache = new StaticResourceCache(null, 1024 * 1024);
+        DefaultServlet servlet = servlet(cache, false);
+
+        TestResponse response = get(servlet, "/index.html", Map.of());
+        assertThat(response.status, equalTo(200));
+        assertThat(response.body(), equalTo("<html>Hello</html>"));
+        assertThat(response.header("Content-Length"), equalTo("18"));
+        assertThat(response.header("ETag"), startsWith("\""));
+        assertThat(response.header("Content-Encoding"), nullValue());
+        assertThat(response.header("Vary"), nullValue());
+        assertThat(cache.getFileCount(), equalTo(1));
+
+        String eTag = response.header("ETag");
+        TestResponse notModified = get(servlet, "/index.html", Map.of("If-None-Match", eTag));
+        assertThat(notModified.status, equalTo(304));
+        assertThat(notModified.header("ETag"), equalTo(eTag));
+        assertThat(notModified.body(), equalTo(""));
+    }
+
+    @Test
+    public void rangeIsServedFromMappedFile() throws Exception {
+        write("data.txt", "0123456789");
+        DefaultServlet servlet = servlet(new StaticResourceCache(null, 1024 * 1024), false);
+
+        TestResponse response = get(servlet, "/data.txt", Map.of("Range", "bytes=2-5"));
+        assertThat(response.status, equalTo(206));
+        assertThat(response.header("Content-Range"), equalTo("bytes 2-5/10"));
+        assertThat(response.header("Content-Length"), equalTo("4"));
+        assertThat(response.body(), equalTo("2345"));
+    }
+
+    @Test
+    public void precompressedVariantIsServedToAcceptingClients() throws Exception {
+        write("style.css", CSS);
+        write("style.css.gz", "gzipped");
+        DefaultServlet servlet = servlet(new StaticResourceCache(null, 1024 * 1024), true);
+
+        TestResponse identity = get(servlet, "/style.css", Map.of());
+        assertThat(identity.body(), equalTo(CSS));
+        assertThat(identity.header("Content-Length"), equalTo(String.valueOf(CSS.length())));
+        assertThat(identity.header("Content-Encoding"), nullValue());
+        assertThat(identity.header("Vary"), equalTo("Accept-Encoding"));
+
+        TestResponse gzipped = get(servlet, "/style.css", Map.of("Accept-Encoding", "gzip, deflate"));
+        assertThat(gzipped.status, equalTo(200));
+        assertThat(gzipped.body(), equalTo("gzipped"));
+        assertThat(gzipped.header("Content-Length"), equalTo("7"));
+        assertThat(gzipped.header("Content-Encoding"), equalTo("gzip"));
+        assertThat(gzipped.header("Vary"), equalTo("Accept-Encoding"));
+        assertThat(gzipped.header("ETag"), endsWith("-gzip\""));
+        assertThat(gzipped.header("ETag"), not(equalTo(identity.header("ETag"))));
+    }
+
+    @Test
+    public void ifHeadersAreCheckedAgainstTheRepresentationServed() throws Exception {
+        write("style.css", CSS);
+        write("style.css.gz", "gzipped");
+        DefaultServlet servlet = servlet(new StaticResourceCache(null, 1024 * 1024), true);
+        String identityETag = get(servlet, "/style.css", Map.of()).header("ETag");
+        String gzipETag = get(servlet, "/style.css", Map.of("Accept-Encoding", "gzip")).header("ETag");
+
+        TestResponse notModified = get(servlet, "/style.css",
+            Map.of("Accept-Encoding", "gzip", "If-None-Match", gzipETag));
+        assertThat(notModified.status, equalTo(304));
+        assertThat(notModified.header("ETag"), equalTo(gzipETag));
+        assertThat(notModified.header("Vary"), equalTo("Accept-Encoding"));
+
+        TestResponse otherRepresentation = get(servlet, "/style.css",
+            Map.of("Accept-Encoding", "gzip", "If-None-Match", identityETag));
+        assertThat(otherRepresentation.status, equalTo(200));
+        assertThat(otherRepresentation.body(), equalTo("gzipped"));
+
+        // The ETag of the file itself is left as is for the next requests
+        assertThat(get(servlet, "/style.css", Map.of()).header("ETag"), equalTo(identityETag));
+    }
+
+    @Test
+    public void rangeOfPrecompressedFileIsServedFromFileItself() throws Exception {
+        write("style.css", CSS);
+        write("style.css.gz", "gzipped");
+        DefaultServlet servlet = servlet(new StaticResourceCache(null, 1024 * 1024), true);
+        String identityETag = get(servlet, "/style.css", Map.of()).header("ETag");
+
+        TestResponse response = get(servlet, "/style.css", Map.of("Accept-Encoding", "gzip", "Range", "bytes=0-3"));
+        assertThat(response.status, equalTo(206));
+        assertThat(response.body(), equalTo("body"));
+        assertThat(response.header("Content-Length"), equalTo("4"));
+        assertThat(response.header("Content-Range"), equalTo("bytes 0-3/" + CSS.length()));
+        assertThat(response.header("Content-Encoding"), nullValue());
+        assertThat(response.header("Vary"), equalTo("Accept-Encoding"));
+        assertThat(response.header("ETag"), equalTo(identityETag));
+    }
+
+    private void write(String name, String content) throws IOException {
+        Files.write(directory.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void mappedFileSizeIsCappedInsteadOfOverflowing() throws Exception {
+        StaticResourceCache cache = new StaticResourceCache(null, 1024 * 1024);
+        assertThat(servlet(cache, false, "2048").mappedFileSize, equalTo(2048 * 1024));
+        assertThat(servlet(cache, false, "2097152").mappedFileSize, equalTo(Integer.MAX_VALUE));
+        assertThat(servlet(cache, false, "8388608").mappedFileSize, equalTo(Integer.MAX_VALUE));
+    }
+
+    private DefaultServlet servlet(StaticResourceCache cache, boolean precompressed) throws Exception {
+        return servlet(cache, precompressed, "1024");
+    }
+
+    private DefaultServlet servlet(StaticResourceCache cache, boolean precompressed, String mappedFileSize)
+        throws Exception {
+        FileDirContext dirContext = new FileDirContext();
+        dirContext.setCached(false);
+        dirContext.setDocBase(directory.toString());
+        ProxyDirContext resources = new ProxyDirContext(new Hashtable<>(), dirContext);
+
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(Globals.RESOURCES_ATTR, resources);
+        attributes.put(Globals.STATIC_RESOURCE_CACHE_ATTR, cache);
+        ServletContext context = proxy(ServletContext.class, (method, args) -> {
+            switch (method) {
+                case "getAttribute":
+                    return attributes.get(args[0]);
+                case "getMimeType":
+                    return ((String) args[0]).endsWith(".css") ? "text/css" : "text/plain";
+                default:
+                    return null;
+            }
+        });
+
+        Map<String, String> parameters = Map.of("mappedFileSize", mappedFileSize,
+            "precompressed", String.valueOf(precompressed));
+        ServletConfig config = proxy(ServletConfig.class, (method, args) -> {
+            switch (method) {
+                case "getInitParameter":
+                    return parameters.get(args[0]);
+                case "getServletContext":
+                    return context;
+                case "getServletName":
+                    return "default";
+                default:
+                    return null;
+            }
+        });
+
+        DefaultServlet servlet = new DefaultServlet();
+        servlet.init(config);
+        return servlet;
+    }
+
+    private static TestResponse get(DefaultServlet servlet, String path, Map<String, String> headers)
+        throws Exception {
+        Map<String, String> requestHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        requestHeaders.putAll(headers);
+        HttpServletRequest request = proxy(HttpServletRequest.class, (method, args) -> {
+            switch (method) {
+                case "getMethod":
+                    return "GET";
+                case "getServletPath":
+                    return path;
+                case "getHeader":
+                    return requestHeaders.get(args[0]);
+                case "getDateHeader":
+                    return -1L;
+                default:
+                    return null;
+            }
+        });
+        TestResponse response = new TestResponse();
+        servlet.serveResource(request, response.proxy, true);
+        return response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(DefaultServletTest.class.getClassLoader(), new Class<?>[] {type},
+            (proxy, method, args) -> {
+                Object result = handler.invoke(method.getName(), args);
+                if (result == null && method.getReturnType() == boolean.class) {
+                    return false;
+                }
+                if (result == null && method.getReturnType() == int.class) {
+                    return 0;
+                }
+                return result;
+            });
+    }
+
+    private interface Handler {
+        Object invoke(String method, Object[] args) throws Exception;
+    }
+
+    private static class TestResponse {
+
+        final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        int status = 200;
+
+        final HttpServletResponse proxy = proxy(HttpServletResponse.class, (method, args) -> {
+            switch (method) {
+                case "setHeader":
+                case "addHeader":
+                    headers.merge((String) args[0], (String) args[1],
+                        (previous, value) -> method.equals("addHeader") ? previous + ", " + value : value);
+                    return null;
+                case "setContentLength":
+                    headers.put("Content-Length", String.valueOf(args[0]));
+                    return null;
+                case "setContentType":
+                    headers.put("Content-Type", (String) args[0]);
+                    return null;
+                case "setStatus":
+                case "sendError":
+                    status = (Integer) args[0];
+                    return null;
+                case "getStatus":
+                    return status;
+                case "getOutputStream":
+                    return new ServletOutputStream() {
+
+                        @Override
+                        public void write(int b) {
+                            body.write(b);
+                        }
+
+                        @Override
+                        public boolean isReady() {
+                            return true;
+                        }
+
+                        @Override
+                        public void setWriteListener(WriteListener writeListener) {
+                        }
+                    };
+                default:
+                    return null;
+            }
+        });
+
+        String header(String name) {
+            return headers.get(name);
+        }
+
+        String body() {
+            return new String(body.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+public class SessionExpirationIndexTest {
+
+    private final SessionExpirationIndex index = new SessionExpirationIndex(1000L);
+
+    @Test
+    public void pollsOnlyDueSessions() {
+        StandardSession first = session(10_000L, 30);
+        StandardSession second = session(10_500L, 30);
+        StandardSession third = session(20_000L, 30);
+        index.add(first);
+        index.add(second);
+        index.add(third);
+
+        assertThat(index.pollExpired(39_999L), empty());
+        assertThat(index.pollExpired(40_000L), contains(first));
+        assertThat(index.pollExpired(41_000L), contains(second));
+        assertThat(index.size(), is(1));
+        assertThat(index.pollExpired(100_000L), contains(third));
+        assertThat(index.size(), is(0));
+    }
+
+    @Test
+    public void accessedSessionIsPolledAtOldExpirationTime() {
+        StandardSession session = session(10_000L, 30);
+        index.add(session);
+        session.thisAccessedTime = 25_000L;
+
+        assertThat(index.pollExpired(40_000L), contains(session));
+        index.add(session);
+        assertThat(index.pollExpired(54_999L), empty());
+        assertThat(index.pollExpired(55_000L), contains(session));
+    }
+
+    @Test
+    public void movedSessionIsPolledOnce() {
+        StandardSession session = session(10_000L, 30);
+        index.add(session);
+        session.maxInactiveInterval = 10;
+        index.add(session);
+        index.add(session);
+
+        assertThat(index.size(), is(1));
+        assertThat(index.pollExpired(20_000L), contains(session));
+        assertThat(index.pollExpired(100_000L), empty());
+    }
+
+    @Test
+    public void removedSessionIsNotPolled() {
+        StandardSession removed = session(10_000L, 30);
+        StandardSession kept = session(10_000L, 30);
+        index.add(removed);
+        index.add(kept);
+        index.remove(removed);
+        index.remove(removed);
+
+        assertThat(index.size(), is(1));
+        assertThat(index.pollExpired(40_000L), contains(kept));
+    }
+
+    @Test
+    public void sessionThatNeverExpiresIsNotIndexed() {
+        StandardSession session = session(10_000L, 30);
+        index.add(session);
+        session.maxInactiveInterval = -1;
+        index.add(session);
+
+        assertThat(index.size(), is(0));
+        assertThat(index.pollExpired(Long.MAX_VALUE), empty());
+    }
+
+    private static StandardSession session(long accessedTime, int maxInactiveInterval) {
+        StandardSession session = new StandardSession(new StandardManager());
+        session.setCreationTime(accessedTime);
+        session.maxInactiveInterval = maxInactiveInterval;
+        return session;
+    }
+}
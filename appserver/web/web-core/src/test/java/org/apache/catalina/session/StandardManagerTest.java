@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.apache.catalina.session;
+
+import org.apache.catalina.Session;
+import org.apache.catalina.core.StandardContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.is;
+
+public class StandardManagerTest {
+
+    private StandardManager manager;
+
+    @BeforeEach
+    public void createManager() {
+        manager = new StandardManager();
+        manager.setContainer(new StandardContext());
+    }
+
+    @Test
+    public void processExpiresExpiresOnlyExpiredSessions() {
+        StandardSession expired = session("expired", 1_000L, 1);
+        StandardSession live = session("live", System.currentTimeMillis(), 60);
+        manager.add(expired);
+        manager.add(live);
+
+        manager.processExpires();
+
+        assertThat(expired.getIsValid(), is(false));
+        assertThat(live.getIsValid(), is(true));
+        assertThat(manager.findSessions(), arrayContaining((Session) live));
+        assertThat(manager.expirationIndex.size(), is(1));
+    }
+
+    @Test
+    public void clearSessionsClearsExpirationIndex() {
+        StandardSession session = session("cleared", 1_000L, 1);
+        manager.add(session);
+
+        manager.clearSessions();
+        assertThat(manager.expirationIndex.size(), is(0));
+        manager.processExpires();
+        assertThat(session.getIsValid(), is(true));
+
+        // Added again, the session is indexed again
+        manager.add(session);
+        assertThat(manager.expirationIndex.size(), is(1));
+        manager.processExpires();
+        assertThat(session.getIsValid(), is(false));
+        assertThat(manager.findSessions(), emptyArray());
+        assertThat(manager.expirationIndex.size(), is(0));
+    }
+
+    private StandardSession session(String id, long accessedTime, int maxInactiveInterval) {
+        StandardSession session = new StandardSession(manager);
+        session.id = id;
+        session.setCreationTime(accessedTime);
+        session.maxInactiveInterval = maxInactiveInterval;
+        session.setValid(true);
+        return session;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -24,6 +24,7 @@ import com.sun.enterprise.config.serverbeans.HttpService;
 import com.sun.enterprise.config.serverbeans.VirtualServer;
 import com.sun.enterprise.util.io.FileUtils;
 import com.sun.enterprise.web.accesslog.AccessLogFormatter;
+import com.sun.enterprise.web.accesslog.AccessLogWriter;
 import com.sun.enterprise.web.accesslog.CombinedAccessLogFormatterImpl;
 import com.sun.enterprise.web.accesslog.CommonAccessLogFormatterImpl;
 import com.sun.enterprise.web.accesslog.DefaultAccessLogFormatterImpl;
@@ -32,11 +33,7 @@ import com.sun.enterprise.web.pluggable.WebContainerFeatureFactory;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.nio.BufferOverflowException;
-import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
 import java.nio.channels.FileChannel;
-import java.nio.charset.Charset;
 import java.text.MessageFormat;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -65,16 +62,15 @@ import static java.time.Instant.ofEpochMilli;
  * Apache <code>mod_log_config</code> module.  As an additional feature,
  * automatic rollover of log files at a specified interval is also supported.
  *
- * </p>This class uses a direct <code>ByteBuffer</code> to store and write
- * logs.
+ * </p>The entries are written by an {@link AccessLogWriter}, which also
+ * rotates the log file.
  *
  * @author Jean-Francois Arcand
  * @author Charlie J. Hunt
  */
 
 public final class PEAccessLogValve
-    extends ValveBase
-    implements Runnable {
+    extends ValveBase {
 
     private static final Logger _logger = LogFacade.getLogger();
 
@@ -202,32 +198,20 @@ public final class PEAccessLogValve
 
 
     /**
-     * The background writerThread.
+     * The writer of the access log entries.
      */
-    private Thread writerThread;
+    private AccessLogWriter writer;
 
 
     /**
-     * The background writerThread completion semaphore.
-     */
-    private boolean threadDone;
-
-
-    /**
-     * The <code>CharBuffer</code> used to store the logs.
-     */
-    private CharBuffer charBuffer;
-
-
-    /**
-     * The <code>byteBuffer</code> used to store the log.
+     * The number of bytes of entries collected before they are written.
      */
     private int bufferSize = MIN_BUFFER_SIZE;
 
 
     /**
-     * If the writer interval is equals to zero, then always flush the
-     * direct byte buffer after every request.
+     * If the writer interval is equals to zero, then always write the
+     * entry of every request right away.
      */
     private boolean flushRealTime = true;
 
@@ -273,11 +257,6 @@ public final class PEAccessLogValve
     private AccessLogFormatter formatter;
 
 
-    /**
-     * Simple lock
-     */
-    private final Object lock = new Object();
-
 
     /**
      * Return writerThread interval (seconds)
@@ -315,7 +294,7 @@ public final class PEAccessLogValve
 
 
     /**
-     * Set the direct <code>ByteBuffer</code> size
+     * Set the number of bytes of entries collected before they are written
      */
     public void setBufferSize(int size){
         if (size > 0) {
@@ -329,7 +308,7 @@ public final class PEAccessLogValve
     }
 
     /**
-     * Return the direct <code>ByteBuffer</code> size
+     * Return the number of bytes of entries collected before they are written
      */
     public int getBufferSize(){
         return bufferSize;
@@ -548,81 +527,30 @@ public final class PEAccessLogValve
             return;
         }
 
-        synchronized (lock){
-            // Reset properly the buffer in case of an unexpected
-            // exception.
-            if (charBuffer.position() == charBuffer.limit()){
-                charBuffer.limit(charBuffer.capacity());
-            }
-
-            int pos = charBuffer.position();
-            // We've flushed our buffer to make room for the current request.
-            // Now process the current request
-            for (int i=0; i < 2; i++){
-                try {
-                    if (formatter!=null) {
-                        formatter.appendLogEntry(request, response, charBuffer);
-                        charBuffer.put("\n");
-
-                        if (flushRealTime){
-                            log();
-                        }
-                        break;
-                    }
-                 } catch (BufferOverflowException ex) {
-                    charBuffer.position(pos);
-                    log();
-                    if (i == 1) {
-                        _logger.log(Level.SEVERE, LogFacade.ACCESS_LOG_UNABLE_TO_WRITE, new Object[] {ex});
-                        return;
-                    }
-                }
-            }
+        if (formatter != null) {
+            writer.append(formatter, request, response);
         }
     }
 
 
     /**
-     * Log the specified message to the log file, switching files if the date
-     * has changed since the previous log call.
+     * Return the channel of the log file, switching files if the date has
+     * changed since the previous call. Called by the access log writer only.
      */
-    public void log() throws IOException {
-
-        if (rotatable){
-            long systime = System.currentTimeMillis();
-            long rotationIntervalLong = rotationInterval * 1000L;
-            if (systime - lastAccessLogCreationTime > rotationIntervalLong) {
-                synchronized (this) {
-                    systime = System.currentTimeMillis();
-                    if (systime - lastAccessLogCreationTime > rotationIntervalLong) {
-                        // Rotate only if the formatted datestamps are different
-                        String lastDateStamp = fileDateFormat.format(toLocalDateTime(lastAccessLogCreationTime));
-                        String newDateStamp = fileDateFormat.format(toLocalDateTime(systime));
-
-                        lastAccessLogCreationTime = systime;
-
-                        if (!lastDateStamp.equals(newDateStamp)) {
-                            close();
-                            open(newDateStamp, false);
-                        }
-                    }
-                }
-            }
-        }
+    private FileChannel getChannel(long timeNow) throws IOException {
+        if (rotatable && timeNow - lastAccessLogCreationTime > rotationInterval * 1000L) {
+            // Rotate only if the formatted datestamps are different
+            String lastDateStamp = fileDateFormat.format(toLocalDateTime(lastAccessLogCreationTime));
+            String newDateStamp = fileDateFormat.format(toLocalDateTime(timeNow));
 
-        synchronized (lock) {
-            try {
-                charBuffer.flip();
-                ByteBuffer byteBuffer = ByteBuffer.wrap(charBuffer.toString().getBytes(Charset.defaultCharset()));
-                while (byteBuffer.hasRemaining()) {
-                    fileChannel.write(byteBuffer);
-                }
-            } catch (IOException ex) {
+            lastAccessLogCreationTime = timeNow;
 
-            } finally {
-                charBuffer.clear();
+            if (!lastDateStamp.equals(newDateStamp)) {
+                close();
+                open(newDateStamp, false);
             }
         }
+        return fileChannel;
     }
 
 
@@ -852,8 +780,6 @@ public final class PEAccessLogValve
      */
     private synchronized void close() {
         try{
-            // Make sure the byteBuffer is clean
-            log();
             fileChannel.close();
             fos.close();
         } catch (IOException ex){
@@ -993,8 +919,6 @@ public final class PEAccessLogValve
             bufferSize = MIN_BUFFER_SIZE;
         }
 
-        charBuffer = CharBuffer.allocate(bufferSize);
-
         if (fileDateFormat == null) {
             fileDateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd");
         }
@@ -1008,10 +932,8 @@ public final class PEAccessLogValve
         }
         lastAccessLogCreationTime = systime;
 
-        if (!flushRealTime){
-            // Start the background writer writerThread
-            threadStart();
-        }
+        writer = new AccessLogWriter(this::getChannel, bufferSize, writeInterval * 1000L, flushRealTime);
+        writer.start();
 
         started = true;
    }
@@ -1036,92 +958,12 @@ public final class PEAccessLogValve
         lifecycle.fireLifecycleEvent(STOP_EVENT, null);
         started = false;
 
-        if (!flushRealTime){
-            // Stop the background writer thread
-            threadStop();
-        }
+        writer.stop();
 
         close();
     }
 
 
-   /**
-     * The background writerThread that checks for write the log.
-     */
-    @Override
-    public void run() {
-
-        // Loop until the termination semaphore is set
-        while (!threadDone) {
-            threadSleep();
-            try {
-                log();
-            } catch (IOException ioe) {
-                threadDone = true;
-            }
-        }
-
-    }
-
-
-    /**
-     * Sleep for the duration specified by the <code>writeInterval</code>
-     * property.
-     */
-    private void threadSleep() {
-
-        if (writerThread == null || writeInterval == 0) {
-            return;
-        }
-
-        try {
-            Thread.sleep(writeInterval * 1000L);
-        } catch (InterruptedException e) {
-
-        }
-
-    }
-
-
-   /**
-     * Start the background writerThread that will periodically write access log
-     */
-    private void threadStart() {
-
-        if (writerThread != null || writeInterval == 0) {
-            return;
-        }
-
-        threadDone = false;
-        String threadName = "AccessLogWriter";
-        writerThread = new Thread(this, threadName);
-        writerThread.setDaemon(true);
-        writerThread.start();
-
-    }
-
-
-    /**
-     * Stop the background writerThread that is periodically write logs
-     */
-    private void threadStop() {
-
-        if (writerThread == null || writeInterval == 0) {
-            return;
-        }
-
-        threadDone = true;
-        writerThread.interrupt();
-        try {
-            writerThread.join();
-        } catch (InterruptedException e) {
-
-        }
-
-        writerThread = null;
-    }
-
-
     private LocalDateTime toLocalDateTime(long millis) {
         return ofEpochMilli(millis).atZone(ZoneId.systemDefault()).toLocalDateTime();
     }
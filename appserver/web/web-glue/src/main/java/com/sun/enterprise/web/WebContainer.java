@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2024 Contributors to Eclipse Foundation.
+ * Copyright (c) 2021, 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -122,6 +122,7 @@ import org.glassfish.web.admin.monitor.JspProbeProvider;
 import org.glassfish.web.admin.monitor.RequestProbeProvider;
 import org.glassfish.web.admin.monitor.ServletProbeProvider;
 import org.glassfish.web.admin.monitor.SessionProbeProvider;
+import org.glassfish.web.admin.monitor.StaticResourceProbeProvider;
 import org.glassfish.web.admin.monitor.WebModuleProbeProvider;
 import org.glassfish.web.admin.monitor.WebStatsProviderBootstrap;
 import org.glassfish.web.config.serverbeans.SessionProperties;
@@ -312,6 +313,7 @@ public class WebContainer implements org.glassfish.api.container.Container, Post
     protected RequestProbeProvider requestProbeProvider;
     protected ServletProbeProvider servletProbeProvider;
     protected SessionProbeProvider sessionProbeProvider;
+    protected StaticResourceProbeProvider staticResourceProbeProvider;
     protected WebModuleProbeProvider webModuleProbeProvider;
 
     protected WebConfigListener configListener;
@@ -616,6 +618,13 @@ public class WebContainer implements org.glassfish.api.container.Container, Post
         return sessionProbeProvider;
     }
 
+    /**
+     * Gets the probe provider for memory-mapped static file related events.
+     */
+    public StaticResourceProbeProvider getStaticResourceProbeProvider() {
+        return staticResourceProbeProvider;
+    }
+
     /**
      * Gets the probe provider for request/response related events.
      */
@@ -2908,6 +2917,7 @@ public class WebContainer implements org.glassfish.api.container.Container, Post
         servletProbeProvider = new ServletProbeProvider();
         jspProbeProvider = new JspProbeProvider();
         sessionProbeProvider = new SessionProbeProvider();
+        staticResourceProbeProvider = new StaticResourceProbeProvider();
         requestProbeProvider = new RequestProbeProvider();
     }
 
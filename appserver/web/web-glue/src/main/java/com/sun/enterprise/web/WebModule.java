@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2024 Contributors to Eclipse Foundation.
+ * Copyright (c) 2021, 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -117,6 +117,7 @@ import org.glassfish.wasp.servlet.JspServlet;
 import org.glassfish.web.LogFacade;
 import org.glassfish.web.admin.monitor.ServletProbeProvider;
 import org.glassfish.web.admin.monitor.SessionProbeProvider;
+import org.glassfish.web.admin.monitor.StaticResourceProbeProvider;
 import org.glassfish.web.admin.monitor.WebModuleProbeProvider;
 import org.glassfish.web.deployment.annotation.handlers.ServletSecurityHandler;
 import org.glassfish.web.deployment.descriptor.AbsoluteOrderingDescriptor;
@@ -226,6 +227,7 @@ public class WebModule extends PwcWebModule implements Context {
 
     private ServletProbeProvider servletProbeProvider;
     private SessionProbeProvider sessionProbeProvider;
+    private StaticResourceProbeProvider staticResourceProbeProvider;
     private WebModuleProbeProvider webModuleProbeProvider;
 
     private JavaEEIOUtils javaEEIOUtils;
@@ -295,6 +297,7 @@ public class WebModule extends PwcWebModule implements Context {
         this.webContainer = webContainer;
         this.servletProbeProvider = webContainer.getServletProbeProvider();
         this.sessionProbeProvider = webContainer.getSessionProbeProvider();
+        this.staticResourceProbeProvider = webContainer.getStaticResourceProbeProvider();
         this.webModuleProbeProvider = webContainer.getWebModuleProbeProvider();
         this.javaEEIOUtils = webContainer.getJavaEEIOUtils();
     }
@@ -1965,6 +1968,16 @@ public class WebModule extends PwcWebModule implements Context {
         sessionProbeProvider.sessionExpiredEvent(session.getId(), monitoringNodeName, vsId);
     }
 
+    @Override
+    public void staticResourceCacheHitEvent(String path) {
+        staticResourceProbeProvider.staticResourceCacheHitEvent(path, monitoringNodeName, vsId);
+    }
+
+    @Override
+    public void staticResourceCacheMissEvent(String path) {
+        staticResourceProbeProvider.staticResourceCacheMissEvent(path, monitoringNodeName, vsId);
+    }
+
     @Override
     public void sessionPersistedStartEvent(HttpSession session) {
         sessionProbeProvider.sessionPersistedStartEvent(session.getId(), monitoringNodeName, vsId);
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.web.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue of encoded access log entries with many producers,
+ * the request threads, and a single consumer, the writer thread.
+ * <p>
+ * A producer claims a slot by moving the tail and then publishes the entry in
+ * it. The consumer takes the entries in the order of their slots and stops at a
+ * slot that was claimed but not published yet.
+ */
+final class AccessLogRing {
+
+    private final AtomicReferenceArray<byte[]> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+
+    // Written by the consumer only
+    private volatile long head;
+
+    /**
+     * @param capacity the maximum number of entries, rounded up to a power of two
+     */
+    AccessLogRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        slots = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+    }
+
+    /**
+     * @param entry the entry to add
+     * @return false if the ring is full
+     */
+    boolean offer(byte[] entry) {
+        long t;
+        do {
+            t = tail.get();
+            if (t - head > mask) {
+                return false;
+            }
+        } while (!tail.compareAndSet(t, t + 1));
+        slots.lazySet((int) t & mask, entry);
+        return true;
+    }
+
+    /**
+     * May only be called by the consumer.
+     *
+     * @return the oldest entry, or null if there is none published
+     */
+    byte[] poll() {
+        long h = head;
+        int index = (int) h & mask;
+        byte[] entry = slots.get(index);
+        if (entry != null) {
+            slots.lazySet(index, null);
+            head = h + 1;
+        }
+        return entry;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    int size() {
+        return (int) (tail.get() - head);
+    }
+
+    boolean isEmpty() {
+        return tail.get() == head;
+    }
+}
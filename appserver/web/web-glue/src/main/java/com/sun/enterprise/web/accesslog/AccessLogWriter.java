@@ -0,0 +1,349 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.web.accesslog;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.catalina.Request;
+import org.apache.catalina.Response;
+import org.glassfish.web.LogFacade;
+
+/**
+ * Writes access log entries from a single background thread.
+ * <p>
+ * The request threads format each entry into a buffer of their own, encode it
+ * and hand the bytes over to the writer thread through a lock-free ring. The
+ * writer thread writes the entries in batches with one gathering write each.
+ * As it is the only thread touching the channel, the log file can be rotated
+ * between two batches without losing or splitting an entry.
+ * <p>
+ * The entries are written as soon as they arrive if flushing in real time,
+ * otherwise when their size reaches the buffer size or when the write interval
+ * elapses, whichever comes first.
+ */
+public final class AccessLogWriter implements Runnable {
+
+    private static final Logger _logger = LogFacade.getLogger();
+
+    private static final int RING_CAPACITY = 16384;
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final int INITIAL_ENTRY_SIZE = 512;
+
+    /**
+     * Buffers of the request threads, shared by all access logs.
+     */
+    private static final ThreadLocal<EntryEncoder> ENCODERS = ThreadLocal.withInitial(EntryEncoder::new);
+
+    /**
+     * Supplies the channel to write the next batch of entries to.
+     */
+    @FunctionalInterface
+    public interface ChannelSupplier {
+
+        /**
+         * Called by the writer thread only, which allows it to rotate the log
+         * file before returning its channel.
+         *
+         * @param timeNow the current time in milliseconds
+         * @return the channel to write to
+         * @throws IOException if the channel cannot be opened
+         */
+        GatheringByteChannel getChannel(long timeNow) throws IOException;
+    }
+
+    private final ChannelSupplier channelSupplier;
+    private final int bufferSize;
+    private final long writeIntervalMillis;
+    private final boolean flushRealTime;
+
+    private final AccessLogRing ring = new AccessLogRing(RING_CAPACITY);
+    private final AtomicLong pendingBytes = new AtomicLong();
+
+    // Used by the writer thread only
+    private final ByteBuffer[] batch = new ByteBuffer[MAX_BATCH_SIZE];
+    private long lastWriteTime;
+
+    private volatile Thread writerThread;
+    private volatile boolean writerWaiting;
+    private volatile boolean threadDone;
+
+    /**
+     * @param channelSupplier supplies the channel to write to
+     * @param bufferSize the number of bytes of entries to collect before writing them,
+     *            also the maximum length of one entry in characters
+     * @param writeIntervalMillis the maximum time between writes, or 0 for none
+     * @param flushRealTime true to write each entry as soon as it arrives
+     */
+    public AccessLogWriter(ChannelSupplier channelSupplier, int bufferSize, long writeIntervalMillis,
+        boolean flushRealTime) {
+        this.channelSupplier = channelSupplier;
+        this.bufferSize = bufferSize;
+        this.writeIntervalMillis = writeIntervalMillis;
+        this.flushRealTime = flushRealTime;
+    }
+
+
+    /**
+     * Formats an access log entry and hands it over to the writer thread.
+     * Waits for the writer thread only if it falls so far behind that the
+     * ring is full. The entry is dropped if the writer is stopped.
+     *
+     * @param formatter the formatter of the access log
+     * @param request the request to log
+     * @param response the response to log
+     */
+    public void append(AccessLogFormatter formatter, Request request, Response response) {
+        if (writerThread == null) {
+            _logger.log(Level.FINE, "Access log writer stopped, dropping an entry");
+            return;
+        }
+        byte[] entry = ENCODERS.get().encode(formatter, request, response, bufferSize);
+        if (entry == null) {
+            return;
+        }
+        while (!ring.offer(entry)) {
+            Thread thread = writerThread;
+            if (thread == null) {
+                _logger.log(Level.FINE, "Access log writer stopped, dropping an entry");
+                return;
+            }
+            LockSupport.unpark(thread);
+            Thread.yield();
+        }
+        long pending = pendingBytes.addAndGet(entry.length);
+        Thread thread = writerThread;
+        if (thread == null) {
+            // Stopped after the entry was added, nobody would ever write it
+            discardStopped();
+        } else if (writerWaiting && isWriteDue(pending)) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+
+    /**
+     * Starts the writer thread.
+     */
+    public synchronized void start() {
+        if (writerThread != null) {
+            return;
+        }
+        threadDone = false;
+        lastWriteTime = System.currentTimeMillis();
+        Thread thread = new Thread(this, "AccessLogWriter");
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+    }
+
+
+    /**
+     * Stops the writer thread after it has written all entries. The entries
+     * appended from now on are dropped.
+     */
+    public void stop() {
+        Thread thread = writerThread;
+        if (thread == null) {
+            return;
+        }
+        threadDone = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            writerThread = null;
+            // Entries added while the writer thread was finishing
+            write();
+        }
+    }
+
+
+    /**
+     * Drops the entries added after the writer was stopped.
+     */
+    private synchronized void discardStopped() {
+        if (writerThread != null) {
+            // Started again, the new writer thread owns the ring
+            return;
+        }
+        byte[] entry;
+        while ((entry = ring.poll()) != null) {
+            pendingBytes.addAndGet(-entry.length);
+            _logger.log(Level.FINE, "Access log writer stopped, dropping an entry");
+        }
+    }
+
+
+    /**
+     * The writer thread.
+     */
+    @Override
+    public void run() {
+        while (!threadDone) {
+            awaitWrite();
+            write();
+        }
+        write();
+    }
+
+
+    private boolean isWriteDue(long pending) {
+        return flushRealTime || pending >= bufferSize || ring.size() >= ring.capacity() / 2;
+    }
+
+
+    /**
+     * @return milliseconds until the entries are to be written, 0 if now, or
+     *         Long.MAX_VALUE if not before more entries arrive
+     */
+    private long timeToWrite(long timeNow) {
+        if (!ring.isEmpty() && isWriteDue(pendingBytes.get())) {
+            return 0L;
+        }
+        if (writeIntervalMillis > 0) {
+            return Math.max(0L, lastWriteTime + writeIntervalMillis - timeNow);
+        }
+        return Long.MAX_VALUE;
+    }
+
+
+    private void awaitWrite() {
+        while (!threadDone) {
+            long wait = timeToWrite(System.currentTimeMillis());
+            if (wait == 0L) {
+                return;
+            }
+            writerWaiting = true;
+            try {
+                // An entry may have been added before the request thread could see the flag
+                if (timeToWrite(System.currentTimeMillis()) == 0L) {
+                    return;
+                }
+                if (wait == Long.MAX_VALUE) {
+                    LockSupport.park(this);
+                } else {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(wait));
+                }
+            } finally {
+                writerWaiting = false;
+            }
+        }
+    }
+
+
+    /**
+     * Writes all entries in the ring, a batch per gathering write. Entries
+     * which cannot be written are dropped.
+     */
+    private void write() {
+        long timeNow = System.currentTimeMillis();
+        lastWriteTime = timeNow;
+        GatheringByteChannel channel = null;
+        int count;
+        while ((count = pollBatch()) > 0) {
+            long bytes = 0L;
+            for (int i = 0; i < count; i++) {
+                bytes += batch[i].remaining();
+            }
+            try {
+                if (channel == null) {
+                    channel = channelSupplier.getChannel(timeNow);
+                }
+                long written = 0L;
+                while (written < bytes) {
+                    written += channel.write(batch, 0, count);
+                }
+            } catch (IOException ex) {
+                _logger.log(Level.SEVERE, LogFacade.ACCESS_LOG_UNABLE_TO_WRITE, new Object[] {ex});
+            } finally {
+                pendingBytes.addAndGet(-bytes);
+                Arrays.fill(batch, 0, count, null);
+            }
+        }
+    }
+
+
+    private int pollBatch() {
+        int count = 0;
+        byte[] entry;
+        while (count < MAX_BATCH_SIZE && (entry = ring.poll()) != null) {
+            batch[count++] = ByteBuffer.wrap(entry);
+        }
+        return count;
+    }
+
+
+    /**
+     * Formats and encodes the entries of one request thread, reusing its
+     * buffers.
+     */
+    private static final class EntryEncoder {
+
+        private final CharsetEncoder encoder = Charset.defaultCharset().newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private CharBuffer chars = CharBuffer.allocate(INITIAL_ENTRY_SIZE);
+        private ByteBuffer bytes = ByteBuffer.allocate(INITIAL_ENTRY_SIZE);
+
+        /**
+         * @return the encoded entry ending with a line separator, or null if
+         *         it is longer than maxChars
+         */
+        byte[] encode(AccessLogFormatter formatter, Request request, Response response, int maxChars) {
+            while (true) {
+                chars.clear();
+                try {
+                    formatter.appendLogEntry(request, response, chars);
+                    chars.put('\n');
+                    break;
+                } catch (BufferOverflowException ex) {
+                    if (chars.capacity() >= maxChars) {
+                        _logger.log(Level.SEVERE, LogFacade.ACCESS_LOG_UNABLE_TO_WRITE, new Object[] {ex});
+                        return null;
+                    }
+                    chars = CharBuffer.allocate(Math.min(chars.capacity() * 2, maxChars));
+                }
+            }
+            chars.flip();
+            int maxBytes = (int) Math.ceil(chars.remaining() * (double) encoder.maxBytesPerChar());
+            if (bytes.capacity() < maxBytes) {
+                bytes = ByteBuffer.allocate(maxBytes);
+            }
+            bytes.clear();
+            encoder.reset();
+            encoder.encode(chars, bytes, true);
+            encoder.flush(bytes);
+            return Arrays.copyOf(bytes.array(), bytes.position());
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -103,6 +103,20 @@ public class DefaultAccessLogFormatterImpl extends AccessLogFormatter {
 
     private final Container container;
 
+    /**
+     * The pattern compiled into one appender per item.
+     */
+    private final ItemAppender[] appenders;
+
+    /**
+     * Appends one item of the pattern to the access log entry of a request.
+     */
+    @FunctionalInterface
+    private interface ItemAppender {
+        void append(CharBuffer cb, Request request, Response response, HttpServletRequest hreq,
+            HttpServletResponse hres);
+    }
+
     /**
      * Constructor.
      *
@@ -112,6 +126,11 @@ public class DefaultAccessLogFormatterImpl extends AccessLogFormatter {
     public DefaultAccessLogFormatterImpl(String pattern, Container container) {
         super(getAccessLogPattern(pattern));
         this.container = container;
+        List<String> items = getPattern().getItems();
+        this.appenders = new ItemAppender[items.size()];
+        for (int i = 0; i < appenders.length; i++) {
+            appenders[i] = compile(items.get(i));
+        }
     }
 
 
@@ -128,82 +147,98 @@ public class DefaultAccessLogFormatterImpl extends AccessLogFormatter {
         HttpServletRequest hreq = (HttpServletRequest) request.getRequest();
         HttpServletResponse hres = (HttpServletResponse) response.getResponse();
 
-        for (String pc : getPattern().getItems()) {
-            if (pc.startsWith(ATTRIBUTE_BY_NAME_PREFIX)) {
-                appendAttributeByName(charBuffer, pc.substring(ATTRIBUTE_BY_NAME_PREFIX_LEN), hreq);
-            } else if (pc.startsWith(SESSION_ATTRIBUTE_BY_NAME_PREFIX)) {
-                appendSessionAttributeByName(charBuffer, pc.substring(SESSION_ATTRIBUTE_BY_NAME_PREFIX_LEN), hreq);
-            } else if (AUTH_USER_NAME.equals(pc)) {
-                appendAuthUserName(charBuffer, hreq);
-            } else if (CLIENT_DNS.equals(pc)) {
-                appendClientDNS(charBuffer, hreq);
-            } else if (CLIENT_NAME.equals(pc)) {
-                appendClientName(charBuffer, hreq);
-            } else if (COOKIE.equals(pc)) {
-                appendCookie(charBuffer, hreq);
-            } else if (COOKIES.equals(pc)) {
-                appendCookies(charBuffer, hreq);
-            } else if (COOKIE_VALUE.equals(pc)) {
-                appendCookieValue(charBuffer, hreq);
-            } else if (pc.startsWith(COOKIE_BY_NAME_PREFIX)) {
-                appendCookieByName(charBuffer, pc.substring(COOKIE_BY_NAME_PREFIX_LEN), hreq);
-            } else if (pc.startsWith(COOKIES_BY_NAME_PREFIX)) {
-                appendCookiesByName(charBuffer, pc.substring(COOKIES_BY_NAME_PREFIX_LEN), hreq);
-            } else if (DATE_TIME.equals(pc)) {
-                appendCurrentDate(charBuffer);
-            } else if (HEADER_ACCEPT.equals(pc)) {
-                appendHeaderAccept(charBuffer, hreq);
-            } else if (HEADER_AUTH.equals(pc)) {
-                appendHeaderAuth(charBuffer, hreq);
-            } else if (HEADER_DATE.equals(pc)) {
-                appendHeaderDate(charBuffer, hreq);
-            } else if (HEADER_IF_MOD_SINCE.equals(pc)) {
-                appendHeaderIfModSince(charBuffer, hreq);
-            } else if (HEADER_USER_AGENT.equals(pc)) {
-                appendUserAgent(charBuffer, hreq);
-            } else if (HEADER_REFERER.equals(pc)) {
-                appendReferer(charBuffer, hreq);
-            } else if (HTTP_METHOD.equals(pc)) {
-                appendHTTPMethod(charBuffer, hreq);
-            } else if (HTTP_URI.equals(pc)) {
-                appendHTTPUri(charBuffer, hreq);
-            } else if (HTTP_VERSION.equals(pc)) {
-                appendHTTPVersion(charBuffer, hreq);
-            } else if (QUERY_STR.equals(pc)) {
-                appendQueryString(charBuffer, hreq);
-            } else if (REFERER.equals(pc)) {
-                appendReferer(charBuffer, hreq);
-            } else if (REQUEST.equals(pc)) {
-                appendRequestInfo(charBuffer, hreq);
-            } else if (RESPONSE_LENGTH.equals(pc)) {
-                appendResponseLength(charBuffer, response);
-            } else if (RESPONSE_CONTENT_TYPE.equals(pc)) {
-                appendResponseContentType(charBuffer, response);
-            } else if (STATUS.equals(pc)) {
-                appendResponseStatus(charBuffer, response);
-            } else if (TIME_TAKEN.equals(pc)) {
-                appendTimeTaken(charBuffer, request);
-            } else if (USER_AGENT.equals(pc)) {
-                appendUserAgent(charBuffer, hreq);
-            } else if (VS_ID.equals(pc)) {
-                appendVirtualServerId(charBuffer);
-            } else if (pc.startsWith(HEADER_BY_NAME_PREFIX)) {
-                appendHeaderByName(charBuffer, pc.substring(HEADER_BY_NAME_PREFIX_LEN), hreq);
-            } else if (pc.startsWith(HEADERS_BY_NAME_PREFIX)) {
-                appendHeadersByName(charBuffer, pc.substring(HEADERS_BY_NAME_PREFIX_LEN), hreq);
-            } else if (pc.startsWith(RESPONSE_HEADER_BY_NAME_PREFIX)) {
-                appendResponseHeaderByName(charBuffer, pc.substring(RESPONSE_HEADER_BY_NAME_PREFIX_LEN), hres,
-                    response);
-            } else if (pc.startsWith(RESPONSE_HEADERS_BY_NAME_PREFIX)) {
-                appendResponseHeadersByName(charBuffer, pc.substring(RESPONSE_HEADERS_BY_NAME_PREFIX_LEN), hres,
-                    response);
-            }
-
+        for (ItemAppender appender : appenders) {
+            appender.append(charBuffer, request, response, hreq, hres);
             charBuffer.put(' ');
         }
     }
 
 
+    /**
+     * Compiles an item of the access log pattern, so that it is not parsed
+     * again for each request.
+     */
+    private ItemAppender compile(String pc) {
+        if (pc.startsWith(ATTRIBUTE_BY_NAME_PREFIX)) {
+            String name = pc.substring(ATTRIBUTE_BY_NAME_PREFIX_LEN);
+            return (cb, request, response, hreq, hres) -> appendAttributeByName(cb, name, hreq);
+        } else if (pc.startsWith(SESSION_ATTRIBUTE_BY_NAME_PREFIX)) {
+            String name = pc.substring(SESSION_ATTRIBUTE_BY_NAME_PREFIX_LEN);
+            return (cb, request, response, hreq, hres) -> appendSessionAttributeByName(cb, name, hreq);
+        } else if (AUTH_USER_NAME.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendAuthUserName(cb, hreq);
+        } else if (CLIENT_DNS.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendClientDNS(cb, hreq);
+        } else if (CLIENT_NAME.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendClientName(cb, hreq);
+        } else if (COOKIE.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendCookie(cb, hreq);
+        } else if (COOKIES.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendCookies(cb, hreq);
+        } else if (COOKIE_VALUE.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendCookieValue(cb, hreq);
+        } else if (pc.startsWith(COOKIE_BY_NAME_PREFIX)) {
+            String name = pc.substring(COOKIE_BY_NAME_PREFIX_LEN);
+            return (cb, request, response, hreq, hres) -> appendCookieByName(cb, name, hreq);
+        } else if (pc.startsWith(COOKIES_BY_NAME_PREFIX)) {
+            String name = pc.substring(COOKIES_BY_NAME_PREFIX_LEN);
+            return (cb, request, response, hreq, hres) -> appendCookiesByName(cb, name, hreq);
+        } else if (DATE_TIME.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendCurrentDate(cb);
+        } else if (HEADER_ACCEPT.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendHeaderAccept(cb, hreq);
+        } else if (HEADER_AUTH.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendHeaderAuth(cb, hreq);
+        } else if (HEADER_DATE.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendHeaderDate(cb, hreq);
+        } else if (HEADER_IF_MOD_SINCE.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendHeaderIfModSince(cb, hreq);
+        } else if (HEADER_USER_AGENT.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendUserAgent(cb, hreq);
+        } else if (HEADER_REFERER.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendReferer(cb, hreq);
+        } else if (HTTP_METHOD.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendHTTPMethod(cb, hreq);
+        } else if (HTTP_URI.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendHTTPUri(cb, hreq);
+        } else if (HTTP_VERSION.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendHTTPVersion(cb, hreq);
+        } else if (QUERY_STR.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendQueryString(cb, hreq);
+        } else if (REFERER.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendReferer(cb, hreq);
+        } else if (REQUEST.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendRequestInfo(cb, hreq);
+        } else if (RESPONSE_LENGTH.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendResponseLength(cb, response);
+        } else if (RESPONSE_CONTENT_TYPE.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendResponseContentType(cb, response);
+        } else if (STATUS.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendResponseStatus(cb, response);
+        } else if (TIME_TAKEN.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendTimeTaken(cb, request);
+        } else if (USER_AGENT.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendUserAgent(cb, hreq);
+        } else if (VS_ID.equals(pc)) {
+            return (cb, request, response, hreq, hres) -> appendVirtualServerId(cb);
+        } else if (pc.startsWith(HEADER_BY_NAME_PREFIX)) {
+            String name = pc.substring(HEADER_BY_NAME_PREFIX_LEN);
+            return (cb, request, response, hreq, hres) -> appendHeaderByName(cb, name, hreq);
+        } else if (pc.startsWith(HEADERS_BY_NAME_PREFIX)) {
+            String name = pc.substring(HEADERS_BY_NAME_PREFIX_LEN);
+            return (cb, request, response, hreq, hres) -> appendHeadersByName(cb, name, hreq);
+        } else if (pc.startsWith(RESPONSE_HEADER_BY_NAME_PREFIX)) {
+            String name = pc.substring(RESPONSE_HEADER_BY_NAME_PREFIX_LEN);
+            return (cb, request, response, hreq, hres) -> appendResponseHeaderByName(cb, name, hres, response);
+        } else if (pc.startsWith(RESPONSE_HEADERS_BY_NAME_PREFIX)) {
+            String name = pc.substring(RESPONSE_HEADERS_BY_NAME_PREFIX_LEN);
+            return (cb, request, response, hreq, hres) -> appendResponseHeadersByName(cb, name, hres, response);
+        }
+        return (cb, request, response, hreq, hres) -> {
+        };
+    }
+
+
     private static AccessLogPattern getAccessLogPattern(String pattern) {
         AccessLogPattern aclPattern = parsePattern(pattern);
         if (aclPattern == null) {
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.web.accesslog;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class AccessLogRingTest {
+
+    @Test
+    public void entriesArePolledInOrder() {
+        AccessLogRing ring = new AccessLogRing(4);
+        byte[] first = {1};
+        byte[] second = {2};
+        assertThat(ring.offer(first), is(true));
+        assertThat(ring.offer(second), is(true));
+
+        assertThat(ring.size(), is(2));
+        assertThat(ring.poll(), sameInstance(first));
+        assertThat(ring.poll(), sameInstance(second));
+        assertThat(ring.poll(), nullValue());
+        assertThat(ring.isEmpty(), is(true));
+    }
+
+    @Test
+    public void fullRingRejectsEntries() {
+        AccessLogRing ring = new AccessLogRing(3);
+        assertThat(ring.capacity(), is(4));
+        for (int i = 0; i < 4; i++) {
+            assertThat(ring.offer(new byte[] {(byte) i}), is(true));
+        }
+        assertThat(ring.offer(new byte[0]), is(false));
+
+        assertThat(ring.poll()[0], is((byte) 0));
+        assertThat(ring.offer(new byte[] {4}), is(true));
+        for (int i = 1; i <= 4; i++) {
+            assertThat(ring.poll()[0], is((byte) i));
+        }
+    }
+
+    @Test
+    public void concurrentProducersLoseNoEntry() throws Exception {
+        AccessLogRing ring = new AccessLogRing(64);
+        int producers = 4;
+        int entries = 10_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < entries; i++) {
+                    byte[] entry = {(byte) producer, (byte) (i >> 16), (byte) (i >> 8), (byte) i};
+                    while (!ring.offer(entry)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+
+        Set<Integer> polled = new HashSet<>();
+        int[] last = {-1, -1, -1, -1};
+        while (polled.size() < producers * entries) {
+            byte[] entry = ring.poll();
+            if (entry == null) {
+                Thread.yield();
+                continue;
+            }
+            int i = (entry[1] & 0xFF) << 16 | (entry[2] & 0xFF) << 8 | entry[3] & 0xFF;
+            // The entries of one producer keep their order
+            assertThat(i, is(last[entry[0]] + 1));
+            last[entry[0]] = i;
+            polled.add(entry[0] * entries + i);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(ring.isEmpty(), is(true));
+    }
+}
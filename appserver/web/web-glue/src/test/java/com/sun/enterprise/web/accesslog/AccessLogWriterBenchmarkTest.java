@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.web.accesslog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.catalina.Request;
+import org.apache.catalina.Response;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares the throughput of the {@link AccessLogWriter} with appending the
+ * entries to a shared buffer under a lock, as the access log valve did before,
+ * when many request threads log at once.
+ */
+public class AccessLogWriterBenchmarkTest {
+
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Test
+    public void accessLog_benchmark() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupBatchSize(1).warmupForks(0).warmupIterations(1).warmupTime(TimeValue.milliseconds(200L))
+            .measurementIterations(1).forks(1).measurementTime(TimeValue.milliseconds(500L))
+            .threads(THREADS).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .build();
+
+        // Only reported: the throughputs depend too much on the cores and the disk of the machine
+        // to be compared in a test, see AccessLogWriterTest for the behavior of the writer.
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(2));
+    }
+
+    @Benchmark
+    public void writer(WriterState state) {
+        state.writer.append(state.formatter, null, null);
+    }
+
+    @Benchmark
+    public void sharedBuffer(SharedBufferState state) throws IOException {
+        synchronized (state) {
+            state.formatter.appendLogEntry(null, null, state.charBuffer);
+            state.charBuffer.put('\n');
+            if (state.charBuffer.remaining() < 1024) {
+                state.charBuffer.flip();
+                ByteBuffer byteBuffer = ByteBuffer.wrap(state.charBuffer.toString().getBytes(Charset.defaultCharset()));
+                while (byteBuffer.hasRemaining()) {
+                    state.channel.write(byteBuffer);
+                }
+                state.charBuffer.clear();
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class WriterState {
+
+        final AccessLogFormatter formatter = new FixedEntryFormatter();
+        Path file;
+        FileChannel channel;
+        AccessLogWriter writer;
+
+        @Setup
+        public void open() throws IOException {
+            file = Files.createTempFile("access", ".log");
+            channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            writer = new AccessLogWriter(timeNow -> channel, BUFFER_SIZE, 0L, false);
+            writer.start();
+        }
+
+        @TearDown
+        public void close() throws IOException {
+            writer.stop();
+            channel.close();
+            Files.delete(file);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SharedBufferState {
+
+        final AccessLogFormatter formatter = new FixedEntryFormatter();
+        final CharBuffer charBuffer = CharBuffer.allocate(BUFFER_SIZE);
+        Path file;
+        FileChannel channel;
+
+        @Setup
+        public void open() throws IOException {
+            file = Files.createTempFile("access", ".log");
+            channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+
+        @TearDown
+        public void close() throws IOException {
+            channel.close();
+            Files.delete(file);
+        }
+    }
+
+    private static class FixedEntryFormatter extends AccessLogFormatter {
+
+        FixedEntryFormatter() {
+            super(new AccessLogPattern(null, false, List.of()));
+        }
+
+        @Override
+        public void appendLogEntry(Request request, Response response, CharBuffer charBuffer) {
+            charBuffer.put("\"192.168.0.1\" \"NULL-AUTH-USER\" \"16/Oct/2026:10:15:30 +0200\" ");
+            charBuffer.put("\"GET /shop/cart.jsp?item=42 HTTP/1.1\" 200 5120");
+        }
+    }
+}
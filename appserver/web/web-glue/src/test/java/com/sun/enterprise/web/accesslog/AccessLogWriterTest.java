@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.enterprise.web.accesslog;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import org.apache.catalina.Request;
+import org.apache.catalina.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+public class AccessLogWriterTest {
+
+    private final TextFormatter formatter = new TextFormatter();
+    private final RecordingChannel channel = new RecordingChannel();
+    private AccessLogWriter writer;
+
+    @AfterEach
+    public void stopWriter() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    public void entriesAreWrittenInOneBatchWhenBufferIsFull() throws Exception {
+        // 9 bytes per entry
+        writer = new AccessLogWriter(timeNow -> channel, 90, 0L, false);
+        writer.start();
+        for (int i = 0; i < 9; i++) {
+            append(String.format("entry-%02d", i));
+        }
+        Thread.sleep(200L);
+        assertThat(channel.writes(), empty());
+
+        append("entry-09");
+        await(() -> channel.writes().size() == 1);
+        assertThat(channel.entries(), contains("entry-00", "entry-01", "entry-02", "entry-03", "entry-04",
+            "entry-05", "entry-06", "entry-07", "entry-08", "entry-09"));
+        assertThat(channel.writes(), hasSize(1));
+    }
+
+    @Test
+    public void entriesAreWrittenRightAwayWhenFlushingInRealTime() throws Exception {
+        writer = new AccessLogWriter(timeNow -> channel, 1024, 0L, true);
+        writer.start();
+
+        append("first");
+        await(() -> channel.entries().size() == 1);
+        append("second");
+        await(() -> channel.entries().size() == 2);
+        assertThat(channel.entries(), contains("first", "second"));
+    }
+
+    @Test
+    public void entriesAreWrittenWhenWriteIntervalElapses() throws Exception {
+        long start = System.currentTimeMillis();
+        writer = new AccessLogWriter(timeNow -> channel, 1024, 300L, false);
+        writer.start();
+
+        append("entry");
+        await(() -> channel.entries().size() == 1);
+        assertThat(channel.lastWriteTime - start, greaterThanOrEqualTo(300L));
+        assertThat(channel.entries(), contains("entry"));
+    }
+
+    @Test
+    public void channelIsAskedByWriterThreadBeforeEachWrite() throws Exception {
+        RecordingChannel rotated = new RecordingChannel();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        AtomicLong rotationTime = new AtomicLong(Long.MAX_VALUE);
+        writer = new AccessLogWriter(timeNow -> {
+            threads.add(Thread.currentThread().getName());
+            return timeNow < rotationTime.get() ? channel : rotated;
+        }, 1024, 0L, true);
+        writer.start();
+
+        append("before");
+        await(() -> channel.entries().size() == 1);
+        rotationTime.set(System.currentTimeMillis());
+        append("after");
+        await(() -> rotated.entries().size() == 1);
+
+        assertThat(channel.entries(), contains("before"));
+        assertThat(rotated.entries(), contains("after"));
+        assertThat(threads, contains("AccessLogWriter"));
+    }
+
+    @Test
+    public void stopWritesPendingEntries() {
+        writer = new AccessLogWriter(timeNow -> channel, 1024, 0L, false);
+        writer.start();
+        append("first");
+        append("second");
+        assertThat(channel.writes(), empty());
+
+        writer.stop();
+        assertThat(channel.entries(), contains("first", "second"));
+    }
+
+    @Test
+    public void entryAppendedAfterStopIsDropped() {
+        writer = new AccessLogWriter(timeNow -> channel, 1024, 0L, false);
+        writer.start();
+        append("logged");
+        writer.stop();
+
+        append("dropped");
+        writer.start();
+        writer.stop();
+        assertThat(channel.entries(), contains("logged"));
+    }
+
+    private void append(String entry) {
+        formatter.text = entry;
+        writer.append(formatter, null, null);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (!condition.getAsBoolean()) {
+            assertThat("Timed out", System.currentTimeMillis() < deadline, is(true));
+            Thread.sleep(10L);
+        }
+    }
+
+    private static class TextFormatter extends AccessLogFormatter {
+
+        volatile String text;
+
+        TextFormatter() {
+            super(new AccessLogPattern(null, false, List.of()));
+        }
+
+        @Override
+        public void appendLogEntry(Request request, Response response, CharBuffer charBuffer) {
+            charBuffer.put(text);
+        }
+    }
+
+    /**
+     * Keeps the bytes of each gathering write.
+     */
+    private static class RecordingChannel implements GatheringByteChannel {
+
+        private final List<byte[]> writes = new ArrayList<>();
+        volatile long lastWriteTime;
+
+        synchronized List<byte[]> writes() {
+            return new ArrayList<>(writes);
+        }
+
+        synchronized List<String> entries() {
+            List<String> entries = new ArrayList<>();
+            for (byte[] write : writes) {
+                String text = new String(write, Charset.defaultCharset());
+                for (String entry : text.split("\n")) {
+                    entries.add(entry);
+                }
+            }
+            return entries;
+        }
+
+        @Override
+        public synchronized long write(ByteBuffer[] srcs, int offset, int length) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            for (int i = offset; i < offset + length; i++) {
+                while (srcs[i].hasRemaining()) {
+                    bytes.write(srcs[i].get());
+                }
+            }
+            writes.add(bytes.toByteArray());
+            lastWriteTime = System.currentTimeMillis();
+            return bytes.size();
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs) {
+            return write(srcs, 0, srcs.length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            return (int) write(new ByteBuffer[] {src}, 0, 1);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
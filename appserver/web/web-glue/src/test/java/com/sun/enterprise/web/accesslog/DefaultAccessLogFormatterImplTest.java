@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package com.sun.enterprise.web.accesslog;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.lang.reflect.Proxy;
+import java.nio.CharBuffer;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.catalina.Container;
+import org.apache.catalina.HttpResponse;
+import org.apache.catalina.Request;
+import org.apache.catalina.Response;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Compares the entries of the access log formatter with the expected lines, so that a change
+ * of the formatting code cannot change the access log format unnoticed.
+ */
+public class DefaultAccessLogFormatterImplTest {
+
+    private static final String COMMON = "%client.name% %auth-user-name% %datetime% %request% %status% %response.length%";
+    private static final String COMBINED = COMMON + " %header.referer% %header.user-agent%";
+
+    private static final OffsetDateTime TIMESTAMP = ZonedDateTime
+        .of(2026, 10, 16, 10, 15, 30, 0, ZoneId.systemDefault()).toOffsetDateTime();
+    private static final String DATE_TIME = "16/Oct/2026:10:15:30 " + DateTimeFormatter.ofPattern("Z").format(TIMESTAMP);
+
+    @Test
+    public void commonPattern() {
+        assertThat(format(COMMON),
+            is("\"client.example.com\" \"NULL-AUTH-USER\" \"" + DATE_TIME + "\" "
+                + "\"GET /shop/cart.jsp?item=42 HTTP/1.1\" 200 5120 "));
+    }
+
+    @Test
+    public void combinedPattern() {
+        assertThat(format(COMBINED),
+            is("\"client.example.com\" \"NULL-AUTH-USER\" \"" + DATE_TIME + "\" "
+                + "\"GET /shop/cart.jsp?item=42 HTTP/1.1\" 200 5120 "
+                + "\"http://example.com/\" \"Mozilla/5.0\" "));
+    }
+
+    @Test
+    public void customPattern() {
+        String pattern = "%client.dns% %cookie% %cookies% %cookie.value% %cookie.theme% %cookies.JSESSIONID%"
+            + " %header.accept% %headers.accept% %header.auth% %header.X-Trace%"
+            + " %http-method% %http-uri% %http-version% %query-str% %referer% %user.agent%"
+            + " %attribute.traceId% %attribute.missing%"
+            + " %response.content-type% %response.header.Content-Type% %response.header.Server%"
+            + " %response.headers.Set-Cookie% %time-taken% %vs.id%";
+
+        assertThat(format(pattern),
+            is("\"192.168.0.1\" \"JSESSIONID=abc\" \"JSESSIONID=abc;theme=dark\" \"abc\" \"dark\" \"abc\" "
+                + "\"text/html\" \"text/html;application/xhtml+xml\" \"NULL-HEADER-AUTHORIZATION\" \"NULL-HEADER-X-TRACE\" "
+                + "\"GET\" \"/shop/cart.jsp\" \"HTTP/1.1\" \"item=42\" \"http://example.com/\" \"Mozilla/5.0\" "
+                + "\"t-1\" \"NULL-ATTRIBUTE-MISSING\" "
+                + "text/html \"text/html\" \"NULL-RESPONSE-HEADER-SERVER\" "
+                + "\"a=1;b=2\" \"NULL-TIME-TAKEN\" server "));
+    }
+
+    @Test
+    public void invalidPatternFallsBackToDefaultFormat() {
+        assertThat(format("%no-such-item%"), is(format(COMMON)));
+    }
+
+    private static String format(String pattern) {
+        Container container = stub(Container.class, (name, args) -> "getName".equals(name) ? "server" : null);
+        AccessLogFormatter formatter = new DefaultAccessLogFormatterImpl(pattern, container) {
+
+            @Override
+            protected OffsetDateTime getTimestamp() {
+                return TIMESTAMP;
+            }
+        };
+        CharBuffer buffer = CharBuffer.allocate(4096);
+        formatter.appendLogEntry(request(), response(), buffer);
+        return buffer.flip().toString();
+    }
+
+    private static Request request() {
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.put("Accept", List.of("text/html", "application/xhtml+xml"));
+        headers.put("Referer", List.of("http://example.com/"));
+        headers.put("User-Agent", List.of("Mozilla/5.0"));
+        Cookie[] cookies = {new Cookie("JSESSIONID", "abc"), new Cookie("theme", "dark")};
+        HttpServletRequest hreq = stub(HttpServletRequest.class, (name, args) -> {
+            switch (name) {
+                case "getRemoteHost":
+                    return "client.example.com";
+                case "getRemoteAddr":
+                    return "192.168.0.1";
+                case "getMethod":
+                    return "GET";
+                case "getRequestURI":
+                    return "/shop/cart.jsp";
+                case "getQueryString":
+                    return "item=42";
+                case "getProtocol":
+                    return "HTTP/1.1";
+                case "getHeader":
+                    return headers.getOrDefault(args[0], List.of()).stream().findFirst().orElse(null);
+                case "getHeaders":
+                    return Collections.enumeration(headers.getOrDefault(args[0], List.of()));
+                case "getCookies":
+                    return cookies;
+                case "getAttribute":
+                    return "traceId".equals(args[0]) ? "t-1" : null;
+                default:
+                    return null;
+            }
+        });
+        return stub(Request.class, (name, args) -> "getRequest".equals(name) ? hreq : null);
+    }
+
+    private static Response response() {
+        HttpServletResponse hres = stub(HttpServletResponse.class, (name, args) -> {
+            switch (name) {
+                case "getContentType":
+                    return "text/html";
+                case "getHeaders":
+                    return "Set-Cookie".equals(args[0]) ? List.of("a=1", "b=2") : List.of();
+                default:
+                    return null;
+            }
+        });
+        return stub(HttpResponse.class, (name, args) -> {
+            switch (name) {
+                case "getResponse":
+                    return hres;
+                case "getStatus":
+                    return 200;
+                case "getContentCount":
+                case "getContentLength":
+                    return 5120;
+                case "getContentType":
+                    return "text/html";
+                default:
+                    return null;
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface Answer {
+        Object answer(String methodName, Object[] args);
+    }
+
+    private static <T> T stub(Class<T> type, Answer answer) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+            (proxy, method, args) -> answer.answer(method.getName(), args)));
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.common.util.timer;
+
+import java.lang.System.Logger;
+import java.util.Queue;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static java.lang.System.Logger.Level.WARNING;
+
+/**
+ * Hashed timing wheel for a large number of one-shot timeouts which are mostly cancelled before
+ * they expire, like the leak detection timeouts of pooled connections and statements.
+ * <p>
+ * Scheduling and cancelling a timeout never lock: both only append to a concurrent queue. The
+ * queues are drained by {@link #advance()}, which is called every tick by a single thread, usually
+ * a {@link TimerTask} registered by {@link #start(Timer)}. The expired tasks are executed by that
+ * thread, so they must be short.
+ * <p>
+ * The precision of a timeout is one tick. A timeout longer than one rotation of the wheel stays in
+ * its bucket for the remaining rotations.
+ */
+public class HashedTimingWheel {
+
+    private static final Logger LOG = System.getLogger(HashedTimingWheel.class.getName());
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final LongSupplier nanoClock;
+    private final long startTime;
+
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingCount = new AtomicLong();
+
+    // Guarded by this, only touched by advance()
+    private long tick;
+
+    private TimerTask tickTask;
+
+    /**
+     * @param tickDuration duration of one tick
+     * @param unit unit of the tick duration
+     * @param ticksPerWheel number of buckets, rounded up to a power of two
+     */
+    public HashedTimingWheel(long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        this(tickDuration, unit, ticksPerWheel, System::nanoTime);
+    }
+
+    HashedTimingWheel(long tickDuration, TimeUnit unit, int ticksPerWheel, LongSupplier nanoClock) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be greater than 0: " + tickDuration);
+        }
+        if (ticksPerWheel <= 0 || ticksPerWheel > 1 << 30) {
+            throw new IllegalArgumentException("ticksPerWheel must be between 1 and 2^30: " + ticksPerWheel);
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        int size = Integer.highestOneBit(ticksPerWheel);
+        if (size < ticksPerWheel) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.nanoClock = nanoClock;
+        this.startTime = nanoClock.getAsLong();
+    }
+
+    /**
+     * Schedules {@link #advance()} every tick with the given timer.
+     *
+     * @param timer timer driving this wheel
+     */
+    public synchronized void start(Timer timer) {
+        if (tickTask != null) {
+            return;
+        }
+        long tickMillis = Math.max(1L, TimeUnit.NANOSECONDS.toMillis(tickNanos));
+        tickTask = new TimerTask() {
+            @Override
+            public void run() {
+                advance();
+            }
+        };
+        timer.scheduleAtFixedRate(tickTask, tickMillis, tickMillis);
+    }
+
+    /**
+     * Stops ticking and forgets all scheduled timeouts without running them.
+     */
+    public synchronized void stop() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            timeout.cancel();
+        }
+        for (Bucket bucket : wheel) {
+            bucket.cancelAll();
+        }
+        cancelledTimeouts.clear();
+    }
+
+    /**
+     * Schedules a one-shot task.
+     *
+     * @param task task executed by the thread advancing the wheel
+     * @param delay delay after which the task is executed
+     * @param unit unit of the delay
+     * @return handle which can be used to cancel the task
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        long deadline = nanoClock.getAsLong() - startTime + unit.toNanos(Math.max(0L, delay));
+        Timeout timeout = new Timeout(this, task, deadline);
+        pendingCount.incrementAndGet();
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * @return number of scheduled timeouts which neither expired nor were cancelled yet
+     */
+    public long getPendingTimeouts() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Moves the wheel to the current time and runs all tasks which expired meanwhile.
+     * A bucket is processed only after its whole tick elapsed, so no task runs early.
+     */
+    public synchronized void advance() {
+        long currentTick = (nanoClock.getAsLong() - startTime) / tickNanos;
+        while (tick < currentTick) {
+            removeCancelledTimeouts();
+            transferPendingTimeouts();
+            wheel[(int) (tick & mask)].expireTimeouts();
+            tick++;
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.state != Timeout.ST_INIT) {
+                continue;
+            }
+            long expiryTick = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (expiryTick - tick) >> Integer.numberOfTrailingZeros(wheel.length);
+            // A timeout which should have expired already expires with the current tick
+            long ticks = Math.max(expiryTick, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /**
+     * Handle of a task scheduled with {@link HashedTimingWheel#schedule(Runnable, long, TimeUnit)}.
+     */
+    public static final class Timeout {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE = AtomicIntegerFieldUpdater
+            .newUpdater(Timeout.class, "state");
+
+        private final HashedTimingWheel timingWheel;
+        private final Runnable task;
+        private final long deadline;
+        private volatile int state = ST_INIT;
+
+        // Touched only by the thread advancing the wheel
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(HashedTimingWheel timingWheel, Runnable task, long deadline) {
+            this.timingWheel = timingWheel;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels the task if it did not run yet.
+         *
+         * @return true if this call cancelled the task
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            timingWheel.pendingCount.decrementAndGet();
+            timingWheel.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state == ST_EXPIRED;
+        }
+
+        private void expire() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            timingWheel.pendingCount.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                LOG.log(WARNING, "Timing wheel task " + task + " failed.", t);
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of the timeouts hashed to one tick of the wheel.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expireTimeouts() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void cancelAll() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                remove(timeout);
+                timeout.cancel();
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,472 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.common.util.timer;
+
+import java.lang.System.Logger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+import static java.lang.System.Logger.Level.WARNING;
+
+/**
+ * Hierarchical timing wheel for a large number of timeouts at absolute times, which may lie
+ * anywhere between milliseconds and years ahead, like the expirations of EJB timers.
+ * <p>
+ * The first wheel has buckets of one tick. Every further wheel is created when needed, its buckets
+ * span one rotation of the previous wheel. A timeout is put in the bucket of the finest wheel
+ * which covers its expiration time. When a bucket of a coarser wheel comes due, its timeouts move
+ * to the finer wheels, so every timeout is moved at most once per wheel. Only the buckets holding
+ * timeouts are ordered by their expiration time, so the thread of the wheel sleeps until the next
+ * bucket comes due instead of ticking.
+ * <p>
+ * Scheduling and cancelling never lock: both only append to a concurrent queue drained by the
+ * thread of the wheel. A cancelled timeout is unlinked from its bucket in constant time. Expired
+ * timeouts are spread over shards by their hash and every shard runs its timeouts in order on the
+ * dispatch executor, so the tasks should be short. A timeout never expires before its time, and
+ * at most one tick after it, unless the dispatch executor is busy.
+ */
+public class HierarchicalTimingWheel {
+
+    private static final Logger LOG = System.getLogger(HierarchicalTimingWheel.class.getName());
+
+    /** Longest sleep of the thread of the wheel, so changes of the wall clock are noticed. */
+    private static final long MAX_SLEEP_MILLIS = 1000L;
+    private static final long AWAKE = Long.MIN_VALUE;
+
+    private final String name;
+    private final long tickMillis;
+    private final int wheelSize;
+    private final LongSupplier clock;
+    private final Shard[] shards;
+    private final int shardMask;
+
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final LongAdder pendingCount = new LongAdder();
+
+    // Touched only by the thread advancing the wheel
+    private final PriorityQueue<Bucket> dueBuckets = new PriorityQueue<>(
+        (bucket1, bucket2) -> Long.compare(bucket1.expiration, bucket2.expiration));
+    private Wheel wheel;
+
+    private volatile Thread thread;
+    private volatile boolean running;
+    /** Time the thread of the wheel sleeps until, or {@link #AWAKE}. */
+    private volatile long wakeupTime = AWAKE;
+
+    /**
+     * @param name name of the thread of the wheel
+     * @param tickMillis precision of the wheel in milliseconds
+     * @param wheelSize number of buckets of every wheel
+     * @param dispatcher executor running the expired timeouts, null to run them by the thread of
+     *            the wheel
+     * @param shards number of shards, rounded up to a power of two
+     */
+    public HierarchicalTimingWheel(String name, long tickMillis, int wheelSize, Executor dispatcher, int shards) {
+        this(name, tickMillis, wheelSize, dispatcher, shards, System::currentTimeMillis);
+    }
+
+    HierarchicalTimingWheel(String name, long tickMillis, int wheelSize, Executor dispatcher, int shards,
+        LongSupplier clock) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be greater than 0: " + tickMillis);
+        }
+        if (wheelSize < 2) {
+            throw new IllegalArgumentException("wheelSize must be at least 2: " + wheelSize);
+        }
+        this.name = name;
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.clock = clock;
+        int shardCount = Integer.highestOneBit(Math.max(1, shards) * 2 - 1);
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            this.shards[i] = new Shard(dispatcher);
+        }
+        this.shardMask = shardCount - 1;
+        this.wheel = new Wheel(tickMillis, floor(clock.getAsLong(), tickMillis));
+    }
+
+    /**
+     * Starts the daemon thread advancing the wheel.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        Thread wheelThread = new Thread(this::run, name);
+        wheelThread.setDaemon(true);
+        thread = wheelThread;
+        wheelThread.start();
+    }
+
+    /**
+     * Stops the thread advancing the wheel. Scheduled timeouts are kept, they expire after the
+     * next {@link #start()}.
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Thread wheelThread = thread;
+        thread = null;
+        LockSupport.unpark(wheelThread);
+        try {
+            wheelThread.join(MAX_SLEEP_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Schedules a one-shot task.
+     *
+     * @param task task executed by the dispatch executor
+     * @param expirationTime time in milliseconds since the epoch when the task should run
+     * @return handle which can be used to cancel the task
+     */
+    public Timeout schedule(Runnable task, long expirationTime) {
+        Timeout timeout = new Timeout(this, task, expirationTime);
+        pendingCount.increment();
+        pendingTimeouts.add(timeout);
+        // The thread of the wheel either sees the new timeout or is woken up.
+        if (expirationTime < wakeupTime) {
+            LockSupport.unpark(thread);
+        }
+        return timeout;
+    }
+
+    /**
+     * @return number of scheduled timeouts which neither expired nor were cancelled yet
+     */
+    public long getPendingTimeouts() {
+        return pendingCount.sum();
+    }
+
+    private void run() {
+        while (running) {
+            long now = clock.getAsLong();
+            long sleepUntil;
+            try {
+                sleepUntil = Math.min(advance(now), now + MAX_SLEEP_MILLIS);
+            } catch (RuntimeException | Error e) {
+                LOG.log(WARNING, "Timing wheel " + name + " failed to advance.", e);
+                sleepUntil = now + tickMillis;
+            }
+            wakeupTime = sleepUntil;
+            if (pendingTimeouts.isEmpty() && running) {
+                LockSupport.parkUntil(this, sleepUntil);
+            }
+            wakeupTime = AWAKE;
+        }
+    }
+
+    /**
+     * Moves the wheel to the given time and dispatches all timeouts which expired meanwhile.
+     *
+     * @param now current time in milliseconds since the epoch
+     * @return time the next bucket comes due, or {@link Long#MAX_VALUE} if there is none
+     */
+    synchronized long advance(long now) {
+        if (now < wheel.currentTime) {
+            // The wall clock was turned back.
+            rebuild(now);
+        }
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.state == Timeout.ST_INIT) {
+                add(timeout, now);
+            }
+        }
+        Bucket bucket;
+        while ((bucket = dueBuckets.peek()) != null && bucket.expiration <= now) {
+            dueBuckets.poll();
+            wheel.advanceClock(bucket.expiration);
+            bucket.expiration = -1L;
+            while ((timeout = bucket.head) != null) {
+                bucket.remove(timeout);
+                if (timeout.state == Timeout.ST_INIT) {
+                    add(timeout, now);
+                }
+            }
+        }
+        bucket = dueBuckets.peek();
+        return bucket == null ? Long.MAX_VALUE : bucket.expiration;
+    }
+
+    private void add(Timeout timeout, long now) {
+        // Rounded up to the next tick, so no timeout expires early.
+        long time = timeout.expirationTime > Long.MAX_VALUE - tickMillis
+            ? Long.MAX_VALUE : timeout.expirationTime + tickMillis - 1;
+        if (timeout.expirationTime <= now || time < wheel.currentTime + tickMillis) {
+            dispatch(timeout);
+            return;
+        }
+        Wheel level = wheel;
+        while (time - level.currentTime >= level.interval) {
+            level = level.getOverflowWheel();
+        }
+        long bucketExpiration = floor(time, level.tick);
+        Bucket bucket = level.buckets[(int) Math.floorMod(bucketExpiration / level.tick, (long) wheelSize)];
+        bucket.add(timeout);
+        if (bucket.expiration != bucketExpiration) {
+            bucket.expiration = bucketExpiration;
+            dueBuckets.add(bucket);
+        }
+    }
+
+    /**
+     * Puts all timeouts into a new wheel starting at the given time.
+     */
+    private void rebuild(long now) {
+        List<Timeout> timeouts = new ArrayList<>();
+        Bucket bucket;
+        while ((bucket = dueBuckets.poll()) != null) {
+            bucket.expiration = -1L;
+            Timeout timeout;
+            while ((timeout = bucket.head) != null) {
+                bucket.remove(timeout);
+                timeouts.add(timeout);
+            }
+        }
+        wheel = new Wheel(tickMillis, floor(now, tickMillis));
+        for (Timeout timeout : timeouts) {
+            if (timeout.state == Timeout.ST_INIT) {
+                add(timeout, now);
+            }
+        }
+    }
+
+    private void dispatch(Timeout timeout) {
+        int hash = System.identityHashCode(timeout);
+        shards[(hash ^ (hash >>> 16)) & shardMask].add(timeout);
+    }
+
+    private static long floor(long time, long unit) {
+        return Math.floorDiv(time, unit) * unit;
+    }
+
+    /**
+     * Handle of a task scheduled with {@link HierarchicalTimingWheel#schedule(Runnable, long)}.
+     */
+    public static final class Timeout {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE = AtomicIntegerFieldUpdater
+            .newUpdater(Timeout.class, "state");
+
+        private final HierarchicalTimingWheel timingWheel;
+        private final Runnable task;
+        private final long expirationTime;
+        private volatile int state = ST_INIT;
+
+        // Touched only by the thread advancing the wheel
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(HierarchicalTimingWheel timingWheel, Runnable task, long expirationTime) {
+            this.timingWheel = timingWheel;
+            this.task = task;
+            this.expirationTime = expirationTime;
+        }
+
+        /**
+         * @return time in milliseconds since the epoch when the task should run
+         */
+        public long getExpirationTime() {
+            return expirationTime;
+        }
+
+        /**
+         * Cancels the task if it did not run yet.
+         *
+         * @return true if this call cancelled the task
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            timingWheel.pendingCount.decrement();
+            timingWheel.cancelledTimeouts.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state == ST_EXPIRED;
+        }
+
+        private void expire() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            timingWheel.pendingCount.decrement();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                LOG.log(WARNING, "Timing wheel task " + task + " failed.", t);
+            }
+        }
+    }
+
+    /**
+     * One level of the hierarchy.
+     */
+    private final class Wheel {
+
+        final long tick;
+        final long interval;
+        final Bucket[] buckets;
+        long currentTime;
+        private Wheel overflowWheel;
+
+        Wheel(long tick, long currentTime) {
+            this.tick = tick;
+            this.interval = tick > Long.MAX_VALUE / wheelSize ? Long.MAX_VALUE : tick * wheelSize;
+            this.currentTime = currentTime;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket();
+            }
+        }
+
+        Wheel getOverflowWheel() {
+            if (overflowWheel == null) {
+                overflowWheel = new Wheel(interval, floor(currentTime, interval));
+            }
+            return overflowWheel;
+        }
+
+        void advanceClock(long time) {
+            if (time >= currentTime + tick) {
+                currentTime = floor(time, tick);
+                if (overflowWheel != null) {
+                    overflowWheel.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of the timeouts of one bucket of a wheel.
+     */
+    private static final class Bucket {
+
+        /** Time the bucket comes due, -1 if it is not in the queue of due buckets. */
+        long expiration = -1L;
+        Timeout head;
+        Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            Timeout next = timeout.next;
+            if (timeout.prev != null) {
+                timeout.prev.next = next;
+            }
+            if (next != null) {
+                next.prev = timeout.prev;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+
+    /**
+     * Expired timeouts run in order by one task of the dispatch executor at a time.
+     */
+    private static final class Shard implements Runnable {
+
+        private final Executor dispatcher;
+        private final Queue<Timeout> expiredTimeouts = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Shard(Executor dispatcher) {
+            this.dispatcher = dispatcher;
+        }
+
+        void add(Timeout timeout) {
+            if (dispatcher == null) {
+                timeout.expire();
+                return;
+            }
+            expiredTimeouts.add(timeout);
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this);
+                } catch (RejectedExecutionException e) {
+                    LOG.log(WARNING, "Timing wheel dispatcher rejected the expired timeouts, running them now.", e);
+                    run();
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            do {
+                Timeout timeout;
+                while ((timeout = expiredTimeouts.poll()) != null) {
+                    timeout.expire();
+                }
+                scheduled.set(false);
+            } while (!expiredTimeouts.isEmpty() && scheduled.compareAndSet(false, true));
+        }
+    }
+}
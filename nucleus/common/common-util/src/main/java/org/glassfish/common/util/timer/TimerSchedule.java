@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,6 +18,14 @@
 package org.glassfish.common.util.timer;
 
 import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Calendar;
@@ -39,6 +48,8 @@ import java.util.regex.Pattern;
 
 public class TimerSchedule implements Serializable {
 
+    private static final long serialVersionUID = 6075156034302380190L;
+
     private String second_ = "0";
     private String minute_ = "0";
     private String hour_ = "0";
@@ -71,6 +82,8 @@ public class TimerSchedule implements Serializable {
     private List<String> daysOfWeekOrRangesOfDaysInMonth = new ArrayList<String>();
     private List<Integer> years = new ArrayList<Integer>();
 
+    private transient volatile CompiledSchedule compiled;
+
     private static final Pattern simpleRangePattern = Pattern.compile("[0-9]+\\s*-\\s*([0-9]+|last)");
     private static final Pattern positivePattern = Pattern.compile("[0-9]+");
     private static final Pattern negativePattern = Pattern.compile("-[1-7]");
@@ -324,23 +337,112 @@ public class TimerSchedule implements Serializable {
      */
     public Calendar getNextTimeout() {
 
-        return getNextTimeout(new GregorianCalendar(Locale.ENGLISH));
+        return getNextTimeout(System.currentTimeMillis());
     }
 
    /**
      * Returns the Date of the next possible timeout after the specific date.
      */
     public Calendar getNextTimeout(Date date) {
-        Calendar next = new GregorianCalendar(Locale.ENGLISH);
-        next.setTime(date);
 
-        return getNextTimeout(next);
+        return getNextTimeout(date.getTime());
     }
 
    /**
-     * Returns the Date of the next possible timeout after the specific Calendar date
+     * Returns the Date of the next possible timeout after the specific time.
+     * The search runs in the local time of the schedule's time zone. A timeout
+     * that falls into a daylight saving time gap is moved forward by the length
+     * of the gap. The local times repeated after an overlap match only once, at
+     * their first occurrence, unless the schedule runs every hour, in which case
+     * the timeouts continue through the repeated hour.
      */
-    private Calendar getNextTimeout(Calendar next) {
+    private Calendar getNextTimeout(long date) {
+        if (!configured) {
+            configure();
+        }
+
+        CompiledSchedule schedule = compiled;
+        if (schedule == null) {
+            schedule = new CompiledSchedule();
+            compiled = schedule;
+        }
+
+        long from;
+        if (start_ != null && date < start_.getTime()) {
+            from = start_.getTime();
+        } else {
+            from = (Math.floorDiv(date, 1000L) + 1) * 1000L;
+        }
+
+        ZoneId zone = (schedule.zone == null)? ZoneId.systemDefault() : schedule.zone;
+        ZoneRules rules = zone.getRules();
+        long fromSecond = Math.floorDiv(from, 1000L);
+        Instant fromInstant = Instant.ofEpochSecond(fromSecond);
+        ZoneOffset offset = rules.getOffset(fromInstant);
+        LocalDateTime local = LocalDateTime.ofEpochSecond(fromSecond, 0, offset);
+        LocalDateTime searchFrom = local;
+        ZoneOffsetTransition overlap = rules.isFixedOffset()? null : rules.getTransition(local);
+        if (overlap != null && overlap.isOverlap() && !schedule.everyHour
+                && offset.equals(overlap.getOffsetAfter())) {
+            // Started in the second occurrence of the local times of an overlap,
+            // which matched already in the first one
+            searchFrom = overlap.getDateTimeBefore();
+        }
+
+        int lastYear = years.isEmpty()? local.getYear() + MAX_YEAR_TRY : years.get(years.size() - 1);
+        if (end_ != null) {
+            lastYear = Math.min(lastYear, LocalDateTime.ofInstant(end_.toInstant(), zone).getYear());
+        }
+
+        LocalDateTime next = schedule.next(searchFrom, lastYear);
+        long nextSecond = fromSecond;
+        if (!next.equals(local)) {
+            ZonedDateTime zoned = ZonedDateTime.of(next, zone);
+            if (zoned.toEpochSecond() < fromSecond) {
+                // Started in the second occurrence of the local times of an overlap
+                zoned = zoned.withLaterOffsetAtOverlap();
+            }
+            nextSecond = zoned.toEpochSecond();
+            ZoneOffsetTransition transition = rules.isFixedOffset()? null : rules.nextTransition(fromInstant);
+            if (transition != null && next.getYear() <= lastYear
+                    && (transition.isGap() || schedule.everyHour)
+                    && !next.isBefore(transition.getDateTimeBefore())) {
+                // The local time continues on the other side of the transition,
+                // which skips a gap, or repeats the local times of an overlap
+                // for the schedules that run every hour
+                LocalDateTime after = schedule.next(transition.getDateTimeAfter(), lastYear);
+                if (after.getYear() <= lastYear) {
+                    nextSecond = Math.min(nextSecond,
+                            ZonedDateTime.ofLocal(after, zone, transition.getOffsetAfter()).toEpochSecond());
+                }
+            }
+        }
+
+        // Keeps the milliseconds of the start date
+        long nextTime = nextSecond * 1000L + Math.floorMod(from, 1000L);
+        if (next.getYear() > lastYear && years.isEmpty()
+                && (end_ == null || nextTime <= end_.getTime())) {
+            // Can't find the date - it's most probably invalid
+            isValid = false;
+        }
+
+        Calendar result = new GregorianCalendar(Locale.ENGLISH);
+        if (tz_ != null) {
+            result.setTimeZone(tz_);
+        }
+        result.setTimeInMillis(nextTime);
+        return result;
+    }
+
+    /**
+     * Returns the Date of the next possible timeout after the specific date
+     * by stepping through the fields of a Calendar. This is the calculation
+     * the compiled schedule replaced, kept to verify it against.
+     */
+    Calendar getNextTimeoutByFields(Date date) {
+        Calendar next = new GregorianCalendar(Locale.ENGLISH);
+        next.setTime(date);
+
         if (!configured) {
             configure();
         }
@@ -356,27 +458,23 @@ public class TimerSchedule implements Serializable {
             next.set(Calendar.MILLISECOND, 0);
         }
 
-        //System.out.println("... starting with ... " + next.getTime() );
-
         if (years.size() == 0) {
-            return getNextTimeout(next, 0);
+            return getNextTimeoutByFields(next, 0);
         }
 
         int currYear = next.get(Calendar.YEAR);
         for(int year : years) {
-            //System.out.println("... testing year ... " + year);
             if (year < currYear) {
                 continue;
             }
 
             if (next.get(Calendar.YEAR) == year) {
-                next = getNextTimeout(next, year);
+                next = getNextTimeoutByFields(next, year);
 
             } else if (next.get(Calendar.YEAR) < year) {
                 // set to the beginning of the year
                 next.set(year, 0, 1, 0, 0, 0);
-                System.out.println("==> Year reset " + next.getTime());
-                next = getNextTimeout(next, year);
+                next = getNextTimeoutByFields(next, year);
             }
 
             if (next.get(Calendar.YEAR) == year) {
@@ -384,7 +482,6 @@ public class TimerSchedule implements Serializable {
             }
         }
 
-        //System.out.println("... returning ... " + next.getTime() + " <> " + next.getTimeInMillis());
         return next;
     }
 
@@ -393,7 +490,7 @@ public class TimerSchedule implements Serializable {
      * Returns the Date of the next possible timeout for a specific
      * year value and starting date. If year is 0, any year will be correct.
      */
-    private Calendar getNextTimeout(Calendar next, int year) {
+    private Calendar getNextTimeoutByFields(Calendar next, int year) {
         int i = 0;
         while (end_ == null || !next.getTime().after(end_)) {
 
@@ -509,6 +606,7 @@ public class TimerSchedule implements Serializable {
             tz_ = TimeZone.getTimeZone(timezone_);
         }
 
+        compiled = null;
         configured = true;
     }
 
@@ -1014,4 +1112,328 @@ public class TimerSchedule implements Serializable {
     private boolean isDayOfWeek(String field) {
         return field.equals(DAY_OF_WEEK);
     }
+
+    /**
+     * The schedule compiled into bit masks of the allowed values of each field,
+     * where bit i stands for the value i. The next timeout is found by jumping
+     * from one allowed value to the next with a few bit operations instead of
+     * stepping through the fields of a Calendar.
+     *
+     * The days of a month depend on the month for most dayOfMonth and dayOfWeek
+     * values, so they are computed once per month and cached.
+     */
+    private final class CompiledSchedule {
+
+        private final long secondBits;
+        private final long minuteBits;
+        private final long hourBits;
+        // 1 (January) to 12 (December)
+        private final long monthBits;
+        // ISO values, 1 (Monday) to 7 (Sunday)
+        private final int dayOfWeekBits;
+        private final long dayOfMonthBits;
+        private final boolean anyDayOfWeek;
+        private final boolean anyDayOfMonth;
+        // Matches the local times repeated by an overlap again
+        private final boolean everyHour;
+        private final int[] yearValues;
+        private final ZoneId zone;
+
+        // Indexed by the month. The entries are immutable, so threads racing
+        // on a slot at worst compute the days of a month twice.
+        private final MonthDays[] monthDays = new MonthDays[16];
+
+        CompiledSchedule() {
+            secondBits = toBits(seconds, 0);
+            minuteBits = toBits(minutes, 0);
+            hourBits = toBits(hours, 0);
+            everyHour = hourBits == (1L << 24) - 1;
+            monthBits = toBits(months, 1);
+
+            int bits = 0;
+            for (int i = daysOfWeek.nextSetBit(0); i >= 0; i = daysOfWeek.nextSetBit(i + 1)) {
+                // Calendar.SUNDAY is 1 and Calendar.SATURDAY is 7
+                bits |= 1 << ((i == Calendar.SUNDAY)? 7 : i - 1);
+            }
+            dayOfWeekBits = bits;
+            dayOfMonthBits = toBits(daysOfMonth, 0);
+            anyDayOfWeek = dayOfWeek_.equals("*");
+            anyDayOfMonth = dayOfMonth_.equals("*");
+
+            yearValues = new int[years.size()];
+            for (int i = 0; i < yearValues.length; i++) {
+                yearValues[i] = years.get(i);
+            }
+            zone = (tz_ == null)? null : tz_.toZoneId();
+        }
+
+        /**
+         * Returns the first local time starting with the specific one that matches
+         * the schedule, or a time after the last year if there is none up to it.
+         */
+        LocalDateTime next(LocalDateTime from, int lastYear) {
+            int year = from.getYear();
+            int month = from.getMonthValue();
+            int day = from.getDayOfMonth();
+            int hour = from.getHour();
+            int minute = from.getMinute();
+            int second = from.getSecond();
+
+            while (year <= lastYear) {
+                if (yearValues.length > 0) {
+                    int y = nextYear(year);
+                    if (y == -1) {
+                        year = lastYear + 1;
+                        break;
+                    }
+                    if (y != year) {
+                        year = y;
+                        month = 1;
+                        day = 1;
+                        hour = minute = second = 0;
+                    }
+                }
+
+                int m = nextValue(monthBits, month);
+                if (m == -1) {
+                    year++;
+                    month = 1;
+                    day = 1;
+                    hour = minute = second = 0;
+                    continue;
+                }
+                if (m != month) {
+                    month = m;
+                    day = 1;
+                    hour = minute = second = 0;
+                }
+
+                int d = nextValue(daysOf(year, month), day);
+                if (d == -1) {
+                    month++;
+                    day = 1;
+                    hour = minute = second = 0;
+                    continue;
+                }
+                if (d != day) {
+                    day = d;
+                    hour = minute = second = 0;
+                }
+
+                int h = nextValue(hourBits, hour);
+                if (h == -1) {
+                    day++;
+                    hour = minute = second = 0;
+                    continue;
+                }
+                if (h != hour) {
+                    hour = h;
+                    minute = second = 0;
+                }
+
+                int mi = nextValue(minuteBits, minute);
+                if (mi == -1) {
+                    hour++;
+                    minute = second = 0;
+                    continue;
+                }
+                if (mi != minute) {
+                    minute = mi;
+                    second = 0;
+                }
+
+                int s = nextValue(secondBits, second);
+                if (s == -1) {
+                    minute++;
+                    second = 0;
+                    continue;
+                }
+
+                return LocalDateTime.of(year, month, day, hour, minute, s);
+            }
+
+            return (year > from.getYear())? LocalDateTime.of(year, 1, 1, 0, 0) : from;
+        }
+
+        /**
+         * Returns the first of the years that is not before the specific one, or -1.
+         */
+        private int nextYear(int year) {
+            for (int y : yearValues) {
+                if (y >= year) {
+                    return y;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Returns the bits of the days of the specific month that match the schedule.
+         */
+        private long daysOf(int year, int month) {
+            int key = year * 12 + month;
+            int index = key & (monthDays.length - 1);
+            MonthDays entry = monthDays[index];
+            if (entry == null || entry.key != key) {
+                entry = new MonthDays(key, computeDays(YearMonth.of(year, month)));
+                monthDays[index] = entry;
+            }
+            return entry.days;
+        }
+
+        private long computeDays(YearMonth month) {
+            int lastday = month.lengthOfMonth();
+            long days;
+            if (anyDayOfWeek) {
+                // Either dayOfMonth_ is specified, and we'll use it or
+                // neither is specified and any one can be used.
+                days = daysOfMonth(month, lastday);
+            } else if (anyDayOfMonth) {
+                days = daysOfWeek(month, lastday);
+            } else {
+                // Both are specified - any of them matches
+                days = daysOfMonth(month, lastday) | daysOfWeek(month, lastday);
+            }
+            return days & bitsBetween(1, lastday);
+        }
+
+        private long daysOfMonth(YearMonth month, int lastday) {
+            long days = dayOfMonthBits;
+            if (anyDayOfMonth) {
+                return days;
+            }
+
+            if (lastDayOfMonth) {
+                days |= bitsBetween(lastday, lastday);
+            }
+
+            if (dayBeforeEndOfMonth > 0) {
+                days |= bitsBetween(lastday - dayBeforeEndOfMonth, lastday - dayBeforeEndOfMonth);
+            }
+
+            for (String s : daysOfWeekOrRangesOfDaysInMonth) {
+                if (s.indexOf(rangeChar, 1) > 0) {
+                    String[] arr = splitBy(s, rangeChar);
+                    int begin = getDayForDayOfMonth(month, arr[0]);
+                    int end = getDayForDayOfMonth(month, arr[1]);
+                    if (begin <= end) {
+                        days |= bitsBetween(begin, end);
+                    } else {
+                        days |= bitsBetween(begin, lastday) | bitsBetween(1, end);
+                    }
+                } else {
+                    int day = getDayForDayOfMonth(month, s);
+                    days |= bitsBetween(day, day);
+                }
+            }
+            return days;
+        }
+
+        private long daysOfWeek(YearMonth month, int lastday) {
+            int dayOfWeek = month.atDay(1).getDayOfWeek().getValue();
+            long days = 0;
+            for (int day = 1; day <= lastday; day++) {
+                if ((dayOfWeekBits & (1 << dayOfWeek)) != 0) {
+                    days |= 1L << day;
+                }
+                dayOfWeek = (dayOfWeek == 7)? 1 : dayOfWeek + 1;
+            }
+            return days;
+        }
+
+        /**
+         * Return day of the month that represents the specific occurance of
+         * this day of the week, like "2nd Mon" or "Last Wed" or part of a range
+         * which in turn can be any valid option for dayOfMonth.
+         */
+        private int getDayForDayOfMonth(YearMonth month, String s) {
+            if (positivePattern.matcher(s).matches()) {
+                 return parseInt(s, DAY_OF_MONTH);
+            }
+
+            int lastday = month.lengthOfMonth();
+
+            if (s.equals("last")) {
+                return lastday;
+
+            } else if (negativePattern.matcher(s).matches()) {
+                return lastday - parseInt(s.substring(1), DAY_OF_MONTH);
+
+            } else if (orderedDayPattern.matcher(s).matches()) {
+                String arr[] = splitBy(s, ' ');
+                int num = -1;
+                if (!arr[0].equals("last")) {
+                    num = parseInt(arr[0].substring(0, 1), DAY_OF_MONTH);
+                }
+
+                // Convert name of the day to a number, then number to the
+                // Calendar's value for that day, and that one to the ISO value.
+                Integer weekday = conversionTable.get(arr[1]);
+                assertValid(weekday, arr[1], DAY_OF_MONTH);
+
+                int day = conversionTable.get(weekday);
+                int dayOfWeek = (day == Calendar.SUNDAY)? 7 : day - 1;
+                if (num == -1) {
+                    int last = month.atDay(lastday).getDayOfWeek().getValue();
+                    return lastday - (last - dayOfWeek + 7) % 7;
+                }
+
+                int first = month.atDay(1).getDayOfWeek().getValue();
+                int result = (num - 1) * 7 + 1 + (dayOfWeek - first + 7) % 7;
+                // The month doesn't have that many of this day of the week
+                return (result <= lastday)? result : 1;
+            }
+
+            throw new IllegalArgumentException("Invalid dayOfMonth value: " + s);
+        }
+    }
+
+    /**
+     * Days of one month that match the schedule.
+     */
+    private static final class MonthDays {
+
+        private final int key;
+        private final long days;
+
+        MonthDays(int key, long days) {
+            this.key = key;
+            this.days = days;
+        }
+    }
+
+    /**
+     * Converts the set bits to a bit mask, shifted by the specific number of bits.
+     */
+    private static long toBits(BitSet bits, int shift) {
+        long result = 0;
+        for (int i = bits.nextSetBit(0); i >= 0 && i + shift < 64; i = bits.nextSetBit(i + 1)) {
+            result |= 1L << (i + shift);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a bit mask with the bits from begin to end (inclusive) set.
+     * Bits outside of a long are ignored.
+     */
+    private static long bitsBetween(int begin, int end) {
+        begin = Math.max(begin, 0);
+        end = Math.min(end, 63);
+        if (begin > end) {
+            return 0;
+        }
+        return (-1L >>> (63 - end)) & (-1L << begin);
+    }
+
+    /**
+     * Returns the first set bit that is not before the specific one, or -1.
+     */
+    private static int nextValue(long bits, int from) {
+        if (from > 63) {
+            return -1;
+        }
+        long next = bits & (-1L << from);
+        return (next == 0)? -1 : Long.numberOfTrailingZeros(next);
+    }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.common.util.timer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.glassfish.common.util.timer.HashedTimingWheel.Timeout;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HashedTimingWheelTest {
+
+    private AtomicLong clock;
+    private HashedTimingWheel wheel;
+    private List<String> executed;
+
+    @BeforeEach
+    public void init() {
+        clock = new AtomicLong(1_000_000L);
+        wheel = new HashedTimingWheel(100, MILLISECONDS, 8, clock::get);
+        executed = new ArrayList<>();
+    }
+
+    @Test
+    public void expiresAfterDelay() {
+        wheel.schedule(() -> executed.add("a"), 250, MILLISECONDS);
+        advanceBy(200);
+        assertEquals(List.of(), executed);
+        advanceBy(100);
+        assertEquals(List.of("a"), executed);
+        assertEquals(0, wheel.getPendingTimeouts());
+    }
+
+    @Test
+    public void expiresAfterSeveralRounds() {
+        // one round of the wheel is 800 ms
+        Timeout timeout = wheel.schedule(() -> executed.add("a"), 2450, MILLISECONDS);
+        for (int i = 0; i < 24; i++) {
+            advanceBy(100);
+        }
+        assertAll(
+            () -> assertEquals(List.of(), executed),
+            () -> assertFalse(timeout.isExpired())
+        );
+        advanceBy(100);
+        assertAll(
+            () -> assertEquals(List.of("a"), executed),
+            () -> assertTrue(timeout.isExpired())
+        );
+    }
+
+    @Test
+    public void cancelledTimeoutDoesNotRun() {
+        Timeout cancelled = wheel.schedule(() -> executed.add("cancelled"), 100, MILLISECONDS);
+        wheel.schedule(() -> executed.add("kept"), 100, MILLISECONDS);
+        assertEquals(2, wheel.getPendingTimeouts());
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertEquals(1, wheel.getPendingTimeouts());
+        advanceBy(300);
+        assertAll(
+            () -> assertEquals(List.of("kept"), executed),
+            () -> assertTrue(cancelled.isCancelled()),
+            () -> assertFalse(cancelled.isExpired())
+        );
+    }
+
+    @Test
+    public void cancelAfterTransferToBucket() {
+        Timeout timeout = wheel.schedule(() -> executed.add("a"), 1, SECONDS);
+        advanceBy(100);
+        assertTrue(timeout.cancel());
+        advanceBy(2000);
+        assertEquals(List.of(), executed);
+        assertEquals(0, wheel.getPendingTimeouts());
+    }
+
+    @Test
+    public void lateAdvanceRunsAllExpiredTasksInOrder() {
+        wheel.schedule(() -> executed.add("b"), 500, MILLISECONDS);
+        wheel.schedule(() -> executed.add("a"), 200, MILLISECONDS);
+        advanceBy(5000);
+        assertEquals(List.of("a", "b"), executed);
+    }
+
+    @Test
+    public void failingTaskDoesNotStopTheWheel() {
+        wheel.schedule(() -> {throw new IllegalStateException("expected");}, 100, MILLISECONDS);
+        wheel.schedule(() -> executed.add("a"), 100, MILLISECONDS);
+        advanceBy(200);
+        assertEquals(List.of("a"), executed);
+    }
+
+    @Test
+    public void stopForgetsScheduledTimeouts() {
+        Timeout timeout = wheel.schedule(() -> executed.add("a"), 100, MILLISECONDS);
+        wheel.schedule(() -> executed.add("b"), 1, SECONDS);
+        advanceBy(50);
+        wheel.stop();
+        advanceBy(2000);
+        assertAll(
+            () -> assertEquals(List.of(), executed),
+            () -> assertTrue(timeout.isCancelled()),
+            () -> assertEquals(0, wheel.getPendingTimeouts())
+        );
+    }
+
+    @Test
+    public void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel(0, TimeUnit.SECONDS, 8));
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel(1, TimeUnit.SECONDS, 0));
+    }
+
+    private void advanceBy(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+        wheel.advance();
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.common.util.timer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.glassfish.common.util.timer.HierarchicalTimingWheel.Timeout;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    private AtomicLong clock;
+    private HierarchicalTimingWheel wheel;
+    private List<String> executed;
+
+    @BeforeEach
+    public void init() {
+        clock = new AtomicLong(START);
+        // One rotation of the first wheel is 80 ms
+        wheel = new HierarchicalTimingWheel("test-wheel", 10, 8, null, 1, clock::get);
+        executed = new ArrayList<>();
+    }
+
+    @Test
+    public void expiresAtItsTime() {
+        wheel.schedule(() -> executed.add("a"), START + 255);
+        assertEquals(START + 260, advanceTo(START + 250));
+        assertEquals(List.of(), executed);
+        advanceTo(START + 260);
+        assertEquals(List.of("a"), executed);
+        assertEquals(0, wheel.getPendingTimeouts());
+    }
+
+    @Test
+    public void distantTimeoutMovesToFinerWheels() {
+        long expiration = START + TimeUnit.DAYS.toMillis(400) + 3;
+        Timeout timeout = wheel.schedule(() -> executed.add("a"), expiration);
+        long now = START;
+        int wakeups = 0;
+        while (executed.isEmpty()) {
+            now = advanceTo(now);
+            wakeups++;
+        }
+        assertAll(
+            () -> assertEquals(expiration + 7, clock.get()),
+            () -> assertTrue(timeout.isExpired())
+        );
+        // Once per wheel instead of once per tick
+        assertTrue(wakeups < 16, "wakeups: " + wakeups);
+    }
+
+    @Test
+    public void timeoutsNeverExpireEarly() {
+        Random random = new Random(42);
+        List<long[]> expirations = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            long[] expiration = {START + random.nextInt(1_000_000), 0};
+            expirations.add(expiration);
+            wheel.schedule(() -> expiration[1] = clock.get(), expiration[0]);
+        }
+        long now = START;
+        while (wheel.getPendingTimeouts() > 0) {
+            now = advanceTo(now);
+        }
+        for (long[] expiration : expirations) {
+            long lateness = expiration[1] - expiration[0];
+            assertTrue(lateness >= 0 && lateness < 10, "lateness: " + lateness);
+        }
+    }
+
+    @Test
+    public void cancelledTimeoutDoesNotRun() {
+        Timeout cancelled = wheel.schedule(() -> executed.add("cancelled"), START + 1000);
+        wheel.schedule(() -> executed.add("kept"), START + 1000);
+        advanceTo(START + 500);
+        assertAll(
+            () -> assertTrue(cancelled.cancel()),
+            () -> assertFalse(cancelled.cancel()),
+            () -> assertEquals(1, wheel.getPendingTimeouts())
+        );
+        advanceTo(START + 1000);
+        assertAll(
+            () -> assertEquals(List.of("kept"), executed),
+            () -> assertTrue(cancelled.isCancelled()),
+            () -> assertFalse(cancelled.isExpired())
+        );
+    }
+
+    @Test
+    public void expiredTimeoutRunsImmediately() {
+        wheel.schedule(() -> executed.add("a"), START - 1000);
+        assertEquals(Long.MAX_VALUE, advanceTo(START));
+        assertEquals(List.of("a"), executed);
+    }
+
+    @Test
+    public void clockTurnedBackKeepsTimeouts() {
+        wheel.schedule(() -> executed.add("a"), START + 2000);
+        advanceTo(START + 1000);
+        advanceTo(START - 5000);
+        assertEquals(List.of(), executed);
+        advanceTo(START + 2000);
+        assertEquals(List.of("a"), executed);
+    }
+
+    @Test
+    public void expiredTimeoutsAreDispatchedByShards() {
+        List<Runnable> dispatched = new ArrayList<>();
+        wheel = new HierarchicalTimingWheel("test-wheel", 10, 8, dispatched::add, 1, clock::get);
+        for (int i = 0; i < 3; i++) {
+            String name = "t" + i;
+            wheel.schedule(() -> executed.add(name), START + 20);
+        }
+        advanceTo(START + 20);
+        assertAll(
+            () -> assertEquals(1, dispatched.size()),
+            () -> assertEquals(List.of(), executed)
+        );
+        dispatched.get(0).run();
+        assertEquals(List.of("t0", "t1", "t2"), executed);
+    }
+
+    @Test
+    public void threadOfTheWheelRunsTimeouts() throws Exception {
+        HierarchicalTimingWheel realWheel = new HierarchicalTimingWheel("test-wheel", 10, 64, null, 1);
+        realWheel.start();
+        try {
+            CountDownLatch latch = new CountDownLatch(2);
+            realWheel.schedule(latch::countDown, System.currentTimeMillis() + 100);
+            realWheel.schedule(latch::countDown, System.currentTimeMillis() + 10);
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } finally {
+            realWheel.stop();
+        }
+    }
+
+    /**
+     * @return time the next bucket comes due
+     */
+    private long advanceTo(long time) {
+        clock.set(time);
+        return wheel.advance(time);
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.common.util.timer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the next timeouts of the compiled schedule with the ones found by
+ * stepping through the fields of a Calendar, for random schedules and dates.
+ */
+public class TimerScheduleFuzzTest {
+
+    private static final String[] DAYS = {"sun", "mon", "tue", "wed", "thu", "fri", "sat"};
+    private static final String[] MONTHS = {"jan", "feb", "mar", "apr", "may", "jun",
+        "jul", "aug", "sep", "oct", "nov", "dec"};
+    private static final String[] ORDERS = {"1st", "2nd", "3rd", "4th", "5th", "last"};
+
+    // Both calculations must agree exactly, except next to the daylight saving
+    // time transitions of Europe/Berlin and America/New_York
+    private static final String[] ZONES = {"UTC", "GMT+05:30", "Asia/Tokyo", "America/Bogota",
+        "Europe/Berlin", "America/New_York"};
+
+    private static final long FROM = ZonedDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneId.of("UTC")).toInstant().toEpochMilli();
+    private static final long RANGE = TimeUnit.DAYS.toMillis(365L * 40);
+
+    private final Random random = new Random(20260101L);
+
+    @Test
+    public void compiledScheduleMatchesCalendarFields() {
+        for (int i = 0; i < 20_000; i++) {
+            String schedule = randomSchedule(ZONES[random.nextInt(ZONES.length)]);
+            Date date = new Date(FROM + (long) (random.nextDouble() * RANGE));
+
+            TimerSchedule expected = new TimerSchedule(schedule);
+            TimerSchedule compiled = new TimerSchedule(schedule);
+            Calendar expectedNext = expected.getNextTimeoutByFields(date);
+            Calendar next = compiled.getNextTimeout(date);
+
+            String message = schedule + " after " + date.toInstant();
+            if (nearTransition(expectedNext) || nearTransition(next)) {
+                continue;
+            }
+            if (expected.isValid(expectedNext)) {
+                assertTrue(compiled.isValid(next), message);
+                assertEquals(expectedNext.getTimeInMillis(), next.getTimeInMillis(), message);
+            } else {
+                assertFalse(compiled.isValid(next), message);
+            }
+        }
+    }
+
+    @Test
+    public void consecutiveTimeoutsMatchCalendarFields() {
+        for (int i = 0; i < 500; i++) {
+            String schedule = randomSchedule(ZONES[random.nextInt(ZONES.length)]);
+            TimerSchedule expected = new TimerSchedule(schedule);
+            TimerSchedule compiled = new TimerSchedule(schedule);
+
+            Date date = new Date(FROM + (long) (random.nextDouble() * RANGE));
+            for (int j = 0; j < 50; j++) {
+                Calendar expectedNext = expected.getNextTimeoutByFields(date);
+                Calendar next = compiled.getNextTimeout(date);
+                if (!expected.isValid(expectedNext)) {
+                    assertFalse(compiled.isValid(next), schedule);
+                    break;
+                }
+                if (nearTransition(expectedNext) || nearTransition(next)) {
+                    date = next.getTime();
+                    continue;
+                }
+                assertEquals(expectedNext.getTimeInMillis(), next.getTimeInMillis(), schedule + " after " + date.toInstant());
+                date = next.getTime();
+            }
+        }
+    }
+
+    @Test
+    public void nextTimeoutsIncreaseAcrossDaylightSavingTime() {
+        TimerSchedule schedule = new TimerSchedule().second("*/20").minute("*").hour("*").timezone("America/New_York");
+        // The night of the switch back to the standard time
+        Date date = Date.from(ZonedDateTime.of(2026, 11, 1, 0, 0, 0, 0, ZoneId.of("America/New_York")).toInstant());
+        for (int i = 0; i < 3 * 60 * 3; i++) {
+            Date next = schedule.getNextTimeout(date).getTime();
+            assertEquals(20_000L, next.getTime() - date.getTime(), "after " + date.toInstant());
+            date = next;
+        }
+    }
+
+    @Test
+    public void nextTimeoutInDaylightSavingTimeGapIsMovedForward() {
+        TimerSchedule schedule = new TimerSchedule().minute("30").hour("2").timezone("America/New_York");
+        Date date = Date.from(ZonedDateTime.of(2026, 3, 8, 0, 0, 0, 0, ZoneId.of("America/New_York")).toInstant());
+        assertEquals(ZonedDateTime.of(2026, 3, 8, 3, 30, 0, 0, ZoneId.of("America/New_York")).toInstant(),
+            schedule.getNextTimeout(date).toInstant());
+    }
+
+    @Test
+    public void nextTimeoutsSkipDaylightSavingTimeGap() {
+        TimerSchedule schedule = new TimerSchedule().minute("30").hour("*").timezone("America/New_York");
+        ZoneId zone = ZoneId.of("America/New_York");
+        Date date = Date.from(ZonedDateTime.of(2026, 3, 8, 1, 0, 0, 0, zone).toInstant());
+        Instant first = schedule.getNextTimeout(date).toInstant();
+        assertEquals(ZonedDateTime.of(2026, 3, 8, 1, 30, 0, 0, zone).toInstant(), first);
+        Instant second = schedule.getNextTimeout(Date.from(first)).toInstant();
+        assertEquals(ZonedDateTime.of(2026, 3, 8, 3, 30, 0, 0, zone).toInstant(), second);
+        assertEquals(Duration.ofHours(1), Duration.between(first, second));
+    }
+
+    @Test
+    public void dailyTimeoutInDaylightSavingTimeGapIsMovedForwardOnce() {
+        TimerSchedule schedule = new TimerSchedule().minute("30").hour("2").timezone("Europe/Berlin");
+        ZoneId zone = ZoneId.of("Europe/Berlin");
+        Date date = Date.from(ZonedDateTime.of(2026, 3, 28, 12, 0, 0, 0, zone).toInstant());
+        Instant first = schedule.getNextTimeout(date).toInstant();
+        assertEquals(ZonedDateTime.of(2026, 3, 29, 3, 30, 0, 0, zone).toInstant(), first);
+        assertEquals(ZonedDateTime.of(2026, 3, 30, 2, 30, 0, 0, zone).toInstant(),
+            schedule.getNextTimeout(Date.from(first)).toInstant());
+    }
+
+    @Test
+    public void dailyTimeoutInDaylightSavingTimeOverlapIsNotRepeated() {
+        TimerSchedule schedule = new TimerSchedule().minute("30").hour("1").timezone("America/New_York");
+        ZoneId zone = ZoneId.of("America/New_York");
+        Date date = Date.from(ZonedDateTime.of(2026, 11, 1, 0, 0, 0, 0, zone).toInstant());
+        Instant first = schedule.getNextTimeout(date).toInstant();
+        assertEquals(ZonedDateTime.of(2026, 11, 1, 1, 30, 0, 0, zone).withEarlierOffsetAtOverlap().toInstant(), first);
+        assertEquals(ZonedDateTime.of(2026, 11, 2, 1, 30, 0, 0, zone).toInstant(),
+            schedule.getNextTimeout(Date.from(first)).toInstant());
+    }
+
+    @Test
+    public void dailyTimeoutIsNotRepeatedWhenStartedInDaylightSavingTimeOverlap() {
+        TimerSchedule schedule = new TimerSchedule().minute("30").hour("2").timezone("Europe/Berlin");
+        ZoneId zone = ZoneId.of("Europe/Berlin");
+        // 02:10 of the standard time, after 02:30 of the summer time
+        Date date = Date.from(ZonedDateTime.of(2026, 10, 25, 2, 10, 0, 0, zone).withLaterOffsetAtOverlap().toInstant());
+        assertEquals(ZonedDateTime.of(2026, 10, 26, 2, 30, 0, 0, zone).toInstant(),
+            schedule.getNextTimeout(date).toInstant());
+    }
+
+    @Test
+    public void hourlyTimeoutsContinueThroughDaylightSavingTimeOverlap() {
+        TimerSchedule schedule = new TimerSchedule().minute("30").hour("*").timezone("Europe/Berlin");
+        Date date = Date.from(ZonedDateTime.of(2026, 10, 25, 1, 0, 0, 0, ZoneId.of("Europe/Berlin")).toInstant());
+        for (int i = 0; i < 4; i++) {
+            Date next = schedule.getNextTimeout(date).getTime();
+            if (i > 0) {
+                assertEquals(TimeUnit.HOURS.toMillis(1), next.getTime() - date.getTime(), "after " + date.toInstant());
+            }
+            date = next;
+        }
+    }
+
+    /**
+     * Returns true if the timeout is next to a daylight saving time transition,
+     * where the compiled schedule moves the timeouts of a gap forward and matches
+     * the local times of an overlap once, while stepping through the fields of
+     * a Calendar skips the gap and matches the second occurrence of an overlap.
+     */
+    private static boolean nearTransition(Calendar timeout) {
+        Instant instant = timeout.toInstant();
+        ZoneOffsetTransition transition = timeout.getTimeZone().toZoneId().getRules()
+            .previousTransition(instant.plus(Duration.ofDays(1)));
+        return transition != null
+            && Duration.between(transition.getInstant(), instant).abs().compareTo(Duration.ofDays(1)) < 0;
+    }
+
+    private String randomSchedule(String zone) {
+        StringBuilder s = new StringBuilder()
+            .append(randomTime(60)).append(" # ")
+            .append(randomTime(60)).append(" # ")
+            .append(randomTime(24)).append(" # ")
+            .append(randomDayOfMonth()).append(" # ")
+            .append(randomMonth()).append(" # ")
+            .append(randomDayOfWeek()).append(" # ")
+            .append(randomYear()).append(" # ")
+            .append(zone).append(" # ");
+
+        long start = FROM + (long) (random.nextDouble() * RANGE);
+        if (random.nextInt(5) == 0) {
+            s.append(start);
+        } else {
+            s.append("null");
+        }
+        s.append(" # ");
+        if (random.nextInt(5) == 0) {
+            s.append(start + (long) (random.nextDouble() * RANGE / 4));
+        } else {
+            s.append("null");
+        }
+        return s.toString();
+    }
+
+    private String randomTime(int size) {
+        switch (random.nextInt(6)) {
+            case 0:
+                return "*";
+            case 1:
+                return random.nextInt(size) + "-" + random.nextInt(size);
+            case 2:
+                return random.nextInt(size) + "," + random.nextInt(size) + "," + random.nextInt(size);
+            case 3:
+                return "*/" + (1 + random.nextInt(size / 2));
+            case 4:
+                return random.nextInt(size) + "/" + (1 + random.nextInt(size / 2));
+            default:
+                return Integer.toString(random.nextInt(size));
+        }
+    }
+
+    private String randomDayOfMonth() {
+        int count = 1 + random.nextInt(3);
+        StringBuilder s = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                s.append(',');
+            }
+            switch (random.nextInt(9)) {
+                case 0:
+                    return "*";
+                case 1:
+                    s.append("last");
+                    break;
+                case 2:
+                    s.append('-').append(1 + random.nextInt(7));
+                    break;
+                case 3:
+                    s.append(randomOrderedDay());
+                    break;
+                case 4:
+                    s.append(1 + random.nextInt(31)).append('-').append(1 + random.nextInt(31));
+                    break;
+                case 5:
+                    s.append(1 + random.nextInt(31)).append("-last");
+                    break;
+                case 6:
+                    s.append(randomOrderedDay()).append('-').append(random.nextBoolean() ? "last" : randomOrderedDay());
+                    break;
+                default:
+                    s.append(1 + random.nextInt(31));
+            }
+        }
+        return s.toString();
+    }
+
+    private String randomOrderedDay() {
+        return ORDERS[random.nextInt(ORDERS.length)] + " " + DAYS[random.nextInt(DAYS.length)];
+    }
+
+    private String randomMonth() {
+        switch (random.nextInt(5)) {
+            case 0:
+            case 1:
+                return "*";
+            case 2:
+                return MONTHS[random.nextInt(12)] + "-" + MONTHS[random.nextInt(12)];
+            case 3:
+                return (1 + random.nextInt(12)) + "," + MONTHS[random.nextInt(12)];
+            default:
+                return Integer.toString(1 + random.nextInt(12));
+        }
+    }
+
+    private String randomDayOfWeek() {
+        switch (random.nextInt(6)) {
+            case 0:
+            case 1:
+            case 2:
+                return "*";
+            case 3:
+                return DAYS[random.nextInt(7)] + "-" + DAYS[random.nextInt(7)];
+            case 4:
+                return random.nextInt(8) + "," + DAYS[random.nextInt(7)];
+            default:
+                return Integer.toString(random.nextInt(8));
+        }
+    }
+
+    private String randomYear() {
+        int year = 2000 + random.nextInt(45);
+        switch (random.nextInt(6)) {
+            case 0:
+                return Integer.toString(year);
+            case 1:
+                return year + "-" + (year + random.nextInt(5));
+            case 2:
+                return year + "," + (year + 1 + random.nextInt(10));
+            default:
+                return "*";
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2024 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2008, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -259,6 +259,25 @@ public class ComponentInvocation implements Cloneable {
         return moduleName;
     }
 
+    /**
+     * Clears the state set during the invocation, so that the object can be
+     * reused for the next invocation of the same component.
+     * The component, container, application and module are kept.
+     */
+    protected void reset() {
+        preInvokeDoneStatus = false;
+        auth = null;
+        instance = null;
+        instanceName = null;
+        jndiEnvironment = null;
+        transaction = null;
+        transactionCompleting = false;
+        oldSecurityContext = null;
+        resourceTableKey = null;
+        resourceHandler = null;
+        clearRegistry();
+    }
+
     @Override
     public ComponentInvocation clone() {
         ComponentInvocation newInv = null;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2008, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -128,7 +128,9 @@ public class InvocationManagerImpl implements InvocationManager {
 
     @Override
     public <T extends ComponentInvocation> void preInvoke(T invocation) throws InvocationException {
-        LOG.log(DEBUG, "preInvoke(invocation={0})", invocation);
+        if (LOG.isLoggable(DEBUG)) {
+            LOG.log(DEBUG, "preInvoke(invocation={0})", invocation);
+        }
         InvocationArray<ComponentInvocation> invocations = frames.get();
         if (invocation.getInvocationType() == ComponentInvocationType.SERVICE_STARTUP) {
             invocations.setInvocationAttribute(ComponentInvocationType.SERVICE_STARTUP);
@@ -173,7 +175,9 @@ public class InvocationManagerImpl implements InvocationManager {
 
     @Override
     public <T extends ComponentInvocation> void postInvoke(T invocation) throws InvocationException {
-        LOG.log(DEBUG, "postInvoke(invocation={0})", invocation);
+        if (LOG.isLoggable(DEBUG)) {
+            LOG.log(DEBUG, "postInvoke(invocation={0})", invocation);
+        }
         // Get this thread's ArrayList
         InvocationArray<ComponentInvocation> invocations = frames.get();
         if (invocation.getInvocationType() == ComponentInvocationType.SERVICE_STARTUP) {